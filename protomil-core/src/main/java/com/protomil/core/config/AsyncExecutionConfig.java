@@ -0,0 +1,177 @@
+package com.protomil.core.config;
+
+import com.protomil.core.shared.async.AsyncExecutors;
+import com.protomil.core.shared.async.BoundedVirtualThreadExecutor;
+import com.protomil.core.shared.async.MdcTaskDecorator;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Dedicated executors for {@code @Async} work: virtual threads for I/O-bound listeners and a bounded
+ * platform pool for CPU-bound work. Every executor propagates MDC and the security context, and exports
+ * {@code protomil.async.active}, {@code protomil.async.queue.depth} and {@code protomil.async.rejected}
+ * tagged by executor name.
+ */
+@Configuration
+@EnableConfigurationProperties(AsyncProperties.class)
+@Slf4j
+public class AsyncExecutionConfig implements AsyncConfigurer {
+
+    private final AsyncProperties asyncProperties;
+    private final MeterRegistry meterRegistry;
+    private final MdcTaskDecorator taskDecorator = new MdcTaskDecorator();
+
+    public AsyncExecutionConfig(AsyncProperties asyncProperties, MeterRegistry meterRegistry) {
+        this.asyncProperties = asyncProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean(name = {AsyncExecutors.APPLICATION, "taskExecutor"})
+    @Primary
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return createExecutor(AsyncExecutors.APPLICATION, AsyncProperties.ExecutorSettings.virtual(200, 2000));
+    }
+
+    @Bean(name = AsyncExecutors.JOB_CARD_EVENTS)
+    public AsyncTaskExecutor jobCardEventExecutor() {
+        return createExecutor(AsyncExecutors.JOB_CARD_EVENTS, AsyncProperties.ExecutorSettings.virtual(32, 1000));
+    }
+
+    @Bean(name = AsyncExecutors.USER_SYNC)
+    public AsyncTaskExecutor userSyncExecutor() {
+        // Cognito admin APIs are rate limited; keep concurrent calls low
+        return createExecutor(AsyncExecutors.USER_SYNC, AsyncProperties.ExecutorSettings.virtual(8, 500));
+    }
+
+    @Bean(name = AsyncExecutors.LIVE_BOARD)
+    public AsyncTaskExecutor liveBoardExecutor() {
+        // One short-lived send per subscriber flush; slow clients block only their own virtual thread
+        return createExecutor(AsyncExecutors.LIVE_BOARD, AsyncProperties.ExecutorSettings.virtual(1000, 10000));
+    }
+
+    @Bean(name = AsyncExecutors.STATUS_HISTORY)
+    public AsyncTaskExecutor statusHistoryExecutor() {
+        // Listeners mostly park until the next batched flush, so allow many in flight
+        return createExecutor(AsyncExecutors.STATUS_HISTORY, AsyncProperties.ExecutorSettings.virtual(2000, 20000));
+    }
+
+    @Bean(name = AsyncExecutors.TIMERS)
+    public AsyncTaskExecutor timerExecutor() {
+        // Timers falling due together, e.g. a batch of job cards sharing a target date, queue up here
+        return createExecutor(AsyncExecutors.TIMERS, AsyncProperties.ExecutorSettings.virtual(64, 50000));
+    }
+
+    @Bean(name = AsyncExecutors.REPORTS)
+    public AsyncTaskExecutor reportExecutor() {
+        // Report workers hand out no more jobs than protomil.reports.workers; the headroom covers queue polls
+        return createExecutor(AsyncExecutors.REPORTS, AsyncProperties.ExecutorSettings.virtual(32, 64));
+    }
+
+    @Bean(name = AsyncExecutors.PERSONNEL_REPORT_READERS)
+    public AsyncTaskExecutor personnelReportReaderExecutor(
+            @Value("${protomil.reports.personnel.max-connections:4}") int maxConnections) {
+        // Shared by all personnel reports on this node, so readers never hold more connections than this
+        return createExecutor(AsyncExecutors.PERSONNEL_REPORT_READERS,
+                AsyncProperties.ExecutorSettings.virtual(maxConnections, 64));
+    }
+
+    @Bean(name = AsyncExecutors.CPU)
+    public AsyncTaskExecutor cpuTaskExecutor() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        return createExecutor(AsyncExecutors.CPU, AsyncProperties.ExecutorSettings.platform(
+                processors, processors, 500, AsyncProperties.RejectionPolicy.CALLER_RUNS));
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return applicationTaskExecutor();
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (ex, method, params) -> log.error("Async method {}.{} failed: {}",
+                method.getDeclaringClass().getSimpleName(), method.getName(), ex.getMessage(), ex);
+    }
+
+    private AsyncTaskExecutor createExecutor(String name, AsyncProperties.ExecutorSettings defaults) {
+        AsyncProperties.ExecutorSettings settings = asyncProperties.settingsFor(name, defaults);
+        log.info("Configuring {} executor {} (max concurrency {}, queue capacity {})",
+                settings.getType(), name, settings.getMaxConcurrency(), settings.getQueueCapacity());
+
+        return settings.getType() == AsyncProperties.ExecutorType.VIRTUAL
+                ? virtualExecutor(name, settings)
+                : platformExecutor(name, settings);
+    }
+
+    private AsyncTaskExecutor virtualExecutor(String name, AsyncProperties.ExecutorSettings settings) {
+        BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor(
+                name, settings.getMaxConcurrency(), settings.getQueueCapacity(), taskDecorator);
+
+        registerMetrics(name, executor,
+                BoundedVirtualThreadExecutor::getActiveCount,
+                BoundedVirtualThreadExecutor::getQueueDepth,
+                BoundedVirtualThreadExecutor::getRejectedCount);
+        return executor;
+    }
+
+    private AsyncTaskExecutor platformExecutor(String name, AsyncProperties.ExecutorSettings settings) {
+        AtomicLong rejections = new AtomicLong();
+        RejectedExecutionHandler policy = switch (settings.getRejectionPolicy()) {
+            case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+            case ABORT -> new ThreadPoolExecutor.AbortPolicy();
+            case DISCARD_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy();
+        };
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(name + "-");
+        executor.setCorePoolSize(Math.min(settings.getCoreSize(), settings.getMaxConcurrency()));
+        executor.setMaxPoolSize(settings.getMaxConcurrency());
+        executor.setQueueCapacity(settings.getQueueCapacity());
+        executor.setTaskDecorator(taskDecorator);
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejections.incrementAndGet();
+            policy.rejectedExecution(task, pool);
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        registerMetrics(name, executor,
+                ThreadPoolTaskExecutor::getActiveCount,
+                e -> e.getThreadPoolExecutor().getQueue().size(),
+                e -> rejections.get());
+        return executor;
+    }
+
+    private <T> void registerMetrics(String name, T executor, ToDoubleFunction<T> active,
+                                     ToDoubleFunction<T> queueDepth, ToDoubleFunction<T> rejected) {
+        Gauge.builder("protomil.async.active", executor, active)
+                .description("Tasks currently running")
+                .tag("executor", name)
+                .register(meterRegistry);
+        Gauge.builder("protomil.async.queue.depth", executor, queueDepth)
+                .description("Tasks waiting for a free slot")
+                .tag("executor", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("protomil.async.rejected", executor, rejected)
+                .description("Tasks rejected because the executor was saturated")
+                .tag("executor", name)
+                .register(meterRegistry);
+    }
+}
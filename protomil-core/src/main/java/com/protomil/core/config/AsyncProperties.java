@@ -0,0 +1,86 @@
+package com.protomil.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-group async executor settings, keyed by executor bean name
+ * (see {@link com.protomil.core.shared.async.AsyncExecutors}). Each entry overrides only the fields it
+ * sets; the rest keep the defaults that executor's bean declares.
+ */
+@Data
+@ConfigurationProperties(prefix = "protomil.async")
+public class AsyncProperties {
+
+    private Map<String, ExecutorOverrides> executors = new LinkedHashMap<>();
+
+    public ExecutorSettings settingsFor(String executorName, ExecutorSettings defaults) {
+        ExecutorOverrides overrides = executors.get(executorName);
+        return overrides != null ? overrides.applyTo(defaults) : defaults;
+    }
+
+    public enum ExecutorType {
+        VIRTUAL,
+        PLATFORM
+    }
+
+    public enum RejectionPolicy {
+        CALLER_RUNS,
+        ABORT,
+        DISCARD_OLDEST
+    }
+
+    @Data
+    public static class ExecutorSettings {
+        private ExecutorType type = ExecutorType.VIRTUAL;
+
+        // Virtual and platform: tasks running at once, and tasks allowed to wait beyond that
+        private int maxConcurrency = 64;
+        private int queueCapacity = 1000;
+
+        // Platform only
+        private int coreSize = Runtime.getRuntime().availableProcessors();
+        private RejectionPolicy rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+
+        public static ExecutorSettings virtual(int maxConcurrency, int queueCapacity) {
+            ExecutorSettings settings = new ExecutorSettings();
+            settings.setMaxConcurrency(maxConcurrency);
+            settings.setQueueCapacity(queueCapacity);
+            return settings;
+        }
+
+        public static ExecutorSettings platform(int coreSize, int maxConcurrency, int queueCapacity,
+                                                RejectionPolicy rejectionPolicy) {
+            ExecutorSettings settings = new ExecutorSettings();
+            settings.setType(ExecutorType.PLATFORM);
+            settings.setCoreSize(coreSize);
+            settings.setMaxConcurrency(maxConcurrency);
+            settings.setQueueCapacity(queueCapacity);
+            settings.setRejectionPolicy(rejectionPolicy);
+            return settings;
+        }
+    }
+
+    /** The fields configured for one executor; null where the bean's default applies. */
+    @Data
+    public static class ExecutorOverrides {
+        private ExecutorType type;
+        private Integer maxConcurrency;
+        private Integer queueCapacity;
+        private Integer coreSize;
+        private RejectionPolicy rejectionPolicy;
+
+        ExecutorSettings applyTo(ExecutorSettings defaults) {
+            ExecutorSettings settings = new ExecutorSettings();
+            settings.setType(type != null ? type : defaults.getType());
+            settings.setMaxConcurrency(maxConcurrency != null ? maxConcurrency : defaults.getMaxConcurrency());
+            settings.setQueueCapacity(queueCapacity != null ? queueCapacity : defaults.getQueueCapacity());
+            settings.setCoreSize(coreSize != null ? coreSize : defaults.getCoreSize());
+            settings.setRejectionPolicy(rejectionPolicy != null ? rejectionPolicy : defaults.getRejectionPolicy());
+            return settings;
+        }
+    }
+}
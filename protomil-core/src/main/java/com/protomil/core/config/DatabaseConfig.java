@@ -0,0 +1,107 @@
+package com.protomil.core.config;
+
+import com.protomil.core.shared.datasource.ReadReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Primary/replica routing, enabled with {@code protomil.datasource.routing.enabled}; otherwise Boot's
+ * single auto-configured pool is used unchanged. The primary pool is still built from
+ * {@code spring.datasource}, and each replica gets its own read-only Hikari pool. Every pool exports
+ * the {@code hikaricp.connections.*} metrics tagged by pool name. Flyway always migrates through the
+ * primary pool directly.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "protomil.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DatabaseProperties.class)
+@Slf4j
+public class DatabaseConfig {
+
+    private final DatabaseProperties databaseProperties;
+    private final MeterRegistry meterRegistry;
+
+    public DatabaseConfig(DatabaseProperties databaseProperties, MeterRegistry meterRegistry) {
+        this.databaseProperties = databaseProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(ReadReplicaRoutingDataSource.PRIMARY);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                          DataSourceProperties dataSourceProperties) {
+        List<DatabaseProperties.ReplicaSettings> settings = databaseProperties.getReplicas();
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < settings.size(); i++) {
+            HikariDataSource replica = replicaDataSource(settings.get(i), i + 1, dataSourceProperties);
+            replicas.put(replica.getPoolName(), replica);
+        }
+
+        log.info("Routing read-only transactions to {} replica pool(s) {} (read-your-writes window {})",
+                replicas.size(), replicas.keySet(), databaseProperties.getReadYourWritesWindow());
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicas,
+                databaseProperties.getReadYourWritesWindow(), meterRegistry);
+    }
+
+    /**
+     * The DataSource used by JPA and JDBC. The lazy proxy hands out a placeholder connection and picks
+     * the real one at the first statement, once the transaction's read-only flag is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource routingDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(routingDataSource);
+        // Known pool defaults, so the proxy needs no connection at startup to detect them
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+
+    private HikariDataSource replicaDataSource(DatabaseProperties.ReplicaSettings settings, int index,
+                                               DataSourceProperties primary) {
+        if (!StringUtils.hasText(settings.getUrl())) {
+            throw new IllegalStateException("protomil.datasource.routing.replicas[" + (index - 1) + "].url is required");
+        }
+
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(StringUtils.hasText(settings.getName()) ? settings.getName() : "replica-" + index);
+        dataSource.setJdbcUrl(settings.getUrl());
+        dataSource.setUsername(StringUtils.hasText(settings.getUsername()) ? settings.getUsername() : primary.determineUsername());
+        dataSource.setPassword(settings.getPassword() != null ? settings.getPassword() : primary.determinePassword());
+        dataSource.setDriverClassName(primary.determineDriverClassName());
+        dataSource.setMaximumPoolSize(settings.getMaximumPoolSize());
+        dataSource.setMinimumIdle(settings.getMinimumIdle());
+        dataSource.setConnectionTimeout(settings.getConnectionTimeout().toMillis());
+        dataSource.setReadOnly(true);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+}
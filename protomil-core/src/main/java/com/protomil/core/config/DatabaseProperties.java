@@ -0,0 +1,37 @@
+package com.protomil.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-replica routing settings (see {@link DatabaseConfig}). The primary pool keeps using
+ * {@code spring.datasource}; replicas left without credentials reuse the primary's.
+ */
+@Data
+@ConfigurationProperties(prefix = "protomil.datasource.routing")
+public class DatabaseProperties {
+
+    private boolean enabled = false;
+
+    // How long a user's read-only transactions stay on the primary after that user commits a write
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    private List<ReplicaSettings> replicas = new ArrayList<>();
+
+    @Data
+    public static class ReplicaSettings {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        private int minimumIdle = 2;
+
+        // Kept short: when a replica is unreachable, reads fall back to the primary after this wait
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+    }
+}
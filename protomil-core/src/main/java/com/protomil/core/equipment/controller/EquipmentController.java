@@ -0,0 +1,209 @@
+package com.protomil.core.equipment.controller;
+
+import com.protomil.core.equipment.domain.EquipmentStatus;
+import com.protomil.core.equipment.dto.EquipmentRequest;
+import com.protomil.core.equipment.dto.EquipmentResponse;
+import com.protomil.core.equipment.dto.MaintenanceRequest;
+import com.protomil.core.equipment.dto.MaintenanceResponse;
+import com.protomil.core.equipment.service.EquipmentService;
+import com.protomil.core.equipment.service.MaintenanceService;
+import com.protomil.core.shared.dto.ApiResponse;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/equipment")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Equipment", description = "APIs for equipment and its maintenance schedules")
+public class EquipmentController {
+
+    private final EquipmentService equipmentService;
+    private final MaintenanceService maintenanceService;
+
+    @PostMapping
+    @Operation(summary = "Create equipment", description = "Registers new equipment, optionally attached to a machine")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "201",
+                    description = "Equipment created successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = EquipmentResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request data or duplicate equipment number",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            )
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<EquipmentResponse>> createEquipment(@Valid @RequestBody EquipmentRequest request) {
+        log.info("Creating equipment {}", request.getEquipmentNumber());
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(respond("Equipment created successfully", equipmentService.createEquipment(request)));
+    }
+
+    @PutMapping("/{equipmentId}")
+    @Operation(summary = "Update equipment", description = "Updates equipment details and its machine attachment")
+    @PreAuthorize("hasRole('ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<EquipmentResponse>> updateEquipment(
+            @PathVariable @Parameter(description = "Equipment ID") UUID equipmentId,
+            @Valid @RequestBody EquipmentRequest request) {
+
+        return ResponseEntity.ok(respond("Equipment updated successfully",
+                equipmentService.updateEquipment(equipmentId, request)));
+    }
+
+    @PutMapping("/{equipmentId}/status")
+    @Operation(summary = "Change equipment status", description = "Sets the equipment status, e.g. OUT_OF_ORDER or RETIRED")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<EquipmentResponse>> updateStatus(
+            @PathVariable @Parameter(description = "Equipment ID") UUID equipmentId,
+            @RequestParam @Parameter(description = "New status", example = "OUT_OF_ORDER") EquipmentStatus status) {
+
+        return ResponseEntity.ok(respond("Equipment status updated successfully",
+                equipmentService.updateStatus(equipmentId, status)));
+    }
+
+    @GetMapping("/{equipmentId}")
+    @Operation(summary = "Get equipment by ID")
+    @PreAuthorize("hasAnyRole('TECHNICIAN', 'SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<EquipmentResponse>> getEquipment(
+            @PathVariable @Parameter(description = "Equipment ID") UUID equipmentId) {
+
+        return ResponseEntity.ok(respond("Equipment retrieved successfully", equipmentService.getEquipment(equipmentId)));
+    }
+
+    @GetMapping("/number/{equipmentNumber}")
+    @Operation(summary = "Get equipment by number")
+    @PreAuthorize("hasAnyRole('TECHNICIAN', 'SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<EquipmentResponse>> getEquipmentByNumber(
+            @PathVariable @Parameter(description = "Equipment number", example = "EQ-0042") String equipmentNumber) {
+
+        return ResponseEntity.ok(respond("Equipment retrieved successfully",
+                equipmentService.getEquipmentByNumber(equipmentNumber)));
+    }
+
+    @GetMapping
+    @Operation(summary = "List equipment by status")
+    @PreAuthorize("hasAnyRole('TECHNICIAN', 'SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<List<EquipmentResponse>>> getEquipmentByStatus(
+            @RequestParam(defaultValue = "AVAILABLE")
+            @Parameter(description = "Equipment status", example = "AVAILABLE")
+            EquipmentStatus status) {
+
+        return ResponseEntity.ok(respond("Equipment retrieved successfully", equipmentService.getEquipmentByStatus(status)));
+    }
+
+    @PostMapping("/{equipmentId}/maintenance")
+    @Operation(summary = "Schedule maintenance", description = "Creates a recurring maintenance schedule for equipment")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<MaintenanceResponse>> scheduleMaintenance(
+            @PathVariable @Parameter(description = "Equipment ID") UUID equipmentId,
+            @Valid @RequestBody MaintenanceRequest request) {
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(respond("Maintenance scheduled successfully",
+                        maintenanceService.scheduleMaintenance(equipmentId, request)));
+    }
+
+    @GetMapping("/{equipmentId}/maintenance")
+    @Operation(summary = "List maintenance schedules of equipment")
+    @PreAuthorize("hasAnyRole('TECHNICIAN', 'SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<List<MaintenanceResponse>>> getSchedulesForEquipment(
+            @PathVariable @Parameter(description = "Equipment ID") UUID equipmentId) {
+
+        return ResponseEntity.ok(respond("Maintenance schedules retrieved successfully",
+                maintenanceService.getSchedulesForEquipment(equipmentId)));
+    }
+
+    @GetMapping("/maintenance/upcoming")
+    @Operation(summary = "List upcoming maintenance", description = "Open maintenance due within the given number of days, overdue first")
+    @PreAuthorize("hasAnyRole('TECHNICIAN', 'SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<List<MaintenanceResponse>>> getUpcoming(
+            @RequestParam(defaultValue = "7") @Parameter(description = "Days ahead", example = "7") int days) {
+
+        return ResponseEntity.ok(respond("Upcoming maintenance retrieved successfully", maintenanceService.getUpcoming(days)));
+    }
+
+    @PutMapping("/maintenance/{scheduleId}")
+    @Operation(summary = "Reschedule maintenance")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<MaintenanceResponse>> reschedule(
+            @PathVariable @Parameter(description = "Maintenance schedule ID") UUID scheduleId,
+            @Valid @RequestBody MaintenanceRequest request) {
+
+        return ResponseEntity.ok(respond("Maintenance rescheduled successfully",
+                maintenanceService.reschedule(scheduleId, request)));
+    }
+
+    @PostMapping("/maintenance/{scheduleId}/start")
+    @Operation(summary = "Start maintenance", description = "Marks maintenance as in progress and the equipment as under maintenance")
+    @PreAuthorize("hasAnyRole('TECHNICIAN', 'SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<MaintenanceResponse>> startMaintenance(
+            @PathVariable @Parameter(description = "Maintenance schedule ID") UUID scheduleId) {
+
+        return ResponseEntity.ok(respond("Maintenance started successfully", maintenanceService.startMaintenance(scheduleId)));
+    }
+
+    @PostMapping("/maintenance/{scheduleId}/complete")
+    @Operation(summary = "Complete maintenance", description = "Records the maintenance and schedules the next cycle")
+    @PreAuthorize("hasAnyRole('TECHNICIAN', 'SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<MaintenanceResponse>> completeMaintenance(
+            @PathVariable @Parameter(description = "Maintenance schedule ID") UUID scheduleId) {
+
+        return ResponseEntity.ok(respond("Maintenance completed successfully",
+                maintenanceService.completeMaintenance(scheduleId)));
+    }
+
+    @PostMapping("/maintenance/{scheduleId}/cancel")
+    @Operation(summary = "Cancel maintenance")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<MaintenanceResponse>> cancelMaintenance(
+            @PathVariable @Parameter(description = "Maintenance schedule ID") UUID scheduleId) {
+
+        return ResponseEntity.ok(respond("Maintenance cancelled successfully", maintenanceService.cancelMaintenance(scheduleId)));
+    }
+
+    private <T> ApiResponse<T> respond(String message, T data) {
+        return ApiResponse.<T>builder()
+                .success(true)
+                .message(message)
+                .data(data)
+                .build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.protomil.core.equipment.domain;
+
+import com.protomil.core.shared.domain.AuditableEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Entity
+@Table(name = "equipment", indexes = {
+        @Index(name = "idx_equipment_number", columnList = "equipment_number"),
+        @Index(name = "idx_equipment_status", columnList = "status"),
+        @Index(name = "idx_equipment_location", columnList = "location"),
+        @Index(name = "idx_equipment_machine", columnList = "machine_id")
+})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Equipment extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "equipment_number", unique = true, nullable = false, length = 50)
+    private String equipmentNumber;
+
+    @Column(name = "name", nullable = false, length = 200)
+    private String name;
+
+    @Column(name = "description", columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "manufacturer", length = 100)
+    private String manufacturer;
+
+    @Column(name = "model", length = 100)
+    private String model;
+
+    @Column(name = "serial_number", length = 100)
+    private String serialNumber;
+
+    @Column(name = "location", length = 200)
+    private String location;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 50)
+    @Builder.Default
+    private EquipmentStatus status = EquipmentStatus.AVAILABLE;
+
+    // The production machine this equipment belongs to, if any; kept as an ID to stay out of the jobcard aggregate
+    @Column(name = "machine_id")
+    private Long machineId;
+}
@@ -0,0 +1,29 @@
+package com.protomil.core.equipment.domain;
+
+public enum EquipmentStatus {
+    AVAILABLE("Available", "Equipment is ready for use"),
+    IN_USE("In Use", "Equipment is in use on a job"),
+    MAINTENANCE("Maintenance", "Equipment is being maintained"),
+    OUT_OF_ORDER("Out of Order", "Equipment is broken and cannot be used"),
+    RETIRED("Retired", "Equipment has been taken out of service");
+
+    private final String displayName;
+    private final String description;
+
+    EquipmentStatus(String displayName, String description) {
+        this.displayName = displayName;
+        this.description = description;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isUsable() {
+        return this == AVAILABLE || this == IN_USE;
+    }
+}
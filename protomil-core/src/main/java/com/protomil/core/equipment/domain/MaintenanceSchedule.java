@@ -0,0 +1,76 @@
+package com.protomil.core.equipment.domain;
+
+import com.protomil.core.shared.domain.AuditableEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "maintenance_schedules", indexes = {
+        @Index(name = "idx_maintenance_equipment", columnList = "equipment_id"),
+        @Index(name = "idx_maintenance_next_date", columnList = "next_maintenance_date"),
+        @Index(name = "idx_maintenance_status", columnList = "status")
+})
+@Data
+@EqualsAndHashCode(callSuper = true, exclude = "equipment")
+@ToString(exclude = "equipment")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MaintenanceSchedule extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id")
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "equipment_id", nullable = false)
+    private Equipment equipment;
+
+    @Column(name = "maintenance_type", nullable = false, length = 50)
+    private String maintenanceType;
+
+    @Column(name = "frequency_days", nullable = false)
+    private Integer frequencyDays;
+
+    @Column(name = "last_maintenance_date")
+    private LocalDate lastMaintenanceDate;
+
+    @Column(name = "next_maintenance_date", nullable = false)
+    private LocalDate nextMaintenanceDate;
+
+    @Column(name = "planned_start")
+    private LocalDateTime plannedStart;
+
+    @Column(name = "planned_duration_minutes")
+    private Integer plannedDurationMinutes;
+
+    @Column(name = "assigned_to")
+    private UUID assignedTo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 50)
+    @Builder.Default
+    private MaintenanceStatus status = MaintenanceStatus.SCHEDULED;
+
+    @Column(name = "due_notified_at")
+    private LocalDateTime dueNotifiedAt;
+
+    // Helper methods
+    public LocalDateTime getWindowStart() {
+        return plannedStart != null ? plannedStart : nextMaintenanceDate.atStartOfDay();
+    }
+
+    public LocalDateTime getWindowEnd(int defaultDurationMinutes) {
+        return getWindowStart().plusMinutes(plannedDurationMinutes != null ? plannedDurationMinutes : defaultDurationMinutes);
+    }
+}
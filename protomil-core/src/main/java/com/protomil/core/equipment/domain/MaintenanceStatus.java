@@ -0,0 +1,30 @@
+package com.protomil.core.equipment.domain;
+
+public enum MaintenanceStatus {
+    SCHEDULED("Scheduled", "Maintenance is planned"),
+    IN_PROGRESS("In Progress", "Maintenance is being carried out"),
+    COMPLETED("Completed", "Maintenance has been carried out"),
+    OVERDUE("Overdue", "Maintenance is past its due date"),
+    CANCELLED("Cancelled", "Maintenance was cancelled");
+
+    private final String displayName;
+    private final String description;
+
+    MaintenanceStatus(String displayName, String description) {
+        this.displayName = displayName;
+        this.description = description;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /** Whether the maintenance still has to happen, and so still blocks its equipment. */
+    public boolean isOpen() {
+        return this == SCHEDULED || this == IN_PROGRESS || this == OVERDUE;
+    }
+}
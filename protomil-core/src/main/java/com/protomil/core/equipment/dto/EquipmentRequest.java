@@ -0,0 +1,53 @@
+package com.protomil.core.equipment.dto;
+
+import com.protomil.core.equipment.domain.EquipmentStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request to create or update equipment")
+public class EquipmentRequest {
+
+    @NotBlank(message = "Equipment number is required")
+    @Size(max = 50, message = "Equipment number must not exceed 50 characters")
+    @Schema(description = "Unique equipment number", example = "EQ-0042")
+    private String equipmentNumber;
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 200, message = "Name must not exceed 200 characters")
+    @Schema(description = "Equipment name", example = "Spindle motor")
+    private String name;
+
+    @Schema(description = "Equipment description")
+    private String description;
+
+    @Size(max = 100, message = "Manufacturer must not exceed 100 characters")
+    @Schema(description = "Manufacturer", example = "Siemens")
+    private String manufacturer;
+
+    @Size(max = 100, message = "Model must not exceed 100 characters")
+    @Schema(description = "Model", example = "1FK7")
+    private String model;
+
+    @Size(max = 100, message = "Serial number must not exceed 100 characters")
+    @Schema(description = "Serial number", example = "SN-884213")
+    private String serialNumber;
+
+    @Size(max = 200, message = "Location must not exceed 200 characters")
+    @Schema(description = "Location", example = "Bay 3")
+    private String location;
+
+    @Schema(description = "Equipment status; defaults to AVAILABLE on create", example = "AVAILABLE")
+    private EquipmentStatus status;
+
+    @Schema(description = "Machine the equipment belongs to", example = "7")
+    private Long machineId;
+}
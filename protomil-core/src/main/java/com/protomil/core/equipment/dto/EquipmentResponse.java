@@ -0,0 +1,58 @@
+package com.protomil.core.equipment.dto;
+
+import com.protomil.core.equipment.domain.EquipmentStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Equipment details")
+public class EquipmentResponse {
+
+    @Schema(description = "Equipment ID")
+    private UUID id;
+
+    @Schema(description = "Unique equipment number", example = "EQ-0042")
+    private String equipmentNumber;
+
+    @Schema(description = "Equipment name", example = "Spindle motor")
+    private String name;
+
+    @Schema(description = "Equipment description")
+    private String description;
+
+    @Schema(description = "Manufacturer", example = "Siemens")
+    private String manufacturer;
+
+    @Schema(description = "Model", example = "1FK7")
+    private String model;
+
+    @Schema(description = "Serial number", example = "SN-884213")
+    private String serialNumber;
+
+    @Schema(description = "Location", example = "Bay 3")
+    private String location;
+
+    @Schema(description = "Equipment status", example = "AVAILABLE")
+    private EquipmentStatus status;
+
+    @Schema(description = "Machine the equipment belongs to", example = "7")
+    private Long machineId;
+
+    @Schema(description = "Version for optimistic locking", example = "3")
+    private Long version;
+
+    @Schema(description = "Creation timestamp")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Last update timestamp")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,47 @@
+package com.protomil.core.equipment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request to schedule or reschedule recurring maintenance")
+public class MaintenanceRequest {
+
+    @NotBlank(message = "Maintenance type is required")
+    @Size(max = 50, message = "Maintenance type must not exceed 50 characters")
+    @Schema(description = "Maintenance type", example = "LUBRICATION")
+    private String maintenanceType;
+
+    @NotNull(message = "Frequency is required")
+    @Positive(message = "Frequency must be positive")
+    @Schema(description = "Days between maintenance runs", example = "30")
+    private Integer frequencyDays;
+
+    @NotNull(message = "Next maintenance date is required")
+    @Schema(description = "Day the maintenance is next due", example = "2025-02-01")
+    private LocalDate nextMaintenanceDate;
+
+    @Schema(description = "Planned start on the due day; defaults to the start of the day")
+    private LocalDateTime plannedStart;
+
+    @Positive(message = "Planned duration must be positive")
+    @Schema(description = "Planned duration in minutes", example = "240")
+    private Integer plannedDurationMinutes;
+
+    @Schema(description = "Technician responsible for the maintenance")
+    private UUID assignedTo;
+}
@@ -0,0 +1,56 @@
+package com.protomil.core.equipment.dto;
+
+import com.protomil.core.equipment.domain.MaintenanceStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Maintenance schedule details")
+public class MaintenanceResponse {
+
+    @Schema(description = "Maintenance schedule ID")
+    private UUID id;
+
+    @Schema(description = "Equipment ID")
+    private UUID equipmentId;
+
+    @Schema(description = "Equipment number", example = "EQ-0042")
+    private String equipmentNumber;
+
+    @Schema(description = "Maintenance type", example = "LUBRICATION")
+    private String maintenanceType;
+
+    @Schema(description = "Days between maintenance runs", example = "30")
+    private Integer frequencyDays;
+
+    @Schema(description = "Day the maintenance was last carried out")
+    private LocalDate lastMaintenanceDate;
+
+    @Schema(description = "Day the maintenance is next due")
+    private LocalDate nextMaintenanceDate;
+
+    @Schema(description = "Start of the maintenance window")
+    private LocalDateTime windowStart;
+
+    @Schema(description = "End of the maintenance window")
+    private LocalDateTime windowEnd;
+
+    @Schema(description = "Technician responsible for the maintenance")
+    private UUID assignedTo;
+
+    @Schema(description = "Maintenance status", example = "SCHEDULED")
+    private MaintenanceStatus status;
+
+    @Schema(description = "Version for optimistic locking", example = "2")
+    private Long version;
+}
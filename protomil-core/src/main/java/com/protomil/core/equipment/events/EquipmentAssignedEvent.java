@@ -0,0 +1,22 @@
+package com.protomil.core.equipment.events;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Published when equipment is handed to someone or something: attached to a machine, or given to
+ * the technician of a maintenance schedule when that maintenance falls due.
+ *
+ * @param machineId  the machine the equipment is attached to, if any
+ * @param assignedTo the technician it is handed to for maintenance, if any
+ * @param scheduleId the maintenance schedule that fell due, if any
+ */
+public record EquipmentAssignedEvent(
+        UUID equipmentId,
+        String equipmentNumber,
+        Long machineId,
+        UUID assignedTo,
+        UUID scheduleId,
+        Instant occurredAt
+) {
+}
@@ -0,0 +1,39 @@
+package com.protomil.core.equipment.events;
+
+import com.protomil.core.equipment.domain.MaintenanceSchedule;
+import com.protomil.core.equipment.domain.MaintenanceStatus;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published whenever a maintenance schedule is created, rescheduled or changes status. Listeners
+ * treat it as the latest state of the schedule, so it is safe to publish more than once.
+ */
+public record MaintenanceScheduledEvent(
+        UUID scheduleId,
+        UUID equipmentId,
+        String equipmentNumber,
+        Long machineId,
+        String maintenanceType,
+        MaintenanceStatus status,
+        LocalDateTime windowStart,
+        LocalDateTime windowEnd,
+        Instant occurredAt
+) {
+
+    public static MaintenanceScheduledEvent of(MaintenanceSchedule schedule, int defaultDurationMinutes) {
+        return new MaintenanceScheduledEvent(
+                schedule.getId(),
+                schedule.getEquipment().getId(),
+                schedule.getEquipment().getEquipmentNumber(),
+                schedule.getEquipment().getMachineId(),
+                schedule.getMaintenanceType(),
+                schedule.getStatus(),
+                schedule.getWindowStart(),
+                schedule.getWindowEnd(defaultDurationMinutes),
+                Instant.now()
+        );
+    }
+}
@@ -0,0 +1,33 @@
+package com.protomil.core.equipment.repository;
+
+import com.protomil.core.equipment.domain.Equipment;
+import com.protomil.core.equipment.domain.EquipmentStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface EquipmentRepository extends JpaRepository<Equipment, UUID> {
+
+    /** Row count and version total; an insert or a versioned update on any node changes one of them. */
+    interface CacheVersion {
+        long getEntries();
+
+        long getVersionSum();
+    }
+
+    Optional<Equipment> findByEquipmentNumber(String equipmentNumber);
+
+    boolean existsByEquipmentNumber(String equipmentNumber);
+
+    List<Equipment> findByStatusOrderByEquipmentNumber(EquipmentStatus status);
+
+    List<Equipment> findByMachineId(Long machineId);
+
+    @Query("SELECT COUNT(e) AS entries, COALESCE(SUM(e.version), 0) AS versionSum FROM Equipment e")
+    CacheVersion findCacheVersion();
+}
@@ -0,0 +1,50 @@
+package com.protomil.core.equipment.repository;
+
+import com.protomil.core.equipment.domain.MaintenanceSchedule;
+import com.protomil.core.equipment.domain.MaintenanceStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface MaintenanceRepository extends JpaRepository<MaintenanceSchedule, UUID> {
+
+    List<MaintenanceSchedule> findByEquipmentIdOrderByNextMaintenanceDate(UUID equipmentId);
+
+    /** Schedules in the given statuses due up to a date, with their equipment. */
+    @Query("SELECT m FROM MaintenanceSchedule m JOIN FETCH m.equipment " +
+            "WHERE m.status IN :statuses AND m.nextMaintenanceDate <= :until " +
+            "ORDER BY m.nextMaintenanceDate")
+    List<MaintenanceSchedule> findDueUntil(@Param("statuses") Collection<MaintenanceStatus> statuses,
+                                           @Param("until") LocalDate until);
+
+    @Query("SELECT m FROM MaintenanceSchedule m JOIN FETCH m.equipment WHERE m.id = :id")
+    Optional<MaintenanceSchedule> findWithEquipmentById(@Param("id") UUID id);
+
+    /**
+     * Claims the due notification for the window starting at {@code windowStart}; returns 0 when the
+     * schedule is no longer SCHEDULED or another node already claimed it.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MaintenanceSchedule m SET m.dueNotifiedAt = :now " +
+            "WHERE m.id = :id AND m.status = com.protomil.core.equipment.domain.MaintenanceStatus.SCHEDULED " +
+            "AND (m.dueNotifiedAt IS NULL OR m.dueNotifiedAt < :windowStart)")
+    int claimDueNotification(@Param("id") UUID id, @Param("windowStart") LocalDateTime windowStart,
+                             @Param("now") LocalDateTime now);
+
+    /** Marks a schedule whose window passed without it being started; returns 0 if it was started meanwhile. */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MaintenanceSchedule m SET m.status = com.protomil.core.equipment.domain.MaintenanceStatus.OVERDUE, " +
+            "m.version = m.version + 1 " +
+            "WHERE m.id = :id AND m.status = com.protomil.core.equipment.domain.MaintenanceStatus.SCHEDULED")
+    int markOverdue(@Param("id") UUID id);
+}
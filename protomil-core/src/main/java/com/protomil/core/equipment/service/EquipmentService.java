@@ -0,0 +1,337 @@
+package com.protomil.core.equipment.service;
+
+import com.protomil.core.equipment.domain.Equipment;
+import com.protomil.core.equipment.domain.EquipmentStatus;
+import com.protomil.core.equipment.dto.EquipmentRequest;
+import com.protomil.core.equipment.dto.EquipmentResponse;
+import com.protomil.core.equipment.events.EquipmentAssignedEvent;
+import com.protomil.core.equipment.repository.EquipmentRepository;
+import com.protomil.core.jobcard.repository.MachineRepository;
+import com.protomil.core.shared.exception.BusinessException;
+import com.protomil.core.shared.exception.ResourceNotFoundException;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Equipment CRUD with lookups by ID, number and status served from an in-memory cache. The cache is
+ * loaded on first use and updated after each committed write made through this service, so it never
+ * shows uncommitted data; an entry is only replaced by one with a higher version, so writes that
+ * commit out of order cannot roll it back.
+ * <p>
+ * Writes made on other nodes (or outside the application) are picked up by a periodic check of the
+ * table's row count and version total, which reloads the cache when either has moved. Lookups by ID or
+ * number that miss the cache fall through to the database, so newly created equipment is visible
+ * before the next check.
+ */
+@Service
+@Slf4j
+public class EquipmentService {
+
+    private final EquipmentRepository equipmentRepository;
+    private final MachineRepository machineRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<UUID, EquipmentResponse> byId = new ConcurrentHashMap<>();
+    private final Map<String, UUID> idsByNumber = new ConcurrentHashMap<>();
+    private final Map<EquipmentStatus, Set<UUID>> idsByStatus = new EnumMap<>(EquipmentStatus.class);
+    private final Object cacheMonitor = new Object();
+    private volatile boolean cacheLoaded;
+    private volatile CacheStamp loadedStamp;
+
+    private record CacheStamp(long entries, long versionSum) {
+    }
+
+    public EquipmentService(EquipmentRepository equipmentRepository,
+                            MachineRepository machineRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            MeterRegistry meterRegistry) {
+        this.equipmentRepository = equipmentRepository;
+        this.machineRepository = machineRepository;
+        this.eventPublisher = eventPublisher;
+        for (EquipmentStatus status : EquipmentStatus.values()) {
+            idsByStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
+
+        Gauge.builder("protomil.equipment.cache.size", byId, Map::size)
+                .description("Equipment entries held in the lookup cache")
+                .register(meterRegistry);
+    }
+
+    public EquipmentResponse getEquipment(UUID equipmentId) {
+        ensureCacheLoaded();
+        EquipmentResponse equipment = byId.get(equipmentId);
+        if (equipment == null) {
+            equipment = equipmentRepository.findById(equipmentId)
+                    .map(this::cacheFromDatabase)
+                    .orElseThrow(() -> ResourceNotFoundException.forResource("Equipment", equipmentId.toString()));
+        }
+        return equipment;
+    }
+
+    public EquipmentResponse getEquipmentByNumber(String equipmentNumber) {
+        ensureCacheLoaded();
+        UUID equipmentId = idsByNumber.get(equipmentNumber);
+        EquipmentResponse equipment = equipmentId != null ? byId.get(equipmentId) : null;
+        if (equipment == null || !equipment.getEquipmentNumber().equals(equipmentNumber)) {
+            equipment = equipmentRepository.findByEquipmentNumber(equipmentNumber)
+                    .map(this::cacheFromDatabase)
+                    .orElseThrow(() -> ResourceNotFoundException.forResource("Equipment", equipmentNumber));
+        }
+        return equipment;
+    }
+
+    public List<EquipmentResponse> getEquipmentByStatus(EquipmentStatus status) {
+        ensureCacheLoaded();
+        return idsByStatus.get(status).stream()
+                .map(byId::get)
+                .filter(equipment -> equipment != null && equipment.getStatus() == status)
+                .sorted(Comparator.comparing(EquipmentResponse::getEquipmentNumber))
+                .toList();
+    }
+
+    @Transactional
+    @LogExecutionTime
+    public EquipmentResponse createEquipment(EquipmentRequest request) {
+        log.debug("Creating equipment {}", request.getEquipmentNumber());
+
+        if (equipmentRepository.existsByEquipmentNumber(request.getEquipmentNumber())) {
+            throw new BusinessException("Equipment number already exists: " + request.getEquipmentNumber());
+        }
+        requireMachine(request.getMachineId());
+
+        Equipment equipment = Equipment.builder()
+                .equipmentNumber(request.getEquipmentNumber())
+                .name(request.getName())
+                .description(request.getDescription())
+                .manufacturer(request.getManufacturer())
+                .model(request.getModel())
+                .serialNumber(request.getSerialNumber())
+                .location(request.getLocation())
+                .status(request.getStatus() != null ? request.getStatus() : EquipmentStatus.AVAILABLE)
+                .machineId(request.getMachineId())
+                .build();
+
+        Equipment saved = equipmentRepository.saveAndFlush(equipment);
+        log.info("Created equipment {} with ID: {}", saved.getEquipmentNumber(), saved.getId());
+
+        if (saved.getMachineId() != null) {
+            publishAssignedToMachine(saved);
+        }
+        return cacheAfterCommit(saved);
+    }
+
+    @Transactional
+    @LogExecutionTime
+    public EquipmentResponse updateEquipment(UUID equipmentId, EquipmentRequest request) {
+        log.debug("Updating equipment {}", equipmentId);
+
+        Equipment equipment = findEquipment(equipmentId);
+        if (!equipment.getEquipmentNumber().equals(request.getEquipmentNumber())
+                && equipmentRepository.existsByEquipmentNumber(request.getEquipmentNumber())) {
+            throw new BusinessException("Equipment number already exists: " + request.getEquipmentNumber());
+        }
+        requireMachine(request.getMachineId());
+        boolean machineChanged = request.getMachineId() != null
+                && !Objects.equals(equipment.getMachineId(), request.getMachineId());
+
+        equipment.setEquipmentNumber(request.getEquipmentNumber());
+        equipment.setName(request.getName());
+        equipment.setDescription(request.getDescription());
+        equipment.setManufacturer(request.getManufacturer());
+        equipment.setModel(request.getModel());
+        equipment.setSerialNumber(request.getSerialNumber());
+        equipment.setLocation(request.getLocation());
+        if (request.getStatus() != null) {
+            equipment.setStatus(request.getStatus());
+        }
+        equipment.setMachineId(request.getMachineId());
+
+        Equipment saved = equipmentRepository.saveAndFlush(equipment);
+        log.info("Updated equipment {}", saved.getEquipmentNumber());
+
+        if (machineChanged) {
+            publishAssignedToMachine(saved);
+        }
+        return cacheAfterCommit(saved);
+    }
+
+    @Transactional
+    @LogExecutionTime
+    public EquipmentResponse updateStatus(UUID equipmentId, EquipmentStatus status) {
+        Equipment equipment = findEquipment(equipmentId);
+        if (equipment.getStatus() == status) {
+            return toResponse(equipment);
+        }
+        if (equipment.getStatus() == EquipmentStatus.RETIRED) {
+            throw new BusinessException("Retired equipment cannot change status: " + equipment.getEquipmentNumber());
+        }
+
+        log.info("Equipment {} status {} -> {}", equipment.getEquipmentNumber(), equipment.getStatus(), status);
+        equipment.setStatus(status);
+        return cacheAfterCommit(equipmentRepository.saveAndFlush(equipment));
+    }
+
+    private Equipment findEquipment(UUID equipmentId) {
+        return equipmentRepository.findById(equipmentId)
+                .orElseThrow(() -> ResourceNotFoundException.forResource("Equipment", equipmentId.toString()));
+    }
+
+    private void requireMachine(Long machineId) {
+        if (machineId != null && !machineRepository.existsById(machineId)) {
+            throw new BusinessException("Machine not found with ID: " + machineId);
+        }
+    }
+
+    private void publishAssignedToMachine(Equipment equipment) {
+        eventPublisher.publishEvent(new EquipmentAssignedEvent(equipment.getId(), equipment.getEquipmentNumber(),
+                equipment.getMachineId(), null, null, Instant.now()));
+    }
+
+    private EquipmentResponse cacheAfterCommit(Equipment equipment) {
+        EquipmentResponse response = toResponse(equipment);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache(response);
+                }
+            });
+        } else {
+            cache(response);
+        }
+        return response;
+    }
+
+    /** Reloads the cache when equipment was inserted or updated since it was last loaded. */
+    @Scheduled(fixedDelayString = "${protomil.equipment.cache-check-interval-ms:30000}",
+            initialDelayString = "${protomil.equipment.cache-check-interval-ms:30000}")
+    public void checkCache() {
+        if (!cacheLoaded) {
+            return;
+        }
+        try {
+            CacheStamp current = currentStamp();
+            if (!current.equals(loadedStamp)) {
+                log.debug("Equipment changed outside this node ({} -> {}), reloading the lookup cache",
+                        loadedStamp, current);
+                reloadCache();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Equipment cache check failed: {}", e.getMessage());
+        }
+    }
+
+    private void ensureCacheLoaded() {
+        if (cacheLoaded) {
+            return;
+        }
+        synchronized (cacheMonitor) {
+            if (!cacheLoaded) {
+                reloadCache();
+                log.info("Loaded {} equipment entries into the lookup cache", byId.size());
+            }
+        }
+    }
+
+    private void reloadCache() {
+        // Stamp first: a write landing between the two reads only makes the next check reload again
+        CacheStamp stamp = currentStamp();
+        Set<UUID> cachedBefore = Set.copyOf(byId.keySet());
+        List<Equipment> all = equipmentRepository.findAll();
+
+        synchronized (cacheMonitor) {
+            Set<UUID> present = new HashSet<>();
+            for (Equipment equipment : all) {
+                present.add(equipment.getId());
+                cache(toResponse(equipment));
+            }
+            // Entries cached after the read started are newer than it, so only drop ones it should have seen
+            for (UUID id : cachedBefore) {
+                if (!present.contains(id)) {
+                    evict(id);
+                }
+            }
+            loadedStamp = stamp;
+            cacheLoaded = true;
+        }
+    }
+
+    private CacheStamp currentStamp() {
+        EquipmentRepository.CacheVersion version = equipmentRepository.findCacheVersion();
+        return new CacheStamp(version.getEntries(), version.getVersionSum());
+    }
+
+    private EquipmentResponse cacheFromDatabase(Equipment equipment) {
+        EquipmentResponse response = toResponse(equipment);
+        cache(response);
+        return response;
+    }
+
+    private void evict(UUID equipmentId) {
+        synchronized (cacheMonitor) {
+            EquipmentResponse previous = byId.remove(equipmentId);
+            if (previous != null) {
+                idsByNumber.remove(previous.getEquipmentNumber(), previous.getId());
+                idsByStatus.get(previous.getStatus()).remove(previous.getId());
+            }
+        }
+    }
+
+    private void cache(EquipmentResponse equipment) {
+        synchronized (cacheMonitor) {
+            EquipmentResponse previous = byId.get(equipment.getId());
+            if (previous != null && versionOf(previous) > versionOf(equipment)) {
+                return;
+            }
+            if (previous != null) {
+                idsByNumber.remove(previous.getEquipmentNumber(), previous.getId());
+                idsByStatus.get(previous.getStatus()).remove(previous.getId());
+            }
+            byId.put(equipment.getId(), equipment);
+            idsByNumber.put(equipment.getEquipmentNumber(), equipment.getId());
+            idsByStatus.get(equipment.getStatus()).add(equipment.getId());
+        }
+    }
+
+    private static long versionOf(EquipmentResponse equipment) {
+        return Optional.ofNullable(equipment.getVersion()).orElse(0L);
+    }
+
+    private EquipmentResponse toResponse(Equipment equipment) {
+        return EquipmentResponse.builder()
+                .id(equipment.getId())
+                .equipmentNumber(equipment.getEquipmentNumber())
+                .name(equipment.getName())
+                .description(equipment.getDescription())
+                .manufacturer(equipment.getManufacturer())
+                .model(equipment.getModel())
+                .serialNumber(equipment.getSerialNumber())
+                .location(equipment.getLocation())
+                .status(equipment.getStatus())
+                .machineId(equipment.getMachineId())
+                .version(equipment.getVersion())
+                .createdAt(equipment.getCreatedAt())
+                .updatedAt(equipment.getUpdatedAt())
+                .build();
+    }
+}
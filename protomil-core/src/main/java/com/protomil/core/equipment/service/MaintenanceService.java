@@ -0,0 +1,428 @@
+package com.protomil.core.equipment.service;
+
+import com.protomil.core.equipment.domain.Equipment;
+import com.protomil.core.equipment.domain.EquipmentStatus;
+import com.protomil.core.equipment.domain.MaintenanceSchedule;
+import com.protomil.core.equipment.domain.MaintenanceStatus;
+import com.protomil.core.equipment.dto.MaintenanceRequest;
+import com.protomil.core.equipment.dto.MaintenanceResponse;
+import com.protomil.core.equipment.events.EquipmentAssignedEvent;
+import com.protomil.core.equipment.events.MaintenanceScheduledEvent;
+import com.protomil.core.equipment.repository.EquipmentRepository;
+import com.protomil.core.equipment.repository.MaintenanceRepository;
+import com.protomil.core.shared.exception.BusinessException;
+import com.protomil.core.shared.exception.ResourceNotFoundException;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recurring equipment maintenance. Schedules due within the queue window sit in an in-memory
+ * {@link DelayQueue} (a min-heap on due time) that a single dispatcher thread takes from, so nothing
+ * polls the table for due work. When a schedule's window opens, {@link MaintenanceScheduledEvent}
+ * (and {@link EquipmentAssignedEvent} for its technician) is published; when the window closes
+ * without the maintenance being started, the schedule is marked OVERDUE.
+ * <p>
+ * Writes through this service update the queue after commit. Each firing re-reads the schedule and
+ * claims it with a conditional update, so stale queue entries, restarts and several nodes holding the
+ * same schedule all result in one notification per window. A periodic refresh pulls in schedules
+ * entering the window, including ones written by other nodes.
+ */
+@Service
+@Slf4j
+public class MaintenanceService {
+
+    private static final Set<MaintenanceStatus> STARTABLE = EnumSet.of(MaintenanceStatus.SCHEDULED, MaintenanceStatus.OVERDUE);
+
+    private enum Phase {
+        DUE, OVERDUE_CHECK
+    }
+
+    private record DueItem(UUID scheduleId, LocalDateTime dueAt, Phase phase, long stamp) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(LocalDateTime.now(), dueAt));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            DueItem that = (DueItem) other;
+            int cmp = dueAt.compareTo(that.dueAt);
+            return cmp != 0 ? cmp : Long.compare(stamp, that.stamp);
+        }
+    }
+
+    private final MaintenanceRepository maintenanceRepository;
+    private final EquipmentRepository equipmentRepository;
+    private final EquipmentService equipmentService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration queueWindow;
+    private final int defaultDurationMinutes;
+
+    private final DelayQueue<DueItem> dueQueue = new DelayQueue<>();
+    // Latest stamp per queued schedule; queue entries with an older stamp are stale and skipped
+    private final Map<UUID, Long> queuedStamps = new ConcurrentHashMap<>();
+    private final AtomicLong stamps = new AtomicLong();
+    private final Counter notificationsSent;
+    private final Counter schedulesOverdue;
+    private volatile Thread dispatcher;
+
+    public MaintenanceService(MaintenanceRepository maintenanceRepository,
+                              EquipmentRepository equipmentRepository,
+                              EquipmentService equipmentService,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${protomil.maintenance.queue-window:P2D}") Duration queueWindow,
+                              @Value("${protomil.machine-calendar.default-maintenance-minutes:480}") int defaultDurationMinutes) {
+        this.maintenanceRepository = maintenanceRepository;
+        this.equipmentRepository = equipmentRepository;
+        this.equipmentService = equipmentService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queueWindow = queueWindow;
+        this.defaultDurationMinutes = defaultDurationMinutes;
+
+        Gauge.builder("protomil.maintenance.queue.size", queuedStamps, Map::size)
+                .description("Maintenance schedules waiting in the due queue")
+                .register(meterRegistry);
+        this.notificationsSent = Counter.builder("protomil.maintenance.due.notified")
+                .description("Maintenance due notifications published")
+                .register(meterRegistry);
+        this.schedulesOverdue = Counter.builder("protomil.maintenance.overdue")
+                .description("Maintenance schedules marked overdue")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startDispatcher() {
+        refreshQueue();
+        dispatcher = Thread.ofPlatform().name("maintenance-due-dispatcher").daemon().start(this::dispatch);
+        log.info("Maintenance due dispatcher started with {} queued schedules", queuedStamps.size());
+    }
+
+    @PreDestroy
+    public void stopDispatcher() {
+        Thread thread = dispatcher;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /** Pulls schedules that entered the queue window into the queue. */
+    @Scheduled(fixedDelayString = "${protomil.maintenance.queue-refresh-ms:3600000}",
+            initialDelayString = "${protomil.maintenance.queue-refresh-ms:3600000}")
+    public void refreshQueue() {
+        LocalDateTime horizon = LocalDateTime.now().plus(queueWindow);
+        List<MaintenanceSchedule> schedules = maintenanceRepository.findDueUntil(
+                EnumSet.of(MaintenanceStatus.SCHEDULED), horizon.toLocalDate());
+        int added = 0;
+        for (MaintenanceSchedule schedule : schedules) {
+            if (!queuedStamps.containsKey(schedule.getId()) && !schedule.getWindowStart().isAfter(horizon)) {
+                enqueue(schedule.getId(), schedule.getWindowStart(), Phase.DUE);
+                added++;
+            }
+        }
+        log.debug("Maintenance due queue refreshed, {} schedules added", added);
+    }
+
+    @Transactional
+    @LogExecutionTime
+    public MaintenanceResponse scheduleMaintenance(UUID equipmentId, MaintenanceRequest request) {
+        Equipment equipment = equipmentRepository.findById(equipmentId)
+                .orElseThrow(() -> ResourceNotFoundException.forResource("Equipment", equipmentId.toString()));
+        if (equipment.getStatus() == EquipmentStatus.RETIRED) {
+            throw new BusinessException("Cannot schedule maintenance for retired equipment: " + equipment.getEquipmentNumber());
+        }
+        validateWindow(request);
+
+        MaintenanceSchedule schedule = MaintenanceSchedule.builder()
+                .equipment(equipment)
+                .maintenanceType(request.getMaintenanceType())
+                .frequencyDays(request.getFrequencyDays())
+                .nextMaintenanceDate(request.getNextMaintenanceDate())
+                .plannedStart(request.getPlannedStart())
+                .plannedDurationMinutes(request.getPlannedDurationMinutes())
+                .assignedTo(request.getAssignedTo())
+                .status(MaintenanceStatus.SCHEDULED)
+                .build();
+
+        MaintenanceSchedule saved = maintenanceRepository.saveAndFlush(schedule);
+        log.info("Scheduled {} maintenance for equipment {} on {}", saved.getMaintenanceType(),
+                equipment.getEquipmentNumber(), saved.getNextMaintenanceDate());
+        return published(saved);
+    }
+
+    @Transactional
+    @LogExecutionTime
+    public MaintenanceResponse reschedule(UUID scheduleId, MaintenanceRequest request) {
+        MaintenanceSchedule schedule = findSchedule(scheduleId);
+        if (!schedule.getStatus().isOpen() || schedule.getStatus() == MaintenanceStatus.IN_PROGRESS) {
+            throw new BusinessException("Only scheduled or overdue maintenance can be rescheduled");
+        }
+        validateWindow(request);
+
+        schedule.setMaintenanceType(request.getMaintenanceType());
+        schedule.setFrequencyDays(request.getFrequencyDays());
+        schedule.setNextMaintenanceDate(request.getNextMaintenanceDate());
+        schedule.setPlannedStart(request.getPlannedStart());
+        schedule.setPlannedDurationMinutes(request.getPlannedDurationMinutes());
+        schedule.setAssignedTo(request.getAssignedTo());
+        schedule.setStatus(MaintenanceStatus.SCHEDULED);
+        schedule.setDueNotifiedAt(null);
+
+        log.info("Rescheduled maintenance {} to {}", scheduleId, schedule.getNextMaintenanceDate());
+        return published(maintenanceRepository.saveAndFlush(schedule));
+    }
+
+    @Transactional
+    @LogExecutionTime
+    public MaintenanceResponse startMaintenance(UUID scheduleId) {
+        MaintenanceSchedule schedule = findSchedule(scheduleId);
+        if (!STARTABLE.contains(schedule.getStatus())) {
+            throw new BusinessException("Maintenance cannot be started from status " + schedule.getStatus());
+        }
+
+        schedule.setStatus(MaintenanceStatus.IN_PROGRESS);
+        equipmentService.updateStatus(schedule.getEquipment().getId(), EquipmentStatus.MAINTENANCE);
+
+        log.info("Started maintenance {} on equipment {}", scheduleId, schedule.getEquipment().getEquipmentNumber());
+        return published(maintenanceRepository.saveAndFlush(schedule));
+    }
+
+    /** Records the maintenance as done and rolls the schedule over to its next cycle. */
+    @Transactional
+    @LogExecutionTime
+    public MaintenanceResponse completeMaintenance(UUID scheduleId) {
+        MaintenanceSchedule schedule = findSchedule(scheduleId);
+        if (!schedule.getStatus().isOpen()) {
+            throw new BusinessException("Maintenance cannot be completed from status " + schedule.getStatus());
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate next = today.plusDays(schedule.getFrequencyDays());
+        schedule.setLastMaintenanceDate(today);
+        schedule.setNextMaintenanceDate(next);
+        if (schedule.getPlannedStart() != null) {
+            schedule.setPlannedStart(next.atTime(schedule.getPlannedStart().toLocalTime()));
+        }
+        schedule.setStatus(MaintenanceStatus.SCHEDULED);
+        schedule.setDueNotifiedAt(null);
+        if (schedule.getEquipment().getStatus() == EquipmentStatus.MAINTENANCE) {
+            equipmentService.updateStatus(schedule.getEquipment().getId(), EquipmentStatus.AVAILABLE);
+        }
+
+        log.info("Completed maintenance {} on equipment {}, next due {}", scheduleId,
+                schedule.getEquipment().getEquipmentNumber(), next);
+        return published(maintenanceRepository.saveAndFlush(schedule));
+    }
+
+    @Transactional
+    @LogExecutionTime
+    public MaintenanceResponse cancelMaintenance(UUID scheduleId) {
+        MaintenanceSchedule schedule = findSchedule(scheduleId);
+        if (!schedule.getStatus().isOpen()) {
+            throw new BusinessException("Maintenance cannot be cancelled from status " + schedule.getStatus());
+        }
+        if (schedule.getStatus() == MaintenanceStatus.IN_PROGRESS
+                && schedule.getEquipment().getStatus() == EquipmentStatus.MAINTENANCE) {
+            equipmentService.updateStatus(schedule.getEquipment().getId(), EquipmentStatus.AVAILABLE);
+        }
+
+        schedule.setStatus(MaintenanceStatus.CANCELLED);
+        log.info("Cancelled maintenance {}", scheduleId);
+        return published(maintenanceRepository.saveAndFlush(schedule));
+    }
+
+    @Transactional(readOnly = true)
+    public List<MaintenanceResponse> getSchedulesForEquipment(UUID equipmentId) {
+        return maintenanceRepository.findByEquipmentIdOrderByNextMaintenanceDate(equipmentId).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<MaintenanceResponse> getUpcoming(int days) {
+        if (days < 0) {
+            throw new BusinessException("Days must not be negative");
+        }
+        return maintenanceRepository.findDueUntil(
+                        EnumSet.of(MaintenanceStatus.SCHEDULED, MaintenanceStatus.OVERDUE, MaintenanceStatus.IN_PROGRESS),
+                        LocalDate.now().plusDays(days)).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    private void dispatch() {
+        while (!Thread.currentThread().isInterrupted()) {
+            DueItem item;
+            try {
+                item = dueQueue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!Long.valueOf(item.stamp()).equals(queuedStamps.get(item.scheduleId()))) {
+                continue;
+            }
+            try {
+                if (item.phase() == Phase.DUE) {
+                    fireDue(item.scheduleId());
+                } else {
+                    fireOverdueCheck(item.scheduleId());
+                }
+            } catch (RuntimeException e) {
+                log.error("Maintenance {} {} handling failed: {}", item.scheduleId(), item.phase(), e.getMessage(), e);
+                queuedStamps.remove(item.scheduleId(), item.stamp());
+            }
+        }
+    }
+
+    private void fireDue(UUID scheduleId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            MaintenanceSchedule schedule = maintenanceRepository.findWithEquipmentById(scheduleId).orElse(null);
+            if (schedule == null || schedule.getStatus() != MaintenanceStatus.SCHEDULED) {
+                queuedStamps.remove(scheduleId);
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            // Rescheduled by another node since it was queued
+            if (schedule.getWindowStart().isAfter(now)) {
+                enqueue(scheduleId, schedule.getWindowStart(), Phase.DUE);
+                return;
+            }
+
+            if (maintenanceRepository.claimDueNotification(scheduleId, schedule.getWindowStart(), now) == 1) {
+                eventPublisher.publishEvent(MaintenanceScheduledEvent.of(schedule, defaultDurationMinutes));
+                if (schedule.getAssignedTo() != null) {
+                    eventPublisher.publishEvent(new EquipmentAssignedEvent(schedule.getEquipment().getId(),
+                            schedule.getEquipment().getEquipmentNumber(), schedule.getEquipment().getMachineId(),
+                            schedule.getAssignedTo(), scheduleId, Instant.now()));
+                }
+                notificationsSent.increment();
+                log.info("{} maintenance {} on equipment {} is due", schedule.getMaintenanceType(), scheduleId,
+                        schedule.getEquipment().getEquipmentNumber());
+            }
+            enqueue(scheduleId, schedule.getWindowEnd(defaultDurationMinutes), Phase.OVERDUE_CHECK);
+        });
+    }
+
+    private void fireOverdueCheck(UUID scheduleId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            MaintenanceSchedule schedule = maintenanceRepository.findWithEquipmentById(scheduleId).orElse(null);
+            if (schedule == null || schedule.getStatus() != MaintenanceStatus.SCHEDULED) {
+                queuedStamps.remove(scheduleId);
+                return;
+            }
+            LocalDateTime windowEnd = schedule.getWindowEnd(defaultDurationMinutes);
+            if (windowEnd.isAfter(LocalDateTime.now())) {
+                enqueue(scheduleId, windowEnd, Phase.OVERDUE_CHECK);
+                return;
+            }
+
+            queuedStamps.remove(scheduleId);
+            if (maintenanceRepository.markOverdue(scheduleId) == 1) {
+                // The update cleared the persistence context, so this only changes the event payload
+                schedule.setStatus(MaintenanceStatus.OVERDUE);
+                eventPublisher.publishEvent(MaintenanceScheduledEvent.of(schedule, defaultDurationMinutes));
+                schedulesOverdue.increment();
+                log.warn("{} maintenance {} on equipment {} is overdue", schedule.getMaintenanceType(), scheduleId,
+                        schedule.getEquipment().getEquipmentNumber());
+            }
+        });
+    }
+
+    private void enqueue(UUID scheduleId, LocalDateTime dueAt, Phase phase) {
+        long stamp = stamps.incrementAndGet();
+        queuedStamps.put(scheduleId, stamp);
+        dueQueue.put(new DueItem(scheduleId, dueAt, phase, stamp));
+    }
+
+    /** Publishes the schedule's new state and brings the due queue in line once the write commits. */
+    private MaintenanceResponse published(MaintenanceSchedule schedule) {
+        eventPublisher.publishEvent(MaintenanceScheduledEvent.of(schedule, defaultDurationMinutes));
+
+        UUID scheduleId = schedule.getId();
+        boolean queue = schedule.getStatus() == MaintenanceStatus.SCHEDULED
+                && !schedule.getWindowStart().isAfter(LocalDateTime.now().plus(queueWindow));
+        LocalDateTime windowStart = schedule.getWindowStart();
+        Runnable updateQueue = () -> {
+            if (queue) {
+                enqueue(scheduleId, windowStart, Phase.DUE);
+            } else {
+                queuedStamps.remove(scheduleId);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    updateQueue.run();
+                }
+            });
+        } else {
+            updateQueue.run();
+        }
+        return toResponse(schedule);
+    }
+
+    private MaintenanceSchedule findSchedule(UUID scheduleId) {
+        return maintenanceRepository.findWithEquipmentById(scheduleId)
+                .orElseThrow(() -> ResourceNotFoundException.forResource("Maintenance schedule", scheduleId.toString()));
+    }
+
+    private void validateWindow(MaintenanceRequest request) {
+        if (request.getPlannedStart() != null
+                && !request.getPlannedStart().toLocalDate().equals(request.getNextMaintenanceDate())) {
+            throw new BusinessException("Planned start must fall on the next maintenance date");
+        }
+    }
+
+    private MaintenanceResponse toResponse(MaintenanceSchedule schedule) {
+        return MaintenanceResponse.builder()
+                .id(schedule.getId())
+                .equipmentId(schedule.getEquipment().getId())
+                .equipmentNumber(schedule.getEquipment().getEquipmentNumber())
+                .maintenanceType(schedule.getMaintenanceType())
+                .frequencyDays(schedule.getFrequencyDays())
+                .lastMaintenanceDate(schedule.getLastMaintenanceDate())
+                .nextMaintenanceDate(schedule.getNextMaintenanceDate())
+                .windowStart(schedule.getWindowStart())
+                .windowEnd(schedule.getWindowEnd(defaultDurationMinutes))
+                .assignedTo(schedule.getAssignedTo())
+                .status(schedule.getStatus())
+                .version(schedule.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,12 @@
+package com.protomil.core.integration.mes;
+
+/**
+ * One signal from a machine: its state, its part counter, or both. The part counter is the raw
+ * cumulative value of the machine; produced quantities are derived from its increments.
+ *
+ * @param state       current state, or null if the signal only carries a count
+ * @param partCounter cumulative part counter, or null if the signal only carries a state
+ * @param timestamp   when the machine reported the signal, in epoch milliseconds
+ */
+public record MachineSignal(String machineCode, MachineState state, Long partCounter, long timestamp) {
+}
@@ -0,0 +1,8 @@
+package com.protomil.core.integration.mes;
+
+/** Operating state reported by a machine controller. */
+public enum MachineState {
+    RUN,
+    IDLE,
+    DOWN
+}
@@ -0,0 +1,128 @@
+package com.protomil.core.integration.mes;
+
+import com.protomil.core.integration.mes.TelemetryBucketAggregator.Bucket;
+import com.protomil.core.jobcard.domain.enums.Shift;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes downsampled telemetry buckets and reads them back per machine and shift, next to what was
+ * typed into production_master for the same machine, date and shift.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MachineTelemetryRepository {
+
+    // Additive, so a bucket written again for late signals adds to what is stored
+    private static final String UPSERT_SQL = """
+            INSERT INTO machine_telemetry_buckets (machine_code, bucket_start, bucket_seconds, run_millis,
+                                                   idle_millis, down_millis, part_count, signal_count)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (machine_code, bucket_start) DO UPDATE SET
+                run_millis = machine_telemetry_buckets.run_millis + EXCLUDED.run_millis,
+                idle_millis = machine_telemetry_buckets.idle_millis + EXCLUDED.idle_millis,
+                down_millis = machine_telemetry_buckets.down_millis + EXCLUDED.down_millis,
+                part_count = machine_telemetry_buckets.part_count + EXCLUDED.part_count,
+                signal_count = machine_telemetry_buckets.signal_count + EXCLUDED.signal_count,
+                updated_at = CURRENT_TIMESTAMP
+            """;
+
+    private static final String SHIFT_TOTALS_SQL = """
+            SELECT b.machine_code, %s AS shift,
+                   SUM(b.run_millis) AS run_millis, SUM(b.idle_millis) AS idle_millis,
+                   SUM(b.down_millis) AS down_millis, SUM(b.part_count) AS part_count,
+                   SUM(b.signal_count) AS signal_count
+            FROM machine_telemetry_buckets b
+            WHERE b.bucket_start >= :from AND b.bucket_start < :to
+              AND (CAST(:machineCode AS VARCHAR) IS NULL OR b.machine_code = :machineCode)
+            GROUP BY 1, 2
+            """;
+
+    private static final String RECORDED_TOTALS_SQL = """
+            SELECT pm.machine_code, pm.shift,
+                   SUM(COALESCE(pm.production_quantity, 0)) AS production_quantity,
+                   SUM(COALESCE(pm.total_loss_time_minutes, 0)) AS loss_minutes
+            FROM production_master pm
+            WHERE pm.entry_date = :date AND pm.machine_code IS NOT NULL AND pm.shift IS NOT NULL
+              AND (CAST(:machineCode AS VARCHAR) IS NULL OR pm.machine_code = :machineCode)
+            GROUP BY pm.machine_code, pm.shift
+            """;
+
+    /** Telemetry totals of one machine in one shift. */
+    public record ShiftTotals(String machineCode, Shift shift, long runMillis, long idleMillis, long downMillis,
+                              long partCount, long signalCount) {
+    }
+
+    /** What was entered manually in production_master for one machine and shift. */
+    public record RecordedTotals(String machineCode, Shift shift, long productionQuantity, long lossMinutes) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public void upsertBuckets(List<Bucket> buckets) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, buckets, 500, (ps, bucket) -> {
+            ps.setString(1, bucket.machineCode());
+            ps.setTimestamp(2, Timestamp.valueOf(bucket.bucketStart()));
+            ps.setInt(3, bucket.bucketSeconds());
+            ps.setLong(4, bucket.runMillis());
+            ps.setLong(5, bucket.idleMillis());
+            ps.setLong(6, bucket.downMillis());
+            ps.setLong(7, bucket.partCount());
+            ps.setInt(8, bucket.signalCount());
+        });
+    }
+
+    /**
+     * Bucket totals per machine and shift of the production date {@code date}; a night shift runs
+     * into the next calendar day. {@code machineCode} may be null for all machines.
+     */
+    public List<ShiftTotals> findShiftTotals(LocalDate date, String machineCode) {
+        MapSqlParameterSource params = new MapSqlParameterSource().addValue("machineCode", machineCode);
+        StringBuilder shiftCase = new StringBuilder("CASE");
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        for (Shift shift : Shift.values()) {
+            LocalDateTime start = date.atTime(shift.getStartTime());
+            LocalDateTime end = shift.crossesMidnight()
+                    ? date.plusDays(1).atTime(shift.getEndTime())
+                    : date.atTime(shift.getEndTime());
+            params.addValue(shift.name() + "_start", start).addValue(shift.name() + "_end", end);
+            shiftCase.append(" WHEN b.bucket_start >= :").append(shift.name()).append("_start")
+                    .append(" AND b.bucket_start < :").append(shift.name()).append("_end")
+                    .append(" THEN '").append(shift.name()).append("'");
+            from = from == null || start.isBefore(from) ? start : from;
+            to = to == null || end.isAfter(to) ? end : to;
+        }
+        shiftCase.append(" END");
+        params.addValue("from", from).addValue("to", to);
+
+        return namedJdbcTemplate.query(SHIFT_TOTALS_SQL.formatted(shiftCase), params, (rs, rowNum) -> new ShiftTotals(
+                rs.getString("machine_code"),
+                Shift.valueOf(rs.getString("shift")),
+                rs.getLong("run_millis"),
+                rs.getLong("idle_millis"),
+                rs.getLong("down_millis"),
+                rs.getLong("part_count"),
+                rs.getLong("signal_count")));
+    }
+
+    public List<RecordedTotals> findRecordedTotals(LocalDate date, String machineCode) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("date", date)
+                .addValue("machineCode", machineCode);
+        return namedJdbcTemplate.query(RECORDED_TOTALS_SQL, params, (rs, rowNum) -> new RecordedTotals(
+                rs.getString("machine_code"),
+                Shift.valueOf(rs.getString("shift")),
+                rs.getLong("production_quantity"),
+                rs.getLong("loss_minutes")));
+    }
+}
@@ -0,0 +1,169 @@
+package com.protomil.core.integration.mes;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Line protocol listener for MES gateways that stream signals over a plain TCP connection instead of
+ * posting batches. Each line is one signal:
+ * <pre>
+ * &lt;machineCode&gt; &lt;RUN|IDLE|DOWN|-&gt; &lt;partCounter|-&gt; [epochMillis]
+ * </pre>
+ * A {@code -} leaves the state or counter out; without a timestamp the time of receipt is used. Blank
+ * lines and lines starting with {@code #} are skipped, malformed lines are counted and dropped.
+ * Nothing is written back. While the ingestion queue is full the connection stops reading, so TCP
+ * flow control slows the gateway down instead of signals being lost.
+ * <p>
+ * Disabled by default; enable with {@code protomil.mes.tcp.enabled}. The port has no authentication
+ * and should only be reachable from the shop floor network.
+ */
+@Component
+@Slf4j
+public class MesEventHandler {
+
+    // How long a connection blocks on a full queue before checking whether it was closed
+    private static final Duration ENQUEUE_WAIT = Duration.ofMillis(500);
+
+    private final MesIntegrationService mesIntegrationService;
+    private final boolean enabled;
+    private final int port;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final Counter linesMalformed;
+
+    private volatile ServerSocket serverSocket;
+
+    public MesEventHandler(MesIntegrationService mesIntegrationService,
+                           MeterRegistry meterRegistry,
+                           @Value("${protomil.mes.tcp.enabled:false}") boolean enabled,
+                           @Value("${protomil.mes.tcp.port:5140}") int port) {
+        this.mesIntegrationService = mesIntegrationService;
+        this.enabled = enabled;
+        this.port = port;
+
+        this.linesMalformed = Counter.builder("protomil.mes.tcp.malformed_lines")
+                .description("Line protocol lines that could not be parsed")
+                .register(meterRegistry);
+        Gauge.builder("protomil.mes.tcp.connections", connections, Set::size)
+                .description("Open MES gateway connections")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        serverSocket = new ServerSocket(port);
+        Thread.ofVirtual().name("mes-tcp-acceptor").start(this::acceptConnections);
+        log.info("MES line protocol listener started on port {}", port);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ServerSocket socket = serverSocket;
+        if (socket == null) {
+            return;
+        }
+        closeQuietly(socket);
+        connections.forEach(this::closeQuietly);
+    }
+
+    /**
+     * Parses one line protocol line; returns null for blank and comment lines.
+     *
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    public static MachineSignal parseLine(String line, long receivedAt) {
+        String trimmed = line.strip();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+            return null;
+        }
+
+        String[] fields = trimmed.split("\\s+");
+        if (fields.length < 3 || fields.length > 4) {
+            throw new IllegalArgumentException("Expected 3 or 4 fields but got " + fields.length);
+        }
+        MachineState state = "-".equals(fields[1]) ? null : MachineState.valueOf(fields[1].toUpperCase());
+        Long partCounter = "-".equals(fields[2]) ? null : Long.valueOf(fields[2]);
+        long timestamp = fields.length == 4 ? Long.parseLong(fields[3]) : receivedAt;
+        return new MachineSignal(fields[0], state, partCounter, timestamp);
+    }
+
+    private void acceptConnections() {
+        ServerSocket socket = serverSocket;
+        while (!socket.isClosed()) {
+            try {
+                Socket connection = socket.accept();
+                connections.add(connection);
+                Thread.ofVirtual()
+                        .name("mes-tcp-" + connection.getRemoteSocketAddress())
+                        .start(() -> handleConnection(connection));
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    log.warn("Failed to accept MES connection: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handleConnection(Socket connection) {
+        log.info("MES gateway connected from {}", connection.getRemoteSocketAddress());
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8), 64 * 1024)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                MachineSignal signal;
+                try {
+                    signal = parseLine(line, System.currentTimeMillis());
+                } catch (IllegalArgumentException e) {
+                    linesMalformed.increment();
+                    log.debug("Dropping malformed MES line from {}: {}", connection.getRemoteSocketAddress(), e.getMessage());
+                    continue;
+                }
+                if (signal != null && mesIntegrationService.isWellFormed(signal)) {
+                    while (!mesIntegrationService.enqueue(signal, ENQUEUE_WAIT)) {
+                        if (connection.isClosed()) {
+                            return;
+                        }
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (SocketException e) {
+            log.debug("MES connection {} closed: {}", connection.getRemoteSocketAddress(), e.getMessage());
+        } catch (IOException e) {
+            log.warn("MES connection {} failed: {}", connection.getRemoteSocketAddress(), e.getMessage());
+        } finally {
+            connections.remove(connection);
+            closeQuietly(connection);
+            log.info("MES gateway {} disconnected", connection.getRemoteSocketAddress());
+        }
+    }
+
+    private void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            log.debug("Failed to close MES socket: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.protomil.core.integration.mes;
+
+import com.protomil.core.integration.mes.MachineTelemetryRepository.RecordedTotals;
+import com.protomil.core.integration.mes.MachineTelemetryRepository.ShiftTotals;
+import com.protomil.core.integration.mes.TelemetryBucketAggregator.Bucket;
+import com.protomil.core.integration.mes.dto.MachineShiftTelemetryResponse;
+import com.protomil.core.integration.mes.dto.SignalIngestResponse;
+import com.protomil.core.jobcard.domain.enums.Shift;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingests machine state and part counter signals and turns them into per-machine time buckets.
+ * <p>
+ * Producers (the REST endpoint and {@link MesEventHandler}'s TCP connections) add signals to a
+ * queue bounded by {@code protomil.mes.queue-capacity}; when it is full the signal is refused rather
+ * than buffered, so an overloaded node pushes back on its senders. One aggregator thread blocks on the
+ * queue, drains it into a {@link TelemetryBucketAggregator} and, every flush interval, writes
+ * the buckets that can no longer receive signals in one JDBC batch. A bucket is held back for
+ * {@code allowed-lateness} after it ends to absorb gateway delays; later signals for it are still
+ * added to the stored row.
+ * <p>
+ * Aggregation state lives on one node: a machine's signals must all reach the same node, which a
+ * gateway sticking to one connection or endpoint gives for free.
+ */
+@Service
+@Slf4j
+public class MesIntegrationService {
+
+    private static final int MAX_MACHINE_CODE_LENGTH = 50;
+    private static final int MAX_PENDING_BUCKETS = 200_000;
+    private static final int DRAIN_BATCH = 4_096;
+    private static final long MAX_IDLE_WAIT_MILLIS = 500;
+
+    private final MachineTelemetryRepository telemetryRepository;
+    private final BlockingQueue<MachineSignal> queue;
+    private final int queueCapacity;
+    private final long allowedLatenessMillis;
+    private final long flushIntervalMillis;
+    private final long maxClockSkewMillis;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final TelemetryBucketAggregator aggregator;
+    private final List<Bucket> pendingBuckets = new ArrayList<>();
+
+    private final Counter signalsAccepted;
+    private final Counter signalsRejected;
+    private final Counter signalsMalformed;
+    private final Counter signalsLate;
+    private final Counter bucketsWritten;
+    private final Counter bucketsDropped;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private Thread aggregatorThread;
+
+    public MesIntegrationService(MachineTelemetryRepository telemetryRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${protomil.mes.queue-capacity:1000000}") int queueCapacity,
+                                 @Value("${protomil.mes.bucket:PT1M}") Duration bucket,
+                                 @Value("${protomil.mes.allowed-lateness:PT10S}") Duration allowedLateness,
+                                 @Value("${protomil.mes.stale-after:PT5M}") Duration staleAfter,
+                                 @Value("${protomil.mes.flush-interval:PT5S}") Duration flushInterval,
+                                 @Value("${protomil.mes.max-clock-skew:PT1M}") Duration maxClockSkew) {
+        this.telemetryRepository = telemetryRepository;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.queueCapacity = queueCapacity;
+        this.allowedLatenessMillis = allowedLateness.toMillis();
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.maxClockSkewMillis = maxClockSkew.toMillis();
+        this.aggregator = new TelemetryBucketAggregator(bucket.toMillis(), staleAfter.toMillis(), zone);
+
+        this.signalsAccepted = Counter.builder("protomil.mes.signals.accepted")
+                .description("Machine signals queued for aggregation")
+                .register(meterRegistry);
+        this.signalsRejected = Counter.builder("protomil.mes.signals.rejected")
+                .description("Machine signals refused because the ingestion queue was full")
+                .register(meterRegistry);
+        this.signalsMalformed = Counter.builder("protomil.mes.signals.malformed")
+                .description("Machine signals dropped as malformed or too far in the future")
+                .register(meterRegistry);
+        this.signalsLate = Counter.builder("protomil.mes.signals.late")
+                .description("Machine signals dropped because a newer signal of the machine was already applied")
+                .register(meterRegistry);
+        this.bucketsWritten = Counter.builder("protomil.mes.buckets.written")
+                .description("Telemetry buckets written to the database")
+                .register(meterRegistry);
+        this.bucketsDropped = Counter.builder("protomil.mes.buckets.dropped")
+                .description("Telemetry buckets discarded after the database stayed unavailable")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("protomil.mes.flush")
+                .description("Time to write a batch of telemetry buckets")
+                .register(meterRegistry);
+        Gauge.builder("protomil.mes.queue_depth", queue, BlockingQueue::size)
+                .description("Machine signals waiting for the aggregator")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        aggregatorThread = Thread.ofPlatform()
+                .name("mes-telemetry-aggregator")
+                .daemon(true)
+                .start(this::runAggregator);
+        log.info("MES telemetry aggregation started (queue capacity {})", queueCapacity);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (aggregatorThread != null) {
+            aggregatorThread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    /**
+     * Queues a batch of signals; malformed signals are dropped, and signals that do not fit in the
+     * queue are refused and reported back so the sender can retry them.
+     */
+    public SignalIngestResponse ingest(Collection<MachineSignal> signals) {
+        int accepted = 0;
+        int rejected = 0;
+        for (MachineSignal signal : signals) {
+            if (!isWellFormed(signal)) {
+                rejected++;
+            } else if (enqueue(signal)) {
+                accepted++;
+            } else {
+                signalsRejected.increment();
+                rejected++;
+            }
+        }
+        return SignalIngestResponse.builder()
+                .accepted(accepted)
+                .rejected(rejected)
+                .build();
+    }
+
+    /** Checks a signal before queueing it; counts it as malformed if it is not. */
+    boolean isWellFormed(MachineSignal signal) {
+        boolean wellFormed = signal != null
+                && signal.machineCode() != null
+                && !signal.machineCode().isBlank()
+                && signal.machineCode().length() <= MAX_MACHINE_CODE_LENGTH
+                && (signal.state() != null || signal.partCounter() != null)
+                && signal.timestamp() <= System.currentTimeMillis() + maxClockSkewMillis;
+        if (!wellFormed) {
+            signalsMalformed.increment();
+        }
+        return wellFormed;
+    }
+
+    /** Queues a well-formed signal; returns false without queueing it when the queue is full. */
+    boolean enqueue(MachineSignal signal) {
+        if (!queue.offer(signal)) {
+            return false;
+        }
+        signalsAccepted.increment();
+        return true;
+    }
+
+    /**
+     * Queues a well-formed signal, waiting up to {@code timeout} for room; returns false if the queue
+     * stayed full.
+     */
+    boolean enqueue(MachineSignal signal, Duration timeout) throws InterruptedException {
+        if (!queue.offer(signal, timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            return false;
+        }
+        signalsAccepted.increment();
+        return true;
+    }
+
+    /**
+     * Run, idle and down time and produced quantity per machine and shift of a production date, from
+     * the buckets written so far, next to what production records show for the same shift.
+     */
+    public List<MachineShiftTelemetryResponse> getShiftTelemetry(LocalDate date, String machineCode) {
+        Map<String, MachineShiftTelemetryResponse> byMachineShift = new LinkedHashMap<>();
+        for (ShiftTotals totals : telemetryRepository.findShiftTotals(date, machineCode)) {
+            byMachineShift.put(key(totals.machineCode(), totals.shift()), toResponse(date, totals));
+        }
+        for (RecordedTotals recorded : telemetryRepository.findRecordedTotals(date, machineCode)) {
+            MachineShiftTelemetryResponse response = byMachineShift.computeIfAbsent(
+                    key(recorded.machineCode(), recorded.shift()),
+                    k -> toResponse(date, new ShiftTotals(recorded.machineCode(), recorded.shift(), 0, 0, 0, 0, 0)));
+            response.setRecordedQuantity(recorded.productionQuantity());
+            response.setRecordedLossMinutes(recorded.lossMinutes());
+        }
+
+        return byMachineShift.values().stream()
+                .sorted(Comparator.comparing(MachineShiftTelemetryResponse::getMachineCode)
+                        .thenComparing(MachineShiftTelemetryResponse::getShift))
+                .toList();
+    }
+
+    private void runAggregator() {
+        List<MachineSignal> batch = new ArrayList<>(DRAIN_BATCH);
+        long nextFlush = System.currentTimeMillis() + flushIntervalMillis;
+        while (running) {
+            try {
+                // Sleeps until a signal arrives or the next flush is due, waking at least every
+                // MAX_IDLE_WAIT_MILLIS to notice a shutdown
+                MachineSignal first = queue.poll(
+                        Math.clamp(nextFlush - System.currentTimeMillis(), 1, MAX_IDLE_WAIT_MILLIS),
+                        TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    accept(first);
+                    drainQueue(batch);
+                }
+                long now = System.currentTimeMillis();
+                if (now >= nextFlush) {
+                    flush(aggregator.drainCompleted(aggregator.toLocalMillis(now - allowedLatenessMillis)));
+                    nextFlush = now + flushIntervalMillis;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("MES telemetry aggregation failed: {}", e.getMessage(), e);
+            }
+        }
+
+        drainQueue(batch);
+        flush(aggregator.drainAll(aggregator.toLocalMillis(System.currentTimeMillis())));
+        log.info("MES telemetry aggregation stopped");
+    }
+
+    private void drainQueue(List<MachineSignal> batch) {
+        while (queue.drainTo(batch, DRAIN_BATCH) > 0) {
+            batch.forEach(this::accept);
+            batch.clear();
+        }
+    }
+
+    private void accept(MachineSignal signal) {
+        if (!aggregator.accept(signal)) {
+            signalsLate.increment();
+        }
+    }
+
+    /** Writes the buckets, retrying the ones a previous failed flush kept back. */
+    private void flush(List<Bucket> buckets) {
+        pendingBuckets.addAll(buckets);
+        if (pendingBuckets.isEmpty()) {
+            return;
+        }
+
+        try {
+            flushTimer.record(() -> telemetryRepository.upsertBuckets(pendingBuckets));
+            bucketsWritten.increment(pendingBuckets.size());
+            pendingBuckets.clear();
+        } catch (DataAccessException e) {
+            log.error("Could not write {} telemetry buckets, retrying with the next flush: {}",
+                    pendingBuckets.size(), e.getMostSpecificCause().getMessage());
+            if (pendingBuckets.size() > MAX_PENDING_BUCKETS) {
+                int excess = pendingBuckets.size() - MAX_PENDING_BUCKETS;
+                pendingBuckets.subList(0, excess).clear();
+                bucketsDropped.increment(excess);
+                log.error("Discarded the {} oldest telemetry buckets", excess);
+            }
+        }
+    }
+
+    private MachineShiftTelemetryResponse toResponse(LocalDate date, ShiftTotals totals) {
+        Shift shift = totals.shift();
+        LocalDateTime shiftStart = date.atTime(shift.getStartTime());
+        LocalDateTime shiftEnd = shift.crossesMidnight()
+                ? date.plusDays(1).atTime(shift.getEndTime())
+                : date.atTime(shift.getEndTime());
+        LocalDateTime now = LocalDateTime.now();
+        long shiftMinutes = Duration.between(shiftStart, shiftEnd).toMinutes();
+        long elapsedMinutes = now.isAfter(shiftEnd) ? shiftMinutes
+                : Math.max(0, Duration.between(shiftStart, now).toMinutes());
+
+        double runMinutes = minutes(totals.runMillis());
+        double idleMinutes = minutes(totals.idleMillis());
+        double downMinutes = minutes(totals.downMillis());
+        return MachineShiftTelemetryResponse.builder()
+                .machineCode(totals.machineCode())
+                .date(date)
+                .shift(shift)
+                .shiftMinutes(shiftMinutes)
+                .runMinutes(runMinutes)
+                .idleMinutes(idleMinutes)
+                .downMinutes(downMinutes)
+                .lossMinutes(idleMinutes + downMinutes)
+                .unreportedMinutes(Math.max(0, elapsedMinutes - runMinutes - idleMinutes - downMinutes))
+                .producedQuantity(totals.partCount())
+                .signalCount(totals.signalCount())
+                .build();
+    }
+
+    private static double minutes(long millis) {
+        return Math.round(millis / 6_000.0) / 10.0;
+    }
+
+    private static String key(String machineCode, Shift shift) {
+        return machineCode + '|' + shift;
+    }
+}
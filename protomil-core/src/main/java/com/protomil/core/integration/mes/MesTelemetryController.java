@@ -0,0 +1,128 @@
+package com.protomil.core.integration.mes;
+
+import com.protomil.core.integration.mes.dto.MachineShiftTelemetryResponse;
+import com.protomil.core.integration.mes.dto.MachineSignalBatchRequest;
+import com.protomil.core.integration.mes.dto.SignalIngestResponse;
+import com.protomil.core.shared.dto.ApiResponse;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/mes")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "MES Telemetry", description = "APIs for machine state and part counter signals and the figures derived from them")
+public class MesTelemetryController {
+
+    private final MesIntegrationService mesIntegrationService;
+
+    @PostMapping("/signals")
+    @Operation(summary = "Post machine signals",
+            description = "Queues a batch of machine signals for aggregation. Refused signals are counted in the response and should be retried.")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "202",
+                    description = "Signals queued",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = SignalIngestResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request data",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            )
+    })
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<SignalIngestResponse>> postSignals(@Valid @RequestBody MachineSignalBatchRequest request) {
+        long receivedAt = System.currentTimeMillis();
+        List<MachineSignal> signals = request.getSignals().stream()
+                .map(signal -> new MachineSignal(
+                        signal.getMachineCode(),
+                        signal.getState(),
+                        signal.getPartCounter(),
+                        signal.getTimestamp() != null ? signal.getTimestamp().toEpochMilli() : receivedAt))
+                .toList();
+
+        return accepted(mesIntegrationService.ingest(signals));
+    }
+
+    @PostMapping(value = "/signals/lines", consumes = MediaType.TEXT_PLAIN_VALUE)
+    @Operation(summary = "Post machine signals in line protocol",
+            description = "Same line format as the TCP listener: '<machineCode> <RUN|IDLE|DOWN|-> <partCounter|-> [epochMillis]' per line. Malformed lines are counted as refused.")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<SignalIngestResponse>> postSignalLines(@RequestBody String body) {
+        long receivedAt = System.currentTimeMillis();
+        List<MachineSignal> signals = new ArrayList<>();
+        int malformed = 0;
+        for (String line : body.split("\n")) {
+            try {
+                MachineSignal signal = MesEventHandler.parseLine(line, receivedAt);
+                if (signal != null) {
+                    signals.add(signal);
+                }
+            } catch (IllegalArgumentException e) {
+                malformed++;
+            }
+        }
+
+        SignalIngestResponse response = mesIntegrationService.ingest(signals);
+        response.setRejected(response.getRejected() + malformed);
+        return accepted(response);
+    }
+
+    @GetMapping("/telemetry/shifts")
+    @Operation(summary = "Get shift telemetry",
+            description = "Run, idle and down time and produced quantity per machine and shift of a production date, derived from machine signals, next to the figures entered in production records")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<List<MachineShiftTelemetryResponse>>> getShiftTelemetry(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Production date", example = "2025-03-14") LocalDate date,
+            @RequestParam(required = false) @Parameter(description = "Machine code; all machines when omitted", example = "CNC-01")
+            String machineCode) {
+
+        return ResponseEntity.ok(ApiResponse.<List<MachineShiftTelemetryResponse>>builder()
+                .success(true)
+                .message("Shift telemetry retrieved successfully")
+                .data(mesIntegrationService.getShiftTelemetry(date, machineCode))
+                .build());
+    }
+
+    private ResponseEntity<ApiResponse<SignalIngestResponse>> accepted(SignalIngestResponse response) {
+        if (response.getRejected() > 0) {
+            log.debug("Refused {} of {} machine signals", response.getRejected(),
+                    response.getAccepted() + response.getRejected());
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.<SignalIngestResponse>builder()
+                        .success(true)
+                        .message("Machine signals queued")
+                        .data(response)
+                        .build());
+    }
+}
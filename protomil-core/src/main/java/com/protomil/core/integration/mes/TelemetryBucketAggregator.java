@@ -0,0 +1,167 @@
+package com.protomil.core.integration.mes;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Downsamples machine signals into fixed, wall-clock aligned buckets per machine. Time between two
+ * signals is credited to the state of the earlier one and split across the buckets it spans; part
+ * counts are the increments of the machine's counter, credited to the bucket of the signal that
+ * reported them. A machine that stays silent for longer than {@code staleAfterMillis} stops accruing
+ * time until it reports again, so a lost connection does not read as hours of running.
+ * <p>
+ * Not thread-safe: one thread feeds it and drains the completed buckets.
+ */
+final class TelemetryBucketAggregator {
+
+    /** A completed bucket, ready to be added to the stored one. */
+    record Bucket(String machineCode, LocalDateTime bucketStart, int bucketSeconds, long runMillis,
+                  long idleMillis, long downMillis, long partCount, int signalCount) {
+    }
+
+    private static final class OpenBucket {
+        private long runMillis;
+        private long idleMillis;
+        private long downMillis;
+        private long partCount;
+        private int signalCount;
+
+        private void add(MachineState state, long millis) {
+            switch (state) {
+                case RUN -> runMillis += millis;
+                case IDLE -> idleMillis += millis;
+                case DOWN -> downMillis += millis;
+            }
+        }
+    }
+
+    private static final class MachineTracker {
+        private MachineState state;
+        private long stateSince;
+        private long lastSeen = Long.MIN_VALUE;
+        private long lastCounter = -1;
+        private final TreeMap<Long, OpenBucket> buckets = new TreeMap<>();
+    }
+
+    private final long bucketMillis;
+    private final long staleAfterMillis;
+    private final ZoneRules zoneRules;
+    private final Map<String, MachineTracker> trackers = new HashMap<>();
+
+    TelemetryBucketAggregator(long bucketMillis, long staleAfterMillis, ZoneId zone) {
+        if (bucketMillis < 1000 || bucketMillis % 1000 != 0 || 86_400_000L % bucketMillis != 0) {
+            throw new IllegalArgumentException("Bucket length must be whole seconds dividing a day: " + bucketMillis + " ms");
+        }
+        this.bucketMillis = bucketMillis;
+        this.staleAfterMillis = staleAfterMillis;
+        this.zoneRules = zone.getRules();
+    }
+
+    /** Converts epoch milliseconds to milliseconds on the local wall clock, which buckets align to. */
+    long toLocalMillis(long epochMillis) {
+        return epochMillis + zoneRules.getOffset(Instant.ofEpochMilli(epochMillis)).getTotalSeconds() * 1000L;
+    }
+
+    /**
+     * Applies one signal; returns false if it is older than the last signal of its machine and was
+     * dropped.
+     */
+    boolean accept(MachineSignal signal) {
+        long at = toLocalMillis(signal.timestamp());
+        MachineTracker tracker = trackers.computeIfAbsent(signal.machineCode(), code -> new MachineTracker());
+        if (at < tracker.lastSeen) {
+            return false;
+        }
+
+        accrue(tracker, at);
+        OpenBucket bucket = bucketAt(tracker, at);
+        bucket.signalCount++;
+
+        Long counter = signal.partCounter();
+        if (counter != null && counter >= 0) {
+            if (tracker.lastCounter >= 0) {
+                // A lower value means the counter was reset and has counted up from zero since
+                bucket.partCount += counter >= tracker.lastCounter ? counter - tracker.lastCounter : counter;
+            }
+            tracker.lastCounter = counter;
+        }
+
+        if (signal.state() != null) {
+            tracker.state = signal.state();
+        }
+        tracker.stateSince = Math.max(tracker.stateSince, at);
+        tracker.lastSeen = at;
+        return true;
+    }
+
+    /**
+     * Accrues every machine up to {@code watermarkLocalMillis} and removes the buckets that end at or
+     * before it.
+     */
+    List<Bucket> drainCompleted(long watermarkLocalMillis) {
+        List<Bucket> completed = new ArrayList<>();
+        trackers.forEach((machineCode, tracker) -> {
+            accrue(tracker, watermarkLocalMillis);
+            while (!tracker.buckets.isEmpty() && tracker.buckets.firstKey() + bucketMillis <= watermarkLocalMillis) {
+                Map.Entry<Long, OpenBucket> entry = tracker.buckets.pollFirstEntry();
+                completed.add(toBucket(machineCode, entry.getKey(), entry.getValue()));
+            }
+        });
+        return completed;
+    }
+
+    /** Removes every open bucket, complete or not; used on shutdown. */
+    List<Bucket> drainAll(long nowLocalMillis) {
+        List<Bucket> drained = new ArrayList<>();
+        trackers.forEach((machineCode, tracker) -> {
+            accrue(tracker, nowLocalMillis);
+            tracker.buckets.forEach((start, bucket) -> drained.add(toBucket(machineCode, start, bucket)));
+            tracker.buckets.clear();
+        });
+        return drained;
+    }
+
+    int machineCount() {
+        return trackers.size();
+    }
+
+    /** Credits the current state of the machine from its state change up to {@code until}. */
+    private void accrue(MachineTracker tracker, long until) {
+        if (tracker.state == null) {
+            return;
+        }
+        long end = Math.min(until, tracker.lastSeen + staleAfterMillis);
+        long from = tracker.stateSince;
+        while (from < end) {
+            long bucketStart = Math.floorDiv(from, bucketMillis) * bucketMillis;
+            long segmentEnd = Math.min(end, bucketStart + bucketMillis);
+            bucketAt(tracker, bucketStart).add(tracker.state, segmentEnd - from);
+            from = segmentEnd;
+        }
+        tracker.stateSince = Math.max(tracker.stateSince, end);
+    }
+
+    private OpenBucket bucketAt(MachineTracker tracker, long localMillis) {
+        long bucketStart = Math.floorDiv(localMillis, bucketMillis) * bucketMillis;
+        Map.Entry<Long, OpenBucket> last = tracker.buckets.lastEntry();
+        if (last != null && last.getKey() == bucketStart) {
+            return last.getValue();
+        }
+        return tracker.buckets.computeIfAbsent(bucketStart, start -> new OpenBucket());
+    }
+
+    private Bucket toBucket(String machineCode, long bucketStart, OpenBucket bucket) {
+        return new Bucket(machineCode,
+                LocalDateTime.ofEpochSecond(Math.floorDiv(bucketStart, 1000L), 0, ZoneOffset.UTC),
+                (int) (bucketMillis / 1000),
+                bucket.runMillis, bucket.idleMillis, bucket.downMillis, bucket.partCount, bucket.signalCount);
+    }
+}
@@ -0,0 +1,57 @@
+package com.protomil.core.integration.mes.dto;
+
+import com.protomil.core.jobcard.domain.enums.Shift;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Run time, loss time and output of a machine in one shift, derived from its telemetry")
+public class MachineShiftTelemetryResponse {
+
+    @Schema(description = "Machine code", example = "CNC-01")
+    private String machineCode;
+
+    @Schema(description = "Production date; a night shift belongs to the date it started on")
+    private LocalDate date;
+
+    @Schema(description = "Shift", example = "MORNING")
+    private Shift shift;
+
+    @Schema(description = "Shift length in minutes", example = "480")
+    private long shiftMinutes;
+
+    @Schema(description = "Minutes the machine reported RUN", example = "402.5")
+    private double runMinutes;
+
+    @Schema(description = "Minutes the machine reported IDLE", example = "51.0")
+    private double idleMinutes;
+
+    @Schema(description = "Minutes the machine reported DOWN", example = "12.0")
+    private double downMinutes;
+
+    @Schema(description = "Idle plus down minutes", example = "63.0")
+    private double lossMinutes;
+
+    @Schema(description = "Minutes without telemetry, e.g. while the machine or gateway was offline", example = "14.5")
+    private double unreportedMinutes;
+
+    @Schema(description = "Parts produced according to the machine's counter", example = "812")
+    private long producedQuantity;
+
+    @Schema(description = "Signals received in the shift", example = "1650")
+    private long signalCount;
+
+    @Schema(description = "Production quantity entered in production records for the machine and shift, if any", example = "800")
+    private Long recordedQuantity;
+
+    @Schema(description = "Loss minutes entered in production records for the machine and shift, if any", example = "55")
+    private Long recordedLossMinutes;
+}
@@ -0,0 +1,25 @@
+package com.protomil.core.integration.mes.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Batch of machine signals, typically everything a gateway collected since its last post")
+public class MachineSignalBatchRequest {
+
+    @NotEmpty(message = "At least one signal is required")
+    @Size(max = 50000, message = "At most 50000 signals can be posted per request")
+    @Schema(description = "Signals, in the order the machines reported them")
+    private List<@Valid MachineSignalRequest> signals;
+}
@@ -0,0 +1,36 @@
+package com.protomil.core.integration.mes.dto;
+
+import com.protomil.core.integration.mes.MachineState;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "State and/or part counter signal of one machine")
+public class MachineSignalRequest {
+
+    @NotBlank(message = "Machine code is required")
+    @Size(max = 50, message = "Machine code must not exceed 50 characters")
+    @Schema(description = "Machine code", example = "CNC-01")
+    private String machineCode;
+
+    @Schema(description = "Machine state; omit for count-only signals", example = "RUN")
+    private MachineState state;
+
+    @PositiveOrZero(message = "Part counter cannot be negative")
+    @Schema(description = "Cumulative part counter of the machine; omit for state-only signals", example = "18342")
+    private Long partCounter;
+
+    @Schema(description = "When the machine reported the signal; defaults to the time of receipt")
+    private Instant timestamp;
+}
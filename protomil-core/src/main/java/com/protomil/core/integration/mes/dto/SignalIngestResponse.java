@@ -0,0 +1,22 @@
+package com.protomil.core.integration.mes.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Outcome of posting a batch of machine signals")
+public class SignalIngestResponse {
+
+    @Schema(description = "Signals queued for aggregation", example = "4800")
+    private int accepted;
+
+    @Schema(description = "Signals refused because the ingestion queue was full or they were malformed; "
+            + "the sender should retry them later", example = "0")
+    private int rejected;
+}
@@ -0,0 +1,75 @@
+package com.protomil.core.jobcard.analytics;
+
+import com.protomil.core.jobcard.domain.ProductionMaster;
+import com.protomil.core.jobcard.domain.enums.Shift;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Immutable snapshot of the production_master columns kept in the in-memory fact store.
+ * Efficiencies are stored in hundredths of a percent; -1 means "not available".
+ */
+public record ProductionFact(
+        long id,
+        LocalDate entryDate,
+        String machineCode,
+        String partNumber,
+        String employeeNumber,
+        Shift shift,
+        int productionQuantity,
+        int rejectionQuantity,
+        int operatorEfficiencyHundredths,
+        int equipmentEfficiencyHundredths
+) {
+
+    public static final int NOT_AVAILABLE = -1;
+
+    /**
+     * Efficiencies are computed from the input columns rather than read from the generated columns,
+     * which the entity does not re-read after an insert or update and so may hold stale values.
+     */
+    public static ProductionFact from(ProductionMaster pm) {
+        return new ProductionFact(
+                pm.getId(),
+                pm.getEntryDate(),
+                pm.getMachineCode(),
+                pm.getPartNumber(),
+                pm.getEmployeeNumber(),
+                pm.getShift(),
+                valueOrZero(pm.getProductionQuantity()),
+                pm.getTotalRejectionQuantity(),
+                hundredths(operatorEfficiency(pm)),
+                hundredths(equipmentEfficiency(pm))
+        );
+    }
+
+    // Mirrors the operator_efficiency_percentage generated column
+    private static BigDecimal operatorEfficiency(ProductionMaster pm) {
+        BigDecimal defined = pm.getDefinedOperationTimeMinutes();
+        BigDecimal actual = pm.getActualOperationTimeMinutes();
+        if (defined == null || actual == null || defined.signum() <= 0 || actual.signum() <= 0) {
+            return null;
+        }
+        return defined.multiply(BigDecimal.valueOf(100)).divide(actual, 2, RoundingMode.HALF_UP);
+    }
+
+    // Mirrors the equipment_efficiency_percentage generated column
+    private static BigDecimal equipmentEfficiency(ProductionMaster pm) {
+        Integer total = pm.getTotalTimeAvailableMinutes();
+        if (total == null || total <= 0) {
+            return null;
+        }
+        int net = total - pm.getTotalLossTimeMinutes() - valueOrZero(pm.getLunchTeaBreakMinutes());
+        return BigDecimal.valueOf(net * 100L).divide(BigDecimal.valueOf(total), 2, RoundingMode.HALF_UP);
+    }
+
+    private static int hundredths(BigDecimal percentage) {
+        return percentage != null ? percentage.movePointRight(2).intValue() : NOT_AVAILABLE;
+    }
+
+    private static int valueOrZero(Integer value) {
+        return value != null ? value : 0;
+    }
+}
@@ -0,0 +1,395 @@
+package com.protomil.core.jobcard.analytics;
+
+import com.protomil.core.jobcard.domain.enums.ProductionDimension;
+import com.protomil.core.jobcard.domain.enums.Shift;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-oriented, in-memory copy of recent production facts.
+ * <p>
+ * Machine, part and operator codes are dictionary-encoded into {@code int} columns, and every
+ * code has a bitmap of the rows carrying it, so filters are bitmap intersections and group-bys
+ * are tight loops over primitive arrays. Writers take the write lock; queries share the read lock.
+ */
+public final class ProductionFactStore {
+
+    public static final String UNKNOWN = "UNKNOWN";
+
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    private static final Shift[] SHIFTS = Shift.values();
+    private static final int SHIFT_CODES = SHIFTS.length + 1; // code 0 = no shift recorded
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final StringDictionary machines = new StringDictionary();
+    private final StringDictionary parts = new StringDictionary();
+    private final StringDictionary operators = new StringDictionary();
+
+    private final List<BitSet> machineIndex = new ArrayList<>();
+    private final List<BitSet> partIndex = new ArrayList<>();
+    private final List<BitSet> operatorIndex = new ArrayList<>();
+    private final BitSet[] shiftIndex = new BitSet[SHIFT_CODES];
+
+    private final Map<Long, Integer> rowById = new HashMap<>();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] days = new int[INITIAL_CAPACITY];
+    private int[] machineCodes = new int[INITIAL_CAPACITY];
+    private int[] partCodes = new int[INITIAL_CAPACITY];
+    private int[] operatorCodes = new int[INITIAL_CAPACITY];
+    private byte[] shiftCodes = new byte[INITIAL_CAPACITY];
+    private int[] produced = new int[INITIAL_CAPACITY];
+    private int[] rejected = new int[INITIAL_CAPACITY];
+    private int[] operatorEfficiency = new int[INITIAL_CAPACITY];
+    private byte[] hasOperatorEfficiency = new byte[INITIAL_CAPACITY];
+    private int[] equipmentEfficiency = new int[INITIAL_CAPACITY];
+    private byte[] hasEquipmentEfficiency = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    public ProductionFactStore() {
+        for (int i = 0; i < SHIFT_CODES; i++) {
+            shiftIndex[i] = new BitSet();
+        }
+    }
+
+    public record Filter(LocalDate startDate, LocalDate endDate, String machineCode,
+                         String partNumber, String employeeNumber, Shift shift) {
+    }
+
+    public record GroupTotals(String key, long recordCount, long productionQuantity, long rejectionQuantity,
+                              long operatorEfficiencySum, long operatorEfficiencyCount,
+                              long equipmentEfficiencySum, long equipmentEfficiencyCount) {
+    }
+
+    /**
+     * Inserts a fact, or overwrites it in place when a fact with the same id is already stored.
+     */
+    public void upsert(ProductionFact fact) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = rowById.get(fact.id());
+            int row;
+            if (existing != null) {
+                row = existing;
+                clearIndexes(row);
+            } else {
+                ensureCapacity(size + 1);
+                row = size++;
+                rowById.put(fact.id(), row);
+            }
+            write(row, fact);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowById.get(id);
+            if (row != null) {
+                // Push the row outside any queryable date range; the next eviction drops it
+                clearIndexes(row);
+                days[row] = Integer.MIN_VALUE;
+                machineCodes[row] = -1;
+                partCodes[row] = -1;
+                operatorCodes[row] = -1;
+                shiftCodes[row] = -1;
+                rowById.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops every fact dated before {@code cutoff}, compacting the columns and rebuilding the bitmaps.
+     *
+     * @return number of evicted facts
+     */
+    public int evictBefore(LocalDate cutoff) {
+        int cutoffDay = (int) cutoff.toEpochDay();
+
+        lock.writeLock().lock();
+        try {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (days[i] >= cutoffDay) {
+                    moveRow(i, kept++);
+                }
+            }
+
+            int evicted = size - kept;
+            size = kept;
+            rebuildIndexes();
+            return evicted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<GroupTotals> aggregate(Filter filter, ProductionDimension groupBy) {
+        int fromDay = (int) filter.startDate().toEpochDay();
+        int toDay = (int) filter.endDate().toEpochDay();
+
+        lock.readLock().lock();
+        try {
+            BitSet candidates = null;
+            if (filter.machineCode() != null) {
+                int code = machines.lookup(filter.machineCode());
+                if (code < 0) return List.of();
+                candidates = intersect(candidates, machineIndex.get(code));
+            }
+            if (filter.partNumber() != null) {
+                int code = parts.lookup(filter.partNumber());
+                if (code < 0) return List.of();
+                candidates = intersect(candidates, partIndex.get(code));
+            }
+            if (filter.employeeNumber() != null) {
+                int code = operators.lookup(filter.employeeNumber());
+                if (code < 0) return List.of();
+                candidates = intersect(candidates, operatorIndex.get(code));
+            }
+            if (filter.shift() != null) {
+                candidates = intersect(candidates, shiftIndex[shiftCode(filter.shift())]);
+            }
+
+            int groups = groupCount(groupBy, fromDay, toDay);
+            long[] records = new long[groups];
+            long[] producedTotals = new long[groups];
+            long[] rejectedTotals = new long[groups];
+            long[] operatorSums = new long[groups];
+            long[] operatorCounts = new long[groups];
+            long[] equipmentSums = new long[groups];
+            long[] equipmentCounts = new long[groups];
+
+            if (candidates == null) {
+                for (int i = 0; i < size; i++) {
+                    int day = days[i];
+                    if (day < fromDay || day > toDay) continue;
+                    int g = groupKey(groupBy, i, fromDay);
+                    records[g]++;
+                    producedTotals[g] += produced[i];
+                    rejectedTotals[g] += rejected[i];
+                    operatorSums[g] += operatorEfficiency[i];
+                    operatorCounts[g] += hasOperatorEfficiency[i];
+                    equipmentSums[g] += equipmentEfficiency[i];
+                    equipmentCounts[g] += hasEquipmentEfficiency[i];
+                }
+            } else {
+                for (int i = candidates.nextSetBit(0); i >= 0 && i < size; i = candidates.nextSetBit(i + 1)) {
+                    int day = days[i];
+                    if (day < fromDay || day > toDay) continue;
+                    int g = groupKey(groupBy, i, fromDay);
+                    records[g]++;
+                    producedTotals[g] += produced[i];
+                    rejectedTotals[g] += rejected[i];
+                    operatorSums[g] += operatorEfficiency[i];
+                    operatorCounts[g] += hasOperatorEfficiency[i];
+                    equipmentSums[g] += equipmentEfficiency[i];
+                    equipmentCounts[g] += hasEquipmentEfficiency[i];
+                }
+            }
+
+            List<GroupTotals> result = new ArrayList<>();
+            for (int g = 0; g < groups; g++) {
+                if (records[g] == 0) continue;
+                result.add(new GroupTotals(groupLabel(groupBy, g, fromDay), records[g],
+                        producedTotals[g], rejectedTotals[g],
+                        operatorSums[g], operatorCounts[g], equipmentSums[g], equipmentCounts[g]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            size = 0;
+            rebuildIndexes();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void write(int row, ProductionFact fact) {
+        ids[row] = fact.id();
+        days[row] = (int) fact.entryDate().toEpochDay();
+        machineCodes[row] = machines.encode(fact.machineCode());
+        partCodes[row] = parts.encode(fact.partNumber());
+        operatorCodes[row] = operators.encode(fact.employeeNumber());
+        shiftCodes[row] = (byte) shiftCode(fact.shift());
+        produced[row] = fact.productionQuantity();
+        rejected[row] = fact.rejectionQuantity();
+
+        boolean hasOperator = fact.operatorEfficiencyHundredths() != ProductionFact.NOT_AVAILABLE;
+        operatorEfficiency[row] = hasOperator ? fact.operatorEfficiencyHundredths() : 0;
+        hasOperatorEfficiency[row] = (byte) (hasOperator ? 1 : 0);
+
+        boolean hasEquipment = fact.equipmentEfficiencyHundredths() != ProductionFact.NOT_AVAILABLE;
+        equipmentEfficiency[row] = hasEquipment ? fact.equipmentEfficiencyHundredths() : 0;
+        hasEquipmentEfficiency[row] = (byte) (hasEquipment ? 1 : 0);
+
+        setIndexes(row);
+    }
+
+    private void moveRow(int from, int to) {
+        if (from == to) return;
+        ids[to] = ids[from];
+        days[to] = days[from];
+        machineCodes[to] = machineCodes[from];
+        partCodes[to] = partCodes[from];
+        operatorCodes[to] = operatorCodes[from];
+        shiftCodes[to] = shiftCodes[from];
+        produced[to] = produced[from];
+        rejected[to] = rejected[from];
+        operatorEfficiency[to] = operatorEfficiency[from];
+        hasOperatorEfficiency[to] = hasOperatorEfficiency[from];
+        equipmentEfficiency[to] = equipmentEfficiency[from];
+        hasEquipmentEfficiency[to] = hasEquipmentEfficiency[from];
+    }
+
+    private void setIndexes(int row) {
+        bitmap(machineIndex, machineCodes[row]).set(row);
+        bitmap(partIndex, partCodes[row]).set(row);
+        bitmap(operatorIndex, operatorCodes[row]).set(row);
+        shiftIndex[shiftCodes[row]].set(row);
+    }
+
+    private void clearIndexes(int row) {
+        if (machineCodes[row] >= 0) machineIndex.get(machineCodes[row]).clear(row);
+        if (partCodes[row] >= 0) partIndex.get(partCodes[row]).clear(row);
+        if (operatorCodes[row] >= 0) operatorIndex.get(operatorCodes[row]).clear(row);
+        if (shiftCodes[row] >= 0) shiftIndex[shiftCodes[row]].clear(row);
+    }
+
+    private void rebuildIndexes() {
+        machineIndex.forEach(BitSet::clear);
+        partIndex.forEach(BitSet::clear);
+        operatorIndex.forEach(BitSet::clear);
+        for (BitSet bitmap : shiftIndex) {
+            bitmap.clear();
+        }
+        rowById.clear();
+
+        for (int row = 0; row < size; row++) {
+            if (machineCodes[row] < 0) continue; // removed, awaiting eviction
+            rowById.put(ids[row], row);
+            setIndexes(row);
+        }
+    }
+
+    private BitSet bitmap(List<BitSet> index, int code) {
+        while (index.size() <= code) {
+            index.add(new BitSet());
+        }
+        return index.get(code);
+    }
+
+    private BitSet intersect(BitSet current, BitSet bitmap) {
+        if (current == null) {
+            return (BitSet) bitmap.clone();
+        }
+        current.and(bitmap);
+        return current;
+    }
+
+    private int groupCount(ProductionDimension groupBy, int fromDay, int toDay) {
+        return switch (groupBy) {
+            case MACHINE -> machines.size();
+            case PART -> parts.size();
+            case OPERATOR -> operators.size();
+            case SHIFT -> SHIFT_CODES;
+            case DAY -> Math.max(toDay - fromDay + 1, 0);
+        };
+    }
+
+    private int groupKey(ProductionDimension groupBy, int row, int fromDay) {
+        return switch (groupBy) {
+            case MACHINE -> machineCodes[row];
+            case PART -> partCodes[row];
+            case OPERATOR -> operatorCodes[row];
+            case SHIFT -> shiftCodes[row];
+            case DAY -> days[row] - fromDay;
+        };
+    }
+
+    private String groupLabel(ProductionDimension groupBy, int group, int fromDay) {
+        return switch (groupBy) {
+            case MACHINE -> machines.value(group);
+            case PART -> parts.value(group);
+            case OPERATOR -> operators.value(group);
+            case SHIFT -> group == 0 ? UNKNOWN : SHIFTS[group - 1].name();
+            case DAY -> LocalDate.ofEpochDay(fromDay + group).toString();
+        };
+    }
+
+    private int shiftCode(Shift shift) {
+        return shift == null ? 0 : shift.ordinal() + 1;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) return;
+        int capacity = Math.max(required, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        days = Arrays.copyOf(days, capacity);
+        machineCodes = Arrays.copyOf(machineCodes, capacity);
+        partCodes = Arrays.copyOf(partCodes, capacity);
+        operatorCodes = Arrays.copyOf(operatorCodes, capacity);
+        shiftCodes = Arrays.copyOf(shiftCodes, capacity);
+        produced = Arrays.copyOf(produced, capacity);
+        rejected = Arrays.copyOf(rejected, capacity);
+        operatorEfficiency = Arrays.copyOf(operatorEfficiency, capacity);
+        hasOperatorEfficiency = Arrays.copyOf(hasOperatorEfficiency, capacity);
+        equipmentEfficiency = Arrays.copyOf(equipmentEfficiency, capacity);
+        hasEquipmentEfficiency = Arrays.copyOf(hasEquipmentEfficiency, capacity);
+    }
+
+    private static final class StringDictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            String key = value != null ? value : UNKNOWN;
+            Integer code = codes.get(key);
+            if (code == null) {
+                code = values.size();
+                codes.put(key, code);
+                values.add(key);
+            }
+            return code;
+        }
+
+        int lookup(String value) {
+            return codes.getOrDefault(value, -1);
+        }
+
+        String value(int code) {
+            return values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+}
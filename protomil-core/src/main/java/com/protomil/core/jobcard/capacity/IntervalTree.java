@@ -0,0 +1,212 @@
+package com.protomil.core.jobcard.capacity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.SplittableRandom;
+
+/**
+ * Half-open {@code [start, end)} intervals on a {@code long} axis, kept in a treap ordered by start
+ * and augmented with the largest end in each subtree. Inserts, removals, overlap checks and
+ * single-step gap probes are O(log n) expected. Not thread-safe.
+ */
+public final class IntervalTree<T> {
+
+    /** Handle returned by {@link #insert}; pass it back to {@link #remove}. */
+    public record Entry<T>(long start, long end, long seq, T value) {
+    }
+
+    private static final class Node<T> {
+        final Entry<T> entry;
+        final int priority;
+        long maxEnd;
+        Node<T> left;
+        Node<T> right;
+
+        Node(Entry<T> entry, int priority) {
+            this.entry = entry;
+            this.priority = priority;
+            this.maxEnd = entry.end();
+        }
+    }
+
+    private final SplittableRandom random = new SplittableRandom();
+    private Node<T> root;
+    private long nextSeq;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public Entry<T> insert(long start, long end, T value) {
+        if (end <= start) {
+            throw new IllegalArgumentException("Interval end must be after its start");
+        }
+        Entry<T> entry = new Entry<>(start, end, nextSeq++, value);
+        root = insert(root, new Node<>(entry, random.nextInt()));
+        size++;
+        return entry;
+    }
+
+    public boolean remove(Entry<T> entry) {
+        int before = size;
+        root = remove(root, entry);
+        return size < before;
+    }
+
+    /** Whether no interval overlaps {@code [from, to)}. */
+    public boolean isFree(long from, long to) {
+        return maxEndStartingBefore(to) <= from;
+    }
+
+    /** Intervals overlapping {@code [from, to)}, in start order. */
+    public List<Entry<T>> overlapping(long from, long to) {
+        List<Entry<T>> result = new ArrayList<>();
+        collectOverlapping(root, from, to, result);
+        return result;
+    }
+
+    /**
+     * Earliest point at or after {@code from} where {@code length} units are free, provided the gap
+     * starts before {@code limit}. Each probe jumps past a whole busy cluster, so the cost is
+     * O(log n) per gap too short to fit.
+     */
+    public OptionalLong earliestGap(long from, long length, long limit) {
+        long candidate = from;
+        while (candidate < limit) {
+            long busyUntil = maxEndStartingBefore(candidate + length);
+            if (busyUntil <= candidate) {
+                return OptionalLong.of(candidate);
+            }
+            candidate = busyUntil;
+        }
+        return OptionalLong.empty();
+    }
+
+    /** Smallest start at or after {@code from}, i.e. where a gap beginning at {@code from} ends. */
+    public OptionalLong nextStartAtOrAfter(long from) {
+        Node<T> node = root;
+        Entry<T> best = null;
+        while (node != null) {
+            if (node.entry.start() >= from) {
+                best = node.entry;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return best != null ? OptionalLong.of(best.start()) : OptionalLong.empty();
+    }
+
+    private long maxEndStartingBefore(long limit) {
+        long result = Long.MIN_VALUE;
+        Node<T> node = root;
+        while (node != null) {
+            if (node.entry.start() < limit) {
+                result = Math.max(result, Math.max(node.entry.end(), maxEnd(node.left)));
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return result;
+    }
+
+    private void collectOverlapping(Node<T> node, long from, long to, List<Entry<T>> result) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        collectOverlapping(node.left, from, to, result);
+        if (node.entry.start() < to) {
+            if (node.entry.end() > from) {
+                result.add(node.entry);
+            }
+            collectOverlapping(node.right, from, to, result);
+        }
+    }
+
+    private Node<T> insert(Node<T> node, Node<T> inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (inserted.priority > node.priority) {
+            split(node, inserted.entry, inserted);
+            return update(inserted);
+        }
+        if (compare(inserted.entry, node.entry) < 0) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        return update(node);
+    }
+
+    private Node<T> remove(Node<T> node, Entry<T> entry) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(entry, node.entry);
+        if (cmp == 0) {
+            size--;
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, entry);
+        } else {
+            node.right = remove(node.right, entry);
+        }
+        return update(node);
+    }
+
+    /** Splits {@code node} around {@code key} into {@code into.left} (smaller) and {@code into.right}. */
+    private void split(Node<T> node, Entry<T> key, Node<T> into) {
+        Node<T> left = null;
+        Node<T> right = null;
+        if (node != null) {
+            Node<T> parts = new Node<>(key, 0);
+            if (compare(node.entry, key) < 0) {
+                split(node.right, key, parts);
+                node.right = parts.left;
+                left = update(node);
+                right = parts.right;
+            } else {
+                split(node.left, key, parts);
+                node.left = parts.right;
+                right = update(node);
+                left = parts.left;
+            }
+        }
+        into.left = left;
+        into.right = right;
+    }
+
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private Node<T> update(Node<T> node) {
+        node.maxEnd = Math.max(node.entry.end(), Math.max(maxEnd(node.left), maxEnd(node.right)));
+        return node;
+    }
+
+    private long maxEnd(Node<T> node) {
+        return node != null ? node.maxEnd : Long.MIN_VALUE;
+    }
+
+    private static int compare(Entry<?> a, Entry<?> b) {
+        int cmp = Long.compare(a.start(), b.start());
+        return cmp != 0 ? cmp : Long.compare(a.seq(), b.seq());
+    }
+}
@@ -0,0 +1,220 @@
+package com.protomil.core.jobcard.capacity;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Booked time per machine, one {@link IntervalTree} per machine at minute resolution. Bookings are
+ * grouped by owner (a job card or a maintenance schedule) so an owner's bookings can be replaced as
+ * a whole when it changes. Reads may run concurrently; updates are exclusive.
+ */
+public final class MachineCapacityCalendar {
+
+    public enum BookingSource {
+        ASSIGNMENT, EQUIPMENT, MAINTENANCE
+    }
+
+    /**
+     * @param ownerKey  identifies what the booking belongs to, see {@link #jobCardOwner} and {@link #maintenanceOwner}
+     * @param reference human-readable label, e.g. the job number
+     */
+    public record Booking(long machineId, String ownerKey, BookingSource source, String reference,
+                          LocalDateTime start, LocalDateTime end) {
+    }
+
+    public record MachineInfo(long machineId, String machineCode, String sectionCode, boolean available) {
+    }
+
+    /** @param end where the next booking begins; {@code null} when the machine stays free */
+    public record FreeSlot(MachineInfo machine, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private record MachineEntry(MachineInfo info, IntervalTree<Booking> bookings) {
+    }
+
+    private final Map<Long, MachineEntry> machines = new HashMap<>();
+    private final Map<String, List<MachineEntry>> machinesBySection = new HashMap<>();
+    private final Map<String, List<IntervalTree.Entry<Booking>>> entriesByOwner = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int bookingCount;
+
+    public MachineCapacityCalendar(Collection<MachineInfo> machineInfos, Collection<Booking> bookings) {
+        for (MachineInfo info : machineInfos) {
+            MachineEntry entry = new MachineEntry(info, new IntervalTree<>());
+            machines.put(info.machineId(), entry);
+            if (info.sectionCode() != null) {
+                machinesBySection.computeIfAbsent(info.sectionCode(), section -> new ArrayList<>()).add(entry);
+            }
+        }
+        for (Booking booking : bookings) {
+            add(booking);
+        }
+    }
+
+    public static String jobCardOwner(long jobCardId) {
+        return "job-card:" + jobCardId;
+    }
+
+    public static String maintenanceOwner(UUID scheduleId) {
+        return "maintenance:" + scheduleId;
+    }
+
+    public int bookingCount() {
+        lock.readLock().lock();
+        try {
+            return bookingCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<MachineInfo> machine(long machineId) {
+        MachineEntry entry = machines.get(machineId);
+        return entry != null ? Optional.of(entry.info()) : Optional.empty();
+    }
+
+    /** Whether the machine is in service and has nothing booked in {@code [from, to)}. */
+    public boolean isFree(long machineId, LocalDateTime from, LocalDateTime to) {
+        MachineEntry entry = machines.get(machineId);
+        if (entry == null || !entry.info().available()) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return entry.bookings().isFree(floorMinute(from), ceilMinute(to));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Bookings on the machine overlapping {@code [from, to)}, in start order. */
+    public List<Booking> bookings(long machineId, LocalDateTime from, LocalDateTime to) {
+        MachineEntry entry = machines.get(machineId);
+        if (entry == null) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return entry.bookings().overlapping(floorMinute(from), ceilMinute(to)).stream()
+                    .map(IntervalTree.Entry::value)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Earliest slot of at least {@code length} on the machine, starting in {@code [from, until)}. */
+    public Optional<FreeSlot> earliestFreeSlot(long machineId, LocalDateTime from, Duration length, LocalDateTime until) {
+        MachineEntry entry = machines.get(machineId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return earliestFreeSlot(entry, ceilMinute(from), ceilMinutes(length), floorMinute(until));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Earliest slot of at least {@code length} on any machine of the section, starting in
+     * {@code [from, until)}. Ties go to the machine with the lowest code.
+     */
+    public Optional<FreeSlot> earliestFreeSlotInSection(String sectionCode, LocalDateTime from, Duration length,
+                                                        LocalDateTime until) {
+        long fromMinute = ceilMinute(from);
+        long lengthMinutes = ceilMinutes(length);
+        long untilMinute = floorMinute(until);
+
+        lock.readLock().lock();
+        try {
+            return machinesBySection.getOrDefault(sectionCode, List.of()).stream()
+                    .map(entry -> earliestFreeSlot(entry, fromMinute, lengthMinutes, untilMinute))
+                    .flatMap(Optional::stream)
+                    .min(Comparator.comparing(FreeSlot::start)
+                            .thenComparing(slot -> slot.machine().machineCode(),
+                                    Comparator.nullsLast(Comparator.naturalOrder())));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Replaces everything booked by an owner; an empty collection releases the owner's bookings. */
+    public void replaceOwner(String ownerKey, Collection<Booking> bookings) {
+        lock.writeLock().lock();
+        try {
+            List<IntervalTree.Entry<Booking>> previous = entriesByOwner.remove(ownerKey);
+            if (previous != null) {
+                for (IntervalTree.Entry<Booking> entry : previous) {
+                    if (machines.get(entry.value().machineId()).bookings().remove(entry)) {
+                        bookingCount--;
+                    }
+                }
+            }
+            for (Booking booking : bookings) {
+                if (!ownerKey.equals(booking.ownerKey())) {
+                    throw new IllegalArgumentException("Booking belongs to " + booking.ownerKey() + ", not " + ownerKey);
+                }
+                add(booking);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(Booking booking) {
+        MachineEntry machine = machines.get(booking.machineId());
+        long start = floorMinute(booking.start());
+        long end = ceilMinute(booking.end());
+        // Bookings on machines outside the calendar (inactive ones) and empty ones are of no interest
+        if (machine == null || end <= start) {
+            return;
+        }
+        IntervalTree.Entry<Booking> entry = machine.bookings().insert(start, end, booking);
+        entriesByOwner.computeIfAbsent(booking.ownerKey(), key -> new ArrayList<>()).add(entry);
+        bookingCount++;
+    }
+
+    private Optional<FreeSlot> earliestFreeSlot(MachineEntry entry, long from, long length, long until) {
+        if (!entry.info().available()) {
+            return Optional.empty();
+        }
+        OptionalLong start = entry.bookings().earliestGap(from, length, until);
+        if (start.isEmpty()) {
+            return Optional.empty();
+        }
+        OptionalLong end = entry.bookings().nextStartAtOrAfter(start.getAsLong());
+        return Optional.of(new FreeSlot(entry.info(), toDateTime(start.getAsLong()),
+                end.isPresent() ? toDateTime(end.getAsLong()) : null));
+    }
+
+    private static long floorMinute(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static long ceilMinute(LocalDateTime time) {
+        long seconds = time.toEpochSecond(ZoneOffset.UTC) + (time.getNano() > 0 ? 1 : 0);
+        return Math.floorDiv(seconds + 59, 60);
+    }
+
+    private static long ceilMinutes(Duration length) {
+        return Math.max(1, (length.toSeconds() + 59) / 60);
+    }
+
+    private static LocalDateTime toDateTime(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+    }
+}
@@ -1,12 +1,17 @@
 package com.protomil.core.jobcard.config;
 
+import com.protomil.core.jobcard.domain.enums.JobStatus;
+import com.protomil.core.jobcard.service.JobWorkflowService;
+import com.protomil.core.workflow.engine.WorkflowEntityType;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
 @EnableAsync
+@EnableScheduling
 @ConfigurationProperties(prefix = "app.jobcard")
 public class JobCardConfig {
 
@@ -14,6 +19,7 @@ public class JobCardConfig {
     private int maxAttachmentsPerJob = 10;
     private boolean enableNotifications = true;
     private int assignmentTimeout = 24; // hours
+    private int reviewTimeout = 8; // hours
 
     public int getMaxFileUploadSize() {
         return maxFileUploadSize;
@@ -46,4 +52,20 @@ public class JobCardConfig {
     public void setAssignmentTimeout(int assignmentTimeout) {
         this.assignmentTimeout = assignmentTimeout;
     }
-}
\ No newline at end of file
+
+    public int getReviewTimeout() {
+        return reviewTimeout;
+    }
+
+    public void setReviewTimeout(int reviewTimeout) {
+        this.reviewTimeout = reviewTimeout;
+    }
+
+    /**
+     * Lets workflows drive job cards through their statuses.
+     */
+    @Bean
+    public WorkflowEntityType<JobStatus> jobCardWorkflowEntityType() {
+        return JobWorkflowService.JOB_CARD;
+    }
+}
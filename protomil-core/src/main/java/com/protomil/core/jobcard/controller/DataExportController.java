@@ -0,0 +1,137 @@
+package com.protomil.core.jobcard.controller;
+
+import com.protomil.core.jobcard.domain.enums.ExportFormat;
+import com.protomil.core.jobcard.service.DataExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Data Export", description = "Streaming CSV/NDJSON exports of production and job card data")
+public class DataExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private final DataExportService dataExportService;
+
+    @GetMapping("/production/export")
+    @Operation(
+            summary = "Export production records",
+            description = "Streams production master records for an entry date range as CSV or NDJSON, gzip-compressed when accepted"
+    )
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportProduction(
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First entry date (inclusive)", example = "2025-01-01")
+            LocalDate startDate,
+
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last entry date (inclusive)", example = "2025-01-31")
+            LocalDate endDate,
+
+            @RequestParam(defaultValue = "CSV")
+            @Parameter(description = "Export format", example = "CSV")
+            ExportFormat format,
+
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding) {
+
+        log.info("Exporting production records from {} to {} as {}", startDate, endDate, format);
+        dataExportService.validateExportRange(startDate, endDate);
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, GZIP_BUFFER_SIZE, true) : out;
+            dataExportService.exportProduction(startDate, endDate, format, target);
+            finish(target);
+        };
+
+        return streamingResponse("production-" + startDate + "-" + endDate, format, gzip, body);
+    }
+
+    @GetMapping("/job-cards/export")
+    @Operation(
+            summary = "Export job cards",
+            description = "Streams job cards created in a date range as CSV or NDJSON, gzip-compressed when accepted"
+    )
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportJobCards(
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First creation date (inclusive)", example = "2025-01-01")
+            LocalDate startDate,
+
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last creation date (inclusive)", example = "2025-01-31")
+            LocalDate endDate,
+
+            @RequestParam(defaultValue = "CSV")
+            @Parameter(description = "Export format", example = "NDJSON")
+            ExportFormat format,
+
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding) {
+
+        log.info("Exporting job cards from {} to {} as {}", startDate, endDate, format);
+        dataExportService.validateExportRange(startDate, endDate);
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, GZIP_BUFFER_SIZE, true) : out;
+            dataExportService.exportJobCards(startDate, endDate, format, target);
+            finish(target);
+        };
+
+        return streamingResponse("job-cards-" + startDate + "-" + endDate, format, gzip, body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamingResponse(String baseName, ExportFormat format,
+                                                                   boolean gzip, StreamingResponseBody body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_TYPE, format.getContentType() + ";charset=UTF-8");
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(baseName + "." + format.getFileExtension())
+                .build());
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    private void finish(OutputStream target) throws IOException {
+        if (target instanceof GZIPOutputStream gzipStream) {
+            gzipStream.finish();
+        }
+        target.flush();
+    }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+}
@@ -0,0 +1,164 @@
+package com.protomil.core.jobcard.controller;
+
+import com.protomil.core.jobcard.dto.BulkJobCardAssignRequest;
+import com.protomil.core.jobcard.dto.BulkJobCardCreateRequest;
+import com.protomil.core.jobcard.dto.BulkJobCardStatusRequest;
+import com.protomil.core.jobcard.dto.BulkOperationResponse;
+import com.protomil.core.jobcard.service.JobCardBulkService;
+import com.protomil.core.shared.dto.ApiResponse;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/job-cards/bulk")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Job Card Bulk Operations", description = "APIs for creating, assigning and transitioning many job cards at once")
+public class JobCardBulkController {
+
+    private final JobCardBulkService bulkService;
+
+    @PostMapping("/create")
+    @Operation(
+            summary = "Create job cards in bulk",
+            description = "Creates job cards from templates in chunked transactions and reports the outcome per item"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Request processed; see per-item results",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = BulkOperationResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request data",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            )
+    })
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> createJobCards(
+            @Valid @RequestBody BulkJobCardCreateRequest request) {
+
+        log.info("Bulk creating {} job cards", request.getJobCards().size());
+
+        return respond("Bulk job card creation processed", bulkService.createJobCards(request.getJobCards()));
+    }
+
+    @PostMapping("/assign")
+    @Operation(
+            summary = "Assign job cards in bulk",
+            description = "Assigns job cards to personnel and machines in chunked transactions and reports the outcome per item"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Request processed; see per-item results",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = BulkOperationResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request data or duplicate job card IDs",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            )
+    })
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> assignJobCards(
+            @Valid @RequestBody BulkJobCardAssignRequest request) {
+
+        log.info("Bulk assigning {} job cards", request.getAssignments().size());
+
+        return respond("Bulk job card assignment processed", bulkService.assignJobCards(request.getAssignments()));
+    }
+
+    @PostMapping("/status")
+    @Operation(
+            summary = "Change job card status in bulk",
+            description = "Transitions job cards to a new status with set-based updates; cards that cannot make the transition are reported per item"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Request processed; see per-item results",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = BulkOperationResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Missing target status or duplicate job card IDs",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            )
+    })
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> changeStatus(
+            @Valid @RequestBody BulkJobCardStatusRequest request) {
+
+        log.info("Bulk changing {} job cards to status {}", request.getJobCardIds().size(), request.getStatus());
+
+        return respond("Bulk status change processed",
+                bulkService.changeStatus(request.getJobCardIds(), request.getStatus(), request.getReason()));
+    }
+
+    @PostMapping("/cancel")
+    @Operation(
+            summary = "Cancel job cards in bulk",
+            description = "Cancels job cards that are not yet in a final status; the rest are reported per item"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Request processed; see per-item results",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = BulkOperationResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request data or duplicate job card IDs",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            )
+    })
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> cancelJobCards(
+            @Valid @RequestBody BulkJobCardStatusRequest request) {
+
+        log.info("Bulk cancelling {} job cards", request.getJobCardIds().size());
+
+        return respond("Bulk cancellation processed",
+                bulkService.cancelJobCards(request.getJobCardIds(), request.getReason()));
+    }
+
+    private ResponseEntity<ApiResponse<BulkOperationResponse>> respond(String message, BulkOperationResponse response) {
+        return ResponseEntity.ok(ApiResponse.<BulkOperationResponse>builder()
+                .success(response.getFailed() == 0)
+                .message(String.format("%s: %d succeeded, %d failed", message, response.getSucceeded(), response.getFailed()))
+                .data(response)
+                .build());
+    }
+}
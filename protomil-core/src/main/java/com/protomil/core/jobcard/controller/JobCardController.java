@@ -5,8 +5,11 @@ import com.protomil.core.jobcard.dto.JobAssignmentRequest;
 import com.protomil.core.jobcard.dto.JobCardCreateRequest;
 import com.protomil.core.jobcard.dto.JobCardResponse;
 import com.protomil.core.jobcard.dto.JobCardSummary;
+import com.protomil.core.jobcard.dto.JobCardTransitionGuard;
+import com.protomil.core.jobcard.dto.JobCardTransitionResult;
 import com.protomil.core.jobcard.dto.JobCardUpdateRequest;
 import com.protomil.core.jobcard.service.JobAssignmentService;
+import com.protomil.core.jobcard.service.JobCardLiveBoardService;
 import com.protomil.core.jobcard.service.JobCardService;
 import com.protomil.core.shared.dto.ApiResponse;
 import com.protomil.core.shared.logging.LogExecutionTime;
@@ -23,6 +26,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -33,9 +37,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -50,6 +56,7 @@ public class JobCardController {
 
     private final JobCardService jobCardService;
     private final JobAssignmentService jobAssignmentService;
+    private final JobCardLiveBoardService liveBoardService;
 
     @PostMapping
     @Operation(
@@ -126,13 +133,13 @@ public class JobCardController {
 
         JobCardResponse response = jobCardService.getJobCardById(jobCardId);
 
-        return ResponseEntity.ok(
-                ApiResponse.<JobCardResponse>builder()
+        return ResponseEntity.ok()
+                .eTag(JobCardTransitionGuard.toETag(response.getVersion()))
+                .body(ApiResponse.<JobCardResponse>builder()
                         .success(true)
                         .message("Job card retrieved successfully")
                         .data(response)
-                        .build()
-        );
+                        .build());
     }
 
     @GetMapping("/job-number/{jobNumber}")
@@ -365,19 +372,29 @@ public class JobCardController {
 
             @Valid @RequestBody
             @Parameter(description = "Assignment details")
-            JobAssignmentRequest request) {
+            JobAssignmentRequest request,
+
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "Version the client last saw, as returned in the ETag header", example = "\"3\"")
+            String ifMatch,
+
+            @RequestHeader(value = "Idempotency-Key", required = false)
+            @Parameter(description = "Client-generated key that makes retries of this request safe; scoped to "
+                    + "the caller, 422 if reused for a different request")
+            String idempotencyKey) {
 
         log.info("Assigning job card {} to user {}", jobCardId, request.getAssignedTo());
 
-        JobCardResponse response = jobAssignmentService.assignJobCard(jobCardId, request);
+        JobCardResponse response = jobAssignmentService.assignJobCard(jobCardId, request,
+                JobCardTransitionGuard.fromHeaders(ifMatch, idempotencyKey));
 
-        return ResponseEntity.ok(
-                ApiResponse.<JobCardResponse>builder()
+        return ResponseEntity.ok()
+                .eTag(JobCardTransitionGuard.toETag(response.getVersion()))
+                .body(ApiResponse.<JobCardResponse>builder()
                         .success(true)
                         .message("Job card assigned successfully")
                         .data(response)
-                        .build()
-        );
+                        .build());
     }
 
     @PostMapping("/{jobCardId}/unassign")
@@ -454,19 +471,29 @@ public class JobCardController {
     public ResponseEntity<ApiResponse<JobCardResponse>> startJobCard(
             @PathVariable
             @Parameter(description = "Job card ID to start", example = "1")
-            Long jobCardId) {
+            Long jobCardId,
+
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "Version the client last saw, as returned in the ETag header", example = "\"3\"")
+            String ifMatch,
+
+            @RequestHeader(value = "Idempotency-Key", required = false)
+            @Parameter(description = "Client-generated key that makes retries of this request safe; scoped to "
+                    + "the caller, 422 if reused for a different request")
+            String idempotencyKey) {
 
         log.info("Starting job card with ID: {}", jobCardId);
 
-        JobCardResponse response = jobCardService.startJobCard(jobCardId);
+        JobCardResponse response = jobCardService.startJobCard(jobCardId,
+                JobCardTransitionGuard.fromHeaders(ifMatch, idempotencyKey));
 
-        return ResponseEntity.ok(
-                ApiResponse.<JobCardResponse>builder()
+        return ResponseEntity.ok()
+                .eTag(JobCardTransitionGuard.toETag(response.getVersion()))
+                .body(ApiResponse.<JobCardResponse>builder()
                         .success(true)
                         .message("Job card started successfully")
                         .data(response)
-                        .build()
-        );
+                        .build());
     }
 
     @PostMapping("/{jobCardId}/complete")
@@ -499,19 +526,29 @@ public class JobCardController {
     public ResponseEntity<ApiResponse<JobCardResponse>> completeJobCard(
             @PathVariable
             @Parameter(description = "Job card ID to complete", example = "1")
-            Long jobCardId) {
+            Long jobCardId,
+
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "Version the client last saw, as returned in the ETag header", example = "\"3\"")
+            String ifMatch,
+
+            @RequestHeader(value = "Idempotency-Key", required = false)
+            @Parameter(description = "Client-generated key that makes retries of this request safe; scoped to "
+                    + "the caller, 422 if reused for a different request")
+            String idempotencyKey) {
 
         log.info("Completing job card with ID: {}", jobCardId);
 
-        JobCardResponse response = jobCardService.completeJobCard(jobCardId);
+        JobCardResponse response = jobCardService.completeJobCard(jobCardId,
+                JobCardTransitionGuard.fromHeaders(ifMatch, idempotencyKey));
 
-        return ResponseEntity.ok(
-                ApiResponse.<JobCardResponse>builder()
+        return ResponseEntity.ok()
+                .eTag(JobCardTransitionGuard.toETag(response.getVersion()))
+                .body(ApiResponse.<JobCardResponse>builder()
                         .success(true)
                         .message("Job card completed successfully")
                         .data(response)
-                        .build()
-        );
+                        .build());
     }
 
     @PostMapping("/{jobCardId}/cancel")
@@ -548,19 +585,29 @@ public class JobCardController {
 
             @RequestParam(required = false, defaultValue = "Manual cancellation")
             @Parameter(description = "Reason for cancellation")
-            String reason) {
+            String reason,
+
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "Version the client last saw, as returned in the ETag header", example = "\"3\"")
+            String ifMatch,
+
+            @RequestHeader(value = "Idempotency-Key", required = false)
+            @Parameter(description = "Client-generated key that makes retries of this request safe; scoped to "
+                    + "the caller, 422 if reused for a different request")
+            String idempotencyKey) {
 
         log.info("Cancelling job card {} - Reason: {}", jobCardId, reason);
 
-        JobCardResponse response = jobCardService.cancelJobCard(jobCardId, reason);
+        JobCardResponse response = jobCardService.cancelJobCard(jobCardId, reason,
+                JobCardTransitionGuard.fromHeaders(ifMatch, idempotencyKey));
 
-        return ResponseEntity.ok(
-                ApiResponse.<JobCardResponse>builder()
+        return ResponseEntity.ok()
+                .eTag(JobCardTransitionGuard.toETag(response.getVersion()))
+                .body(ApiResponse.<JobCardResponse>builder()
                         .success(true)
                         .message("Job card cancelled successfully")
                         .data(response)
-                        .build()
-        );
+                        .build());
     }
 
     @PostMapping("/{jobCardId}/status")
@@ -601,19 +648,91 @@ public class JobCardController {
 
             @RequestParam(required = false)
             @Parameter(description = "Reason for status change")
-            String reason) {
+            String reason,
+
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "Version the client last saw, as returned in the ETag header", example = "\"3\"")
+            String ifMatch,
+
+            @RequestHeader(value = "Idempotency-Key", required = false)
+            @Parameter(description = "Client-generated key that makes retries of this request safe; scoped to "
+                    + "the caller, 422 if reused for a different request")
+            String idempotencyKey) {
 
         log.info("Changing job card {} status to {} - Reason: {}", jobCardId, status, reason);
 
-        JobCardResponse response = jobCardService.changeJobCardStatus(jobCardId, status, reason);
+        JobCardResponse response = jobCardService.changeJobCardStatus(jobCardId, status, reason,
+                JobCardTransitionGuard.fromHeaders(ifMatch, idempotencyKey));
 
-        return ResponseEntity.ok(
-                ApiResponse.<JobCardResponse>builder()
+        return ResponseEntity.ok()
+                .eTag(JobCardTransitionGuard.toETag(response.getVersion()))
+                .body(ApiResponse.<JobCardResponse>builder()
                         .success(true)
                         .message("Job card status changed successfully")
                         .data(response)
-                        .build()
-        );
+                        .build());
+    }
+
+    @PostMapping("/{jobCardId}/transition")
+    @Operation(
+            summary = "Transition job card status (compact)",
+            description = "Applies a status transition as a single conditional update and returns only the " +
+                    "outcome. Intended for scanner and terminal flows that do not need the full job card"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Job card status changed successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = JobCardTransitionResult.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid status transition",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "409",
+                    description = "Job card version does not match If-Match",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            )
+    })
+    @PreAuthorize("hasAnyRole('TECHNICIAN', 'SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<JobCardTransitionResult>> transitionJobCard(
+            @PathVariable
+            @Parameter(description = "Job card ID", example = "1")
+            Long jobCardId,
+
+            @RequestParam
+            @Parameter(description = "New status to set", example = "IN_PROGRESS")
+            JobStatus status,
+
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "Version the client last saw, as returned in the ETag header", example = "\"3\"")
+            String ifMatch,
+
+            @RequestHeader(value = "Idempotency-Key", required = false)
+            @Parameter(description = "Client-generated key that makes retries of this request safe; scoped to "
+                    + "the caller, 422 if reused for a different request")
+            String idempotencyKey) {
+
+        log.info("Transitioning job card {} to {}", jobCardId, status);
+
+        JobCardTransitionResult response = jobCardService.transitionJobCard(jobCardId, status,
+                JobCardTransitionGuard.fromHeaders(ifMatch, idempotencyKey));
+
+        return ResponseEntity.ok()
+                .eTag(JobCardTransitionGuard.toETag(response.getVersion()))
+                .body(ApiResponse.<JobCardTransitionResult>builder()
+                        .success(true)
+                        .message(response.isReplayed()
+                                ? "Job card transition already applied"
+                                : "Job card status changed successfully")
+                        .data(response)
+                        .build());
     }
 
     @DeleteMapping("/{jobCardId}")
@@ -688,6 +807,29 @@ public class JobCardController {
         );
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream live job card changes",
+            description = "Opens a server-sent events stream of batched job card changes, optionally filtered by " +
+                    "section, machine or assignee. A 'resync' event means the client fell behind and should reload"
+    )
+    @PreAuthorize("hasAnyRole('TECHNICIAN', 'SUPERVISOR', 'ADMIN')")
+    public SseEmitter streamJobCardChanges(
+            @RequestParam(required = false)
+            @Parameter(description = "Only changes for machines in this section", example = "MACHINING")
+            String section,
+            @RequestParam(required = false)
+            @Parameter(description = "Only changes for this machine code", example = "CNC-001")
+            String machine,
+            @RequestParam(required = false)
+            @Parameter(description = "Only changes for job cards assigned to this user")
+            UUID assignee) {
+
+        log.debug("Opening live job card stream (section: {}, machine: {}, assignee: {})", section, machine, assignee);
+
+        return liveBoardService.subscribe(new JobCardLiveBoardService.BoardFilter(section, machine, assignee));
+    }
+
     @GetMapping("/user/{userId}/active")
     @Operation(
             summary = "Get active job cards by user",
@@ -0,0 +1,127 @@
+package com.protomil.core.jobcard.controller;
+
+import com.protomil.core.jobcard.dto.JobScheduleResponse;
+import com.protomil.core.jobcard.service.JobSchedulingService;
+import com.protomil.core.shared.dto.ApiResponse;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/job-cards/schedule")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Job Card Scheduling", description = "APIs for the proposed machine and operator sequence of READY job cards")
+public class JobScheduleController {
+
+    private final JobSchedulingService schedulingService;
+
+    @GetMapping
+    @Operation(
+            summary = "Get job card schedule",
+            description = "Returns the current proposed schedule for READY job cards, computing it on first use"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Schedule retrieved successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = JobScheduleResponse.class)
+                    )
+            )
+    })
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<JobScheduleResponse>> getSchedule(
+            @RequestParam(required = false)
+            @Parameter(description = "Only return job cards planned on this machine", example = "7")
+            Long machineId) {
+
+        return respond("Job card schedule retrieved successfully", schedulingService.getSchedule(machineId));
+    }
+
+    @PostMapping("/recompute")
+    @Operation(
+            summary = "Recompute job card schedule",
+            description = "Rebuilds the schedule from the current backlog, machines and personnel"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Schedule recomputed successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = JobScheduleResponse.class)
+                    )
+            )
+    })
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<JobScheduleResponse>> recompute() {
+        log.info("Recomputing job card schedule");
+
+        return respond("Job card schedule recomputed successfully", schedulingService.recompute(null));
+    }
+
+    @PutMapping("/machines/{machineId}/availability")
+    @Operation(
+            summary = "Set machine availability for scheduling",
+            description = "Takes a machine out of the schedule or puts it back and re-plans the affected job cards"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Schedule updated successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = JobScheduleResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Machine not found or not active",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            )
+    })
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<JobScheduleResponse>> setMachineAvailability(
+            @PathVariable
+            @Parameter(description = "Machine ID", example = "7")
+            Long machineId,
+
+            @RequestParam
+            @Parameter(description = "Whether the machine can take work", example = "false")
+            boolean available) {
+
+        log.info("Setting machine {} availability for scheduling to {}", machineId, available);
+
+        return respond("Job card schedule updated successfully",
+                schedulingService.setMachineAvailability(machineId, available));
+    }
+
+    private ResponseEntity<ApiResponse<JobScheduleResponse>> respond(String message, JobScheduleResponse schedule) {
+        return ResponseEntity.ok(ApiResponse.<JobScheduleResponse>builder()
+                .success(true)
+                .message(message)
+                .data(schedule)
+                .build());
+    }
+}
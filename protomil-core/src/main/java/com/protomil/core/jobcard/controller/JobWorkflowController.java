@@ -0,0 +1,84 @@
+package com.protomil.core.jobcard.controller;
+
+import com.protomil.core.jobcard.dto.JobCardWorkflowResponse;
+import com.protomil.core.jobcard.service.JobWorkflowService;
+import com.protomil.core.shared.dto.ApiResponse;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Job Card Workflows", description = "APIs for the workflows job cards follow")
+public class JobWorkflowController {
+
+    private final JobWorkflowService jobWorkflowService;
+
+    @GetMapping("/job-cards/{jobCardId}/workflow")
+    @Operation(summary = "Get a job card's workflow",
+            description = "The workflow the card follows, the steps open to it from its current status and "
+                    + "whether the current user may take them")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Job card workflow retrieved successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = JobCardWorkflowResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Job card not found",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            )
+    })
+    @PreAuthorize("hasAnyRole('TECHNICIAN', 'SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<JobCardWorkflowResponse>> getJobCardWorkflow(
+            @PathVariable @Parameter(description = "Job card ID", example = "1") Long jobCardId) {
+
+        return ResponseEntity.ok(respond("Job card workflow retrieved successfully",
+                jobWorkflowService.getJobCardWorkflow(jobCardId)));
+    }
+
+    @PutMapping("/job-card-templates/{templateId}/workflow")
+    @Operation(summary = "Set a template's workflow",
+            description = "Job cards of the template follow the workflow from their first step; cards already "
+                    + "following a workflow keep it. Without a workflow ID the template returns to the default.")
+    @PreAuthorize("hasRole('ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<Void>> setTemplateWorkflow(
+            @PathVariable @Parameter(description = "Template ID", example = "1") Long templateId,
+            @RequestParam(required = false) @Parameter(description = "Workflow ID") UUID workflowId) {
+
+        jobWorkflowService.setTemplateWorkflow(templateId, workflowId);
+        return ResponseEntity.ok(respond("Template workflow set successfully", null));
+    }
+
+    private <T> ApiResponse<T> respond(String message, T data) {
+        return ApiResponse.<T>builder()
+                .success(true)
+                .message(message)
+                .data(data)
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+package com.protomil.core.jobcard.controller;
+
+import com.protomil.core.jobcard.dto.MachineAvailabilityResponse;
+import com.protomil.core.jobcard.dto.MachineFreeSlotResponse;
+import com.protomil.core.jobcard.service.MachineCalendarService;
+import com.protomil.core.shared.dto.ApiResponse;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/v1/machines")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Machine Calendar", description = "APIs for machine availability and free capacity")
+public class MachineCalendarController {
+
+    private final MachineCalendarService calendarService;
+
+    @GetMapping("/{machineId}/availability")
+    @Operation(
+            summary = "Check machine availability",
+            description = "Returns whether a machine is free in a time window, with the assignments, reservations and maintenance booked in it"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Availability retrieved successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = MachineAvailabilityResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid or out-of-range window",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Active machine not found",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            )
+    })
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<MachineAvailabilityResponse>> getAvailability(
+            @PathVariable
+            @Parameter(description = "Machine ID", example = "7")
+            Long machineId,
+
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            @Parameter(description = "Window start", example = "2025-01-15T06:00:00")
+            LocalDateTime from,
+
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            @Parameter(description = "Window end (exclusive)", example = "2025-01-15T14:00:00")
+            LocalDateTime to) {
+
+        return ResponseEntity.ok(ApiResponse.<MachineAvailabilityResponse>builder()
+                .success(true)
+                .message("Machine availability retrieved successfully")
+                .data(calendarService.getAvailability(machineId, from, to))
+                .build());
+    }
+
+    @GetMapping("/free-slots")
+    @Operation(
+            summary = "Find earliest free machine slot",
+            description = "Finds the earliest slot of the requested length on a machine or on any machine of a section"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Search completed; data is empty when nothing fits within the planning horizon",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = MachineFreeSlotResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid search parameters",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            )
+    })
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<MachineFreeSlotResponse>> findFreeSlot(
+            @RequestParam(required = false)
+            @Parameter(description = "Search all machines of this section", example = "MACH")
+            String sectionCode,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Search only this machine", example = "7")
+            Long machineId,
+
+            @RequestParam
+            @Parameter(description = "Required slot length in minutes", example = "120")
+            int durationMinutes,
+
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            @Parameter(description = "Earliest slot start; defaults to now", example = "2025-01-15T06:00:00")
+            LocalDateTime from) {
+
+        Optional<MachineFreeSlotResponse> slot = calendarService.findFreeSlot(sectionCode, machineId, durationMinutes, from);
+
+        return ResponseEntity.ok(ApiResponse.<MachineFreeSlotResponse>builder()
+                .success(true)
+                .message(slot.isPresent() ? "Free slot found" : "No free slot within the planning horizon")
+                .data(slot.orElse(null))
+                .build());
+    }
+}
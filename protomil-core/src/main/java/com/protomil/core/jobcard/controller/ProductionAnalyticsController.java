@@ -0,0 +1,394 @@
+package com.protomil.core.jobcard.controller;
+
+import com.protomil.core.jobcard.analytics.ProductionFactStore;
+import com.protomil.core.jobcard.domain.enums.LossGrouping;
+import com.protomil.core.jobcard.domain.enums.OeeGrouping;
+import com.protomil.core.jobcard.domain.enums.ProductionDimension;
+import com.protomil.core.jobcard.domain.enums.Shift;
+import com.protomil.core.jobcard.domain.enums.StatusDwellGrouping;
+import com.protomil.core.jobcard.dto.LossParetoResponse;
+import com.protomil.core.jobcard.dto.LossSummaryResponse;
+import com.protomil.core.jobcard.dto.OeeSummaryResponse;
+import com.protomil.core.jobcard.dto.ProductionEfficiencyRecord;
+import com.protomil.core.jobcard.dto.ProductionKpiResponse;
+import com.protomil.core.jobcard.dto.StatusDwellTimeResponse;
+import com.protomil.core.jobcard.service.LossAnalysisService;
+import com.protomil.core.jobcard.service.OeeService;
+import com.protomil.core.jobcard.service.ProductionAnalyticsService;
+import com.protomil.core.jobcard.service.JobCardStatusHistoryService;
+import com.protomil.core.jobcard.service.ProductionReportingService;
+import com.protomil.core.shared.dto.ApiResponse;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/production/analytics")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Production Analytics", description = "APIs for production KPIs served from pre-aggregated data")
+public class ProductionAnalyticsController {
+
+    private final OeeService oeeService;
+    private final ProductionAnalyticsService productionAnalyticsService;
+    private final LossAnalysisService lossAnalysisService;
+    private final ProductionReportingService productionReportingService;
+    private final JobCardStatusHistoryService statusHistoryService;
+
+    @GetMapping("/oee")
+    @Operation(
+            summary = "Get OEE summary",
+            description = "Returns availability, performance, quality and OEE grouped by machine, section, shift or day"
+    )
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<List<OeeSummaryResponse>>> getOee(
+            @RequestParam(defaultValue = "MACHINE")
+            @Parameter(description = "Grouping dimension", example = "MACHINE")
+            OeeGrouping groupBy,
+
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First entry date (inclusive)", example = "2025-01-01")
+            LocalDate startDate,
+
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last entry date (inclusive)", example = "2025-12-31")
+            LocalDate endDate) {
+
+        log.debug("Retrieving OEE grouped by {} from {} to {}", groupBy, startDate, endDate);
+
+        List<OeeSummaryResponse> response = oeeService.getOee(groupBy, startDate, endDate);
+
+        return ResponseEntity.ok(
+                ApiResponse.<List<OeeSummaryResponse>>builder()
+                        .success(true)
+                        .message("OEE summary retrieved successfully")
+                        .data(response)
+                        .build()
+        );
+    }
+
+    @GetMapping("/oee/machines/{machineCode}/trend")
+    @Operation(
+            summary = "Get daily OEE trend for a machine",
+            description = "Returns one OEE entry per day for the given machine"
+    )
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<List<OeeSummaryResponse>>> getMachineOeeTrend(
+            @PathVariable
+            @Parameter(description = "Machine code", example = "CNC-01")
+            String machineCode,
+
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First entry date (inclusive)", example = "2025-01-01")
+            LocalDate startDate,
+
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last entry date (inclusive)", example = "2025-01-31")
+            LocalDate endDate) {
+
+        log.debug("Retrieving OEE trend for machine {} from {} to {}", machineCode, startDate, endDate);
+
+        List<OeeSummaryResponse> response = oeeService.getMachineOeeTrend(machineCode, startDate, endDate);
+
+        return ResponseEntity.ok(
+                ApiResponse.<List<OeeSummaryResponse>>builder()
+                        .success(true)
+                        .message("OEE trend retrieved successfully")
+                        .data(response)
+                        .build()
+        );
+    }
+
+    @GetMapping("/efficiency")
+    @Operation(
+            summary = "Get production efficiency KPIs",
+            description = "Returns operator and equipment efficiency grouped by machine, part, operator, shift or day for the recent production window"
+    )
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<List<ProductionKpiResponse>>> getEfficiency(
+            @RequestParam(defaultValue = "MACHINE")
+            @Parameter(description = "Grouping dimension", example = "MACHINE")
+            ProductionDimension groupBy,
+
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First entry date (inclusive)", example = "2025-01-01")
+            LocalDate startDate,
+
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last entry date (inclusive)", example = "2025-01-31")
+            LocalDate endDate,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Filter by machine code", example = "CNC-01")
+            String machineCode,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Filter by part number", example = "PN-1001")
+            String partNumber,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Filter by operator employee number", example = "EMP001")
+            String employeeNumber,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Filter by shift", example = "MORNING")
+            Shift shift) {
+
+        log.debug("Retrieving production efficiency grouped by {} from {} to {}", groupBy, startDate, endDate);
+
+        ProductionFactStore.Filter filter = new ProductionFactStore.Filter(
+                startDate, endDate, machineCode, partNumber, employeeNumber, shift);
+        List<ProductionKpiResponse> response = productionAnalyticsService.getKpis(groupBy, filter);
+
+        return ResponseEntity.ok(
+                ApiResponse.<List<ProductionKpiResponse>>builder()
+                        .success(true)
+                        .message("Production efficiency retrieved successfully")
+                        .data(response)
+                        .build()
+        );
+    }
+
+    @GetMapping("/rejections")
+    @Operation(
+            summary = "Get rejection KPIs",
+            description = "Returns rejection quantities and rates grouped by machine, part, operator, shift or day, highest rejections first"
+    )
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<List<ProductionKpiResponse>>> getRejections(
+            @RequestParam(defaultValue = "PART")
+            @Parameter(description = "Grouping dimension", example = "PART")
+            ProductionDimension groupBy,
+
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First entry date (inclusive)", example = "2025-01-01")
+            LocalDate startDate,
+
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last entry date (inclusive)", example = "2025-01-31")
+            LocalDate endDate,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Filter by machine code", example = "CNC-01")
+            String machineCode,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Filter by part number", example = "PN-1001")
+            String partNumber,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Filter by operator employee number", example = "EMP001")
+            String employeeNumber,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Filter by shift", example = "MORNING")
+            Shift shift) {
+
+        log.debug("Retrieving rejections grouped by {} from {} to {}", groupBy, startDate, endDate);
+
+        ProductionFactStore.Filter filter = new ProductionFactStore.Filter(
+                startDate, endDate, machineCode, partNumber, employeeNumber, shift);
+        List<ProductionKpiResponse> response = productionAnalyticsService.getRejectionLeaders(groupBy, filter);
+
+        return ResponseEntity.ok(
+                ApiResponse.<List<ProductionKpiResponse>>builder()
+                        .success(true)
+                        .message("Rejection summary retrieved successfully")
+                        .data(response)
+                        .build()
+        );
+    }
+
+    @GetMapping("/losses/pareto")
+    @Operation(
+            summary = "Get loss time Pareto",
+            description = "Returns loss time per category, largest first, with cumulative share; optionally for one machine and/or shift"
+    )
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<List<LossParetoResponse>>> getLossPareto(
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First entry date (inclusive)", example = "2025-01-01")
+            LocalDate startDate,
+
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last entry date (inclusive)", example = "2025-01-31")
+            LocalDate endDate,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Filter by machine code", example = "CNC-01")
+            String machineCode,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Filter by shift", example = "NIGHT")
+            Shift shift) {
+
+        log.debug("Retrieving loss Pareto from {} to {} for machine {} and shift {}", startDate, endDate, machineCode, shift);
+
+        List<LossParetoResponse> response = lossAnalysisService.getLossPareto(startDate, endDate, machineCode, shift);
+
+        return ResponseEntity.ok(
+                ApiResponse.<List<LossParetoResponse>>builder()
+                        .success(true)
+                        .message("Loss Pareto retrieved successfully")
+                        .data(response)
+                        .build()
+        );
+    }
+
+    @GetMapping("/status-dwell-times")
+    @Operation(
+            summary = "Get time spent per job card status",
+            description = "Returns average, 90th percentile and maximum time job cards spent in each status, grouped by template or machine, slowest first"
+    )
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<List<StatusDwellTimeResponse>>> getStatusDwellTimes(
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First day of status changes (inclusive)", example = "2025-01-01")
+            LocalDate startDate,
+
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last day of status changes (inclusive)", example = "2025-01-31")
+            LocalDate endDate,
+
+            @RequestParam(defaultValue = "TEMPLATE")
+            @Parameter(description = "Group by TEMPLATE or MACHINE", example = "MACHINE")
+            StatusDwellGrouping groupBy) {
+
+        log.debug("Retrieving status dwell times by {} from {} to {}", groupBy, startDate, endDate);
+
+        List<StatusDwellTimeResponse> response = statusHistoryService.getDwellTimes(startDate, endDate, groupBy);
+
+        return ResponseEntity.ok(
+                ApiResponse.<List<StatusDwellTimeResponse>>builder()
+                        .success(true)
+                        .message("Status dwell times retrieved successfully")
+                        .data(response)
+                        .build()
+        );
+    }
+
+    @GetMapping("/losses/top")
+    @Operation(
+            summary = "Get top losses",
+            description = "Returns the machines or shifts with the most loss time, optionally for one loss category"
+    )
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<List<LossSummaryResponse>>> getTopLosses(
+            @RequestParam(defaultValue = "MACHINE")
+            @Parameter(description = "Grouping dimension", example = "MACHINE")
+            LossGrouping groupBy,
+
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First entry date (inclusive)", example = "2025-01-01")
+            LocalDate startDate,
+
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last entry date (inclusive)", example = "2025-01-31")
+            LocalDate endDate,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Filter by loss category code", example = "BREAKDOWN")
+            String categoryCode,
+
+            @RequestParam(defaultValue = "10")
+            @Parameter(description = "Number of entries to return", example = "10")
+            int limit) {
+
+        log.debug("Retrieving top {} losses by {} from {} to {}", limit, groupBy, startDate, endDate);
+
+        List<LossSummaryResponse> response = lossAnalysisService.getTopLosses(groupBy, startDate, endDate, categoryCode, limit);
+
+        return ResponseEntity.ok(
+                ApiResponse.<List<LossSummaryResponse>>builder()
+                        .success(true)
+                        .message("Top losses retrieved successfully")
+                        .data(response)
+                        .build()
+        );
+    }
+
+    @GetMapping("/records")
+    @Operation(
+            summary = "Get production efficiency records",
+            description = "Returns production records with efficiency, loss and rejection figures from the reporting view"
+    )
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<Page<ProductionEfficiencyRecord>>> getEfficiencyRecords(
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First entry date (inclusive)", example = "2025-01-01")
+            LocalDate startDate,
+
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last entry date (inclusive)", example = "2025-01-31")
+            LocalDate endDate,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Filter by machine code", example = "CNC-01")
+            String machineCode,
+
+            @RequestParam(defaultValue = "0")
+            @Parameter(description = "Page number (0-based)", example = "0")
+            int page,
+
+            @RequestParam(defaultValue = "20")
+            @Parameter(description = "Number of items per page", example = "20")
+            int size) {
+
+        log.debug("Retrieving production efficiency records from {} to {} for machine {}, page: {}",
+                startDate, endDate, machineCode, page);
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "entryDate", "id"));
+        Page<ProductionEfficiencyRecord> response =
+                productionReportingService.getEfficiencyRecords(startDate, endDate, machineCode, pageable);
+
+        return ResponseEntity.ok(
+                ApiResponse.<Page<ProductionEfficiencyRecord>>builder()
+                        .success(true)
+                        .message("Production efficiency records retrieved successfully")
+                        .data(response)
+                        .build()
+        );
+    }
+}
@@ -21,9 +21,10 @@ import java.util.UUID;
 @Entity
 @Table(name = "job_cards", indexes = {
         @Index(name = "idx_job_cards_status", columnList = "status"),
-        @Index(name = "idx_job_cards_assigned_to", columnList = "assigned_to"),
+        @Index(name = "idx_job_cards_assigned_to_status", columnList = "assigned_to, status"),
         @Index(name = "idx_job_cards_created_by", columnList = "created_by"),
-        @Index(name = "idx_job_cards_template", columnList = "template_id"),
+        @Index(name = "idx_job_cards_template_status", columnList = "template_id, status"),
+        @Index(name = "idx_job_cards_priority_created_at", columnList = "priority, created_at DESC"),
         @Index(name = "idx_job_cards_job_number", columnList = "job_number"),
         @Index(name = "idx_job_cards_target_date", columnList = "target_completion_date"),
         @Index(name = "idx_job_cards_created_at", columnList = "created_at")
@@ -89,10 +90,6 @@ public class JobCard extends AuditableEntity {
     @Builder.Default
     private Map<String, Object> dynamicFields = Map.of();
 
-    @Column(name = "version")
-    @Builder.Default
-    private Long version = 1L;
-
     // Relationships
     @OneToMany(mappedBy = "jobCard", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @Builder.Default
@@ -11,9 +11,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "job_card_assignments", indexes = {
-        @Index(name = "idx_job_card_assignments_job", columnList = "job_card_id"),
+        @Index(name = "idx_job_card_assignments_job_assigned_at", columnList = "job_card_id, assigned_at DESC"),
         @Index(name = "idx_job_card_assignments_user", columnList = "assigned_to"),
-        @Index(name = "idx_job_card_assignments_active", columnList = "is_active"),
         @Index(name = "idx_job_card_assignments_assigned_by", columnList = "assigned_by")
 })
 @Data
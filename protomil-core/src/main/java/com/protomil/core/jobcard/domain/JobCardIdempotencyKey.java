@@ -0,0 +1,39 @@
+package com.protomil.core.jobcard.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An idempotency key claimed by a job card transition. Rows are inserted with
+ * {@code ON CONFLICT DO NOTHING} by {@link com.protomil.core.jobcard.repository.JobCardIdempotencyKeyRepository}.
+ */
+@Entity
+@Table(name = "job_card_idempotency_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobCardIdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "job_card_id", nullable = false)
+    private Long jobCardId;
+
+    @Column(name = "operation", nullable = false, length = 50)
+    private String operation;
+
+    @Column(name = "created_by")
+    private UUID createdBy;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
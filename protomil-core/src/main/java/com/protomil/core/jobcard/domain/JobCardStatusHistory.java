@@ -13,9 +13,13 @@ import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.UUID;
 
+/**
+ * Append-only status history, partitioned by month on {@code changed_at} (V15). Rows are written in
+ * batches by {@code JobCardStatusHistoryService}; this mapping is for reads.
+ */
 @Entity
 @Table(name = "job_card_status_history", indexes = {
-        @Index(name = "idx_job_card_status_history_job", columnList = "job_card_id"),
+        @Index(name = "idx_job_card_status_history_job", columnList = "job_card_id, changed_at"),
         @Index(name = "idx_job_card_status_history_date", columnList = "changed_at"),
         @Index(name = "idx_job_card_status_history_user", columnList = "changed_by")
 })
@@ -42,16 +46,25 @@ public class JobCardStatusHistory {
     @Column(name = "to_status", nullable = false, length = 50)
     private JobStatus toStatus;
 
-    @Column(name = "changed_by", nullable = false)
+    @Column(name = "changed_by")
     private UUID changedBy;
 
     @Column(name = "change_reason", columnDefinition = "TEXT")
     private String changeReason;
 
-    @Column(name = "changed_at")
+    @Column(name = "changed_at", nullable = false)
     @Builder.Default
     private LocalDateTime changedAt = LocalDateTime.now();
 
+    @Column(name = "duration_in_previous_status_seconds")
+    private Long durationInPreviousStatusSeconds;
+
+    @Column(name = "template_id")
+    private Long templateId;
+
+    @Column(name = "machine_id")
+    private Long machineId;
+
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "additional_data", columnDefinition = "jsonb")
     @Builder.Default
@@ -0,0 +1,78 @@
+package com.protomil.core.jobcard.domain;
+
+import com.protomil.core.jobcard.domain.enums.JobStatus;
+import com.protomil.core.jobcard.domain.enums.Priority;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Row of the {@code v_job_card_summary} materialized view, refreshed by
+ * {@link com.protomil.core.jobcard.service.MaterializedViewRefreshService}.
+ */
+@Entity
+@Immutable
+@Table(name = "v_job_card_summary")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobCardSummaryView {
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "job_number")
+    private String jobNumber;
+
+    @Column(name = "title")
+    private String title;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private JobStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority")
+    private Priority priority;
+
+    @Column(name = "template_id")
+    private Long templateId;
+
+    @Column(name = "estimated_duration_minutes")
+    private Integer estimatedDurationMinutes;
+
+    @Column(name = "actual_duration_minutes")
+    private Integer actualDurationMinutes;
+
+    @Column(name = "target_completion_date")
+    private LocalDateTime targetCompletionDate;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "template_name")
+    private String templateName;
+
+    @Column(name = "template_category")
+    private String templateCategory;
+
+    @Column(name = "total_work_instructions")
+    private Long totalWorkInstructions;
+
+    @Column(name = "completed_instructions")
+    private Long completedInstructions;
+
+    @Column(name = "completion_percentage")
+    private BigDecimal completionPercentage;
+}
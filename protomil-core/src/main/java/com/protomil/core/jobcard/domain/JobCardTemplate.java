@@ -42,6 +42,14 @@ public class JobCardTemplate extends AuditableEntity {
     @Column(name = "category", length = 100)
     private String category;
 
+    // Machine type this template's job cards must be scheduled on; null for any machine
+    @Column(name = "required_machine_type", length = 100)
+    private String requiredMachineType;
+
+    // Workflow new job cards of the template follow; the default JOB_CARD workflow when null
+    @Column(name = "workflow_id")
+    private UUID workflowId;
+
     @Column(name = "version", nullable = false)
     @Builder.Default
     private Long version = 1L;
@@ -0,0 +1,70 @@
+package com.protomil.core.jobcard.domain;
+
+import com.protomil.core.jobcard.domain.enums.Shift;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Row of the {@code v_production_efficiency} materialized view, refreshed by
+ * {@link com.protomil.core.jobcard.service.MaterializedViewRefreshService}.
+ */
+@Entity
+@Immutable
+@Table(name = "v_production_efficiency")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductionEfficiencyView {
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "job_card_id")
+    private Long jobCardId;
+
+    @Column(name = "job_number")
+    private String jobNumber;
+
+    @Column(name = "machine_code")
+    private String machineCode;
+
+    @Column(name = "part_number")
+    private String partNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "shift")
+    private Shift shift;
+
+    @Column(name = "entry_date")
+    private LocalDate entryDate;
+
+    @Column(name = "production_quantity")
+    private Integer productionQuantity;
+
+    @Column(name = "total_time_available_minutes")
+    private Integer totalTimeAvailableMinutes;
+
+    @Column(name = "net_time_available_minutes")
+    private Integer netTimeAvailableMinutes;
+
+    @Column(name = "operator_efficiency_percentage", precision = 5, scale = 2)
+    private BigDecimal operatorEfficiencyPercentage;
+
+    @Column(name = "equipment_efficiency_percentage", precision = 5, scale = 2)
+    private BigDecimal equipmentEfficiencyPercentage;
+
+    @Column(name = "total_loss_time_minutes")
+    private Integer totalLossTimeMinutes;
+
+    @Column(name = "total_rejection_quantity")
+    private Integer totalRejectionQuantity;
+}
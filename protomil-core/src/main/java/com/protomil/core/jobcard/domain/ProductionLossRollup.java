@@ -0,0 +1,53 @@
+package com.protomil.core.jobcard.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Daily loss time per machine, shift and loss category. Rows are maintained by the
+ * {@code trg_production_loss_details_sync} trigger and are read-only from the application.
+ */
+@Entity
+@Immutable
+@Table(name = "production_loss_daily")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductionLossRollup {
+
+    public static final long UNCATEGORIZED = 0L;
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "entry_date", nullable = false)
+    private LocalDate entryDate;
+
+    @Column(name = "machine_code", nullable = false, length = 50)
+    private String machineCode;
+
+    @Column(name = "shift", nullable = false, length = 20)
+    private String shift;
+
+    // 0 when the loss has no category
+    @Column(name = "loss_category_id", nullable = false)
+    private Long lossCategoryId;
+
+    @Column(name = "loss_minutes")
+    private Long lossMinutes;
+
+    @Column(name = "occurrence_count")
+    private Integer occurrenceCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
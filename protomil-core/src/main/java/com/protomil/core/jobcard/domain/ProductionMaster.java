@@ -1,11 +1,13 @@
 package com.protomil.core.jobcard.domain;
 
 import com.protomil.core.jobcard.domain.enums.Shift;
+import com.protomil.core.jobcard.events.ProductionMasterEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.Hibernate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -18,12 +20,12 @@ import java.util.UUID;
 @Table(name = "production_master", indexes = {
         @Index(name = "idx_production_master_job_card", columnList = "job_card_id"),
         @Index(name = "idx_production_master_entry_date", columnList = "entry_date"),
-        @Index(name = "idx_production_master_machine", columnList = "machine_code"),
-        @Index(name = "idx_production_master_part", columnList = "part_number"),
-        @Index(name = "idx_production_master_operator", columnList = "employee_number"),
-        @Index(name = "idx_production_master_shift", columnList = "shift"),
-        @Index(name = "idx_production_master_validation", columnList = "is_validated")
+        @Index(name = "idx_production_master_machine_entry_date", columnList = "machine_code, entry_date"),
+        @Index(name = "idx_production_master_part_entry_date", columnList = "part_number, entry_date"),
+        @Index(name = "idx_production_master_operator_entry_date", columnList = "employee_number, entry_date"),
+        @Index(name = "idx_production_master_entry_date_shift", columnList = "entry_date, shift")
 })
+@EntityListeners(ProductionMasterEntityListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -72,39 +74,44 @@ public class ProductionMaster {
     @Column(name = "total_time_available_minutes")
     private Integer totalTimeAvailableMinutes;
 
-    // Loss Time Details (8 separate fields as per Excel)
-    @Column(name = "loss_time_1_minutes")
+    // Loss Time Details (8 separate fields as per Excel).
+    // Mirrored by the database from lossDetails (loss_sequence N -> column N); write loss time through lossDetails.
+    @Column(name = "loss_time_1_minutes", insertable = false, updatable = false)
     @Builder.Default
     private Integer lossTime1Minutes = 0;
 
-    @Column(name = "loss_time_2_minutes")
+    @Column(name = "loss_time_2_minutes", insertable = false, updatable = false)
     @Builder.Default
     private Integer lossTime2Minutes = 0;
 
-    @Column(name = "loss_time_3_minutes")
+    @Column(name = "loss_time_3_minutes", insertable = false, updatable = false)
     @Builder.Default
     private Integer lossTime3Minutes = 0;
 
-    @Column(name = "loss_time_4_minutes")
+    @Column(name = "loss_time_4_minutes", insertable = false, updatable = false)
     @Builder.Default
     private Integer lossTime4Minutes = 0;
 
-    @Column(name = "loss_time_5_minutes")
+    @Column(name = "loss_time_5_minutes", insertable = false, updatable = false)
     @Builder.Default
     private Integer lossTime5Minutes = 0;
 
-    @Column(name = "loss_time_6_minutes")
+    @Column(name = "loss_time_6_minutes", insertable = false, updatable = false)
     @Builder.Default
     private Integer lossTime6Minutes = 0;
 
-    @Column(name = "loss_time_7_minutes")
+    @Column(name = "loss_time_7_minutes", insertable = false, updatable = false)
     @Builder.Default
     private Integer lossTime7Minutes = 0;
 
-    @Column(name = "loss_time_8_minutes")
+    @Column(name = "loss_time_8_minutes", insertable = false, updatable = false)
     @Builder.Default
     private Integer lossTime8Minutes = 0;
 
+    // Sum of the loss time columns, calculated by the database
+    @Column(name = "total_loss_time_minutes", insertable = false, updatable = false)
+    private Integer totalLossTimeMinutes;
+
     // Break Information
     @Column(name = "lunch_tea_break_minutes")
     @Builder.Default
@@ -208,14 +215,13 @@ public class ProductionMaster {
 
     // Helper methods
     public Integer getTotalLossTimeMinutes() {
-        return (lossTime1Minutes != null ? lossTime1Minutes : 0) +
-                (lossTime2Minutes != null ? lossTime2Minutes : 0) +
-                (lossTime3Minutes != null ? lossTime3Minutes : 0) +
-                (lossTime4Minutes != null ? lossTime4Minutes : 0) +
-                (lossTime5Minutes != null ? lossTime5Minutes : 0) +
-                (lossTime6Minutes != null ? lossTime6Minutes : 0) +
-                (lossTime7Minutes != null ? lossTime7Minutes : 0) +
-                (lossTime8Minutes != null ? lossTime8Minutes : 0);
+        // Pending detail changes are only visible in memory; otherwise trust the stored total
+        if (Hibernate.isInitialized(lossDetails)) {
+            return lossDetails.stream()
+                    .mapToInt(detail -> detail.getLossTimeMinutes() != null ? detail.getLossTimeMinutes() : 0)
+                    .sum();
+        }
+        return totalLossTimeMinutes != null ? totalLossTimeMinutes : 0;
     }
 
     public Integer getTotalRejectionQuantity() {
@@ -0,0 +1,69 @@
+package com.protomil.core.jobcard.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Daily OEE bucket per machine, section and shift. Rows are maintained by the
+ * {@code trg_production_master_oee_rollup} trigger and are read-only from the application.
+ */
+@Entity
+@Immutable
+@Table(name = "production_oee_daily")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductionOeeRollup {
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "entry_date", nullable = false)
+    private LocalDate entryDate;
+
+    @Column(name = "machine_code", nullable = false, length = 50)
+    private String machineCode;
+
+    @Column(name = "section_code", nullable = false, length = 50)
+    private String sectionCode;
+
+    @Column(name = "shift", nullable = false, length = 20)
+    private String shift;
+
+    @Column(name = "record_count")
+    private Integer recordCount;
+
+    @Column(name = "validated_record_count")
+    private Integer validatedRecordCount;
+
+    @Column(name = "planned_minutes")
+    private Long plannedMinutes;
+
+    @Column(name = "loss_minutes")
+    private Long lossMinutes;
+
+    @Column(name = "run_minutes")
+    private Long runMinutes;
+
+    @Column(name = "ideal_run_minutes", precision = 14, scale = 2)
+    private BigDecimal idealRunMinutes;
+
+    @Column(name = "production_quantity")
+    private Long productionQuantity;
+
+    @Column(name = "rejection_quantity")
+    private Long rejectionQuantity;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,27 @@
+package com.protomil.core.jobcard.domain.enums;
+
+import lombok.Getter;
+
+/**
+ * Why a job card was escalated. Each type is a durable timer type of its own.
+ */
+@Getter
+public enum EscalationType {
+    OVERDUE("Past its target completion date"),
+    ASSIGNMENT_TIMEOUT("Assigned but not started within the assignment timeout"),
+    REVIEW_TIMEOUT("Pending review for longer than the review timeout");
+
+    private final String description;
+
+    EscalationType(String description) {
+        this.description = description;
+    }
+
+    public String getTimerType() {
+        return "JOB_CARD_" + name();
+    }
+
+    public static EscalationType fromTimerType(String timerType) {
+        return valueOf(timerType.substring("JOB_CARD_".length()));
+    }
+}
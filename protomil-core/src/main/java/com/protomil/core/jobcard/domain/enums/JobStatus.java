@@ -50,13 +50,18 @@ public enum JobStatus {
         return this == IN_PROGRESS;
     }
 
+    /**
+     * The built-in job card lifecycle, including the direct completion and cancellation the job card
+     * endpoints allow. Job cards follow it only while no default workflow is defined; the seeded
+     * Standard Job Card Lifecycle workflow mirrors it.
+     */
     public boolean canTransitionTo(JobStatus targetStatus) {
         return switch (this) {
             case DRAFT -> targetStatus == READY || targetStatus == CANCELLED;
             case READY -> targetStatus == ASSIGNED || targetStatus == CANCELLED;
             case ASSIGNED -> targetStatus == IN_PROGRESS || targetStatus == CANCELLED;
-            case IN_PROGRESS -> targetStatus == PENDING_REVIEW || targetStatus == CANCELLED;
-            case PENDING_REVIEW -> targetStatus == COMPLETED || targetStatus == REWORK_REQUIRED;
+            case IN_PROGRESS -> targetStatus == PENDING_REVIEW || targetStatus == COMPLETED || targetStatus == CANCELLED;
+            case PENDING_REVIEW -> targetStatus == COMPLETED || targetStatus == REWORK_REQUIRED || targetStatus == CANCELLED;
             case REWORK_REQUIRED -> targetStatus == IN_PROGRESS || targetStatus == CANCELLED;
             case COMPLETED, CANCELLED -> false; // Final states
         };
@@ -0,0 +1,6 @@
+package com.protomil.core.jobcard.domain.enums;
+
+public enum LossGrouping {
+    MACHINE,
+    SHIFT
+}
@@ -0,0 +1,8 @@
+package com.protomil.core.jobcard.domain.enums;
+
+public enum OeeGrouping {
+    MACHINE,
+    SECTION,
+    SHIFT,
+    DAY
+}
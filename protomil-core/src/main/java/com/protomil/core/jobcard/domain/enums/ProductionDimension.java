@@ -0,0 +1,9 @@
+package com.protomil.core.jobcard.domain.enums;
+
+public enum ProductionDimension {
+    MACHINE,
+    PART,
+    OPERATOR,
+    SHIFT,
+    DAY
+}
@@ -1,17 +1,36 @@
 package com.protomil.core.jobcard.domain.enums;
 
+import java.time.LocalTime;
+
 public enum Shift {
-    MORNING("Morning Shift - 6 AM to 2 PM"),
-    AFTERNOON("Afternoon Shift - 2 PM to 10 PM"),
-    NIGHT("Night Shift - 10 PM to 6 AM");
+    MORNING("Morning Shift - 6 AM to 2 PM", LocalTime.of(6, 0), LocalTime.of(14, 0)),
+    AFTERNOON("Afternoon Shift - 2 PM to 10 PM", LocalTime.of(14, 0), LocalTime.of(22, 0)),
+    NIGHT("Night Shift - 10 PM to 6 AM", LocalTime.of(22, 0), LocalTime.of(6, 0));
 
     private final String description;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
 
-    Shift(String description) {
+    Shift(String description, LocalTime startTime, LocalTime endTime) {
         this.description = description;
+        this.startTime = startTime;
+        this.endTime = endTime;
     }
 
     public String getDescription() {
         return description;
     }
-}
\ No newline at end of file
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    /** End of the shift; before the start time for shifts that run past midnight. */
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public boolean crossesMidnight() {
+        return !endTime.isAfter(startTime);
+    }
+}
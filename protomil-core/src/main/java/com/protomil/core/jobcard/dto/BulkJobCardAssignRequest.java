@@ -0,0 +1,49 @@
+package com.protomil.core.jobcard.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request to assign many job cards at once")
+public class BulkJobCardAssignRequest {
+
+    @NotEmpty(message = "At least one assignment is required")
+    @Size(max = 5000, message = "At most 5000 job cards can be assigned per request")
+    @Schema(description = "Assignments to apply")
+    private List<@Valid Assignment> assignments;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Assignment {
+
+        @NotNull(message = "Job card ID is required")
+        @Schema(description = "Job card to assign", example = "1")
+        private Long jobCardId;
+
+        @NotNull(message = "Assigned user ID is required")
+        @Schema(description = "User ID to assign the job card to", example = "123e4567-e89b-12d3-a456-426614174000")
+        private UUID assignedTo;
+
+        @Schema(description = "Machine ID to assign (optional)", example = "456")
+        private Long machineId;
+
+        @Size(max = 500, message = "Assignment reason must not exceed 500 characters")
+        @Schema(description = "Reason for assignment")
+        private String assignmentReason;
+    }
+}
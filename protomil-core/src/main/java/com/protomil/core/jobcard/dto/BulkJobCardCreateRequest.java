@@ -0,0 +1,25 @@
+package com.protomil.core.jobcard.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request to create many job cards at once")
+public class BulkJobCardCreateRequest {
+
+    @NotEmpty(message = "At least one job card is required")
+    @Size(max = 5000, message = "At most 5000 job cards can be created per request")
+    @Schema(description = "Job cards to create")
+    private List<@Valid JobCardCreateRequest> jobCards;
+}
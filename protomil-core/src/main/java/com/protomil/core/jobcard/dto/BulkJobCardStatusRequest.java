@@ -0,0 +1,33 @@
+package com.protomil.core.jobcard.dto;
+
+import com.protomil.core.jobcard.domain.enums.JobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request to change the status of, or cancel, many job cards at once")
+public class BulkJobCardStatusRequest {
+
+    @NotEmpty(message = "At least one job card ID is required")
+    @Size(max = 5000, message = "At most 5000 job cards can be changed per request")
+    @Schema(description = "Job card IDs to change")
+    private List<@NotNull Long> jobCardIds;
+
+    @Schema(description = "New status; required for status changes and ignored for cancellation", example = "READY")
+    private JobStatus status;
+
+    @Size(max = 500, message = "Reason must not exceed 500 characters")
+    @Schema(description = "Reason for the change")
+    private String reason;
+}
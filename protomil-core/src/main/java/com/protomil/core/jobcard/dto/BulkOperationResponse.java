@@ -0,0 +1,82 @@
+package com.protomil.core.jobcard.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.protomil.core.jobcard.domain.enums.JobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Outcome of a bulk job card operation, one result per requested item")
+public class BulkOperationResponse {
+
+    @Schema(description = "Number of items in the request", example = "250")
+    private int requested;
+
+    @Schema(description = "Number of items applied", example = "248")
+    private int succeeded;
+
+    @Schema(description = "Number of items rejected", example = "2")
+    private int failed;
+
+    @Schema(description = "Per-item results, in request order")
+    private List<ItemResult> results;
+
+    public static BulkOperationResponse of(List<ItemResult> results) {
+        int succeeded = (int) results.stream().filter(ItemResult::isSuccess).count();
+        return BulkOperationResponse.builder()
+                .requested(results.size())
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results)
+                .build();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ItemResult {
+
+        @Schema(description = "Position of the item in the request", example = "0")
+        private int index;
+
+        @Schema(description = "Job card ID", example = "1")
+        private Long jobCardId;
+
+        @Schema(description = "Job number", example = "JC-2025-001")
+        private String jobNumber;
+
+        private boolean success;
+
+        @Schema(description = "Status after the operation", example = "ASSIGNED")
+        private JobStatus status;
+
+        @Schema(description = "Optimistic locking version after the operation", example = "4")
+        private Long version;
+
+        @Schema(description = "Error code when the item was rejected", example = "BIZ_002")
+        private String errorCode;
+
+        @Schema(description = "Error message when the item was rejected")
+        private String message;
+
+        public static ItemResult failure(int index, Long jobCardId, String errorCode, String message) {
+            return ItemResult.builder()
+                    .index(index)
+                    .jobCardId(jobCardId)
+                    .success(false)
+                    .errorCode(errorCode)
+                    .message(message)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.protomil.core.jobcard.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.protomil.core.jobcard.domain.enums.JobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Latest known state of a job card pushed to live status boards")
+public class JobCardBoardDelta {
+
+    public enum ChangeType {
+        CREATED, ASSIGNED, STATUS_CHANGED
+    }
+
+    @Schema(description = "Job card ID", example = "1")
+    private Long jobCardId;
+
+    @Schema(description = "Unique job number", example = "JC-2025-001")
+    private String jobNumber;
+
+    @Schema(description = "Most recent change coalesced into this delta")
+    private ChangeType changeType;
+
+    @Schema(description = "Current status, when known")
+    private JobStatus status;
+
+    @Schema(description = "Status before the most recent transition")
+    private JobStatus previousStatus;
+
+    @Schema(description = "Assigned user ID")
+    private UUID assignedTo;
+
+    @Schema(description = "Assigned machine code", example = "CNC-001")
+    private String machineCode;
+
+    @Schema(description = "Section of the assigned machine", example = "MACHINING")
+    private String sectionCode;
+
+    @Schema(description = "When the most recent change happened")
+    private Instant occurredAt;
+}
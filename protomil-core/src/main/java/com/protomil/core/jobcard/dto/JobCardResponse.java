@@ -39,6 +39,9 @@ public class JobCardResponse {
     @Schema(description = "Priority level", example = "HIGH")
     private Priority priority;
 
+    @Schema(description = "Optimistic locking version; send it back as If-Match to guard transitions", example = "3")
+    private Long version;
+
     @Schema(description = "Template information")
     private TemplateInfo template;
 
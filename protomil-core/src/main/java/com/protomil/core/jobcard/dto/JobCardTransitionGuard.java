@@ -0,0 +1,43 @@
+package com.protomil.core.jobcard.dto;
+
+import com.protomil.core.shared.exception.BusinessException;
+import org.springframework.util.StringUtils;
+
+/**
+ * Optional preconditions for a job card transition: the version the client last saw (sent as an
+ * {@code If-Match} ETag) and an {@code Idempotency-Key} that makes retries of the same request safe.
+ */
+public record JobCardTransitionGuard(Long expectedVersion, String idempotencyKey) {
+
+    public static final JobCardTransitionGuard NONE = new JobCardTransitionGuard(null, null);
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+
+    public static JobCardTransitionGuard fromHeaders(String ifMatch, String idempotencyKey) {
+        String key = StringUtils.hasText(idempotencyKey) ? idempotencyKey.trim() : null;
+        if (key != null && key.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new BusinessException("Idempotency-Key must not exceed " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        return new JobCardTransitionGuard(parseVersion(ifMatch), key);
+    }
+
+    public static String toETag(Long version) {
+        return version != null ? "\"" + version + "\"" : null;
+    }
+
+    private static Long parseVersion(String ifMatch) {
+        if (!StringUtils.hasText(ifMatch) || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new BusinessException("If-Match must carry the job card version, e.g. \"3\"");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.protomil.core.jobcard.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.protomil.core.jobcard.domain.enums.JobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Compact result of a job card status transition")
+public class JobCardTransitionResult {
+
+    @Schema(description = "Job card ID", example = "1")
+    private Long jobCardId;
+
+    @Schema(description = "Unique job number", example = "JC-2025-001")
+    private String jobNumber;
+
+    @Schema(description = "Status before the transition; absent for a replayed request", example = "ASSIGNED")
+    private JobStatus previousStatus;
+
+    @Schema(description = "Current status", example = "IN_PROGRESS")
+    private JobStatus status;
+
+    @Schema(description = "Optimistic locking version after the transition", example = "4")
+    private Long version;
+
+    @Schema(description = "True if the idempotency key was already used and nothing changed")
+    private boolean replayed;
+}
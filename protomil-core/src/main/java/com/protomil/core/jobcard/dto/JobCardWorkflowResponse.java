@@ -0,0 +1,68 @@
+package com.protomil.core.jobcard.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.protomil.core.jobcard.domain.enums.JobStatus;
+import com.protomil.core.workflow.domain.StepType;
+import com.protomil.core.workflow.dto.WorkflowInstanceResponse;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "The workflow a job card follows and the steps open to it from its current status")
+public class JobCardWorkflowResponse {
+
+    @Schema(description = "Job card ID", example = "1")
+    private Long jobCardId;
+
+    @Schema(description = "Unique job number", example = "JC-2025-001")
+    private String jobNumber;
+
+    @Schema(description = "Current status", example = "PENDING_REVIEW")
+    private JobStatus status;
+
+    @Schema(description = "Workflow ID; absent while the built-in lifecycle applies")
+    private UUID workflowId;
+
+    @Schema(description = "Workflow name", example = "Standard Job Card Lifecycle")
+    private String workflowName;
+
+    @Schema(description = "Steps the workflow allows from the current status")
+    private List<NextStep> nextSteps;
+
+    @Schema(description = "Workflow instance; absent until the card takes its first workflow step")
+    private WorkflowInstanceResponse instance;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class NextStep {
+
+        private Integer stepNumber;
+
+        private String stepName;
+
+        private StepType stepType;
+
+        private JobStatus toStatus;
+
+        private String requiredRole;
+
+        @Schema(description = "Whether the current user may take the step")
+        private boolean permitted;
+
+        @Schema(description = "Statuses the engine moves on to by itself after this step")
+        private List<JobStatus> autoApprovedTo;
+    }
+}
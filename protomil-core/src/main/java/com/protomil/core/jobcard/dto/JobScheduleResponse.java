@@ -0,0 +1,99 @@
+package com.protomil.core.jobcard.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Proposed machine and operator sequence for the READY job card backlog")
+public class JobScheduleResponse {
+
+    @Schema(description = "When the schedule was last fully recomputed")
+    private LocalDateTime computedAt;
+
+    @Schema(description = "Start of the planning horizon")
+    private LocalDateTime horizonStart;
+
+    @Schema(description = "Number of READY job cards placed on a machine", example = "9870")
+    private int scheduledCount;
+
+    @Schema(description = "Number of scheduled job cards finishing after their target completion date", example = "42")
+    private int lateCount;
+
+    @Schema(description = "Sum of lateness in minutes, weighted by priority (LOW=1 to CRITICAL=4)", example = "12840")
+    private long weightedTardinessMinutes;
+
+    @Schema(description = "Planned end of the last scheduled job card")
+    private LocalDateTime makespanEnd;
+
+    @Schema(description = "Scheduled job cards, in dispatch order")
+    private List<ScheduledJob> scheduledJobs;
+
+    @Schema(description = "Job cards no machine or operator can currently take")
+    private List<UnscheduledJob> unscheduledJobs;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ScheduledJob {
+
+        @Schema(description = "Job card ID", example = "1")
+        private Long jobCardId;
+
+        @Schema(description = "Job number", example = "JC-2025-001")
+        private String jobNumber;
+
+        @Schema(description = "Machine ID", example = "7")
+        private Long machineId;
+
+        @Schema(description = "Machine code", example = "CNC-01")
+        private String machineCode;
+
+        @Schema(description = "Position of the job card in the machine's queue, starting at 1", example = "3")
+        private int sequence;
+
+        @Schema(description = "User ID of the proposed operator")
+        private UUID operatorId;
+
+        @Schema(description = "Employee number of the proposed operator", example = "EMP-1042")
+        private String employeeNumber;
+
+        @Schema(description = "Planned start")
+        private LocalDateTime plannedStart;
+
+        @Schema(description = "Planned end; work pauses outside staffed shifts")
+        private LocalDateTime plannedEnd;
+
+        @Schema(description = "Target completion date")
+        private LocalDateTime targetCompletionDate;
+
+        @Schema(description = "Minutes past the target completion date at the planned end", example = "0")
+        private long tardinessMinutes;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class UnscheduledJob {
+
+        @Schema(description = "Job card ID", example = "1")
+        private Long jobCardId;
+
+        @Schema(description = "Job number", example = "JC-2025-001")
+        private String jobNumber;
+
+        @Schema(description = "Why the job card could not be scheduled", example = "No operator holds the required skills")
+        private String reason;
+    }
+}
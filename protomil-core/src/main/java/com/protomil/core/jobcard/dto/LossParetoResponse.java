@@ -0,0 +1,38 @@
+package com.protomil.core.jobcard.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "One loss category in a Pareto breakdown, largest first")
+public class LossParetoResponse {
+
+    @Schema(description = "Loss category code", example = "BREAKDOWN")
+    private String categoryCode;
+
+    @Schema(description = "Loss category name", example = "Machine Breakdown")
+    private String categoryName;
+
+    @Schema(description = "Display colour of the category", example = "#F44336")
+    private String colorCode;
+
+    @Schema(description = "Loss time in minutes")
+    private Long lossMinutes;
+
+    @Schema(description = "Number of recorded losses")
+    private Long occurrenceCount;
+
+    @Schema(description = "Share of total loss time", example = "38.20")
+    private BigDecimal percentage;
+
+    @Schema(description = "Cumulative share of total loss time up to this category", example = "61.75")
+    private BigDecimal cumulativePercentage;
+}
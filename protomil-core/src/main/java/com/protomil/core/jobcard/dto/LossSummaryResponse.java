@@ -0,0 +1,24 @@
+package com.protomil.core.jobcard.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Loss time total for one machine or shift")
+public class LossSummaryResponse {
+
+    @Schema(description = "Grouping key (machine code or shift)", example = "CNC-01")
+    private String key;
+
+    @Schema(description = "Loss time in minutes")
+    private Long lossMinutes;
+
+    @Schema(description = "Number of recorded losses")
+    private Long occurrenceCount;
+}
@@ -0,0 +1,62 @@
+package com.protomil.core.jobcard.dto;
+
+import com.protomil.core.jobcard.capacity.MachineCapacityCalendar.BookingSource;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Whether a machine is free in a time window, with the bookings in that window")
+public class MachineAvailabilityResponse {
+
+    @Schema(description = "Machine ID", example = "7")
+    private Long machineId;
+
+    @Schema(description = "Machine code", example = "CNC-01")
+    private String machineCode;
+
+    @Schema(description = "Section code", example = "MACH")
+    private String sectionCode;
+
+    @Schema(description = "Whether the machine status allows it to take work", example = "true")
+    private boolean inService;
+
+    @Schema(description = "Start of the window")
+    private LocalDateTime from;
+
+    @Schema(description = "End of the window (exclusive)")
+    private LocalDateTime to;
+
+    @Schema(description = "Whether the machine is in service and nothing is booked in the window", example = "false")
+    private boolean free;
+
+    @Schema(description = "Bookings overlapping the window, in start order")
+    private List<BookingInfo> bookings;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BookingInfo {
+
+        @Schema(description = "What the booking comes from", example = "ASSIGNMENT")
+        private BookingSource source;
+
+        @Schema(description = "Job number, or equipment number and maintenance type", example = "JC-2025-001")
+        private String reference;
+
+        @Schema(description = "Booking start")
+        private LocalDateTime start;
+
+        @Schema(description = "Booking end (exclusive)")
+        private LocalDateTime end;
+    }
+}
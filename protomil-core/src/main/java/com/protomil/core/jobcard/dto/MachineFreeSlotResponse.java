@@ -0,0 +1,32 @@
+package com.protomil.core.jobcard.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Earliest free slot of a requested length on a machine")
+public class MachineFreeSlotResponse {
+
+    @Schema(description = "Machine ID", example = "7")
+    private Long machineId;
+
+    @Schema(description = "Machine code", example = "CNC-01")
+    private String machineCode;
+
+    @Schema(description = "Section code", example = "MACH")
+    private String sectionCode;
+
+    @Schema(description = "Start of the free slot")
+    private LocalDateTime slotStart;
+
+    @Schema(description = "Where the next booking begins; null when the machine stays free")
+    private LocalDateTime slotEnd;
+}
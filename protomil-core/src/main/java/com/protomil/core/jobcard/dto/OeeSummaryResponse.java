@@ -0,0 +1,50 @@
+package com.protomil.core.jobcard.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Overall equipment effectiveness for one grouping key")
+public class OeeSummaryResponse {
+
+    @Schema(description = "Grouping key (machine code, section code, shift or date)", example = "CNC-01")
+    private String key;
+
+    @Schema(description = "Number of production records in the bucket", example = "42")
+    private Long recordCount;
+
+    @Schema(description = "Planned production time in minutes (available time minus breaks)")
+    private Long plannedMinutes;
+
+    @Schema(description = "Recorded loss time in minutes")
+    private Long lossMinutes;
+
+    @Schema(description = "Run time in minutes")
+    private Long runMinutes;
+
+    @Schema(description = "Produced quantity")
+    private Long productionQuantity;
+
+    @Schema(description = "Rejected quantity (in-process and final stage)")
+    private Long rejectionQuantity;
+
+    @Schema(description = "Availability percentage (run time / planned time)", example = "87.50")
+    private BigDecimal availabilityPercentage;
+
+    @Schema(description = "Performance percentage (ideal run time / run time)", example = "92.10")
+    private BigDecimal performancePercentage;
+
+    @Schema(description = "Quality percentage (good quantity / produced quantity)", example = "98.40")
+    private BigDecimal qualityPercentage;
+
+    @Schema(description = "OEE percentage (availability x performance x quality)", example = "79.30")
+    private BigDecimal oeePercentage;
+}
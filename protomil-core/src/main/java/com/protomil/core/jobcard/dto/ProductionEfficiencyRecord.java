@@ -0,0 +1,61 @@
+package com.protomil.core.jobcard.dto;
+
+import com.protomil.core.jobcard.domain.enums.Shift;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Production record with its efficiency, loss and rejection figures")
+public class ProductionEfficiencyRecord {
+
+    @Schema(description = "Production record ID", example = "1")
+    private Long id;
+
+    @Schema(description = "Job card ID", example = "1")
+    private Long jobCardId;
+
+    @Schema(description = "Job number", example = "JC-2025-001")
+    private String jobNumber;
+
+    @Schema(description = "Machine code", example = "CNC-01")
+    private String machineCode;
+
+    @Schema(description = "Part number", example = "PN-1001")
+    private String partNumber;
+
+    @Schema(description = "Shift", example = "MORNING")
+    private Shift shift;
+
+    @Schema(description = "Entry date", example = "2025-01-15")
+    private LocalDate entryDate;
+
+    @Schema(description = "Produced quantity")
+    private Integer productionQuantity;
+
+    @Schema(description = "Total available time in minutes")
+    private Integer totalTimeAvailableMinutes;
+
+    @Schema(description = "Net available time in minutes")
+    private Integer netTimeAvailableMinutes;
+
+    @Schema(description = "Operator efficiency percentage", example = "91.20")
+    private BigDecimal operatorEfficiencyPercentage;
+
+    @Schema(description = "Equipment efficiency percentage", example = "84.60")
+    private BigDecimal equipmentEfficiencyPercentage;
+
+    @Schema(description = "Total loss time in minutes")
+    private Integer totalLossTimeMinutes;
+
+    @Schema(description = "Total rejected quantity")
+    private Integer totalRejectionQuantity;
+}
@@ -0,0 +1,38 @@
+package com.protomil.core.jobcard.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Production efficiency and rejection KPIs for one grouping key")
+public class ProductionKpiResponse {
+
+    @Schema(description = "Grouping key (machine code, part number, employee number, shift or date)", example = "CNC-01")
+    private String key;
+
+    @Schema(description = "Number of production records in the group", example = "42")
+    private Long recordCount;
+
+    @Schema(description = "Produced quantity")
+    private Long productionQuantity;
+
+    @Schema(description = "Rejected quantity (in-process and final stage)")
+    private Long rejectionQuantity;
+
+    @Schema(description = "Rejected quantity as a percentage of produced quantity", example = "1.75")
+    private BigDecimal rejectionRatePercentage;
+
+    @Schema(description = "Average operator efficiency percentage", example = "91.20")
+    private BigDecimal averageOperatorEfficiencyPercentage;
+
+    @Schema(description = "Average equipment efficiency percentage", example = "84.60")
+    private BigDecimal averageEquipmentEfficiencyPercentage;
+}
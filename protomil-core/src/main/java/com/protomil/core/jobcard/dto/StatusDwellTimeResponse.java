@@ -0,0 +1,40 @@
+package com.protomil.core.jobcard.dto;
+
+import com.protomil.core.jobcard.domain.enums.JobStatus;
+import com.protomil.core.jobcard.domain.enums.StatusDwellGrouping;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Time job cards spent in one status, for one template or machine")
+public class StatusDwellTimeResponse {
+
+    @Schema(description = "What groupId refers to", example = "TEMPLATE")
+    private StatusDwellGrouping grouping;
+
+    @Schema(description = "Template or machine ID; null for job cards without one", example = "3")
+    private Long groupId;
+
+    @Schema(description = "Status the job cards were in", example = "ASSIGNED")
+    private JobStatus status;
+
+    @Schema(description = "Number of transitions out of the status")
+    private Long transitions;
+
+    @Schema(description = "Average time in the status, in minutes", example = "42.50")
+    private BigDecimal averageMinutes;
+
+    @Schema(description = "90th percentile time in the status, in minutes", example = "120.00")
+    private BigDecimal p90Minutes;
+
+    @Schema(description = "Longest time in the status, in minutes", example = "480.00")
+    private BigDecimal maxMinutes;
+}
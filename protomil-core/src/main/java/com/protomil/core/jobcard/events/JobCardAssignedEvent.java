@@ -2,22 +2,29 @@ package com.protomil.core.jobcard.events;
 
 import com.protomil.core.jobcard.domain.JobCard;
 import com.protomil.core.jobcard.domain.Machine;
-import lombok.Getter;
-import org.springframework.context.ApplicationEvent;
 
+import java.time.Instant;
 import java.util.UUID;
 
-@Getter
-public class JobCardAssignedEvent extends ApplicationEvent {
+public record JobCardAssignedEvent(
+        Long jobCardId,
+        String jobNumber,
+        UUID assignedUserId,
+        Long machineId,
+        String machineCode,
+        String sectionCode,
+        Instant occurredAt
+) implements JobCardDomainEvent {
 
-    private final JobCard jobCard;
-    private final UUID assignedUserId;
-    private final Machine machine;
-
-    public JobCardAssignedEvent(Object source, JobCard jobCard, UUID assignedUserId, Machine machine) {
-        super(source);
-        this.jobCard = jobCard;
-        this.assignedUserId = assignedUserId;
-        this.machine = machine;
+    public static JobCardAssignedEvent of(JobCard jobCard, UUID assignedUserId, Machine machine) {
+        return new JobCardAssignedEvent(
+                jobCard.getId(),
+                jobCard.getJobNumber(),
+                assignedUserId,
+                machine != null ? machine.getId() : null,
+                machine != null ? machine.getMachineCode() : null,
+                machine != null ? machine.getSectionCode() : null,
+                Instant.now()
+        );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+package com.protomil.core.jobcard.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The job card changes of one bulk-operation chunk, published as a single event so a batch of
+ * thousands of cards costs one outbox publication per listener rather than one per card.
+ */
+public record JobCardBatchEvent(
+        List<JobCardCreatedEvent> created,
+        List<JobCardAssignedEvent> assigned,
+        List<JobCardStatusChangedEvent> statusChanges,
+        List<JobCardCompletedEvent> completed,
+        Instant occurredAt
+) {
+
+    public static JobCardBatchEvent ofCreated(List<JobCardCreatedEvent> created) {
+        return new JobCardBatchEvent(created, List.of(), List.of(), List.of(), Instant.now());
+    }
+
+    public static JobCardBatchEvent ofAssigned(List<JobCardAssignedEvent> assigned,
+                                               List<JobCardStatusChangedEvent> statusChanges) {
+        return new JobCardBatchEvent(List.of(), assigned, statusChanges, List.of(), Instant.now());
+    }
+
+    public static JobCardBatchEvent ofStatusChanges(List<JobCardStatusChangedEvent> statusChanges,
+                                                    List<JobCardCompletedEvent> completed) {
+        return new JobCardBatchEvent(List.of(), List.of(), statusChanges, completed, Instant.now());
+    }
+
+    public int size() {
+        return created.size() + assigned.size() + statusChanges.size() + completed.size();
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
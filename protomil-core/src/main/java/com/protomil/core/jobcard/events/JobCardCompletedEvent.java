@@ -1,16 +1,27 @@
 package com.protomil.core.jobcard.events;
 
 import com.protomil.core.jobcard.domain.JobCard;
-import lombok.Getter;
-import org.springframework.context.ApplicationEvent;
 
-@Getter
-public class JobCardCompletedEvent extends ApplicationEvent {
+import java.time.Instant;
+import java.util.UUID;
 
-    private final JobCard jobCard;
+public record JobCardCompletedEvent(
+        Long jobCardId,
+        String jobNumber,
+        UUID assignedTo,
+        Integer estimatedDurationMinutes,
+        Integer actualDurationMinutes,
+        Instant occurredAt
+) implements JobCardDomainEvent {
 
-    public JobCardCompletedEvent(Object source, JobCard jobCard) {
-        super(source);
-        this.jobCard = jobCard;
+    public static JobCardCompletedEvent of(JobCard jobCard) {
+        return new JobCardCompletedEvent(
+                jobCard.getId(),
+                jobCard.getJobNumber(),
+                jobCard.getAssignedTo(),
+                jobCard.getEstimatedDurationMinutes(),
+                jobCard.getActualDurationMinutes(),
+                Instant.now()
+        );
     }
-}
\ No newline at end of file
+}
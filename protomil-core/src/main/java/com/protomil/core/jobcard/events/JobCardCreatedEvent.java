@@ -1,16 +1,33 @@
 package com.protomil.core.jobcard.events;
 
 import com.protomil.core.jobcard.domain.JobCard;
-import lombok.Getter;
-import org.springframework.context.ApplicationEvent;
+import com.protomil.core.jobcard.domain.enums.Priority;
 
-@Getter
-public class JobCardCreatedEvent extends ApplicationEvent {
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
 
-    private final JobCard jobCard;
+public record JobCardCreatedEvent(
+        Long jobCardId,
+        String jobNumber,
+        String title,
+        Priority priority,
+        Long templateId,
+        LocalDateTime targetCompletionDate,
+        UUID createdBy,
+        Instant occurredAt
+) implements JobCardDomainEvent {
 
-    public JobCardCreatedEvent(Object source, JobCard jobCard) {
-        super(source);
-        this.jobCard = jobCard;
+    public static JobCardCreatedEvent of(JobCard jobCard) {
+        return new JobCardCreatedEvent(
+                jobCard.getId(),
+                jobCard.getJobNumber(),
+                jobCard.getTitle(),
+                jobCard.getPriority(),
+                jobCard.getTemplate() != null ? jobCard.getTemplate().getId() : null,
+                jobCard.getTargetCompletionDate(),
+                jobCard.getCreatedBy(),
+                Instant.now()
+        );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package com.protomil.core.jobcard.events;
+
+import java.time.Instant;
+
+/**
+ * Compact, immutable job card event payload. These are persisted to the event_publication outbox
+ * by Spring Modulith, so they carry identifiers and scalar values only, never entities.
+ */
+public interface JobCardDomainEvent {
+
+    Long jobCardId();
+
+    String jobNumber();
+
+    Instant occurredAt();
+}
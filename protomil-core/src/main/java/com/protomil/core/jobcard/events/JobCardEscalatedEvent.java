@@ -0,0 +1,41 @@
+package com.protomil.core.jobcard.events;
+
+import com.protomil.core.jobcard.domain.JobCard;
+import com.protomil.core.jobcard.domain.enums.EscalationType;
+import com.protomil.core.jobcard.domain.enums.JobStatus;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A job card went past a deadline without moving on: its target completion date, the assignment
+ * timeout or the review timeout.
+ *
+ * @param openInstructions work instructions not yet completed, for overdue escalations; 0 otherwise
+ */
+public record JobCardEscalatedEvent(
+        Long jobCardId,
+        String jobNumber,
+        EscalationType escalationType,
+        JobStatus status,
+        UUID assignedTo,
+        LocalDateTime dueAt,
+        long openInstructions,
+        Instant occurredAt
+) implements JobCardDomainEvent {
+
+    public static JobCardEscalatedEvent of(JobCard jobCard, EscalationType escalationType, LocalDateTime dueAt,
+                                           long openInstructions) {
+        return new JobCardEscalatedEvent(
+                jobCard.getId(),
+                jobCard.getJobNumber(),
+                escalationType,
+                jobCard.getStatus(),
+                jobCard.getAssignedTo(),
+                dueAt,
+                openInstructions,
+                Instant.now()
+        );
+    }
+}
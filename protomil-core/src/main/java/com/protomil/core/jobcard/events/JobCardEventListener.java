@@ -1,63 +1,106 @@
 package com.protomil.core.jobcard.listeners;
 
 import com.protomil.core.jobcard.events.JobCardAssignedEvent;
+import com.protomil.core.jobcard.events.JobCardBatchEvent;
 import com.protomil.core.jobcard.events.JobCardCompletedEvent;
 import com.protomil.core.jobcard.events.JobCardCreatedEvent;
+import com.protomil.core.jobcard.events.JobCardEscalatedEvent;
 import com.protomil.core.jobcard.events.JobCardStatusChangedEvent;
+import com.protomil.core.shared.async.AsyncExecutors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+/**
+ * Job card event handlers. Each handler is a transactional listener, so Spring Modulith records a
+ * publication in event_publication when the event is published and marks it complete only after the
+ * handler succeeds; failed or interrupted deliveries are retried by the outbox dispatcher.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JobCardEventListener {
 
-    @EventListener
-    @Async
+    @TransactionalEventListener
+    @Async(AsyncExecutors.JOB_CARD_EVENTS)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void handleJobCardCreated(JobCardCreatedEvent event) {
         log.info("Job card created: {} - {}",
-                event.getJobCard().getJobNumber(),
-                event.getJobCard().getTitle());
+                event.jobNumber(),
+                event.title());
 
         // Add notification logic here
-        // sendNotificationToSupervisors(event.getJobCard());
+        // sendNotificationToSupervisors(event.jobCardId());
     }
 
-    @EventListener
-    @Async
+    @TransactionalEventListener
+    @Async(AsyncExecutors.JOB_CARD_EVENTS)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void handleJobCardAssigned(JobCardAssignedEvent event) {
         log.info("Job card assigned: {} assigned to user ID: {}",
-                event.getJobCard().getJobNumber(),
-                event.getAssignedUserId());
+                event.jobNumber(),
+                event.assignedUserId());
 
         // Add notification logic here
-        // sendNotificationToAssignee(event.getJobCard(), event.getAssignedUserId());
+        // sendNotificationToAssignee(event.jobCardId(), event.assignedUserId());
     }
 
-    @EventListener
-    @Async
+    @TransactionalEventListener
+    @Async(AsyncExecutors.JOB_CARD_EVENTS)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void handleJobCardStatusChanged(JobCardStatusChangedEvent event) {
         log.info("Job card status changed: {} from {} to {}",
-                event.getJobCard().getJobNumber(),
-                event.getPreviousStatus(),
-                event.getNewStatus());
+                event.jobNumber(),
+                event.previousStatus(),
+                event.newStatus());
 
         // Add notification and business logic here
-        // updateRelatedSystems(event.getJobCard(), event.getNewStatus());
+        // updateRelatedSystems(event.jobCardId(), event.newStatus());
     }
 
-    @EventListener
-    @Async
+    @TransactionalEventListener
+    @Async(AsyncExecutors.JOB_CARD_EVENTS)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void handleJobCardCompleted(JobCardCompletedEvent event) {
         log.info("Job card completed: {} - Duration: {} minutes",
-                event.getJobCard().getJobNumber(),
-                event.getJobCard().getActualDurationMinutes());
+                event.jobNumber(),
+                event.actualDurationMinutes());
 
         // Add completion processing logic here
-        // processCompletionMetrics(event.getJobCard());
-        // triggerProductionDataCapture(event.getJobCard());
+        // processCompletionMetrics(event.jobCardId());
+        // triggerProductionDataCapture(event.jobCardId());
     }
-}
\ No newline at end of file
+
+    @TransactionalEventListener
+    @Async(AsyncExecutors.JOB_CARD_EVENTS)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void handleJobCardEscalated(JobCardEscalatedEvent event) {
+        log.info("Job card escalated: {} - {} (due {})",
+                event.jobNumber(),
+                event.escalationType(),
+                event.dueAt());
+
+        // Add escalation notification logic here
+        // notifySupervisors(event.jobCardId(), event.escalationType());
+    }
+
+    @TransactionalEventListener
+    @Async(AsyncExecutors.JOB_CARD_EVENTS)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void handleJobCardBatch(JobCardBatchEvent event) {
+        log.info("Job card batch: {} created, {} assigned, {} status changes, {} completed",
+                event.created().size(),
+                event.assigned().size(),
+                event.statusChanges().size(),
+                event.completed().size());
+
+        event.created().forEach(this::handleJobCardCreated);
+        event.assigned().forEach(this::handleJobCardAssigned);
+        event.statusChanges().forEach(this::handleJobCardStatusChanged);
+        event.completed().forEach(this::handleJobCardCompleted);
+    }
+}
@@ -2,20 +2,30 @@ package com.protomil.core.jobcard.events;
 
 import com.protomil.core.jobcard.domain.JobCard;
 import com.protomil.core.jobcard.domain.enums.JobStatus;
-import lombok.Getter;
-import org.springframework.context.ApplicationEvent;
 
-@Getter
-public class JobCardStatusChangedEvent extends ApplicationEvent {
+import java.time.Instant;
+import java.util.UUID;
 
-    private final JobCard jobCard;
-    private final JobStatus previousStatus;
-    private final JobStatus newStatus;
+public record JobCardStatusChangedEvent(
+        Long jobCardId,
+        String jobNumber,
+        JobStatus previousStatus,
+        JobStatus newStatus,
+        UUID changedBy,
+        String reason,
+        Instant occurredAt
+) implements JobCardDomainEvent {
 
-    public JobCardStatusChangedEvent(Object source, JobCard jobCard, JobStatus previousStatus, JobStatus newStatus) {
-        super(source);
-        this.jobCard = jobCard;
-        this.previousStatus = previousStatus;
-        this.newStatus = newStatus;
+    public static JobCardStatusChangedEvent of(JobCard jobCard, JobStatus previousStatus, JobStatus newStatus,
+                                               UUID changedBy, String reason) {
+        return new JobCardStatusChangedEvent(
+                jobCard.getId(),
+                jobCard.getJobNumber(),
+                previousStatus,
+                newStatus,
+                changedBy,
+                reason,
+                Instant.now()
+        );
     }
-}
\ No newline at end of file
+}
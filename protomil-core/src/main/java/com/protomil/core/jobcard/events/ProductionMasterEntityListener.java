@@ -0,0 +1,40 @@
+package com.protomil.core.jobcard.events;
+
+import com.protomil.core.jobcard.analytics.ProductionFact;
+import com.protomil.core.jobcard.domain.ProductionMaster;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that announces production record writes so in-memory analytics can follow them.
+ * Instantiated through Spring's bean container, hence the constructor injection.
+ * <p>
+ * Hooked to the entity rather than a service so that every JPA write is seen, including records saved
+ * or removed through the job card cascade. The callbacks run during the flush, possibly more than once
+ * for a record written repeatedly in one transaction; listeners therefore treat the event as "this
+ * record now looks like this" and defer their work with {@code AfterCommit}, so a rolled-back write is
+ * never applied.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductionMasterEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(ProductionMaster productionMaster) {
+        eventPublisher.publishEvent(
+                new ProductionRecordChangedEvent(ProductionFact.from(productionMaster), false));
+    }
+
+    @PostRemove
+    public void onRemoved(ProductionMaster productionMaster) {
+        eventPublisher.publishEvent(
+                new ProductionRecordChangedEvent(ProductionFact.from(productionMaster), true));
+    }
+}
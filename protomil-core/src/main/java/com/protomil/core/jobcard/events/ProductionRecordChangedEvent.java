@@ -0,0 +1,10 @@
+package com.protomil.core.jobcard.events;
+
+import com.protomil.core.jobcard.analytics.ProductionFact;
+
+/**
+ * Published from the production_master entity listener for every JPA write, inside the writing
+ * transaction. A record, like the job card events, so it can be stored in the event_publication outbox.
+ */
+public record ProductionRecordChangedEvent(ProductionFact fact, boolean removed) {
+}
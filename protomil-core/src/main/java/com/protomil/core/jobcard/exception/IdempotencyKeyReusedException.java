@@ -0,0 +1,15 @@
+package com.protomil.core.jobcard.exception;
+
+import com.protomil.core.shared.exception.BaseException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * An Idempotency-Key already claimed for a different request: another job card, operation or user.
+ * Not retryable with the same key.
+ */
+public class IdempotencyKeyReusedException extends BaseException {
+
+    public IdempotencyKeyReusedException(String message) {
+        super(message, HttpStatus.UNPROCESSABLE_ENTITY, "IDEMPOTENCY_KEY_REUSED");
+    }
+}
@@ -2,6 +2,7 @@ package com.protomil.core.jobcard.mapper;
 
 import com.protomil.core.jobcard.domain.JobCard;
 import com.protomil.core.jobcard.domain.JobCardAssignment;
+import com.protomil.core.jobcard.domain.JobCardSummaryView;
 import com.protomil.core.jobcard.domain.Machine;
 import com.protomil.core.jobcard.domain.WorkInstruction;
 import com.protomil.core.jobcard.dto.JobCardResponse;
@@ -26,6 +27,7 @@ public class JobCardMapper {
                 .description(jobCard.getDescription())
                 .status(jobCard.getStatus())
                 .priority(jobCard.getPriority())
+                .version(jobCard.getVersion())
                 .template(mapTemplate(jobCard))
                 .assignment(mapAssignment(jobCard))
                 .timing(mapTiming(jobCard))
@@ -63,6 +65,31 @@ public class JobCardMapper {
                 .build();
     }
 
+    public JobCardSummary toSummary(JobCardSummaryView view) {
+        if (view == null) return null;
+
+        return JobCardSummary.builder()
+                .id(view.getId())
+                .jobNumber(view.getJobNumber())
+                .title(view.getTitle())
+                .status(view.getStatus())
+                .priority(view.getPriority())
+                .templateName(view.getTemplateName())
+                .templateCategory(view.getTemplateCategory())
+                .estimatedDurationMinutes(view.getEstimatedDurationMinutes())
+                .actualDurationMinutes(view.getActualDurationMinutes())
+                .targetCompletionDate(view.getTargetCompletionDate())
+                .startedAt(view.getStartedAt())
+                .completedAt(view.getCompletedAt())
+                .progressPercentage(view.getCompletionPercentage() != null ? view.getCompletionPercentage().doubleValue() : 0.0)
+                .isOverdue(view.getTargetCompletionDate() != null
+                        && !view.getStatus().isFinalStatus()
+                        && LocalDateTime.now().isAfter(view.getTargetCompletionDate()))
+                .totalInstructions(view.getTotalWorkInstructions() != null ? view.getTotalWorkInstructions().intValue() : 0)
+                .completedInstructions(view.getCompletedInstructions() != null ? view.getCompletedInstructions().intValue() : 0)
+                .build();
+    }
+
     private JobCardResponse.TemplateInfo mapTemplate(JobCard jobCard) {
         if (jobCard.getTemplate() == null) return null;
 
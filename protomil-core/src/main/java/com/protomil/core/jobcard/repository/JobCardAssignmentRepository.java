@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,8 +21,14 @@ public interface JobCardAssignmentRepository extends JpaRepository<JobCardAssign
 
     Optional<JobCardAssignment> findByJobCardIdAndIsActiveTrue(Long jobCardId);
 
+    List<JobCardAssignment> findByJobCardIdInAndIsActiveTrue(Collection<Long> jobCardIds);
+
     List<JobCardAssignment> findByAssignedByAndAssignedAtBetween(UUID assignedBy, LocalDateTime startDate, LocalDateTime endDate);
 
+    @Query("SELECT jca.assignedTo, m.machineCode, m.sectionCode FROM JobCardAssignment jca " +
+            "LEFT JOIN jca.machine m WHERE jca.jobCard.id = :jobCardId AND jca.isActive = true")
+    List<Object[]> findActiveAssignmentContext(@Param("jobCardId") Long jobCardId);
+
     @Query("SELECT COUNT(jca) FROM JobCardAssignment jca WHERE jca.assignedTo = :userId AND jca.isActive = true")
     Long countActiveAssignmentsByUser(@Param("userId") UUID userId);
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.protomil.core.jobcard.repository;
+
+import com.protomil.core.jobcard.domain.JobCardIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface JobCardIdempotencyKeyRepository extends JpaRepository<JobCardIdempotencyKey, String> {
+
+    /**
+     * Claims a key, returning 0 if it is already taken. A concurrent uncommitted claim of the same key
+     * blocks this insert until that transaction finishes.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO job_card_idempotency_keys (idempotency_key, job_card_id, operation, created_by, created_at) " +
+            "VALUES (:key, :jobCardId, :operation, :createdBy, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (idempotency_key) DO NOTHING", nativeQuery = true)
+    int claim(@Param("key") String key,
+              @Param("jobCardId") Long jobCardId,
+              @Param("operation") String operation,
+              @Param("createdBy") UUID createdBy);
+
+    @Modifying
+    @Query("DELETE FROM JobCardIdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
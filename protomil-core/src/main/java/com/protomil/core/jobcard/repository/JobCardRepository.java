@@ -3,11 +3,13 @@ package com.protomil.core.jobcard.repository;
 import com.protomil.core.jobcard.domain.JobCard;
 import com.protomil.core.jobcard.domain.enums.JobStatus;
 import com.protomil.core.jobcard.domain.enums.Priority;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -15,6 +17,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface JobCardRepository extends JpaRepository<JobCard, Long>, JpaSpecificationExecutor<JobCard> {
@@ -45,6 +51,13 @@ public interface JobCardRepository extends JpaRepository<JobCard, Long>, JpaSpec
 
     List<JobCard> findByTargetCompletionDateBetween(LocalDateTime startDate, LocalDateTime endDate);
 
+    // Forward-only cursor for exports; must be consumed inside a read-only transaction
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<JobCard> streamByCreatedAtBetweenOrderByCreatedAtAscIdAsc(LocalDateTime startDate, LocalDateTime endDate);
+
     // Template-based queries
     List<JobCard> findByTemplateId(Long templateId);
 
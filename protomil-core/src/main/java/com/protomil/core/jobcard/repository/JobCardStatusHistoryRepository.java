@@ -0,0 +1,156 @@
+package com.protomil.core.jobcard.repository;
+
+import com.protomil.core.jobcard.domain.enums.JobStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Batched writes and analytics reads of the partitioned job_card_status_history table. Analytics reads
+ * are bounded on changed_at so the planner prunes to the partitions in range.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobCardStatusHistoryRepository {
+
+    public record HistoryEntry(
+            Long jobCardId,
+            JobStatus fromStatus,
+            JobStatus toStatus,
+            UUID changedBy,
+            String changeReason,
+            LocalDateTime changedAt,
+            Long durationInPreviousStatusSeconds,
+            Long templateId,
+            Long machineId
+    ) {
+    }
+
+    /** When each job card entered its current status (as of {@code before}), with its template and machine. */
+    public record StatusContext(Long jobCardId, LocalDateTime statusSince, Long templateId, Long machineId) {
+    }
+
+    public record DwellTime(Long groupId, JobStatus status, long transitions, double averageSeconds,
+                            double p90Seconds, long maxSeconds) {
+    }
+
+    private static final String INSERT_SQL = """
+            INSERT INTO job_card_status_history
+                (job_card_id, from_status, to_status, changed_by, change_reason, changed_at,
+                 duration_in_previous_status_seconds, template_id, machine_id)
+            VALUES (:jobCardId, :fromStatus, :toStatus, :changedBy, :changeReason, :changedAt,
+                    :duration, :templateId, :machineId)
+            ON CONFLICT DO NOTHING
+            """;
+
+    // One index probe per partition on (job_card_id, changed_at DESC); cards without history fall back to
+    // their creation time
+    private static final String CONTEXT_SQL = """
+            SELECT jc.id, COALESCE(h.changed_at, jc.created_at) AS status_since, jc.template_id, a.machine_id
+            FROM job_cards jc
+            LEFT JOIN LATERAL (
+                SELECT changed_at
+                FROM job_card_status_history
+                WHERE job_card_id = jc.id AND changed_at < :before
+                ORDER BY changed_at DESC
+                LIMIT 1
+            ) h ON TRUE
+            LEFT JOIN LATERAL (
+                SELECT machine_id
+                FROM job_card_assignments
+                WHERE job_card_id = jc.id AND is_active = TRUE
+                LIMIT 1
+            ) a ON TRUE
+            WHERE jc.id IN (:ids)
+            """;
+
+    private static final String DWELL_SQL_TEMPLATE = """
+            SELECT %1$s AS group_id, from_status,
+                   COUNT(*) AS transitions,
+                   AVG(duration_in_previous_status_seconds) AS avg_seconds,
+                   PERCENTILE_CONT(0.9) WITHIN GROUP (ORDER BY duration_in_previous_status_seconds) AS p90_seconds,
+                   MAX(duration_in_previous_status_seconds) AS max_seconds
+            FROM job_card_status_history
+            WHERE changed_at >= :from AND changed_at < :to
+              AND from_status IS NOT NULL
+              AND duration_in_previous_status_seconds IS NOT NULL
+            GROUP BY %1$s, from_status
+            ORDER BY avg_seconds DESC
+            """;
+
+    private static final String DWELL_BY_TEMPLATE_SQL = DWELL_SQL_TEMPLATE.formatted("template_id");
+
+    private static final String DWELL_BY_MACHINE_SQL = DWELL_SQL_TEMPLATE.formatted("machine_id");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts all entries as one JDBC batch. Entries already present (same job card, target status and
+     * timestamp, i.e. a redelivered event) are skipped.
+     */
+    public void insertAll(List<HistoryEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = entries.stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("jobCardId", entry.jobCardId())
+                        .addValue("fromStatus", entry.fromStatus() != null ? entry.fromStatus().name() : null, Types.VARCHAR)
+                        .addValue("toStatus", entry.toStatus().name(), Types.VARCHAR)
+                        .addValue("changedBy", entry.changedBy(), Types.OTHER)
+                        .addValue("changeReason", entry.changeReason(), Types.VARCHAR)
+                        .addValue("changedAt", Timestamp.valueOf(entry.changedAt()), Types.TIMESTAMP)
+                        .addValue("duration", entry.durationInPreviousStatusSeconds(), Types.BIGINT)
+                        .addValue("templateId", entry.templateId(), Types.BIGINT)
+                        .addValue("machineId", entry.machineId(), Types.BIGINT))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+
+    public List<StatusContext> findStatusContexts(Collection<Long> jobCardIds, LocalDateTime before) {
+        if (jobCardIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", jobCardIds)
+                .addValue("before", Timestamp.valueOf(before), Types.TIMESTAMP);
+        return jdbcTemplate.query(CONTEXT_SQL, params, (rs, rowNum) -> {
+            Timestamp statusSince = rs.getTimestamp("status_since");
+            return new StatusContext(
+                    rs.getLong("id"),
+                    statusSince != null ? statusSince.toLocalDateTime() : null,
+                    rs.getObject("template_id", Long.class),
+                    rs.getObject("machine_id", Long.class));
+        });
+    }
+
+    public List<DwellTime> findDwellTimeByTemplate(LocalDateTime from, LocalDateTime to) {
+        return findDwellTime(DWELL_BY_TEMPLATE_SQL, from, to);
+    }
+
+    public List<DwellTime> findDwellTimeByMachine(LocalDateTime from, LocalDateTime to) {
+        return findDwellTime(DWELL_BY_MACHINE_SQL, from, to);
+    }
+
+    private List<DwellTime> findDwellTime(String sql, LocalDateTime from, LocalDateTime to) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", Timestamp.valueOf(from), Types.TIMESTAMP)
+                .addValue("to", Timestamp.valueOf(to), Types.TIMESTAMP);
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new DwellTime(
+                rs.getObject("group_id", Long.class),
+                JobStatus.valueOf(rs.getString("from_status")),
+                rs.getLong("transitions"),
+                rs.getDouble("avg_seconds"),
+                rs.getDouble("p90_seconds"),
+                rs.getLong("max_seconds")));
+    }
+}
@@ -0,0 +1,26 @@
+package com.protomil.core.jobcard.repository;
+
+import com.protomil.core.jobcard.domain.JobCardSummaryView;
+import com.protomil.core.jobcard.domain.enums.JobStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface JobCardSummaryViewRepository extends JpaRepository<JobCardSummaryView, Long> {
+
+    Page<JobCardSummaryView> findByStatus(JobStatus status, Pageable pageable);
+
+    List<JobCardSummaryView> findByTemplateIdOrderByIdDesc(Long templateId);
+
+    @Query("SELECT v FROM JobCardSummaryView v WHERE v.actualDurationMinutes > v.estimatedDurationMinutes AND v.status = 'COMPLETED'")
+    List<JobCardSummaryView> findExceedingEstimatedTime();
+
+    // Returns [status, count]
+    @Query("SELECT v.status, COUNT(v) FROM JobCardSummaryView v GROUP BY v.status")
+    List<Object[]> countGroupedByStatus();
+}
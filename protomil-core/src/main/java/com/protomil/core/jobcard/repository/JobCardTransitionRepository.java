@@ -0,0 +1,181 @@
+package com.protomil.core.jobcard.repository;
+
+import com.protomil.core.jobcard.domain.enums.JobStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Applies job card status transitions as a single conditional UPDATE ... RETURNING. The predecessor
+ * check, the optional expected version and the timing columns are evaluated against the locked row,
+ * so concurrent transitions of the same card serialize in the database instead of racing in Java.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobCardTransitionRepository {
+
+    public record TransitionedJobCard(
+            Long id,
+            String jobNumber,
+            JobStatus previousStatus,
+            JobStatus status,
+            Long version,
+            UUID assignedTo,
+            Integer estimatedDurationMinutes,
+            Integer actualDurationMinutes
+    ) {
+    }
+
+    public record StatusSnapshot(Long id, String jobNumber, JobStatus status, Long version) {
+    }
+
+    /**
+     * A card's status with the workflow it follows: the one its instance is bound to, else its
+     * template's. Instance columns are null until the card takes its first workflow step.
+     */
+    public record WorkflowContext(
+            Long id,
+            String jobNumber,
+            JobStatus status,
+            Long version,
+            UUID templateWorkflowId,
+            UUID instanceWorkflowId,
+            Long instanceVersion
+    ) {
+    }
+
+    private static final String TRANSITION_SQL = """
+            WITH current_row AS (
+                SELECT id, status, version, assigned_to
+                FROM job_cards
+                WHERE id IN (:ids)
+                ORDER BY id
+                FOR UPDATE
+            )
+            UPDATE job_cards jc SET
+                status = :target,
+                version = jc.version + 1,
+                updated_at = :now,
+                updated_by = :changedBy,
+                started_at = CASE WHEN :target = 'IN_PROGRESS' THEN COALESCE(jc.started_at, :now) ELSE jc.started_at END,
+                completed_at = CASE WHEN :target = 'COMPLETED' THEN COALESCE(jc.completed_at, :now) ELSE jc.completed_at END,
+                actual_duration_minutes = CASE
+                    WHEN :target = 'COMPLETED' AND jc.completed_at IS NULL AND jc.started_at IS NOT NULL
+                        THEN FLOOR(EXTRACT(EPOCH FROM (:now - jc.started_at)) / 60)::INTEGER
+                    ELSE jc.actual_duration_minutes
+                END
+            FROM current_row
+            WHERE jc.id = current_row.id
+              AND current_row.status IN (:allowedFrom)
+              AND (:expectedVersion IS NULL OR current_row.version = :expectedVersion)
+              AND (NOT :requireAssignee OR current_row.assigned_to IS NOT NULL)
+            RETURNING jc.id, jc.job_number, current_row.status AS previous_status, jc.status, jc.version,
+                      jc.assigned_to, jc.estimated_duration_minutes, jc.actual_duration_minutes
+            """;
+
+    private static final String STATUS_SQL =
+            "SELECT id, job_number, status, version FROM job_cards WHERE id IN (:ids)";
+
+    private static final String WORKFLOW_CONTEXT_SQL = """
+            SELECT jc.id, jc.job_number, jc.status, jc.version, t.workflow_id AS template_workflow_id,
+                   wi.workflow_id AS instance_workflow_id, wi.version AS instance_version
+            FROM job_cards jc
+            JOIN job_card_templates t ON t.id = jc.template_id
+            LEFT JOIN workflow_instances wi ON wi.entity_type = 'JOB_CARD' AND wi.entity_id = jc.id::text
+            WHERE jc.id IN (:ids)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * @return the transitioned row, or empty if the card does not exist, is not in one of
+     * {@code allowedFrom}, has a different version than {@code expectedVersion}, or has no assignee
+     * while {@code requireAssignee} is set
+     */
+    public Optional<TransitionedJobCard> transition(Long jobCardId, Set<JobStatus> allowedFrom, JobStatus target,
+                                                    Long expectedVersion, boolean requireAssignee, UUID changedBy) {
+        return transitionAll(List.of(jobCardId), allowedFrom, target, expectedVersion, requireAssignee, changedBy)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Transitions every qualifying card in {@code jobCardIds} in one statement. Rows are locked in id
+     * order so concurrent bulk transitions over overlapping sets cannot deadlock; cards that do not
+     * qualify are simply absent from the result.
+     */
+    public List<TransitionedJobCard> transitionAll(Collection<Long> jobCardIds, Set<JobStatus> allowedFrom,
+                                                   JobStatus target, Long expectedVersion, boolean requireAssignee,
+                                                   UUID changedBy) {
+        if (jobCardIds.isEmpty() || allowedFrom.isEmpty()) {
+            return List.of();
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", jobCardIds)
+                .addValue("target", target.name(), Types.VARCHAR)
+                .addValue("allowedFrom", allowedFrom.stream().map(Enum::name).toList())
+                .addValue("expectedVersion", expectedVersion, Types.BIGINT)
+                .addValue("requireAssignee", requireAssignee, Types.BOOLEAN)
+                .addValue("changedBy", changedBy, Types.OTHER)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()), Types.TIMESTAMP);
+
+        return jdbcTemplate.query(TRANSITION_SQL, params, this::mapTransitioned);
+    }
+
+    public Optional<StatusSnapshot> findStatus(Long jobCardId) {
+        return findStatuses(List.of(jobCardId)).stream().findFirst();
+    }
+
+    public List<StatusSnapshot> findStatuses(Collection<Long> jobCardIds) {
+        if (jobCardIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(STATUS_SQL, new MapSqlParameterSource("ids", jobCardIds),
+                (rs, rowNum) -> new StatusSnapshot(
+                        rs.getLong("id"),
+                        rs.getString("job_number"),
+                        JobStatus.valueOf(rs.getString("status")),
+                        rs.getLong("version")));
+    }
+
+    public List<WorkflowContext> findWorkflowContexts(Collection<Long> jobCardIds) {
+        if (jobCardIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(WORKFLOW_CONTEXT_SQL, new MapSqlParameterSource("ids", jobCardIds),
+                (rs, rowNum) -> new WorkflowContext(
+                        rs.getLong("id"),
+                        rs.getString("job_number"),
+                        JobStatus.valueOf(rs.getString("status")),
+                        rs.getLong("version"),
+                        rs.getObject("template_workflow_id", UUID.class),
+                        rs.getObject("instance_workflow_id", UUID.class),
+                        (Long) rs.getObject("instance_version")));
+    }
+
+    private TransitionedJobCard mapTransitioned(ResultSet rs, int rowNum) throws SQLException {
+        return new TransitionedJobCard(
+                rs.getLong("id"),
+                rs.getString("job_number"),
+                JobStatus.valueOf(rs.getString("previous_status")),
+                JobStatus.valueOf(rs.getString("status")),
+                rs.getLong("version"),
+                rs.getObject("assigned_to", UUID.class),
+                (Integer) rs.getObject("estimated_duration_minutes"),
+                (Integer) rs.getObject("actual_duration_minutes")
+        );
+    }
+}
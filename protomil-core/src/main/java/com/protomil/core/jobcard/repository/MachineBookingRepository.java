@@ -0,0 +1,147 @@
+package com.protomil.core.jobcard.repository;
+
+import com.protomil.core.jobcard.capacity.MachineCapacityCalendar;
+import com.protomil.core.jobcard.capacity.MachineCapacityCalendar.Booking;
+import com.protomil.core.jobcard.capacity.MachineCapacityCalendar.BookingSource;
+import com.protomil.core.jobcard.capacity.MachineCapacityCalendar.MachineInfo;
+import com.protomil.core.jobcard.domain.enums.MachineStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Flat reads of machine bookings for the capacity calendar: active job card assignments, machine
+ * reservations in job_card_equipment, and open maintenance on equipment that belongs to a machine.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MachineBookingRepository {
+
+    private static final String MACHINES_SQL = """
+            SELECT id, machine_code, section_code, status
+            FROM machines
+            WHERE is_active = TRUE
+            """;
+
+    // A card holds its machine from the start (or from now, if not started yet) for its estimate, and
+    // at least until now while it is still open
+    private static final String ASSIGNMENT_BOOKINGS_SQL = """
+            SELECT a.machine_id, a.job_card_id, jc.job_number,
+                   b.starts_at,
+                   GREATEST(b.starts_at + make_interval(mins => COALESCE(jc.estimated_duration_minutes, :defaultMinutes)),
+                            CURRENT_TIMESTAMP) AS ends_at
+            FROM job_card_assignments a
+            JOIN job_cards jc ON jc.id = a.job_card_id
+            CROSS JOIN LATERAL (
+                SELECT COALESCE(jc.started_at, GREATEST(a.assigned_at, CURRENT_TIMESTAMP)) AS starts_at
+            ) b
+            WHERE a.is_active = TRUE AND a.machine_id IS NOT NULL AND jc.status IN ('ASSIGNED', 'IN_PROGRESS')
+            """;
+
+    // Released reservations stay in the calendar for the look-back window
+    private static final String EQUIPMENT_BOOKINGS_SQL = """
+            SELECT e.machine_id, e.job_card_id, jc.job_number,
+                   e.assigned_at AS starts_at,
+                   COALESCE(e.released_at,
+                            GREATEST(e.assigned_at + make_interval(mins => COALESCE(jc.estimated_duration_minutes, :defaultMinutes)),
+                                     CURRENT_TIMESTAMP)) AS ends_at
+            FROM job_card_equipment e
+            JOIN job_cards jc ON jc.id = e.job_card_id
+            WHERE e.assigned_at IS NOT NULL
+              AND ((e.released_at IS NULL AND jc.status NOT IN ('COMPLETED', 'CANCELLED')) OR e.released_at > :from)
+            """;
+
+    private static final String MAINTENANCE_BOOKINGS_SQL = """
+            SELECT eq.machine_id, ms.id AS schedule_id,
+                   eq.equipment_number || ' ' || ms.maintenance_type AS reference,
+                   w.starts_at,
+                   w.starts_at + make_interval(mins => COALESCE(ms.planned_duration_minutes, :defaultMaintenanceMinutes)) AS ends_at
+            FROM maintenance_schedules ms
+            JOIN equipment eq ON eq.id = ms.equipment_id
+            CROSS JOIN LATERAL (
+                SELECT COALESCE(ms.planned_start, ms.next_maintenance_date::TIMESTAMP) AS starts_at
+            ) w
+            WHERE eq.machine_id IS NOT NULL
+              AND ms.status IN ('SCHEDULED', 'IN_PROGRESS', 'OVERDUE')
+              AND w.starts_at < :until
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<MachineInfo> findActiveMachines() {
+        return jdbcTemplate.query(MACHINES_SQL, (rs, rowNum) -> new MachineInfo(
+                rs.getLong("id"),
+                rs.getString("machine_code"),
+                rs.getString("section_code"),
+                MachineStatus.ACTIVE.name().equals(rs.getString("status"))));
+    }
+
+    /** Every booking ending after {@code from} and starting before {@code until}. */
+    public List<Booking> findBookings(LocalDateTime from, LocalDateTime until, int defaultJobMinutes,
+                                      int defaultMaintenanceMinutes) {
+        MapSqlParameterSource params = params(from, until, defaultJobMinutes)
+                .addValue("defaultMaintenanceMinutes", defaultMaintenanceMinutes);
+
+        List<Booking> bookings = new ArrayList<>();
+        bookings.addAll(jdbcTemplate.query(ASSIGNMENT_BOOKINGS_SQL, params,
+                (rs, rowNum) -> mapJobCardBooking(rs, BookingSource.ASSIGNMENT)));
+        bookings.addAll(jdbcTemplate.query(EQUIPMENT_BOOKINGS_SQL, params,
+                (rs, rowNum) -> mapJobCardBooking(rs, BookingSource.EQUIPMENT)));
+        bookings.addAll(jdbcTemplate.query(MAINTENANCE_BOOKINGS_SQL, params, this::mapMaintenanceBooking));
+        return within(bookings, from, until);
+    }
+
+    /** The current bookings of one job card, e.g. after it was assigned, started or closed. */
+    public List<Booking> findJobCardBookings(long jobCardId, LocalDateTime from, LocalDateTime until,
+                                             int defaultJobMinutes) {
+        MapSqlParameterSource params = params(from, until, defaultJobMinutes).addValue("jobCardId", jobCardId);
+
+        List<Booking> bookings = new ArrayList<>();
+        bookings.addAll(jdbcTemplate.query(ASSIGNMENT_BOOKINGS_SQL + " AND a.job_card_id = :jobCardId", params,
+                (rs, rowNum) -> mapJobCardBooking(rs, BookingSource.ASSIGNMENT)));
+        bookings.addAll(jdbcTemplate.query(EQUIPMENT_BOOKINGS_SQL + " AND e.job_card_id = :jobCardId", params,
+                (rs, rowNum) -> mapJobCardBooking(rs, BookingSource.EQUIPMENT)));
+        return within(bookings, from, until);
+    }
+
+    private MapSqlParameterSource params(LocalDateTime from, LocalDateTime until, int defaultJobMinutes) {
+        return new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("until", until)
+                .addValue("defaultMinutes", defaultJobMinutes);
+    }
+
+    private List<Booking> within(List<Booking> bookings, LocalDateTime from, LocalDateTime until) {
+        return bookings.stream()
+                .filter(booking -> booking.end().isAfter(from) && booking.start().isBefore(until))
+                .toList();
+    }
+
+    private Booking mapJobCardBooking(ResultSet rs, BookingSource source) throws SQLException {
+        return new Booking(
+                rs.getLong("machine_id"),
+                MachineCapacityCalendar.jobCardOwner(rs.getLong("job_card_id")),
+                source,
+                rs.getString("job_number"),
+                rs.getTimestamp("starts_at").toLocalDateTime(),
+                rs.getTimestamp("ends_at").toLocalDateTime());
+    }
+
+    private Booking mapMaintenanceBooking(ResultSet rs, int rowNum) throws SQLException {
+        return new Booking(
+                rs.getLong("machine_id"),
+                MachineCapacityCalendar.maintenanceOwner(rs.getObject("schedule_id", UUID.class)),
+                BookingSource.MAINTENANCE,
+                rs.getString("reference"),
+                rs.getTimestamp("starts_at").toLocalDateTime(),
+                rs.getTimestamp("ends_at").toLocalDateTime());
+    }
+}
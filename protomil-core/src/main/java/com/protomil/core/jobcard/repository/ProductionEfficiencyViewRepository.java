@@ -0,0 +1,30 @@
+package com.protomil.core.jobcard.repository;
+
+import com.protomil.core.jobcard.domain.ProductionEfficiencyView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ProductionEfficiencyViewRepository extends JpaRepository<ProductionEfficiencyView, Long> {
+
+    Page<ProductionEfficiencyView> findByEntryDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    Page<ProductionEfficiencyView> findByMachineCodeAndEntryDateBetween(String machineCode, LocalDate startDate,
+                                                                        LocalDate endDate, Pageable pageable);
+
+    List<ProductionEfficiencyView> findByJobCardIdOrderByEntryDateDesc(Long jobCardId);
+
+    // Returns [machineCode, avgOperatorEfficiency, avgEquipmentEfficiency, totalLossMinutes, totalRejections]
+    @Query("SELECT v.machineCode, AVG(v.operatorEfficiencyPercentage), AVG(v.equipmentEfficiencyPercentage), " +
+            "SUM(v.totalLossTimeMinutes), SUM(v.totalRejectionQuantity) " +
+            "FROM ProductionEfficiencyView v WHERE v.entryDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY v.machineCode ORDER BY v.machineCode")
+    List<Object[]> summarizeByMachine(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
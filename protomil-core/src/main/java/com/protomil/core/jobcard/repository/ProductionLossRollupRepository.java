@@ -0,0 +1,47 @@
+package com.protomil.core.jobcard.repository;
+
+import com.protomil.core.jobcard.domain.ProductionLossRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Aggregates over the pre-computed loss buckets. Every query returns rows shaped as
+ * [key, lossMinutes, occurrenceCount], ordered by loss minutes descending.
+ */
+@Repository
+public interface ProductionLossRollupRepository extends JpaRepository<ProductionLossRollup, Long> {
+
+    @Query("SELECT r.lossCategoryId, SUM(r.lossMinutes), SUM(r.occurrenceCount) " +
+            "FROM ProductionLossRollup r WHERE r.entryDate BETWEEN :startDate AND :endDate " +
+            "AND (:machineCode IS NULL OR r.machineCode = :machineCode) " +
+            "AND (:shift IS NULL OR r.shift = :shift) " +
+            "GROUP BY r.lossCategoryId HAVING SUM(r.lossMinutes) > 0 ORDER BY SUM(r.lossMinutes) DESC")
+    List<Object[]> sumByCategory(@Param("startDate") LocalDate startDate,
+                                 @Param("endDate") LocalDate endDate,
+                                 @Param("machineCode") String machineCode,
+                                 @Param("shift") String shift);
+
+    @Query("SELECT r.machineCode, SUM(r.lossMinutes), SUM(r.occurrenceCount) " +
+            "FROM ProductionLossRollup r WHERE r.entryDate BETWEEN :startDate AND :endDate " +
+            "AND (:categoryId IS NULL OR r.lossCategoryId = :categoryId) " +
+            "GROUP BY r.machineCode HAVING SUM(r.lossMinutes) > 0 ORDER BY SUM(r.lossMinutes) DESC")
+    List<Object[]> sumByMachine(@Param("startDate") LocalDate startDate,
+                                @Param("endDate") LocalDate endDate,
+                                @Param("categoryId") Long categoryId,
+                                Pageable pageable);
+
+    @Query("SELECT r.shift, SUM(r.lossMinutes), SUM(r.occurrenceCount) " +
+            "FROM ProductionLossRollup r WHERE r.entryDate BETWEEN :startDate AND :endDate " +
+            "AND (:categoryId IS NULL OR r.lossCategoryId = :categoryId) " +
+            "GROUP BY r.shift HAVING SUM(r.lossMinutes) > 0 ORDER BY SUM(r.lossMinutes) DESC")
+    List<Object[]> sumByShift(@Param("startDate") LocalDate startDate,
+                              @Param("endDate") LocalDate endDate,
+                              @Param("categoryId") Long categoryId,
+                              Pageable pageable);
+}
@@ -2,10 +2,12 @@ package com.protomil.core.jobcard.repository;
 
 import com.protomil.core.jobcard.domain.ProductionMaster;
 import com.protomil.core.jobcard.domain.enums.Shift;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,13 +16,24 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * production_master is range-partitioned by month on entry_date (V16). Queries bounded on entry_date
+ * only touch the partitions in range; lookups without an entry_date bound probe every partition and
+ * have ranged variants for hot paths.
+ */
 @Repository
 public interface ProductionMasterRepository extends JpaRepository<ProductionMaster, Long> {
 
     // Job card based queries
     List<ProductionMaster> findByJobCardId(Long jobCardId);
 
+    List<ProductionMaster> findByJobCardIdAndEntryDateBetween(Long jobCardId, LocalDate startDate, LocalDate endDate);
+
     Optional<ProductionMaster> findByJobCardIdAndIsValidatedTrue(Long jobCardId);
 
     // Date-based queries
@@ -30,14 +43,25 @@ public interface ProductionMasterRepository extends JpaRepository<ProductionMast
 
     Page<ProductionMaster> findByEntryDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
 
+    // Forward-only cursor for exports; must be consumed inside a read-only transaction
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<ProductionMaster> streamByEntryDateBetweenOrderByEntryDateAscIdAsc(LocalDate startDate, LocalDate endDate);
+
     // Machine-based queries
     List<ProductionMaster> findByMachineCodeOrderByEntryDateDesc(String machineCode);
 
+    List<ProductionMaster> findByMachineCodeAndEntryDateGreaterThanEqualOrderByEntryDateDesc(String machineCode, LocalDate since);
+
     List<ProductionMaster> findByMachineCodeAndEntryDateBetween(String machineCode, LocalDate startDate, LocalDate endDate);
 
     // Operator-based queries
     List<ProductionMaster> findByEmployeeNumberOrderByEntryDateDesc(String employeeNumber);
 
+    List<ProductionMaster> findByEmployeeNumberAndEntryDateBetweenOrderByEntryDateDesc(String employeeNumber, LocalDate startDate, LocalDate endDate);
+
     List<ProductionMaster> findByOperatorNameContainingIgnoreCase(String operatorName);
 
     // Part-based queries
@@ -53,6 +77,8 @@ public interface ProductionMasterRepository extends JpaRepository<ProductionMast
     // Validation queries
     List<ProductionMaster> findByIsValidatedFalseOrderByEntryDateDesc();
 
+    List<ProductionMaster> findByIsValidatedFalseAndEntryDateGreaterThanEqualOrderByEntryDateDesc(LocalDate since);
+
     List<ProductionMaster> findByValidatedByAndValidatedAtBetween(Long validatedBy, LocalDateTime startDate, LocalDateTime endDate);
 
     // Efficiency queries
@@ -77,10 +103,8 @@ public interface ProductionMasterRepository extends JpaRepository<ProductionMast
     List<ProductionMaster> findRecordsWithRejections(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
     // Loss time analysis
-    @Query("SELECT pm FROM ProductionMaster pm WHERE " +
-            "(pm.lossTime1Minutes + pm.lossTime2Minutes + pm.lossTime3Minutes + pm.lossTime4Minutes + " +
-            "pm.lossTime5Minutes + pm.lossTime6Minutes + pm.lossTime7Minutes + pm.lossTime8Minutes) > :threshold " +
-            "AND pm.entryDate = :date")
+    @Query("SELECT pm FROM ProductionMaster pm WHERE pm.entryDate = :date AND pm.totalLossTimeMinutes > :threshold " +
+            "ORDER BY pm.totalLossTimeMinutes DESC")
     List<ProductionMaster> findHighLossTimeRecords(@Param("threshold") Integer threshold, @Param("date") LocalDate date);
 
     // Dashboard queries
@@ -109,6 +133,16 @@ public interface ProductionMasterRepository extends JpaRepository<ProductionMast
             "LOWER(pm.employeeNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     Page<ProductionMaster> searchProductionRecords(@Param("searchTerm") String searchTerm, Pageable pageable);
 
+    @Query("SELECT pm FROM ProductionMaster pm WHERE pm.entryDate BETWEEN :startDate AND :endDate AND (" +
+            "LOWER(pm.machineCode) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(pm.partNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(pm.operatorName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(pm.employeeNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
+    Page<ProductionMaster> searchProductionRecordsBetween(@Param("searchTerm") String searchTerm,
+                                                          @Param("startDate") LocalDate startDate,
+                                                          @Param("endDate") LocalDate endDate,
+                                                          Pageable pageable);
+
     // Data integrity checks
     @Query("SELECT pm FROM ProductionMaster pm WHERE pm.startDateTime IS NOT NULL AND pm.stopDateTime IS NOT NULL AND pm.startDateTime > pm.stopDateTime")
     List<ProductionMaster> findInvalidTimeRecords();
@@ -0,0 +1,48 @@
+package com.protomil.core.jobcard.repository;
+
+import com.protomil.core.jobcard.domain.ProductionOeeRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Aggregates over the pre-computed OEE buckets. Every query returns rows shaped as
+ * [key, recordCount, plannedMinutes, lossMinutes, runMinutes, idealRunMinutes, productionQuantity, rejectionQuantity].
+ */
+@Repository
+public interface ProductionOeeRollupRepository extends JpaRepository<ProductionOeeRollup, Long> {
+
+    String BUCKET_TOTALS = "SUM(r.recordCount), SUM(r.plannedMinutes), SUM(r.lossMinutes), SUM(r.runMinutes), " +
+            "SUM(r.idealRunMinutes), SUM(r.productionQuantity), SUM(r.rejectionQuantity) ";
+
+    @Query("SELECT r.machineCode, " + BUCKET_TOTALS +
+            "FROM ProductionOeeRollup r WHERE r.entryDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY r.machineCode ORDER BY r.machineCode")
+    List<Object[]> sumByMachine(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT r.sectionCode, " + BUCKET_TOTALS +
+            "FROM ProductionOeeRollup r WHERE r.entryDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY r.sectionCode ORDER BY r.sectionCode")
+    List<Object[]> sumBySection(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT r.shift, " + BUCKET_TOTALS +
+            "FROM ProductionOeeRollup r WHERE r.entryDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY r.shift ORDER BY r.shift")
+    List<Object[]> sumByShift(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT r.entryDate, " + BUCKET_TOTALS +
+            "FROM ProductionOeeRollup r WHERE r.entryDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY r.entryDate ORDER BY r.entryDate")
+    List<Object[]> sumByDay(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT r.entryDate, " + BUCKET_TOTALS +
+            "FROM ProductionOeeRollup r WHERE r.machineCode = :machineCode AND r.entryDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY r.entryDate ORDER BY r.entryDate")
+    List<Object[]> sumByDayForMachine(@Param("machineCode") String machineCode,
+                                      @Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate);
+}
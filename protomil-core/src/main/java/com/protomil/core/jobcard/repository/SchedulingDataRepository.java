@@ -0,0 +1,187 @@
+package com.protomil.core.jobcard.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Flat reads of everything the job card scheduler plans with: the READY backlog with its template
+ * requirements, machines with their committed work, and operators with their skills and workload.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SchedulingDataRepository {
+
+    public record ReadyJobRow(long jobCardId, String jobNumber, String priority, Integer estimatedMinutes,
+                              Integer quantity, LocalDateTime targetCompletionDate, Long templateId,
+                              String requiredMachineType) {
+    }
+
+    public record SkillLevelRow<K>(K ownerId, UUID skillId, int level) {
+    }
+
+    /**
+     * @param inProgressUntil expected end of the latest in-progress card on the resource, if any
+     * @param assignedMinutes estimated minutes of cards assigned to the resource but not yet started
+     */
+    public record WorkloadRow<K>(K resourceId, LocalDateTime inProgressUntil, long assignedMinutes) {
+    }
+
+    public record MachineRow(long machineId, String machineCode, String machineType, Integer capacityPerHour,
+                             String status) {
+    }
+
+    public record OperatorRow(UUID userId, String employeeNumber) {
+    }
+
+    private static final String PROFICIENCY_LEVEL = """
+            CASE %s
+                WHEN 'EXPERT' THEN 4
+                WHEN 'ADVANCED' THEN 3
+                WHEN 'INTERMEDIATE' THEN 2
+                ELSE 1
+            END""";
+
+    // A non-numeric quantity in the dynamic fields is ignored rather than failing the whole read
+    private static final String READY_JOBS_SQL = """
+            SELECT jc.id, jc.job_number, jc.priority, jc.estimated_duration_minutes, jc.target_completion_date,
+                   CASE WHEN jc.dynamic_fields ->> 'quantity' ~ '^[0-9]{1,9}$'
+                        THEN (jc.dynamic_fields ->> 'quantity')::INTEGER END AS quantity,
+                   jc.template_id, t.required_machine_type
+            FROM job_cards jc
+            JOIN job_card_templates t ON t.id = jc.template_id
+            WHERE jc.status = 'READY'
+            """;
+
+    private static final String READY_JOB_SQL = READY_JOBS_SQL + " AND jc.id = :id";
+
+    private static final String TEMPLATE_SKILLS_SQL = """
+            SELECT ts.template_id, ts.skill_id, %s AS level
+            FROM job_card_template_skills ts
+            JOIN skills s ON s.id = ts.skill_id AND s.status = 'ACTIVE'
+            """.formatted(PROFICIENCY_LEVEL.formatted("ts.min_proficiency_level"));
+
+    private static final String MACHINES_SQL = """
+            SELECT id, machine_code, machine_type, capacity_per_hour, status
+            FROM machines
+            WHERE is_active = TRUE
+            """;
+
+    private static final String MACHINE_WORKLOAD_SQL = """
+            SELECT a.machine_id AS resource_id,
+                   MAX(jc.started_at + make_interval(mins => COALESCE(jc.estimated_duration_minutes, 0)))
+                       FILTER (WHERE jc.status = 'IN_PROGRESS') AS in_progress_until,
+                   COALESCE(SUM(jc.estimated_duration_minutes) FILTER (WHERE jc.status = 'ASSIGNED'), 0) AS assigned_minutes
+            FROM job_card_assignments a
+            JOIN job_cards jc ON jc.id = a.job_card_id
+            WHERE a.is_active = TRUE AND a.machine_id IS NOT NULL AND jc.status IN ('ASSIGNED', 'IN_PROGRESS')
+            GROUP BY a.machine_id
+            """;
+
+    // Only personnel linked to a user account can be assigned job cards
+    private static final String OPERATORS_SQL = """
+            SELECT user_id, employee_number
+            FROM personnel
+            WHERE status = 'ACTIVE' AND user_id IS NOT NULL
+            """;
+
+    private static final String OPERATOR_SKILLS_SQL = """
+            SELECT p.user_id, ps.skill_id, %s AS level
+            FROM personnel_skills ps
+            JOIN personnel p ON p.id = ps.personnel_id AND p.status = 'ACTIVE' AND p.user_id IS NOT NULL
+            JOIN skills s ON s.id = ps.skill_id AND s.status = 'ACTIVE'
+            WHERE ps.status = 'ACTIVE' AND (ps.expiry_date IS NULL OR ps.expiry_date >= CURRENT_DATE)
+            """.formatted(PROFICIENCY_LEVEL.formatted("ps.proficiency_level"));
+
+    private static final String OPERATOR_WORKLOAD_SQL = """
+            SELECT jc.assigned_to AS resource_id,
+                   MAX(jc.started_at + make_interval(mins => COALESCE(jc.estimated_duration_minutes, 0)))
+                       FILTER (WHERE jc.status = 'IN_PROGRESS') AS in_progress_until,
+                   COALESCE(SUM(jc.estimated_duration_minutes) FILTER (WHERE jc.status = 'ASSIGNED'), 0) AS assigned_minutes
+            FROM job_cards jc
+            WHERE jc.assigned_to IS NOT NULL AND jc.status IN ('ASSIGNED', 'IN_PROGRESS')
+            GROUP BY jc.assigned_to
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<ReadyJobRow> findReadyJobs() {
+        return jdbcTemplate.query(READY_JOBS_SQL, this::mapReadyJob);
+    }
+
+    public Optional<ReadyJobRow> findReadyJob(long jobCardId) {
+        return jdbcTemplate.query(READY_JOB_SQL, new MapSqlParameterSource("id", jobCardId), this::mapReadyJob)
+                .stream()
+                .findFirst();
+    }
+
+    public List<SkillLevelRow<Long>> findTemplateSkills() {
+        return jdbcTemplate.query(TEMPLATE_SKILLS_SQL, this::mapTemplateSkill);
+    }
+
+    public List<SkillLevelRow<Long>> findTemplateSkills(long templateId) {
+        return jdbcTemplate.query(TEMPLATE_SKILLS_SQL + " WHERE ts.template_id = :templateId",
+                new MapSqlParameterSource("templateId", templateId), this::mapTemplateSkill);
+    }
+
+    public List<MachineRow> findActiveMachines() {
+        return jdbcTemplate.query(MACHINES_SQL, (rs, rowNum) -> new MachineRow(
+                rs.getLong("id"),
+                rs.getString("machine_code"),
+                rs.getString("machine_type"),
+                rs.getObject("capacity_per_hour", Integer.class),
+                rs.getString("status")));
+    }
+
+    public List<WorkloadRow<Long>> findMachineWorkloads() {
+        return jdbcTemplate.query(MACHINE_WORKLOAD_SQL, (rs, rowNum) -> mapWorkload(rs, rs.getLong("resource_id")));
+    }
+
+    public List<OperatorRow> findOperators() {
+        return jdbcTemplate.query(OPERATORS_SQL, (rs, rowNum) -> new OperatorRow(
+                rs.getObject("user_id", UUID.class), rs.getString("employee_number")));
+    }
+
+    public List<SkillLevelRow<UUID>> findOperatorSkills() {
+        return jdbcTemplate.query(OPERATOR_SKILLS_SQL, (rs, rowNum) -> new SkillLevelRow<>(
+                rs.getObject("user_id", UUID.class), rs.getObject("skill_id", UUID.class), rs.getInt("level")));
+    }
+
+    public List<WorkloadRow<UUID>> findOperatorWorkloads() {
+        return jdbcTemplate.query(OPERATOR_WORKLOAD_SQL,
+                (rs, rowNum) -> mapWorkload(rs, rs.getObject("resource_id", UUID.class)));
+    }
+
+    private ReadyJobRow mapReadyJob(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp target = rs.getTimestamp("target_completion_date");
+        return new ReadyJobRow(
+                rs.getLong("id"),
+                rs.getString("job_number"),
+                rs.getString("priority"),
+                rs.getObject("estimated_duration_minutes", Integer.class),
+                rs.getObject("quantity", Integer.class),
+                target != null ? target.toLocalDateTime() : null,
+                rs.getObject("template_id", Long.class),
+                rs.getString("required_machine_type"));
+    }
+
+    private SkillLevelRow<Long> mapTemplateSkill(ResultSet rs, int rowNum) throws SQLException {
+        return new SkillLevelRow<>(rs.getLong("template_id"), rs.getObject("skill_id", UUID.class), rs.getInt("level"));
+    }
+
+    private <K> WorkloadRow<K> mapWorkload(ResultSet rs, K resourceId) throws SQLException {
+        Timestamp inProgressUntil = rs.getTimestamp("in_progress_until");
+        return new WorkloadRow<>(resourceId,
+                inProgressUntil != null ? inProgressUntil.toLocalDateTime() : null,
+                rs.getLong("assigned_minutes"));
+    }
+}
@@ -21,6 +21,8 @@ public interface WorkInstructionRepository extends JpaRepository<WorkInstruction
 
     List<WorkInstruction> findByJobCardIdAndCompletedAtIsNotNullOrderByStepNumber(Long jobCardId);
 
+    long countByJobCardIdAndCompletedAtIsNull(Long jobCardId);
+
     // Step number queries
     Optional<WorkInstruction> findByJobCardIdAndStepNumber(Long jobCardId, Integer stepNumber);
 
@@ -0,0 +1,489 @@
+package com.protomil.core.jobcard.scheduling;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Machine and operator schedule for the READY backlog that stays current as cards arrive or leave
+ * and machines go down or come back.
+ * <p>
+ * Jobs are placed in dispatch order (priority, then due date, then shortest run). Each job takes the
+ * qualified operator who is free first and the eligible machine on which it would finish first. Local
+ * search then moves late jobs earlier in the dispatch order, evaluating batches of candidate moves in
+ * parallel on a fork/join pool and keeping the best one that lowers the weighted tardiness.
+ * <p>
+ * Machine and operator free times are saved every {@value #CHECKPOINT_INTERVAL} positions. A change at
+ * position p (a new card, a machine outage, an accepted move) only re-places jobs from the checkpoint
+ * before p. Not thread-safe; callers serialize access.
+ */
+public final class IncrementalSchedule {
+
+    public record ScheduledJob(SchedulingInput.Job job, SchedulingInput.MachineResource machine,
+                               SchedulingInput.Operator operator, int sequence, LocalDateTime start,
+                               LocalDateTime end, long tardinessMinutes) {
+    }
+
+    public record UnscheduledJob(SchedulingInput.Job job, String reason) {
+    }
+
+    public record Result(List<ScheduledJob> scheduled, List<UnscheduledJob> unscheduled,
+                         long weightedTardinessMinutes) {
+    }
+
+    static final int CHECKPOINT_INTERVAL = 128;
+
+    private static final long UNAVAILABLE = Long.MAX_VALUE;
+    private static final int DEFAULT_ESTIMATED_MINUTES = 60;
+    // Weighted tardiness dominates the objective; total completion time only breaks ties
+    private static final long TARDINESS_SCALE = 1_000;
+    private static final int MAX_STALE_ROUNDS = 20;
+    // Candidate moves evaluated sequentially by one fork/join task
+    private static final int MOVES_PER_TASK = 2;
+
+    private static final Comparator<Entry> DISPATCH_ORDER = Comparator
+            .comparingInt((Entry entry) -> -entry.job().priorityWeight())
+            .thenComparingLong(Entry::dueAt)
+            .thenComparingInt(Entry::nominalMinutes)
+            .thenComparingLong(entry -> entry.job().jobCardId());
+
+    private record EligibilityKey(String machineType, BitSet requiredSkills) {
+    }
+
+    private record Eligibility(int[] machines, int[] operators) {
+    }
+
+    private record Entry(SchedulingInput.Job job, Eligibility eligibility, long dueAt, int nominalMinutes) {
+    }
+
+    private record Checkpoint(long[] machineFree, long[] operatorFree, long objective) {
+    }
+
+    private record Move(int from, int to, long objective) {
+    }
+
+    private final ShiftCalendar calendar;
+    private final ForkJoinPool pool;
+    private final SplittableRandom random;
+    private final int movesPerRound;
+    private final int moveWindow;
+
+    private final SchedulingInput.MachineResource[] machines;
+    private final int[] machineCapacity;
+    private final long[] machineReadyAt;
+    private final boolean[] machineDown;
+    private final Map<Long, Integer> machineIndex;
+    private final SchedulingInput.Operator[] operators;
+    private final long[] operatorReadyAt;
+    private final Map<EligibilityKey, Eligibility> eligibilityByKey = new HashMap<>();
+
+    private final List<Entry> order = new ArrayList<>();
+    private final List<UnscheduledJob> unschedulable = new ArrayList<>();
+    private final List<Checkpoint> checkpoints = new ArrayList<>();
+
+    // Placement of the job at each dispatch position; -1 when no machine could take it
+    private int[] machineAt = new int[0];
+    private int[] operatorAt = new int[0];
+    private long[] startAt = new long[0];
+    private long[] endAt = new long[0];
+    private long objective;
+
+    public IncrementalSchedule(SchedulingInput input, ShiftCalendar calendar, ForkJoinPool pool,
+                               int movesPerRound, int moveWindow, long seed) {
+        this.calendar = calendar;
+        this.pool = pool;
+        this.random = new SplittableRandom(seed);
+        this.movesPerRound = movesPerRound;
+        this.moveWindow = moveWindow;
+
+        this.machines = input.machines().toArray(SchedulingInput.MachineResource[]::new);
+        this.machineCapacity = new int[machines.length];
+        this.machineReadyAt = new long[machines.length];
+        this.machineDown = new boolean[machines.length];
+        this.machineIndex = new HashMap<>();
+        for (int m = 0; m < machines.length; m++) {
+            SchedulingInput.MachineResource machine = machines[m];
+            machineCapacity[m] = machine.capacityPerHour() != null ? machine.capacityPerHour() : 0;
+            machineReadyAt[m] = readyAt(machine.busyUntil());
+            machineDown[m] = !machine.available();
+            machineIndex.put(machine.machineId(), m);
+        }
+
+        this.operators = input.operators().toArray(SchedulingInput.Operator[]::new);
+        this.operatorReadyAt = new long[operators.length];
+        for (int o = 0; o < operators.length; o++) {
+            operatorReadyAt[o] = readyAt(operators[o].busyUntil());
+        }
+
+        // Jobs share a handful of (machine type, skills) combinations; match each one once, in parallel
+        List<EligibilityKey> keys = input.jobs().stream().map(this::keyOf).distinct().toList();
+        eligibilityByKey.putAll(pool.submit(() -> keys.parallelStream()
+                .collect(Collectors.toMap(Function.identity(), this::matchResources))).join());
+
+        List<Entry> entries = new ArrayList<>(input.jobs().size());
+        for (SchedulingInput.Job job : input.jobs()) {
+            Entry entry = toEntry(job);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        entries.sort(DISPATCH_ORDER);
+        order.addAll(entries);
+        decodeFrom(0);
+    }
+
+    public int size() {
+        return order.size() + unschedulable.size();
+    }
+
+    /**
+     * Runs local search until no improving move turns up for a while or the budget is spent.
+     *
+     * @return number of moves accepted
+     */
+    public int improve(Duration budget) {
+        long deadline = System.nanoTime() + budget.toNanos();
+        int accepted = 0;
+        int staleRounds = 0;
+        while (System.nanoTime() < deadline && staleRounds < MAX_STALE_ROUNDS) {
+            List<Move> moves = sampleMoves();
+            if (moves.isEmpty()) {
+                break;
+            }
+            Move best = pool.invoke(new MoveSearch(moves, 0, moves.size(), objective));
+            if (best != null) {
+                Entry moved = order.remove(best.from());
+                order.add(best.to(), moved);
+                decodeFrom(best.to());
+                accepted++;
+                staleRounds = 0;
+            } else {
+                staleRounds++;
+            }
+        }
+        return accepted;
+    }
+
+    /** Inserts a job at its dispatch position and re-places everything after it. */
+    public void addJob(SchedulingInput.Job job) {
+        eligibilityByKey.computeIfAbsent(keyOf(job), this::matchResources);
+        Entry entry = toEntry(job);
+        if (entry == null) {
+            return;
+        }
+        int position = 0;
+        while (position < order.size() && DISPATCH_ORDER.compare(order.get(position), entry) <= 0) {
+            position++;
+        }
+        order.add(position, entry);
+        decodeFrom(position);
+    }
+
+    public boolean removeJob(long jobCardId) {
+        for (int i = 0; i < order.size(); i++) {
+            if (order.get(i).job().jobCardId() == jobCardId) {
+                order.remove(i);
+                decodeFrom(i);
+                return true;
+            }
+        }
+        return unschedulable.removeIf(unscheduled -> unscheduled.job().jobCardId() == jobCardId);
+    }
+
+    /**
+     * Takes a machine out of the plan or brings it back. An outage only re-places jobs from the first
+     * one that was on the machine; a machine coming back can help any job, so everything is re-placed.
+     *
+     * @return false if the machine is not part of this schedule
+     */
+    public boolean setMachineAvailable(long machineId, boolean available, LocalDateTime now) {
+        Integer m = machineIndex.get(machineId);
+        if (m == null) {
+            return false;
+        }
+        if (!available) {
+            machineDown[m] = true;
+            for (int i = 0; i < order.size(); i++) {
+                if (machineAt[i] == m) {
+                    decodeFrom(i);
+                    break;
+                }
+            }
+        } else if (machineDown[m]) {
+            machineDown[m] = false;
+            machineReadyAt[m] = Math.max(machineReadyAt[m], readyAt(now));
+            decodeFrom(0);
+        }
+        return true;
+    }
+
+    public Result result() {
+        List<ScheduledJob> scheduled = new ArrayList<>(order.size());
+        List<UnscheduledJob> unscheduled = new ArrayList<>(unschedulable);
+        int[] sequenceByMachine = new int[machines.length];
+        long weightedTardiness = 0;
+
+        for (int i = 0; i < order.size(); i++) {
+            Entry entry = order.get(i);
+            if (machineAt[i] < 0) {
+                unscheduled.add(new UnscheduledJob(entry.job(), "No eligible machine is available"));
+                continue;
+            }
+            LocalDateTime end = calendar.endOf(endAt[i]);
+            LocalDateTime due = entry.job().dueAt();
+            long tardiness = due != null && end.isAfter(due) ? Duration.between(due, end).toMinutes() : 0;
+            weightedTardiness += tardiness * entry.job().priorityWeight();
+
+            // Machine free times only move forward, so dispatch order is also run order on each machine
+            scheduled.add(new ScheduledJob(entry.job(), machines[machineAt[i]], operators[operatorAt[i]],
+                    ++sequenceByMachine[machineAt[i]], calendar.startOf(startAt[i]), end, tardiness));
+        }
+        return new Result(scheduled, unscheduled, weightedTardiness);
+    }
+
+    private void decodeFrom(int position) {
+        int n = order.size();
+        if (machineAt.length < n) {
+            int capacity = Math.max(n, machineAt.length * 3 / 2);
+            machineAt = Arrays.copyOf(machineAt, capacity);
+            operatorAt = Arrays.copyOf(operatorAt, capacity);
+            startAt = Arrays.copyOf(startAt, capacity);
+            endAt = Arrays.copyOf(endAt, capacity);
+        }
+
+        int checkpoint = Math.min(position / CHECKPOINT_INTERVAL, checkpoints.size() - 1);
+        if (checkpoint <= 0) {
+            checkpoints.clear();
+            checkpoints.add(new Checkpoint(machineReadyAt.clone(), operatorReadyAt.clone(), 0));
+            checkpoint = 0;
+        }
+        while (checkpoints.size() > checkpoint + 1) {
+            checkpoints.removeLast();
+        }
+
+        Checkpoint restored = checkpoints.get(checkpoint);
+        long[] machineFree = withOutages(restored.machineFree().clone());
+        long[] operatorFree = restored.operatorFree().clone();
+        long total = restored.objective();
+        long[] placement = new long[4];
+
+        for (int i = checkpoint * CHECKPOINT_INTERVAL; i < n; i++) {
+            if (i % CHECKPOINT_INTERVAL == 0 && i / CHECKPOINT_INTERVAL == checkpoints.size()) {
+                checkpoints.add(new Checkpoint(machineFree.clone(), operatorFree.clone(), total));
+            }
+            Entry entry = order.get(i);
+            if (place(entry, machineFree, operatorFree, placement)) {
+                machineAt[i] = (int) placement[0];
+                operatorAt[i] = (int) placement[1];
+                startAt[i] = placement[2];
+                endAt[i] = placement[3];
+                total += cost(entry, placement[3]);
+            } else {
+                machineAt[i] = -1;
+                operatorAt[i] = -1;
+            }
+        }
+        objective = total;
+    }
+
+    /** Objective of the current order with one job moved, or {@code UNAVAILABLE} once it reaches the bound. */
+    private long evaluate(Move move, long bound) {
+        int checkpoint = Math.min(move.to() / CHECKPOINT_INTERVAL, checkpoints.size() - 1);
+        Checkpoint restored = checkpoints.get(checkpoint);
+        long[] machineFree = withOutages(restored.machineFree().clone());
+        long[] operatorFree = restored.operatorFree().clone();
+        long total = restored.objective();
+        long[] placement = new long[4];
+
+        for (int i = checkpoint * CHECKPOINT_INTERVAL; i < order.size(); i++) {
+            Entry entry = i < move.to() || i > move.from() ? order.get(i)
+                    : i == move.to() ? order.get(move.from())
+                    : order.get(i - 1);
+            if (place(entry, machineFree, operatorFree, placement)) {
+                total += cost(entry, placement[3]);
+                if (total >= bound) {
+                    return UNAVAILABLE;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Places one job: the qualified operator who is free first, then the eligible machine giving the
+     * earliest finish with that operator. For a given machine that operator is always the best choice,
+     * so this is the best (machine, operator) pair without trying every combination.
+     */
+    private boolean place(Entry entry, long[] machineFree, long[] operatorFree, long[] placement) {
+        int operator = -1;
+        long operatorReady = UNAVAILABLE;
+        for (int o : entry.eligibility().operators()) {
+            if (operatorFree[o] < operatorReady) {
+                operatorReady = operatorFree[o];
+                operator = o;
+            }
+        }
+        if (operator < 0) {
+            return false;
+        }
+
+        int machine = -1;
+        long bestStart = 0;
+        long bestEnd = UNAVAILABLE;
+        for (int m : entry.eligibility().machines()) {
+            if (machineFree[m] == UNAVAILABLE) {
+                continue;
+            }
+            long start = Math.max(machineFree[m], operatorReady);
+            long end = start + runMinutes(entry, m);
+            if (end < bestEnd) {
+                machine = m;
+                bestStart = start;
+                bestEnd = end;
+            }
+        }
+        if (machine < 0) {
+            return false;
+        }
+
+        machineFree[machine] = bestEnd;
+        operatorFree[operator] = bestEnd;
+        placement[0] = machine;
+        placement[1] = operator;
+        placement[2] = bestStart;
+        placement[3] = bestEnd;
+        return true;
+    }
+
+    private int runMinutes(Entry entry, int machine) {
+        Integer quantity = entry.job().quantity();
+        if (quantity != null && quantity > 0 && machineCapacity[machine] > 0) {
+            return Math.max(1, (int) Math.ceil(quantity * 60.0 / machineCapacity[machine]));
+        }
+        return entry.nominalMinutes();
+    }
+
+    private long cost(Entry entry, long end) {
+        long tardiness = entry.dueAt() == UNAVAILABLE ? 0 : Math.max(0, end - entry.dueAt());
+        return tardiness * entry.job().priorityWeight() * TARDINESS_SCALE + end;
+    }
+
+    /** Candidate moves: a randomly chosen late job moved to a random earlier position within the window. */
+    private List<Move> sampleMoves() {
+        int[] late = IntStream.range(1, order.size())
+                .filter(i -> machineAt[i] >= 0 && order.get(i).dueAt() != UNAVAILABLE && endAt[i] > order.get(i).dueAt())
+                .toArray();
+        if (late.length == 0) {
+            return List.of();
+        }
+
+        List<Move> moves = new ArrayList<>(movesPerRound);
+        for (int k = 0; k < movesPerRound; k++) {
+            int from = late[random.nextInt(late.length)];
+            int to = from - 1 - random.nextInt(Math.min(from, moveWindow));
+            moves.add(new Move(from, to, UNAVAILABLE));
+        }
+        return moves;
+    }
+
+    private final class MoveSearch extends RecursiveTask<Move> {
+
+        private final List<Move> moves;
+        private final int from;
+        private final int to;
+        private final long bound;
+
+        private MoveSearch(List<Move> moves, int from, int to, long bound) {
+            this.moves = moves;
+            this.from = from;
+            this.to = to;
+            this.bound = bound;
+        }
+
+        @Override
+        protected Move compute() {
+            if (to - from <= MOVES_PER_TASK) {
+                Move best = null;
+                long limit = bound;
+                for (int i = from; i < to; i++) {
+                    Move move = moves.get(i);
+                    long value = evaluate(move, limit);
+                    if (value < limit) {
+                        best = new Move(move.from(), move.to(), value);
+                        limit = value;
+                    }
+                }
+                return best;
+            }
+
+            int middle = (from + to) >>> 1;
+            MoveSearch left = new MoveSearch(moves, from, middle, bound);
+            left.fork();
+            Move right = new MoveSearch(moves, middle, to, bound).compute();
+            Move leftBest = left.join();
+            if (leftBest == null) {
+                return right;
+            }
+            return right == null || leftBest.objective() <= right.objective() ? leftBest : right;
+        }
+    }
+
+    private long[] withOutages(long[] machineFree) {
+        for (int m = 0; m < machineDown.length; m++) {
+            if (machineDown[m]) {
+                machineFree[m] = UNAVAILABLE;
+            }
+        }
+        return machineFree;
+    }
+
+    private Entry toEntry(SchedulingInput.Job job) {
+        Eligibility eligibility = eligibilityByKey.get(keyOf(job));
+        if (eligibility.machines().length == 0) {
+            unschedulable.add(new UnscheduledJob(job, job.machineType() != null
+                    ? "No active machine of type " + job.machineType()
+                    : "No active machine"));
+            return null;
+        }
+        if (eligibility.operators().length == 0) {
+            unschedulable.add(new UnscheduledJob(job, "No operator holds the required skills"));
+            return null;
+        }
+        long dueAt = job.dueAt() != null ? calendar.toWorkingMinutes(job.dueAt()) : UNAVAILABLE;
+        int nominalMinutes = job.estimatedMinutes() != null && job.estimatedMinutes() > 0
+                ? job.estimatedMinutes()
+                : DEFAULT_ESTIMATED_MINUTES;
+        return new Entry(job, eligibility, dueAt, nominalMinutes);
+    }
+
+    private EligibilityKey keyOf(SchedulingInput.Job job) {
+        return new EligibilityKey(job.machineType(),
+                job.requiredSkills() != null ? job.requiredSkills() : new BitSet());
+    }
+
+    private Eligibility matchResources(EligibilityKey key) {
+        int[] eligibleMachines = IntStream.range(0, machines.length)
+                .filter(m -> key.machineType() == null || key.machineType().equalsIgnoreCase(machines[m].machineType()))
+                .toArray();
+        int[] eligibleOperators = IntStream.range(0, operators.length)
+                .filter(o -> SkillEncoder.qualifies(operators[o].skills(), key.requiredSkills()))
+                .toArray();
+        return new Eligibility(eligibleMachines, eligibleOperators);
+    }
+
+    private long readyAt(LocalDateTime busyUntil) {
+        return busyUntil != null ? Math.max(0, calendar.toWorkingMinutes(busyUntil)) : 0;
+    }
+}
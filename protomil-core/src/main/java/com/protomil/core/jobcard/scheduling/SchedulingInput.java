@@ -0,0 +1,37 @@
+package com.protomil.core.jobcard.scheduling;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Snapshot of everything the scheduler plans with: the READY backlog, the machines and the operators.
+ * Skills are bit sets produced by a {@link SkillEncoder}; an operator qualifies for a job when the
+ * job's required bits are a subset of the operator's.
+ */
+public record SchedulingInput(List<Job> jobs, List<MachineResource> machines, List<Operator> operators) {
+
+    /**
+     * @param estimatedMinutes run time when no quantity is planned or the machine has no rated capacity
+     * @param quantity         planned quantity; with a rated machine capacity this sets the run time
+     * @param machineType      required machine type, or null for any machine
+     */
+    public record Job(long jobCardId, String jobNumber, int priorityWeight, Integer estimatedMinutes,
+                      Integer quantity, LocalDateTime dueAt, String machineType, BitSet requiredSkills) {
+    }
+
+    /**
+     * @param available false while the machine is down (breakdown, maintenance)
+     * @param busyUntil end of the work already running on the machine, or null if it is free
+     */
+    public record MachineResource(long machineId, String machineCode, String machineType, Integer capacityPerHour,
+                                  boolean available, LocalDateTime busyUntil) {
+    }
+
+    /**
+     * @param busyUntil end of the work the operator is already doing, or null if they are free
+     */
+    public record Operator(UUID userId, String employeeNumber, BitSet skills, LocalDateTime busyUntil) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.protomil.core.jobcard.scheduling;
+
+import com.protomil.core.jobcard.domain.enums.Shift;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Maps wall-clock time onto a continuous axis of working minutes counted from a horizon start. Only
+ * minutes inside the staffed shifts count, so a job needing 300 working minutes that starts an hour
+ * before the last shift of the day ends resumes when the next staffed shift begins.
+ */
+public final class ShiftCalendar {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final LocalDateTime horizonStart;
+    // Sorted, non-overlapping [start, end) windows within a day, in minutes from midnight
+    private final int[] windowStarts;
+    private final int[] windowEnds;
+    private final int workingMinutesPerDay;
+    private final long horizonOffset;
+
+    public ShiftCalendar(LocalDateTime horizonStart, Collection<Shift> staffedShifts) {
+        if (staffedShifts.isEmpty()) {
+            throw new IllegalArgumentException("At least one staffed shift is required");
+        }
+        this.horizonStart = horizonStart.truncatedTo(ChronoUnit.MINUTES);
+
+        List<int[]> windows = new ArrayList<>();
+        for (Shift shift : staffedShifts) {
+            int start = minuteOfDay(shift.getStartTime());
+            int end = minuteOfDay(shift.getEndTime());
+            if (shift.crossesMidnight()) {
+                windows.add(new int[]{start, MINUTES_PER_DAY});
+                if (end > 0) {
+                    windows.add(new int[]{0, end});
+                }
+            } else {
+                windows.add(new int[]{start, end});
+            }
+        }
+        windows.sort(Comparator.comparingInt(window -> window[0]));
+
+        List<int[]> merged = new ArrayList<>();
+        for (int[] window : windows) {
+            int[] last = merged.isEmpty() ? null : merged.getLast();
+            if (last != null && window[0] <= last[1]) {
+                last[1] = Math.max(last[1], window[1]);
+            } else {
+                merged.add(window.clone());
+            }
+        }
+
+        this.windowStarts = merged.stream().mapToInt(window -> window[0]).toArray();
+        this.windowEnds = merged.stream().mapToInt(window -> window[1]).toArray();
+        this.workingMinutesPerDay = merged.stream().mapToInt(window -> window[1] - window[0]).sum();
+        this.horizonOffset = workedBefore(minuteOfDay(this.horizonStart.toLocalTime()));
+    }
+
+    public LocalDateTime getHorizonStart() {
+        return horizonStart;
+    }
+
+    /** Working minutes from the horizon start to {@code time}; negative for times before it. */
+    public long toWorkingMinutes(LocalDateTime time) {
+        long days = ChronoUnit.DAYS.between(horizonStart.toLocalDate(), time.toLocalDate());
+        return days * workingMinutesPerDay + workedBefore(minuteOfDay(time.toLocalTime())) - horizonOffset;
+    }
+
+    /** Wall-clock time at which work resumes at a working minute, e.g. a job's start. */
+    public LocalDateTime startOf(long workingMinutes) {
+        return toDateTime(workingMinutes, false);
+    }
+
+    /**
+     * Wall-clock time at which work stops at a working minute, e.g. a job's end. A minute on a shift
+     * boundary maps to the end of the earlier shift rather than the start of the next one.
+     */
+    public LocalDateTime endOf(long workingMinutes) {
+        return toDateTime(workingMinutes, true);
+    }
+
+    private LocalDateTime toDateTime(long workingMinutes, boolean atEnd) {
+        long absolute = workingMinutes + horizonOffset;
+        long day = Math.floorDiv(absolute, workingMinutesPerDay);
+        long remainder = Math.floorMod(absolute, workingMinutesPerDay);
+        if (atEnd && remainder == 0) {
+            day--;
+            remainder = workingMinutesPerDay;
+        }
+
+        int minuteOfDay = windowStarts[0];
+        for (int i = 0; i < windowStarts.length; i++) {
+            int length = windowEnds[i] - windowStarts[i];
+            if (remainder < length || (atEnd && remainder == length)) {
+                minuteOfDay = windowStarts[i] + (int) remainder;
+                break;
+            }
+            remainder -= length;
+        }
+        return horizonStart.toLocalDate().atStartOfDay().plusDays(day).plusMinutes(minuteOfDay);
+    }
+
+    private long workedBefore(int minuteOfDay) {
+        long worked = 0;
+        for (int i = 0; i < windowStarts.length && windowStarts[i] < minuteOfDay; i++) {
+            worked += Math.min(windowEnds[i], minuteOfDay) - windowStarts[i];
+        }
+        return worked;
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
@@ -0,0 +1,48 @@
+package com.protomil.core.jobcard.scheduling;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Interns skill IDs as small integers and encodes proficiency as bits, so qualification is a bit set
+ * subset test. Each skill owns {@link #LEVELS} bits: an operator at level n holds the first n bits, and
+ * a requirement of level n is the n-th bit alone.
+ */
+public final class SkillEncoder {
+
+    /** Proficiency levels 1 (BEGINNER) to 4 (EXPERT). */
+    public static final int LEVELS = 4;
+
+    private final Map<UUID, Integer> skillIndex = new HashMap<>();
+
+    public BitSet held(Map<UUID, Integer> levelBySkill) {
+        BitSet bits = new BitSet();
+        levelBySkill.forEach((skillId, level) -> {
+            int base = indexOf(skillId) * LEVELS;
+            bits.set(base, base + clamp(level));
+        });
+        return bits;
+    }
+
+    public BitSet required(Map<UUID, Integer> minimumLevelBySkill) {
+        BitSet bits = new BitSet();
+        minimumLevelBySkill.forEach((skillId, level) -> bits.set(indexOf(skillId) * LEVELS + clamp(level) - 1));
+        return bits;
+    }
+
+    public static boolean qualifies(BitSet held, BitSet required) {
+        BitSet missing = (BitSet) required.clone();
+        missing.andNot(held);
+        return missing.isEmpty();
+    }
+
+    private int indexOf(UUID skillId) {
+        return skillIndex.computeIfAbsent(skillId, id -> skillIndex.size());
+    }
+
+    private static int clamp(int level) {
+        return Math.clamp(level, 1, LEVELS);
+    }
+}
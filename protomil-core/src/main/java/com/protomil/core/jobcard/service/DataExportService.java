@@ -0,0 +1,199 @@
+package com.protomil.core.jobcard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.protomil.core.jobcard.domain.JobCard;
+import com.protomil.core.jobcard.domain.ProductionMaster;
+import com.protomil.core.jobcard.domain.enums.ExportFormat;
+import com.protomil.core.jobcard.repository.JobCardRepository;
+import com.protomil.core.jobcard.repository.ProductionMasterRepository;
+import com.protomil.core.shared.exception.BusinessException;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams production and job card data straight from a database cursor to the caller's output stream.
+ * Rows are written and detached one at a time, so memory use does not grow with the size of the date range.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DataExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 500;
+    private static final long MAX_EXPORT_RANGE_DAYS = 366;
+
+    private static final List<ExportColumn<ProductionMaster>> PRODUCTION_COLUMNS = List.of(
+            new ExportColumn<>("id", ProductionMaster::getId),
+            new ExportColumn<>("jobCardId", pm -> pm.getJobCard() != null ? pm.getJobCard().getId() : null),
+            new ExportColumn<>("entryDate", ProductionMaster::getEntryDate),
+            new ExportColumn<>("machineCode", ProductionMaster::getMachineCode),
+            new ExportColumn<>("sectionCode", ProductionMaster::getSectionCode),
+            new ExportColumn<>("shift", ProductionMaster::getShift),
+            new ExportColumn<>("startDateTime", ProductionMaster::getStartDateTime),
+            new ExportColumn<>("stopDateTime", ProductionMaster::getStopDateTime),
+            new ExportColumn<>("employeeNumber", ProductionMaster::getEmployeeNumber),
+            new ExportColumn<>("operatorName", ProductionMaster::getOperatorName),
+            new ExportColumn<>("partNumber", ProductionMaster::getPartNumber),
+            new ExportColumn<>("operationCode", ProductionMaster::getOperationCode),
+            new ExportColumn<>("totalTimeAvailableMinutes", ProductionMaster::getTotalTimeAvailableMinutes),
+            new ExportColumn<>("netTimeAvailableMinutes", ProductionMaster::getNetTimeAvailableMinutes),
+            new ExportColumn<>("totalLossTimeMinutes", ProductionMaster::getTotalLossTimeMinutes),
+            new ExportColumn<>("productionQuantity", ProductionMaster::getProductionQuantity),
+            new ExportColumn<>("productionLossQuantity", ProductionMaster::getProductionLossQuantity),
+            new ExportColumn<>("totalRejectionQuantity", ProductionMaster::getTotalRejectionQuantity),
+            new ExportColumn<>("operatorEfficiencyPercentage", ProductionMaster::getOperatorEfficiencyPercentage),
+            new ExportColumn<>("equipmentEfficiencyPercentage", ProductionMaster::getEquipmentEfficiencyPercentage),
+            new ExportColumn<>("isValidated", ProductionMaster::getIsValidated)
+    );
+
+    private static final List<ExportColumn<JobCard>> JOB_CARD_COLUMNS = List.of(
+            new ExportColumn<>("id", JobCard::getId),
+            new ExportColumn<>("jobNumber", JobCard::getJobNumber),
+            new ExportColumn<>("templateId", jc -> jc.getTemplate() != null ? jc.getTemplate().getId() : null),
+            new ExportColumn<>("title", JobCard::getTitle),
+            new ExportColumn<>("status", JobCard::getStatus),
+            new ExportColumn<>("priority", JobCard::getPriority),
+            new ExportColumn<>("assignedTo", JobCard::getAssignedTo),
+            new ExportColumn<>("createdBy", JobCard::getCreatedBy),
+            new ExportColumn<>("estimatedDurationMinutes", JobCard::getEstimatedDurationMinutes),
+            new ExportColumn<>("actualDurationMinutes", JobCard::getActualDurationMinutes),
+            new ExportColumn<>("targetCompletionDate", JobCard::getTargetCompletionDate),
+            new ExportColumn<>("startedAt", JobCard::getStartedAt),
+            new ExportColumn<>("completedAt", JobCard::getCompletedAt),
+            new ExportColumn<>("createdAt", JobCard::getCreatedAt)
+    );
+
+    private final ProductionMasterRepository productionMasterRepository;
+    private final JobCardRepository jobCardRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @LogExecutionTime
+    @Transactional(readOnly = true)
+    public long exportProduction(LocalDate startDate, LocalDate endDate, ExportFormat format, OutputStream out) {
+        validateExportRange(startDate, endDate);
+        log.debug("Exporting production records from {} to {} as {}", startDate, endDate, format);
+
+        try (Stream<ProductionMaster> rows =
+                     productionMasterRepository.streamByEntryDateBetweenOrderByEntryDateAscIdAsc(startDate, endDate)) {
+            long count = writeRows(rows, PRODUCTION_COLUMNS, format, out);
+            log.info("Exported {} production records from {} to {}", count, startDate, endDate);
+            return count;
+        }
+    }
+
+    @LogExecutionTime
+    @Transactional(readOnly = true)
+    public long exportJobCards(LocalDate startDate, LocalDate endDate, ExportFormat format, OutputStream out) {
+        validateExportRange(startDate, endDate);
+        log.debug("Exporting job cards created from {} to {} as {}", startDate, endDate, format);
+
+        try (Stream<JobCard> rows = jobCardRepository.streamByCreatedAtBetweenOrderByCreatedAtAscIdAsc(
+                startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay().minusNanos(1))) {
+            long count = writeRows(rows, JOB_CARD_COLUMNS, format, out);
+            log.info("Exported {} job cards created from {} to {}", count, startDate, endDate);
+            return count;
+        }
+    }
+
+    private <T> long writeRows(Stream<T> rows, List<ExportColumn<T>> columns, ExportFormat format, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long[] count = {0};
+
+        try {
+            if (format == ExportFormat.CSV) {
+                writer.write(csvHeader(columns));
+                writer.flush();
+            }
+
+            rows.forEach(row -> {
+                try {
+                    writer.write(format == ExportFormat.CSV ? csvLine(row, columns) : jsonLine(row, columns));
+                    entityManager.detach(row);
+
+                    if (++count[0] == 1 || count[0] % FLUSH_EVERY_ROWS == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            writer.flush();
+        } catch (IOException | UncheckedIOException e) {
+            // Usually the client went away; there is nobody left to report an error to
+            log.warn("Export aborted after {} rows: {}", count[0], e.getMessage());
+        }
+
+        return count[0];
+    }
+
+    private <T> String csvHeader(List<ExportColumn<T>> columns) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) line.append(',');
+            line.append(columns.get(i).name());
+        }
+        return line.append('\n').toString();
+    }
+
+    private <T> String csvLine(T row, List<ExportColumn<T>> columns) {
+        StringBuilder line = new StringBuilder(256);
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) line.append(',');
+            Object value = columns.get(i).extractor().apply(row);
+            if (value != null) {
+                line.append(escapeCsv(value.toString()));
+            }
+        }
+        return line.append('\n').toString();
+    }
+
+    private <T> String jsonLine(T row, List<ExportColumn<T>> columns) throws IOException {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (ExportColumn<T> column : columns) {
+            values.put(column.name(), column.extractor().apply(row));
+        }
+        return objectMapper.writeValueAsString(values) + "\n";
+    }
+
+    private String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    public void validateExportRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new BusinessException("Both start date and end date are required for export");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new BusinessException("Start date must not be after end date");
+        }
+        if (startDate.plusDays(MAX_EXPORT_RANGE_DAYS).isBefore(endDate)) {
+            throw new BusinessException("Export range must not exceed " + MAX_EXPORT_RANGE_DAYS + " days");
+        }
+    }
+
+    private record ExportColumn<T>(String name, Function<T, Object> extractor) {
+    }
+}
@@ -6,7 +6,9 @@ import com.protomil.core.jobcard.domain.Machine;
 import com.protomil.core.jobcard.domain.enums.JobStatus;
 import com.protomil.core.jobcard.dto.JobAssignmentRequest;
 import com.protomil.core.jobcard.dto.JobCardResponse;
+import com.protomil.core.jobcard.dto.JobCardTransitionGuard;
 import com.protomil.core.jobcard.events.JobCardAssignedEvent;
+import com.protomil.core.jobcard.events.JobCardStatusChangedEvent;
 import com.protomil.core.jobcard.exception.JobCardNotFoundException;
 import com.protomil.core.jobcard.mapper.JobCardMapper;
 import com.protomil.core.jobcard.repository.JobCardAssignmentRepository;
@@ -18,6 +20,7 @@ import com.protomil.core.shared.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -35,14 +38,29 @@ public class JobAssignmentService {
     private final MachineRepository machineRepository;
     private final JobCardMapper jobCardMapper;
     private final ApplicationEventPublisher eventPublisher;
+    private final JobCardIdempotencyService idempotencyService;
 
     @LogExecutionTime
     public JobCardResponse assignJobCard(Long jobCardId, JobAssignmentRequest request) {
+        return assignJobCard(jobCardId, request, JobCardTransitionGuard.NONE);
+    }
+
+    @LogExecutionTime
+    public JobCardResponse assignJobCard(Long jobCardId, JobAssignmentRequest request, JobCardTransitionGuard guard) {
         log.debug("Assigning job card {} to user {}", jobCardId, request.getAssignedTo());
 
+        if (!idempotencyService.claim(guard.idempotencyKey(), jobCardId, "ASSIGN")) {
+            return jobCardMapper.toResponse(jobCardRepository.findById(jobCardId)
+                    .orElseThrow(() -> new JobCardNotFoundException("Job card not found with ID: " + jobCardId)));
+        }
+
         JobCard jobCard = jobCardRepository.findById(jobCardId)
                 .orElseThrow(() -> new JobCardNotFoundException("Job card not found with ID: " + jobCardId));
 
+        if (guard.expectedVersion() != null && !guard.expectedVersion().equals(jobCard.getVersion())) {
+            throw JobCardServiceImpl.concurrentModification(jobCardId, null);
+        }
+
         if (!jobCard.canBeAssigned()) {
             throw new BusinessException(
                     String.format("Cannot assign job card in status %s", jobCard.getStatus())
@@ -76,17 +94,23 @@ public class JobAssignmentService {
         assignmentRepository.save(assignment);
 
         // Update job card
+        JobStatus previousStatus = jobCard.getStatus();
         jobCard.setAssignedTo(request.getAssignedTo());
         jobCard.setStatus(JobStatus.ASSIGNED);
 
-        JobCard savedJobCard = jobCardRepository.save(jobCard);
+        JobCard savedJobCard;
+        try {
+            savedJobCard = jobCardRepository.saveAndFlush(jobCard);
+        } catch (OptimisticLockingFailureException e) {
+            throw JobCardServiceImpl.concurrentModification(jobCardId, e);
+        }
 
         log.info("Assigned job card {} to user {}", jobCard.getJobNumber(), request.getAssignedTo());
 
         // Publish assignment event
-        eventPublisher.publishEvent(new JobCardAssignedEvent(
-                this, savedJobCard, request.getAssignedTo(), machine
-        ));
+        eventPublisher.publishEvent(JobCardAssignedEvent.of(savedJobCard, request.getAssignedTo(), machine));
+        eventPublisher.publishEvent(JobCardStatusChangedEvent.of(savedJobCard, previousStatus, JobStatus.ASSIGNED,
+                SecurityUtils.getUserIdForAudit(), request.getAssignmentReason()));
 
         return jobCardMapper.toResponse(savedJobCard);
     }
@@ -107,7 +131,8 @@ public class JobAssignmentService {
 
         // Update job card
         jobCard.setAssignedTo(null);
-        if (jobCard.getStatus() == JobStatus.ASSIGNED) {
+        boolean returnedToReady = jobCard.getStatus() == JobStatus.ASSIGNED;
+        if (returnedToReady) {
             jobCard.setStatus(JobStatus.READY);
         }
 
@@ -115,6 +140,11 @@ public class JobAssignmentService {
 
         log.info("Unassigned job card {} - Reason: {}", jobCard.getJobNumber(), reason);
 
+        if (returnedToReady) {
+            eventPublisher.publishEvent(JobCardStatusChangedEvent.of(
+                    savedJobCard, JobStatus.ASSIGNED, JobStatus.READY, SecurityUtils.getUserIdForAudit(), reason));
+        }
+
         return jobCardMapper.toResponse(savedJobCard);
     }
 
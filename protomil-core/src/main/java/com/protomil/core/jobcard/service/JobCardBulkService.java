@@ -0,0 +1,444 @@
+package com.protomil.core.jobcard.service;
+
+import com.protomil.core.jobcard.domain.JobCard;
+import com.protomil.core.jobcard.domain.JobCardAssignment;
+import com.protomil.core.jobcard.domain.JobCardTemplate;
+import com.protomil.core.jobcard.domain.Machine;
+import com.protomil.core.jobcard.domain.enums.JobStatus;
+import com.protomil.core.jobcard.dto.BulkJobCardAssignRequest;
+import com.protomil.core.jobcard.dto.BulkOperationResponse;
+import com.protomil.core.jobcard.dto.BulkOperationResponse.ItemResult;
+import com.protomil.core.jobcard.dto.JobCardCreateRequest;
+import com.protomil.core.jobcard.events.JobCardAssignedEvent;
+import com.protomil.core.jobcard.events.JobCardBatchEvent;
+import com.protomil.core.jobcard.events.JobCardCompletedEvent;
+import com.protomil.core.jobcard.events.JobCardCreatedEvent;
+import com.protomil.core.jobcard.events.JobCardStatusChangedEvent;
+import com.protomil.core.jobcard.exception.InvalidJobStatusTransitionException;
+import com.protomil.core.jobcard.repository.JobCardAssignmentRepository;
+import com.protomil.core.jobcard.repository.JobCardRepository;
+import com.protomil.core.jobcard.repository.JobCardTemplateRepository;
+import com.protomil.core.jobcard.repository.JobCardTransitionRepository;
+import com.protomil.core.jobcard.repository.JobCardTransitionRepository.StatusSnapshot;
+import com.protomil.core.jobcard.repository.JobCardTransitionRepository.TransitionedJobCard;
+import com.protomil.core.jobcard.repository.JobCardTransitionRepository.WorkflowContext;
+import com.protomil.core.jobcard.repository.MachineRepository;
+import com.protomil.core.shared.constants.ErrorCodes;
+import com.protomil.core.shared.exception.AuthorizationException;
+import com.protomil.core.shared.exception.BusinessException;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import com.protomil.core.shared.security.SecurityUtils;
+import com.protomil.core.workflow.service.WorkflowExecutionService.PlannedStep;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk job card operations. Items are processed in chunks of {@code chunk-size}, each in its own
+ * transaction with one batched load and one batched write. Each chunk publishes a single
+ * {@link JobCardBatchEvent}. Item-level rule violations are reported per item. A chunk that fails as a
+ * whole (for example a concurrent modification at flush) is rolled back and all its items are reported
+ * as failed, while earlier chunks stay committed.
+ */
+@Service
+@Slf4j
+public class JobCardBulkService {
+
+    @FunctionalInterface
+    private interface ChunkProcessor<T> {
+        ItemResult[] process(List<T> chunk, int offset);
+    }
+
+    private final JobCardRepository jobCardRepository;
+    private final JobCardTemplateRepository templateRepository;
+    private final JobCardAssignmentRepository assignmentRepository;
+    private final MachineRepository machineRepository;
+    private final JobCardTransitionRepository transitionRepository;
+    private final JobWorkflowService jobWorkflowService;
+    private final JobNumberService jobNumberService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public JobCardBulkService(JobCardRepository jobCardRepository,
+                              JobCardTemplateRepository templateRepository,
+                              JobCardAssignmentRepository assignmentRepository,
+                              MachineRepository machineRepository,
+                              JobCardTransitionRepository transitionRepository,
+                              JobWorkflowService jobWorkflowService,
+                              JobNumberService jobNumberService,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${protomil.job-cards.bulk.chunk-size:200}") int chunkSize) {
+        this.jobCardRepository = jobCardRepository;
+        this.templateRepository = templateRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.machineRepository = machineRepository;
+        this.transitionRepository = transitionRepository;
+        this.jobWorkflowService = jobWorkflowService;
+        this.jobNumberService = jobNumberService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @LogExecutionTime
+    public BulkOperationResponse createJobCards(List<JobCardCreateRequest> requests) {
+        log.debug("Bulk creating {} job cards", requests.size());
+        return runInChunks("create", requests, request -> null, this::createChunk);
+    }
+
+    @LogExecutionTime
+    public BulkOperationResponse assignJobCards(List<BulkJobCardAssignRequest.Assignment> assignments) {
+        log.debug("Bulk assigning {} job cards", assignments.size());
+        requireDistinct(assignments.stream().map(BulkJobCardAssignRequest.Assignment::getJobCardId).toList());
+        return runInChunks("assign", assignments, BulkJobCardAssignRequest.Assignment::getJobCardId, this::assignChunk);
+    }
+
+    @LogExecutionTime
+    public BulkOperationResponse changeStatus(List<Long> jobCardIds, JobStatus newStatus, String reason) {
+        if (newStatus == null) {
+            throw new BusinessException("Target status is required");
+        }
+        log.debug("Bulk changing {} job cards to {} for reason: {}", jobCardIds.size(), newStatus, reason);
+        requireDistinct(jobCardIds);
+
+        UUID changedBy = SecurityUtils.getUserIdForAudit();
+        return runInChunks("status change to " + newStatus, jobCardIds, Function.identity(),
+                (chunk, offset) -> transitionChunk(chunk, offset, null, newStatus, changedBy, reason,
+                        status -> String.format("Cannot transition from %s to %s", status, newStatus)));
+    }
+
+    @LogExecutionTime
+    public BulkOperationResponse cancelJobCards(List<Long> jobCardIds, String reason) {
+        log.debug("Bulk cancelling {} job cards for reason: {}", jobCardIds.size(), reason);
+        requireDistinct(jobCardIds);
+
+        UUID changedBy = SecurityUtils.getUserIdForAudit();
+        return runInChunks("cancel", jobCardIds, Function.identity(),
+                (chunk, offset) -> transitionChunk(chunk, offset, JobCardServiceImpl.CANCELLABLE_STATUSES,
+                        JobStatus.CANCELLED, changedBy, reason,
+                        status -> String.format("Cannot cancel job card in final status %s", status)));
+    }
+
+    private ItemResult[] createChunk(List<JobCardCreateRequest> chunk, int offset) {
+        ItemResult[] results = new ItemResult[chunk.size()];
+        Set<Long> templateIds = chunk.stream().map(JobCardCreateRequest::getTemplateId).collect(Collectors.toSet());
+        Map<Long, JobCardTemplate> templates = templateRepository.findAllById(templateIds).stream()
+                .collect(Collectors.toMap(JobCardTemplate::getId, Function.identity()));
+        UUID createdBy = SecurityUtils.getCurrentUserId();
+
+        List<JobCard> toSave = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            JobCardCreateRequest request = chunk.get(i);
+            JobCardTemplate template = templates.get(request.getTemplateId());
+            if (template == null) {
+                results[i] = ItemResult.failure(offset + i, null, ErrorCodes.RESOURCE_NOT_FOUND,
+                        "Template not found with ID: " + request.getTemplateId());
+                continue;
+            }
+            if (!Boolean.TRUE.equals(template.getIsActive())) {
+                results[i] = ItemResult.failure(offset + i, null, ErrorCodes.BUSINESS_RULE_VIOLATION,
+                        "Cannot create job card from inactive template");
+                continue;
+            }
+
+            toSave.add(JobCard.builder()
+                    .jobNumber(jobNumberService.generateJobNumber(template.getCategory()))
+                    .template(template)
+                    .title(request.getTitle())
+                    .description(request.getDescription())
+                    .priority(request.getPriority())
+                    .estimatedDurationMinutes(request.getEstimatedDurationMinutes())
+                    .targetCompletionDate(request.getTargetCompletionDate())
+                    .dynamicFields(request.getDynamicFields() != null ? request.getDynamicFields() : Map.of())
+                    .createdBy(createdBy)
+                    .status(JobStatus.DRAFT)
+                    .build());
+            positions.add(i);
+        }
+
+        List<JobCard> saved = jobCardRepository.saveAll(toSave);
+        jobCardRepository.flush();
+
+        List<JobCardCreatedEvent> events = new ArrayList<>(saved.size());
+        for (int j = 0; j < saved.size(); j++) {
+            JobCard jobCard = saved.get(j);
+            int i = positions.get(j);
+            results[i] = success(offset + i, jobCard.getId(), jobCard.getJobNumber(), jobCard.getStatus(),
+                    jobCard.getVersion());
+            events.add(JobCardCreatedEvent.of(jobCard));
+        }
+        publish(JobCardBatchEvent.ofCreated(events));
+        return results;
+    }
+
+    private ItemResult[] assignChunk(List<BulkJobCardAssignRequest.Assignment> chunk, int offset) {
+        ItemResult[] results = new ItemResult[chunk.size()];
+        List<Long> jobCardIds = chunk.stream().map(BulkJobCardAssignRequest.Assignment::getJobCardId).toList();
+        Set<Long> machineIds = chunk.stream()
+                .map(BulkJobCardAssignRequest.Assignment::getMachineId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<Long, JobCard> jobCards = jobCardRepository.findAllById(jobCardIds).stream()
+                .collect(Collectors.toMap(JobCard::getId, Function.identity()));
+        Map<Long, Machine> machines = machineRepository.findAllById(machineIds).stream()
+                .collect(Collectors.toMap(Machine::getId, Function.identity()));
+        Map<Long, JobCardAssignment> activeAssignments = assignmentRepository.findByJobCardIdInAndIsActiveTrue(jobCardIds)
+                .stream()
+                .collect(Collectors.toMap(assignment -> assignment.getJobCard().getId(), Function.identity(),
+                        (first, second) -> first));
+        UUID assignedBy = SecurityUtils.getCurrentUserId();
+
+        List<JobCardAssignment> assignmentWrites = new ArrayList<>();
+        List<JobCard> assigned = new ArrayList<>();
+        List<JobCardAssignedEvent> events = new ArrayList<>();
+        List<JobCardStatusChangedEvent> statusChanges = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            BulkJobCardAssignRequest.Assignment item = chunk.get(i);
+            JobCard jobCard = jobCards.get(item.getJobCardId());
+            if (jobCard == null) {
+                results[i] = ItemResult.failure(offset + i, item.getJobCardId(), ErrorCodes.JOB_CARD_NOT_FOUND,
+                        "Job card not found with ID: " + item.getJobCardId());
+                continue;
+            }
+            if (!jobCard.canBeAssigned()) {
+                results[i] = ItemResult.failure(offset + i, jobCard.getId(), ErrorCodes.JOB_CARD_INVALID_STATUS,
+                        String.format("Cannot assign job card in status %s", jobCard.getStatus()));
+                continue;
+            }
+
+            Machine machine = null;
+            if (item.getMachineId() != null) {
+                machine = machines.get(item.getMachineId());
+                if (machine == null || !machine.isAvailable()) {
+                    results[i] = ItemResult.failure(offset + i, jobCard.getId(), ErrorCodes.EQUIPMENT_NOT_AVAILABLE,
+                            machine == null
+                                    ? "Machine not found with ID: " + item.getMachineId()
+                                    : "Machine " + machine.getMachineCode() + " is not available");
+                    continue;
+                }
+            }
+
+            JobCardAssignment previous = activeAssignments.get(jobCard.getId());
+            if (previous != null) {
+                previous.unassign("Reassigning to new personnel");
+                assignmentWrites.add(previous);
+            }
+            assignmentWrites.add(JobCardAssignment.builder()
+                    .jobCard(jobCard)
+                    .assignedTo(item.getAssignedTo())
+                    .assignedBy(assignedBy)
+                    .machine(machine)
+                    .assignmentReason(item.getAssignmentReason())
+                    .isActive(true)
+                    .build());
+
+            JobStatus previousStatus = jobCard.getStatus();
+            jobCard.setAssignedTo(item.getAssignedTo());
+            jobCard.setStatus(JobStatus.ASSIGNED);
+            assigned.add(jobCard);
+            events.add(JobCardAssignedEvent.of(jobCard, item.getAssignedTo(), machine));
+            statusChanges.add(JobCardStatusChangedEvent.of(jobCard, previousStatus, JobStatus.ASSIGNED, assignedBy,
+                    item.getAssignmentReason()));
+            positions.add(i);
+        }
+
+        assignmentRepository.saveAll(assignmentWrites);
+        jobCardRepository.saveAll(assigned);
+        // Version checks run here; a conflict rolls back the whole chunk
+        jobCardRepository.flush();
+
+        for (int j = 0; j < assigned.size(); j++) {
+            JobCard jobCard = assigned.get(j);
+            int i = positions.get(j);
+            results[i] = success(offset + i, jobCard.getId(), jobCard.getJobNumber(), jobCard.getStatus(),
+                    jobCard.getVersion());
+        }
+        publish(JobCardBatchEvent.ofAssigned(events, statusChanges));
+        return results;
+    }
+
+    /**
+     * Checks each card against its workflow, then moves the cards that pass with one UPDATE per
+     * status they were checked in. Auto-approved steps follow in the same transaction, and the steps are
+     * recorded on the cards' workflow instances in one batch.
+     */
+    private ItemResult[] transitionChunk(List<Long> chunk, int offset, Set<JobStatus> allowedFrom, JobStatus target,
+                                         UUID changedBy, String reason,
+                                         Function<JobStatus, String> rejectionMessage) {
+        ItemResult[] results = new ItemResult[chunk.size()];
+        Map<Long, WorkflowContext> contexts = jobWorkflowService.findContexts(chunk).stream()
+                .collect(Collectors.toMap(WorkflowContext::id, Function.identity()));
+        List<String> roles = SecurityUtils.getCurrentUserRoles();
+
+        Map<Long, PlannedStep<JobStatus>> planned = new HashMap<>();
+        Map<JobStatus, List<Long>> byStatus = new EnumMap<>(JobStatus.class);
+        for (int i = 0; i < chunk.size(); i++) {
+            Long jobCardId = chunk.get(i);
+            WorkflowContext context = contexts.get(jobCardId);
+            if (context == null) {
+                results[i] = ItemResult.failure(offset + i, jobCardId, ErrorCodes.JOB_CARD_NOT_FOUND,
+                        "Job card not found with ID: " + jobCardId);
+                continue;
+            }
+            try {
+                planned.put(jobCardId, jobWorkflowService.plan(context, allowedFrom, target, roles, rejectionMessage));
+                byStatus.computeIfAbsent(context.status(), status -> new ArrayList<>()).add(jobCardId);
+            } catch (InvalidJobStatusTransitionException e) {
+                results[i] = ItemResult.failure(offset + i, jobCardId, ErrorCodes.INVALID_STATE_TRANSITION,
+                        e.getMessage());
+            } catch (AuthorizationException e) {
+                results[i] = ItemResult.failure(offset + i, jobCardId, ErrorCodes.ACCESS_DENIED, e.getMessage());
+            }
+        }
+
+        Map<Long, TransitionedJobCard> transitioned = new HashMap<>();
+        byStatus.forEach((status, jobCardIds) -> transitionRepository
+                .transitionAll(jobCardIds, EnumSet.of(status), target, null, false, changedBy)
+                .forEach(row -> transitioned.put(row.id(), row)));
+
+        // Cards that moved between the check and the UPDATE
+        Set<Long> rejectedIds = new HashSet<>(planned.keySet());
+        rejectedIds.removeAll(transitioned.keySet());
+        Map<Long, StatusSnapshot> rejected = transitionRepository.findStatuses(rejectedIds).stream()
+                .collect(Collectors.toMap(StatusSnapshot::id, Function.identity()));
+
+        List<PlannedStep<JobStatus>> taken = chunk.stream()
+                .filter(transitioned::containsKey)
+                .map(planned::get)
+                .toList();
+        List<TransitionedJobCard> autoApproved = jobWorkflowService.applyAutoApprovals(taken, changedBy);
+        jobWorkflowService.record(taken, changedBy);
+
+        Instant now = Instant.now();
+        List<JobCardStatusChangedEvent> statusChanges = new ArrayList<>(transitioned.size() + autoApproved.size());
+        List<JobCardCompletedEvent> completions = new ArrayList<>();
+        Map<Long, TransitionedJobCard> latest = new HashMap<>(transitioned);
+        for (PlannedStep<JobStatus> step : taken) {
+            addStatusChange(transitioned.get(Long.valueOf(step.entityId())), changedBy, reason, now, statusChanges,
+                    completions);
+        }
+        for (TransitionedJobCard row : autoApproved) {
+            addStatusChange(row, changedBy, "Auto-approved by workflow", now, statusChanges, completions);
+            latest.put(row.id(), row);
+        }
+
+        for (int i = 0; i < chunk.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            Long jobCardId = chunk.get(i);
+            TransitionedJobCard row = latest.get(jobCardId);
+            if (row != null) {
+                results[i] = success(offset + i, row.id(), row.jobNumber(), row.status(), row.version());
+                continue;
+            }
+
+            StatusSnapshot current = rejected.get(jobCardId);
+            results[i] = current == null
+                    ? ItemResult.failure(offset + i, jobCardId, ErrorCodes.JOB_CARD_NOT_FOUND,
+                            "Job card not found with ID: " + jobCardId)
+                    : ItemResult.failure(offset + i, jobCardId, ErrorCodes.INVALID_STATE_TRANSITION,
+                            rejectionMessage.apply(current.status()));
+        }
+
+        publish(JobCardBatchEvent.ofStatusChanges(statusChanges, completions));
+        return results;
+    }
+
+    private static void addStatusChange(TransitionedJobCard row, UUID changedBy, String reason, Instant now,
+                                        List<JobCardStatusChangedEvent> statusChanges,
+                                        List<JobCardCompletedEvent> completions) {
+        statusChanges.add(new JobCardStatusChangedEvent(row.id(), row.jobNumber(), row.previousStatus(),
+                row.status(), changedBy, reason, now));
+        if (row.status() == JobStatus.COMPLETED) {
+            completions.add(new JobCardCompletedEvent(row.id(), row.jobNumber(), row.assignedTo(),
+                    row.estimatedDurationMinutes(), row.actualDurationMinutes(), now));
+        }
+    }
+
+    private <T> BulkOperationResponse runInChunks(String operation, List<T> items, Function<T, Long> jobCardIdOf,
+                                                  ChunkProcessor<T> processor) {
+        List<ItemResult> results = new ArrayList<>(items.size());
+
+        for (int offset = 0; offset < items.size(); offset += chunkSize) {
+            List<T> chunk = items.subList(offset, Math.min(offset + chunkSize, items.size()));
+            int chunkOffset = offset;
+            try {
+                ItemResult[] chunkResults = transactionTemplate.execute(status -> processor.process(chunk, chunkOffset));
+                results.addAll(Arrays.asList(Objects.requireNonNull(chunkResults)));
+            } catch (OptimisticLockingFailureException e) {
+                log.warn("Bulk {} chunk at offset {} hit a concurrent modification and was rolled back",
+                        operation, chunkOffset);
+                results.addAll(failChunk(chunk, chunkOffset, jobCardIdOf, ErrorCodes.CONCURRENT_MODIFICATION,
+                        "Job card was modified by another user; retry this item"));
+            } catch (DataAccessException e) {
+                log.error("Bulk {} chunk at offset {} failed and was rolled back: {}",
+                        operation, chunkOffset, e.getMostSpecificCause().getMessage());
+                results.addAll(failChunk(chunk, chunkOffset, jobCardIdOf, ErrorCodes.DATA_INTEGRITY_VIOLATION,
+                        "Chunk rolled back: " + e.getMostSpecificCause().getMessage()));
+            }
+        }
+
+        BulkOperationResponse response = BulkOperationResponse.of(results);
+        log.info("Bulk {} processed {} job cards: {} succeeded, {} failed",
+                operation, response.getRequested(), response.getSucceeded(), response.getFailed());
+        return response;
+    }
+
+    private <T> List<ItemResult> failChunk(List<T> chunk, int offset, Function<T, Long> jobCardIdOf,
+                                           String errorCode, String message) {
+        List<ItemResult> failures = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            failures.add(ItemResult.failure(offset + i, jobCardIdOf.apply(chunk.get(i)), errorCode, message));
+        }
+        return failures;
+    }
+
+    private ItemResult success(int index, Long jobCardId, String jobNumber, JobStatus status, Long version) {
+        return ItemResult.builder()
+                .index(index)
+                .jobCardId(jobCardId)
+                .jobNumber(jobNumber)
+                .success(true)
+                .status(status)
+                .version(version)
+                .build();
+    }
+
+    private void publish(JobCardBatchEvent event) {
+        if (!event.isEmpty()) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    private void requireDistinct(List<Long> jobCardIds) {
+        if (new HashSet<>(jobCardIds).size() != jobCardIds.size()) {
+            throw new BusinessException("Each job card may appear only once per bulk request");
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.protomil.core.jobcard.service;
+
+import com.protomil.core.jobcard.config.JobCardConfig;
+import com.protomil.core.jobcard.domain.JobCard;
+import com.protomil.core.jobcard.domain.enums.EscalationType;
+import com.protomil.core.jobcard.domain.enums.JobStatus;
+import com.protomil.core.jobcard.events.JobCardBatchEvent;
+import com.protomil.core.jobcard.events.JobCardCreatedEvent;
+import com.protomil.core.jobcard.events.JobCardEscalatedEvent;
+import com.protomil.core.jobcard.events.JobCardStatusChangedEvent;
+import com.protomil.core.jobcard.repository.JobCardRepository;
+import com.protomil.core.jobcard.repository.WorkInstructionRepository;
+import com.protomil.core.shared.timer.DueTimer;
+import com.protomil.core.shared.timer.DurableTimerService;
+import com.protomil.core.shared.timer.DurableTimerService.TimerRequest;
+import com.protomil.core.shared.timer.TimerHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Escalates job cards that miss a deadline: their target completion date, the assignment timeout
+ * ({@code app.jobcard.assignment-timeout}) or the review timeout ({@code app.jobcard.review-timeout}).
+ * Each deadline is a durable timer set and cancelled as the card's events are published, in the
+ * publishing transaction, so nothing polls the overdue queries. A firing timer re-reads its card and
+ * publishes {@link JobCardEscalatedEvent} only if the card is still where the timer left it.
+ */
+@Service
+@Slf4j
+public class JobCardEscalationService implements TimerHandler {
+
+    private static final Set<JobStatus> CLOSED = Set.of(JobStatus.COMPLETED, JobStatus.CANCELLED);
+
+    private final DurableTimerService timerService;
+    private final JobCardRepository jobCardRepository;
+    private final WorkInstructionRepository workInstructionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final JobCardConfig jobCardConfig;
+
+    public JobCardEscalationService(DurableTimerService timerService,
+                                    JobCardRepository jobCardRepository,
+                                    WorkInstructionRepository workInstructionRepository,
+                                    ApplicationEventPublisher eventPublisher,
+                                    MeterRegistry meterRegistry,
+                                    JobCardConfig jobCardConfig) {
+        this.timerService = timerService;
+        this.jobCardRepository = jobCardRepository;
+        this.workInstructionRepository = workInstructionRepository;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.jobCardConfig = jobCardConfig;
+    }
+
+    @Override
+    public Set<String> timerTypes() {
+        return Arrays.stream(EscalationType.values())
+                .map(EscalationType::getTimerType)
+                .collect(Collectors.toSet());
+    }
+
+    @EventListener
+    public void onCreated(JobCardCreatedEvent event) {
+        apply(deadlines(List.of(event), List.of()));
+    }
+
+    @EventListener
+    public void onStatusChanged(JobCardStatusChangedEvent event) {
+        apply(deadlines(List.of(), List.of(event)));
+    }
+
+    @EventListener
+    public void onBatch(JobCardBatchEvent event) {
+        apply(deadlines(event.created(), event.statusChanges()));
+    }
+
+    /** Moves a card's overdue escalation to its new target completion date. */
+    public void rescheduleOverdue(Long jobCardId, LocalDateTime targetCompletionDate) {
+        Map<Deadline, LocalDateTime> deadlines = new LinkedHashMap<>();
+        deadlines.put(new Deadline(EscalationType.OVERDUE, jobCardId), targetCompletionDate);
+        apply(deadlines);
+    }
+
+    @Override
+    public void fire(DueTimer timer) {
+        EscalationType type = EscalationType.fromTimerType(timer.timerType());
+        JobCard jobCard = jobCardRepository.findById(Long.valueOf(timer.timerKey())).orElse(null);
+        if (jobCard == null || !stillApplies(type, jobCard)) {
+            log.debug("Job card {} no longer needs {} escalation", timer.timerKey(), type);
+            return;
+        }
+
+        long openInstructions = type == EscalationType.OVERDUE
+                ? workInstructionRepository.countByJobCardIdAndCompletedAtIsNull(jobCard.getId())
+                : 0L;
+        eventPublisher.publishEvent(JobCardEscalatedEvent.of(jobCard, type, timer.dueAt(), openInstructions));
+        meterRegistry.counter("protomil.jobcard.escalations", "type", type.name()).increment();
+        log.warn("Job card {} escalated: {} (due {}, status {})", jobCard.getJobNumber(),
+                type.getDescription(), timer.dueAt(), jobCard.getStatus());
+    }
+
+    private record Deadline(EscalationType type, Long jobCardId) {
+    }
+
+    /**
+     * Works out the deadlines the events set (a due time) or clear (null), the last event of a card
+     * winning.
+     */
+    private Map<Deadline, LocalDateTime> deadlines(List<JobCardCreatedEvent> created,
+                                                   List<JobCardStatusChangedEvent> statusChanges) {
+        Map<Deadline, LocalDateTime> deadlines = new LinkedHashMap<>();
+        for (JobCardCreatedEvent event : created) {
+            if (event.targetCompletionDate() != null) {
+                deadlines.put(new Deadline(EscalationType.OVERDUE, event.jobCardId()), event.targetCompletionDate());
+            }
+        }
+        for (JobCardStatusChangedEvent event : statusChanges) {
+            LocalDateTime changedAt = LocalDateTime.ofInstant(event.occurredAt(), ZoneId.systemDefault());
+            if (event.previousStatus() == JobStatus.ASSIGNED) {
+                deadlines.put(new Deadline(EscalationType.ASSIGNMENT_TIMEOUT, event.jobCardId()), null);
+            } else if (event.previousStatus() == JobStatus.PENDING_REVIEW) {
+                deadlines.put(new Deadline(EscalationType.REVIEW_TIMEOUT, event.jobCardId()), null);
+            }
+
+            if (event.newStatus() == JobStatus.ASSIGNED) {
+                deadlines.put(new Deadline(EscalationType.ASSIGNMENT_TIMEOUT, event.jobCardId()),
+                        changedAt.plusHours(jobCardConfig.getAssignmentTimeout()));
+            } else if (event.newStatus() == JobStatus.PENDING_REVIEW) {
+                deadlines.put(new Deadline(EscalationType.REVIEW_TIMEOUT, event.jobCardId()),
+                        changedAt.plusHours(jobCardConfig.getReviewTimeout()));
+            } else if (CLOSED.contains(event.newStatus())) {
+                deadlines.put(new Deadline(EscalationType.OVERDUE, event.jobCardId()), null);
+            }
+        }
+        return deadlines;
+    }
+
+    private void apply(Map<Deadline, LocalDateTime> deadlines) {
+        if (deadlines.isEmpty()) {
+            return;
+        }
+        List<TimerRequest> scheduled = new ArrayList<>();
+        Map<EscalationType, List<String>> cancelled = new EnumMap<>(EscalationType.class);
+        deadlines.forEach((deadline, dueAt) -> {
+            String timerKey = deadline.jobCardId().toString();
+            if (dueAt != null) {
+                scheduled.add(TimerRequest.of(deadline.type().getTimerType(), timerKey, dueAt));
+            } else {
+                cancelled.computeIfAbsent(deadline.type(), type -> new ArrayList<>()).add(timerKey);
+            }
+        });
+
+        timerService.schedule(scheduled);
+        cancelled.forEach((type, timerKeys) -> timerService.cancel(type.getTimerType(), timerKeys));
+    }
+
+    private static boolean stillApplies(EscalationType type, JobCard jobCard) {
+        return switch (type) {
+            case OVERDUE -> !CLOSED.contains(jobCard.getStatus())
+                    && jobCard.getTargetCompletionDate() != null
+                    && !jobCard.getTargetCompletionDate().isAfter(LocalDateTime.now());
+            case ASSIGNMENT_TIMEOUT -> jobCard.getStatus() == JobStatus.ASSIGNED;
+            case REVIEW_TIMEOUT -> jobCard.getStatus() == JobStatus.PENDING_REVIEW;
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.protomil.core.jobcard.service;
+
+import com.protomil.core.jobcard.domain.JobCardIdempotencyKey;
+import com.protomil.core.jobcard.exception.IdempotencyKeyReusedException;
+import com.protomil.core.jobcard.repository.JobCardIdempotencyKeyRepository;
+import com.protomil.core.shared.exception.BusinessException;
+import com.protomil.core.shared.security.SecurityUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Claims idempotency keys for job card transitions inside the caller's transaction. The first request
+ * with a key performs the transition; a retry by the same user with the same key, job card and operation
+ * is a replay and must return the current state without transitioning again. Keys are scoped to the user
+ * who claimed them, so one user's key never replays another user's request.
+ */
+@Service
+@Slf4j
+public class JobCardIdempotencyService {
+
+    private final JobCardIdempotencyKeyRepository keyRepository;
+    private final Duration retention;
+
+    public JobCardIdempotencyService(JobCardIdempotencyKeyRepository keyRepository,
+                                     @Value("${protomil.job-cards.idempotency-key-retention:PT48H}") Duration retention) {
+        this.keyRepository = keyRepository;
+        this.retention = retention;
+    }
+
+    /**
+     * @return {@code true} if the transition should run, {@code false} if the key was already used for
+     * this job card and operation by the same user and the request is a replay
+     * @throws IdempotencyKeyReusedException if the key was claimed for another job card, operation or user
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean claim(String idempotencyKey, Long jobCardId, String operation) {
+        if (idempotencyKey == null) {
+            return true;
+        }
+
+        UUID userId = SecurityUtils.getUserIdForAudit();
+        int claimed = keyRepository.claim(idempotencyKey, jobCardId, operation, userId);
+        if (claimed == 1) {
+            return true;
+        }
+
+        JobCardIdempotencyKey existing = keyRepository.findById(idempotencyKey)
+                .orElseThrow(() -> new BusinessException("Idempotency key " + idempotencyKey + " could not be claimed"));
+        if (!Objects.equals(existing.getCreatedBy(), userId)) {
+            throw new IdempotencyKeyReusedException("Idempotency key " + idempotencyKey
+                    + " was already used by another user");
+        }
+        if (!existing.getJobCardId().equals(jobCardId) || !existing.getOperation().equals(operation)) {
+            throw new IdempotencyKeyReusedException(String.format(
+                    "Idempotency key %s was already used for %s on job card %d",
+                    idempotencyKey, existing.getOperation(), existing.getJobCardId()));
+        }
+
+        log.info("Replaying {} on job card {} for idempotency key {}", operation, jobCardId, idempotencyKey);
+        return false;
+    }
+
+    @Scheduled(cron = "${protomil.job-cards.idempotency-key-cleanup-cron:0 15 2 * * *}")
+    @Transactional
+    public void purgeExpiredKeys() {
+        int deleted = keyRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Purged {} job card idempotency keys older than {}", deleted, retention);
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.protomil.core.jobcard.service;
+
+import com.protomil.core.jobcard.domain.enums.JobStatus;
+import com.protomil.core.jobcard.dto.JobCardBoardDelta;
+import com.protomil.core.jobcard.events.JobCardAssignedEvent;
+import com.protomil.core.jobcard.events.JobCardBatchEvent;
+import com.protomil.core.jobcard.events.JobCardCreatedEvent;
+import com.protomil.core.jobcard.events.JobCardStatusChangedEvent;
+import com.protomil.core.jobcard.repository.JobCardAssignmentRepository;
+import com.protomil.core.shared.async.AsyncExecutors;
+import com.protomil.core.shared.events.AfterCommit;
+import com.protomil.core.shared.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes job card changes to live status boards over server-sent events. Committed events are matched
+ * against each subscriber's filter and coalesced per job card into a bounded pending set, which is
+ * flushed as one batch every {@code coalesce-window-ms}. A subscriber that falls more than
+ * {@code max-pending-per-subscriber} job cards behind gets a single {@code resync} event instead of the
+ * backlog. Sends run on the live board virtual-thread executor, so a slow client only parks its own thread.
+ * <p>
+ * A card that is unassigned or reassigned is also sent to the boards that matched its previous assignment,
+ * carrying its new one; a delta that no longer matches a board's filter means the card left that board.
+ * When the previous assignment is not cached (after a restart or eviction) the delta goes to every board.
+ * Pushes are best effort and kept out of the event_publication outbox: a board that reconnects reloads.
+ */
+@Service
+@Slf4j
+public class JobCardLiveBoardService {
+
+    private static final String BATCH_EVENT = "job-cards";
+    private static final String RESYNC_EVENT = "resync";
+    private static final String CONNECTED_EVENT = "connected";
+    private static final int MAX_CACHED_CONTEXTS = 50_000;
+
+    public record BoardFilter(String sectionCode, String machineCode, UUID assignedTo) {
+
+        public boolean isUnfiltered() {
+            return sectionCode == null && machineCode == null && assignedTo == null;
+        }
+
+        public boolean matches(JobCardBoardDelta delta) {
+            return matches(delta.getSectionCode(), delta.getMachineCode(), delta.getAssignedTo());
+        }
+
+        private boolean matches(String section, String machine, UUID assignee) {
+            return (sectionCode == null || sectionCode.equalsIgnoreCase(section))
+                    && (machineCode == null || machineCode.equalsIgnoreCase(machine))
+                    && (assignedTo == null || assignedTo.equals(assignee));
+        }
+    }
+
+    private record BoardContext(UUID assignedTo, String machineCode, String sectionCode) {
+        private static final BoardContext UNASSIGNED = new BoardContext(null, null, null);
+    }
+
+    private final JobCardAssignmentRepository assignmentRepository;
+    private final AsyncTaskExecutor executor;
+    private final int maxSubscribers;
+    private final int maxPendingPerSubscriber;
+    private final long emitterTimeoutMs;
+    private final long heartbeatMs;
+
+    private final Map<UUID, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final Map<Long, BoardContext> contexts = Collections.synchronizedMap(
+            new LinkedHashMap<>(1024, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, BoardContext> eldest) {
+                    return size() > MAX_CACHED_CONTEXTS;
+                }
+            });
+    private final AtomicLong eventSequence = new AtomicLong();
+    private final Counter deltasSent;
+    private final Counter resyncs;
+
+    public JobCardLiveBoardService(JobCardAssignmentRepository assignmentRepository,
+                                   @Qualifier(AsyncExecutors.LIVE_BOARD) AsyncTaskExecutor executor,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${protomil.live-board.max-subscribers:5000}") int maxSubscribers,
+                                   @Value("${protomil.live-board.max-pending-per-subscriber:500}") int maxPendingPerSubscriber,
+                                   @Value("${protomil.live-board.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                                   @Value("${protomil.live-board.heartbeat-ms:20000}") long heartbeatMs) {
+        this.assignmentRepository = assignmentRepository;
+        this.executor = executor;
+        this.maxSubscribers = maxSubscribers;
+        this.maxPendingPerSubscriber = maxPendingPerSubscriber;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.heartbeatMs = heartbeatMs;
+
+        Gauge.builder("protomil.live_board.subscribers", subscribers, Map::size)
+                .description("Open live board SSE connections")
+                .register(meterRegistry);
+        this.deltasSent = Counter.builder("protomil.live_board.deltas.sent")
+                .description("Job card deltas delivered to live board subscribers")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("protomil.live_board.resyncs")
+                .description("Subscribers told to reload because they fell too far behind")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(BoardFilter filter) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new BusinessException("Live board subscriber limit reached, please retry later");
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(UUID.randomUUID(), filter, emitter, maxPendingPerSubscriber);
+        subscribers.put(subscriber.id, subscriber);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber.id));
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber.id);
+            emitter.complete();
+        });
+        emitter.onError(e -> subscribers.remove(subscriber.id));
+
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(CONNECTED_EVENT)
+                    .data(Map.of("subscriptionId", subscriber.id), MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            subscribers.remove(subscriber.id);
+            emitter.completeWithError(e);
+        }
+
+        log.debug("Live board subscriber {} connected with filter {}", subscriber.id, filter);
+        return emitter;
+    }
+
+    @EventListener
+    public void handleJobCardCreated(JobCardCreatedEvent event) {
+        AfterCommit.run(() -> dispatch(() -> onCreated(event)));
+    }
+
+    @EventListener
+    public void handleJobCardAssigned(JobCardAssignedEvent event) {
+        AfterCommit.run(() -> dispatch(() -> onAssigned(event)));
+    }
+
+    @EventListener
+    public void handleJobCardStatusChanged(JobCardStatusChangedEvent event) {
+        AfterCommit.run(() -> dispatch(() -> onStatusChanged(event)));
+    }
+
+    @EventListener
+    public void handleJobCardBatch(JobCardBatchEvent event) {
+        AfterCommit.run(() -> dispatch(() -> {
+            event.created().forEach(this::onCreated);
+            event.assigned().forEach(this::onAssigned);
+            event.statusChanges().forEach(this::onStatusChanged);
+        }));
+    }
+
+    private void onCreated(JobCardCreatedEvent event) {
+        contexts.put(event.jobCardId(), BoardContext.UNASSIGNED);
+
+        publish(BoardContext.UNASSIGNED, JobCardBoardDelta.builder()
+                .jobCardId(event.jobCardId())
+                .jobNumber(event.jobNumber())
+                .changeType(JobCardBoardDelta.ChangeType.CREATED)
+                .status(JobStatus.DRAFT)
+                .occurredAt(event.occurredAt())
+                .build());
+    }
+
+    private void onAssigned(JobCardAssignedEvent event) {
+        BoardContext context = new BoardContext(event.assignedUserId(), event.machineCode(), event.sectionCode());
+        BoardContext previous = contexts.put(event.jobCardId(), context);
+
+        publish(previous, JobCardBoardDelta.builder()
+                .jobCardId(event.jobCardId())
+                .jobNumber(event.jobNumber())
+                .changeType(JobCardBoardDelta.ChangeType.ASSIGNED)
+                .status(JobStatus.ASSIGNED)
+                .assignedTo(context.assignedTo())
+                .machineCode(context.machineCode())
+                .sectionCode(context.sectionCode())
+                .occurredAt(event.occurredAt())
+                .build());
+    }
+
+    private void onStatusChanged(JobCardStatusChangedEvent event) {
+        JobStatus newStatus = event.newStatus();
+        BoardContext previous;
+        BoardContext context;
+        if (isUnassigned(newStatus)) {
+            // The assignment is already gone from the database, so only the cache knows the old board
+            previous = contexts.put(event.jobCardId(), BoardContext.UNASSIGNED);
+            context = BoardContext.UNASSIGNED;
+        } else {
+            context = resolveContext(event.jobCardId());
+            previous = context;
+        }
+        if (newStatus.isFinalStatus()) {
+            contexts.remove(event.jobCardId());
+        }
+
+        publish(previous, JobCardBoardDelta.builder()
+                .jobCardId(event.jobCardId())
+                .jobNumber(event.jobNumber())
+                .changeType(JobCardBoardDelta.ChangeType.STATUS_CHANGED)
+                .status(newStatus)
+                .previousStatus(event.previousStatus())
+                .assignedTo(context.assignedTo())
+                .machineCode(context.machineCode())
+                .sectionCode(context.sectionCode())
+                .occurredAt(event.occurredAt())
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${protomil.live-board.coalesce-window-ms:500}")
+    public void flushSubscribers() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers.values()) {
+            boolean due = subscriber.hasPending() || now - subscriber.lastSentAt >= heartbeatMs;
+            if (!due || !subscriber.sending.compareAndSet(false, true)) {
+                // Nothing to send, or the previous flush is still writing to a slow client
+                continue;
+            }
+            try {
+                executor.execute(() -> deliver(subscriber));
+            } catch (TaskRejectedException e) {
+                subscriber.sending.set(false);
+                log.debug("Live board executor saturated, deferring flush for subscriber {}", subscriber.id);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void closeSubscribers() {
+        subscribers.values().forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void dispatch(Runnable work) {
+        // Context lookups may hit the database, so keep them off the committing thread when possible
+        try {
+            executor.execute(work);
+        } catch (TaskRejectedException e) {
+            work.run();
+        }
+    }
+
+    /**
+     * Offers the delta to every board showing the card now or under {@code previous}, its context before
+     * this change; {@code null} means that context is unknown and every board gets the delta.
+     */
+    private void publish(BoardContext previous, JobCardBoardDelta delta) {
+        for (Subscriber subscriber : subscribers.values()) {
+            BoardFilter filter = subscriber.filter;
+            if (filter.matches(delta) || previous == null
+                    || filter.matches(previous.sectionCode(), previous.machineCode(), previous.assignedTo())) {
+                subscriber.offer(delta);
+            }
+        }
+    }
+
+    private static boolean isUnassigned(JobStatus status) {
+        return status == JobStatus.READY || status == JobStatus.DRAFT;
+    }
+
+    private BoardContext resolveContext(Long jobCardId) {
+        BoardContext cached = contexts.get(jobCardId);
+        if (cached != null && cached != BoardContext.UNASSIGNED) {
+            // An unassigned entry may predate an assignment whose event has not been handled yet
+            return cached;
+        }
+        if (subscribers.values().stream().allMatch(subscriber -> subscriber.filter.isUnfiltered())) {
+            // Nobody filters on assignment, so skip the lookup
+            return BoardContext.UNASSIGNED;
+        }
+
+        List<Object[]> rows = assignmentRepository.findActiveAssignmentContext(jobCardId);
+        BoardContext context = rows.isEmpty()
+                ? BoardContext.UNASSIGNED
+                : new BoardContext((UUID) rows.get(0)[0], (String) rows.get(0)[1], (String) rows.get(0)[2]);
+        contexts.put(jobCardId, context);
+        return context;
+    }
+
+    private void deliver(Subscriber subscriber) {
+        try {
+            Subscriber.Batch batch = subscriber.drain();
+            if (batch.resync()) {
+                resyncs.increment();
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(eventSequence.incrementAndGet()))
+                        .name(RESYNC_EVENT)
+                        .data(Map.of("reason", "Too many pending changes, reload the board"), MediaType.APPLICATION_JSON));
+            } else if (!batch.deltas().isEmpty()) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(eventSequence.incrementAndGet()))
+                        .name(BATCH_EVENT)
+                        .data(batch.deltas(), MediaType.APPLICATION_JSON));
+                deltasSent.increment(batch.deltas().size());
+            } else {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+            subscriber.lastSentAt = System.currentTimeMillis();
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the container completes the emitter
+            subscribers.remove(subscriber.id);
+            log.debug("Dropped live board subscriber {}: {}", subscriber.id, e.getMessage());
+        } finally {
+            subscriber.sending.set(false);
+        }
+    }
+
+    private static JobCardBoardDelta merge(JobCardBoardDelta existing, JobCardBoardDelta incoming) {
+        // Async delivery can reorder events; the later change wins but keeps assignment details it lacks,
+        // unless it is the unassignment that cleared them
+        boolean incomingIsNewer = existing.getOccurredAt() == null || incoming.getOccurredAt() == null
+                || !incoming.getOccurredAt().isBefore(existing.getOccurredAt());
+        JobCardBoardDelta newer = incomingIsNewer ? incoming : existing;
+        JobCardBoardDelta older = incomingIsNewer ? existing : incoming;
+        if (newer.getChangeType() == JobCardBoardDelta.ChangeType.STATUS_CHANGED && isUnassigned(newer.getStatus())) {
+            return newer;
+        }
+
+        return newer.toBuilder()
+                .assignedTo(newer.getAssignedTo() != null ? newer.getAssignedTo() : older.getAssignedTo())
+                .machineCode(newer.getMachineCode() != null ? newer.getMachineCode() : older.getMachineCode())
+                .sectionCode(newer.getSectionCode() != null ? newer.getSectionCode() : older.getSectionCode())
+                .build();
+    }
+
+    private static final class Subscriber {
+
+        private record Batch(List<JobCardBoardDelta> deltas, boolean resync) {
+        }
+
+        private final UUID id;
+        private final BoardFilter filter;
+        private final SseEmitter emitter;
+        private final int maxPending;
+        private final Map<Long, JobCardBoardDelta> pending = new LinkedHashMap<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private boolean overflowed;
+        private volatile boolean hasPending;
+        private volatile long lastSentAt = System.currentTimeMillis();
+
+        private Subscriber(UUID id, BoardFilter filter, SseEmitter emitter, int maxPending) {
+            this.id = id;
+            this.filter = filter;
+            this.emitter = emitter;
+            this.maxPending = maxPending;
+        }
+
+        private synchronized void offer(JobCardBoardDelta delta) {
+            if (overflowed) {
+                return;
+            }
+            JobCardBoardDelta existing = pending.get(delta.getJobCardId());
+            if (existing != null) {
+                pending.put(delta.getJobCardId(), merge(existing, delta));
+            } else if (pending.size() >= maxPending) {
+                pending.clear();
+                overflowed = true;
+            } else {
+                pending.put(delta.getJobCardId(), delta);
+            }
+            hasPending = true;
+        }
+
+        private synchronized Batch drain() {
+            Batch batch = new Batch(new ArrayList<>(pending.values()), overflowed);
+            pending.clear();
+            overflowed = false;
+            hasPending = false;
+            return batch;
+        }
+
+        private boolean hasPending() {
+            return hasPending;
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.protomil.core.jobcard.domain.enums.JobStatus;
 import com.protomil.core.jobcard.dto.JobCardCreateRequest;
 import com.protomil.core.jobcard.dto.JobCardResponse;
 import com.protomil.core.jobcard.dto.JobCardSummary;
+import com.protomil.core.jobcard.dto.JobCardTransitionGuard;
+import com.protomil.core.jobcard.dto.JobCardTransitionResult;
 import com.protomil.core.jobcard.dto.JobCardUpdateRequest;
 import com.protomil.core.shared.logging.LogExecutionTime;
 import org.springframework.data.domain.Page;
@@ -42,16 +44,38 @@ public interface JobCardService {
     List<JobCardSummary> getOverdueJobCards();
 
     @LogExecutionTime
-    JobCardResponse startJobCard(Long jobCardId);
+    JobCardResponse startJobCard(Long jobCardId, JobCardTransitionGuard guard);
 
     @LogExecutionTime
-    JobCardResponse completeJobCard(Long jobCardId);
+    JobCardResponse completeJobCard(Long jobCardId, JobCardTransitionGuard guard);
 
     @LogExecutionTime
-    JobCardResponse cancelJobCard(Long jobCardId, String reason);
+    JobCardResponse cancelJobCard(Long jobCardId, String reason, JobCardTransitionGuard guard);
 
     @LogExecutionTime
-    JobCardResponse changeJobCardStatus(Long jobCardId, JobStatus newStatus, String reason);
+    JobCardResponse changeJobCardStatus(Long jobCardId, JobStatus newStatus, String reason, JobCardTransitionGuard guard);
+
+    /**
+     * Status change that returns only the transition outcome, without reloading the full job card.
+     */
+    @LogExecutionTime
+    JobCardTransitionResult transitionJobCard(Long jobCardId, JobStatus newStatus, JobCardTransitionGuard guard);
+
+    default JobCardResponse startJobCard(Long jobCardId) {
+        return startJobCard(jobCardId, JobCardTransitionGuard.NONE);
+    }
+
+    default JobCardResponse completeJobCard(Long jobCardId) {
+        return completeJobCard(jobCardId, JobCardTransitionGuard.NONE);
+    }
+
+    default JobCardResponse cancelJobCard(Long jobCardId, String reason) {
+        return cancelJobCard(jobCardId, reason, JobCardTransitionGuard.NONE);
+    }
+
+    default JobCardResponse changeJobCardStatus(Long jobCardId, JobStatus newStatus, String reason) {
+        return changeJobCardStatus(jobCardId, newStatus, reason, JobCardTransitionGuard.NONE);
+    }
 
     @LogExecutionTime
     void deleteJobCard(Long jobCardId);
@@ -6,21 +6,31 @@ import com.protomil.core.jobcard.domain.enums.JobStatus;
 import com.protomil.core.jobcard.dto.JobCardCreateRequest;
 import com.protomil.core.jobcard.dto.JobCardResponse;
 import com.protomil.core.jobcard.dto.JobCardSummary;
+import com.protomil.core.jobcard.dto.JobCardTransitionResult;
+import com.protomil.core.jobcard.dto.JobCardTransitionGuard;
 import com.protomil.core.jobcard.dto.JobCardUpdateRequest;
+import com.protomil.core.jobcard.events.JobCardCompletedEvent;
 import com.protomil.core.jobcard.events.JobCardCreatedEvent;
 import com.protomil.core.jobcard.events.JobCardStatusChangedEvent;
 import com.protomil.core.jobcard.exception.InvalidJobStatusTransitionException;
 import com.protomil.core.jobcard.exception.JobCardNotFoundException;
 import com.protomil.core.jobcard.mapper.JobCardMapper;
 import com.protomil.core.jobcard.repository.JobCardRepository;
+import com.protomil.core.jobcard.repository.JobCardSummaryViewRepository;
 import com.protomil.core.jobcard.repository.JobCardTemplateRepository;
+import com.protomil.core.jobcard.repository.JobCardTransitionRepository;
+import com.protomil.core.jobcard.repository.JobCardTransitionRepository.StatusSnapshot;
+import com.protomil.core.jobcard.repository.JobCardTransitionRepository.TransitionedJobCard;
 import com.protomil.core.jobcard.specification.JobCardSpecifications;
 import com.protomil.core.shared.exception.BusinessException;
+import com.protomil.core.shared.exception.ConcurrencyException;
 import com.protomil.core.shared.logging.LogExecutionTime;
 import com.protomil.core.shared.security.SecurityUtils;
+import com.protomil.core.workflow.service.WorkflowExecutionService.PlannedStep;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -28,11 +38,16 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -42,10 +57,18 @@ import java.util.stream.Collectors;
 public class JobCardServiceImpl implements JobCardService {
 
     private final JobCardRepository jobCardRepository;
+    private final JobCardSummaryViewRepository summaryViewRepository;
     private final JobCardTemplateRepository templateRepository;
     private final JobCardMapper jobCardMapper;
     private final ApplicationEventPublisher eventPublisher;
     private final JobNumberService jobNumberService;
+    private final JobCardIdempotencyService idempotencyService;
+    private final JobCardTransitionRepository transitionRepository;
+    private final JobWorkflowService jobWorkflowService;
+    private final JobCardEscalationService escalationService;
+
+    static final Set<JobStatus> CANCELLABLE_STATUSES = EnumSet.complementOf(
+            EnumSet.of(JobStatus.COMPLETED, JobStatus.CANCELLED));
 
     @Override
     @LogExecutionTime
@@ -82,7 +105,7 @@ public class JobCardServiceImpl implements JobCardService {
         log.info("Created job card {} with ID: {}", jobNumber, savedJobCard.getId());
 
         // Publish event
-        eventPublisher.publishEvent(new JobCardCreatedEvent(this, savedJobCard));
+        eventPublisher.publishEvent(JobCardCreatedEvent.of(savedJobCard));
 
         return jobCardMapper.toResponse(savedJobCard);
     }
@@ -112,8 +135,10 @@ public class JobCardServiceImpl implements JobCardService {
         if (request.getEstimatedDurationMinutes() != null) {
             jobCard.setEstimatedDurationMinutes(request.getEstimatedDurationMinutes());
         }
-        if (request.getTargetCompletionDate() != null) {
+        if (request.getTargetCompletionDate() != null
+                && !request.getTargetCompletionDate().equals(jobCard.getTargetCompletionDate())) {
             jobCard.setTargetCompletionDate(request.getTargetCompletionDate());
+            escalationService.rescheduleOverdue(jobCardId, request.getTargetCompletionDate());
         }
         if (request.getDynamicFields() != null) {
             jobCard.setDynamicFields(request.getDynamicFields());
@@ -218,148 +243,106 @@ public class JobCardServiceImpl implements JobCardService {
 
     @Override
     @LogExecutionTime
-    public JobCardResponse startJobCard(Long jobCardId) {
+    public JobCardResponse startJobCard(Long jobCardId, JobCardTransitionGuard guard) {
         log.debug("Starting job card with ID: {}", jobCardId);
 
-        JobCard jobCard = getJobCardEntityById(jobCardId);
-
-        if (!jobCard.canBeStarted()) {
-            throw new InvalidJobStatusTransitionException(
-                    String.format("Cannot start job card in status %s", jobCard.getStatus())
-            );
+        if (!idempotencyService.claim(guard.idempotencyKey(), jobCardId, "START")) {
+            return jobCardMapper.toResponse(getJobCardEntityById(jobCardId));
         }
 
-        JobStatus previousStatus = jobCard.getStatus();
-        jobCard.setStatus(JobStatus.IN_PROGRESS);
-        jobCard.setStartedAt(LocalDateTime.now());
+        // Same rule as JobCard.canBeStarted(), evaluated against the locked row
+        TransitionedJobCard transitioned = applyTransition(jobCardId, EnumSet.of(JobStatus.ASSIGNED),
+                JobStatus.IN_PROGRESS, true, guard, null,
+                status -> String.format("Cannot start job card in status %s", status));
 
-        JobCard savedJobCard = jobCardRepository.save(jobCard);
-
-        log.info("Started job card {} (ID: {})", jobCard.getJobNumber(), jobCardId);
+        log.info("Started job card {} (ID: {})", transitioned.jobNumber(), jobCardId);
 
-        // Publish status change event
-        eventPublisher.publishEvent(new JobCardStatusChangedEvent(
-                this, savedJobCard, previousStatus, JobStatus.IN_PROGRESS
-        ));
-
-        return jobCardMapper.toResponse(savedJobCard);
+        return jobCardMapper.toResponse(getJobCardEntityById(jobCardId));
     }
 
     @Override
     @LogExecutionTime
-    public JobCardResponse completeJobCard(Long jobCardId) {
+    public JobCardResponse completeJobCard(Long jobCardId, JobCardTransitionGuard guard) {
         log.debug("Completing job card with ID: {}", jobCardId);
 
-        JobCard jobCard = getJobCardEntityById(jobCardId);
-
-        if (jobCard.getStatus() != JobStatus.IN_PROGRESS && jobCard.getStatus() != JobStatus.PENDING_REVIEW) {
-            throw new InvalidJobStatusTransitionException(
-                    String.format("Cannot complete job card in status %s", jobCard.getStatus())
-            );
+        if (!idempotencyService.claim(guard.idempotencyKey(), jobCardId, "COMPLETE")) {
+            return jobCardMapper.toResponse(getJobCardEntityById(jobCardId));
         }
 
-        JobStatus previousStatus = jobCard.getStatus();
-        jobCard.setStatus(JobStatus.COMPLETED);
-        jobCard.setCompletedAt(LocalDateTime.now());
-
-        // Calculate actual duration
-        if (jobCard.getStartedAt() != null) {
-            long durationMinutes = java.time.Duration.between(
-                    jobCard.getStartedAt(),
-                    jobCard.getCompletedAt()
-            ).toMinutes();
-            jobCard.setActualDurationMinutes((int) durationMinutes);
-        }
-
-        JobCard savedJobCard = jobCardRepository.save(jobCard);
-
-        log.info("Completed job card {} (ID: {})", jobCard.getJobNumber(), jobCardId);
+        TransitionedJobCard transitioned = applyTransition(jobCardId,
+                EnumSet.of(JobStatus.IN_PROGRESS, JobStatus.PENDING_REVIEW), JobStatus.COMPLETED, false, guard, null,
+                status -> String.format("Cannot complete job card in status %s", status));
 
-        // Publish status change event
-        eventPublisher.publishEvent(new JobCardStatusChangedEvent(
-                this, savedJobCard, previousStatus, JobStatus.COMPLETED
-        ));
+        log.info("Completed job card {} (ID: {})", transitioned.jobNumber(), jobCardId);
 
-        return jobCardMapper.toResponse(savedJobCard);
+        return jobCardMapper.toResponse(getJobCardEntityById(jobCardId));
     }
 
     @Override
     @LogExecutionTime
-    public JobCardResponse cancelJobCard(Long jobCardId, String reason) {
+    public JobCardResponse cancelJobCard(Long jobCardId, String reason, JobCardTransitionGuard guard) {
         log.debug("Cancelling job card with ID: {} for reason: {}", jobCardId, reason);
 
-        JobCard jobCard = getJobCardEntityById(jobCardId);
-
-        if (jobCard.getStatus().isFinalStatus()) {
-            throw new InvalidJobStatusTransitionException(
-                    String.format("Cannot cancel job card in final status %s", jobCard.getStatus())
-            );
+        if (!idempotencyService.claim(guard.idempotencyKey(), jobCardId, "CANCEL")) {
+            return jobCardMapper.toResponse(getJobCardEntityById(jobCardId));
         }
 
-        JobStatus previousStatus = jobCard.getStatus();
-        jobCard.setStatus(JobStatus.CANCELLED);
-
-        JobCard savedJobCard = jobCardRepository.save(jobCard);
-
-        log.info("Cancelled job card {} (ID: {}) - Reason: {}", jobCard.getJobNumber(), jobCardId, reason);
+        TransitionedJobCard transitioned = applyTransition(jobCardId, CANCELLABLE_STATUSES, JobStatus.CANCELLED,
+                false, guard, reason, status -> String.format("Cannot cancel job card in final status %s", status));
 
-        // Publish status change event
-        eventPublisher.publishEvent(new JobCardStatusChangedEvent(
-                this, savedJobCard, previousStatus, JobStatus.CANCELLED
-        ));
+        log.info("Cancelled job card {} (ID: {}) - Reason: {}", transitioned.jobNumber(), jobCardId, reason);
 
-        return jobCardMapper.toResponse(savedJobCard);
+        return jobCardMapper.toResponse(getJobCardEntityById(jobCardId));
     }
 
     @Override
     @LogExecutionTime
-    public JobCardResponse changeJobCardStatus(Long jobCardId, JobStatus newStatus, String reason) {
+    public JobCardResponse changeJobCardStatus(Long jobCardId, JobStatus newStatus, String reason,
+                                               JobCardTransitionGuard guard) {
         log.debug("Changing job card {} status to: {} for reason: {}", jobCardId, newStatus, reason);
 
-        JobCard jobCard = getJobCardEntityById(jobCardId);
-        JobStatus currentStatus = jobCard.getStatus();
-
-        // Validate status transition
-        if (!currentStatus.canTransitionTo(newStatus)) {
-            throw new InvalidJobStatusTransitionException(
-                    String.format("Cannot transition from %s to %s", currentStatus, newStatus)
-            );
+        if (!idempotencyService.claim(guard.idempotencyKey(), jobCardId, "STATUS_" + newStatus)) {
+            return jobCardMapper.toResponse(getJobCardEntityById(jobCardId));
         }
 
-        jobCard.setStatus(newStatus);
-
-        // Update timing fields based on status
-        switch (newStatus) {
-            case IN_PROGRESS:
-                if (jobCard.getStartedAt() == null) {
-                    jobCard.setStartedAt(LocalDateTime.now());
-                }
-                break;
-            case COMPLETED:
-                if (jobCard.getCompletedAt() == null) {
-                    jobCard.setCompletedAt(LocalDateTime.now());
-                    if (jobCard.getStartedAt() != null) {
-                        long durationMinutes = java.time.Duration.between(
-                                jobCard.getStartedAt(),
-                                jobCard.getCompletedAt()
-                        ).toMinutes();
-                        jobCard.setActualDurationMinutes((int) durationMinutes);
-                    }
-                }
-                break;
-        }
-
-        JobCard savedJobCard = jobCardRepository.save(jobCard);
+        TransitionedJobCard transitioned = applyStatusChange(jobCardId, newStatus, reason, guard);
 
         log.info("Changed job card {} status from {} to {}",
-                jobCard.getJobNumber(), currentStatus, newStatus);
+                transitioned.jobNumber(), transitioned.previousStatus(), newStatus);
 
-        // Publish status change event
-        eventPublisher.publishEvent(new JobCardStatusChangedEvent(
-                this, savedJobCard, currentStatus, newStatus
-        ));
+        return jobCardMapper.toResponse(getJobCardEntityById(jobCardId));
+    }
 
-        return jobCardMapper.toResponse(savedJobCard);
+    @Override
+    @LogExecutionTime
+    public JobCardTransitionResult transitionJobCard(Long jobCardId, JobStatus newStatus, JobCardTransitionGuard guard) {
+        log.debug("Transitioning job card {} to {}", jobCardId, newStatus);
+
+        if (!idempotencyService.claim(guard.idempotencyKey(), jobCardId, "STATUS_" + newStatus)) {
+            StatusSnapshot current = transitionRepository.findStatus(jobCardId)
+                    .orElseThrow(() -> new JobCardNotFoundException("Job card not found with ID: " + jobCardId));
+            return JobCardTransitionResult.builder()
+                    .jobCardId(current.id())
+                    .jobNumber(current.jobNumber())
+                    .status(current.status())
+                    .version(current.version())
+                    .replayed(true)
+                    .build();
+        }
+
+        TransitionedJobCard transitioned = applyStatusChange(jobCardId, newStatus, null, guard);
+
+        log.info("Changed job card {} status from {} to {}",
+                transitioned.jobNumber(), transitioned.previousStatus(), newStatus);
+
+        return JobCardTransitionResult.builder()
+                .jobCardId(transitioned.id())
+                .jobNumber(transitioned.jobNumber())
+                .previousStatus(transitioned.previousStatus())
+                .status(transitioned.status())
+                .version(transitioned.version())
+                .replayed(false)
+                .build();
     }
 
     @Override
@@ -385,11 +368,12 @@ public class JobCardServiceImpl implements JobCardService {
     public Map<JobStatus, Long> getJobCardStatusCounts() {
         log.debug("Retrieving job card status counts");
 
-        return Arrays.stream(JobStatus.values())
-                .collect(Collectors.toMap(
-                        status -> status,
-                        status -> jobCardRepository.countByStatus(status)
-                ));
+        // Served from the materialized summary view; may trail the latest writes by the refresh debounce
+        Map<JobStatus, Long> counts = new EnumMap<>(JobStatus.class);
+        Arrays.stream(JobStatus.values()).forEach(status -> counts.put(status, 0L));
+        summaryViewRepository.countGroupedByStatus()
+                .forEach(row -> counts.put((JobStatus) row[0], ((Number) row[1]).longValue()));
+        return counts;
     }
 
     @Override
@@ -398,8 +382,7 @@ public class JobCardServiceImpl implements JobCardService {
     public List<JobCardSummary> getJobCardsByTemplate(Long templateId) {
         log.debug("Retrieving job cards for template: {}", templateId);
 
-        List<JobCard> jobCards = jobCardRepository.findByTemplateId(templateId);
-        return jobCards.stream()
+        return summaryViewRepository.findByTemplateIdOrderByIdDesc(templateId).stream()
                 .map(jobCardMapper::toSummary)
                 .collect(Collectors.toList());
     }
@@ -418,12 +401,95 @@ public class JobCardServiceImpl implements JobCardService {
     public List<JobCardSummary> getJobCardsExceedingEstimatedTime() {
         log.debug("Retrieving job cards exceeding estimated time");
 
-        List<JobCard> jobCards = jobCardRepository.findJobCardsExceedingEstimatedTime();
-        return jobCards.stream()
+        return summaryViewRepository.findExceedingEstimatedTime().stream()
                 .map(jobCardMapper::toSummary)
                 .collect(Collectors.toList());
     }
 
+    private TransitionedJobCard applyStatusChange(Long jobCardId, JobStatus newStatus, String reason,
+                                                  JobCardTransitionGuard guard) {
+        return applyTransition(jobCardId, null, newStatus, false, guard, reason,
+                status -> String.format("Cannot transition from %s to %s", status, newStatus));
+    }
+
+    /**
+     * Checks the transition against the card's workflow, then runs it as one conditional UPDATE from
+     * the status it was checked in and publishes its events from the returned row. Planning reads the
+     * card's status and workflow binding first, one indexed read ahead of the write, since the allowed
+     * steps and role guards depend on the workflow. Auto-approved steps that follow are applied in the
+     * same transaction. When no row qualifies, a cheap status read works out whether the card is
+     * missing, stale or in the wrong status; a card moved by another writer since it was planned is a
+     * retryable conflict rather than an invalid transition.
+     *
+     * @param allowedFrom statuses the operation accepts on top of the workflow, or null for any
+     * @return the card after the last step, with the status it had before the first
+     */
+    private TransitionedJobCard applyTransition(Long jobCardId, Set<JobStatus> allowedFrom, JobStatus target,
+                                                boolean requireAssignee, JobCardTransitionGuard guard, String reason,
+                                                Function<JobStatus, String> rejectionMessage) {
+        UUID changedBy = SecurityUtils.getUserIdForAudit();
+        PlannedStep<JobStatus> step = jobWorkflowService.plan(jobCardId, allowedFrom, target, guard.expectedVersion(),
+                rejectionMessage);
+        TransitionedJobCard transitioned = transitionRepository
+                .transition(jobCardId, EnumSet.of(step.transition().from()), target, guard.expectedVersion(),
+                        requireAssignee, changedBy)
+                .orElseThrow(() -> rejectedTransition(jobCardId, step.transition().from(), guard,
+                        rejectionMessage));
+        publishTransition(transitioned, changedBy, reason);
+
+        TransitionedJobCard last = transitioned;
+        for (TransitionedJobCard autoApproved : jobWorkflowService.applyAutoApprovals(List.of(step), changedBy)) {
+            publishTransition(autoApproved, changedBy, "Auto-approved by workflow " + step.workflow().getName());
+            last = autoApproved;
+        }
+
+        try {
+            jobWorkflowService.record(List.of(step), changedBy);
+        } catch (OptimisticLockingFailureException e) {
+            throw concurrentModification(jobCardId, e);
+        }
+
+        return new TransitionedJobCard(last.id(), last.jobNumber(), transitioned.previousStatus(), last.status(),
+                last.version(), last.assignedTo(), last.estimatedDurationMinutes(), last.actualDurationMinutes());
+    }
+
+    private void publishTransition(TransitionedJobCard transitioned, UUID changedBy, String reason) {
+        Instant now = Instant.now();
+        eventPublisher.publishEvent(new JobCardStatusChangedEvent(transitioned.id(), transitioned.jobNumber(),
+                transitioned.previousStatus(), transitioned.status(), changedBy, reason, now));
+        if (transitioned.status() == JobStatus.COMPLETED) {
+            eventPublisher.publishEvent(new JobCardCompletedEvent(transitioned.id(), transitioned.jobNumber(),
+                    transitioned.assignedTo(), transitioned.estimatedDurationMinutes(),
+                    transitioned.actualDurationMinutes(), now));
+        }
+    }
+
+    private RuntimeException rejectedTransition(Long jobCardId, JobStatus plannedFrom, JobCardTransitionGuard guard,
+                                                Function<JobStatus, String> rejectionMessage) {
+        StatusSnapshot current = transitionRepository.findStatus(jobCardId).orElse(null);
+        if (current == null) {
+            return new JobCardNotFoundException("Job card not found with ID: " + jobCardId);
+        }
+        if (guard.expectedVersion() != null && !guard.expectedVersion().equals(current.version())) {
+            return concurrentModification(jobCardId, null);
+        }
+        if (current.status() != plannedFrom) {
+            // Moved by another writer between planning and the UPDATE; the move may be legal from there
+            return concurrentModification(jobCardId, null);
+        }
+        return new InvalidJobStatusTransitionException(rejectionMessage.apply(current.status()));
+    }
+
+    static ConcurrencyException concurrentModification(Long jobCardId, Throwable cause) {
+        ConcurrencyException exception = cause != null
+                ? new ConcurrencyException("Job card " + jobCardId + " was modified by another user", cause)
+                : new ConcurrencyException("Job card " + jobCardId + " has changed since it was last read");
+        exception.addDetail("resourceType", "JobCard");
+        exception.addDetail("resourceId", jobCardId);
+        exception.addDetail("retryable", true);
+        return exception;
+    }
+
     private JobCard getJobCardEntityById(Long jobCardId) {
         return jobCardRepository.findById(jobCardId)
                 .orElseThrow(() -> new JobCardNotFoundException("Job card not found with ID: " + jobCardId));
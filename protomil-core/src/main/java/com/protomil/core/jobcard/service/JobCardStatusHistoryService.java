@@ -0,0 +1,270 @@
+package com.protomil.core.jobcard.service;
+
+import com.protomil.core.jobcard.domain.enums.StatusDwellGrouping;
+import com.protomil.core.jobcard.dto.StatusDwellTimeResponse;
+import com.protomil.core.jobcard.events.JobCardBatchEvent;
+import com.protomil.core.jobcard.events.JobCardStatusChangedEvent;
+import com.protomil.core.jobcard.repository.JobCardStatusHistoryRepository;
+import com.protomil.core.jobcard.repository.JobCardStatusHistoryRepository.DwellTime;
+import com.protomil.core.jobcard.repository.JobCardStatusHistoryRepository.HistoryEntry;
+import com.protomil.core.jobcard.repository.JobCardStatusHistoryRepository.StatusContext;
+import com.protomil.core.shared.async.AsyncExecutors;
+import com.protomil.core.shared.exception.BusinessException;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only job card status history, fed from {@link JobCardStatusChangedEvent}. Listeners queue
+ * their entries and wait while a dedicated writer thread writes everything queued as one JDBC batch in
+ * one transaction, so a burst of transitions costs a handful of round trips instead of one insert each.
+ * The writer blocks on the queue rather than running on the shared {@code @Scheduled} pool, so waiting
+ * listeners are never held up behind unrelated scheduled jobs.
+ * A listener only returns, and its outbox publication only completes, once its entries are written;
+ * on timeout the publication stays incomplete and is redelivered, and the unique event key makes the
+ * redelivery a no-op for rows that did get written.
+ */
+@Service
+@Slf4j
+public class JobCardStatusHistoryService {
+
+    private static final long WRITER_POLL_SECONDS = 1;
+
+    private record PendingEntry(JobCardStatusChangedEvent event, CompletableFuture<Void> written) {
+    }
+
+    private final JobCardStatusHistoryRepository historyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingEntry> pending;
+    private final int batchSize;
+    private final Duration writeTimeout;
+    private final Counter entriesWritten;
+    private final Counter batchesFailed;
+
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public JobCardStatusHistoryService(JobCardStatusHistoryRepository historyRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${protomil.job-cards.status-history.queue-capacity:20000}") int queueCapacity,
+                                       @Value("${protomil.job-cards.status-history.batch-size:500}") int batchSize,
+                                       @Value("${protomil.job-cards.status-history.write-timeout:PT30S}") Duration writeTimeout) {
+        this.historyRepository = historyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pending = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.writeTimeout = writeTimeout;
+
+        Gauge.builder("protomil.status_history.pending", pending, BlockingQueue::size)
+                .description("Status history entries waiting to be written")
+                .register(meterRegistry);
+        this.entriesWritten = Counter.builder("protomil.status_history.written")
+                .description("Status history entries written")
+                .register(meterRegistry);
+        this.batchesFailed = Counter.builder("protomil.status_history.batches.failed")
+                .description("Status history batches that failed and were left for redelivery")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener
+    @Async(AsyncExecutors.STATUS_HISTORY)
+    public void handleJobCardStatusChanged(JobCardStatusChangedEvent event) {
+        awaitWritten(List.of(event));
+    }
+
+    @TransactionalEventListener
+    @Async(AsyncExecutors.STATUS_HISTORY)
+    public void handleJobCardBatch(JobCardBatchEvent event) {
+        if (!event.statusChanges().isEmpty()) {
+            awaitWritten(event.statusChanges());
+        }
+    }
+
+    @PostConstruct
+    public void startWriter() {
+        running = true;
+        writer = Thread.ofPlatform().name("status-history-writer").daemon().start(this::runWriter);
+    }
+
+    @PreDestroy
+    public void stopWriter() {
+        running = false;
+        Thread thread = writer;
+        if (thread != null) {
+            try {
+                thread.join(writeTimeout.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    /** Writes everything queued so far on the calling thread. */
+    public void flush() {
+        writeQueued(null);
+    }
+
+    private void runWriter() {
+        while (running) {
+            try {
+                PendingEntry first = pending.poll(WRITER_POLL_SECONDS, TimeUnit.SECONDS);
+                if (first != null) {
+                    writeQueued(first);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Status history writer failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void writeQueued(PendingEntry first) {
+        List<PendingEntry> batch = new ArrayList<>(batchSize);
+        if (first != null) {
+            batch.add(first);
+        }
+        while (pending.drainTo(batch, batchSize - batch.size()) > 0 || !batch.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(batch));
+                entriesWritten.increment(batch.size());
+                batch.forEach(entry -> entry.written().complete(null));
+            } catch (RuntimeException e) {
+                log.error("Failed to write {} status history entries: {}", batch.size(), e.getMessage(), e);
+                batchesFailed.increment();
+                batch.forEach(entry -> entry.written().completeExceptionally(e));
+            }
+            batch.clear();
+        }
+    }
+
+    @LogExecutionTime
+    public List<StatusDwellTimeResponse> getDwellTimes(LocalDate startDate, LocalDate endDate,
+                                                       StatusDwellGrouping grouping) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new BusinessException("A valid date range is required (start date must not be after end date)");
+        }
+        log.debug("Retrieving status dwell times by {} from {} to {}", grouping, startDate, endDate);
+
+        LocalDateTime from = startDate.atStartOfDay();
+        LocalDateTime to = endDate.plusDays(1).atStartOfDay();
+        List<DwellTime> rows = grouping == StatusDwellGrouping.MACHINE
+                ? historyRepository.findDwellTimeByMachine(from, to)
+                : historyRepository.findDwellTimeByTemplate(from, to);
+
+        return rows.stream()
+                .map(row -> StatusDwellTimeResponse.builder()
+                        .grouping(grouping)
+                        .groupId(row.groupId())
+                        .status(row.status())
+                        .transitions(row.transitions())
+                        .averageMinutes(minutes(row.averageSeconds()))
+                        .p90Minutes(minutes(row.p90Seconds()))
+                        .maxMinutes(minutes(row.maxSeconds()))
+                        .build())
+                .toList();
+    }
+
+    private void awaitWritten(List<JobCardStatusChangedEvent> events) {
+        List<CompletableFuture<Void>> written = new ArrayList<>(events.size());
+        for (JobCardStatusChangedEvent event : events) {
+            PendingEntry entry = new PendingEntry(event, new CompletableFuture<>());
+            if (!pending.offer(entry)) {
+                throw new IllegalStateException("Status history queue is full; event for job card "
+                        + event.jobCardId() + " left for redelivery");
+            }
+            written.add(entry.written());
+        }
+
+        try {
+            CompletableFuture.allOf(written.toArray(CompletableFuture[]::new))
+                    .get(writeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing status history", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Status history was not written; left for redelivery", e);
+        }
+    }
+
+    private void write(List<PendingEntry> batch) {
+        List<JobCardStatusChangedEvent> events = batch.stream()
+                .map(PendingEntry::event)
+                .sorted(Comparator.comparing(JobCardStatusChangedEvent::jobCardId)
+                        .thenComparing(JobCardStatusChangedEvent::occurredAt))
+                .toList();
+
+        LocalDateTime earliest = events.stream()
+                .map(event -> toLocalDateTime(event.occurredAt()))
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        Map<Long, StatusContext> contexts = historyRepository
+                .findStatusContexts(events.stream().map(JobCardStatusChangedEvent::jobCardId).distinct().toList(), earliest)
+                .stream()
+                .collect(Collectors.toMap(StatusContext::jobCardId, Function.identity()));
+
+        // Each entry's duration runs from the previous entry of the same card, including earlier ones in this batch
+        Map<Long, LocalDateTime> statusSince = new HashMap<>();
+        contexts.values().forEach(context -> statusSince.put(context.jobCardId(), context.statusSince()));
+
+        List<HistoryEntry> entries = new ArrayList<>(events.size());
+        for (JobCardStatusChangedEvent event : events) {
+            StatusContext context = contexts.get(event.jobCardId());
+            if (context == null) {
+                log.debug("Skipping status history for deleted job card {}", event.jobCardId());
+                continue;
+            }
+
+            LocalDateTime changedAt = toLocalDateTime(event.occurredAt());
+            LocalDateTime since = statusSince.put(event.jobCardId(), changedAt);
+            Long duration = since != null ? Math.max(0, Duration.between(since, changedAt).toSeconds()) : null;
+
+            entries.add(new HistoryEntry(event.jobCardId(), event.previousStatus(), event.newStatus(),
+                    event.changedBy(), event.reason(), changedAt, duration, context.templateId(), context.machineId()));
+        }
+
+        historyRepository.insertAll(entries);
+    }
+
+    private LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private BigDecimal minutes(double seconds) {
+        return BigDecimal.valueOf(seconds / 60.0).setScale(2, RoundingMode.HALF_UP);
+    }
+}
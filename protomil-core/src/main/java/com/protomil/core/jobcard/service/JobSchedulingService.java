@@ -0,0 +1,358 @@
+package com.protomil.core.jobcard.service;
+
+import com.protomil.core.jobcard.domain.enums.JobStatus;
+import com.protomil.core.jobcard.domain.enums.MachineStatus;
+import com.protomil.core.jobcard.domain.enums.Priority;
+import com.protomil.core.jobcard.domain.enums.Shift;
+import com.protomil.core.jobcard.dto.JobScheduleResponse;
+import com.protomil.core.jobcard.events.JobCardBatchEvent;
+import com.protomil.core.jobcard.events.JobCardStatusChangedEvent;
+import com.protomil.core.jobcard.repository.SchedulingDataRepository;
+import com.protomil.core.jobcard.repository.SchedulingDataRepository.ReadyJobRow;
+import com.protomil.core.jobcard.repository.SchedulingDataRepository.SkillLevelRow;
+import com.protomil.core.jobcard.repository.SchedulingDataRepository.WorkloadRow;
+import com.protomil.core.jobcard.scheduling.IncrementalSchedule;
+import com.protomil.core.jobcard.scheduling.SchedulingInput;
+import com.protomil.core.jobcard.scheduling.ShiftCalendar;
+import com.protomil.core.jobcard.scheduling.SkillEncoder;
+import com.protomil.core.shared.async.AsyncExecutors;
+import com.protomil.core.shared.exception.BusinessException;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a proposed machine/operator sequence for the READY backlog (see {@link IncrementalSchedule}).
+ * The schedule is built in the background once the application is ready (or on first use, if warm-up
+ * is disabled) and fully recomputed periodically; in between, job cards entering
+ * or leaving READY and machine outages are applied incrementally, followed by a short local search.
+ * The schedule is advisory: assignments are still made through the assignment endpoints.
+ */
+@Service
+@Slf4j
+public class JobSchedulingService {
+
+    private record Plan(IncrementalSchedule schedule, ShiftCalendar calendar, SkillEncoder skills,
+                        LocalDateTime computedAt) {
+    }
+
+    private final SchedulingDataRepository schedulingDataRepository;
+    private final ForkJoinPool pool;
+    private final EnumSet<Shift> staffedShifts;
+    private final Duration solveBudget;
+    private final Duration incrementalBudget;
+    private final int movesPerRound;
+    private final int moveWindow;
+    private final boolean warmUpEnabled;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Timer solveTimer;
+    private final Timer updateTimer;
+    private volatile Plan plan;
+
+    public JobSchedulingService(SchedulingDataRepository schedulingDataRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${protomil.scheduling.staffed-shifts:MORNING,AFTERNOON,NIGHT}") List<Shift> staffedShifts,
+                                @Value("${protomil.scheduling.parallelism:0}") int parallelism,
+                                @Value("${protomil.scheduling.solve-budget:PT10S}") Duration solveBudget,
+                                @Value("${protomil.scheduling.incremental-budget:PT1S}") Duration incrementalBudget,
+                                @Value("${protomil.scheduling.moves-per-round:64}") int movesPerRound,
+                                @Value("${protomil.scheduling.move-window:512}") int moveWindow,
+                                @Value("${protomil.scheduling.warm-up:true}") boolean warmUp) {
+        this.schedulingDataRepository = schedulingDataRepository;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.staffedShifts = EnumSet.copyOf(staffedShifts);
+        this.solveBudget = solveBudget;
+        this.incrementalBudget = incrementalBudget;
+        this.movesPerRound = movesPerRound;
+        this.moveWindow = moveWindow;
+        this.warmUpEnabled = warmUp;
+
+        this.solveTimer = Timer.builder("protomil.scheduling.solve")
+                .description("Full schedule computations, including local search")
+                .register(meterRegistry);
+        this.updateTimer = Timer.builder("protomil.scheduling.update")
+                .description("Incremental schedule updates for backlog and machine changes")
+                .register(meterRegistry);
+        Gauge.builder("protomil.scheduling.jobs", this, service -> {
+                    Plan current = service.plan;
+                    return current != null ? current.schedule().size() : 0;
+                })
+                .description("Job cards in the current schedule")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Solves the first schedule off the request path, so the first caller does not pay for the full
+     * local search budget. A request arriving while it runs waits for it rather than solving again.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Async(AsyncExecutors.CPU)
+    public void warmUp() {
+        if (!warmUpEnabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (plan == null) {
+                plan = solveTimer.record(this::solve);
+            }
+        } catch (RuntimeException e) {
+            log.error("Schedule warm-up failed, solving on first request instead: {}", e.getMessage(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @LogExecutionTime
+    public JobScheduleResponse getSchedule(Long machineId) {
+        lock.lock();
+        try {
+            if (plan == null) {
+                plan = solveTimer.record(this::solve);
+            }
+            return toResponse(plan, machineId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @LogExecutionTime
+    public JobScheduleResponse recompute(Long machineId) {
+        lock.lock();
+        try {
+            plan = solveTimer.record(this::solve);
+            return toResponse(plan, machineId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a machine out of the schedule (breakdown, maintenance) or puts it back, and re-plans the
+     * affected part of the backlog.
+     */
+    @LogExecutionTime
+    public JobScheduleResponse setMachineAvailability(Long machineId, boolean available) {
+        lock.lock();
+        try {
+            if (plan == null) {
+                plan = solveTimer.record(this::solve);
+            }
+            boolean known = updateTimer.record(() -> {
+                boolean found = plan.schedule().setMachineAvailable(machineId, available, LocalDateTime.now());
+                if (found) {
+                    plan.schedule().improve(incrementalBudget);
+                }
+                return found;
+            });
+            if (!known) {
+                throw new BusinessException("Machine not found or not active with ID: " + machineId);
+            }
+            log.info("Machine {} marked {} for scheduling", machineId, available ? "available" : "unavailable");
+            return toResponse(plan, null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${protomil.scheduling.recompute-interval-ms:900000}",
+            initialDelayString = "${protomil.scheduling.recompute-interval-ms:900000}")
+    public void recomputePeriodically() {
+        // Nothing to refresh until the first schedule exists
+        if (plan == null) {
+            return;
+        }
+        try {
+            recompute(null);
+        } catch (RuntimeException e) {
+            log.error("Periodic schedule recomputation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @TransactionalEventListener
+    @Async(AsyncExecutors.JOB_CARD_EVENTS)
+    public void handleJobCardStatusChanged(JobCardStatusChangedEvent event) {
+        applyStatusChanges(List.of(event));
+    }
+
+    @TransactionalEventListener
+    @Async(AsyncExecutors.JOB_CARD_EVENTS)
+    public void handleJobCardBatch(JobCardBatchEvent event) {
+        applyStatusChanges(event.statusChanges());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void applyStatusChanges(List<JobCardStatusChangedEvent> events) {
+        List<JobCardStatusChangedEvent> relevant = events.stream()
+                .filter(event -> event.previousStatus() == JobStatus.READY || event.newStatus() == JobStatus.READY)
+                .toList();
+        if (relevant.isEmpty() || plan == null) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            Plan current = plan;
+            if (current == null) {
+                return;
+            }
+            updateTimer.record(() -> {
+                for (JobCardStatusChangedEvent event : relevant) {
+                    current.schedule().removeJob(event.jobCardId());
+                    if (event.newStatus() == JobStatus.READY) {
+                        schedulingDataRepository.findReadyJob(event.jobCardId())
+                                .ifPresent(row -> current.schedule().addJob(toJob(row, templateSkills(row, current.skills()))));
+                    }
+                }
+                current.schedule().improve(incrementalBudget);
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Plan solve() {
+        LocalDateTime now = LocalDateTime.now();
+        ShiftCalendar calendar = new ShiftCalendar(now, staffedShifts);
+        SkillEncoder skills = new SkillEncoder();
+
+        Map<Long, Map<UUID, Integer>> skillsByTemplate = groupLevels(schedulingDataRepository.findTemplateSkills());
+        Map<UUID, Map<UUID, Integer>> skillsByOperator = groupLevels(schedulingDataRepository.findOperatorSkills());
+        Map<Long, WorkloadRow<Long>> machineWorkloads = schedulingDataRepository.findMachineWorkloads().stream()
+                .collect(Collectors.toMap(WorkloadRow::resourceId, Function.identity()));
+        Map<UUID, WorkloadRow<UUID>> operatorWorkloads = schedulingDataRepository.findOperatorWorkloads().stream()
+                .collect(Collectors.toMap(WorkloadRow::resourceId, Function.identity()));
+
+        List<SchedulingInput.MachineResource> machines = schedulingDataRepository.findActiveMachines().stream()
+                .map(row -> new SchedulingInput.MachineResource(row.machineId(), row.machineCode(), row.machineType(),
+                        row.capacityPerHour(), MachineStatus.ACTIVE.name().equals(row.status()),
+                        busyUntil(machineWorkloads.get(row.machineId()), now)))
+                .toList();
+        List<SchedulingInput.Operator> operators = schedulingDataRepository.findOperators().stream()
+                .map(row -> new SchedulingInput.Operator(row.userId(), row.employeeNumber(),
+                        skills.held(skillsByOperator.getOrDefault(row.userId(), Map.of())),
+                        busyUntil(operatorWorkloads.get(row.userId()), now)))
+                .toList();
+        List<SchedulingInput.Job> jobs = schedulingDataRepository.findReadyJobs().stream()
+                .map(row -> toJob(row, skills.required(skillsByTemplate.getOrDefault(row.templateId(), Map.of()))))
+                .toList();
+
+        IncrementalSchedule schedule = new IncrementalSchedule(new SchedulingInput(jobs, machines, operators),
+                calendar, pool, movesPerRound, moveWindow, now.toLocalDate().toEpochDay());
+        int accepted = schedule.improve(solveBudget);
+
+        log.info("Scheduled {} READY job cards on {} machines with {} operators ({} local search moves accepted)",
+                jobs.size(), machines.size(), operators.size(), accepted);
+        return new Plan(schedule, calendar, skills, now);
+    }
+
+    private BitSet templateSkills(ReadyJobRow row, SkillEncoder skills) {
+        if (row.templateId() == null) {
+            return new BitSet();
+        }
+        return skills.required(groupLevels(schedulingDataRepository.findTemplateSkills(row.templateId()))
+                .getOrDefault(row.templateId(), Map.of()));
+    }
+
+    private SchedulingInput.Job toJob(ReadyJobRow row, BitSet requiredSkills) {
+        int priorityWeight = row.priority() != null ? Priority.valueOf(row.priority()).getWeight() : Priority.MEDIUM.getWeight();
+        return new SchedulingInput.Job(row.jobCardId(), row.jobNumber(), priorityWeight, row.estimatedMinutes(),
+                row.quantity(), row.targetCompletionDate(), row.requiredMachineType(), requiredSkills);
+    }
+
+    private <K> Map<K, Map<UUID, Integer>> groupLevels(List<SkillLevelRow<K>> rows) {
+        Map<K, Map<UUID, Integer>> levels = new HashMap<>();
+        for (SkillLevelRow<K> row : rows) {
+            levels.computeIfAbsent(row.ownerId(), id -> new HashMap<>()).put(row.skillId(), row.level());
+        }
+        return levels;
+    }
+
+    /** Committed work queued behind what is running now, ignoring shift gaps. */
+    private LocalDateTime busyUntil(WorkloadRow<?> workload, LocalDateTime now) {
+        if (workload == null) {
+            return null;
+        }
+        LocalDateTime runningUntil = workload.inProgressUntil() != null && workload.inProgressUntil().isAfter(now)
+                ? workload.inProgressUntil()
+                : now;
+        return runningUntil.plusMinutes(workload.assignedMinutes());
+    }
+
+    private JobScheduleResponse toResponse(Plan current, Long machineId) {
+        IncrementalSchedule.Result result = current.schedule().result();
+
+        List<JobScheduleResponse.ScheduledJob> scheduled = result.scheduled().stream()
+                .filter(job -> machineId == null || job.machine().machineId() == machineId)
+                .map(job -> JobScheduleResponse.ScheduledJob.builder()
+                        .jobCardId(job.job().jobCardId())
+                        .jobNumber(job.job().jobNumber())
+                        .machineId(job.machine().machineId())
+                        .machineCode(job.machine().machineCode())
+                        .sequence(job.sequence())
+                        .operatorId(job.operator().userId())
+                        .employeeNumber(job.operator().employeeNumber())
+                        .plannedStart(job.start())
+                        .plannedEnd(job.end())
+                        .targetCompletionDate(job.job().dueAt())
+                        .tardinessMinutes(job.tardinessMinutes())
+                        .build())
+                .toList();
+        List<JobScheduleResponse.UnscheduledJob> unscheduled = machineId != null ? List.of()
+                : result.unscheduled().stream()
+                .map(job -> JobScheduleResponse.UnscheduledJob.builder()
+                        .jobCardId(job.job().jobCardId())
+                        .jobNumber(job.job().jobNumber())
+                        .reason(job.reason())
+                        .build())
+                .toList();
+
+        return JobScheduleResponse.builder()
+                .computedAt(current.computedAt())
+                .horizonStart(current.calendar().getHorizonStart())
+                .scheduledCount(scheduled.size())
+                .lateCount((int) scheduled.stream().filter(job -> job.getTardinessMinutes() > 0).count())
+                .weightedTardinessMinutes(machineId == null ? result.weightedTardinessMinutes()
+                        : result.scheduled().stream()
+                        .filter(job -> job.machine().machineId() == machineId)
+                        .mapToLong(job -> job.tardinessMinutes() * job.job().priorityWeight())
+                        .sum())
+                .makespanEnd(scheduled.stream()
+                        .map(JobScheduleResponse.ScheduledJob::getPlannedEnd)
+                        .filter(Objects::nonNull)
+                        .max(Comparator.naturalOrder())
+                        .orElse(null))
+                .scheduledJobs(scheduled)
+                .unscheduledJobs(unscheduled)
+                .build();
+    }
+}
@@ -0,0 +1,202 @@
+package com.protomil.core.jobcard.service;
+
+import com.protomil.core.jobcard.domain.JobCardTemplate;
+import com.protomil.core.jobcard.domain.enums.JobStatus;
+import com.protomil.core.jobcard.dto.JobCardWorkflowResponse;
+import com.protomil.core.jobcard.exception.InvalidJobStatusTransitionException;
+import com.protomil.core.jobcard.exception.JobCardNotFoundException;
+import com.protomil.core.jobcard.repository.JobCardTemplateRepository;
+import com.protomil.core.jobcard.repository.JobCardTransitionRepository;
+import com.protomil.core.jobcard.repository.JobCardTransitionRepository.TransitionedJobCard;
+import com.protomil.core.jobcard.repository.JobCardTransitionRepository.WorkflowContext;
+import com.protomil.core.shared.exception.BusinessException;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import com.protomil.core.shared.security.SecurityUtils;
+import com.protomil.core.workflow.engine.CompiledWorkflow;
+import com.protomil.core.workflow.engine.WorkflowEntityType;
+import com.protomil.core.workflow.engine.WorkflowTransition;
+import com.protomil.core.workflow.service.WorkflowExecutionService;
+import com.protomil.core.workflow.service.WorkflowExecutionService.PlannedStep;
+import com.protomil.core.workflow.service.WorkflowService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Drives job cards through workflows. A card follows the workflow its instance is bound to, else
+ * its template's, else the default JOB_CARD workflow, and is bound on its first step. Every status
+ * transition made by {@link JobCardServiceImpl} and {@link JobCardBulkService} is checked here
+ * against the card's compiled workflow before the conditional UPDATE runs.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobWorkflowService {
+
+    public static final WorkflowEntityType<JobStatus> JOB_CARD =
+            new WorkflowEntityType<>("JOB_CARD", JobStatus.class, JobStatus::canTransitionTo);
+
+    private final WorkflowService workflowService;
+    private final WorkflowExecutionService executionService;
+    private final JobCardTransitionRepository transitionRepository;
+    private final JobCardTemplateRepository templateRepository;
+
+    /**
+     * Checks moving one card to {@code target} for the current user.
+     *
+     * @param allowedFrom statuses the calling operation accepts on top of the workflow, or null for any
+     */
+    public PlannedStep<JobStatus> plan(Long jobCardId, Set<JobStatus> allowedFrom, JobStatus target,
+                                       Long expectedVersion, Function<JobStatus, String> rejectionMessage) {
+        WorkflowContext context = findContexts(List.of(jobCardId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new JobCardNotFoundException("Job card not found with ID: " + jobCardId));
+        if (expectedVersion != null && !expectedVersion.equals(context.version())) {
+            throw JobCardServiceImpl.concurrentModification(jobCardId, null);
+        }
+        return plan(context, allowedFrom, target, SecurityUtils.getCurrentUserRoles(), rejectionMessage);
+    }
+
+    /**
+     * @throws InvalidJobStatusTransitionException if the workflow or the operation does not allow the move
+     * @throws com.protomil.core.shared.exception.AuthorizationException if the step needs a role the
+     *                                                                   actor lacks
+     */
+    public PlannedStep<JobStatus> plan(WorkflowContext context, Set<JobStatus> allowedFrom, JobStatus target,
+                                       Collection<String> roles, Function<JobStatus, String> rejectionMessage) {
+        CompiledWorkflow<JobStatus> workflow = workflowFor(context);
+        WorkflowTransition<JobStatus> transition = workflow.transition(context.status(), target);
+        if (transition == null || (allowedFrom != null && !allowedFrom.contains(context.status()))) {
+            throw new InvalidJobStatusTransitionException(rejectionMessage.apply(context.status()));
+        }
+        return executionService.plan(workflow, JOB_CARD.name(), context.id().toString(), context.instanceVersion(),
+                transition, roles);
+    }
+
+    public List<WorkflowContext> findContexts(Collection<Long> jobCardIds) {
+        return transitionRepository.findWorkflowContexts(jobCardIds);
+    }
+
+    /**
+     * Takes the auto-approved steps that follow the planned ones, deepest chains last, as one UPDATE
+     * per distinct step. The cards are already locked by the caller's first UPDATE.
+     *
+     * @return the rows of every auto-approved step, in the order they were applied
+     */
+    public List<TransitionedJobCard> applyAutoApprovals(List<PlannedStep<JobStatus>> steps, UUID changedBy) {
+        List<TransitionedJobCard> applied = new ArrayList<>();
+        for (int depth = 0; ; depth++) {
+            Map<WorkflowTransition<JobStatus>, List<Long>> byStep = new LinkedHashMap<>();
+            for (PlannedStep<JobStatus> step : steps) {
+                if (step.autoApprovals().size() > depth) {
+                    byStep.computeIfAbsent(step.autoApprovals().get(depth), key -> new ArrayList<>())
+                            .add(Long.valueOf(step.entityId()));
+                }
+            }
+            if (byStep.isEmpty()) {
+                return applied;
+            }
+
+            for (Map.Entry<WorkflowTransition<JobStatus>, List<Long>> entry : byStep.entrySet()) {
+                WorkflowTransition<JobStatus> transition = entry.getKey();
+                List<TransitionedJobCard> rows = transitionRepository.transitionAll(entry.getValue(),
+                        EnumSet.of(transition.from()), transition.to(), null, false, changedBy);
+                if (rows.size() != entry.getValue().size()) {
+                    throw JobCardServiceImpl.concurrentModification(entry.getValue().get(0), null);
+                }
+                applied.addAll(rows);
+            }
+        }
+    }
+
+    /**
+     * Records the steps on the cards' workflow instances, after the cards have moved.
+     *
+     * @throws org.springframework.dao.OptimisticLockingFailureException if an instance changed since
+     *                                                                   it was read
+     */
+    public void record(List<PlannedStep<JobStatus>> steps, UUID actor) {
+        executionService.record(steps, actor);
+    }
+
+    /**
+     * Sets the workflow new job cards of the template follow; null returns them to the default.
+     * Cards already bound keep their workflow.
+     */
+    @Transactional
+    @LogExecutionTime
+    public void setTemplateWorkflow(Long templateId, UUID workflowId) {
+        JobCardTemplate template = templateRepository.findById(templateId)
+                .orElseThrow(() -> new BusinessException("Template not found with ID: " + templateId));
+        if (workflowId != null) {
+            workflowService.bindable(workflowId, JOB_CARD.name(), JobStatus.class);
+        }
+        template.setWorkflowId(workflowId);
+
+        log.info("Template {} now follows workflow {}", template.getTemplateCode(),
+                workflowId != null ? workflowId : "default");
+    }
+
+    @Transactional(readOnly = true)
+    @LogExecutionTime
+    public JobCardWorkflowResponse getJobCardWorkflow(Long jobCardId) {
+        WorkflowContext context = findContexts(List.of(jobCardId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new JobCardNotFoundException("Job card not found with ID: " + jobCardId));
+        CompiledWorkflow<JobStatus> workflow = workflowFor(context);
+        List<String> roles = SecurityUtils.getCurrentUserRoles();
+
+        List<JobCardWorkflowResponse.NextStep> nextSteps = workflow.transitionsFrom(context.status()).stream()
+                .filter(transition -> !transition.autoApprove())
+                .map(transition -> JobCardWorkflowResponse.NextStep.builder()
+                        .stepNumber(transition.stepNumber())
+                        .stepName(transition.stepName())
+                        .stepType(transition.stepType())
+                        .toStatus(transition.to())
+                        .requiredRole(transition.requiredRole())
+                        .permitted(transition.permits(roles))
+                        .autoApprovedTo(autoApprovedTo(workflow, transition.to()))
+                        .build())
+                .toList();
+
+        return JobCardWorkflowResponse.builder()
+                .jobCardId(context.id())
+                .jobNumber(context.jobNumber())
+                .status(context.status())
+                .workflowId(workflow.getId())
+                .workflowName(workflow.getName())
+                .nextSteps(nextSteps)
+                .instance(executionService.getInstance(JOB_CARD.name(), context.id().toString()).orElse(null))
+                .build();
+    }
+
+    private CompiledWorkflow<JobStatus> workflowFor(WorkflowContext context) {
+        if (context.instanceWorkflowId() != null) {
+            return workflowService.compiled(context.instanceWorkflowId(), JobStatus.class);
+        }
+        if (context.templateWorkflowId() != null) {
+            return workflowService.compiled(context.templateWorkflowId(), JobStatus.class);
+        }
+        return workflowService.defaultWorkflow(JOB_CARD.name(), JobStatus.class);
+    }
+
+    private static List<JobStatus> autoApprovedTo(CompiledWorkflow<JobStatus> workflow, JobStatus status) {
+        List<JobStatus> reached = new ArrayList<>(0);
+        for (WorkflowTransition<JobStatus> next = workflow.autoApproval(status); next != null;
+             next = workflow.autoApproval(next.to())) {
+            reached.add(next.to());
+        }
+        return reached.isEmpty() ? null : reached;
+    }
+}
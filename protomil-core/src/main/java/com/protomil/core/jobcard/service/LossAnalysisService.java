@@ -0,0 +1,124 @@
+package com.protomil.core.jobcard.service;
+
+import com.protomil.core.jobcard.domain.LossTimeCategory;
+import com.protomil.core.jobcard.domain.enums.LossGrouping;
+import com.protomil.core.jobcard.domain.enums.Shift;
+import com.protomil.core.jobcard.dto.LossParetoResponse;
+import com.protomil.core.jobcard.dto.LossSummaryResponse;
+import com.protomil.core.jobcard.repository.LossTimeCategoryRepository;
+import com.protomil.core.jobcard.repository.ProductionLossRollupRepository;
+import com.protomil.core.shared.exception.BusinessException;
+import com.protomil.core.shared.exception.ResourceNotFoundException;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loss time analysis over the {@code production_loss_daily} category rollup, which is kept in
+ * step with production_loss_details by trigger.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+@Slf4j
+public class LossAnalysisService {
+
+    private static final int MAX_TOP_N = 100;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final ProductionLossRollupRepository lossRollupRepository;
+    private final LossTimeCategoryRepository lossTimeCategoryRepository;
+
+    @LogExecutionTime
+    public List<LossParetoResponse> getLossPareto(LocalDate startDate, LocalDate endDate, String machineCode, Shift shift) {
+        validateRange(startDate, endDate);
+        log.debug("Building loss Pareto from {} to {} for machine {} and shift {}", startDate, endDate, machineCode, shift);
+
+        List<Object[]> rows = lossRollupRepository.sumByCategory(
+                startDate, endDate, machineCode, shift != null ? shift.name() : null);
+        long totalMinutes = rows.stream().mapToLong(row -> toLong(row[1])).sum();
+
+        Map<Long, LossTimeCategory> categories = lossTimeCategoryRepository.findAll().stream()
+                .collect(Collectors.toMap(LossTimeCategory::getId, Function.identity()));
+
+        List<LossParetoResponse> pareto = new ArrayList<>(rows.size());
+        long cumulativeMinutes = 0;
+        for (Object[] row : rows) {
+            long lossMinutes = toLong(row[1]);
+            cumulativeMinutes += lossMinutes;
+            LossTimeCategory category = categories.get(toLong(row[0]));
+
+            pareto.add(LossParetoResponse.builder()
+                    .categoryCode(category != null ? category.getCategoryCode() : "UNCATEGORIZED")
+                    .categoryName(category != null ? category.getCategoryName() : "Uncategorized")
+                    .colorCode(category != null ? category.getColorCode() : null)
+                    .lossMinutes(lossMinutes)
+                    .occurrenceCount(toLong(row[2]))
+                    .percentage(percentage(lossMinutes, totalMinutes))
+                    .cumulativePercentage(percentage(cumulativeMinutes, totalMinutes))
+                    .build());
+        }
+        return pareto;
+    }
+
+    @LogExecutionTime
+    public List<LossSummaryResponse> getTopLosses(LossGrouping grouping, LocalDate startDate, LocalDate endDate,
+                                                  String categoryCode, int limit) {
+        validateRange(startDate, endDate);
+        if (limit < 1 || limit > MAX_TOP_N) {
+            throw new BusinessException("Limit must be between 1 and " + MAX_TOP_N);
+        }
+
+        Long categoryId = categoryCode != null
+                ? lossTimeCategoryRepository.findByCategoryCode(categoryCode)
+                    .map(LossTimeCategory::getId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Loss category not found: " + categoryCode))
+                : null;
+
+        log.debug("Retrieving top {} losses by {} from {} to {} for category {}",
+                limit, grouping, startDate, endDate, categoryCode);
+
+        PageRequest page = PageRequest.of(0, limit);
+        List<Object[]> rows = switch (grouping) {
+            case MACHINE -> lossRollupRepository.sumByMachine(startDate, endDate, categoryId, page);
+            case SHIFT -> lossRollupRepository.sumByShift(startDate, endDate, categoryId, page);
+        };
+
+        return rows.stream()
+                .map(row -> LossSummaryResponse.builder()
+                        .key(String.valueOf(row[0]))
+                        .lossMinutes(toLong(row[1]))
+                        .occurrenceCount(toLong(row[2]))
+                        .build())
+                .toList();
+    }
+
+    private BigDecimal percentage(long part, long total) {
+        if (total <= 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(part).multiply(HUNDRED).divide(BigDecimal.valueOf(total), 2, RoundingMode.HALF_UP);
+    }
+
+    private long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new BusinessException("A valid date range is required (start date must not be after end date)");
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.protomil.core.jobcard.service;
+
+import com.protomil.core.equipment.events.MaintenanceScheduledEvent;
+import com.protomil.core.jobcard.capacity.MachineCapacityCalendar;
+import com.protomil.core.jobcard.capacity.MachineCapacityCalendar.Booking;
+import com.protomil.core.jobcard.capacity.MachineCapacityCalendar.BookingSource;
+import com.protomil.core.jobcard.capacity.MachineCapacityCalendar.FreeSlot;
+import com.protomil.core.jobcard.capacity.MachineCapacityCalendar.MachineInfo;
+import com.protomil.core.jobcard.dto.MachineAvailabilityResponse;
+import com.protomil.core.jobcard.dto.MachineFreeSlotResponse;
+import com.protomil.core.jobcard.events.JobCardAssignedEvent;
+import com.protomil.core.jobcard.events.JobCardBatchEvent;
+import com.protomil.core.jobcard.events.JobCardDomainEvent;
+import com.protomil.core.jobcard.events.JobCardStatusChangedEvent;
+import com.protomil.core.jobcard.repository.MachineBookingRepository;
+import com.protomil.core.shared.async.AsyncExecutors;
+import com.protomil.core.shared.exception.BusinessException;
+import com.protomil.core.shared.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Answers "is machine X free between t1 and t2" and "earliest free slot of N minutes in section S"
+ * from an in-memory {@link MachineCapacityCalendar}. The calendar covers a look-back and a planning
+ * horizon around now; it is built on first use, kept current from job card and maintenance events,
+ * and rebuilt periodically so machine status changes and the moving window are picked up.
+ */
+@Service
+@Slf4j
+public class MachineCalendarService {
+
+    private final MachineBookingRepository bookingRepository;
+    private final Duration lookBack;
+    private final Duration horizon;
+    private final int defaultJobMinutes;
+    private final int defaultMaintenanceMinutes;
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final Timer rebuildTimer;
+    private volatile MachineCapacityCalendar calendar;
+    private volatile LocalDateTime windowStart;
+    private volatile LocalDateTime windowEnd;
+
+    public MachineCalendarService(MachineBookingRepository bookingRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${protomil.machine-calendar.look-back:PT24H}") Duration lookBack,
+                                  @Value("${protomil.machine-calendar.horizon:P30D}") Duration horizon,
+                                  @Value("${protomil.machine-calendar.default-job-minutes:60}") int defaultJobMinutes,
+                                  @Value("${protomil.machine-calendar.default-maintenance-minutes:480}") int defaultMaintenanceMinutes) {
+        this.bookingRepository = bookingRepository;
+        this.lookBack = lookBack;
+        this.horizon = horizon;
+        this.defaultJobMinutes = defaultJobMinutes;
+        this.defaultMaintenanceMinutes = defaultMaintenanceMinutes;
+
+        this.rebuildTimer = Timer.builder("protomil.machine_calendar.rebuild")
+                .description("Full machine capacity calendar rebuilds")
+                .register(meterRegistry);
+        Gauge.builder("protomil.machine_calendar.bookings", this, service -> {
+                    MachineCapacityCalendar current = service.calendar;
+                    return current != null ? current.bookingCount() : 0;
+                })
+                .description("Machine bookings held in the capacity calendar")
+                .register(meterRegistry);
+    }
+
+    public MachineAvailabilityResponse getAvailability(Long machineId, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new BusinessException("Availability window start must be before its end");
+        }
+        MachineCapacityCalendar current = currentCalendar();
+        requireWithinWindow(from, to);
+        MachineInfo machine = current.machine(machineId)
+                .orElseThrow(() -> new ResourceNotFoundException("Active machine not found with ID: " + machineId));
+
+        List<MachineAvailabilityResponse.BookingInfo> bookings = current.bookings(machineId, from, to).stream()
+                .map(booking -> MachineAvailabilityResponse.BookingInfo.builder()
+                        .source(booking.source())
+                        .reference(booking.reference())
+                        .start(booking.start())
+                        .end(booking.end())
+                        .build())
+                .toList();
+
+        return MachineAvailabilityResponse.builder()
+                .machineId(machine.machineId())
+                .machineCode(machine.machineCode())
+                .sectionCode(machine.sectionCode())
+                .inService(machine.available())
+                .from(from)
+                .to(to)
+                .free(current.isFree(machineId, from, to))
+                .bookings(bookings)
+                .build();
+    }
+
+    /**
+     * Earliest slot of {@code durationMinutes} starting at or after {@code from} (default now), on one
+     * machine or across a section. Empty when nothing fits within the calendar horizon.
+     */
+    public Optional<MachineFreeSlotResponse> findFreeSlot(String sectionCode, Long machineId, int durationMinutes,
+                                                          LocalDateTime from) {
+        if ((sectionCode == null) == (machineId == null)) {
+            throw new BusinessException("Specify either a section code or a machine ID");
+        }
+        if (durationMinutes <= 0) {
+            throw new BusinessException("Slot duration must be positive");
+        }
+        MachineCapacityCalendar current = currentCalendar();
+        LocalDateTime start = from != null && from.isAfter(LocalDateTime.now()) ? from : LocalDateTime.now();
+        Duration length = Duration.ofMinutes(durationMinutes);
+
+        Optional<FreeSlot> slot;
+        if (machineId != null) {
+            current.machine(machineId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Active machine not found with ID: " + machineId));
+            slot = current.earliestFreeSlot(machineId, start, length, windowEnd);
+        } else {
+            slot = current.earliestFreeSlotInSection(sectionCode, start, length, windowEnd);
+        }
+
+        return slot.map(found -> MachineFreeSlotResponse.builder()
+                .machineId(found.machine().machineId())
+                .machineCode(found.machine().machineCode())
+                .sectionCode(found.machine().sectionCode())
+                .slotStart(found.start())
+                .slotEnd(found.end())
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${protomil.machine-calendar.rebuild-interval-ms:300000}",
+            initialDelayString = "${protomil.machine-calendar.rebuild-interval-ms:300000}")
+    public void rebuildPeriodically() {
+        if (calendar == null) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Machine calendar rebuild failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @TransactionalEventListener
+    @Async(AsyncExecutors.JOB_CARD_EVENTS)
+    public void handleJobCardAssigned(JobCardAssignedEvent event) {
+        if (event.machineId() != null) {
+            reloadJobCards(List.of(event));
+        }
+    }
+
+    @TransactionalEventListener
+    @Async(AsyncExecutors.JOB_CARD_EVENTS)
+    public void handleJobCardStatusChanged(JobCardStatusChangedEvent event) {
+        reloadJobCards(List.of(event));
+    }
+
+    @TransactionalEventListener
+    @Async(AsyncExecutors.JOB_CARD_EVENTS)
+    public void handleJobCardBatch(JobCardBatchEvent event) {
+        reloadJobCards(Stream.<JobCardDomainEvent>concat(event.assigned().stream(), event.statusChanges().stream()).toList());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleMaintenanceScheduled(MaintenanceScheduledEvent event) {
+        if (calendar == null) {
+            return;
+        }
+        String owner = MachineCapacityCalendar.maintenanceOwner(event.scheduleId());
+        List<Booking> bookings = event.machineId() != null && event.status().isOpen()
+                ? List.of(new Booking(event.machineId(), owner, BookingSource.MAINTENANCE,
+                        event.equipmentNumber() + " " + event.maintenanceType(), event.windowStart(), event.windowEnd()))
+                : List.of();
+
+        updateLock.lock();
+        try {
+            calendar.replaceOwner(owner, bookings);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private void reloadJobCards(Collection<? extends JobCardDomainEvent> events) {
+        if (calendar == null || events.isEmpty()) {
+            return;
+        }
+        updateLock.lock();
+        try {
+            events.stream()
+                    .map(JobCardDomainEvent::jobCardId)
+                    .distinct()
+                    .forEach(jobCardId -> calendar.replaceOwner(MachineCapacityCalendar.jobCardOwner(jobCardId),
+                            bookingRepository.findJobCardBookings(jobCardId, windowStart, windowEnd, defaultJobMinutes)));
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private MachineCapacityCalendar currentCalendar() {
+        MachineCapacityCalendar current = calendar;
+        if (current != null) {
+            return current;
+        }
+        updateLock.lock();
+        try {
+            return calendar != null ? calendar : rebuild();
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private MachineCapacityCalendar rebuild() {
+        updateLock.lock();
+        try {
+            return rebuildTimer.record(() -> {
+                LocalDateTime now = LocalDateTime.now();
+                LocalDateTime start = now.minus(lookBack);
+                LocalDateTime end = now.plus(horizon);
+                MachineCapacityCalendar rebuilt = new MachineCapacityCalendar(
+                        bookingRepository.findActiveMachines(),
+                        bookingRepository.findBookings(start, end, defaultJobMinutes, defaultMaintenanceMinutes));
+
+                windowStart = start;
+                windowEnd = end;
+                calendar = rebuilt;
+                log.debug("Machine calendar rebuilt with {} bookings", rebuilt.bookingCount());
+                return rebuilt;
+            });
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private void requireWithinWindow(LocalDateTime from, LocalDateTime to) {
+        if (from.isBefore(windowStart) || to.isAfter(windowEnd)) {
+            throw new BusinessException("Availability can only be checked between " + windowStart + " and " + windowEnd);
+        }
+    }
+}
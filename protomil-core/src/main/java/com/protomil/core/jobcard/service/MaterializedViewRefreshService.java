@@ -0,0 +1,159 @@
+package com.protomil.core.jobcard.service;
+
+import com.protomil.core.jobcard.events.JobCardAssignedEvent;
+import com.protomil.core.jobcard.events.JobCardBatchEvent;
+import com.protomil.core.jobcard.events.JobCardCompletedEvent;
+import com.protomil.core.jobcard.events.JobCardCreatedEvent;
+import com.protomil.core.jobcard.events.JobCardStatusChangedEvent;
+import com.protomil.core.jobcard.events.ProductionRecordChangedEvent;
+import com.protomil.core.shared.events.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the reporting materialized views fresh. Committed job card and production changes mark a view
+ * dirty; the refresh is debounced until writes have been quiet for {@code quiet-period-ms} (but never
+ * deferred longer than {@code max-delay-ms}), and every view is refreshed at least every {@code max-age-ms}
+ * to pick up changes that publish no event.
+ */
+@Service
+@Slf4j
+public class MaterializedViewRefreshService {
+
+    public enum ReportingView {
+        JOB_CARD_SUMMARY("v_job_card_summary"),
+        PRODUCTION_EFFICIENCY("v_production_efficiency");
+
+        private final String viewName;
+
+        ReportingView(String viewName) {
+            this.viewName = viewName;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long quietPeriodMs;
+    private final long maxDelayMs;
+    private final long maxAgeMs;
+    private final Map<ReportingView, ViewState> states = new EnumMap<>(ReportingView.class);
+
+    public MaterializedViewRefreshService(JdbcTemplate jdbcTemplate,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${protomil.materialized-views.quiet-period-ms:10000}") long quietPeriodMs,
+                                          @Value("${protomil.materialized-views.max-delay-ms:60000}") long maxDelayMs,
+                                          @Value("${protomil.materialized-views.max-age-ms:900000}") long maxAgeMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.quietPeriodMs = quietPeriodMs;
+        this.maxDelayMs = maxDelayMs;
+        this.maxAgeMs = maxAgeMs;
+
+        for (ReportingView view : ReportingView.values()) {
+            ViewState state = new ViewState(Timer.builder("protomil.materialized_view.refresh")
+                    .description("Time taken to refresh a reporting materialized view")
+                    .tag("view", view.viewName)
+                    .register(meterRegistry));
+            states.put(view, state);
+
+            Gauge.builder("protomil.materialized_view.staleness.seconds", state, ViewState::stalenessSeconds)
+                    .description("Seconds since the oldest change not yet reflected in the view")
+                    .tag("view", view.viewName)
+                    .register(meterRegistry);
+        }
+    }
+
+    @EventListener
+    public void handleJobCardCreated(JobCardCreatedEvent event) {
+        AfterCommit.run(() -> markDirty(ReportingView.JOB_CARD_SUMMARY));
+    }
+
+    @EventListener
+    public void handleJobCardStatusChanged(JobCardStatusChangedEvent event) {
+        AfterCommit.run(() -> markDirty(ReportingView.JOB_CARD_SUMMARY));
+    }
+
+    @EventListener
+    public void handleJobCardAssigned(JobCardAssignedEvent event) {
+        AfterCommit.run(() -> markDirty(ReportingView.JOB_CARD_SUMMARY));
+    }
+
+    @EventListener
+    public void handleJobCardCompleted(JobCardCompletedEvent event) {
+        AfterCommit.run(() -> markDirty(ReportingView.JOB_CARD_SUMMARY));
+    }
+
+    @EventListener
+    public void handleJobCardBatch(JobCardBatchEvent event) {
+        AfterCommit.run(() -> markDirty(ReportingView.JOB_CARD_SUMMARY));
+    }
+
+    @EventListener
+    public void handleProductionRecordChanged(ProductionRecordChangedEvent event) {
+        AfterCommit.run(() -> markDirty(ReportingView.PRODUCTION_EFFICIENCY));
+    }
+
+    public void markDirty(ReportingView view) {
+        ViewState state = states.get(view);
+        long now = System.currentTimeMillis();
+        state.lastChangeAt = now;
+        state.firstPendingChangeAt.compareAndSet(0L, now);
+    }
+
+    @Scheduled(fixedDelayString = "${protomil.materialized-views.check-interval-ms:5000}")
+    public void refreshDueViews() {
+        long now = System.currentTimeMillis();
+        states.forEach((view, state) -> {
+            long firstPending = state.firstPendingChangeAt.get();
+            boolean pending = firstPending != 0L;
+            boolean settled = now - state.lastChangeAt >= quietPeriodMs || now - firstPending >= maxDelayMs;
+            boolean expired = now - state.lastRefreshedAt >= maxAgeMs;
+
+            if ((pending && settled) || expired) {
+                refresh(view, state, firstPending);
+            }
+        });
+    }
+
+    private void refresh(ReportingView view, ViewState state, long firstPending) {
+        // Changes marked from here on are not guaranteed to be in this refresh and re-arm the view
+        state.firstPendingChangeAt.set(0L);
+        try {
+            state.refreshTimer.record(() ->
+                    jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY " + view.viewName));
+            state.lastRefreshedAt = System.currentTimeMillis();
+            log.debug("Refreshed materialized view {}", view.viewName);
+        } catch (RuntimeException e) {
+            if (firstPending != 0L) {
+                state.firstPendingChangeAt.compareAndSet(0L, firstPending);
+            }
+            log.error("Failed to refresh materialized view {}: {}", view.viewName, e.getMessage());
+        }
+    }
+
+    private static final class ViewState {
+
+        private final Timer refreshTimer;
+        private final AtomicLong firstPendingChangeAt = new AtomicLong();
+        private volatile long lastChangeAt;
+        private volatile long lastRefreshedAt = System.currentTimeMillis();
+
+        private ViewState(Timer refreshTimer) {
+            this.refreshTimer = refreshTimer;
+        }
+
+        private double stalenessSeconds() {
+            long firstPending = firstPendingChangeAt.get();
+            return firstPending == 0L ? 0.0 : (System.currentTimeMillis() - firstPending) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.protomil.core.jobcard.service;
+
+import com.protomil.core.jobcard.domain.enums.OeeGrouping;
+import com.protomil.core.jobcard.dto.OeeSummaryResponse;
+import com.protomil.core.jobcard.repository.ProductionOeeRollupRepository;
+import com.protomil.core.shared.exception.BusinessException;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Serves OEE (availability x performance x quality) from the {@code production_oee_daily} rollup
+ * instead of rescanning production_master for every dashboard request.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+@Slf4j
+public class OeeService {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final int RATIO_SCALE = 6;
+
+    private final ProductionOeeRollupRepository rollupRepository;
+
+    @LogExecutionTime
+    public List<OeeSummaryResponse> getOee(OeeGrouping grouping, LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        log.debug("Calculating OEE grouped by {} from {} to {}", grouping, startDate, endDate);
+
+        List<Object[]> rows = switch (grouping) {
+            case MACHINE -> rollupRepository.sumByMachine(startDate, endDate);
+            case SECTION -> rollupRepository.sumBySection(startDate, endDate);
+            case SHIFT -> rollupRepository.sumByShift(startDate, endDate);
+            case DAY -> rollupRepository.sumByDay(startDate, endDate);
+        };
+
+        return rows.stream().map(this::toSummary).toList();
+    }
+
+    @LogExecutionTime
+    public List<OeeSummaryResponse> getMachineOeeTrend(String machineCode, LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        log.debug("Calculating daily OEE trend for machine {} from {} to {}", machineCode, startDate, endDate);
+
+        return rollupRepository.sumByDayForMachine(machineCode, startDate, endDate).stream()
+                .map(this::toSummary)
+                .toList();
+    }
+
+    private OeeSummaryResponse toSummary(Object[] row) {
+        long recordCount = toLong(row[1]);
+        long planned = toLong(row[2]);
+        long loss = toLong(row[3]);
+        long run = toLong(row[4]);
+        BigDecimal idealRun = row[5] instanceof BigDecimal value ? value : BigDecimal.valueOf(toLong(row[5]));
+        long produced = toLong(row[6]);
+        long rejected = toLong(row[7]);
+
+        BigDecimal availability = ratio(BigDecimal.valueOf(run), BigDecimal.valueOf(planned));
+        BigDecimal performance = ratio(idealRun, BigDecimal.valueOf(run));
+        BigDecimal quality = ratio(BigDecimal.valueOf(Math.max(produced - rejected, 0)), BigDecimal.valueOf(produced));
+        BigDecimal oee = availability != null && performance != null && quality != null
+                ? availability.multiply(performance).multiply(quality)
+                : null;
+
+        return OeeSummaryResponse.builder()
+                .key(String.valueOf(row[0]))
+                .recordCount(recordCount)
+                .plannedMinutes(planned)
+                .lossMinutes(loss)
+                .runMinutes(run)
+                .productionQuantity(produced)
+                .rejectionQuantity(rejected)
+                .availabilityPercentage(toPercentage(availability))
+                .performancePercentage(toPercentage(performance))
+                .qualityPercentage(toPercentage(quality))
+                .oeePercentage(toPercentage(oee))
+                .build();
+    }
+
+    private BigDecimal ratio(BigDecimal numerator, BigDecimal denominator) {
+        if (denominator.signum() <= 0) {
+            return null;
+        }
+        return numerator.divide(denominator, RATIO_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private BigDecimal toPercentage(BigDecimal ratio) {
+        return ratio != null ? ratio.multiply(HUNDRED).setScale(2, RoundingMode.HALF_UP) : null;
+    }
+
+    private long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new BusinessException("A valid date range is required (start date must not be after end date)");
+        }
+    }
+}
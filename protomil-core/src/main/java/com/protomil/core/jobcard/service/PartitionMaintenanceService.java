@@ -0,0 +1,194 @@
+package com.protomil.core.jobcard.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly range partitions of production_master (V16), job_card_status_history (V15)
+ * and machine_telemetry_buckets (V21).
+ * Partitions for the next {@code premake-months} are created ahead of time so inserts never land in
+ * the default partition. Months older than a table's retention are detached. Depending on
+ * {@code retention-action}, they are then moved to the {@code archive} schema or dropped. Detaching
+ * fires no delete triggers, so the daily OEE and loss rollups keep the history of expired months.
+ */
+@Service
+@Slf4j
+public class PartitionMaintenanceService {
+
+    public enum PartitionedTable {
+        PRODUCTION_MASTER("production_master"),
+        JOB_CARD_STATUS_HISTORY("job_card_status_history"),
+        MACHINE_TELEMETRY_BUCKETS("machine_telemetry_buckets");
+
+        private final String tableName;
+
+        PartitionedTable(String tableName) {
+            this.tableName = tableName;
+        }
+    }
+
+    public enum RetentionAction {
+        ARCHIVE,
+        DROP
+    }
+
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("_(\\d{4})_(\\d{2})$");
+
+    private static final String PARTITIONS_SQL = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            JOIN pg_namespace n ON n.oid = p.relnamespace
+            WHERE p.relname = ? AND n.nspname = current_schema()
+            """;
+
+    private static final String ARCHIVE_SCHEMA = "archive";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int premakeMonths;
+    private final RetentionAction retentionAction;
+    private final Map<PartitionedTable, Integer> retentionMonths = new EnumMap<>(PartitionedTable.class);
+    private final Counter partitionsCreated;
+    private final Counter partitionsExpired;
+
+    public PartitionMaintenanceService(JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${protomil.partitions.premake-months:3}") int premakeMonths,
+                                       @Value("${protomil.partitions.retention-action:ARCHIVE}") RetentionAction retentionAction,
+                                       @Value("${protomil.partitions.production-master.retention-months:36}") int productionMasterRetention,
+                                       @Value("${protomil.partitions.status-history.retention-months:24}") int statusHistoryRetention,
+                                       @Value("${protomil.partitions.machine-telemetry.retention-months:13}") int machineTelemetryRetention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.premakeMonths = premakeMonths;
+        this.retentionAction = retentionAction;
+        this.retentionMonths.put(PartitionedTable.PRODUCTION_MASTER, productionMasterRetention);
+        this.retentionMonths.put(PartitionedTable.JOB_CARD_STATUS_HISTORY, statusHistoryRetention);
+        this.retentionMonths.put(PartitionedTable.MACHINE_TELEMETRY_BUCKETS, machineTelemetryRetention);
+
+        this.partitionsCreated = Counter.builder("protomil.partitions.created")
+                .description("Monthly partitions created ahead of time")
+                .register(meterRegistry);
+        this.partitionsExpired = Counter.builder("protomil.partitions.expired")
+                .description("Monthly partitions detached after their retention period")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${protomil.partitions.maintenance-cron:0 30 1 * * *}")
+    public void maintainPartitions() {
+        YearMonth currentMonth = YearMonth.now();
+        for (PartitionedTable table : PartitionedTable.values()) {
+            try {
+                createUpcomingPartitions(table, currentMonth);
+                expirePartitions(table, currentMonth);
+            } catch (RuntimeException e) {
+                log.error("Partition maintenance failed for {}: {}", table.tableName, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void createUpcomingPartitions(PartitionedTable table, YearMonth currentMonth) {
+        for (int i = 0; i <= premakeMonths; i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            try {
+                String created = jdbcTemplate.queryForObject("SELECT create_monthly_partition(?, ?)", String.class,
+                        table.tableName, month.atDay(1));
+                if (created != null) {
+                    partitionsCreated.increment();
+                    log.info("Created partition {}", created);
+                }
+            } catch (DataAccessException e) {
+                // Typically the default partition already holds rows for that month; they must be moved by hand
+                log.warn("Could not create {} partition for {}: {}", table.tableName, month,
+                        e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private void expirePartitions(PartitionedTable table, YearMonth currentMonth) {
+        int retention = retentionMonths.get(table);
+        if (retention <= 0) {
+            return;
+        }
+
+        YearMonth oldestRetained = currentMonth.minusMonths(retention);
+        List<String> partitions = jdbcTemplate.queryForList(PARTITIONS_SQL, String.class, table.tableName);
+        for (String partition : partitions) {
+            YearMonth month = monthOf(partition);
+            if (month != null && month.isBefore(oldestRetained)) {
+                transactionTemplate.executeWithoutResult(status -> expirePartition(table, partition));
+                partitionsExpired.increment();
+                log.info("{} partition {} of {} (retention {} months)",
+                        retentionAction == RetentionAction.ARCHIVE ? "Archived" : "Dropped",
+                        partition, table.tableName, retention);
+            }
+        }
+    }
+
+    private void expirePartition(PartitionedTable table, String partition) {
+        // Brief ACCESS EXCLUSIVE lock on the parent; CONCURRENTLY is not allowed alongside a default partition
+        jdbcTemplate.execute("ALTER TABLE " + quote(table.tableName) + " DETACH PARTITION " + quote(partition));
+
+        if (table == PartitionedTable.PRODUCTION_MASTER) {
+            expireLossDetails(partition);
+        }
+
+        if (retentionAction == RetentionAction.ARCHIVE) {
+            jdbcTemplate.execute("ALTER TABLE " + quote(partition) + " SET SCHEMA " + ARCHIVE_SCHEMA);
+        } else {
+            jdbcTemplate.execute("DROP TABLE " + quote(partition));
+        }
+    }
+
+    /**
+     * Loss details follow their detached production rows. With the master rows already detached, the
+     * detail delete triggers find no master and leave the loss rollup untouched.
+     */
+    private void expireLossDetails(String partition) {
+        if (retentionAction == RetentionAction.ARCHIVE) {
+            String archiveTable = partition.replaceFirst("^production_master", "production_loss_details");
+            jdbcTemplate.execute("CREATE TABLE " + ARCHIVE_SCHEMA + "." + quote(archiveTable) + " AS " +
+                    "SELECT d.* FROM production_loss_details d JOIN " + quote(partition) + " p " +
+                    "ON p.id = d.production_master_id");
+        }
+        jdbcTemplate.update("DELETE FROM production_loss_details d USING " + quote(partition) + " p " +
+                "WHERE d.production_master_id = p.id");
+    }
+
+    private YearMonth monthOf(String partition) {
+        Matcher matcher = MONTHLY_PARTITION.matcher(partition);
+        if (!matcher.find()) {
+            return null;
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+
+    private String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
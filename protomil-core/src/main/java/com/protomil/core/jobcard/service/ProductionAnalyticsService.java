@@ -0,0 +1,190 @@
+package com.protomil.core.jobcard.service;
+
+import com.protomil.core.jobcard.analytics.ProductionFact;
+import com.protomil.core.jobcard.analytics.ProductionFactStore;
+import com.protomil.core.jobcard.domain.ProductionMaster;
+import com.protomil.core.jobcard.domain.enums.ProductionDimension;
+import com.protomil.core.jobcard.dto.ProductionKpiResponse;
+import com.protomil.core.jobcard.events.ProductionRecordChangedEvent;
+import com.protomil.core.jobcard.repository.ProductionMasterRepository;
+import com.protomil.core.shared.events.AfterCommit;
+import com.protomil.core.shared.exception.BusinessException;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Serves efficiency and rejection KPIs for the recent production window from the in-memory
+ * {@link ProductionFactStore}. The store is loaded once at startup and then kept current from
+ * committed production record changes, so dashboard queries never hit production_master.
+ * <p>
+ * The startup load fills a fresh store while changes committed meanwhile are held back; they are
+ * replayed onto it before it replaces the live store, so a slow load cannot lose or resurrect a fact.
+ */
+@Service
+@Slf4j
+public class ProductionAnalyticsService {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final ProductionMasterRepository productionMasterRepository;
+    private final EntityManager entityManager;
+    private final int windowDays;
+    private final Object loadLock = new Object();
+
+    private volatile ProductionFactStore store = new ProductionFactStore();
+    private volatile boolean loaded;
+    private List<ProductionRecordChangedEvent> pendingChanges; // non-null while a load is running
+
+    public ProductionAnalyticsService(ProductionMasterRepository productionMasterRepository,
+                                      EntityManager entityManager,
+                                      @Value("${protomil.production-analytics.window-days:90}") int windowDays) {
+        this.productionMasterRepository = productionMasterRepository;
+        this.entityManager = entityManager;
+        this.windowDays = windowDays;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadWindow() {
+        LocalDate windowStart = windowStart();
+        log.info("Loading production facts since {} into analytics store", windowStart);
+
+        synchronized (loadLock) {
+            pendingChanges = new ArrayList<>();
+        }
+
+        long startTime = System.currentTimeMillis();
+        ProductionFactStore loading = new ProductionFactStore();
+        boolean completed = false;
+        int replayed;
+        try {
+            try (Stream<ProductionMaster> rows = productionMasterRepository
+                    .streamByEntryDateBetweenOrderByEntryDateAscIdAsc(windowStart, LocalDate.now())) {
+                rows.forEach(row -> {
+                    loading.upsert(ProductionFact.from(row));
+                    entityManager.detach(row);
+                });
+            }
+            completed = true;
+        } finally {
+            synchronized (loadLock) {
+                // On failure the held-back changes still go to the store that stays live
+                ProductionFactStore target = completed ? loading : store;
+                replayed = pendingChanges.size();
+                pendingChanges.forEach(event -> apply(target, event));
+                pendingChanges = null;
+                store = target;
+            }
+        }
+        loaded = true;
+
+        log.info("Loaded {} production facts into analytics store in {} ms ({} changes replayed)",
+                store.size(), System.currentTimeMillis() - startTime, replayed);
+    }
+
+    // A plain listener: the store is rebuilt from the table on startup, so it needs no outbox entry
+    @EventListener
+    public void handleProductionRecordChanged(ProductionRecordChangedEvent event) {
+        AfterCommit.run(() -> {
+            synchronized (loadLock) {
+                if (pendingChanges != null) {
+                    pendingChanges.add(event);
+                    return;
+                }
+                apply(store, event);
+            }
+        });
+    }
+
+    private void apply(ProductionFactStore target, ProductionRecordChangedEvent event) {
+        ProductionFact fact = event.fact();
+        if (event.removed()) {
+            target.remove(fact.id());
+        } else if (fact.entryDate() != null && !fact.entryDate().isBefore(windowStart())) {
+            target.upsert(fact);
+        } else {
+            // Entry date edited to before the window, or cleared
+            target.remove(fact.id());
+        }
+    }
+
+    @Scheduled(cron = "${protomil.production-analytics.eviction-cron:0 15 0 * * *}")
+    public void evictExpiredFacts() {
+        int evicted = store.evictBefore(windowStart());
+        log.info("Evicted {} production facts older than {} days from analytics store", evicted, windowDays);
+    }
+
+    @LogExecutionTime
+    public List<ProductionKpiResponse> getKpis(ProductionDimension groupBy, ProductionFactStore.Filter filter) {
+        validateFilter(filter);
+        log.debug("Aggregating production KPIs grouped by {} for {}", groupBy, filter);
+
+        return store.aggregate(filter, groupBy).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @LogExecutionTime
+    public List<ProductionKpiResponse> getRejectionLeaders(ProductionDimension groupBy, ProductionFactStore.Filter filter) {
+        return getKpis(groupBy, filter).stream()
+                .sorted(Comparator.comparing(ProductionKpiResponse::getRejectionQuantity).reversed())
+                .toList();
+    }
+
+    private ProductionKpiResponse toResponse(ProductionFactStore.GroupTotals totals) {
+        return ProductionKpiResponse.builder()
+                .key(totals.key())
+                .recordCount(totals.recordCount())
+                .productionQuantity(totals.productionQuantity())
+                .rejectionQuantity(totals.rejectionQuantity())
+                .rejectionRatePercentage(totals.productionQuantity() > 0
+                        ? BigDecimal.valueOf(totals.rejectionQuantity())
+                            .multiply(HUNDRED)
+                            .divide(BigDecimal.valueOf(totals.productionQuantity()), 2, RoundingMode.HALF_UP)
+                        : null)
+                .averageOperatorEfficiencyPercentage(
+                        averageOfHundredths(totals.operatorEfficiencySum(), totals.operatorEfficiencyCount()))
+                .averageEquipmentEfficiencyPercentage(
+                        averageOfHundredths(totals.equipmentEfficiencySum(), totals.equipmentEfficiencyCount()))
+                .build();
+    }
+
+    private BigDecimal averageOfHundredths(long sum, long count) {
+        if (count == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(sum).divide(BigDecimal.valueOf(count * 100), 2, RoundingMode.HALF_UP);
+    }
+
+    private void validateFilter(ProductionFactStore.Filter filter) {
+        if (filter.startDate() == null || filter.endDate() == null || filter.startDate().isAfter(filter.endDate())) {
+            throw new BusinessException("A valid date range is required (start date must not be after end date)");
+        }
+        if (filter.startDate().isBefore(windowStart())) {
+            throw new BusinessException("Production analytics only cover the last " + windowDays
+                    + " days; use the production export for older data");
+        }
+        if (!loaded) {
+            throw new BusinessException("Production analytics are still loading, please retry shortly");
+        }
+    }
+
+    private LocalDate windowStart() {
+        return LocalDate.now().minusDays(windowDays);
+    }
+}
@@ -0,0 +1,61 @@
+package com.protomil.core.jobcard.service;
+
+import com.protomil.core.jobcard.domain.ProductionEfficiencyView;
+import com.protomil.core.jobcard.dto.ProductionEfficiencyRecord;
+import com.protomil.core.jobcard.repository.ProductionEfficiencyViewRepository;
+import com.protomil.core.shared.exception.BusinessException;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Production record reporting over the {@code v_production_efficiency} materialized view.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ProductionReportingService {
+
+    private final ProductionEfficiencyViewRepository efficiencyViewRepository;
+
+    @LogExecutionTime
+    public Page<ProductionEfficiencyRecord> getEfficiencyRecords(LocalDate startDate, LocalDate endDate,
+                                                                 String machineCode, Pageable pageable) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new BusinessException("A valid date range is required (start date must not be after end date)");
+        }
+        log.debug("Retrieving production efficiency records from {} to {} for machine {}", startDate, endDate, machineCode);
+
+        Page<ProductionEfficiencyView> rows = machineCode != null
+                ? efficiencyViewRepository.findByMachineCodeAndEntryDateBetween(machineCode, startDate, endDate, pageable)
+                : efficiencyViewRepository.findByEntryDateBetween(startDate, endDate, pageable);
+
+        return rows.map(this::toRecord);
+    }
+
+    private ProductionEfficiencyRecord toRecord(ProductionEfficiencyView view) {
+        return ProductionEfficiencyRecord.builder()
+                .id(view.getId())
+                .jobCardId(view.getJobCardId())
+                .jobNumber(view.getJobNumber())
+                .machineCode(view.getMachineCode())
+                .partNumber(view.getPartNumber())
+                .shift(view.getShift())
+                .entryDate(view.getEntryDate())
+                .productionQuantity(view.getProductionQuantity())
+                .totalTimeAvailableMinutes(view.getTotalTimeAvailableMinutes())
+                .netTimeAvailableMinutes(view.getNetTimeAvailableMinutes())
+                .operatorEfficiencyPercentage(view.getOperatorEfficiencyPercentage())
+                .equipmentEfficiencyPercentage(view.getEquipmentEfficiencyPercentage())
+                .totalLossTimeMinutes(view.getTotalLossTimeMinutes())
+                .totalRejectionQuantity(view.getTotalRejectionQuantity())
+                .build();
+    }
+}
@@ -0,0 +1,536 @@
+package com.protomil.core.personnel.availability;
+
+import com.protomil.core.jobcard.domain.enums.Shift;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Who is rostered, on leave or working on job cards, per person and calendar day.
+ * <p>
+ * A day is {@link #SLOTS_PER_DAY} slots of {@link #SLOT_MINUTES} minutes, so one person-day fits in a
+ * single {@code long} with bit n standing for the slot starting n slots after midnight. Shift
+ * patterns are not stored as days: a day's bit maps are expanded from the patterns, leave and
+ * assignments the first time the day is asked for, then kept in a bounded cache of recently used
+ * days. A change to one person re-expands only that person's bits in the cached days. Night shifts
+ * belong to the day they start on and set bits on the following day too.
+ * <p>
+ * Headcounts by shift are rolled up per cached day on first request and kept until a bit that
+ * affects them changes. Thread-safe; queries run concurrently under a read lock, while building and
+ * evicting cached days takes the write lock.
+ */
+public final class AvailabilityCalendar {
+
+    public static final int SLOT_MINUTES = 30;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private static final long SLOT_SECONDS = SLOT_MINUTES * 60L;
+    private static final Shift[] SHIFTS = Shift.values();
+    private static final long[] SAME_DAY_SLOTS = new long[SHIFTS.length];
+    private static final long[] NEXT_DAY_SLOTS = new long[SHIFTS.length];
+
+    static {
+        for (Shift shift : SHIFTS) {
+            int start = slotOf(shift.getStartTime());
+            int end = ceilSlotOf(shift.getEndTime());
+            SAME_DAY_SLOTS[shift.ordinal()] = slots(start, shift.crossesMidnight() ? SLOTS_PER_DAY : end);
+            NEXT_DAY_SLOTS[shift.ordinal()] = shift.crossesMidnight() ? slots(0, end) : 0L;
+        }
+    }
+
+    public record PersonInfo(UUID personnelId, UUID userId, String employeeNumber, String fullName,
+                             String department, boolean active) {
+    }
+
+    /**
+     * A recurring shift pattern, see {@link com.protomil.core.personnel.domain.Shift}.
+     *
+     * @param effectiveTo inclusive; null when open-ended
+     */
+    public record Rota(String pattern, LocalDate cycleStartDate, LocalDate effectiveFrom, LocalDate effectiveTo) {
+
+        boolean isEffectiveOn(LocalDate date) {
+            return !date.isBefore(effectiveFrom) && (effectiveTo == null || !date.isAfter(effectiveTo));
+        }
+
+        Shift shiftOn(LocalDate date) {
+            return com.protomil.core.personnel.domain.Shift.shiftFor(
+                    com.protomil.core.personnel.domain.Shift.codeOn(pattern, cycleStartDate, date));
+        }
+    }
+
+    /** A period of leave or work, {@code [start, end)}. */
+    public record Block(LocalDateTime start, LocalDateTime end) {
+    }
+
+    /**
+     * A person's slots on one calendar day.
+     *
+     * @param shift the shift starting on the day; null on a day off
+     */
+    public record DaySlots(LocalDate date, Shift shift, long rostered, long leave, long assigned) {
+
+        /** Rostered slots without leave or job card work. */
+        public long available() {
+            return rostered & ~leave & ~assigned;
+        }
+    }
+
+    public record PersonDays(PersonInfo person, List<DaySlots> days) {
+    }
+
+    /**
+     * Active personnel rostered on a shift, by what they are doing during it. Each is counted once:
+     * leave anywhere in the shift before job card work anywhere in it.
+     */
+    public record Headcount(int rostered, int onLeave, int assigned, int free) {
+
+        static final Headcount NONE = new Headcount(0, 0, 0, 0);
+    }
+
+    private static final int ROSTERED = 0;
+    private static final int ON_LEAVE = 1;
+    private static final int ASSIGNED = 2;
+    private static final int FREE = 3;
+
+    private record Rollup(int[][] total, Map<String, int[][]> byDepartment) {
+    }
+
+    private static final class Person {
+        private final int ordinal;
+        private PersonInfo info;
+        private List<Rota> rotas = List.of();
+        private List<Block> leave = List.of();
+        private List<Block> assignments = List.of();
+
+        private Person(int ordinal, PersonInfo info) {
+            this.ordinal = ordinal;
+            this.info = info;
+        }
+
+        /** Rotas are held latest first; the first one starting on or before the date decides it. */
+        private Rota rotaOn(LocalDate date) {
+            for (Rota rota : rotas) {
+                if (!rota.effectiveFrom().isAfter(date)) {
+                    return rota.isEffectiveOn(date) ? rota : null;
+                }
+            }
+            return null;
+        }
+
+        private Shift shiftOn(LocalDate date) {
+            Rota rota = rotaOn(date);
+            return rota != null ? rota.shiftOn(date) : null;
+        }
+    }
+
+    private static final class Day {
+        private final LocalDate date;
+        // Shift ordinal + 1, 0 on a day off
+        private final byte[] shifts;
+        private final long[] rostered;
+        private final long[] leave;
+        private final long[] assigned;
+        private volatile Rollup rollup;
+        private volatile long lastUsed;
+
+        private Day(LocalDate date, int persons) {
+            this.date = date;
+            this.shifts = new byte[persons];
+            this.rostered = new long[persons];
+            this.leave = new long[persons];
+            this.assigned = new long[persons];
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Person> persons = new HashMap<>();
+    private final List<Person> byOrdinal = new ArrayList<>();
+    private final Map<LocalDate, Day> days = new ConcurrentHashMap<>();
+    private final AtomicLong useClock = new AtomicLong();
+    private final LocalDate windowStart;
+    private final int maxCachedDays;
+
+    /**
+     * @param windowStart   first day leave is loaded for; earlier days cannot be asked for
+     * @param maxCachedDays expanded days kept, least recently used dropped first
+     */
+    public AvailabilityCalendar(LocalDate windowStart, int maxCachedDays) {
+        this.windowStart = windowStart;
+        this.maxCachedDays = Math.max(maxCachedDays, 2);
+    }
+
+    public LocalDate windowStart() {
+        return windowStart;
+    }
+
+    /** Adds a person or replaces their details, shift patterns and leave. */
+    public void putPerson(PersonInfo info, Collection<Rota> rotas, Collection<Block> leave) {
+        lock.writeLock().lock();
+        try {
+            Person person = persons.get(info.personnelId());
+            if (person == null) {
+                person = new Person(byOrdinal.size(), info);
+                persons.put(info.personnelId(), person);
+                byOrdinal.add(person);
+                // Cached days have no room for the newcomer
+                days.clear();
+            } else if (!person.info.equals(info)) {
+                // Status and department feed the rollups without changing any bits
+                days.values().forEach(day -> day.rollup = null);
+            }
+            person.info = info;
+            person.rotas = rotas.stream().sorted(Comparator.comparing(Rota::effectiveFrom).reversed()).toList();
+            person.leave = sorted(leave);
+            refresh(person);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Replaces everyone's job card work; personnel missing from the map have none. */
+    public void replaceAssignments(Map<UUID, List<Block>> assignmentsByPerson) {
+        lock.writeLock().lock();
+        try {
+            for (Person person : byOrdinal) {
+                List<Block> assignments = sorted(assignmentsByPerson.getOrDefault(person.info.personnelId(), List.of()));
+                if (!assignments.equals(person.assignments)) {
+                    person.assignments = assignments;
+                    refresh(person);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<PersonInfo> person(UUID personnelId) {
+        lock.readLock().lock();
+        try {
+            Person person = persons.get(personnelId);
+            return person != null ? Optional.of(person.info) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int personCount() {
+        lock.readLock().lock();
+        try {
+            return byOrdinal.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int cachedDayCount() {
+        return days.size();
+    }
+
+    /**
+     * Whether a person can work at {@code at}: not on leave, and rostered then if they have a shift
+     * pattern at all. Personnel without a pattern are not restricted by shifts, nor are personnel
+     * unknown to the calendar.
+     */
+    public boolean isAvailableAt(UUID personnelId, LocalDateTime at) {
+        LocalDate date = at.toLocalDate();
+        requireLoaded(date);
+        Day day = lockDays(date, date).getFirst();
+        try {
+            Person person = persons.get(personnelId);
+            if (person == null) {
+                return true;
+            }
+            long slot = 1L << slotOf(at.toLocalTime());
+            if ((day.leave[person.ordinal] & slot) != 0) {
+                return false;
+            }
+            boolean hasPattern = person.rotaOn(date) != null || person.rotaOn(date.minusDays(1)) != null;
+            return !hasPattern || (day.rostered[person.ordinal] & slot) != 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Day-by-day slots of the active personnel of a department (all departments when null) from
+     * {@code from} to {@code to} inclusive, by employee number.
+     */
+    public List<PersonDays> team(String department, LocalDate from, LocalDate to) {
+        requireLoaded(from);
+        List<Day> range = lockDays(from, to);
+        try {
+            List<Person> members = byOrdinal.stream()
+                    .filter(person -> person.info.active())
+                    .filter(person -> department == null || department.equals(person.info.department()))
+                    .sorted(Comparator.comparing(person -> person.info.employeeNumber()))
+                    .toList();
+            List<List<DaySlots>> slots = new ArrayList<>(members.size());
+            members.forEach(member -> slots.add(new ArrayList<>()));
+
+            for (Day day : range) {
+                for (int i = 0; i < members.size(); i++) {
+                    int ordinal = members.get(i).ordinal;
+                    slots.get(i).add(new DaySlots(day.date, shiftAt(day, ordinal), day.rostered[ordinal],
+                            day.leave[ordinal], day.assigned[ordinal]));
+                }
+            }
+
+            List<PersonDays> team = new ArrayList<>(members.size());
+            for (int i = 0; i < members.size(); i++) {
+                team.add(new PersonDays(members.get(i).info, slots.get(i)));
+            }
+            return team;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Headcounts of the shifts starting on {@code date}, for one department or all when null. */
+    public Map<Shift, Headcount> headcounts(LocalDate date, String department) {
+        requireLoaded(date);
+        List<Day> dayAndNext = lockDays(date, date.plusDays(1));
+        try {
+            Day day = dayAndNext.get(0);
+            Rollup rollup = day.rollup;
+            if (rollup == null) {
+                rollup = rollUp(day, dayAndNext.get(1));
+                day.rollup = rollup;
+            }
+            int[][] counts = department != null ? rollup.byDepartment().get(department) : rollup.total();
+
+            Map<Shift, Headcount> headcounts = new EnumMap<>(Shift.class);
+            for (Shift shift : SHIFTS) {
+                int[] count = counts != null ? counts[shift.ordinal()] : null;
+                headcounts.put(shift, count != null
+                        ? new Headcount(count[ROSTERED], count[ON_LEAVE], count[ASSIGNED], count[FREE])
+                        : Headcount.NONE);
+            }
+            return headcounts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Minutes covered by the set bits of a day's slots. */
+    public static int minutes(long slots) {
+        return Long.bitCount(slots) * SLOT_MINUTES;
+    }
+
+    /** The runs of set bits of a day's slots as time windows, in order; a run to midnight ends at the next day. */
+    public static List<Block> windows(LocalDate date, long slots) {
+        List<Block> windows = new ArrayList<>();
+        LocalDateTime midnight = date.atStartOfDay();
+        long bits = slots;
+        while (bits != 0) {
+            int start = Long.numberOfTrailingZeros(bits);
+            int end = start + Long.numberOfTrailingZeros(~(bits >>> start));
+            windows.add(new Block(midnight.plusMinutes((long) start * SLOT_MINUTES),
+                    midnight.plusMinutes((long) end * SLOT_MINUTES)));
+            bits &= ~slots(start, end);
+        }
+        return windows;
+    }
+
+    /**
+     * Takes the read lock and returns the expanded days {@code from} to {@code to} inclusive. Days not
+     * cached yet are built, and the cache trimmed, under the write lock, which is then downgraded; since
+     * the cache only changes under the write lock, the returned days stay current until the caller
+     * releases the read lock.
+     */
+    private List<Day> lockDays(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        List<Day> cached = cachedDays(from, to);
+        if (cached != null) {
+            markUsed(cached);
+            return cached;
+        }
+        lock.readLock().unlock();
+
+        lock.writeLock().lock();
+        try {
+            List<Day> range = new ArrayList<>();
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                range.add(days.computeIfAbsent(date, this::build));
+            }
+            markUsed(range);
+            evictExcept(range);
+            lock.readLock().lock();
+            return range;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** The cached days {@code from} to {@code to}, or null if any is missing. Callers hold a lock. */
+    private List<Day> cachedDays(LocalDate from, LocalDate to) {
+        List<Day> range = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            Day day = days.get(date);
+            if (day == null) {
+                return null;
+            }
+            range.add(day);
+        }
+        return range;
+    }
+
+    private Day build(LocalDate date) {
+        Day built = new Day(date, byOrdinal.size());
+        byOrdinal.forEach(person -> fill(built, person));
+        return built;
+    }
+
+    private void markUsed(List<Day> range) {
+        for (Day day : range) {
+            day.lastUsed = useClock.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drops least recently used days beyond the limit, never one of {@code inUse}; a request spanning
+     * more days than the limit leaves the cache over it until the next trim. Callers hold the write lock.
+     */
+    private void evictExcept(List<Day> inUse) {
+        while (days.size() > maxCachedDays) {
+            Optional<Day> eldest = days.values().stream()
+                    .filter(day -> !inUse.contains(day))
+                    .min(Comparator.comparingLong(day -> day.lastUsed));
+            if (eldest.isEmpty()) {
+                return;
+            }
+            days.remove(eldest.get().date);
+        }
+    }
+
+    /** Re-expands a person's bits in every cached day, dropping the rollups that change with them. */
+    private void refresh(Person person) {
+        for (Day day : days.values()) {
+            if (fill(day, person)) {
+                day.rollup = null;
+                // The previous day's night shift reads this day's bits
+                Day previous = days.get(day.date.minusDays(1));
+                if (previous != null) {
+                    previous.rollup = null;
+                }
+            }
+        }
+    }
+
+    /** Expands a person's bits for a day; returns whether they changed. */
+    private static boolean fill(Day day, Person person) {
+        Shift shift = person.shiftOn(day.date);
+        Shift previous = person.shiftOn(day.date.minusDays(1));
+        long rostered = (shift != null ? SAME_DAY_SLOTS[shift.ordinal()] : 0L)
+                | (previous != null ? NEXT_DAY_SLOTS[previous.ordinal()] : 0L);
+        byte code = (byte) (shift != null ? shift.ordinal() + 1 : 0);
+        long leave = mask(person.leave, day.date);
+        long assigned = mask(person.assignments, day.date);
+
+        int ordinal = person.ordinal;
+        boolean changed = day.shifts[ordinal] != code || day.rostered[ordinal] != rostered
+                || day.leave[ordinal] != leave || day.assigned[ordinal] != assigned;
+        day.shifts[ordinal] = code;
+        day.rostered[ordinal] = rostered;
+        day.leave[ordinal] = leave;
+        day.assigned[ordinal] = assigned;
+        return changed;
+    }
+
+    private Rollup rollUp(Day day, Day next) {
+        int[][] total = new int[SHIFTS.length][4];
+        Map<String, int[][]> byDepartment = new HashMap<>();
+        for (Person person : byOrdinal) {
+            int ordinal = person.ordinal;
+            Shift shift = shiftAt(day, ordinal);
+            if (shift == null || !person.info.active()) {
+                continue;
+            }
+            long sameDay = SAME_DAY_SLOTS[shift.ordinal()];
+            long nextDay = NEXT_DAY_SLOTS[shift.ordinal()];
+            int kind;
+            if ((day.leave[ordinal] & sameDay | next.leave[ordinal] & nextDay) != 0) {
+                kind = ON_LEAVE;
+            } else if ((day.assigned[ordinal] & sameDay | next.assigned[ordinal] & nextDay) != 0) {
+                kind = ASSIGNED;
+            } else {
+                kind = FREE;
+            }
+
+            total[shift.ordinal()][ROSTERED]++;
+            total[shift.ordinal()][kind]++;
+            if (person.info.department() != null) {
+                int[][] counts = byDepartment.computeIfAbsent(person.info.department(),
+                        department -> new int[SHIFTS.length][4]);
+                counts[shift.ordinal()][ROSTERED]++;
+                counts[shift.ordinal()][kind]++;
+            }
+        }
+        return new Rollup(total, byDepartment);
+    }
+
+    private void requireLoaded(LocalDate date) {
+        if (date.isBefore(windowStart)) {
+            throw new IllegalArgumentException("Availability is only held from " + windowStart);
+        }
+    }
+
+    private static Shift shiftAt(Day day, int ordinal) {
+        int code = day.shifts[ordinal];
+        return code != 0 ? SHIFTS[code - 1] : null;
+    }
+
+    /** The slots of a day touched by any of the blocks, which are sorted by start. */
+    private static long mask(List<Block> blocks, LocalDate date) {
+        LocalDateTime dayStart = date.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+        long bits = 0L;
+        for (Block block : blocks) {
+            if (!block.start().isBefore(dayEnd)) {
+                break;
+            }
+            if (!block.end().isAfter(dayStart)) {
+                continue;
+            }
+            long from = block.start().isAfter(dayStart) ? Duration.between(dayStart, block.start()).toSeconds() : 0L;
+            long to = block.end().isBefore(dayEnd) ? Duration.between(dayStart, block.end()).toSeconds() : SLOT_SECONDS * SLOTS_PER_DAY;
+            bits |= slots((int) (from / SLOT_SECONDS), (int) Math.ceilDiv(to, SLOT_SECONDS));
+        }
+        return bits;
+    }
+
+    private static List<Block> sorted(Collection<Block> blocks) {
+        return blocks.stream()
+                .filter(block -> block.end().isAfter(block.start()))
+                .sorted(Comparator.comparing(Block::start).thenComparing(Block::end))
+                .toList();
+    }
+
+    /** Bits {@code [from, to)}. */
+    private static long slots(int from, int to) {
+        return to > from ? (-1L >>> (Long.SIZE - (to - from))) << from : 0L;
+    }
+
+    private static int slotOf(LocalTime time) {
+        return time.toSecondOfDay() / (int) SLOT_SECONDS;
+    }
+
+    private static int ceilSlotOf(LocalTime time) {
+        return Math.ceilDiv(time.toSecondOfDay(), (int) SLOT_SECONDS);
+    }
+}
@@ -0,0 +1,179 @@
+package com.protomil.core.personnel.controller;
+
+import com.protomil.core.personnel.dto.AvailabilityResponse;
+import com.protomil.core.personnel.dto.LeaveRequest;
+import com.protomil.core.personnel.dto.LeaveResponse;
+import com.protomil.core.personnel.dto.ShiftHeadcountResponse;
+import com.protomil.core.personnel.dto.ShiftPatternRequest;
+import com.protomil.core.personnel.dto.ShiftPatternResponse;
+import com.protomil.core.personnel.service.AvailabilityService;
+import com.protomil.core.shared.dto.ApiResponse;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/personnel")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Personnel Availability", description = "APIs for shift patterns, leave, team availability and shift headcounts")
+public class AvailabilityController {
+
+    private final AvailabilityService availabilityService;
+
+    @PutMapping("/{personnelId}/shifts")
+    @Operation(summary = "Roster personnel on a shift pattern",
+            description = "The pattern applies from its effective-from date and replaces the person's pattern from then on")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Shift pattern set successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ShiftPatternResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid pattern or terminated personnel",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            )
+    })
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<ShiftPatternResponse>> setShiftPattern(
+            @PathVariable @Parameter(description = "Personnel ID") UUID personnelId,
+            @Valid @RequestBody ShiftPatternRequest request) {
+
+        return ResponseEntity.ok(respond("Shift pattern set successfully",
+                availabilityService.setShiftPattern(personnelId, request)));
+    }
+
+    @GetMapping("/{personnelId}/shifts")
+    @Operation(summary = "Get shift patterns", description = "The person's shift patterns in effective order")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<List<ShiftPatternResponse>>> getShiftPatterns(
+            @PathVariable @Parameter(description = "Personnel ID") UUID personnelId) {
+
+        return ResponseEntity.ok(respond("Shift patterns retrieved successfully",
+                availabilityService.getShiftPatterns(personnelId)));
+    }
+
+    @PostMapping("/{personnelId}/leave")
+    @Operation(summary = "Record leave", description = "Records a period the person is away from work")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "201",
+                    description = "Leave recorded successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = LeaveResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid period, overlapping leave or terminated personnel",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            )
+    })
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<LeaveResponse>> recordLeave(
+            @PathVariable @Parameter(description = "Personnel ID") UUID personnelId,
+            @Valid @RequestBody LeaveRequest request) {
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(respond("Leave recorded successfully", availabilityService.recordLeave(personnelId, request)));
+    }
+
+    @GetMapping("/{personnelId}/leave")
+    @Operation(summary = "Get leave", description = "The person's leave overlapping a range of days")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<List<LeaveResponse>>> getLeave(
+            @PathVariable @Parameter(description = "Personnel ID") UUID personnelId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First day", example = "2025-01-13") LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last day (inclusive)", example = "2025-01-19") LocalDate to) {
+
+        return ResponseEntity.ok(respond("Leave retrieved successfully", availabilityService.getLeave(personnelId, from, to)));
+    }
+
+    @DeleteMapping("/{personnelId}/leave/{leaveId}")
+    @Operation(summary = "Cancel leave")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<Void>> cancelLeave(
+            @PathVariable @Parameter(description = "Personnel ID") UUID personnelId,
+            @PathVariable @Parameter(description = "Leave ID") UUID leaveId) {
+
+        availabilityService.cancelLeave(personnelId, leaveId);
+        return ResponseEntity.ok(respond("Leave cancelled successfully", null));
+    }
+
+    @GetMapping("/availability")
+    @Operation(summary = "Get team availability",
+            description = "Rostered, leave, job card and available time of active personnel, day by day, "
+                    + "for one department or everyone. At most 92 days.")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<List<AvailabilityResponse>>> getTeamAvailability(
+            @RequestParam(required = false) @Parameter(description = "Department", example = "Machining") String department,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First day", example = "2025-01-13") LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last day (inclusive)", example = "2025-01-19") LocalDate to) {
+
+        return ResponseEntity.ok(respond("Team availability retrieved successfully",
+                availabilityService.getTeamAvailability(department, from, to)));
+    }
+
+    @GetMapping("/availability/headcounts")
+    @Operation(summary = "Get shift headcounts",
+            description = "Active personnel rostered on each shift, split into on leave, on job cards and free, "
+                    + "for one department or everyone. At most 92 days.")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<List<ShiftHeadcountResponse>>> getShiftHeadcounts(
+            @RequestParam(required = false) @Parameter(description = "Department", example = "Machining") String department,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First day", example = "2025-01-13") LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last day (inclusive)", example = "2025-01-19") LocalDate to) {
+
+        return ResponseEntity.ok(respond("Shift headcounts retrieved successfully",
+                availabilityService.getShiftHeadcounts(department, from, to)));
+    }
+
+    private <T> ApiResponse<T> respond(String message, T data) {
+        return ApiResponse.<T>builder()
+                .success(true)
+                .message(message)
+                .data(data)
+                .build();
+    }
+}
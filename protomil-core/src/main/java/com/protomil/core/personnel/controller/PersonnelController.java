@@ -0,0 +1,177 @@
+package com.protomil.core.personnel.controller;
+
+import com.protomil.core.personnel.domain.PersonnelStatus;
+import com.protomil.core.personnel.dto.AssignmentCandidateResponse;
+import com.protomil.core.personnel.dto.PersonnelRequest;
+import com.protomil.core.personnel.dto.PersonnelResponse;
+import com.protomil.core.personnel.dto.PersonnelSkillResponse;
+import com.protomil.core.personnel.dto.SkillAssignmentRequest;
+import com.protomil.core.personnel.service.PersonnelService;
+import com.protomil.core.personnel.service.SkillManagementService;
+import com.protomil.core.shared.dto.ApiResponse;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/personnel")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Personnel", description = "APIs for personnel, their skill certifications and assignment candidates")
+public class PersonnelController {
+
+    private final PersonnelService personnelService;
+    private final SkillManagementService skillManagementService;
+
+    @PostMapping
+    @Operation(summary = "Create personnel", description = "Registers a person, optionally linked to a user account")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "201",
+                    description = "Personnel created successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = PersonnelResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request data, duplicate employee number or user already linked",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            )
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<PersonnelResponse>> createPersonnel(@Valid @RequestBody PersonnelRequest request) {
+        log.info("Creating personnel {}", request.getEmployeeNumber());
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(respond("Personnel created successfully", personnelService.createPersonnel(request)));
+    }
+
+    @PutMapping("/{personnelId}")
+    @Operation(summary = "Update personnel")
+    @PreAuthorize("hasRole('ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<PersonnelResponse>> updatePersonnel(
+            @PathVariable @Parameter(description = "Personnel ID") UUID personnelId,
+            @Valid @RequestBody PersonnelRequest request) {
+
+        return ResponseEntity.ok(respond("Personnel updated successfully",
+                personnelService.updatePersonnel(personnelId, request)));
+    }
+
+    @PutMapping("/{personnelId}/status")
+    @Operation(summary = "Change personnel status", description = "Only ACTIVE personnel are suggested for assignments")
+    @PreAuthorize("hasRole('ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<PersonnelResponse>> updateStatus(
+            @PathVariable @Parameter(description = "Personnel ID") UUID personnelId,
+            @RequestParam @Parameter(description = "New status", example = "INACTIVE") PersonnelStatus status) {
+
+        return ResponseEntity.ok(respond("Personnel status updated successfully",
+                personnelService.updateStatus(personnelId, status)));
+    }
+
+    @GetMapping("/{personnelId}")
+    @Operation(summary = "Get personnel by ID", description = "Includes the person's skill certifications")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<PersonnelResponse>> getPersonnel(
+            @PathVariable @Parameter(description = "Personnel ID") UUID personnelId) {
+
+        return ResponseEntity.ok(respond("Personnel retrieved successfully", personnelService.getPersonnel(personnelId)));
+    }
+
+    @GetMapping("/employee/{employeeNumber}")
+    @Operation(summary = "Get personnel by employee number", description = "Includes the person's skill certifications")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<PersonnelResponse>> getPersonnelByEmployeeNumber(
+            @PathVariable @Parameter(description = "Employee number", example = "EMP-0117") String employeeNumber) {
+
+        return ResponseEntity.ok(respond("Personnel retrieved successfully",
+                personnelService.getPersonnelByEmployeeNumber(employeeNumber)));
+    }
+
+    @GetMapping
+    @Operation(summary = "List personnel", description = "Personnel in a status, optionally of one department")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<List<PersonnelResponse>>> listPersonnel(
+            @RequestParam(defaultValue = "ACTIVE") @Parameter(description = "Personnel status", example = "ACTIVE")
+            PersonnelStatus status,
+            @RequestParam(required = false) @Parameter(description = "Department", example = "Machining") String department) {
+
+        return ResponseEntity.ok(respond("Personnel retrieved successfully", personnelService.getPersonnel(status, department)));
+    }
+
+    @PutMapping("/{personnelId}/skills")
+    @Operation(summary = "Certify personnel in a skill", description = "Adds a skill certification or changes an existing one")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<PersonnelSkillResponse>> assignSkill(
+            @PathVariable @Parameter(description = "Personnel ID") UUID personnelId,
+            @Valid @RequestBody SkillAssignmentRequest request) {
+
+        return ResponseEntity.ok(respond("Skill assigned successfully",
+                skillManagementService.assignSkill(personnelId, request)));
+    }
+
+    @DeleteMapping("/{personnelId}/skills/{skillId}")
+    @Operation(summary = "Revoke a skill certification", description = "The certification is kept as INACTIVE")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<PersonnelSkillResponse>> revokeSkill(
+            @PathVariable @Parameter(description = "Personnel ID") UUID personnelId,
+            @PathVariable @Parameter(description = "Skill ID") UUID skillId) {
+
+        return ResponseEntity.ok(respond("Skill revoked successfully",
+                skillManagementService.revokeSkill(personnelId, skillId)));
+    }
+
+    @GetMapping("/candidates")
+    @Operation(summary = "Suggest assignees for a job card",
+            description = "Active personnel certified in every skill the job card requires, ranked: available first, "
+                    + "then by current workload, then by proficiency in the required skills")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<List<AssignmentCandidateResponse>>> getCandidates(
+            @RequestParam @Parameter(description = "Job card ID", example = "1042") Long jobCardId,
+            @RequestParam(defaultValue = "false")
+            @Parameter(description = "Also list qualified personnel who are busy, off shift or on leave")
+            boolean includeUnavailable,
+            @RequestParam(defaultValue = "20")
+            @Parameter(description = "Maximum number of candidates, at most 200", example = "20") int limit) {
+
+        return ResponseEntity.ok(respond("Candidates retrieved successfully",
+                skillManagementService.findCandidates(jobCardId, includeUnavailable, limit)));
+    }
+
+    private <T> ApiResponse<T> respond(String message, T data) {
+        return ApiResponse.<T>builder()
+                .success(true)
+                .message(message)
+                .data(data)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.protomil.core.personnel.controller;
+
+import com.protomil.core.personnel.domain.SkillStatus;
+import com.protomil.core.personnel.dto.SkillRequest;
+import com.protomil.core.personnel.dto.SkillResponse;
+import com.protomil.core.personnel.service.SkillManagementService;
+import com.protomil.core.shared.dto.ApiResponse;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/skills")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Skills", description = "APIs for the skill catalogue personnel are certified against")
+public class SkillController {
+
+    private final SkillManagementService skillManagementService;
+
+    @PostMapping
+    @Operation(summary = "Create skill")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "201",
+                    description = "Skill created successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = SkillResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request data or duplicate skill name",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            )
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<SkillResponse>> createSkill(@Valid @RequestBody SkillRequest request) {
+        log.info("Creating skill {}", request.getName());
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(respond("Skill created successfully", skillManagementService.createSkill(request)));
+    }
+
+    @PutMapping("/{skillId}")
+    @Operation(summary = "Update skill", description = "Deprecated or inactive skills are no longer matched")
+    @PreAuthorize("hasRole('ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<SkillResponse>> updateSkill(
+            @PathVariable @Parameter(description = "Skill ID") UUID skillId,
+            @Valid @RequestBody SkillRequest request) {
+
+        return ResponseEntity.ok(respond("Skill updated successfully", skillManagementService.updateSkill(skillId, request)));
+    }
+
+    @GetMapping("/{skillId}")
+    @Operation(summary = "Get skill by ID")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<SkillResponse>> getSkill(
+            @PathVariable @Parameter(description = "Skill ID") UUID skillId) {
+
+        return ResponseEntity.ok(respond("Skill retrieved successfully", skillManagementService.getSkill(skillId)));
+    }
+
+    @GetMapping
+    @Operation(summary = "List skills", description = "Skills in a status, optionally of one category")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<List<SkillResponse>>> listSkills(
+            @RequestParam(required = false) @Parameter(description = "Skill category", example = "MACHINING") String category,
+            @RequestParam(defaultValue = "ACTIVE") @Parameter(description = "Skill status", example = "ACTIVE")
+            SkillStatus status) {
+
+        return ResponseEntity.ok(respond("Skills retrieved successfully", skillManagementService.getSkills(category, status)));
+    }
+
+    private <T> ApiResponse<T> respond(String message, T data) {
+        return ApiResponse.<T>builder()
+                .success(true)
+                .message(message)
+                .data(data)
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.protomil.core.personnel.domain;
+
+import com.protomil.core.shared.domain.AuditableEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A period a person is away from work, e.g. leave or training, overriding their shift pattern.
+ */
+@Entity
+@Table(name = "personnel_availability", indexes = {
+        @Index(name = "idx_personnel_availability_personnel", columnList = "personnel_id, starts_at"),
+        @Index(name = "idx_personnel_availability_ends_at", columnList = "ends_at")
+})
+@Data
+@EqualsAndHashCode(callSuper = true, exclude = "personnel")
+@ToString(exclude = "personnel")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Availability extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id")
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "personnel_id", nullable = false)
+    private Personnel personnel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "availability_type", nullable = false, length = 30)
+    private AvailabilityType availabilityType;
+
+    @Column(name = "starts_at", nullable = false)
+    private LocalDateTime startsAt;
+
+    // Exclusive
+    @Column(name = "ends_at", nullable = false)
+    private LocalDateTime endsAt;
+
+    @Column(name = "reason", columnDefinition = "TEXT")
+    private String reason;
+}
@@ -0,0 +1,24 @@
+package com.protomil.core.personnel.domain;
+
+public enum AvailabilityType {
+    ANNUAL_LEAVE("Annual Leave", "Planned time off"),
+    SICK_LEAVE("Sick Leave", "Absent through illness"),
+    TRAINING("Training", "Away on training"),
+    OTHER("Other", "Unavailable for another reason");
+
+    private final String displayName;
+    private final String description;
+
+    AvailabilityType(String displayName, String description) {
+        this.displayName = displayName;
+        this.description = description;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
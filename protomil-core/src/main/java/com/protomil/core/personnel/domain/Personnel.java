@@ -0,0 +1,63 @@
+package com.protomil.core.personnel.domain;
+
+import com.protomil.core.shared.domain.AuditableEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Entity
+@Table(name = "personnel", indexes = {
+        @Index(name = "idx_personnel_employee_number", columnList = "employee_number"),
+        @Index(name = "idx_personnel_user_id", columnList = "user_id"),
+        @Index(name = "idx_personnel_department", columnList = "department"),
+        @Index(name = "idx_personnel_status", columnList = "status")
+})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Personnel extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id")
+    private UUID id;
+
+    // The user account job cards are assigned to; kept as an ID to stay out of the user aggregate
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "employee_number", unique = true, nullable = false, length = 50)
+    private String employeeNumber;
+
+    @Column(name = "first_name", nullable = false, length = 100)
+    private String firstName;
+
+    @Column(name = "last_name", nullable = false, length = 100)
+    private String lastName;
+
+    @Column(name = "department", length = 100)
+    private String department;
+
+    @Column(name = "position", length = 100)
+    private String position;
+
+    @Column(name = "hire_date")
+    private LocalDate hireDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 50)
+    @Builder.Default
+    private PersonnelStatus status = PersonnelStatus.ACTIVE;
+
+    public String getFullName() {
+        return firstName + " " + lastName;
+    }
+}
@@ -0,0 +1,63 @@
+package com.protomil.core.personnel.domain;
+
+import com.protomil.core.shared.domain.AuditableEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Entity
+@Table(name = "personnel_skills",
+        uniqueConstraints = @UniqueConstraint(name = "uk_personnel_skill", columnNames = {"personnel_id", "skill_id"}),
+        indexes = {
+                @Index(name = "idx_personnel_skills_personnel", columnList = "personnel_id"),
+                @Index(name = "idx_personnel_skills_skill", columnList = "skill_id")
+        })
+@Data
+@EqualsAndHashCode(callSuper = true, exclude = {"personnel", "skill"})
+@ToString(exclude = {"personnel", "skill"})
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PersonnelSkill extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id")
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "personnel_id", nullable = false)
+    private Personnel personnel;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "skill_id", nullable = false)
+    private Skill skill;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "proficiency_level", nullable = false, length = 20)
+    @Builder.Default
+    private ProficiencyLevel proficiencyLevel = ProficiencyLevel.BEGINNER;
+
+    @Column(name = "certified_date")
+    private LocalDate certifiedDate;
+
+    @Column(name = "expiry_date")
+    private LocalDate expiryDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 50)
+    @Builder.Default
+    private PersonnelSkillStatus status = PersonnelSkillStatus.ACTIVE;
+
+    /** Whether the certification counts on {@code date}: active, and not past its expiry date. */
+    public boolean isValidOn(LocalDate date) {
+        return status == PersonnelSkillStatus.ACTIVE && (expiryDate == null || !expiryDate.isBefore(date));
+    }
+}
@@ -0,0 +1,23 @@
+package com.protomil.core.personnel.domain;
+
+public enum PersonnelSkillStatus {
+    ACTIVE("Active", "Certification is valid"),
+    INACTIVE("Inactive", "Certification was withdrawn"),
+    EXPIRED("Expired", "Certification passed its expiry date");
+
+    private final String displayName;
+    private final String description;
+
+    PersonnelSkillStatus(String displayName, String description) {
+        this.displayName = displayName;
+        this.description = description;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
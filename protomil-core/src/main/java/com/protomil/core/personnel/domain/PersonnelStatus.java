@@ -0,0 +1,23 @@
+package com.protomil.core.personnel.domain;
+
+public enum PersonnelStatus {
+    ACTIVE("Active", "Employed and can be assigned work"),
+    INACTIVE("Inactive", "Temporarily not working, e.g. on long-term leave"),
+    TERMINATED("Terminated", "No longer employed");
+
+    private final String displayName;
+    private final String description;
+
+    PersonnelStatus(String displayName, String description) {
+        this.displayName = displayName;
+        this.description = description;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
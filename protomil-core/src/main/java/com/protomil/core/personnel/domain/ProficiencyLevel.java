@@ -0,0 +1,34 @@
+package com.protomil.core.personnel.domain;
+
+public enum ProficiencyLevel {
+    BEGINNER("Beginner", 1),
+    INTERMEDIATE("Intermediate", 2),
+    ADVANCED("Advanced", 3),
+    EXPERT("Expert", 4);
+
+    private final String displayName;
+    private final int level;
+
+    ProficiencyLevel(String displayName, int level) {
+        this.displayName = displayName;
+        this.level = level;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /** 1 for BEGINNER up to 4 for EXPERT. */
+    public int getLevel() {
+        return level;
+    }
+
+    public static ProficiencyLevel ofLevel(int level) {
+        for (ProficiencyLevel proficiency : values()) {
+            if (proficiency.level == level) {
+                return proficiency;
+            }
+        }
+        throw new IllegalArgumentException("Unknown proficiency level: " + level);
+    }
+}
@@ -0,0 +1,82 @@
+package com.protomil.core.personnel.domain;
+
+import com.protomil.core.shared.domain.AuditableEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * A person's recurring shift pattern: a cycle of one code per day starting on the cycle start date,
+ * {@code M}, {@code A} or {@code N} for the morning, afternoon or night
+ * {@link com.protomil.core.jobcard.domain.enums.Shift} and {@code -} for a day off. On any day the
+ * pattern with the latest effective-from date on or before it applies.
+ */
+@Entity
+@Table(name = "personnel_shifts", indexes = {
+        @Index(name = "idx_personnel_shifts_personnel", columnList = "personnel_id, effective_from")
+})
+@Data
+@EqualsAndHashCode(callSuper = true, exclude = "personnel")
+@ToString(exclude = "personnel")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Shift extends AuditableEntity {
+
+    public static final char OFF = '-';
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id")
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "personnel_id", nullable = false)
+    private Personnel personnel;
+
+    @Column(name = "pattern", nullable = false, length = 62)
+    private String pattern;
+
+    @Column(name = "cycle_start_date", nullable = false)
+    private LocalDate cycleStartDate;
+
+    @Column(name = "effective_from", nullable = false)
+    private LocalDate effectiveFrom;
+
+    // Inclusive; open-ended when null
+    @Column(name = "effective_to")
+    private LocalDate effectiveTo;
+
+    public boolean isEffectiveOn(LocalDate date) {
+        return !date.isBefore(effectiveFrom) && (effectiveTo == null || !date.isAfter(effectiveTo));
+    }
+
+    /** The pattern's code for {@code date}, whether or not the pattern is in effect then. */
+    public char codeOn(LocalDate date) {
+        return codeOn(pattern, cycleStartDate, date);
+    }
+
+    public static char codeOn(String pattern, LocalDate cycleStartDate, LocalDate date) {
+        long day = ChronoUnit.DAYS.between(cycleStartDate, date);
+        return pattern.charAt((int) Math.floorMod(day, pattern.length()));
+    }
+
+    /** The shift a pattern code stands for; null for a day off. */
+    public static com.protomil.core.jobcard.domain.enums.Shift shiftFor(char code) {
+        return switch (code) {
+            case 'M' -> com.protomil.core.jobcard.domain.enums.Shift.MORNING;
+            case 'A' -> com.protomil.core.jobcard.domain.enums.Shift.AFTERNOON;
+            case 'N' -> com.protomil.core.jobcard.domain.enums.Shift.NIGHT;
+            case OFF -> null;
+            default -> throw new IllegalArgumentException("Unknown shift code: " + code);
+        };
+    }
+}
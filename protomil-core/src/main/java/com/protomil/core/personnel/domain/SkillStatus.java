@@ -0,0 +1,23 @@
+package com.protomil.core.personnel.domain;
+
+public enum SkillStatus {
+    ACTIVE("Active", "Skill can be required and certified"),
+    INACTIVE("Inactive", "Skill is temporarily not in use"),
+    DEPRECATED("Deprecated", "Skill is no longer used for new certifications");
+
+    private final String displayName;
+    private final String description;
+
+    SkillStatus(String displayName, String description) {
+        this.displayName = displayName;
+        this.description = description;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
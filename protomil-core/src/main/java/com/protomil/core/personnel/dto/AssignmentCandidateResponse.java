@@ -0,0 +1,55 @@
+package com.protomil.core.personnel.dto;
+
+import com.protomil.core.personnel.domain.ProficiencyLevel;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "A person qualified for a job card, in ranked order")
+public class AssignmentCandidateResponse {
+
+    @Schema(description = "Rank, starting at 1", example = "1")
+    private int rank;
+
+    @Schema(description = "Personnel ID")
+    private UUID personnelId;
+
+    @Schema(description = "User account to assign the job card to")
+    private UUID userId;
+
+    @Schema(description = "Employee number", example = "EMP-0117")
+    private String employeeNumber;
+
+    @Schema(description = "Full name", example = "Ravi Kumar")
+    private String fullName;
+
+    @Schema(description = "Department", example = "Machining")
+    private String department;
+
+    @Schema(description = "Position", example = "CNC Operator")
+    private String position;
+
+    @Schema(description = "Proficiency held in each required skill, by skill ID")
+    private Map<UUID, ProficiencyLevel> skillLevels;
+
+    @Schema(description = "Sum of the levels held in the required skills, 1 (BEGINNER) to 4 (EXPERT) each", example = "7")
+    private int proficiencyScore;
+
+    @Schema(description = "Job cards assigned to the person but not started", example = "1")
+    private int assignedJobCards;
+
+    @Schema(description = "Job cards the person is working on", example = "0")
+    private int inProgressJobCards;
+
+    @Schema(description = "Whether the person can take the job card now: on shift, not on leave and below the workload limit")
+    private boolean available;
+}
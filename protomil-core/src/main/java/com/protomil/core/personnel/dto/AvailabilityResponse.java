@@ -0,0 +1,80 @@
+package com.protomil.core.personnel.dto;
+
+import com.protomil.core.jobcard.domain.enums.Shift;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "A person's rostered and available time, day by day")
+public class AvailabilityResponse {
+
+    @Schema(description = "Personnel ID")
+    private UUID personnelId;
+
+    @Schema(description = "Employee number", example = "EMP-0117")
+    private String employeeNumber;
+
+    @Schema(description = "Full name", example = "Asha Patil")
+    private String fullName;
+
+    @Schema(description = "Department", example = "Machining")
+    private String department;
+
+    @Schema(description = "Rostered minutes without leave or job card work over the whole range", example = "2160")
+    private int availableMinutes;
+
+    @Schema(description = "Calendar days of the range, in order")
+    private List<DayAvailability> days;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DayAvailability {
+
+        @Schema(description = "Calendar day")
+        private LocalDate date;
+
+        @Schema(description = "Shift starting on the day; null on a day off", example = "MORNING")
+        private Shift shift;
+
+        @Schema(description = "Minutes of the day on shift, including the end of a night shift started the day before", example = "480")
+        private int rosteredMinutes;
+
+        @Schema(description = "Minutes of the day on leave", example = "0")
+        private int leaveMinutes;
+
+        @Schema(description = "Minutes of the day expected on job cards", example = "60")
+        private int assignedMinutes;
+
+        @Schema(description = "Rostered minutes without leave or job card work", example = "420")
+        private int availableMinutes;
+
+        @Schema(description = "Available time as windows, in order")
+        private List<TimeWindow> availableWindows;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TimeWindow {
+
+        @Schema(description = "Window start")
+        private LocalDateTime start;
+
+        @Schema(description = "Window end (exclusive)")
+        private LocalDateTime end;
+    }
+}
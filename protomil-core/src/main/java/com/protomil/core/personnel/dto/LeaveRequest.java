@@ -0,0 +1,34 @@
+package com.protomil.core.personnel.dto;
+
+import com.protomil.core.personnel.domain.AvailabilityType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request to record a period a person is away from work")
+public class LeaveRequest {
+
+    @NotNull(message = "Leave type is required")
+    @Schema(description = "Kind of absence", example = "ANNUAL_LEAVE")
+    private AvailabilityType availabilityType;
+
+    @NotNull(message = "Start is required")
+    @Schema(description = "Start of the absence")
+    private LocalDateTime startsAt;
+
+    @NotNull(message = "End is required")
+    @Schema(description = "End of the absence (exclusive)")
+    private LocalDateTime endsAt;
+
+    @Schema(description = "Reason for the absence")
+    private String reason;
+}
@@ -0,0 +1,37 @@
+package com.protomil.core.personnel.dto;
+
+import com.protomil.core.personnel.domain.AvailabilityType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "A period a person is away from work")
+public class LeaveResponse {
+
+    @Schema(description = "Leave ID")
+    private UUID id;
+
+    @Schema(description = "Personnel ID")
+    private UUID personnelId;
+
+    @Schema(description = "Kind of absence", example = "ANNUAL_LEAVE")
+    private AvailabilityType availabilityType;
+
+    @Schema(description = "Start of the absence")
+    private LocalDateTime startsAt;
+
+    @Schema(description = "End of the absence (exclusive)")
+    private LocalDateTime endsAt;
+
+    @Schema(description = "Reason for the absence")
+    private String reason;
+}
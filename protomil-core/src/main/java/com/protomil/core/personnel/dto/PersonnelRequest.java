@@ -0,0 +1,53 @@
+package com.protomil.core.personnel.dto;
+
+import com.protomil.core.personnel.domain.PersonnelStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request to create or update personnel")
+public class PersonnelRequest {
+
+    @NotBlank(message = "Employee number is required")
+    @Size(max = 50, message = "Employee number must not exceed 50 characters")
+    @Schema(description = "Unique employee number", example = "EMP-0117")
+    private String employeeNumber;
+
+    @NotBlank(message = "First name is required")
+    @Size(max = 100, message = "First name must not exceed 100 characters")
+    @Schema(description = "First name", example = "Ravi")
+    private String firstName;
+
+    @NotBlank(message = "Last name is required")
+    @Size(max = 100, message = "Last name must not exceed 100 characters")
+    @Schema(description = "Last name", example = "Kumar")
+    private String lastName;
+
+    @Size(max = 100, message = "Department must not exceed 100 characters")
+    @Schema(description = "Department", example = "Machining")
+    private String department;
+
+    @Size(max = 100, message = "Position must not exceed 100 characters")
+    @Schema(description = "Position", example = "CNC Operator")
+    private String position;
+
+    @Schema(description = "Hire date")
+    private LocalDate hireDate;
+
+    @Schema(description = "User account job cards are assigned to; personnel without one cannot be assigned work")
+    private UUID userId;
+
+    @Schema(description = "Personnel status; defaults to ACTIVE on create", example = "ACTIVE")
+    private PersonnelStatus status;
+}
@@ -0,0 +1,63 @@
+package com.protomil.core.personnel.dto;
+
+import com.protomil.core.personnel.domain.PersonnelStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Personnel details")
+public class PersonnelResponse {
+
+    @Schema(description = "Personnel ID")
+    private UUID id;
+
+    @Schema(description = "User account of the person, if any")
+    private UUID userId;
+
+    @Schema(description = "Unique employee number", example = "EMP-0117")
+    private String employeeNumber;
+
+    @Schema(description = "First name", example = "Ravi")
+    private String firstName;
+
+    @Schema(description = "Last name", example = "Kumar")
+    private String lastName;
+
+    @Schema(description = "Full name", example = "Ravi Kumar")
+    private String fullName;
+
+    @Schema(description = "Department", example = "Machining")
+    private String department;
+
+    @Schema(description = "Position", example = "CNC Operator")
+    private String position;
+
+    @Schema(description = "Hire date")
+    private LocalDate hireDate;
+
+    @Schema(description = "Personnel status", example = "ACTIVE")
+    private PersonnelStatus status;
+
+    @Schema(description = "Certified skills; only filled when requesting a single person")
+    private List<PersonnelSkillResponse> skills;
+
+    @Schema(description = "Version for optimistic locking")
+    private Long version;
+
+    @Schema(description = "Creation timestamp")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Last update timestamp")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,44 @@
+package com.protomil.core.personnel.dto;
+
+import com.protomil.core.personnel.domain.PersonnelSkillStatus;
+import com.protomil.core.personnel.domain.ProficiencyLevel;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "A skill certification of a person")
+public class PersonnelSkillResponse {
+
+    @Schema(description = "Personnel skill ID")
+    private UUID id;
+
+    @Schema(description = "Personnel ID")
+    private UUID personnelId;
+
+    @Schema(description = "Skill ID")
+    private UUID skillId;
+
+    @Schema(description = "Skill name", example = "CNC Turning")
+    private String skillName;
+
+    @Schema(description = "Proficiency level", example = "ADVANCED")
+    private ProficiencyLevel proficiencyLevel;
+
+    @Schema(description = "Date of certification")
+    private LocalDate certifiedDate;
+
+    @Schema(description = "Last day the certification is valid; null if it does not expire")
+    private LocalDate expiryDate;
+
+    @Schema(description = "Certification status", example = "ACTIVE")
+    private PersonnelSkillStatus status;
+}
@@ -0,0 +1,39 @@
+package com.protomil.core.personnel.dto;
+
+import com.protomil.core.jobcard.domain.enums.Shift;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Active personnel rostered on one shift, by what they are doing during it")
+public class ShiftHeadcountResponse {
+
+    @Schema(description = "Day the shift starts on")
+    private LocalDate date;
+
+    @Schema(description = "Shift", example = "NIGHT")
+    private Shift shift;
+
+    @Schema(description = "Department; null for all departments", example = "Machining")
+    private String department;
+
+    @Schema(description = "Personnel rostered on the shift", example = "12")
+    private int rostered;
+
+    @Schema(description = "Rostered personnel with leave during the shift", example = "1")
+    private int onLeave;
+
+    @Schema(description = "Rostered personnel present with job card work during the shift", example = "7")
+    private int assigned;
+
+    @Schema(description = "Rostered personnel present without job card work", example = "4")
+    private int free;
+}
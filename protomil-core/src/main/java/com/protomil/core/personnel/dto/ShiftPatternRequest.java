@@ -0,0 +1,33 @@
+package com.protomil.core.personnel.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request to roster a person on a recurring shift pattern from a date onwards")
+public class ShiftPatternRequest {
+
+    @NotBlank(message = "Shift pattern is required")
+    @Pattern(regexp = "[MAN-]{1,62}",
+            message = "Shift pattern must be 1 to 62 day codes: M, A or N for a shift, - for a day off")
+    @Schema(description = "One code per day of the cycle: M morning, A afternoon, N night, - off", example = "MMMMM--")
+    private String pattern;
+
+    @Schema(description = "Date the first code of the pattern falls on; defaults to the effective-from date")
+    private LocalDate cycleStartDate;
+
+    @NotNull(message = "Effective-from date is required")
+    @Schema(description = "First day the pattern applies; it replaces the person's pattern from that day")
+    private LocalDate effectiveFrom;
+}
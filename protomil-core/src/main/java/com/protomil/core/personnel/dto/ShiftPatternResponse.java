@@ -0,0 +1,36 @@
+package com.protomil.core.personnel.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "A recurring shift pattern of a person")
+public class ShiftPatternResponse {
+
+    @Schema(description = "Shift pattern ID")
+    private UUID id;
+
+    @Schema(description = "Personnel ID")
+    private UUID personnelId;
+
+    @Schema(description = "One code per day of the cycle: M morning, A afternoon, N night, - off", example = "MMMMM--")
+    private String pattern;
+
+    @Schema(description = "Date the first code of the pattern falls on")
+    private LocalDate cycleStartDate;
+
+    @Schema(description = "First day the pattern applies")
+    private LocalDate effectiveFrom;
+
+    @Schema(description = "Last day the pattern applies; null while it is current")
+    private LocalDate effectiveTo;
+}
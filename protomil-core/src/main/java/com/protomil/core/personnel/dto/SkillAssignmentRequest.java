@@ -0,0 +1,34 @@
+package com.protomil.core.personnel.dto;
+
+import com.protomil.core.personnel.domain.ProficiencyLevel;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request to certify a person in a skill, or to change an existing certification")
+public class SkillAssignmentRequest {
+
+    @NotNull(message = "Skill ID is required")
+    @Schema(description = "Skill ID")
+    private UUID skillId;
+
+    @NotNull(message = "Proficiency level is required")
+    @Schema(description = "Proficiency level", example = "INTERMEDIATE")
+    private ProficiencyLevel proficiencyLevel;
+
+    @Schema(description = "Date of certification; defaults to today")
+    private LocalDate certifiedDate;
+
+    @Schema(description = "Last day the certification is valid; omit if it does not expire")
+    private LocalDate expiryDate;
+}
@@ -0,0 +1,33 @@
+package com.protomil.core.personnel.dto;
+
+import com.protomil.core.personnel.domain.SkillStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request to create or update a skill")
+public class SkillRequest {
+
+    @NotBlank(message = "Skill name is required")
+    @Size(max = 100, message = "Skill name must not exceed 100 characters")
+    @Schema(description = "Unique skill name", example = "CNC Turning")
+    private String name;
+
+    @Schema(description = "Skill description")
+    private String description;
+
+    @Size(max = 50, message = "Category must not exceed 50 characters")
+    @Schema(description = "Skill category", example = "MACHINING")
+    private String category;
+
+    @Schema(description = "Skill status; defaults to ACTIVE on create", example = "ACTIVE")
+    private SkillStatus status;
+}
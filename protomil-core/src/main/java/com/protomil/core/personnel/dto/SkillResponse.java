@@ -0,0 +1,40 @@
+package com.protomil.core.personnel.dto;
+
+import com.protomil.core.personnel.domain.SkillStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Skill details")
+public class SkillResponse {
+
+    @Schema(description = "Skill ID")
+    private UUID id;
+
+    @Schema(description = "Unique skill name", example = "CNC Turning")
+    private String name;
+
+    @Schema(description = "Skill description")
+    private String description;
+
+    @Schema(description = "Skill category", example = "MACHINING")
+    private String category;
+
+    @Schema(description = "Skill status", example = "ACTIVE")
+    private SkillStatus status;
+
+    @Schema(description = "Creation timestamp")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Last update timestamp")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,18 @@
+package com.protomil.core.personnel.events;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Published when personnel is registered.
+ *
+ * @param userId the user account of the person, if any
+ */
+public record PersonnelCreatedEvent(
+        UUID personnelId,
+        String employeeNumber,
+        UUID userId,
+        String department,
+        Instant occurredAt
+) {
+}
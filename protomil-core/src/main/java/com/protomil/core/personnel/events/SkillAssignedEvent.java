@@ -0,0 +1,24 @@
+package com.protomil.core.personnel.events;
+
+import com.protomil.core.personnel.domain.PersonnelSkillStatus;
+import com.protomil.core.personnel.domain.ProficiencyLevel;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Published when a person is certified in a skill, their certification changes, or it is withdrawn
+ * (status INACTIVE).
+ */
+public record SkillAssignedEvent(
+        UUID personnelId,
+        UUID userId,
+        UUID skillId,
+        String skillName,
+        ProficiencyLevel proficiencyLevel,
+        LocalDate expiryDate,
+        PersonnelSkillStatus status,
+        Instant occurredAt
+) {
+}
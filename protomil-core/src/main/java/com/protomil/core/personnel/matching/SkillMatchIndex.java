@@ -0,0 +1,296 @@
+package com.protomil.core.personnel.matching;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of who holds which skill at which proficiency, for answering "who can do this"
+ * with a few bit set ANDs.
+ * <p>
+ * Skills and personnel are interned as small integers. Each skill owns {@link #LEVELS} columns, one
+ * per proficiency level, and column {@code (skill, n)} is a bit set over personnel holding the skill
+ * at level n or higher, the same cumulative layout {@code SkillEncoder} uses for the scheduler. A
+ * requirement list is matched by ANDing the column of each required skill at its minimum level
+ * into the set of active personnel, so the cost is one pass over a few words per requirement
+ * regardless of how many skills people hold.
+ * <p>
+ * Certifications are held with their expiry date; a certification stops counting the day after it
+ * expires. Expiries are applied lazily by the first match on a new day, so the index never needs a
+ * rebuild at midnight to stay correct. Thread-safe; matches run concurrently under a read lock.
+ */
+public final class SkillMatchIndex {
+
+    /** Proficiency levels 1 (BEGINNER) to 4 (EXPERT). */
+    public static final int LEVELS = 4;
+
+    /** Who a person is, as shown in candidate lists. */
+    public record PersonInfo(UUID personnelId, UUID userId, String employeeNumber, String fullName,
+                             String department, String position) {
+    }
+
+    /** A person matching every requirement, with their levels in the required skills. */
+    public record Match(PersonInfo person, Map<UUID, Integer> levels, int proficiencyScore) {
+    }
+
+    private record Certification(int level, LocalDate expiryDate) {
+    }
+
+    private static final class Person {
+        private PersonInfo info;
+        private boolean active;
+        private final Map<Integer, Certification> certifications = new HashMap<>();
+
+        private Person(PersonInfo info) {
+            this.info = info;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> skillOrdinals = new HashMap<>();
+    private final List<UUID> skillIds = new ArrayList<>();
+    private final Map<UUID, Integer> personOrdinals = new HashMap<>();
+    private final List<Person> persons = new ArrayList<>();
+    private final TreeMap<LocalDate, List<long[]>> expiries = new TreeMap<>();
+    private long[][] columns = new long[0][];
+    private long[] active = new long[0];
+    private LocalDate validFor;
+
+    public SkillMatchIndex(LocalDate today) {
+        this.validFor = today;
+    }
+
+    /** Adds a person or updates their details; only active personnel are matched. */
+    public void putPerson(PersonInfo info, boolean isActive) {
+        lock.writeLock().lock();
+        try {
+            int ordinal = personOrdinal(info.personnelId());
+            Person person = persons.get(ordinal);
+            person.info = info;
+            person.active = isActive;
+            setBit(active, ordinal, isActive);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removePerson(UUID personnelId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = personOrdinals.get(personnelId);
+            if (ordinal == null) {
+                return;
+            }
+            Person person = persons.get(ordinal);
+            person.active = false;
+            setBit(active, ordinal, false);
+            person.certifications.keySet().forEach(skill -> setLevel(skill, ordinal, 0));
+            person.certifications.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records a certification at {@code level} (1 to {@link #LEVELS}), replacing any earlier one of
+     * the same skill. {@code expiryDate} may be null for certifications that do not expire.
+     */
+    public void putCertification(UUID personnelId, UUID skillId, int level, LocalDate expiryDate) {
+        lock.writeLock().lock();
+        try {
+            Integer person = personOrdinals.get(personnelId);
+            if (person == null) {
+                throw new IllegalStateException("Personnel not in the skill index: " + personnelId);
+            }
+            int skill = skillOrdinal(skillId);
+            Certification certification = new Certification(Math.clamp(level, 1, LEVELS), expiryDate);
+            persons.get(person).certifications.put(skill, certification);
+
+            boolean valid = expiryDate == null || !expiryDate.isBefore(validFor);
+            setLevel(skill, person, valid ? certification.level() : 0);
+            if (valid && expiryDate != null) {
+                expiries.computeIfAbsent(expiryDate, date -> new ArrayList<>()).add(new long[]{person, skill});
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeCertification(UUID personnelId, UUID skillId) {
+        lock.writeLock().lock();
+        try {
+            Integer person = personOrdinals.get(personnelId);
+            Integer skill = skillOrdinals.get(skillId);
+            if (person == null || skill == null) {
+                return;
+            }
+            persons.get(person).certifications.remove(skill);
+            setLevel(skill, person, 0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Active personnel holding every required skill at its minimum level on {@code today}, in no
+     * particular order. An empty requirement map matches every active person.
+     */
+    public List<Match> match(Map<UUID, Integer> minimumLevels, LocalDate today) {
+        applyExpiries(today);
+
+        lock.readLock().lock();
+        try {
+            long[] candidates = Arrays.copyOf(active, active.length);
+            for (Map.Entry<UUID, Integer> requirement : minimumLevels.entrySet()) {
+                Integer skill = skillOrdinals.get(requirement.getKey());
+                if (skill == null) {
+                    return List.of();
+                }
+                long[] column = columns[skill * LEVELS + Math.clamp(requirement.getValue(), 1, LEVELS) - 1];
+                for (int word = 0; word < candidates.length; word++) {
+                    candidates[word] &= word < column.length ? column[word] : 0L;
+                }
+            }
+
+            List<Match> matches = new ArrayList<>();
+            for (int word = 0; word < candidates.length; word++) {
+                long bits = candidates[word];
+                while (bits != 0) {
+                    int ordinal = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    matches.add(toMatch(persons.get(ordinal), minimumLevels.keySet()));
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int activePersonCount() {
+        lock.readLock().lock();
+        try {
+            return (int) Arrays.stream(active).map(Long::bitCount).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int skillCount() {
+        lock.readLock().lock();
+        try {
+            return skillIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Match toMatch(Person person, Iterable<UUID> requiredSkills) {
+        Map<UUID, Integer> levels = new HashMap<>();
+        int score = 0;
+        for (UUID skillId : requiredSkills) {
+            Certification certification = person.certifications.get(skillOrdinals.get(skillId));
+            int level = certification != null ? certification.level() : 0;
+            levels.put(skillId, level);
+            score += level;
+        }
+        return new Match(person.info, levels, score);
+    }
+
+    /** Clears certifications that expired before {@code today}; a no-op after the first call of the day. */
+    private void applyExpiries(LocalDate today) {
+        lock.readLock().lock();
+        try {
+            if (!today.isAfter(validFor)) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (!today.isAfter(validFor)) {
+                return;
+            }
+            Iterator<Map.Entry<LocalDate, List<long[]>>> due = expiries.headMap(today, false).entrySet().iterator();
+            while (due.hasNext()) {
+                Map.Entry<LocalDate, List<long[]>> entry = due.next();
+                for (long[] expiry : entry.getValue()) {
+                    int person = (int) expiry[0];
+                    int skill = (int) expiry[1];
+                    Certification certification = persons.get(person).certifications.get(skill);
+                    // Renewed or replaced certifications carry another date and are left alone
+                    if (certification != null && entry.getKey().equals(certification.expiryDate())) {
+                        setLevel(skill, person, 0);
+                    }
+                }
+                due.remove();
+            }
+            validFor = today;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int personOrdinal(UUID personnelId) {
+        return personOrdinals.computeIfAbsent(personnelId, id -> {
+            persons.add(new Person(null));
+            int words = wordsFor(persons.size());
+            if (words > active.length) {
+                active = Arrays.copyOf(active, words * 2);
+            }
+            return persons.size() - 1;
+        });
+    }
+
+    private int skillOrdinal(UUID skillId) {
+        return skillOrdinals.computeIfAbsent(skillId, id -> {
+            skillIds.add(id);
+            int needed = skillIds.size() * LEVELS;
+            if (needed > columns.length) {
+                long[][] grown = Arrays.copyOf(columns, Math.max(needed, columns.length * 2));
+                for (int i = columns.length; i < grown.length; i++) {
+                    grown[i] = new long[0];
+                }
+                columns = grown;
+            }
+            return skillIds.size() - 1;
+        });
+    }
+
+    /** Sets the person's bits in the skill's columns up to {@code level} and clears the rest. */
+    private void setLevel(int skill, int person, int level) {
+        for (int n = 0; n < LEVELS; n++) {
+            int column = skill * LEVELS + n;
+            if (n < level && wordsFor(person + 1) > columns[column].length) {
+                columns[column] = Arrays.copyOf(columns[column], Math.max(wordsFor(person + 1), active.length));
+            }
+            setBit(columns[column], person, n < level);
+        }
+    }
+
+    private static void setBit(long[] bits, int index, boolean value) {
+        int word = index / Long.SIZE;
+        if (word >= bits.length) {
+            return;
+        }
+        if (value) {
+            bits[word] |= 1L << index;
+        } else {
+            bits[word] &= ~(1L << index);
+        }
+    }
+
+    private static int wordsFor(int bits) {
+        return (bits + Long.SIZE - 1) / Long.SIZE;
+    }
+}
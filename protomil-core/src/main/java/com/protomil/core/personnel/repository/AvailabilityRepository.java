@@ -0,0 +1,73 @@
+package com.protomil.core.personnel.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Flat reads of what personnel are currently committed to: their open job cards by status, and the
+ * time their active job card assignments are expected to take.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AvailabilityRepository {
+
+    /**
+     * @param assignedCount   job cards assigned to the user but not started
+     * @param inProgressCount job cards the user is working on
+     */
+    public record WorkloadRow(UUID userId, int assignedCount, int inProgressCount) {
+    }
+
+    public record AssignmentRow(UUID personnelId, long jobCardId, LocalDateTime startsAt, LocalDateTime endsAt) {
+    }
+
+    private static final String WORKLOADS_SQL = """
+            SELECT jc.assigned_to,
+                   COUNT(*) FILTER (WHERE jc.status = 'ASSIGNED') AS assigned_count,
+                   COUNT(*) FILTER (WHERE jc.status = 'IN_PROGRESS') AS in_progress_count
+            FROM job_cards jc
+            WHERE jc.assigned_to IS NOT NULL AND jc.status IN ('ASSIGNED', 'IN_PROGRESS')
+            GROUP BY jc.assigned_to
+            """;
+
+    // A card occupies its assignee from the start (or from now, if not started yet) for its estimate,
+    // and at least until now while it is still open; the same window the machine calendar books
+    private static final String ASSIGNMENTS_SQL = """
+            SELECT p.id AS personnel_id, a.job_card_id,
+                   b.starts_at,
+                   GREATEST(b.starts_at + make_interval(mins => COALESCE(jc.estimated_duration_minutes, :defaultMinutes)),
+                            CURRENT_TIMESTAMP) AS ends_at
+            FROM job_card_assignments a
+            JOIN job_cards jc ON jc.id = a.job_card_id
+            JOIN personnel p ON p.user_id = a.assigned_to
+            CROSS JOIN LATERAL (
+                SELECT COALESCE(jc.started_at, GREATEST(a.assigned_at, CURRENT_TIMESTAMP)) AS starts_at
+            ) b
+            WHERE a.is_active = TRUE AND jc.status IN ('ASSIGNED', 'IN_PROGRESS') AND p.status <> 'TERMINATED'
+            ORDER BY p.id, b.starts_at
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<WorkloadRow> findWorkloads() {
+        return jdbcTemplate.query(WORKLOADS_SQL, (rs, rowNum) -> new WorkloadRow(
+                rs.getObject("assigned_to", UUID.class),
+                rs.getInt("assigned_count"),
+                rs.getInt("in_progress_count")));
+    }
+
+    public List<AssignmentRow> findActiveAssignments(int defaultMinutes) {
+        return jdbcTemplate.query(ASSIGNMENTS_SQL, new MapSqlParameterSource("defaultMinutes", defaultMinutes),
+                (rs, rowNum) -> new AssignmentRow(
+                        rs.getObject("personnel_id", UUID.class),
+                        rs.getLong("job_card_id"),
+                        rs.getTimestamp("starts_at").toLocalDateTime(),
+                        rs.getTimestamp("ends_at").toLocalDateTime()));
+    }
+}
@@ -0,0 +1,25 @@
+package com.protomil.core.personnel.repository;
+
+import com.protomil.core.personnel.domain.Availability;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PersonnelAvailabilityRepository extends JpaRepository<Availability, UUID> {
+
+    /** Leave ending after {@code from}, for loading the availability calendar. */
+    List<Availability> findByEndsAtAfterOrderByStartsAt(LocalDateTime from);
+
+    List<Availability> findByPersonnelIdAndEndsAtAfterOrderByStartsAt(UUID personnelId, LocalDateTime from);
+
+    /** Leave of a person overlapping {@code [from, to)}. */
+    List<Availability> findByPersonnelIdAndStartsAtBeforeAndEndsAtAfterOrderByStartsAt(UUID personnelId,
+                                                                                         LocalDateTime to,
+                                                                                         LocalDateTime from);
+
+    boolean existsByPersonnelIdAndStartsAtBeforeAndEndsAtAfter(UUID personnelId, LocalDateTime to, LocalDateTime from);
+}
@@ -0,0 +1,26 @@
+package com.protomil.core.personnel.repository;
+
+import com.protomil.core.personnel.domain.Personnel;
+import com.protomil.core.personnel.domain.PersonnelStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PersonnelRepository extends JpaRepository<Personnel, UUID> {
+
+    Optional<Personnel> findByEmployeeNumber(String employeeNumber);
+
+    Optional<Personnel> findByUserId(UUID userId);
+
+    boolean existsByEmployeeNumber(String employeeNumber);
+
+    boolean existsByUserId(UUID userId);
+
+    List<Personnel> findByStatusOrderByEmployeeNumber(PersonnelStatus status);
+
+    List<Personnel> findByDepartmentAndStatusOrderByEmployeeNumber(String department, PersonnelStatus status);
+}
@@ -0,0 +1,21 @@
+package com.protomil.core.personnel.repository;
+
+import com.protomil.core.personnel.domain.Shift;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PersonnelShiftRepository extends JpaRepository<Shift, UUID> {
+
+    List<Shift> findByPersonnelIdOrderByEffectiveFrom(UUID personnelId);
+
+    /** Patterns in effect on or after {@code from}, for loading the availability calendar. */
+    @Query("SELECT s FROM Shift s WHERE s.effectiveTo IS NULL OR s.effectiveTo >= :from")
+    List<Shift> findEffectiveSince(@Param("from") LocalDate from);
+}
@@ -0,0 +1,35 @@
+package com.protomil.core.personnel.repository;
+
+import com.protomil.core.personnel.domain.PersonnelSkill;
+import com.protomil.core.personnel.domain.PersonnelSkillStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PersonnelSkillRepository extends JpaRepository<PersonnelSkill, UUID> {
+
+    @Query("SELECT ps FROM PersonnelSkill ps JOIN FETCH ps.skill WHERE ps.personnel.id = :personnelId ORDER BY ps.skill.name")
+    List<PersonnelSkill> findWithSkillByPersonnelId(@Param("personnelId") UUID personnelId);
+
+    Optional<PersonnelSkill> findByPersonnelIdAndSkillId(UUID personnelId, UUID skillId);
+
+    /** Certifications in a status on skills in a status, for loading the skill index. */
+    @Query("SELECT ps FROM PersonnelSkill ps JOIN FETCH ps.skill s " +
+            "WHERE ps.status = :status AND s.status = com.protomil.core.personnel.domain.SkillStatus.ACTIVE")
+    List<PersonnelSkill> findByStatusOnActiveSkills(@Param("status") PersonnelSkillStatus status);
+
+    /** Marks active certifications that expired before {@code today}; returns how many were marked. */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PersonnelSkill ps SET ps.status = com.protomil.core.personnel.domain.PersonnelSkillStatus.EXPIRED, " +
+            "ps.version = ps.version + 1 " +
+            "WHERE ps.status = com.protomil.core.personnel.domain.PersonnelSkillStatus.ACTIVE AND ps.expiryDate < :today")
+    int markExpired(@Param("today") LocalDate today);
+}
@@ -0,0 +1,22 @@
+package com.protomil.core.personnel.repository;
+
+import com.protomil.core.personnel.domain.Skill;
+import com.protomil.core.personnel.domain.SkillStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SkillRepository extends JpaRepository<Skill, UUID> {
+
+    Optional<Skill> findByName(String name);
+
+    boolean existsByName(String name);
+
+    List<Skill> findByStatusOrderByName(SkillStatus status);
+
+    List<Skill> findByCategoryAndStatusOrderByName(String category, SkillStatus status);
+}
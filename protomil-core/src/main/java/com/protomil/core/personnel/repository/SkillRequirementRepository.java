@@ -0,0 +1,53 @@
+package com.protomil.core.personnel.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reads the skills a job card requires, from its template's job_card_template_skills (V18). Skills
+ * that are no longer ACTIVE are not required.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SkillRequirementRepository {
+
+    private static final String JOB_CARD_EXISTS_SQL = "SELECT template_id FROM job_cards WHERE id = :jobCardId";
+
+    private static final String JOB_CARD_REQUIREMENTS_SQL = """
+            SELECT ts.skill_id,
+                   CASE ts.min_proficiency_level
+                       WHEN 'EXPERT' THEN 4
+                       WHEN 'ADVANCED' THEN 3
+                       WHEN 'INTERMEDIATE' THEN 2
+                       ELSE 1
+                   END AS level
+            FROM job_cards jc
+            JOIN job_card_template_skills ts ON ts.template_id = jc.template_id
+            JOIN skills s ON s.id = ts.skill_id AND s.status = 'ACTIVE'
+            WHERE jc.id = :jobCardId
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /** Minimum level (1 to 4) by skill ID, or empty if the job card does not exist. */
+    public Optional<Map<UUID, Integer>> findJobCardRequirements(long jobCardId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("jobCardId", jobCardId);
+        if (jdbcTemplate.queryForList(JOB_CARD_EXISTS_SQL, params, Long.class).isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map<UUID, Integer> requirements = new LinkedHashMap<>();
+        jdbcTemplate.query(JOB_CARD_REQUIREMENTS_SQL, params,
+                rs -> {
+                    requirements.put(rs.getObject("skill_id", UUID.class), rs.getInt("level"));
+                });
+        return Optional.of(requirements);
+    }
+}
@@ -0,0 +1,543 @@
+package com.protomil.core.personnel.service;
+
+import com.protomil.core.jobcard.events.JobCardAssignedEvent;
+import com.protomil.core.jobcard.events.JobCardBatchEvent;
+import com.protomil.core.jobcard.events.JobCardStatusChangedEvent;
+import com.protomil.core.personnel.availability.AvailabilityCalendar;
+import com.protomil.core.personnel.availability.AvailabilityCalendar.Block;
+import com.protomil.core.personnel.availability.AvailabilityCalendar.DaySlots;
+import com.protomil.core.personnel.availability.AvailabilityCalendar.Headcount;
+import com.protomil.core.personnel.availability.AvailabilityCalendar.PersonDays;
+import com.protomil.core.personnel.availability.AvailabilityCalendar.PersonInfo;
+import com.protomil.core.personnel.availability.AvailabilityCalendar.Rota;
+import com.protomil.core.personnel.domain.Availability;
+import com.protomil.core.personnel.domain.Personnel;
+import com.protomil.core.personnel.domain.PersonnelStatus;
+import com.protomil.core.personnel.domain.Shift;
+import com.protomil.core.personnel.dto.AvailabilityResponse;
+import com.protomil.core.personnel.dto.LeaveRequest;
+import com.protomil.core.personnel.dto.LeaveResponse;
+import com.protomil.core.personnel.dto.ShiftHeadcountResponse;
+import com.protomil.core.personnel.dto.ShiftPatternRequest;
+import com.protomil.core.personnel.dto.ShiftPatternResponse;
+import com.protomil.core.personnel.repository.AvailabilityRepository;
+import com.protomil.core.personnel.repository.AvailabilityRepository.AssignmentRow;
+import com.protomil.core.personnel.repository.AvailabilityRepository.WorkloadRow;
+import com.protomil.core.personnel.repository.PersonnelAvailabilityRepository;
+import com.protomil.core.personnel.repository.PersonnelRepository;
+import com.protomil.core.personnel.repository.PersonnelShiftRepository;
+import com.protomil.core.shared.exception.BusinessException;
+import com.protomil.core.shared.exception.ResourceNotFoundException;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Whether personnel can take work: from the job cards they already hold, their shift patterns and
+ * their leave.
+ * <p>
+ * Workloads are held in memory so candidate lists can be filtered without a query per person; they
+ * are reloaded with one aggregate query shortly after job cards are assigned or change status, and
+ * at least every {@code max-age} to pick up changes made outside this node. Shifts, leave and the
+ * expected time of active job card assignments are held in an {@link AvailabilityCalendar}, built
+ * on first use, updated after each committed change made through this service or
+ * {@link PersonnelService}, given fresh assignments with every workload reload, and rebuilt
+ * periodically.
+ */
+@Service
+@Slf4j
+public class AvailabilityService {
+
+    private static final int MAX_RANGE_DAYS = 92;
+
+    /**
+     * @param assigned   job cards assigned but not started
+     * @param inProgress job cards being worked on
+     */
+    public record Workload(int assigned, int inProgress) {
+
+        static final Workload NONE = new Workload(0, 0);
+    }
+
+    private final AvailabilityRepository availabilityRepository;
+    private final PersonnelRepository personnelRepository;
+    private final PersonnelShiftRepository shiftRepository;
+    private final PersonnelAvailabilityRepository leaveRepository;
+    private final int maxOpenAssignments;
+    private final long maxAgeMillis;
+    private final Period lookBack;
+    private final int maxCachedDays;
+    private final int defaultJobMinutes;
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final Timer rebuildTimer;
+    private volatile Map<UUID, Workload> workloads;
+    private volatile long loadedAt;
+    private volatile boolean stale;
+    private volatile AvailabilityCalendar calendar;
+
+    public AvailabilityService(AvailabilityRepository availabilityRepository,
+                               PersonnelRepository personnelRepository,
+                               PersonnelShiftRepository shiftRepository,
+                               PersonnelAvailabilityRepository leaveRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${protomil.personnel.availability.max-open-assignments:3}") int maxOpenAssignments,
+                               @Value("${protomil.personnel.availability.max-age:PT1M}") Duration maxAge,
+                               @Value("${protomil.personnel.availability.look-back:P31D}") Period lookBack,
+                               @Value("${protomil.personnel.availability.max-cached-days:120}") int maxCachedDays,
+                               @Value("${protomil.personnel.availability.default-job-minutes:60}") int defaultJobMinutes) {
+        this.availabilityRepository = availabilityRepository;
+        this.personnelRepository = personnelRepository;
+        this.shiftRepository = shiftRepository;
+        this.leaveRepository = leaveRepository;
+        this.maxOpenAssignments = maxOpenAssignments;
+        this.maxAgeMillis = maxAge.toMillis();
+        this.lookBack = lookBack;
+        this.maxCachedDays = maxCachedDays;
+        this.defaultJobMinutes = defaultJobMinutes;
+
+        this.rebuildTimer = Timer.builder("protomil.personnel.availability.rebuild")
+                .description("Full availability calendar rebuilds")
+                .register(meterRegistry);
+        Gauge.builder("protomil.personnel.busy", this, service -> {
+                    Map<UUID, Workload> current = service.workloads;
+                    return current != null
+                            ? current.values().stream().filter(workload -> workload.inProgress() > 0).count()
+                            : 0;
+                })
+                .description("Users working on at least one job card")
+                .register(meterRegistry);
+        Gauge.builder("protomil.personnel.availability.cached_days", this, service -> {
+                    AvailabilityCalendar current = service.calendar;
+                    return current != null ? current.cachedDayCount() : 0;
+                })
+                .description("Days expanded into bit maps in the availability calendar")
+                .register(meterRegistry);
+    }
+
+    public Workload getWorkload(UUID userId) {
+        return userId != null ? currentWorkloads().getOrDefault(userId, Workload.NONE) : Workload.NONE;
+    }
+
+    /**
+     * A person can take a job card now when they are on shift and not on leave, are not working on a
+     * job card, and hold fewer than {@code max-open-assignments} assigned cards. Personnel without a
+     * shift pattern are not restricted by shifts; personnel without a user account cannot be
+     * assigned work at all.
+     */
+    public boolean isAvailable(UUID personnelId, UUID userId) {
+        if (userId == null) {
+            return false;
+        }
+        Workload workload = getWorkload(userId);
+        return workload.inProgress() == 0 && workload.assigned() < maxOpenAssignments
+                && currentCalendar().isAvailableAt(personnelId, LocalDateTime.now());
+    }
+
+    /**
+     * Rosters a person on a pattern from its effective-from date onwards. The pattern in effect
+     * before then ends the day before, and patterns starting on or after that date are replaced.
+     */
+    @Transactional
+    @LogExecutionTime
+    public ShiftPatternResponse setShiftPattern(UUID personnelId, ShiftPatternRequest request) {
+        Personnel personnel = findAssignablePersonnel(personnelId);
+        LocalDate effectiveFrom = request.getEffectiveFrom();
+
+        for (Shift shift : shiftRepository.findByPersonnelIdOrderByEffectiveFrom(personnelId)) {
+            if (!shift.getEffectiveFrom().isBefore(effectiveFrom)) {
+                shiftRepository.delete(shift);
+            } else if (shift.isEffectiveOn(effectiveFrom)) {
+                shift.setEffectiveTo(effectiveFrom.minusDays(1));
+                shiftRepository.save(shift);
+            }
+        }
+
+        Shift saved = shiftRepository.save(Shift.builder()
+                .personnel(personnel)
+                .pattern(request.getPattern())
+                .cycleStartDate(request.getCycleStartDate() != null ? request.getCycleStartDate() : effectiveFrom)
+                .effectiveFrom(effectiveFrom)
+                .build());
+        log.info("Personnel {} rostered on {} from {}", personnel.getEmployeeNumber(), saved.getPattern(), effectiveFrom);
+
+        reloadAfterCommit(personnelId);
+        return toResponse(saved, personnelId);
+    }
+
+    public List<ShiftPatternResponse> getShiftPatterns(UUID personnelId) {
+        findPersonnel(personnelId);
+        return shiftRepository.findByPersonnelIdOrderByEffectiveFrom(personnelId).stream()
+                .map(shift -> toResponse(shift, personnelId))
+                .toList();
+    }
+
+    @Transactional
+    @LogExecutionTime
+    public LeaveResponse recordLeave(UUID personnelId, LeaveRequest request) {
+        if (!request.getEndsAt().isAfter(request.getStartsAt())) {
+            throw new BusinessException("Leave must end after it starts");
+        }
+        Personnel personnel = findAssignablePersonnel(personnelId);
+        if (leaveRepository.existsByPersonnelIdAndStartsAtBeforeAndEndsAtAfter(personnelId, request.getEndsAt(),
+                request.getStartsAt())) {
+            throw new BusinessException("Leave overlaps leave already recorded for " + personnel.getEmployeeNumber());
+        }
+
+        Availability saved = leaveRepository.save(Availability.builder()
+                .personnel(personnel)
+                .availabilityType(request.getAvailabilityType())
+                .startsAt(request.getStartsAt())
+                .endsAt(request.getEndsAt())
+                .reason(request.getReason())
+                .build());
+        log.info("Recorded {} for personnel {} from {} to {}", saved.getAvailabilityType(),
+                personnel.getEmployeeNumber(), saved.getStartsAt(), saved.getEndsAt());
+
+        reloadAfterCommit(personnelId);
+        return toResponse(saved, personnelId);
+    }
+
+    @Transactional
+    @LogExecutionTime
+    public void cancelLeave(UUID personnelId, UUID leaveId) {
+        Availability leave = leaveRepository.findById(leaveId)
+                .filter(found -> found.getPersonnel().getId().equals(personnelId))
+                .orElseThrow(() -> ResourceNotFoundException.forResource("Leave", leaveId.toString()));
+        leaveRepository.delete(leave);
+        log.info("Cancelled {} of personnel {} from {}", leave.getAvailabilityType(), personnelId, leave.getStartsAt());
+
+        reloadAfterCommit(personnelId);
+    }
+
+    /** Leave of a person overlapping the days {@code from} to {@code to} inclusive. */
+    public List<LeaveResponse> getLeave(UUID personnelId, LocalDate from, LocalDate to) {
+        requireRange(from, to);
+        findPersonnel(personnelId);
+        return leaveRepository.findByPersonnelIdAndStartsAtBeforeAndEndsAtAfterOrderByStartsAt(personnelId,
+                        to.plusDays(1).atStartOfDay(), from.atStartOfDay()).stream()
+                .map(leave -> toResponse(leave, personnelId))
+                .toList();
+    }
+
+    /**
+     * Day-by-day rostered and available time of the active personnel of a department (everyone when
+     * null), from {@code from} to {@code to} inclusive, by employee number.
+     */
+    public List<AvailabilityResponse> getTeamAvailability(String department, LocalDate from, LocalDate to) {
+        requireRange(from, to);
+        AvailabilityCalendar current = currentCalendar();
+        requireWithinWindow(current, from);
+
+        return current.team(department, from, to).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    /**
+     * Headcounts of every shift starting from {@code from} to {@code to} inclusive, for one department
+     * or all when null. Served from per-day rollups cached in the calendar.
+     */
+    public List<ShiftHeadcountResponse> getShiftHeadcounts(String department, LocalDate from, LocalDate to) {
+        requireRange(from, to);
+        AvailabilityCalendar current = currentCalendar();
+        requireWithinWindow(current, from);
+
+        List<ShiftHeadcountResponse> headcounts = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            Map<com.protomil.core.jobcard.domain.enums.Shift, Headcount> byShift = current.headcounts(date, department);
+            for (Map.Entry<com.protomil.core.jobcard.domain.enums.Shift, Headcount> entry : byShift.entrySet()) {
+                Headcount headcount = entry.getValue();
+                headcounts.add(ShiftHeadcountResponse.builder()
+                        .date(date)
+                        .shift(entry.getKey())
+                        .department(department)
+                        .rostered(headcount.rostered())
+                        .onLeave(headcount.onLeave())
+                        .assigned(headcount.assigned())
+                        .free(headcount.free())
+                        .build());
+            }
+        }
+        return headcounts;
+    }
+
+    /** Reloads a person into the calendar once the current transaction commits. */
+    public void reloadAfterCommit(UUID personnelId) {
+        afterCommit(() -> reloadPerson(personnelId));
+    }
+
+    @Scheduled(fixedDelayString = "${protomil.personnel.availability.refresh-ms:2000}")
+    public void refreshIfStale() {
+        if (workloads == null || (!stale && System.currentTimeMillis() - loadedAt < maxAgeMillis)) {
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.error("Personnel workload reload failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${protomil.personnel.availability.rebuild-interval-ms:900000}",
+            initialDelayString = "${protomil.personnel.availability.rebuild-interval-ms:900000}")
+    public void rebuildPeriodically() {
+        if (calendar == null) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Availability calendar rebuild failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // Plain listeners: a dirty flag needs no event_publication row, the periodic rebuild is the backstop
+    @EventListener
+    public void handleJobCardAssigned(JobCardAssignedEvent event) {
+        afterCommit(() -> stale = true);
+    }
+
+    @EventListener
+    public void handleJobCardStatusChanged(JobCardStatusChangedEvent event) {
+        afterCommit(() -> stale = true);
+    }
+
+    @EventListener
+    public void handleJobCardBatch(JobCardBatchEvent event) {
+        if (!event.assigned().isEmpty() || !event.statusChanges().isEmpty()) {
+            afterCommit(() -> stale = true);
+        }
+    }
+
+    private Map<UUID, Workload> currentWorkloads() {
+        Map<UUID, Workload> current = workloads;
+        if (current != null) {
+            return current;
+        }
+        updateLock.lock();
+        try {
+            return workloads != null ? workloads : reload();
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /** Reloads workloads, and the calendar's job card assignments when it is built. */
+    private Map<UUID, Workload> reload() {
+        updateLock.lock();
+        try {
+            stale = false;
+            List<WorkloadRow> rows = availabilityRepository.findWorkloads();
+            Map<UUID, Workload> loaded = new HashMap<>(rows.size() * 2);
+            rows.forEach(row -> loaded.put(row.userId(), new Workload(row.assignedCount(), row.inProgressCount())));
+            workloads = loaded;
+            loadedAt = System.currentTimeMillis();
+
+            if (calendar != null) {
+                calendar.replaceAssignments(loadAssignments());
+            }
+            log.debug("Loaded workloads of {} users", loaded.size());
+            return loaded;
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private void reloadPerson(UUID personnelId) {
+        if (calendar == null) {
+            return;
+        }
+        updateLock.lock();
+        try {
+            AvailabilityCalendar current = calendar;
+            personnelRepository.findById(personnelId).ifPresent(personnel -> current.putPerson(
+                    toPersonInfo(personnel),
+                    shiftRepository.findByPersonnelIdOrderByEffectiveFrom(personnelId).stream()
+                            .map(AvailabilityService::toRota)
+                            .toList(),
+                    leaveRepository.findByPersonnelIdAndEndsAtAfterOrderByStartsAt(personnelId,
+                                    current.windowStart().atStartOfDay()).stream()
+                            .map(AvailabilityService::toBlock)
+                            .toList()));
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private AvailabilityCalendar currentCalendar() {
+        AvailabilityCalendar current = calendar;
+        if (current != null) {
+            return current;
+        }
+        updateLock.lock();
+        try {
+            return calendar != null ? calendar : rebuild();
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private AvailabilityCalendar rebuild() {
+        updateLock.lock();
+        try {
+            return rebuildTimer.record(() -> {
+                LocalDate windowStart = LocalDate.now().minus(lookBack);
+                Map<UUID, List<Rota>> rotas = shiftRepository.findEffectiveSince(windowStart).stream()
+                        .collect(Collectors.groupingBy(shift -> shift.getPersonnel().getId(),
+                                Collectors.mapping(AvailabilityService::toRota, Collectors.toList())));
+                Map<UUID, List<Block>> leave = leaveRepository.findByEndsAtAfterOrderByStartsAt(windowStart.atStartOfDay())
+                        .stream()
+                        .collect(Collectors.groupingBy(entry -> entry.getPersonnel().getId(),
+                                Collectors.mapping(AvailabilityService::toBlock, Collectors.toList())));
+
+                AvailabilityCalendar rebuilt = new AvailabilityCalendar(windowStart, maxCachedDays);
+                personnelRepository.findAll().stream()
+                        .filter(personnel -> personnel.getStatus() != PersonnelStatus.TERMINATED)
+                        .forEach(personnel -> rebuilt.putPerson(toPersonInfo(personnel),
+                                rotas.getOrDefault(personnel.getId(), List.of()),
+                                leave.getOrDefault(personnel.getId(), List.of())));
+                rebuilt.replaceAssignments(loadAssignments());
+
+                calendar = rebuilt;
+                log.debug("Availability calendar rebuilt with {} personnel from {}", rebuilt.personCount(), windowStart);
+                return rebuilt;
+            });
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private Map<UUID, List<Block>> loadAssignments() {
+        return availabilityRepository.findActiveAssignments(defaultJobMinutes).stream()
+                .collect(Collectors.groupingBy(AssignmentRow::personnelId,
+                        Collectors.mapping(row -> new Block(row.startsAt(), row.endsAt()), Collectors.toList())));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private Personnel findPersonnel(UUID personnelId) {
+        return personnelRepository.findById(personnelId)
+                .orElseThrow(() -> ResourceNotFoundException.forResource("Personnel", personnelId.toString()));
+    }
+
+    private Personnel findAssignablePersonnel(UUID personnelId) {
+        Personnel personnel = findPersonnel(personnelId);
+        if (personnel.getStatus() == PersonnelStatus.TERMINATED) {
+            throw new BusinessException("Personnel is terminated: " + personnel.getEmployeeNumber());
+        }
+        return personnel;
+    }
+
+    private static void requireRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new BusinessException("Date range start must not be after its end");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new BusinessException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    private static void requireWithinWindow(AvailabilityCalendar current, LocalDate from) {
+        if (from.isBefore(current.windowStart())) {
+            throw new BusinessException("Availability can only be checked from " + current.windowStart());
+        }
+    }
+
+    private static PersonInfo toPersonInfo(Personnel personnel) {
+        return new PersonInfo(personnel.getId(), personnel.getUserId(), personnel.getEmployeeNumber(),
+                personnel.getFullName(), personnel.getDepartment(), personnel.getStatus() == PersonnelStatus.ACTIVE);
+    }
+
+    private static Rota toRota(Shift shift) {
+        return new Rota(shift.getPattern(), shift.getCycleStartDate(), shift.getEffectiveFrom(), shift.getEffectiveTo());
+    }
+
+    private static Block toBlock(Availability leave) {
+        return new Block(leave.getStartsAt(), leave.getEndsAt());
+    }
+
+    private AvailabilityResponse toResponse(PersonDays personDays) {
+        List<AvailabilityResponse.DayAvailability> days = new ArrayList<>(personDays.days().size());
+        int availableMinutes = 0;
+        for (DaySlots day : personDays.days()) {
+            int available = AvailabilityCalendar.minutes(day.available());
+            availableMinutes += available;
+            days.add(AvailabilityResponse.DayAvailability.builder()
+                    .date(day.date())
+                    .shift(day.shift())
+                    .rosteredMinutes(AvailabilityCalendar.minutes(day.rostered()))
+                    .leaveMinutes(AvailabilityCalendar.minutes(day.leave()))
+                    .assignedMinutes(AvailabilityCalendar.minutes(day.assigned()))
+                    .availableMinutes(available)
+                    .availableWindows(AvailabilityCalendar.windows(day.date(), day.available()).stream()
+                            .map(window -> new AvailabilityResponse.TimeWindow(window.start(), window.end()))
+                            .toList())
+                    .build());
+        }
+
+        PersonInfo person = personDays.person();
+        return AvailabilityResponse.builder()
+                .personnelId(person.personnelId())
+                .employeeNumber(person.employeeNumber())
+                .fullName(person.fullName())
+                .department(person.department())
+                .availableMinutes(availableMinutes)
+                .days(days)
+                .build();
+    }
+
+    private ShiftPatternResponse toResponse(Shift shift, UUID personnelId) {
+        return ShiftPatternResponse.builder()
+                .id(shift.getId())
+                .personnelId(personnelId)
+                .pattern(shift.getPattern())
+                .cycleStartDate(shift.getCycleStartDate())
+                .effectiveFrom(shift.getEffectiveFrom())
+                .effectiveTo(shift.getEffectiveTo())
+                .build();
+    }
+
+    private LeaveResponse toResponse(Availability leave, UUID personnelId) {
+        return LeaveResponse.builder()
+                .id(leave.getId())
+                .personnelId(personnelId)
+                .availabilityType(leave.getAvailabilityType())
+                .startsAt(leave.getStartsAt())
+                .endsAt(leave.getEndsAt())
+                .reason(leave.getReason())
+                .build();
+    }
+}
@@ -0,0 +1,175 @@
+package com.protomil.core.personnel.service;
+
+import com.protomil.core.personnel.domain.Personnel;
+import com.protomil.core.personnel.domain.PersonnelStatus;
+import com.protomil.core.personnel.dto.PersonnelRequest;
+import com.protomil.core.personnel.dto.PersonnelResponse;
+import com.protomil.core.personnel.events.PersonnelCreatedEvent;
+import com.protomil.core.personnel.repository.PersonnelRepository;
+import com.protomil.core.shared.exception.BusinessException;
+import com.protomil.core.shared.exception.ResourceNotFoundException;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import com.protomil.core.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PersonnelService {
+
+    private final PersonnelRepository personnelRepository;
+    private final UserRepository userRepository;
+    private final SkillManagementService skillManagementService;
+    private final AvailabilityService availabilityService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    @LogExecutionTime
+    public PersonnelResponse createPersonnel(PersonnelRequest request) {
+        log.debug("Creating personnel {}", request.getEmployeeNumber());
+
+        if (personnelRepository.existsByEmployeeNumber(request.getEmployeeNumber())) {
+            throw new BusinessException("Employee number already exists: " + request.getEmployeeNumber());
+        }
+        requireUnlinkedUser(request.getUserId());
+
+        Personnel personnel = Personnel.builder()
+                .employeeNumber(request.getEmployeeNumber())
+                .firstName(request.getFirstName())
+                .lastName(request.getLastName())
+                .department(request.getDepartment())
+                .position(request.getPosition())
+                .hireDate(request.getHireDate())
+                .userId(request.getUserId())
+                .status(request.getStatus() != null ? request.getStatus() : PersonnelStatus.ACTIVE)
+                .build();
+
+        Personnel saved = personnelRepository.save(personnel);
+        log.info("Created personnel {} with ID: {}", saved.getEmployeeNumber(), saved.getId());
+
+        eventPublisher.publishEvent(new PersonnelCreatedEvent(saved.getId(), saved.getEmployeeNumber(),
+                saved.getUserId(), saved.getDepartment(), Instant.now()));
+        skillManagementService.indexAfterCommit(saved);
+        availabilityService.reloadAfterCommit(saved.getId());
+        return toResponse(saved);
+    }
+
+    @Transactional
+    @LogExecutionTime
+    public PersonnelResponse updatePersonnel(UUID personnelId, PersonnelRequest request) {
+        log.debug("Updating personnel {}", personnelId);
+
+        Personnel personnel = findPersonnel(personnelId);
+        if (!personnel.getEmployeeNumber().equals(request.getEmployeeNumber())
+                && personnelRepository.existsByEmployeeNumber(request.getEmployeeNumber())) {
+            throw new BusinessException("Employee number already exists: " + request.getEmployeeNumber());
+        }
+        if (!Objects.equals(personnel.getUserId(), request.getUserId())) {
+            requireUnlinkedUser(request.getUserId());
+        }
+
+        personnel.setEmployeeNumber(request.getEmployeeNumber());
+        personnel.setFirstName(request.getFirstName());
+        personnel.setLastName(request.getLastName());
+        personnel.setDepartment(request.getDepartment());
+        personnel.setPosition(request.getPosition());
+        personnel.setHireDate(request.getHireDate());
+        personnel.setUserId(request.getUserId());
+        if (request.getStatus() != null) {
+            personnel.setStatus(request.getStatus());
+        }
+
+        Personnel saved = personnelRepository.save(personnel);
+        log.info("Updated personnel {}", saved.getEmployeeNumber());
+
+        skillManagementService.indexAfterCommit(saved);
+        availabilityService.reloadAfterCommit(saved.getId());
+        return toResponse(saved);
+    }
+
+    @Transactional
+    @LogExecutionTime
+    public PersonnelResponse updateStatus(UUID personnelId, PersonnelStatus status) {
+        Personnel personnel = findPersonnel(personnelId);
+        if (personnel.getStatus() == status) {
+            return toResponse(personnel);
+        }
+        if (personnel.getStatus() == PersonnelStatus.TERMINATED) {
+            throw new BusinessException("Terminated personnel cannot change status: " + personnel.getEmployeeNumber());
+        }
+
+        log.info("Personnel {} status {} -> {}", personnel.getEmployeeNumber(), personnel.getStatus(), status);
+        personnel.setStatus(status);
+        Personnel saved = personnelRepository.save(personnel);
+
+        skillManagementService.indexAfterCommit(saved);
+        availabilityService.reloadAfterCommit(saved.getId());
+        return toResponse(saved);
+    }
+
+    /** A person with their certified skills. */
+    public PersonnelResponse getPersonnel(UUID personnelId) {
+        PersonnelResponse response = toResponse(findPersonnel(personnelId));
+        response.setSkills(skillManagementService.getPersonnelSkills(personnelId));
+        return response;
+    }
+
+    public PersonnelResponse getPersonnelByEmployeeNumber(String employeeNumber) {
+        Personnel personnel = personnelRepository.findByEmployeeNumber(employeeNumber)
+                .orElseThrow(() -> ResourceNotFoundException.forResource("Personnel", employeeNumber));
+        PersonnelResponse response = toResponse(personnel);
+        response.setSkills(skillManagementService.getPersonnelSkills(personnel.getId()));
+        return response;
+    }
+
+    public List<PersonnelResponse> getPersonnel(PersonnelStatus status, String department) {
+        List<Personnel> personnel = department != null
+                ? personnelRepository.findByDepartmentAndStatusOrderByEmployeeNumber(department, status)
+                : personnelRepository.findByStatusOrderByEmployeeNumber(status);
+        return personnel.stream().map(this::toResponse).toList();
+    }
+
+    private Personnel findPersonnel(UUID personnelId) {
+        return personnelRepository.findById(personnelId)
+                .orElseThrow(() -> ResourceNotFoundException.forResource("Personnel", personnelId.toString()));
+    }
+
+    private void requireUnlinkedUser(UUID userId) {
+        if (userId == null) {
+            return;
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new BusinessException("User not found with ID: " + userId);
+        }
+        if (personnelRepository.existsByUserId(userId)) {
+            throw new BusinessException("User is already linked to other personnel: " + userId);
+        }
+    }
+
+    private PersonnelResponse toResponse(Personnel personnel) {
+        return PersonnelResponse.builder()
+                .id(personnel.getId())
+                .userId(personnel.getUserId())
+                .employeeNumber(personnel.getEmployeeNumber())
+                .firstName(personnel.getFirstName())
+                .lastName(personnel.getLastName())
+                .fullName(personnel.getFullName())
+                .department(personnel.getDepartment())
+                .position(personnel.getPosition())
+                .hireDate(personnel.getHireDate())
+                .status(personnel.getStatus())
+                .version(personnel.getVersion())
+                .createdAt(personnel.getCreatedAt())
+                .updatedAt(personnel.getUpdatedAt())
+                .build();
+    }
+}
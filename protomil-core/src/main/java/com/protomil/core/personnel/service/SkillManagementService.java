@@ -0,0 +1,409 @@
+package com.protomil.core.personnel.service;
+
+import com.protomil.core.personnel.domain.Personnel;
+import com.protomil.core.personnel.domain.PersonnelSkill;
+import com.protomil.core.personnel.domain.PersonnelSkillStatus;
+import com.protomil.core.personnel.domain.PersonnelStatus;
+import com.protomil.core.personnel.domain.ProficiencyLevel;
+import com.protomil.core.personnel.domain.Skill;
+import com.protomil.core.personnel.domain.SkillStatus;
+import com.protomil.core.personnel.dto.AssignmentCandidateResponse;
+import com.protomil.core.personnel.dto.PersonnelSkillResponse;
+import com.protomil.core.personnel.dto.SkillAssignmentRequest;
+import com.protomil.core.personnel.dto.SkillRequest;
+import com.protomil.core.personnel.dto.SkillResponse;
+import com.protomil.core.personnel.events.SkillAssignedEvent;
+import com.protomil.core.personnel.matching.SkillMatchIndex;
+import com.protomil.core.personnel.matching.SkillMatchIndex.Match;
+import com.protomil.core.personnel.matching.SkillMatchIndex.PersonInfo;
+import com.protomil.core.personnel.repository.PersonnelRepository;
+import com.protomil.core.personnel.repository.PersonnelSkillRepository;
+import com.protomil.core.personnel.repository.SkillRepository;
+import com.protomil.core.personnel.repository.SkillRequirementRepository;
+import com.protomil.core.personnel.service.AvailabilityService.Workload;
+import com.protomil.core.shared.exception.BusinessException;
+import com.protomil.core.shared.exception.ResourceNotFoundException;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Skills, certifications of personnel in them, and "who can do this job card". Matching runs against
+ * an in-memory {@link SkillMatchIndex}: it is built on first use, updated after each committed
+ * change made through this service or {@link PersonnelService}, and rebuilt periodically to pick up
+ * changes made elsewhere.
+ */
+@Service
+@Slf4j
+public class SkillManagementService {
+
+    private static final int MAX_CANDIDATES = 200;
+
+    private static final Comparator<AssignmentCandidateResponse> CANDIDATE_ORDER =
+            Comparator.comparing(AssignmentCandidateResponse::isAvailable).reversed()
+                    .thenComparingInt(AssignmentCandidateResponse::getInProgressJobCards)
+                    .thenComparingInt(AssignmentCandidateResponse::getAssignedJobCards)
+                    .thenComparing(Comparator.comparingInt(AssignmentCandidateResponse::getProficiencyScore).reversed())
+                    .thenComparing(AssignmentCandidateResponse::getEmployeeNumber);
+
+    private final SkillRepository skillRepository;
+    private final PersonnelSkillRepository personnelSkillRepository;
+    private final PersonnelRepository personnelRepository;
+    private final SkillRequirementRepository requirementRepository;
+    private final AvailabilityService availabilityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final Timer matchTimer;
+    private final Timer rebuildTimer;
+    private volatile SkillMatchIndex index;
+
+    public SkillManagementService(SkillRepository skillRepository,
+                                  PersonnelSkillRepository personnelSkillRepository,
+                                  PersonnelRepository personnelRepository,
+                                  SkillRequirementRepository requirementRepository,
+                                  AvailabilityService availabilityService,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry) {
+        this.skillRepository = skillRepository;
+        this.personnelSkillRepository = personnelSkillRepository;
+        this.personnelRepository = personnelRepository;
+        this.requirementRepository = requirementRepository;
+        this.availabilityService = availabilityService;
+        this.eventPublisher = eventPublisher;
+
+        this.matchTimer = Timer.builder("protomil.personnel.skill_match")
+                .description("Skill index lookups for assignment candidates")
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("protomil.personnel.skill_index.rebuild")
+                .description("Full skill index rebuilds")
+                .register(meterRegistry);
+        Gauge.builder("protomil.personnel.skill_index.personnel", this, service -> {
+                    SkillMatchIndex current = service.index;
+                    return current != null ? current.activePersonCount() : 0;
+                })
+                .description("Active personnel in the skill index")
+                .register(meterRegistry);
+    }
+
+    @Transactional
+    @LogExecutionTime
+    public SkillResponse createSkill(SkillRequest request) {
+        if (skillRepository.existsByName(request.getName())) {
+            throw new BusinessException("Skill already exists: " + request.getName());
+        }
+
+        Skill skill = Skill.builder()
+                .name(request.getName())
+                .description(request.getDescription())
+                .category(request.getCategory())
+                .status(request.getStatus() != null ? request.getStatus() : SkillStatus.ACTIVE)
+                .build();
+
+        Skill saved = skillRepository.save(skill);
+        log.info("Created skill {} with ID: {}", saved.getName(), saved.getId());
+        return toResponse(saved);
+    }
+
+    @Transactional
+    @LogExecutionTime
+    public SkillResponse updateSkill(UUID skillId, SkillRequest request) {
+        Skill skill = findSkill(skillId);
+        if (!skill.getName().equals(request.getName()) && skillRepository.existsByName(request.getName())) {
+            throw new BusinessException("Skill already exists: " + request.getName());
+        }
+        SkillStatus previousStatus = skill.getStatus();
+
+        skill.setName(request.getName());
+        skill.setDescription(request.getDescription());
+        skill.setCategory(request.getCategory());
+        if (request.getStatus() != null) {
+            skill.setStatus(request.getStatus());
+        }
+
+        Skill saved = skillRepository.save(skill);
+        if (saved.getStatus() != previousStatus) {
+            // Certifications in a skill only count while it is active; the index is loaded with that rule
+            log.info("Skill {} status {} -> {}", saved.getName(), previousStatus, saved.getStatus());
+            afterCommit(() -> {
+                if (index != null) {
+                    rebuild();
+                }
+            });
+        }
+        return toResponse(saved);
+    }
+
+    public SkillResponse getSkill(UUID skillId) {
+        return toResponse(findSkill(skillId));
+    }
+
+    public List<SkillResponse> getSkills(String category, SkillStatus status) {
+        List<Skill> skills = category != null
+                ? skillRepository.findByCategoryAndStatusOrderByName(category, status)
+                : skillRepository.findByStatusOrderByName(status);
+        return skills.stream().map(this::toResponse).toList();
+    }
+
+    /** Certifies a person in a skill, or changes the level or dates of an existing certification. */
+    @Transactional
+    @LogExecutionTime
+    public PersonnelSkillResponse assignSkill(UUID personnelId, SkillAssignmentRequest request) {
+        Personnel personnel = personnelRepository.findById(personnelId)
+                .orElseThrow(() -> ResourceNotFoundException.forResource("Personnel", personnelId.toString()));
+        Skill skill = findSkill(request.getSkillId());
+        if (skill.getStatus() != SkillStatus.ACTIVE) {
+            throw new BusinessException("Skill is not active: " + skill.getName());
+        }
+        LocalDate certifiedDate = request.getCertifiedDate() != null ? request.getCertifiedDate() : LocalDate.now();
+        if (request.getExpiryDate() != null && request.getExpiryDate().isBefore(certifiedDate)) {
+            throw new BusinessException("Certification cannot expire before it was certified");
+        }
+
+        PersonnelSkill personnelSkill = personnelSkillRepository.findByPersonnelIdAndSkillId(personnelId, skill.getId())
+                .orElseGet(() -> PersonnelSkill.builder().personnel(personnel).skill(skill).build());
+        personnelSkill.setProficiencyLevel(request.getProficiencyLevel());
+        personnelSkill.setCertifiedDate(certifiedDate);
+        personnelSkill.setExpiryDate(request.getExpiryDate());
+        personnelSkill.setStatus(request.getExpiryDate() != null && request.getExpiryDate().isBefore(LocalDate.now())
+                ? PersonnelSkillStatus.EXPIRED
+                : PersonnelSkillStatus.ACTIVE);
+
+        PersonnelSkill saved = personnelSkillRepository.save(personnelSkill);
+        log.info("Certified {} in {} at {}", personnel.getEmployeeNumber(), skill.getName(), saved.getProficiencyLevel());
+
+        publishSkillAssigned(personnel, skill, saved);
+        if (saved.getStatus() == PersonnelSkillStatus.ACTIVE) {
+            afterCommit(() -> updateIndex(current -> current.putCertification(personnelId, skill.getId(),
+                    saved.getProficiencyLevel().getLevel(), saved.getExpiryDate())));
+        } else {
+            afterCommit(() -> updateIndex(current -> current.removeCertification(personnelId, skill.getId())));
+        }
+        return toResponse(saved);
+    }
+
+    /** Withdraws a certification; it is kept with status INACTIVE. */
+    @Transactional
+    @LogExecutionTime
+    public PersonnelSkillResponse revokeSkill(UUID personnelId, UUID skillId) {
+        PersonnelSkill personnelSkill = personnelSkillRepository.findByPersonnelIdAndSkillId(personnelId, skillId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Skill " + skillId + " is not assigned to personnel " + personnelId));
+
+        personnelSkill.setStatus(PersonnelSkillStatus.INACTIVE);
+        PersonnelSkill saved = personnelSkillRepository.save(personnelSkill);
+        log.info("Revoked skill {} of personnel {}", skillId, personnelId);
+
+        publishSkillAssigned(saved.getPersonnel(), saved.getSkill(), saved);
+        afterCommit(() -> updateIndex(current -> current.removeCertification(personnelId, skillId)));
+        return toResponse(saved);
+    }
+
+    public List<PersonnelSkillResponse> getPersonnelSkills(UUID personnelId) {
+        return personnelSkillRepository.findWithSkillByPersonnelId(personnelId).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    /**
+     * Active personnel certified in every skill the job card's template requires, best first:
+     * available before busy, then the least loaded, then the most proficient in the required
+     * skills. Personnel who are busy, off shift or on leave are left out unless
+     * {@code includeUnavailable} is set.
+     */
+    public List<AssignmentCandidateResponse> findCandidates(long jobCardId, boolean includeUnavailable, int limit) {
+        Map<UUID, Integer> requirements = requirementRepository.findJobCardRequirements(jobCardId)
+                .orElseThrow(() -> ResourceNotFoundException.forResource("Job card", String.valueOf(jobCardId)));
+        return findCandidates(requirements, includeUnavailable, limit);
+    }
+
+    /** Like {@link #findCandidates(long, boolean, int)} for explicit minimum levels (1 to 4) by skill ID. */
+    public List<AssignmentCandidateResponse> findCandidates(Map<UUID, Integer> requirements, boolean includeUnavailable,
+                                                            int limit) {
+        SkillMatchIndex current = currentIndex();
+        List<AssignmentCandidateResponse> candidates = matchTimer.record(() -> current.match(requirements, LocalDate.now())
+                .stream()
+                .map(this::toCandidate)
+                .filter(candidate -> includeUnavailable || candidate.isAvailable())
+                .sorted(CANDIDATE_ORDER)
+                .limit(Math.clamp(limit, 1, MAX_CANDIDATES))
+                .toList());
+        for (int i = 0; i < candidates.size(); i++) {
+            candidates.get(i).setRank(i + 1);
+        }
+        return candidates;
+    }
+
+    /** Adds or updates a person in the index once the current transaction commits. */
+    public void indexAfterCommit(Personnel personnel) {
+        PersonInfo info = toPersonInfo(personnel);
+        boolean active = personnel.getStatus() == PersonnelStatus.ACTIVE;
+        afterCommit(() -> updateIndex(current -> current.putPerson(info, active)));
+    }
+
+    /** Marks certifications that expired yesterday or earlier; the index already ignores them. */
+    @Scheduled(cron = "${protomil.personnel.skill-expiry-cron:0 5 0 * * *}")
+    @Transactional
+    public void markExpiredCertifications() {
+        int expired = personnelSkillRepository.markExpired(LocalDate.now());
+        if (expired > 0) {
+            log.info("Marked {} skill certifications as expired", expired);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${protomil.personnel.skill-index.rebuild-interval-ms:900000}",
+            initialDelayString = "${protomil.personnel.skill-index.rebuild-interval-ms:900000}")
+    public void rebuildPeriodically() {
+        if (index == null) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Skill index rebuild failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void updateIndex(Consumer<SkillMatchIndex> update) {
+        if (index == null) {
+            return;
+        }
+        updateLock.lock();
+        try {
+            update.accept(index);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private SkillMatchIndex currentIndex() {
+        SkillMatchIndex current = index;
+        if (current != null) {
+            return current;
+        }
+        updateLock.lock();
+        try {
+            return index != null ? index : rebuild();
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private SkillMatchIndex rebuild() {
+        updateLock.lock();
+        try {
+            return rebuildTimer.record(() -> {
+                LocalDate today = LocalDate.now();
+                SkillMatchIndex rebuilt = new SkillMatchIndex(today);
+                personnelRepository.findAll().forEach(personnel ->
+                        rebuilt.putPerson(toPersonInfo(personnel), personnel.getStatus() == PersonnelStatus.ACTIVE));
+                List<PersonnelSkill> certifications =
+                        personnelSkillRepository.findByStatusOnActiveSkills(PersonnelSkillStatus.ACTIVE);
+                certifications.forEach(certification -> rebuilt.putCertification(
+                        certification.getPersonnel().getId(),
+                        certification.getSkill().getId(),
+                        certification.getProficiencyLevel().getLevel(),
+                        certification.getExpiryDate()));
+
+                index = rebuilt;
+                log.debug("Skill index rebuilt with {} active personnel and {} certifications",
+                        rebuilt.activePersonCount(), certifications.size());
+                return rebuilt;
+            });
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void publishSkillAssigned(Personnel personnel, Skill skill, PersonnelSkill personnelSkill) {
+        eventPublisher.publishEvent(new SkillAssignedEvent(personnel.getId(), personnel.getUserId(), skill.getId(),
+                skill.getName(), personnelSkill.getProficiencyLevel(), personnelSkill.getExpiryDate(),
+                personnelSkill.getStatus(), Instant.now()));
+    }
+
+    private Skill findSkill(UUID skillId) {
+        return skillRepository.findById(skillId)
+                .orElseThrow(() -> ResourceNotFoundException.forResource("Skill", skillId.toString()));
+    }
+
+    private AssignmentCandidateResponse toCandidate(Match match) {
+        PersonInfo person = match.person();
+        Workload workload = availabilityService.getWorkload(person.userId());
+        Map<UUID, ProficiencyLevel> skillLevels = new LinkedHashMap<>();
+        match.levels().forEach((skillId, level) -> skillLevels.put(skillId, ProficiencyLevel.ofLevel(level)));
+
+        return AssignmentCandidateResponse.builder()
+                .personnelId(person.personnelId())
+                .userId(person.userId())
+                .employeeNumber(person.employeeNumber())
+                .fullName(person.fullName())
+                .department(person.department())
+                .position(person.position())
+                .skillLevels(skillLevels)
+                .proficiencyScore(match.proficiencyScore())
+                .assignedJobCards(workload.assigned())
+                .inProgressJobCards(workload.inProgress())
+                .available(availabilityService.isAvailable(person.personnelId(), person.userId()))
+                .build();
+    }
+
+    private static PersonInfo toPersonInfo(Personnel personnel) {
+        return new PersonInfo(personnel.getId(), personnel.getUserId(), personnel.getEmployeeNumber(),
+                personnel.getFullName(), personnel.getDepartment(), personnel.getPosition());
+    }
+
+    private SkillResponse toResponse(Skill skill) {
+        return SkillResponse.builder()
+                .id(skill.getId())
+                .name(skill.getName())
+                .description(skill.getDescription())
+                .category(skill.getCategory())
+                .status(skill.getStatus())
+                .createdAt(skill.getCreatedAt())
+                .updatedAt(skill.getUpdatedAt())
+                .build();
+    }
+
+    private PersonnelSkillResponse toResponse(PersonnelSkill personnelSkill) {
+        return PersonnelSkillResponse.builder()
+                .id(personnelSkill.getId())
+                .personnelId(personnelSkill.getPersonnel().getId())
+                .skillId(personnelSkill.getSkill().getId())
+                .skillName(personnelSkill.getSkill().getName())
+                .proficiencyLevel(personnelSkill.getProficiencyLevel())
+                .certifiedDate(personnelSkill.getCertifiedDate())
+                .expiryDate(personnelSkill.getExpiryDate())
+                .status(personnelSkill.getStatus())
+                .build();
+    }
+}
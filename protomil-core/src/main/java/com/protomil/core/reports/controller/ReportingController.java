@@ -0,0 +1,158 @@
+package com.protomil.core.reports.controller;
+
+import com.protomil.core.reports.dto.ReportJobResponse;
+import com.protomil.core.reports.dto.ReportRequest;
+import com.protomil.core.reports.service.ReportingService;
+import com.protomil.core.reports.service.ReportingService.ReportResult;
+import com.protomil.core.shared.dto.ApiResponse;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+@RestController
+@RequestMapping("/api/v1/reports")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Reports", description = "Reports generated in the background, with progress polling and download")
+public class ReportingController {
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private final ReportingService reportingService;
+
+    @PostMapping
+    @Operation(
+            summary = "Request a report",
+            description = "Queues a report, or returns the job already answering an identical request. "
+                    + "Poll the job until it is COMPLETED, then download it."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "202",
+                    description = "Report queued, or an identical queued, running or recent report returned",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ReportJobResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid date range or filters",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            )
+    })
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<ReportJobResponse>> requestReport(@Valid @RequestBody ReportRequest request) {
+        log.info("Requesting {} report from {} to {}", request.getReportType(), request.getStartDate(),
+                request.getEndDate());
+
+        ReportJobResponse response = reportingService.requestReport(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(respond(response.isReused() ? "Existing report job returned" : "Report job queued", response));
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get report job", description = "Status and progress of a report job")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> getReportJob(
+            @PathVariable @Parameter(description = "Report job ID") UUID jobId) {
+
+        return ResponseEntity.ok(respond("Report job retrieved successfully", reportingService.getReportJob(jobId)));
+    }
+
+    @GetMapping
+    @Operation(summary = "List my report jobs", description = "The current user's most recent report jobs, newest first")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<List<ReportJobResponse>>> getMyReportJobs(
+            @RequestParam(defaultValue = "20") @Parameter(description = "Jobs to return, at most 100") int limit) {
+
+        return ResponseEntity.ok(respond("Report jobs retrieved successfully", reportingService.getMyReportJobs(limit)));
+    }
+
+    @DeleteMapping("/{jobId}")
+    @Operation(summary = "Cancel report job", description = "Cancels a queued or running report job")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<ReportJobResponse>> cancelReportJob(
+            @PathVariable @Parameter(description = "Report job ID") UUID jobId) {
+
+        return ResponseEntity.ok(respond("Report job cancelled", reportingService.cancelReportJob(jobId)));
+    }
+
+    @GetMapping("/{jobId}/download")
+    @Operation(
+            summary = "Download report",
+            description = "Streams a completed report; sent gzip-compressed as stored when the client accepts gzip"
+    )
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> downloadReport(
+            @PathVariable @Parameter(description = "Report job ID") UUID jobId,
+
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding) {
+
+        ReportResult result = reportingService.openResult(jobId);
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        StreamingResponseBody body = out -> {
+            try (InputStream content = gzip
+                    ? result.content()
+                    : new GZIPInputStream(result.content(), GZIP_BUFFER_SIZE)) {
+                content.transferTo(out);
+            }
+            out.flush();
+        };
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_TYPE, result.job().getFormat().getContentType() + ";charset=UTF-8");
+        headers.setContentDisposition(ContentDisposition.attachment().filename(result.fileName()).build());
+        headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            headers.setContentLength(result.job().getSizeBytes());
+        }
+
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private <T> ApiResponse<T> respond(String message, T data) {
+        return ApiResponse.<T>builder()
+                .success(true)
+                .message(message)
+                .data(data)
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.protomil.core.reports.domain;
+
+import com.protomil.core.jobcard.domain.enums.ExportFormat;
+import com.protomil.core.shared.domain.AuditableEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A queued, running or finished report. Rows are inserted, claimed and moved between statuses by
+ * {@link com.protomil.core.reports.repository.ReportQueueRepository} with conditional updates; the
+ * entity is only read.
+ */
+@Entity
+@Table(name = "report_jobs")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJob extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id")
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "report_type", nullable = false, length = 50)
+    private ReportType reportType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false, length = 20)
+    private ExportFormat format;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "parameters", columnDefinition = "jsonb", nullable = false)
+    @Builder.Default
+    private Map<String, Object> parameters = Map.of();
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private ReportJobStatus status = ReportJobStatus.QUEUED;
+
+    @Column(name = "rows_written", nullable = false)
+    @Builder.Default
+    private Long rowsWritten = 0L;
+
+    @Column(name = "estimated_rows")
+    private Long estimatedRows;
+
+    @Column(name = "storage_key", length = 300)
+    private String storageKey;
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "worker_id", length = 100)
+    private String workerId;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "queued_at", nullable = false)
+    private LocalDateTime queuedAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+}
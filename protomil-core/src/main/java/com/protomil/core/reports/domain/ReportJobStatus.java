@@ -0,0 +1,13 @@
+package com.protomil.core.reports.domain;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isActive() {
+        return this == QUEUED || this == RUNNING;
+    }
+}
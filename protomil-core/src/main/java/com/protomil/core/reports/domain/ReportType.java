@@ -0,0 +1,15 @@
+package com.protomil.core.reports.domain;
+
+import lombok.Getter;
+
+@Getter
+public enum ReportType {
+    JOB_CARDS("Job cards created in a date range, with timing against estimate and target"),
+    PERSONNEL_PERFORMANCE("Per-operator efficiency, output, rejections and completed steps, with percentiles and weekly trends");
+
+    private final String description;
+
+    ReportType(String description) {
+        this.description = description;
+    }
+}
@@ -0,0 +1,30 @@
+package com.protomil.core.reports.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * The work handed to {@link com.protomil.core.reports.lambda.ReportGeneratorHandler} for one claimed
+ * report job. Self-contained and serializable, so generation can move out of process (e.g. to a
+ * function invoked per job) without changing the queue.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LambdaReportRequest {
+
+    private UUID jobId;
+
+    private ReportRequest request;
+
+    /** Where the result is stored. */
+    private String storageKey;
+
+    /** 1 on the first run; higher when the job was requeued after a worker stopped. */
+    private int attempt;
+}
@@ -0,0 +1,77 @@
+package com.protomil.core.reports.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "One operator's performance over a personnel performance report's date range")
+public class PersonnelPerformanceResponse {
+
+    @Schema(description = "Employee number", example = "EMP-0042")
+    private String employeeNumber;
+
+    @Schema(description = "Operator name, from personnel or the production entries")
+    private String operatorName;
+
+    @Schema(description = "Department, if the operator has a personnel record", example = "Machining")
+    private String department;
+
+    @Schema(description = "Production entries recorded for the operator")
+    private Long productionEntries;
+
+    @Schema(description = "Quantity produced")
+    private Long productionQuantity;
+
+    @Schema(description = "Production loss quantity")
+    private Long lossQuantity;
+
+    @Schema(description = "In-process and final-stage rejections")
+    private Long rejectedQuantity;
+
+    @Schema(description = "Rejections as a percentage of the quantity produced", example = "1.25")
+    private BigDecimal rejectionRatePercent;
+
+    @Schema(description = "Actual operation time of timed entries, in minutes")
+    private BigDecimal operationMinutes;
+
+    @Schema(description = "Defined over actual operation time across timed entries, as a percentage", example = "96.40")
+    private BigDecimal efficiencyPercent;
+
+    @Schema(description = "10th percentile of per-entry operator efficiency", example = "78.50")
+    private BigDecimal efficiencyP10;
+
+    @Schema(description = "Median per-entry operator efficiency", example = "95.50")
+    private BigDecimal efficiencyP50;
+
+    @Schema(description = "90th percentile of per-entry operator efficiency", example = "110.50")
+    private BigDecimal efficiencyP90;
+
+    @Schema(description = "Share of operators in the report with a lower efficiency, as a percentage", example = "62.50")
+    private BigDecimal efficiencyPercentileRank;
+
+    @Schema(description = "Change in weekly efficiency per week, in percentage points", example = "0.35")
+    private BigDecimal efficiencyTrendPerWeek;
+
+    @Schema(description = "Change in weekly production quantity per week", example = "-12.00")
+    private BigDecimal outputTrendPerWeek;
+
+    @Schema(description = "Work instruction steps completed")
+    private Long instructionsCompleted;
+
+    @Schema(description = "Quality checkpoint steps completed")
+    private Long qualityCheckpointsCompleted;
+
+    @Schema(description = "Median actual over estimated step time, as a percentage", example = "104.50")
+    private BigDecimal stepTimeRatioP50;
+
+    @Schema(description = "90th percentile actual over estimated step time, as a percentage", example = "150.50")
+    private BigDecimal stepTimeRatioP90;
+}
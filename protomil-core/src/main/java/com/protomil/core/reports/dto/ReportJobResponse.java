@@ -0,0 +1,74 @@
+package com.protomil.core.reports.dto;
+
+import com.protomil.core.jobcard.domain.enums.ExportFormat;
+import com.protomil.core.reports.domain.ReportJobStatus;
+import com.protomil.core.reports.domain.ReportType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "A report job and its progress")
+public class ReportJobResponse {
+
+    @Schema(description = "Report job ID")
+    private UUID id;
+
+    @Schema(description = "Report type", example = "JOB_CARDS")
+    private ReportType reportType;
+
+    @Schema(description = "Output format", example = "CSV")
+    private ExportFormat format;
+
+    @Schema(description = "First date covered")
+    private LocalDate startDate;
+
+    @Schema(description = "Last date covered")
+    private LocalDate endDate;
+
+    @Schema(description = "Report-specific filters")
+    private Map<String, String> filters;
+
+    @Schema(description = "Job status", example = "RUNNING")
+    private ReportJobStatus status;
+
+    @Schema(description = "Rows written so far")
+    private Long rowsWritten;
+
+    @Schema(description = "Rows expected, estimated when the job started")
+    private Long estimatedRows;
+
+    @Schema(description = "Progress estimate, 0 to 100", example = "42")
+    private Integer progressPercent;
+
+    @Schema(description = "Size of the stored result in bytes, compressed")
+    private Long sizeBytes;
+
+    @Schema(description = "Why the job failed")
+    private String errorMessage;
+
+    @Schema(description = "Whether an identical request already queued, running or recently completed was reused")
+    private boolean reused;
+
+    @Schema(description = "Where to download the result once completed")
+    private String downloadUrl;
+
+    private LocalDateTime queuedAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+
+    @Schema(description = "When the result is deleted")
+    private LocalDateTime expiresAt;
+}
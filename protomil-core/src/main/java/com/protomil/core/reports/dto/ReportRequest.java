@@ -0,0 +1,41 @@
+package com.protomil.core.reports.dto;
+
+import com.protomil.core.jobcard.domain.enums.ExportFormat;
+import com.protomil.core.reports.domain.ReportType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request to generate a report in the background")
+public class ReportRequest {
+
+    @NotNull(message = "Report type is required")
+    @Schema(description = "Report to generate", example = "JOB_CARDS")
+    private ReportType reportType;
+
+    @Builder.Default
+    @Schema(description = "Output format", example = "CSV")
+    private ExportFormat format = ExportFormat.CSV;
+
+    @NotNull(message = "Start date is required")
+    @Schema(description = "First date covered (inclusive)", example = "2025-01-01")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    @Schema(description = "Last date covered (inclusive)", example = "2025-01-31")
+    private LocalDate endDate;
+
+    @Schema(description = "Report-specific filters, e.g. status or priority for job card reports",
+            example = "{\"status\": \"COMPLETED\"}")
+    private Map<String, String> filters;
+}
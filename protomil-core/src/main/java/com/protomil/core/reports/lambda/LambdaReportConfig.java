@@ -0,0 +1,59 @@
+package com.protomil.core.reports.lambda;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the report job queue and its workers ({@code protomil.reports}).
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "protomil.reports")
+public class LambdaReportConfig {
+
+    /** Reports generated at once on this node. */
+    private int workers = 4;
+
+    /** A completed report is handed out again for an identical request within this time. */
+    private Duration cacheTtl = Duration.ofMinutes(15);
+
+    /** How long finished jobs and their results are kept. */
+    private Duration retention = Duration.ofDays(7);
+
+    /** A running job without a heartbeat for this long is taken back from its worker. */
+    private Duration staleAfter = Duration.ofMinutes(2);
+
+    /** Runs allowed per job before it is failed rather than requeued. */
+    private int maxAttempts = 3;
+
+    /** How often a worker records a running job's progress, which is also its heartbeat. */
+    private Duration progressInterval = Duration.ofSeconds(1);
+
+    /** Longest date range a single report may cover. */
+    private int maxRangeDays = 366;
+
+    /** Defaults to the host name plus a random suffix. */
+    private String workerId;
+
+    private PersonnelPerformance personnel = new PersonnelPerformance();
+
+    @Data
+    public static class PersonnelPerformance {
+
+        /** Threads aggregating one personnel performance report, each over its own months of data. */
+        private int parallelism = 4;
+
+        /**
+         * Database connections held by personnel report readers at once, across all reports on this node.
+         * Must stay below the connection pool size; readers beyond it wait for a free connection.
+         */
+        private int maxConnections = 4;
+
+        /** Most memory one report's per-operator accumulators may take, across all its threads. */
+        private DataSize memoryBudget = DataSize.ofMegabytes(64);
+    }
+}
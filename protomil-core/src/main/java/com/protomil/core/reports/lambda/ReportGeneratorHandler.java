@@ -0,0 +1,85 @@
+package com.protomil.core.reports.lambda;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.protomil.core.reports.dto.LambdaReportRequest;
+import com.protomil.core.reports.dto.ReportRequest;
+import com.protomil.core.reports.service.ReportTemplateService;
+import com.protomil.core.reports.storage.ReportStorage;
+import com.protomil.core.reports.templates.ReportTemplate;
+import com.protomil.core.reports.templates.ReportWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Generates one claimed report job: runs its template in a read-only transaction, so a routed data
+ * source may serve it from a replica, and streams the rows gzipped into report storage. Nothing is
+ * stored if generation fails or is stopped by the progress listener.
+ */
+@Component
+@Slf4j
+public class ReportGeneratorHandler {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    /** What a finished job produced. */
+    public record Result(long rowsWritten, long sizeBytes) {
+    }
+
+    private final ReportTemplateService templateService;
+    private final ReportStorage storage;
+    private final ObjectMapper objectMapper;
+    private final LambdaReportConfig config;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ReportGeneratorHandler(ReportTemplateService templateService,
+                                  ReportStorage storage,
+                                  ObjectMapper objectMapper,
+                                  LambdaReportConfig config,
+                                  PlatformTransactionManager transactionManager) {
+        this.templateService = templateService;
+        this.storage = storage;
+        this.objectMapper = objectMapper;
+        this.config = config;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @throws ReportWriter.AbortedException if the progress listener stopped the job
+     */
+    public Result handle(LambdaReportRequest job, ReportWriter.ProgressListener progressListener) throws IOException {
+        ReportRequest request = job.getRequest();
+        ReportTemplate template = templateService.getTemplate(request.getReportType());
+        AtomicLong rowsWritten = new AtomicLong();
+
+        long sizeBytes = storage.write(job.getStorageKey(), out -> {
+            GZIPOutputStream gzip = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+            Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8));
+            ReportWriter reportWriter = new ReportWriter(writer, request.getFormat(), template.getColumns(),
+                    objectMapper, progressListener, config.getProgressInterval());
+
+            readOnlyTransaction.executeWithoutResult(status -> {
+                reportWriter.estimate(template.estimateRows(request));
+                template.generate(request, reportWriter);
+            });
+
+            reportWriter.flush();
+            gzip.finish();
+            rowsWritten.set(reportWriter.getRowsWritten());
+        });
+
+        log.debug("Report job {} wrote {} rows ({} bytes) to {}", job.getJobId(), rowsWritten.get(), sizeBytes,
+                job.getStorageKey());
+        return new Result(rowsWritten.get(), sizeBytes);
+    }
+}
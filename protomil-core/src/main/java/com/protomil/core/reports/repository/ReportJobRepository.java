@@ -0,0 +1,15 @@
+package com.protomil.core.reports.repository;
+
+import com.protomil.core.reports.domain.ReportJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, UUID> {
+
+    List<ReportJob> findByCreatedByOrderByCreatedAtDesc(UUID createdBy, Pageable pageable);
+}
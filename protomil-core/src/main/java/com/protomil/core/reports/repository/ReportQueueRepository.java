@@ -0,0 +1,240 @@
+package com.protomil.core.reports.repository;
+
+import com.protomil.core.jobcard.domain.enums.ExportFormat;
+import com.protomil.core.reports.domain.ReportType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The report job queue. Every status change is a conditional update, so a job moves on only from the
+ * status the caller saw: workers claim queued jobs with {@code FOR UPDATE SKIP LOCKED} and write
+ * progress, results and failures only while they still hold the job, which a cancellation or a
+ * stalled-job requeue takes away from them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReportQueueRepository {
+
+    public record ClaimedJob(UUID id, ReportType reportType, ExportFormat format, String parameters, int attempts) {
+    }
+
+    public record ExpiredJob(UUID id, String storageKey) {
+    }
+
+    private static final String INSERT_SQL = """
+            INSERT INTO report_jobs (report_type, format, parameters, request_hash, status, queued_at,
+                                     created_by, updated_by)
+            VALUES (:reportType, :format, CAST(:parameters AS jsonb), :requestHash, 'QUEUED', :now,
+                    :requestedBy, :requestedBy)
+            ON CONFLICT (request_hash) WHERE status IN ('QUEUED', 'RUNNING') DO NOTHING
+            RETURNING id
+            """;
+
+    private static final String CLAIM_SQL = """
+            UPDATE report_jobs j
+            SET status = 'RUNNING', worker_id = :workerId, heartbeat_at = :now, started_at = :now,
+                attempts = j.attempts + 1, rows_written = 0, version = j.version + 1
+            FROM (SELECT id FROM report_jobs
+                  WHERE status = 'QUEUED'
+                  ORDER BY queued_at
+                  LIMIT :limit
+                  FOR UPDATE SKIP LOCKED) claimable
+            WHERE j.id = claimable.id
+            RETURNING j.id, j.report_type, j.format, j.parameters::text AS parameters, j.attempts
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * @return the new job, or empty if an identical request is already queued or running
+     */
+    public Optional<UUID> insertQueued(ReportType reportType, ExportFormat format, String parameters,
+                                       String requestHash, UUID requestedBy, LocalDateTime now) {
+        return jdbcTemplate.query(INSERT_SQL,
+                        new MapSqlParameterSource()
+                                .addValue("reportType", reportType.name())
+                                .addValue("format", format.name())
+                                .addValue("parameters", parameters)
+                                .addValue("requestHash", requestHash)
+                                .addValue("requestedBy", requestedBy, Types.OTHER)
+                                .addValue("now", Timestamp.valueOf(now)),
+                        (rs, rowNum) -> rs.getObject("id", UUID.class))
+                .stream()
+                .findFirst();
+    }
+
+    public Optional<UUID> findActive(String requestHash) {
+        return jdbcTemplate.query(
+                        "SELECT id FROM report_jobs WHERE request_hash = :requestHash AND status IN ('QUEUED', 'RUNNING')",
+                        new MapSqlParameterSource("requestHash", requestHash),
+                        (rs, rowNum) -> rs.getObject("id", UUID.class))
+                .stream()
+                .findFirst();
+    }
+
+    /** The latest completed job for the request finished after {@code completedAfter} whose result is kept. */
+    public Optional<UUID> findCompletedSince(String requestHash, LocalDateTime completedAfter, LocalDateTime now) {
+        return jdbcTemplate.query("""
+                                SELECT id FROM report_jobs
+                                WHERE request_hash = :requestHash AND status = 'COMPLETED'
+                                  AND completed_at > :completedAfter AND expires_at > :now
+                                ORDER BY completed_at DESC
+                                LIMIT 1
+                                """,
+                        new MapSqlParameterSource()
+                                .addValue("requestHash", requestHash)
+                                .addValue("completedAfter", Timestamp.valueOf(completedAfter))
+                                .addValue("now", Timestamp.valueOf(now)),
+                        (rs, rowNum) -> rs.getObject("id", UUID.class))
+                .stream()
+                .findFirst();
+    }
+
+    /** Moves up to {@code limit} of the oldest queued jobs to RUNNING for {@code workerId}. */
+    public List<ClaimedJob> claim(String workerId, int limit, LocalDateTime now) {
+        return jdbcTemplate.query(CLAIM_SQL,
+                new MapSqlParameterSource()
+                        .addValue("workerId", workerId)
+                        .addValue("limit", limit)
+                        .addValue("now", Timestamp.valueOf(now)),
+                (rs, rowNum) -> new ClaimedJob(
+                        rs.getObject("id", UUID.class),
+                        ReportType.valueOf(rs.getString("report_type")),
+                        ExportFormat.valueOf(rs.getString("format")),
+                        rs.getString("parameters"),
+                        rs.getInt("attempts")));
+    }
+
+    /**
+     * Records a running job's progress and keeps it from being requeued as stalled.
+     *
+     * @return false if the worker no longer holds the job, e.g. it was cancelled
+     */
+    public boolean heartbeat(UUID jobId, String workerId, long rowsWritten, Long estimatedRows, LocalDateTime now) {
+        return jdbcTemplate.update("""
+                        UPDATE report_jobs
+                        SET rows_written = :rowsWritten, estimated_rows = :estimatedRows, heartbeat_at = :now,
+                            version = version + 1
+                        WHERE id = :jobId AND worker_id = :workerId AND status = 'RUNNING'
+                        """,
+                new MapSqlParameterSource()
+                        .addValue("jobId", jobId)
+                        .addValue("workerId", workerId)
+                        .addValue("rowsWritten", rowsWritten)
+                        .addValue("estimatedRows", estimatedRows, Types.BIGINT)
+                        .addValue("now", Timestamp.valueOf(now))) == 1;
+    }
+
+    /**
+     * @return false if the worker no longer holds the job, in which case the result should be discarded
+     */
+    public boolean complete(UUID jobId, String workerId, String storageKey, long sizeBytes, long rowsWritten,
+                            LocalDateTime now, LocalDateTime expiresAt) {
+        return jdbcTemplate.update("""
+                        UPDATE report_jobs
+                        SET status = 'COMPLETED', storage_key = :storageKey, size_bytes = :sizeBytes,
+                            rows_written = :rowsWritten, estimated_rows = :rowsWritten, completed_at = :now,
+                            heartbeat_at = :now, expires_at = :expiresAt, version = version + 1
+                        WHERE id = :jobId AND worker_id = :workerId AND status = 'RUNNING'
+                        """,
+                new MapSqlParameterSource()
+                        .addValue("jobId", jobId)
+                        .addValue("workerId", workerId)
+                        .addValue("storageKey", storageKey)
+                        .addValue("sizeBytes", sizeBytes)
+                        .addValue("rowsWritten", rowsWritten)
+                        .addValue("now", Timestamp.valueOf(now))
+                        .addValue("expiresAt", Timestamp.valueOf(expiresAt))) == 1;
+    }
+
+    public boolean fail(UUID jobId, String workerId, String errorMessage, LocalDateTime now, LocalDateTime expiresAt) {
+        return jdbcTemplate.update("""
+                        UPDATE report_jobs
+                        SET status = 'FAILED', error_message = :errorMessage, completed_at = :now,
+                            expires_at = :expiresAt, version = version + 1
+                        WHERE id = :jobId AND worker_id = :workerId AND status = 'RUNNING'
+                        """,
+                new MapSqlParameterSource()
+                        .addValue("jobId", jobId)
+                        .addValue("workerId", workerId)
+                        .addValue("errorMessage", errorMessage)
+                        .addValue("now", Timestamp.valueOf(now))
+                        .addValue("expiresAt", Timestamp.valueOf(expiresAt))) == 1;
+    }
+
+    /**
+     * @return false if the job had already finished
+     */
+    public boolean cancel(UUID jobId, UUID cancelledBy, LocalDateTime now, LocalDateTime expiresAt) {
+        return jdbcTemplate.update("""
+                        UPDATE report_jobs
+                        SET status = 'CANCELLED', completed_at = :now, expires_at = :expiresAt,
+                            updated_by = :cancelledBy, version = version + 1
+                        WHERE id = :jobId AND status IN ('QUEUED', 'RUNNING')
+                        """,
+                new MapSqlParameterSource()
+                        .addValue("jobId", jobId)
+                        .addValue("cancelledBy", cancelledBy, Types.OTHER)
+                        .addValue("now", Timestamp.valueOf(now))
+                        .addValue("expiresAt", Timestamp.valueOf(expiresAt))) == 1;
+    }
+
+    /**
+     * Takes running jobs whose heartbeat stopped before {@code heartbeatBefore} away from their worker:
+     * back to the queue, or to FAILED once they have used {@code maxAttempts}.
+     *
+     * @return the jobs requeued and failed, in that order
+     */
+    public int[] recoverStalled(LocalDateTime heartbeatBefore, int maxAttempts, LocalDateTime now,
+                                LocalDateTime expiresAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("heartbeatBefore", Timestamp.valueOf(heartbeatBefore))
+                .addValue("maxAttempts", maxAttempts)
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("expiresAt", Timestamp.valueOf(expiresAt));
+
+        int failed = jdbcTemplate.update("""
+                UPDATE report_jobs
+                SET status = 'FAILED', error_message = 'Worker stopped responding', worker_id = NULL,
+                    completed_at = :now, expires_at = :expiresAt, version = version + 1
+                WHERE status = 'RUNNING' AND heartbeat_at < :heartbeatBefore AND attempts >= :maxAttempts
+                """, params);
+        int requeued = jdbcTemplate.update("""
+                UPDATE report_jobs
+                SET status = 'QUEUED', worker_id = NULL, heartbeat_at = NULL, version = version + 1
+                WHERE status = 'RUNNING' AND heartbeat_at < :heartbeatBefore AND attempts < :maxAttempts
+                """, params);
+        return new int[]{requeued, failed};
+    }
+
+    public List<ExpiredJob> findExpired(LocalDateTime now, int limit) {
+        return jdbcTemplate.query("""
+                        SELECT id, storage_key FROM report_jobs
+                        WHERE expires_at < :now
+                        ORDER BY expires_at
+                        LIMIT :limit
+                        """,
+                new MapSqlParameterSource()
+                        .addValue("now", Timestamp.valueOf(now))
+                        .addValue("limit", limit),
+                (rs, rowNum) -> new ExpiredJob(rs.getObject("id", UUID.class), rs.getString("storage_key")));
+    }
+
+    public int delete(Collection<UUID> jobIds) {
+        if (jobIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update("DELETE FROM report_jobs WHERE id IN (:jobIds)",
+                new MapSqlParameterSource("jobIds", jobIds));
+    }
+}
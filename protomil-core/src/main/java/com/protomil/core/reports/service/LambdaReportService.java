@@ -0,0 +1,270 @@
+package com.protomil.core.reports.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.protomil.core.reports.dto.LambdaReportRequest;
+import com.protomil.core.reports.dto.ReportRequest;
+import com.protomil.core.reports.lambda.LambdaReportConfig;
+import com.protomil.core.reports.lambda.ReportGeneratorHandler;
+import com.protomil.core.reports.repository.ReportQueueRepository;
+import com.protomil.core.reports.repository.ReportQueueRepository.ClaimedJob;
+import com.protomil.core.reports.storage.ReportStorage;
+import com.protomil.core.reports.templates.ReportWriter;
+import com.protomil.core.shared.async.AsyncExecutors;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs queued report jobs on this node. Up to {@code protomil.reports.workers} jobs run at once: the
+ * queue is polled for as many jobs as there are free workers, and again as soon as a job is queued on
+ * this node or a worker frees up. Each job is generated by {@link ReportGeneratorHandler}; its progress
+ * writes double as heartbeats, so jobs on a node that stopped are requeued by
+ * {@link #recoverStalled()} on whichever node runs it next.
+ */
+@Service
+@Slf4j
+public class LambdaReportService {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final ReportQueueRepository queueRepository;
+    private final ReportGeneratorHandler generatorHandler;
+    private final ReportStorage storage;
+    private final ObjectMapper objectMapper;
+    private final AsyncTaskExecutor reportExecutor;
+    private final MeterRegistry meterRegistry;
+    private final LambdaReportConfig config;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate heartbeatTransaction;
+    private final String workerId;
+
+    private final Semaphore workers;
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private final Counter requeuedCounter;
+    private volatile boolean stopping;
+
+    public LambdaReportService(ReportQueueRepository queueRepository,
+                               ReportGeneratorHandler generatorHandler,
+                               ReportStorage storage,
+                               ObjectMapper objectMapper,
+                               @Qualifier(AsyncExecutors.REPORTS) AsyncTaskExecutor reportExecutor,
+                               MeterRegistry meterRegistry,
+                               LambdaReportConfig config,
+                               PlatformTransactionManager transactionManager) {
+        if (config.getStaleAfter().compareTo(config.getProgressInterval().multipliedBy(2)) <= 0) {
+            throw new IllegalArgumentException(
+                    "protomil.reports.stale-after must be more than twice protomil.reports.progress-interval");
+        }
+        this.queueRepository = queueRepository;
+        this.generatorHandler = generatorHandler;
+        this.storage = storage;
+        this.objectMapper = objectMapper;
+        this.reportExecutor = reportExecutor;
+        this.meterRegistry = meterRegistry;
+        this.config = config;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Progress is written while the job's read-only generation transaction is open
+        this.heartbeatTransaction = new TransactionTemplate(transactionManager);
+        this.heartbeatTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.workerId = config.getWorkerId() == null || config.getWorkerId().isBlank()
+                ? defaultWorkerId()
+                : config.getWorkerId();
+        this.workers = new Semaphore(config.getWorkers());
+
+        Gauge.builder("protomil.reports.workers.busy", workers, w -> config.getWorkers() - w.availablePermits())
+                .description("Report jobs running on this node")
+                .register(meterRegistry);
+        this.requeuedCounter = Counter.builder("protomil.reports.requeued")
+                .description("Report jobs taken back from a worker that stopped sending heartbeats")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        // Jobs still running are requeued once their heartbeats stop
+        stopping = true;
+    }
+
+    /** Polls the queue straight away, e.g. after a job was queued. */
+    public void wake() {
+        try {
+            reportExecutor.execute(this::pollQueue);
+        } catch (TaskRejectedException e) {
+            log.debug("Report queue poll not started, the next scheduled poll will pick the job up");
+        }
+    }
+
+    /** Claims queued jobs for the free workers of this node. */
+    @Scheduled(fixedDelayString = "${protomil.reports.poll-interval-ms:2000}",
+            initialDelayString = "${protomil.reports.poll-interval-ms:2000}")
+    public void pollQueue() {
+        if (stopping || !polling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int free = workers.drainPermits();
+            if (free == 0) {
+                return;
+            }
+            List<ClaimedJob> jobs = List.of();
+            try {
+                jobs = transactionTemplate.execute(status ->
+                        queueRepository.claim(workerId, free, LocalDateTime.now()));
+            } finally {
+                workers.release(free - jobs.size());
+            }
+            jobs.forEach(this::start);
+        } catch (RuntimeException e) {
+            log.error("Failed to poll the report queue: {}", e.getMessage(), e);
+        } finally {
+            polling.set(false);
+        }
+    }
+
+    /**
+     * Requeues running jobs whose worker stopped sending heartbeats, or fails them once they have used
+     * {@code protomil.reports.max-attempts}.
+     */
+    @Scheduled(fixedDelayString = "${protomil.reports.recover-interval-ms:60000}",
+            initialDelayString = "${protomil.reports.recover-interval-ms:60000}")
+    public void recoverStalled() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int[] recovered = queueRepository.recoverStalled(now.minus(config.getStaleAfter()),
+                    config.getMaxAttempts(), now, now.plus(config.getRetention()));
+            if (recovered[0] > 0 || recovered[1] > 0) {
+                requeuedCounter.increment(recovered[0]);
+                log.warn("Recovered stalled report jobs: {} requeued, {} failed after {} attempts",
+                        recovered[0], recovered[1], config.getMaxAttempts());
+                if (recovered[0] > 0) {
+                    wake();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to recover stalled report jobs: {}", e.getMessage(), e);
+        }
+    }
+
+    private void start(ClaimedJob job) {
+        try {
+            reportExecutor.execute(() -> {
+                try {
+                    run(job);
+                } finally {
+                    workers.release();
+                    if (!stopping) {
+                        wake();
+                    }
+                }
+            });
+        } catch (TaskRejectedException e) {
+            workers.release();
+            // Still RUNNING under this worker; it is requeued once it goes stale
+            log.warn("Report job {} could not be started and will be requeued: {}", job.id(), e.getMessage());
+        }
+    }
+
+    private void run(ClaimedJob job) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failed";
+        String storageKey = null;
+        try {
+            ReportRequest request = objectMapper.readValue(job.parameters(), ReportRequest.class);
+            storageKey = storageKey(job, LocalDate.now());
+            log.info("Generating report job {} ({} {} to {}, attempt {})", job.id(), job.reportType(),
+                    request.getStartDate(), request.getEndDate(), job.attempts());
+
+            ReportGeneratorHandler.Result result = generatorHandler.handle(
+                    LambdaReportRequest.builder()
+                            .jobId(job.id())
+                            .request(request)
+                            .storageKey(storageKey)
+                            .attempt(job.attempts())
+                            .build(),
+                    (rowsWritten, estimatedRows) -> Boolean.TRUE.equals(heartbeatTransaction.execute(status ->
+                            queueRepository.heartbeat(job.id(), workerId, rowsWritten, estimatedRows,
+                                    LocalDateTime.now()))));
+
+            LocalDateTime now = LocalDateTime.now();
+            if (queueRepository.complete(job.id(), workerId, storageKey, result.sizeBytes(), result.rowsWritten(),
+                    now, now.plus(config.getRetention()))) {
+                outcome = "completed";
+                log.info("Report job {} completed: {} rows, {} bytes", job.id(), result.rowsWritten(),
+                        result.sizeBytes());
+            } else {
+                outcome = "abandoned";
+                log.info("Report job {} finished after it was cancelled or taken over; discarding result", job.id());
+                deleteQuietly(storageKey);
+            }
+        } catch (ReportWriter.AbortedException e) {
+            outcome = "abandoned";
+            log.info("Report job {} stopped: it was cancelled or taken over", job.id());
+        } catch (JsonProcessingException e) {
+            fail(job, "Unreadable report parameters: " + e.getOriginalMessage());
+        } catch (IOException | RuntimeException e) {
+            log.error("Report job {} failed: {}", job.id(), e.getMessage(), e);
+            fail(job, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            sample.stop(meterRegistry.timer("protomil.reports.generation",
+                    "type", job.reportType().name(), "outcome", outcome));
+        }
+    }
+
+    private void fail(ClaimedJob job, String errorMessage) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            String message = errorMessage.length() > MAX_ERROR_LENGTH
+                    ? errorMessage.substring(0, MAX_ERROR_LENGTH)
+                    : errorMessage;
+            queueRepository.fail(job.id(), workerId, message, now, now.plus(config.getRetention()));
+        } catch (RuntimeException e) {
+            // Left RUNNING; it is retried once it goes stale
+            log.error("Failed to record failure of report job {}: {}", job.id(), e.getMessage(), e);
+        }
+    }
+
+    private void deleteQuietly(String storageKey) {
+        try {
+            storage.delete(storageKey);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to delete report result {}: {}", storageKey, e.getMessage());
+        }
+    }
+
+    private static String storageKey(ClaimedJob job, LocalDate date) {
+        return "reports/" + job.reportType() + "/" + date + "/" + job.id() + "."
+                + job.format().getFileExtension() + ".gz";
+    }
+
+    private static String defaultWorkerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
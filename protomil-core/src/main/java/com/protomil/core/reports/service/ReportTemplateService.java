@@ -0,0 +1,68 @@
+package com.protomil.core.reports.service;
+
+import com.protomil.core.reports.domain.ReportType;
+import com.protomil.core.reports.dto.ReportRequest;
+import com.protomil.core.reports.lambda.LambdaReportConfig;
+import com.protomil.core.reports.templates.ReportTemplate;
+import com.protomil.core.shared.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Looks up the {@link ReportTemplate} for each report type and checks requests against it.
+ */
+@Service
+@Slf4j
+public class ReportTemplateService {
+
+    private final Map<ReportType, ReportTemplate> templates = new EnumMap<>(ReportType.class);
+    private final LambdaReportConfig config;
+
+    public ReportTemplateService(List<ReportTemplate> templates, LambdaReportConfig config) {
+        this.config = config;
+        for (ReportTemplate template : templates) {
+            ReportTemplate previous = this.templates.put(template.getReportType(), template);
+            if (previous != null) {
+                throw new IllegalStateException("Report type " + template.getReportType() + " has two templates: "
+                        + previous.getClass().getSimpleName() + " and " + template.getClass().getSimpleName());
+            }
+        }
+        for (ReportType type : ReportType.values()) {
+            if (!this.templates.containsKey(type)) {
+                log.warn("No report template for {}; requests for it will be rejected", type);
+            }
+        }
+    }
+
+    public ReportTemplate getTemplate(ReportType reportType) {
+        ReportTemplate template = templates.get(reportType);
+        if (template == null) {
+            throw new BusinessException("Report type " + reportType + " is not available");
+        }
+        return template;
+    }
+
+    /**
+     * Checks the date range and the template's own rules.
+     *
+     * @throws BusinessException if the request is invalid
+     */
+    public ReportTemplate validate(ReportRequest request) {
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new BusinessException("End date must not be before start date");
+        }
+        long days = ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) + 1;
+        if (days > config.getMaxRangeDays()) {
+            throw new BusinessException("Reports can cover at most " + config.getMaxRangeDays() + " days");
+        }
+
+        ReportTemplate template = getTemplate(request.getReportType());
+        template.validate(request);
+        return template;
+    }
+}
@@ -0,0 +1,314 @@
+package com.protomil.core.reports.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.protomil.core.reports.domain.ReportJob;
+import com.protomil.core.reports.domain.ReportJobStatus;
+import com.protomil.core.reports.dto.ReportJobResponse;
+import com.protomil.core.reports.dto.ReportRequest;
+import com.protomil.core.reports.lambda.LambdaReportConfig;
+import com.protomil.core.reports.repository.ReportJobRepository;
+import com.protomil.core.reports.repository.ReportQueueRepository;
+import com.protomil.core.reports.repository.ReportQueueRepository.ExpiredJob;
+import com.protomil.core.reports.storage.ReportStorage;
+import com.protomil.core.shared.exception.AuthorizationException;
+import com.protomil.core.shared.exception.BusinessException;
+import com.protomil.core.shared.exception.ResourceNotFoundException;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import com.protomil.core.shared.security.SecurityUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Accepts report requests onto the report job queue and serves their progress and results. Identical
+ * requests share one job: a request matching a job still queued or running joins it, and one matching
+ * a job completed within {@code protomil.reports.cache-ttl} gets its stored result straight away.
+ * Requests are identical when they have the same type, format, date range and filters, whoever made them.
+ */
+@Service
+@Slf4j
+public class ReportingService {
+
+    private static final int MAX_ENQUEUE_ATTEMPTS = 3;
+    private static final int PURGE_BATCH_SIZE = 500;
+
+    private final ReportQueueRepository queueRepository;
+    private final ReportJobRepository reportJobRepository;
+    private final ReportTemplateService templateService;
+    private final LambdaReportService lambdaReportService;
+    private final ReportStorage storage;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final LambdaReportConfig config;
+    private final EntityManager entityManager;
+
+    public ReportingService(ReportQueueRepository queueRepository,
+                            ReportJobRepository reportJobRepository,
+                            ReportTemplateService templateService,
+                            LambdaReportService lambdaReportService,
+                            ReportStorage storage,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            LambdaReportConfig config,
+                            EntityManager entityManager) {
+        this.queueRepository = queueRepository;
+        this.reportJobRepository = reportJobRepository;
+        this.templateService = templateService;
+        this.lambdaReportService = lambdaReportService;
+        this.storage = storage;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.config = config;
+        this.entityManager = entityManager;
+    }
+
+    /** A completed job's stored result, gzip-compressed. */
+    public record ReportResult(ReportJob job, String fileName, InputStream content) {
+    }
+
+    /**
+     * Queues the report, or returns the job already answering an identical request.
+     */
+    @Transactional
+    @LogExecutionTime
+    public ReportJobResponse requestReport(ReportRequest request) {
+        templateService.validate(request);
+        Map<String, Object> parameters = canonicalParameters(request);
+        String json = toJson(parameters);
+        String requestHash = sha256(json);
+        UUID requestedBy = SecurityUtils.getCurrentUserId();
+
+        // Another request may finish or start the matching job between the lookups; look again
+        for (int attempt = 0; attempt < MAX_ENQUEUE_ATTEMPTS; attempt++) {
+            LocalDateTime now = LocalDateTime.now();
+            Optional<UUID> cached = queueRepository.findCompletedSince(requestHash, now.minus(config.getCacheTtl()), now);
+            if (cached.isPresent()) {
+                return reused(cached.get(), "cached");
+            }
+
+            Optional<UUID> queued = queueRepository.insertQueued(request.getReportType(), request.getFormat(), json,
+                    requestHash, requestedBy, now);
+            if (queued.isPresent()) {
+                meterRegistry.counter("protomil.reports.requests", "outcome", "queued").increment();
+                afterCommit(lambdaReportService::wake);
+                log.info("Queued {} report job {} for {} to {}", request.getReportType(), queued.get(),
+                        request.getStartDate(), request.getEndDate());
+                return toResponse(getJob(queued.get()), false);
+            }
+
+            Optional<UUID> active = queueRepository.findActive(requestHash);
+            if (active.isPresent()) {
+                return reused(active.get(), "joined");
+            }
+        }
+        throw new BusinessException("Report request could not be queued, please retry");
+    }
+
+    @Transactional(readOnly = true)
+    public ReportJobResponse getReportJob(UUID jobId) {
+        return toResponse(getJob(jobId), false);
+    }
+
+    /** The current user's most recent report jobs, newest first. */
+    @Transactional(readOnly = true)
+    public List<ReportJobResponse> getMyReportJobs(int limit) {
+        return reportJobRepository.findByCreatedByOrderByCreatedAtDesc(SecurityUtils.getCurrentUserId(),
+                        PageRequest.of(0, Math.max(1, Math.min(limit, 100))))
+                .stream()
+                .map(job -> toResponse(job, false))
+                .toList();
+    }
+
+    /**
+     * Cancels a queued or running job. A running job stops at its next progress write and stores nothing.
+     * Only the user who queued the job or an administrator can cancel it, since others may be waiting on it.
+     */
+    @Transactional
+    public ReportJobResponse cancelReportJob(UUID jobId) {
+        ReportJob job = getJob(jobId);
+        UUID currentUserId = SecurityUtils.getCurrentUserId();
+        if (!currentUserId.equals(job.getCreatedBy()) && !SecurityUtils.hasAdminAccess()) {
+            throw new AuthorizationException("Only the user who requested a report can cancel it", "ReportJob");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!queueRepository.cancel(jobId, currentUserId, now, now.plus(config.getRetention()))) {
+            throw new BusinessException("Report job " + jobId + " has already finished");
+        }
+        meterRegistry.counter("protomil.reports.cancelled").increment();
+        log.info("Report job {} cancelled by {}", jobId, currentUserId);
+        // The cancel went around the persistence context
+        entityManager.refresh(job);
+        return toResponse(job, false);
+    }
+
+    /**
+     * Opens a completed job's result. The caller must close the stream.
+     */
+    @Transactional(readOnly = true)
+    public ReportResult openResult(UUID jobId) {
+        ReportJob job = getJob(jobId);
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new BusinessException("Report job " + jobId + " is " + job.getStatus() + ", not COMPLETED");
+        }
+        try {
+            String fileName = job.getReportType().name().toLowerCase().replace('_', '-') + "-"
+                    + job.getParameters().get("startDate") + "-" + job.getParameters().get("endDate") + "."
+                    + job.getFormat().getFileExtension();
+            return new ReportResult(job, fileName, storage.read(job.getStorageKey()));
+        } catch (IOException e) {
+            log.error("Result of report job {} is missing from storage: {}", jobId, e.getMessage());
+            throw new BusinessException("Result of report job " + jobId + " is no longer available");
+        }
+    }
+
+    /** Deletes jobs past their retention together with their stored results. */
+    @Scheduled(fixedDelayString = "${protomil.reports.purge-interval-ms:3600000}",
+            initialDelayString = "${protomil.reports.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        try {
+            int purged = 0;
+            List<ExpiredJob> expired;
+            do {
+                expired = queueRepository.findExpired(LocalDateTime.now(), PURGE_BATCH_SIZE);
+                for (ExpiredJob job : expired) {
+                    if (job.storageKey() != null) {
+                        storage.delete(job.storageKey());
+                    }
+                }
+                purged += queueRepository.delete(expired.stream().map(ExpiredJob::id).toList());
+            } while (expired.size() == PURGE_BATCH_SIZE);
+
+            if (purged > 0) {
+                log.info("Purged {} expired report jobs", purged);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to purge expired report jobs: {}", e.getMessage(), e);
+        }
+    }
+
+    private ReportJobResponse reused(UUID jobId, String outcome) {
+        meterRegistry.counter("protomil.reports.requests", "outcome", outcome).increment();
+        log.debug("Report request answered by existing job {} ({})", jobId, outcome);
+        return toResponse(getJob(jobId), true);
+    }
+
+    private ReportJob getJob(UUID jobId) {
+        return reportJobRepository.findById(jobId)
+                .orElseThrow(() -> ResourceNotFoundException.forResource("Report job", jobId.toString()));
+    }
+
+    /** The request with its filters trimmed and sorted, so equal requests serialize identically. */
+    private static Map<String, Object> canonicalParameters(ReportRequest request) {
+        Map<String, String> filters = new TreeMap<>();
+        if (request.getFilters() != null) {
+            request.getFilters().forEach((name, value) -> {
+                if (value != null && !value.isBlank()) {
+                    filters.put(name.trim(), value.trim());
+                }
+            });
+        }
+
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("reportType", request.getReportType().name());
+        parameters.put("format", request.getFormat().name());
+        parameters.put("startDate", request.getStartDate().toString());
+        parameters.put("endDate", request.getEndDate().toString());
+        parameters.put("filters", filters);
+        return parameters;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ReportJobResponse toResponse(ReportJob job, boolean reused) {
+        Map<String, Object> parameters = job.getParameters();
+        Object startDate = parameters.get("startDate");
+        Object endDate = parameters.get("endDate");
+
+        return ReportJobResponse.builder()
+                .id(job.getId())
+                .reportType(job.getReportType())
+                .format(job.getFormat())
+                .startDate(startDate != null ? LocalDate.parse(startDate.toString()) : null)
+                .endDate(endDate != null ? LocalDate.parse(endDate.toString()) : null)
+                .filters((Map<String, String>) parameters.getOrDefault("filters", Map.of()))
+                .status(job.getStatus())
+                .rowsWritten(job.getRowsWritten())
+                .estimatedRows(job.getEstimatedRows())
+                .progressPercent(progressPercent(job))
+                .sizeBytes(job.getSizeBytes())
+                .errorMessage(job.getErrorMessage())
+                .reused(reused)
+                .downloadUrl(job.getStatus() == ReportJobStatus.COMPLETED
+                        ? "/api/v1/reports/" + job.getId() + "/download"
+                        : null)
+                .queuedAt(job.getQueuedAt())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .expiresAt(job.getExpiresAt())
+                .build();
+    }
+
+    private static Integer progressPercent(ReportJob job) {
+        return switch (job.getStatus()) {
+            case COMPLETED -> 100;
+            case QUEUED -> 0;
+            case RUNNING -> job.getEstimatedRows() == null || job.getEstimatedRows() == 0
+                    ? null
+                    // Rows may arrive after the estimate was taken; never claim to be done while running
+                    : (int) Math.min(99, job.getRowsWritten() * 100 / job.getEstimatedRows());
+            case FAILED, CANCELLED -> null;
+        };
+    }
+
+    private String toJson(Map<String, Object> parameters) {
+        try {
+            return objectMapper.writeValueAsString(parameters);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Report parameters are not serializable", e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
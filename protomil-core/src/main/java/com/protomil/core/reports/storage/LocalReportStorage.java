@@ -0,0 +1,67 @@
+package com.protomil.core.reports.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Keeps report results as files under {@code protomil.reports.storage.local-dir}, one file per key.
+ * Results are written to a temporary file and moved into place, so readers never see a partial
+ * result. With several nodes the directory must be shared, since any node may serve a download.
+ */
+@Component
+@Slf4j
+public class LocalReportStorage implements ReportStorage {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+
+    public LocalReportStorage(@Value("${protomil.reports.storage.local-dir:${java.io.tmpdir}/protomil-reports}")
+                              String localDir) throws IOException {
+        this.root = Files.createDirectories(Path.of(localDir).toAbsolutePath().normalize());
+        log.info("Storing report results under {}", root);
+    }
+
+    @Override
+    public long write(String key, Body body) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path partial = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".part");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial), BUFFER_SIZE)) {
+                body.writeTo(out);
+            }
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return Files.size(target);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    @Override
+    public InputStream read(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Storage key escapes the storage root: " + key);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,30 @@
+package com.protomil.core.reports.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Where report results are kept, addressed by object-store style keys such as
+ * {@code reports/JOB_CARDS/2025-01-31/<job id>.csv.gz}.
+ */
+public interface ReportStorage {
+
+    @FunctionalInterface
+    interface Body {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Stores what {@code body} writes under {@code key}. The object becomes visible only once the body
+     * completes; if it throws, nothing is stored.
+     *
+     * @return the stored size in bytes
+     */
+    long write(String key, Body body) throws IOException;
+
+    InputStream read(String key) throws IOException;
+
+    /** Deletes the object; a missing object is not an error. */
+    void delete(String key) throws IOException;
+}
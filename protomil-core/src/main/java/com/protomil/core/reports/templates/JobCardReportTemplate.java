@@ -0,0 +1,168 @@
+package com.protomil.core.reports.templates;
+
+import com.protomil.core.jobcard.domain.enums.JobStatus;
+import com.protomil.core.jobcard.domain.enums.Priority;
+import com.protomil.core.reports.domain.ReportType;
+import com.protomil.core.reports.dto.ReportRequest;
+import com.protomil.core.shared.exception.BusinessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Job cards created in the requested range with their template, assignment and timing, plus how the
+ * actual duration compared with the estimate and whether the card finished by its target date.
+ * Rows are read from a server-side cursor and written as they arrive.
+ */
+@Component
+public class JobCardReportTemplate implements ReportTemplate {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final Set<String> FILTERS = Set.of("status", "priority", "templateId");
+
+    private static final List<String> COLUMNS = List.of(
+            "id", "jobNumber", "templateCode", "title", "status", "priority", "createdBy", "assignedTo",
+            "createdAt", "startedAt", "completedAt", "targetCompletionDate", "estimatedDurationMinutes",
+            "actualDurationMinutes", "durationVarianceMinutes", "onTime", "overdue");
+
+    private static final String FROM_WHERE = """
+            FROM job_cards jc
+            JOIN job_card_templates t ON t.id = jc.template_id
+            WHERE jc.created_at >= :from AND jc.created_at < :to
+              AND (CAST(:status AS VARCHAR) IS NULL OR jc.status = :status)
+              AND (CAST(:priority AS VARCHAR) IS NULL OR jc.priority = :priority)
+              AND (CAST(:templateId AS BIGINT) IS NULL OR jc.template_id = :templateId)
+            """;
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) " + FROM_WHERE;
+
+    private static final String ROWS_SQL = """
+            SELECT jc.id, jc.job_number, t.template_code, jc.title, jc.status, jc.priority, jc.created_by,
+                   jc.assigned_to, jc.created_at, jc.started_at, jc.completed_at, jc.target_completion_date,
+                   jc.estimated_duration_minutes, jc.actual_duration_minutes
+            """ + FROM_WHERE + """
+            ORDER BY jc.created_at, jc.id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public JobCardReportTemplate(DataSource dataSource) {
+        JdbcTemplate cursorTemplate = new JdbcTemplate(dataSource);
+        cursorTemplate.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(cursorTemplate);
+    }
+
+    @Override
+    public ReportType getReportType() {
+        return ReportType.JOB_CARDS;
+    }
+
+    @Override
+    public List<String> getColumns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public void validate(ReportRequest request) {
+        parameters(request);
+    }
+
+    @Override
+    public long estimateRows(ReportRequest request) {
+        Long count = jdbcTemplate.queryForObject(COUNT_SQL, parameters(request), Long.class);
+        return count != null ? count : 0L;
+    }
+
+    @Override
+    public void generate(ReportRequest request, ReportWriter writer) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.query(ROWS_SQL, parameters(request), rs -> {
+            writeRow(rs, writer, now);
+        });
+    }
+
+    private static void writeRow(ResultSet rs, ReportWriter writer, LocalDateTime now) throws SQLException {
+        LocalDateTime completedAt = toLocalDateTime(rs.getTimestamp("completed_at"));
+        LocalDateTime targetDate = toLocalDateTime(rs.getTimestamp("target_completion_date"));
+        Integer estimated = (Integer) rs.getObject("estimated_duration_minutes");
+        Integer actual = (Integer) rs.getObject("actual_duration_minutes");
+        String status = rs.getString("status");
+        boolean closed = JobStatus.COMPLETED.name().equals(status) || JobStatus.CANCELLED.name().equals(status);
+
+        Boolean onTime = completedAt != null && targetDate != null ? !completedAt.isAfter(targetDate) : null;
+        boolean overdue = !closed && targetDate != null && targetDate.isBefore(now);
+
+        writer.row(
+                rs.getLong("id"),
+                rs.getString("job_number"),
+                rs.getString("template_code"),
+                rs.getString("title"),
+                status,
+                rs.getString("priority"),
+                rs.getObject("created_by"),
+                rs.getObject("assigned_to"),
+                toLocalDateTime(rs.getTimestamp("created_at")),
+                toLocalDateTime(rs.getTimestamp("started_at")),
+                completedAt,
+                targetDate,
+                estimated,
+                actual,
+                estimated != null && actual != null ? actual - estimated : null,
+                onTime,
+                overdue);
+    }
+
+    private static MapSqlParameterSource parameters(ReportRequest request) {
+        Map<String, String> filters = request.getFilters() != null ? request.getFilters() : Map.of();
+        for (String filter : filters.keySet()) {
+            if (!FILTERS.contains(filter)) {
+                throw new BusinessException("Unknown filter '" + filter + "' for " + ReportType.JOB_CARDS
+                        + " reports; supported filters are " + FILTERS);
+            }
+        }
+
+        return new MapSqlParameterSource()
+                .addValue("from", Timestamp.valueOf(request.getStartDate().atStartOfDay()))
+                .addValue("to", Timestamp.valueOf(request.getEndDate().plusDays(1).atStartOfDay()))
+                .addValue("status", parseEnum(JobStatus.class, "status", filters.get("status")))
+                .addValue("priority", parseEnum(Priority.class, "priority", filters.get("priority")))
+                .addValue("templateId", parseLong("templateId", filters.get("templateId")));
+    }
+
+    private static <E extends Enum<E>> String parseEnum(Class<E> type, String filter, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase()).name();
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Invalid " + filter + " filter: " + value);
+        }
+    }
+
+    private static Long parseLong(String filter, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Invalid " + filter + " filter: " + value);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.protomil.core.reports.templates;
+
+/**
+ * Counts percentages in 1% bins from 0% to {@value #MAX_PERCENT}%, anything higher in the last bin.
+ * Memory is fixed however many values are added, histograms merge by adding counts, and percentiles are
+ * exact to the bin.
+ */
+final class PercentHistogram {
+
+    static final int MAX_PERCENT = 400;
+
+    private static final int BINS = MAX_PERCENT + 1;
+
+    /** Approximate heap size of one histogram. */
+    static final long BYTES = 16L + 16L + BINS * 4L + 8L;
+
+    private final int[] counts = new int[BINS];
+    private long total;
+
+    void add(double percent) {
+        int bin = percent <= 0 ? 0 : (int) Math.min(MAX_PERCENT, Math.floor(percent));
+        counts[bin]++;
+        total++;
+    }
+
+    void merge(PercentHistogram other) {
+        for (int bin = 0; bin < BINS; bin++) {
+            counts[bin] += other.counts[bin];
+        }
+        total += other.total;
+    }
+
+    long count() {
+        return total;
+    }
+
+    /**
+     * The midpoint of the bin holding the {@code quantile} (0 to 1) value, or null if nothing was added.
+     * Values in the last bin are reported as {@value #MAX_PERCENT}%.
+     */
+    Double percentile(double quantile) {
+        if (total == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int bin = 0; bin < BINS; bin++) {
+            seen += counts[bin];
+            if (seen >= rank) {
+                return bin == MAX_PERCENT ? MAX_PERCENT : bin + 0.5;
+            }
+        }
+        return (double) MAX_PERCENT;
+    }
+}
@@ -0,0 +1,155 @@
+package com.protomil.core.reports.templates;
+
+/**
+ * One operator's running totals for a personnel performance report, held in primitives and
+ * fixed-size arrays so its size depends only on the number of weeks in the report. Each aggregating
+ * thread keeps its own accumulators; they are merged once all threads finish.
+ */
+final class PersonnelAccumulator {
+
+    private static final long OVERHEAD_BYTES = 160L;
+
+    String operatorName;
+
+    long productionEntries;
+    long productionQuantity;
+    long lossQuantity;
+    long rejectedQuantity;
+
+    /** Defined and actual operation minutes of entries with both, for time-weighted efficiency. */
+    double definedMinutes;
+    double actualMinutes;
+
+    long instructionsCompleted;
+    long qualityCheckpointsCompleted;
+
+    final PercentHistogram efficiency = new PercentHistogram();
+    final PercentHistogram stepTimeRatio = new PercentHistogram();
+
+    private final int[] weekEntries;
+    private final double[] weekDefinedMinutes;
+    private final double[] weekActualMinutes;
+    private final long[] weekQuantity;
+
+    PersonnelAccumulator(int weeks) {
+        this.weekEntries = new int[weeks];
+        this.weekDefinedMinutes = new double[weeks];
+        this.weekActualMinutes = new double[weeks];
+        this.weekQuantity = new long[weeks];
+    }
+
+    /** Approximate heap size of one accumulator, for a report spanning {@code weeks} weeks. */
+    static long estimateBytes(int weeks) {
+        return OVERHEAD_BYTES + 2 * PercentHistogram.BYTES + 4 * 16L + weeks * (4L + 8L + 8L + 8L);
+    }
+
+    void addProduction(int week, String operatorName, double efficiencyPercent, double defined, double actual,
+                       long quantity, long loss, long rejected) {
+        if (this.operatorName == null) {
+            this.operatorName = operatorName;
+        }
+        productionEntries++;
+        productionQuantity += quantity;
+        lossQuantity += loss;
+        rejectedQuantity += rejected;
+        weekEntries[week]++;
+        weekQuantity[week] += quantity;
+
+        if (defined > 0 && actual > 0) {
+            definedMinutes += defined;
+            actualMinutes += actual;
+            weekDefinedMinutes[week] += defined;
+            weekActualMinutes[week] += actual;
+        }
+        if (!Double.isNaN(efficiencyPercent)) {
+            efficiency.add(efficiencyPercent);
+        }
+    }
+
+    void addInstruction(boolean qualityCheckpoint, int estimatedMinutes, int actualMinutes) {
+        instructionsCompleted++;
+        if (qualityCheckpoint) {
+            qualityCheckpointsCompleted++;
+        }
+        if (estimatedMinutes > 0 && actualMinutes > 0) {
+            stepTimeRatio.add(actualMinutes * 100.0 / estimatedMinutes);
+        }
+    }
+
+    PersonnelAccumulator merge(PersonnelAccumulator other) {
+        if (operatorName == null) {
+            operatorName = other.operatorName;
+        }
+        productionEntries += other.productionEntries;
+        productionQuantity += other.productionQuantity;
+        lossQuantity += other.lossQuantity;
+        rejectedQuantity += other.rejectedQuantity;
+        definedMinutes += other.definedMinutes;
+        actualMinutes += other.actualMinutes;
+        instructionsCompleted += other.instructionsCompleted;
+        qualityCheckpointsCompleted += other.qualityCheckpointsCompleted;
+        efficiency.merge(other.efficiency);
+        stepTimeRatio.merge(other.stepTimeRatio);
+        for (int week = 0; week < weekEntries.length; week++) {
+            weekEntries[week] += other.weekEntries[week];
+            weekDefinedMinutes[week] += other.weekDefinedMinutes[week];
+            weekActualMinutes[week] += other.weekActualMinutes[week];
+            weekQuantity[week] += other.weekQuantity[week];
+        }
+        return this;
+    }
+
+    /** Defined over actual operation time, as a percentage; null without timed entries. */
+    Double efficiencyPercent() {
+        return actualMinutes > 0 ? definedMinutes * 100.0 / actualMinutes : null;
+    }
+
+    /** Change in weekly efficiency per week, in percentage points, over the weeks with timed entries. */
+    Double efficiencyTrendPerWeek() {
+        int weeks = weekEntries.length;
+        double[] values = new double[weeks];
+        boolean[] present = new boolean[weeks];
+        for (int week = 0; week < weeks; week++) {
+            if (weekActualMinutes[week] > 0) {
+                values[week] = weekDefinedMinutes[week] * 100.0 / weekActualMinutes[week];
+                present[week] = true;
+            }
+        }
+        return slope(values, present);
+    }
+
+    /** Change in weekly production quantity per week, over the weeks the operator has entries. */
+    Double outputTrendPerWeek() {
+        int weeks = weekEntries.length;
+        double[] values = new double[weeks];
+        boolean[] present = new boolean[weeks];
+        for (int week = 0; week < weeks; week++) {
+            values[week] = weekQuantity[week];
+            present[week] = weekEntries[week] > 0;
+        }
+        return slope(values, present);
+    }
+
+    /** Least-squares slope of the present values against their week; null with fewer than two weeks. */
+    private static Double slope(double[] values, boolean[] present) {
+        int n = 0;
+        double sumX = 0;
+        double sumY = 0;
+        double sumXY = 0;
+        double sumXX = 0;
+        for (int x = 0; x < values.length; x++) {
+            if (present[x]) {
+                n++;
+                sumX += x;
+                sumY += values[x];
+                sumXY += x * values[x];
+                sumXX += (double) x * x;
+            }
+        }
+        double denominator = n * sumXX - sumX * sumX;
+        if (n < 2 || denominator == 0) {
+            return null;
+        }
+        return (n * sumXY - sumX * sumY) / denominator;
+    }
+}
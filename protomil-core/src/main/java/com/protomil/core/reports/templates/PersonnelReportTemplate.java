@@ -0,0 +1,516 @@
+package com.protomil.core.reports.templates;
+
+import com.protomil.core.reports.domain.ReportType;
+import com.protomil.core.reports.dto.PersonnelPerformanceResponse;
+import com.protomil.core.reports.dto.ReportRequest;
+import com.protomil.core.reports.lambda.LambdaReportConfig;
+import com.protomil.core.shared.async.AsyncExecutors;
+import com.protomil.core.shared.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-operator performance from production entries ({@code production_master}) and completed work
+ * instruction steps, with efficiency percentiles and weekly trends. The date range is split into
+ * months, matching the production_master partitions, and a few threads each stream whole months from
+ * their own cursor into their own {@link PersonnelAccumulator}s; the accumulators are merged once all
+ * months are read. Every fact is read once.
+ *
+ * <p>Accumulators have a fixed size for a given range, so the threads and operators a report may hold
+ * are bounded by {@code protomil.reports.personnel.memory-budget}: fewer threads are used when the
+ * personnel directory is large, and a report whose operators still do not fit fails rather than
+ * growing past the budget.
+ *
+ * <p>The reading threads run on their own executor rather than the report workers' pool, shared by all
+ * personnel reports on the node and bounded by {@code protomil.reports.personnel.max-connections}, so
+ * concurrent reports wait for a reader instead of exhausting the connection pool.
+ */
+@Component
+@Slf4j
+public class PersonnelReportTemplate implements ReportTemplate {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final int PUBLISH_EVERY_ROWS = 1024;
+
+    private static final Set<String> FILTERS = Set.of("department", "employeeNumber");
+
+    private static final List<String> COLUMNS = List.of(
+            "employeeNumber", "operatorName", "department", "productionEntries", "productionQuantity",
+            "lossQuantity", "rejectedQuantity", "rejectionRatePercent", "operationMinutes", "efficiencyPercent",
+            "efficiencyP10", "efficiencyP50", "efficiencyP90", "efficiencyPercentileRank", "efficiencyTrendPerWeek",
+            "outputTrendPerWeek", "instructionsCompleted", "qualityCheckpointsCompleted", "stepTimeRatioP50",
+            "stepTimeRatioP90");
+
+    private static final String PRODUCTION_SQL = """
+            SELECT employee_number, operator_name, entry_date, operator_efficiency_percentage,
+                   defined_operation_time_minutes, actual_operation_time_minutes, production_quantity,
+                   production_loss_quantity, rejection_inprocess_quantity, rejection_finalstage_quantity
+            FROM production_master
+            WHERE entry_date >= :from AND entry_date <= :to AND employee_number IS NOT NULL
+              AND (CAST(:employeeNumber AS VARCHAR) IS NULL OR employee_number = :employeeNumber)
+            """;
+
+    // completed_by is read as text so it matches personnel.user_id whatever its column type
+    private static final String INSTRUCTIONS_SQL = """
+            SELECT CAST(completed_by AS VARCHAR) AS completed_by, estimated_duration_minutes,
+                   actual_duration_minutes, is_quality_checkpoint
+            FROM work_instructions
+            WHERE completed_at >= :from AND completed_at < :to AND completed_by IS NOT NULL
+            """;
+
+    private static final String COUNT_SQL = """
+            SELECT (SELECT COUNT(*) FROM production_master
+                    WHERE entry_date >= :fromDate AND entry_date <= :toDate AND employee_number IS NOT NULL)
+                 + (SELECT COUNT(*) FROM work_instructions
+                    WHERE completed_at >= :from AND completed_at < :to AND completed_by IS NOT NULL)
+            """;
+
+    private static final String PERSONNEL_SQL = """
+            SELECT CAST(user_id AS VARCHAR) AS user_id, employee_number, first_name, last_name, department
+            FROM personnel
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final AsyncTaskExecutor readerExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final LambdaReportConfig config;
+
+    public PersonnelReportTemplate(DataSource dataSource,
+                                   @Qualifier(AsyncExecutors.PERSONNEL_REPORT_READERS) AsyncTaskExecutor readerExecutor,
+                                   PlatformTransactionManager transactionManager,
+                                   LambdaReportConfig config,
+                                   @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+        if (config.getPersonnel().getMaxConnections() >= connectionPoolSize) {
+            throw new IllegalStateException("protomil.reports.personnel.max-connections ("
+                    + config.getPersonnel().getMaxConnections() + ") must be below the connection pool size ("
+                    + connectionPoolSize + ")");
+        }
+        JdbcTemplate cursorTemplate = new JdbcTemplate(dataSource);
+        cursorTemplate.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(cursorTemplate);
+        this.readerExecutor = readerExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.config = config;
+    }
+
+    @Override
+    public ReportType getReportType() {
+        return ReportType.PERSONNEL_PERFORMANCE;
+    }
+
+    @Override
+    public List<String> getColumns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public void validate(ReportRequest request) {
+        Filters.of(request);
+    }
+
+    @Override
+    public long estimateRows(ReportRequest request) {
+        Long count = jdbcTemplate.queryForObject(COUNT_SQL, new MapSqlParameterSource()
+                .addValue("fromDate", Date.valueOf(request.getStartDate()))
+                .addValue("toDate", Date.valueOf(request.getEndDate()))
+                .addValue("from", Timestamp.valueOf(request.getStartDate().atStartOfDay()))
+                .addValue("to", Timestamp.valueOf(request.getEndDate().plusDays(1).atStartOfDay())), Long.class);
+        return count != null ? count : 0L;
+    }
+
+    @Override
+    public void generate(ReportRequest request, ReportWriter writer) {
+        Filters filters = Filters.of(request);
+        Map<String, Person> byEmployeeNumber = new HashMap<>();
+        Map<String, Person> byUserId = new HashMap<>();
+        loadPersonnel(filters, byEmployeeNumber, byUserId);
+
+        LocalDate startDate = request.getStartDate();
+        int weeks = (int) (ChronoUnit.DAYS.between(startDate, request.getEndDate()) / 7) + 1;
+        List<LocalDate[]> months = months(startDate, request.getEndDate());
+
+        long bytesPerOperator = PersonnelAccumulator.estimateBytes(weeks);
+        long budget = config.getPersonnel().getMemoryBudget().toBytes();
+        int expectedOperators = Math.max(1, filters.employeeNumber() != null ? 1 : byEmployeeNumber.size());
+        int parallelism = (int) Math.min(Math.min(config.getPersonnel().getParallelism(), months.size()),
+                budget / (expectedOperators * bytesPerOperator));
+        if (parallelism < 1) {
+            throw new BusinessException(tooManyOperators(expectedOperators));
+        }
+
+        Aggregation aggregation = new Aggregation(filters, byEmployeeNumber, byUserId, startDate, weeks, months,
+                budget / (parallelism * bytesPerOperator));
+        List<Map<String, PersonnelAccumulator>> partials = aggregate(aggregation, parallelism, writer);
+
+        Map<String, PersonnelAccumulator> merged = partials.getFirst();
+        for (Map<String, PersonnelAccumulator> partial : partials.subList(1, partials.size())) {
+            partial.forEach((employeeNumber, accumulator) -> merged.merge(employeeNumber, accumulator,
+                    PersonnelAccumulator::merge));
+            partial.clear();
+        }
+        log.debug("Aggregated {} facts for {} operators over {} months with {} threads",
+                aggregation.processed.get(), merged.size(), months.size(), parallelism);
+
+        for (PersonnelPerformanceResponse row : toResponses(merged, byEmployeeNumber)) {
+            writer.row(row.getEmployeeNumber(), row.getOperatorName(), row.getDepartment(), row.getProductionEntries(),
+                    row.getProductionQuantity(), row.getLossQuantity(), row.getRejectedQuantity(),
+                    row.getRejectionRatePercent(), row.getOperationMinutes(), row.getEfficiencyPercent(),
+                    row.getEfficiencyP10(), row.getEfficiencyP50(), row.getEfficiencyP90(),
+                    row.getEfficiencyPercentileRank(), row.getEfficiencyTrendPerWeek(), row.getOutputTrendPerWeek(),
+                    row.getInstructionsCompleted(), row.getQualityCheckpointsCompleted(), row.getStepTimeRatioP50(),
+                    row.getStepTimeRatioP90());
+        }
+    }
+
+    private record Person(String employeeNumber, String name, String department) {
+    }
+
+    private record Filters(String department, String employeeNumber) {
+
+        static Filters of(ReportRequest request) {
+            Map<String, String> filters = request.getFilters() != null ? request.getFilters() : Map.of();
+            for (String filter : filters.keySet()) {
+                if (!FILTERS.contains(filter)) {
+                    throw new BusinessException("Unknown filter '" + filter + "' for "
+                            + ReportType.PERSONNEL_PERFORMANCE + " reports; supported filters are " + FILTERS);
+                }
+            }
+            return new Filters(blankToNull(filters.get("department")), blankToNull(filters.get("employeeNumber")));
+        }
+
+        private static String blankToNull(String value) {
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+    }
+
+    /** State shared by the threads aggregating one report. */
+    private static final class Aggregation {
+
+        final Filters filters;
+        final Map<String, Person> byEmployeeNumber;
+        final Map<String, Person> byUserId;
+        final LocalDate startDate;
+        final int weeks;
+        final List<LocalDate[]> months;
+        final long maxOperatorsPerThread;
+
+        final AtomicInteger nextMonth = new AtomicInteger();
+        final AtomicLong processed = new AtomicLong();
+        volatile boolean stopped;
+
+        Aggregation(Filters filters, Map<String, Person> byEmployeeNumber, Map<String, Person> byUserId,
+                    LocalDate startDate, int weeks, List<LocalDate[]> months, long maxOperatorsPerThread) {
+            this.filters = filters;
+            this.byEmployeeNumber = byEmployeeNumber;
+            this.byUserId = byUserId;
+            this.startDate = startDate;
+            this.weeks = weeks;
+            this.months = months;
+            this.maxOperatorsPerThread = maxOperatorsPerThread;
+        }
+    }
+
+    /** A thread's accumulators and the facts it has read but not yet published to the shared count. */
+    private static final class Partial {
+
+        final Map<String, PersonnelAccumulator> accumulators = new HashMap<>();
+        final ReportWriter inlineWriter;
+        long unpublished;
+
+        Partial(ReportWriter inlineWriter) {
+            this.inlineWriter = inlineWriter;
+        }
+    }
+
+    /**
+     * Queues {@code parallelism} readers over the months and waits for them, reporting progress meanwhile.
+     * If no reader can be queued, the months are read on the calling thread.
+     */
+    private List<Map<String, PersonnelAccumulator>> aggregate(Aggregation aggregation, int parallelism,
+                                                              ReportWriter writer) {
+        List<Future<Map<String, PersonnelAccumulator>>> futures = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < parallelism; thread++) {
+                try {
+                    futures.add(readerExecutor.submit(() -> readOnlyTransaction.execute(status ->
+                            aggregateMonths(aggregation, new Partial(null)))));
+                } catch (TaskRejectedException e) {
+                    log.debug("Personnel report readers saturated; aggregating with {} threads", futures.size());
+                    break;
+                }
+            }
+            if (futures.isEmpty()) {
+                return List.of(aggregateMonths(aggregation, new Partial(writer)));
+            }
+
+            List<Map<String, PersonnelAccumulator>> partials = new ArrayList<>();
+            RuntimeException failure = null;
+            for (Future<Map<String, PersonnelAccumulator>> future : futures) {
+                try {
+                    partials.add(await(future, aggregation, writer));
+                } catch (ExecutionException e) {
+                    RuntimeException cause = e.getCause() instanceof RuntimeException runtimeException
+                            ? runtimeException
+                            : new IllegalStateException("Personnel performance aggregation failed", e.getCause());
+                    // The other threads stop with AbortedException once one fails; report the first real failure
+                    if (failure == null || failure instanceof ReportWriter.AbortedException) {
+                        failure = cause;
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return partials;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while aggregating personnel performance", e);
+        } finally {
+            // Stops the other threads if one failed or the job was cancelled
+            aggregation.stopped = true;
+        }
+    }
+
+    /** Waits for a thread's accumulators, reporting progress meanwhile. */
+    private Map<String, PersonnelAccumulator> await(Future<Map<String, PersonnelAccumulator>> future,
+                                                    Aggregation aggregation, ReportWriter writer)
+            throws InterruptedException, ExecutionException {
+        long pollMillis = Math.max(100, config.getProgressInterval().toMillis());
+        while (true) {
+            try {
+                return future.get(pollMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                writer.progress(aggregation.processed.get());
+            }
+        }
+    }
+
+    private Map<String, PersonnelAccumulator> aggregateMonths(Aggregation aggregation, Partial partial) {
+        try {
+            return readMonths(aggregation, partial);
+        } catch (RuntimeException e) {
+            aggregation.stopped = true;
+            throw e;
+        }
+    }
+
+    private Map<String, PersonnelAccumulator> readMonths(Aggregation aggregation, Partial partial) {
+        int month;
+        // A reader that waited for a connection may start after the others have read every month or failed
+        while (!aggregation.stopped && (month = aggregation.nextMonth.getAndIncrement()) < aggregation.months.size()) {
+            LocalDate from = aggregation.months.get(month)[0];
+            LocalDate to = aggregation.months.get(month)[1];
+
+            jdbcTemplate.query(PRODUCTION_SQL, new MapSqlParameterSource()
+                    .addValue("from", Date.valueOf(from))
+                    .addValue("to", Date.valueOf(to))
+                    .addValue("employeeNumber", aggregation.filters.employeeNumber()), rs -> {
+                addProduction(rs, aggregation, partial);
+            });
+            jdbcTemplate.query(INSTRUCTIONS_SQL, new MapSqlParameterSource()
+                    .addValue("from", Timestamp.valueOf(from.atStartOfDay()))
+                    .addValue("to", Timestamp.valueOf(to.plusDays(1).atStartOfDay())), rs -> {
+                addInstruction(rs, aggregation, partial);
+            });
+        }
+        aggregation.processed.addAndGet(partial.unpublished);
+        return partial.accumulators;
+    }
+
+    private void addProduction(ResultSet rs, Aggregation aggregation, Partial partial) throws SQLException {
+        tick(aggregation, partial);
+        String employeeNumber = rs.getString("employee_number");
+        if (aggregation.filters.department() != null && !aggregation.byEmployeeNumber.containsKey(employeeNumber)) {
+            return;
+        }
+
+        double efficiency = rs.getDouble("operator_efficiency_percentage");
+        if (rs.wasNull()) {
+            efficiency = Double.NaN;
+        }
+        LocalDate entryDate = rs.getDate("entry_date").toLocalDate();
+        int week = (int) Math.min(aggregation.weeks - 1,
+                Math.max(0, ChronoUnit.DAYS.between(aggregation.startDate, entryDate) / 7));
+
+        accumulator(aggregation, partial, employeeNumber).addProduction(week,
+                rs.getString("operator_name"),
+                efficiency,
+                rs.getDouble("defined_operation_time_minutes"),
+                rs.getDouble("actual_operation_time_minutes"),
+                rs.getLong("production_quantity"),
+                rs.getLong("production_loss_quantity"),
+                rs.getLong("rejection_inprocess_quantity") + rs.getLong("rejection_finalstage_quantity"));
+    }
+
+    private void addInstruction(ResultSet rs, Aggregation aggregation, Partial partial) throws SQLException {
+        tick(aggregation, partial);
+        Person person = aggregation.byUserId.get(rs.getString("completed_by"));
+        if (person == null || (aggregation.filters.employeeNumber() != null
+                && !aggregation.filters.employeeNumber().equals(person.employeeNumber()))) {
+            // Steps completed by users without a personnel record have no operator to count them against
+            return;
+        }
+
+        accumulator(aggregation, partial, person.employeeNumber()).addInstruction(
+                rs.getBoolean("is_quality_checkpoint"),
+                rs.getInt("estimated_duration_minutes"),
+                rs.getInt("actual_duration_minutes"));
+    }
+
+    /** Publishes progress now and then, and stops the thread once the aggregation is stopped. */
+    private static void tick(Aggregation aggregation, Partial partial) {
+        if (++partial.unpublished < PUBLISH_EVERY_ROWS) {
+            return;
+        }
+        long processed = aggregation.processed.addAndGet(partial.unpublished);
+        partial.unpublished = 0;
+        if (partial.inlineWriter != null) {
+            partial.inlineWriter.progress(processed);
+        } else if (aggregation.stopped) {
+            throw new ReportWriter.AbortedException(processed);
+        }
+    }
+
+    private static PersonnelAccumulator accumulator(Aggregation aggregation, Partial partial, String employeeNumber) {
+        PersonnelAccumulator accumulator = partial.accumulators.get(employeeNumber);
+        if (accumulator == null) {
+            if (partial.accumulators.size() >= aggregation.maxOperatorsPerThread) {
+                throw new BusinessException(tooManyOperators(partial.accumulators.size() + 1));
+            }
+            accumulator = new PersonnelAccumulator(aggregation.weeks);
+            partial.accumulators.put(employeeNumber, accumulator);
+        }
+        return accumulator;
+    }
+
+    private void loadPersonnel(Filters filters, Map<String, Person> byEmployeeNumber, Map<String, Person> byUserId) {
+        jdbcTemplate.query(PERSONNEL_SQL, rs -> {
+            String department = rs.getString("department");
+            if (filters.department() != null && !filters.department().equalsIgnoreCase(department)) {
+                return;
+            }
+            Person person = new Person(rs.getString("employee_number"),
+                    rs.getString("first_name") + " " + rs.getString("last_name"), department);
+            byEmployeeNumber.put(person.employeeNumber(), person);
+            String userId = rs.getString("user_id");
+            if (userId != null) {
+                byUserId.put(userId, person);
+            }
+        });
+    }
+
+    private static List<PersonnelPerformanceResponse> toResponses(Map<String, PersonnelAccumulator> accumulators,
+                                                                  Map<String, Person> byEmployeeNumber) {
+        double[] efficiencies = accumulators.values().stream()
+                .map(PersonnelAccumulator::efficiencyPercent)
+                .filter(efficiency -> efficiency != null)
+                .mapToDouble(Double::doubleValue)
+                .sorted()
+                .toArray();
+
+        List<PersonnelPerformanceResponse> responses = new ArrayList<>(accumulators.size());
+        accumulators.forEach((employeeNumber, accumulator) -> {
+            Person person = byEmployeeNumber.get(employeeNumber);
+            Double efficiency = accumulator.efficiencyPercent();
+            responses.add(PersonnelPerformanceResponse.builder()
+                    .employeeNumber(employeeNumber)
+                    .operatorName(person != null ? person.name() : accumulator.operatorName)
+                    .department(person != null ? person.department() : null)
+                    .productionEntries(accumulator.productionEntries)
+                    .productionQuantity(accumulator.productionQuantity)
+                    .lossQuantity(accumulator.lossQuantity)
+                    .rejectedQuantity(accumulator.rejectedQuantity)
+                    .rejectionRatePercent(accumulator.productionQuantity > 0
+                            ? round(accumulator.rejectedQuantity * 100.0 / accumulator.productionQuantity)
+                            : null)
+                    .operationMinutes(round(accumulator.actualMinutes))
+                    .efficiencyPercent(round(efficiency))
+                    .efficiencyP10(round(accumulator.efficiency.percentile(0.10)))
+                    .efficiencyP50(round(accumulator.efficiency.percentile(0.50)))
+                    .efficiencyP90(round(accumulator.efficiency.percentile(0.90)))
+                    .efficiencyPercentileRank(efficiency != null ? round(percentileRank(efficiencies, efficiency)) : null)
+                    .efficiencyTrendPerWeek(round(accumulator.efficiencyTrendPerWeek()))
+                    .outputTrendPerWeek(round(accumulator.outputTrendPerWeek()))
+                    .instructionsCompleted(accumulator.instructionsCompleted)
+                    .qualityCheckpointsCompleted(accumulator.qualityCheckpointsCompleted)
+                    .stepTimeRatioP50(round(accumulator.stepTimeRatio.percentile(0.50)))
+                    .stepTimeRatioP90(round(accumulator.stepTimeRatio.percentile(0.90)))
+                    .build());
+        });
+        responses.sort(Comparator.comparing(PersonnelPerformanceResponse::getEmployeeNumber));
+        return responses;
+    }
+
+    /** Percentage of the sorted values below {@code value}, counting equal values as half below. */
+    private static double percentileRank(double[] sorted, double value) {
+        int below = lowerBound(sorted, value);
+        int equal = lowerBound(sorted, Math.nextUp(value)) - below;
+        return (below + equal / 2.0) * 100.0 / sorted.length;
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int index = Arrays.binarySearch(sorted, value);
+        if (index < 0) {
+            return -index - 1;
+        }
+        while (index > 0 && sorted[index - 1] == value) {
+            index--;
+        }
+        return index;
+    }
+
+    /** The range split at month boundaries, each part as inclusive first and last dates. */
+    private static List<LocalDate[]> months(LocalDate startDate, LocalDate endDate) {
+        List<LocalDate[]> months = new ArrayList<>();
+        LocalDate from = startDate;
+        while (!from.isAfter(endDate)) {
+            LocalDate monthEnd = from.withDayOfMonth(from.lengthOfMonth());
+            LocalDate to = monthEnd.isBefore(endDate) ? monthEnd : endDate;
+            months.add(new LocalDate[]{from, to});
+            from = to.plusDays(1);
+        }
+        return months;
+    }
+
+    private static String tooManyOperators(int operators) {
+        return "Personnel performance for " + operators + " operators exceeds the report memory budget; "
+                + "filter by department or employee number, or shorten the date range";
+    }
+
+    private static BigDecimal round(Double value) {
+        return value != null ? BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP) : null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.protomil.core.reports.templates;
+
+import com.protomil.core.reports.domain.ReportType;
+import com.protomil.core.reports.dto.ReportRequest;
+
+import java.util.List;
+
+/**
+ * Generates one type of report. {@link #generate} runs on a report worker in a read-only transaction
+ * and should stream its rows from a cursor into the writer rather than collect them.
+ */
+public interface ReportTemplate {
+
+    ReportType getReportType();
+
+    List<String> getColumns();
+
+    /**
+     * Checks the request when it is submitted, before it is queued.
+     *
+     * @throws com.protomil.core.shared.exception.BusinessException if the request is invalid
+     */
+    void validate(ReportRequest request);
+
+    /** A cheap estimate of the rows the report will have, for progress. */
+    long estimateRows(ReportRequest request);
+
+    void generate(ReportRequest request, ReportWriter writer);
+}
@@ -0,0 +1,154 @@
+package com.protomil.core.reports.templates;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.protomil.core.jobcard.domain.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a report's rows as CSV or NDJSON and reports progress at most once per progress interval.
+ * When the progress listener answers that the job should stop (it was cancelled or taken over), the
+ * next row throws {@link AbortedException} to unwind the template.
+ */
+public final class ReportWriter {
+
+    private static final int CLOCK_CHECK_ROWS = 256;
+
+    /** Thrown from {@link #row} once the job should stop. */
+    public static final class AbortedException extends RuntimeException {
+
+        AbortedException(long rowsWritten) {
+            super("Report generation stopped after " + rowsWritten + " rows");
+        }
+    }
+
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        /**
+         * @return false if generation should stop
+         */
+        boolean onProgress(long rowsWritten, Long estimatedRows);
+    }
+
+    private final Writer out;
+    private final ExportFormat format;
+    private final List<String> columns;
+    private final ObjectMapper objectMapper;
+    private final ProgressListener progressListener;
+    private final long progressIntervalNanos;
+
+    private long rowsWritten;
+    private Long estimatedRows;
+    private long lastProgressNanos = System.nanoTime();
+
+    public ReportWriter(Writer out, ExportFormat format, List<String> columns, ObjectMapper objectMapper,
+                        ProgressListener progressListener, Duration progressInterval) throws IOException {
+        this.out = out;
+        this.format = format;
+        this.columns = columns;
+        this.objectMapper = objectMapper;
+        this.progressListener = progressListener;
+        this.progressIntervalNanos = progressInterval.toNanos();
+
+        if (format == ExportFormat.CSV) {
+            out.write(String.join(",", columns));
+            out.write('\n');
+        }
+    }
+
+    /** Records the expected row count and reports it straight away. */
+    public void estimate(long rows) {
+        this.estimatedRows = rows;
+        reportProgress();
+    }
+
+    /**
+     * Reports progress for templates that aggregate before writing, as input rows processed against the
+     * estimate. Throttled like progress from {@link #row}.
+     */
+    public void progress(long rowsProcessed) {
+        if (System.nanoTime() - lastProgressNanos >= progressIntervalNanos) {
+            lastProgressNanos = System.nanoTime();
+            if (!progressListener.onProgress(rowsProcessed, estimatedRows)) {
+                throw new AbortedException(rowsProcessed);
+            }
+        }
+    }
+
+    /**
+     * Writes one row, values in column order.
+     */
+    public void row(Object... values) {
+        if (values.length != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " values, got " + values.length);
+        }
+        try {
+            if (format == ExportFormat.CSV) {
+                writeCsv(values);
+            } else {
+                writeJson(values);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (++rowsWritten % CLOCK_CHECK_ROWS == 0 && System.nanoTime() - lastProgressNanos >= progressIntervalNanos) {
+            reportProgress();
+        }
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void reportProgress() {
+        lastProgressNanos = System.nanoTime();
+        if (!progressListener.onProgress(rowsWritten, estimatedRows)) {
+            throw new AbortedException(rowsWritten);
+        }
+    }
+
+    private void writeCsv(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            if (values[i] != null) {
+                out.write(escapeCsv(values[i].toString()));
+            }
+        }
+        out.write('\n');
+    }
+
+    private void writeJson(Object[] values) throws IOException {
+        Map<String, Object> line = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            line.put(columns.get(i), values[i]);
+        }
+        try {
+            out.write(objectMapper.writeValueAsString(line));
+        } catch (JsonProcessingException e) {
+            throw new IOException(e);
+        }
+        out.write('\n');
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
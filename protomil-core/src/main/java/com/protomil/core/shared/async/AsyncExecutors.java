@@ -0,0 +1,37 @@
+package com.protomil.core.shared.async;
+
+/**
+ * Bean names of the async executors, for use in {@code @Async("...")}.
+ */
+public final class AsyncExecutors {
+
+    /** Default virtual-thread executor for unqualified {@code @Async} and MVC async requests. */
+    public static final String APPLICATION = "applicationTaskExecutor";
+
+    /** Virtual-thread executor for job card event listeners. */
+    public static final String JOB_CARD_EVENTS = "jobCardEventExecutor";
+
+    /** Virtual-thread executor for Cognito user synchronisation. */
+    public static final String USER_SYNC = "userSyncExecutor";
+
+    /** Virtual-thread executor for pushing live board updates to SSE subscribers. */
+    public static final String LIVE_BOARD = "liveBoardExecutor";
+
+    /** Virtual-thread executor for status history listeners, which wait on batched writes. */
+    public static final String STATUS_HISTORY = "statusHistoryExecutor";
+
+    /** Virtual-thread executor for durable timer handlers. */
+    public static final String TIMERS = "timerExecutor";
+
+    /** Virtual-thread executor for report job workers. */
+    public static final String REPORTS = "reportExecutor";
+
+    /** Virtual-thread executor for personnel report readers, each holding a database connection. */
+    public static final String PERSONNEL_REPORT_READERS = "personnelReportReaderExecutor";
+
+    /** Bounded platform-thread pool for CPU-bound work. */
+    public static final String CPU = "cpuTaskExecutor";
+
+    private AsyncExecutors() {
+    }
+}
@@ -0,0 +1,105 @@
+package com.protomil.core.shared.async;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs each task on its own virtual thread, with at most {@code maxConcurrency} running at once.
+ * Tasks beyond that wait (parked, not pooled) up to {@code queueCapacity}; further submissions are
+ * rejected with {@link TaskRejectedException} rather than piling up without bound.
+ */
+public class BoundedVirtualThreadExecutor implements AsyncTaskExecutor {
+
+    private final String name;
+    private final ThreadFactory threadFactory;
+    private final Semaphore permits;
+    private final int capacity;
+    private final TaskDecorator taskDecorator;
+
+    private final AtomicInteger admitted = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public BoundedVirtualThreadExecutor(String name, int maxConcurrency, int queueCapacity, TaskDecorator taskDecorator) {
+        this.name = name;
+        this.threadFactory = Thread.ofVirtual().name(name + "-", 0).factory();
+        this.permits = new Semaphore(maxConcurrency);
+        this.capacity = maxConcurrency + queueCapacity;
+        this.taskDecorator = taskDecorator;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (admitted.incrementAndGet() > capacity) {
+            admitted.decrementAndGet();
+            rejected.incrementAndGet();
+            throw new TaskRejectedException("Executor " + name + " is saturated (" + capacity + " tasks in flight)");
+        }
+
+        Runnable decorated = taskDecorator != null ? taskDecorator.decorate(task) : task;
+        Thread thread = threadFactory.newThread(() -> runWithPermit(decorated));
+        if (thread == null) {
+            admitted.decrementAndGet();
+            throw new TaskRejectedException("Executor " + name + " could not create a thread");
+        }
+        thread.start();
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        FutureTask<Object> future = new FutureTask<>(task, null);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        execute(future);
+        return future;
+    }
+
+    private void runWithPermit(Runnable task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted.decrementAndGet();
+            return;
+        }
+
+        active.incrementAndGet();
+        try {
+            task.run();
+        } finally {
+            active.decrementAndGet();
+            permits.release();
+            admitted.decrementAndGet();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    public int getQueueDepth() {
+        return Math.max(admitted.get() - active.get(), 0);
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,42 @@
+package com.protomil.core.shared.async;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+
+/**
+ * Carries the submitting thread's MDC (traceId, userId, ...) and security context into the task,
+ * and restores the worker thread's own state afterwards.
+ */
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> callerMdc = MDC.getCopyOfContextMap();
+        SecurityContext callerSecurityContext = SecurityContextHolder.getContext();
+
+        return () -> {
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+            try {
+                if (callerMdc != null) {
+                    MDC.setContextMap(callerMdc);
+                } else {
+                    MDC.clear();
+                }
+                SecurityContextHolder.setContext(callerSecurityContext);
+                runnable.run();
+            } finally {
+                if (previousMdc != null) {
+                    MDC.setContextMap(previousMdc);
+                } else {
+                    MDC.clear();
+                }
+                SecurityContextHolder.setContext(previousSecurityContext);
+            }
+        };
+    }
+}
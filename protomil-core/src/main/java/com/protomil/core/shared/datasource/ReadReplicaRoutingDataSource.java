@@ -0,0 +1,177 @@
+package com.protomil.core.shared.datasource;
+
+import com.protomil.core.shared.security.SecurityUtils;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to the replica pools, round robin, and everything else
+ * to the primary. The lookup needs the transaction's read-only flag, which is only bound after the
+ * transaction has begun, so this must sit behind a {@link LazyConnectionDataSourceProxy} that defers
+ * the physical connection to the first statement.
+ * <p>
+ * After a user commits a write, that user's read-only transactions stay on the primary for the
+ * read-your-writes window, so replication lag is never visible to the user who caused it. A replica
+ * that cannot hand out a connection is skipped in favour of the primary.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    public static final String PRIMARY = "primary";
+
+    private static final String WRITE_TRACKED = ReadReplicaRoutingDataSource.class.getName() + ".WRITE_TRACKED";
+
+    // Expired entries are only swept once this many users are tracked
+    private static final int STICKY_USERS_PRUNE_THRESHOLD = 10_000;
+
+    private final DataSource primary;
+    private final Map<String, HikariDataSource> replicas;
+    private final List<String> replicaKeys;
+    private final Duration readYourWritesWindow;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Map<UUID, Instant> lastWriteByUser = new ConcurrentHashMap<>();
+    private final Map<String, Counter> connectionsByTarget = new HashMap<>();
+    private final Counter replicaFallbacks;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, Map<String, HikariDataSource> replicas,
+                                        Duration readYourWritesWindow, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.replicaKeys = List.copyOf(replicas.keySet());
+        this.readYourWritesWindow = readYourWritesWindow;
+
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        targets.put(PRIMARY, primary);
+        targets.putAll(replicas);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        for (Object target : targets.keySet()) {
+            connectionsByTarget.put((String) target, Counter.builder("protomil.datasource.connections")
+                    .description("Connections handed out, by routing target")
+                    .tag("target", (String) target)
+                    .register(meterRegistry));
+        }
+        this.replicaFallbacks = Counter.builder("protomil.datasource.replica.fallbacks")
+                .description("Read-only connections sent to the primary because a replica was unavailable")
+                .register(meterRegistry);
+        Gauge.builder("protomil.datasource.sticky.users", lastWriteByUser, Map::size)
+                .description("Users whose reads are pinned to the primary after a recent write")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite();
+            return PRIMARY;
+        }
+        if (replicaKeys.isEmpty() || wroteRecently()) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String target = (String) determineCurrentLookupKey();
+        if (PRIMARY.equals(target)) {
+            connectionsByTarget.get(PRIMARY).increment();
+            return primary.getConnection();
+        }
+
+        try {
+            Connection connection = replicas.get(target).getConnection();
+            connectionsByTarget.get(target).increment();
+            return connection;
+        } catch (SQLException e) {
+            log.warn("Replica {} unavailable, reading from primary: {}", target, e.getMessage());
+            replicaFallbacks.increment();
+            connectionsByTarget.get(PRIMARY).increment();
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.values().forEach(HikariDataSource::close);
+    }
+
+    /**
+     * Registers, once per write transaction, a callback that pins the current user to the primary when
+     * the transaction commits. Rolled-back transactions leave nothing to read back.
+     */
+    private void trackWrite() {
+        if (replicaKeys.isEmpty() || readYourWritesWindow.isZero()
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(WRITE_TRACKED)) {
+            return;
+        }
+        Optional<UUID> userId = SecurityUtils.getCurrentUserIdOptional();
+        if (userId.isEmpty()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.bindResource(WRITE_TRACKED, userId.get());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordWrite(userId.get());
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_TRACKED);
+            }
+        });
+    }
+
+    private void recordWrite(UUID userId) {
+        Instant now = Instant.now();
+        lastWriteByUser.put(userId, now);
+        if (lastWriteByUser.size() > STICKY_USERS_PRUNE_THRESHOLD) {
+            lastWriteByUser.values().removeIf(writtenAt -> isExpired(writtenAt, now));
+        }
+    }
+
+    private boolean wroteRecently() {
+        if (readYourWritesWindow.isZero()) {
+            return false;
+        }
+        Instant now = Instant.now();
+        return SecurityUtils.getCurrentUserIdOptional()
+                .map(lastWriteByUser::get)
+                .filter(writtenAt -> !isExpired(writtenAt, now))
+                .isPresent();
+    }
+
+    private boolean isExpired(Instant writtenAt, Instant now) {
+        return writtenAt.plus(readYourWritesWindow).isBefore(now);
+    }
+}
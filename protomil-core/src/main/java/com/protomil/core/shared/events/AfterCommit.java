@@ -0,0 +1,30 @@
+package com.protomil.core.shared.events;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers work to after the current transaction commits, or runs it straight away outside one.
+ * <p>
+ * Meant for plain {@code @EventListener}s that only update in-memory state (caches, dirty flags, live
+ * pushes). Spring Modulith writes an event_publication row for every {@code @TransactionalEventListener}
+ * an event reaches; listeners that lose nothing on a crash use this instead and stay out of the outbox.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
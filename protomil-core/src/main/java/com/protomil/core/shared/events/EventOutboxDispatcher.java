@@ -0,0 +1,243 @@
+package com.protomil.core.shared.events;
+
+import com.protomil.core.jobcard.events.JobCardBatchEvent;
+import com.protomil.core.jobcard.events.JobCardDomainEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.modulith.events.CompletedEventPublications;
+import org.springframework.modulith.events.EventPublication;
+import org.springframework.modulith.events.IncompleteEventPublications;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Drives the Spring Modulith event_publication outbox. Publications are written in the publishing
+ * transaction and delivered to transactional listeners after commit; this dispatcher re-delivers
+ * publications that never completed (listener failure, crash, shutdown) in bounded batches, on startup
+ * and periodically, prunes old completed rows, and exports outbox throughput and lag metrics.
+ * <p>
+ * Resubmission holds a PostgreSQL session advisory lock, so on a multi-node deployment only one node
+ * re-delivers at a time and the others skip the round instead of delivering the same backlog again.
+ */
+@Component
+@Slf4j
+public class EventOutboxDispatcher {
+
+    private static final int MAX_STARTUP_BATCHES = 50;
+    private static final Duration ATTEMPT_MEMORY = Duration.ofDays(1);
+    // Arbitrary application-wide key for pg_try_advisory_lock; must not be reused for another lock
+    private static final long RESUBMIT_LOCK_KEY = 0x70726f746f4f4258L;
+
+    private final IncompleteEventPublications incompletePublications;
+    private final CompletedEventPublications completedPublications;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final Duration retryMinAge;
+    private final Duration completedRetention;
+
+    private final Counter resubmittedCounter;
+    private final Counter completedCounter;
+    private final Map<UUID, Instant> lastAttempts = new ConcurrentHashMap<>();
+    private final AtomicLong incompleteCount = new AtomicLong();
+    private final AtomicLong oldestIncompleteEpochMillis = new AtomicLong();
+    private volatile LocalDateTime lastCompletionCheck = LocalDateTime.now();
+
+    public EventOutboxDispatcher(IncompleteEventPublications incompletePublications,
+                                 CompletedEventPublications completedPublications,
+                                 JdbcTemplate jdbcTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${protomil.outbox.batch-size:100}") int batchSize,
+                                 @Value("${protomil.outbox.retry-min-age:PT5M}") Duration retryMinAge,
+                                 @Value("${protomil.outbox.completed-retention:PT168H}") Duration completedRetention) {
+        this.incompletePublications = incompletePublications;
+        this.completedPublications = completedPublications;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.retryMinAge = retryMinAge;
+        this.completedRetention = completedRetention;
+
+        this.resubmittedCounter = Counter.builder("protomil.outbox.resubmitted")
+                .description("Incomplete event publications re-delivered by the dispatcher")
+                .register(meterRegistry);
+        this.completedCounter = Counter.builder("protomil.outbox.completed")
+                .description("Event publications completed by their listeners")
+                .register(meterRegistry);
+
+        Gauge.builder("protomil.outbox.incomplete", incompleteCount, AtomicLong::get)
+                .description("Event publications not yet completed")
+                .register(meterRegistry);
+        Gauge.builder("protomil.outbox.lag.seconds", oldestIncompleteEpochMillis, this::lagSeconds)
+                .description("Age of the oldest incomplete event publication")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void countPublished(JobCardDomainEvent event) {
+        meterRegistry.counter("protomil.outbox.published", "type", event.getClass().getSimpleName()).increment();
+    }
+
+    @EventListener
+    public void countPublished(JobCardBatchEvent event) {
+        meterRegistry.counter("protomil.outbox.published", "type", JobCardBatchEvent.class.getSimpleName()).increment();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resubmitOnStartup() {
+        // Anything published before startup and still incomplete was interrupted by a shutdown or crash
+        Instant startedAt = Instant.now();
+        AtomicInteger total = new AtomicInteger();
+        boolean ran = withResubmitLock(() -> {
+            for (int batch = 0; batch < MAX_STARTUP_BATCHES; batch++) {
+                int resubmitted = resubmitBatch(startedAt);
+                total.addAndGet(resubmitted);
+                if (resubmitted < batchSize) {
+                    break;
+                }
+            }
+        });
+        if (!ran) {
+            log.info("Another node is resubmitting incomplete event publications; skipping startup resubmission");
+        } else if (total.get() > 0) {
+            log.info("Resubmitted {} incomplete event publications on startup", total.get());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${protomil.outbox.retry-interval-ms:60000}",
+            initialDelayString = "${protomil.outbox.retry-interval-ms:60000}")
+    public void resubmitStalePublications() {
+        AtomicInteger resubmitted = new AtomicInteger();
+        boolean ran = withResubmitLock(() -> resubmitted.set(resubmitBatch(Instant.now().minus(retryMinAge))));
+        if (!ran) {
+            log.debug("Another node is resubmitting incomplete event publications; skipping this round");
+        } else if (resubmitted.get() > 0) {
+            log.info("Resubmitted {} event publications incomplete for more than {}", resubmitted.get(), retryMinAge);
+        }
+        Instant forgetBefore = Instant.now().minus(ATTEMPT_MEMORY);
+        lastAttempts.values().removeIf(attemptedAt -> attemptedAt.isBefore(forgetBefore));
+    }
+
+    @Scheduled(fixedDelayString = "${protomil.outbox.metrics-interval-ms:15000}")
+    public void refreshMetrics() {
+        try {
+            jdbcTemplate.query("SELECT COUNT(*), MIN(publication_date) FROM event_publication WHERE completion_date IS NULL",
+                    rs -> {
+                        incompleteCount.set(rs.getLong(1));
+                        Timestamp oldest = rs.getTimestamp(2);
+                        oldestIncompleteEpochMillis.set(oldest != null ? oldest.getTime() : 0L);
+                    });
+
+            LocalDateTime checkTime = LocalDateTime.now();
+            Long completed = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM event_publication WHERE completion_date > ? AND completion_date <= ?",
+                    Long.class, lastCompletionCheck, checkTime);
+            lastCompletionCheck = checkTime;
+            if (completed != null && completed > 0) {
+                completedCounter.increment(completed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh outbox metrics: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${protomil.outbox.cleanup-cron:0 30 1 * * *}")
+    public void purgeCompletedPublications() {
+        completedPublications.deletePublicationsOlderThan(completedRetention);
+        log.info("Purged completed event publications older than {}", completedRetention);
+    }
+
+    /**
+     * Resubmits up to one batch of incomplete publications published before {@code publishedBefore},
+     * skipping any this dispatcher already retried within the last {@code retryMinAge} so a failing
+     * listener cannot starve the rest of the backlog.
+     */
+    private int resubmitBatch(Instant publishedBefore) {
+        Instant now = Instant.now();
+        Instant retryBefore = now.minus(retryMinAge);
+        AtomicInteger selected = new AtomicInteger();
+
+        Predicate<EventPublication> batch = publication -> {
+            if (publication.getPublicationDate().isAfter(publishedBefore) || selected.get() >= batchSize) {
+                return false;
+            }
+            Instant lastAttempt = lastAttempts.get(publication.getIdentifier());
+            if (lastAttempt != null && lastAttempt.isAfter(retryBefore)) {
+                return false;
+            }
+            selected.incrementAndGet();
+            lastAttempts.put(publication.getIdentifier(), now);
+            return true;
+        };
+
+        try {
+            incompletePublications.resubmitIncompletePublications(batch);
+        } catch (RuntimeException e) {
+            log.error("Failed to resubmit incomplete event publications: {}", e.getMessage());
+        }
+
+        resubmittedCounter.increment(selected.get());
+        return selected.get();
+    }
+
+    /**
+     * Runs {@code action} while holding the cluster-wide resubmit lock on a dedicated connection, which
+     * stays out of any transaction the re-delivered listeners open.
+     *
+     * @return false if another node holds the lock and the action was skipped
+     */
+    private boolean withResubmitLock(Runnable action) {
+        try {
+            return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+                if (!advisoryLock(connection, "SELECT pg_try_advisory_lock(?)")) {
+                    return false;
+                }
+                try {
+                    action.run();
+                } finally {
+                    advisoryLock(connection, "SELECT pg_advisory_unlock(?)");
+                }
+                return true;
+            }));
+        } catch (RuntimeException e) {
+            log.error("Failed to take the outbox resubmit lock: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, RESUBMIT_LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private double lagSeconds(AtomicLong oldestEpochMillis) {
+        long oldest = oldestEpochMillis.get();
+        return oldest == 0L ? 0.0 : Math.max(System.currentTimeMillis() - oldest, 0L) / 1000.0;
+    }
+}
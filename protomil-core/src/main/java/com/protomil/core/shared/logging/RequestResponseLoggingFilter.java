@@ -29,8 +29,9 @@ public class RequestResponseLoggingFilter implements Filter {
         HttpServletRequest httpRequest = (HttpServletRequest) request;
         HttpServletResponse httpResponse = (HttpServletResponse) response;
 
-        // Skip logging for health checks and static resources
-        if (shouldSkipLogging(httpRequest.getRequestURI())) {
+        // Skip logging for health checks and static resources, and never buffer an async response:
+        // its body is written after this filter has returned
+        if (httpRequest.isAsyncStarted() || shouldSkipLogging(httpRequest.getRequestURI())) {
             chain.doFilter(request, response);
             return;
         }
@@ -60,8 +61,10 @@ public class RequestResponseLoggingFilter implements Filter {
             // Process the request
             chain.doFilter(wrappedRequest, wrappedResponse);
 
-            // Log outgoing response
-            logResponse(wrappedResponse, System.currentTimeMillis() - startTime);
+            // Log outgoing response, unless the handler went async and the response is not final yet
+            if (!wrappedRequest.isAsyncStarted()) {
+                logResponse(wrappedResponse, System.currentTimeMillis() - startTime);
+            }
 
         } catch (Exception e) {
             log.error("Error processing request - TraceId: {}, URI: {}", traceId, httpRequest.getRequestURI(), e);
@@ -78,6 +81,10 @@ public class RequestResponseLoggingFilter implements Filter {
         return uri.startsWith("/actuator/health") ||
                 uri.startsWith("/swagger-ui") ||
                 uri.startsWith("/v3/api-docs") ||
+                uri.endsWith("/export") || // streamed bodies must not be buffered by the caching wrapper
+                uri.endsWith("/stream") || // long-lived SSE connections
+                uri.endsWith("/download") || // file bodies, streamed like exports
+                uri.startsWith("/api/v1/mes/signals") || // high-rate gateway batches; buffering them costs more than ingesting
                 uri.endsWith(".css") ||
                 uri.endsWith(".js") ||
                 uri.endsWith(".ico");
@@ -0,0 +1,18 @@
+package com.protomil.core.shared.timer;
+
+import java.time.LocalDateTime;
+
+/**
+ * A durable timer that fell due, as handed to its {@link TimerHandler}.
+ *
+ * @param timerKey identifies what the timer is for within its type, e.g. a job card ID
+ * @param attempts earlier firings that failed
+ */
+public record DueTimer(
+        String timerType,
+        String timerKey,
+        LocalDateTime dueAt,
+        String payload,
+        int attempts
+) {
+}
@@ -0,0 +1,362 @@
+package com.protomil.core.shared.timer;
+
+import com.protomil.core.shared.async.AsyncExecutors;
+import com.protomil.core.shared.timer.TimerRepository.ClaimedTimer;
+import com.protomil.core.shared.timer.TimerRepository.TimerRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable timers. Timers live in scheduled_timers until they fire or are cancelled; each node holds the
+ * timers due within its load window on an in-memory {@link HierarchicalTimingWheel} under a lease it
+ * renews while alive, and fires them when the wheel reaches them. Nothing scans the table for due work:
+ * a periodic claim reads only unheld rows entering the window through the due_at index.
+ * <p>
+ * A node that writes a timer due within the window leases it to itself and wheels it after commit.
+ * Other timers are claimed as the window reaches them, and a crashed node's timers are claimed by
+ * another node once their lease lapses. Firing deletes the row for the holding node only while it is
+ * still due, in the handler's transaction, so a cancelled, moved or taken-over timer is skipped and a
+ * failed handler leaves the timer to be retried.
+ */
+@Service
+@Slf4j
+public class DurableTimerService {
+
+    private static final int WHEEL_LEVELS = 4;
+    private static final int MAX_CLAIM_BATCHES = 20;
+
+    /**
+     * A timer to set; it replaces any pending timer of the same type and key.
+     *
+     * @param timerKey identifies what the timer is for within its type, e.g. a job card ID
+     */
+    public record TimerRequest(String timerType, String timerKey, LocalDateTime dueAt, String payload) {
+
+        public static TimerRequest of(String timerType, String timerKey, LocalDateTime dueAt) {
+            return new TimerRequest(timerType, timerKey, dueAt, null);
+        }
+    }
+
+    private record WheelEntry(String timerType, String timerKey, LocalDateTime dueAt) {
+    }
+
+    private final TimerRepository timerRepository;
+    private final ObjectProvider<TimerHandler> timerHandlers;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor timerExecutor;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+    private final Duration window;
+    private final Duration lease;
+    private final Duration retryDelay;
+    private final int maxAttempts;
+    private final int claimBatchSize;
+    private final Duration tick;
+
+    private final HierarchicalTimingWheel<WheelEntry> wheel;
+    private final Counter claimedCounter;
+    private final Counter failedCounter;
+    private final Timer firingDelay;
+    private volatile Map<String, TimerHandler> handlers;
+    private volatile Thread ticker;
+
+    public DurableTimerService(TimerRepository timerRepository,
+                               ObjectProvider<TimerHandler> timerHandlers,
+                               PlatformTransactionManager transactionManager,
+                               @Qualifier(AsyncExecutors.TIMERS) AsyncTaskExecutor timerExecutor,
+                               MeterRegistry meterRegistry,
+                               @Value("${protomil.timers.node-id:}") String nodeId,
+                               @Value("${protomil.timers.window:PT10M}") Duration window,
+                               @Value("${protomil.timers.lease:PT2M}") Duration lease,
+                               @Value("${protomil.timers.claim-interval-ms:30000}") long claimIntervalMs,
+                               @Value("${protomil.timers.retry-delay:PT1M}") Duration retryDelay,
+                               @Value("${protomil.timers.max-attempts:5}") int maxAttempts,
+                               @Value("${protomil.timers.claim-batch-size:5000}") int claimBatchSize,
+                               @Value("${protomil.timers.tick:PT1S}") Duration tick) {
+        if (lease.toMillis() <= claimIntervalMs || window.toMillis() <= claimIntervalMs) {
+            throw new IllegalArgumentException(
+                    "protomil.timers.lease and protomil.timers.window must be longer than the claim interval");
+        }
+        this.timerRepository = timerRepository;
+        this.timerHandlers = timerHandlers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.timerExecutor = timerExecutor;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.window = window;
+        this.lease = lease;
+        this.retryDelay = retryDelay;
+        this.maxAttempts = maxAttempts;
+        this.claimBatchSize = claimBatchSize;
+        this.tick = tick;
+        this.wheel = new HierarchicalTimingWheel<>(tick.toMillis(), WHEEL_LEVELS, System.currentTimeMillis());
+
+        Gauge.builder("protomil.timers.wheel.size", wheel, HierarchicalTimingWheel::size)
+                .description("Durable timers held by this node and waiting on the timing wheel")
+                .register(meterRegistry);
+        this.claimedCounter = Counter.builder("protomil.timers.claimed")
+                .description("Durable timers claimed by this node as they entered the load window")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("protomil.timers.failed")
+                .description("Durable timer firings whose handler failed")
+                .register(meterRegistry);
+        this.firingDelay = Timer.builder("protomil.timers.delay")
+                .description("Time between a durable timer falling due and its handler running")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // A restarted node with a fixed ID holds leases its wheel no longer has; hand them back first
+        int released = timerRepository.releaseLeases(nodeId);
+        claimWindow();
+        ticker = Thread.ofPlatform().name("durable-timer-wheel").daemon().start(this::runWheel);
+        log.info("Durable timers started on node {} ({} released, {} on the wheel)", nodeId, released, wheel.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread thread = ticker;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        try {
+            // Let other nodes pick the timers up now rather than when the leases lapse
+            timerRepository.releaseLeases(nodeId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release durable timer leases of node {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    /** Renews this node's leases and claims the unheld timers entering the load window. */
+    @Scheduled(fixedDelayString = "${protomil.timers.claim-interval-ms:30000}",
+            initialDelayString = "${protomil.timers.claim-interval-ms:30000}")
+    public void claimWindow() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            timerRepository.renewLeases(nodeId, now.plus(lease));
+
+            int claimed = 0;
+            for (int batch = 0; batch < MAX_CLAIM_BATCHES; batch++) {
+                List<ClaimedTimer> timers = transactionTemplate.execute(status -> timerRepository.claim(
+                        nodeId, now, now.plus(window), now.plus(lease), claimBatchSize));
+                timers.forEach(timer -> load(new WheelEntry(timer.timerType(), timer.timerKey(), timer.dueAt())));
+                claimed += timers.size();
+                if (timers.size() < claimBatchSize) {
+                    break;
+                }
+            }
+            if (claimed > 0) {
+                claimedCounter.increment(claimed);
+                log.debug("Claimed {} durable timers due before {}", claimed, now.plus(window));
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to claim durable timers: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sets the timers in the caller's transaction, replacing pending timers of the same type and key.
+     */
+    @Transactional
+    public void schedule(Collection<TimerRequest> timers) {
+        if (timers.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime windowEnd = now.plus(window);
+        LocalDateTime leaseExpiresAt = now.plus(lease);
+
+        List<TimerRow> rows = new ArrayList<>(timers.size());
+        List<WheelEntry> loaded = new ArrayList<>();
+        for (TimerRequest timer : timers) {
+            if (!handlers().containsKey(timer.timerType())) {
+                throw new IllegalArgumentException("No handler for timer type " + timer.timerType());
+            }
+            boolean inWindow = timer.dueAt().isBefore(windowEnd);
+            rows.add(new TimerRow(timer.timerType(), timer.timerKey(), timer.dueAt(), timer.payload(),
+                    inWindow ? nodeId : null, inWindow ? leaseExpiresAt : null));
+            if (inWindow) {
+                loaded.add(new WheelEntry(timer.timerType(), timer.timerKey(), timer.dueAt()));
+            }
+        }
+        timerRepository.upsert(rows);
+        afterCommit(() -> loaded.forEach(this::load));
+    }
+
+    @Transactional
+    public void schedule(String timerType, String timerKey, LocalDateTime dueAt) {
+        schedule(List.of(TimerRequest.of(timerType, timerKey, dueAt)));
+    }
+
+    /**
+     * Cancels the pending timers of the type and keys in the caller's transaction. Wheel entries of
+     * cancelled timers are skipped when they come round.
+     */
+    @Transactional
+    public void cancel(String timerType, Collection<String> timerKeys) {
+        timerRepository.delete(timerType, timerKeys);
+    }
+
+    private void runWheel() {
+        long tickMillis = tick.toMillis();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(tickMillis - System.currentTimeMillis() % tickMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            wheel.advanceTo(System.currentTimeMillis()).forEach(this::dispatch);
+        }
+    }
+
+    private void load(WheelEntry entry) {
+        if (!wheel.add(entry, toEpochMillis(entry.dueAt()))) {
+            dispatch(entry);
+        }
+    }
+
+    private void dispatch(WheelEntry entry) {
+        try {
+            timerExecutor.execute(() -> fire(entry));
+        } catch (TaskRejectedException e) {
+            // Saturated; the lease is still ours, so try again shortly
+            wheel.add(entry, System.currentTimeMillis() + retryDelay.toMillis());
+        }
+    }
+
+    private void fire(WheelEntry entry) {
+        TimerHandler handler = handlers().get(entry.timerType());
+        try {
+            DueTimer fired = transactionTemplate.execute(status -> {
+                DueTimer timer = timerRepository.take(entry.timerType(), entry.timerKey(), nodeId, LocalDateTime.now())
+                        .orElse(null);
+                if (timer != null && handler != null) {
+                    handler.fire(timer);
+                }
+                return timer;
+            });
+            if (fired == null) {
+                return;
+            }
+            if (handler == null) {
+                log.warn("Dropped durable timer {} {}: no handler for its type", entry.timerType(), entry.timerKey());
+                return;
+            }
+            firingDelay.record(Duration.between(fired.dueAt(), LocalDateTime.now()));
+            meterRegistry.counter("protomil.timers.fired", "type", entry.timerType()).increment();
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            retry(entry, e);
+        }
+    }
+
+    private void retry(WheelEntry entry, RuntimeException cause) {
+        LocalDateTime retryAt = LocalDateTime.now().plus(retryDelay);
+        try {
+            Integer attempts = transactionTemplate.execute(status -> timerRepository
+                    .retry(entry.timerType(), entry.timerKey(), nodeId, retryAt)
+                    .map(made -> {
+                        if (made >= maxAttempts) {
+                            timerRepository.delete(entry.timerType(), List.of(entry.timerKey()));
+                        }
+                        return made;
+                    })
+                    .orElse(null));
+            if (attempts == null) {
+                return;
+            }
+            if (attempts >= maxAttempts) {
+                log.error("Durable timer {} {} failed {} times and was dropped: {}", entry.timerType(),
+                        entry.timerKey(), attempts, cause.getMessage(), cause);
+            } else {
+                log.warn("Durable timer {} {} failed (attempt {}), retrying at {}: {}", entry.timerType(),
+                        entry.timerKey(), attempts, retryAt, cause.getMessage());
+                load(new WheelEntry(entry.timerType(), entry.timerKey(), retryAt));
+            }
+        } catch (RuntimeException e) {
+            // The row is still due and leased to this node, so fire it again without counting the attempt
+            log.error("Failed to reschedule durable timer {} {}: {}", entry.timerType(), entry.timerKey(),
+                    e.getMessage(), e);
+            load(new WheelEntry(entry.timerType(), entry.timerKey(), retryAt));
+        }
+    }
+
+    /** Handlers are looked up on first use, since they usually depend on this service to set timers. */
+    private Map<String, TimerHandler> handlers() {
+        Map<String, TimerHandler> resolved = handlers;
+        if (resolved == null) {
+            resolved = new HashMap<>();
+            for (TimerHandler handler : timerHandlers) {
+                for (String timerType : handler.timerTypes()) {
+                    TimerHandler existing = resolved.putIfAbsent(timerType, handler);
+                    if (existing != null) {
+                        throw new IllegalStateException("Timer type " + timerType + " has two handlers: "
+                                + existing.getClass().getSimpleName() + " and " + handler.getClass().getSimpleName());
+                    }
+                }
+            }
+            handlers = resolved;
+        }
+        return resolved;
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
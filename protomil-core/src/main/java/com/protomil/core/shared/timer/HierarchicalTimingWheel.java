@@ -0,0 +1,123 @@
+package com.protomil.core.shared.timer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: level 0 has one slot per tick, each level above has slots 64 times as
+ * wide, and entries beyond the top level wait in an overflow list. Adding an entry is O(1); advancing
+ * the wheel drains one level-0 slot per tick and cascades a higher-level slot into the levels below
+ * whenever the lower level wraps, so each entry is moved at most once per level.
+ * <p>
+ * Entries fire on the first tick that starts at or after their due time, never early. Methods lock the
+ * wheel, so expired entries are returned for the caller to handle outside it.
+ */
+final class HierarchicalTimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private record Entry<T>(T item, long dueTick) {
+    }
+
+    private final long tickMillis;
+    private final int levels;
+    private final List<Entry<T>>[][] wheels;
+    private List<Entry<T>> overflow = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    HierarchicalTimingWheel(long tickMillis, int levels, long startMillis) {
+        if (tickMillis <= 0 || levels <= 0 || levels * SLOT_BITS >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("Invalid timing wheel shape: tick " + tickMillis + "ms, " + levels + " levels");
+        }
+        this.tickMillis = tickMillis;
+        this.levels = levels;
+        this.wheels = new List[levels][SLOTS];
+        for (int level = 0; level < levels; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheels[level][slot] = new ArrayList<>();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * @return false if the entry is already due, in which case it was not added
+     */
+    synchronized boolean add(T item, long dueMillis) {
+        // Round up so the entry never fires before its due time
+        long dueTick = Math.floorDiv(dueMillis + tickMillis - 1, tickMillis);
+        if (dueTick <= currentTick) {
+            return false;
+        }
+        place(new Entry<>(item, dueTick));
+        size++;
+        return true;
+    }
+
+    /**
+     * Moves the wheel up to {@code nowMillis}.
+     *
+     * @return the entries that fell due, in due order per tick
+     */
+    synchronized List<T> advanceTo(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = 1; level <= levels; level++) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                    break;
+                }
+                for (Entry<T> entry : takeSlot(level)) {
+                    if (entry.dueTick() <= currentTick) {
+                        expired.add(entry.item());
+                        size--;
+                    } else {
+                        place(entry);
+                    }
+                }
+            }
+
+            List<Entry<T>> due = wheels[0][(int) (currentTick & SLOT_MASK)];
+            for (Entry<T> entry : due) {
+                expired.add(entry.item());
+            }
+            size -= due.size();
+            due.clear();
+        }
+        return expired;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.dueTick() - currentTick;
+        for (int level = 0; level < levels; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                wheels[level][(int) ((entry.dueTick() >>> (SLOT_BITS * level)) & SLOT_MASK)].add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    /** Empties the slot of {@code level} the current tick has reached; the level above the top is the overflow. */
+    private List<Entry<T>> takeSlot(int level) {
+        List<Entry<T>> taken;
+        if (level == levels) {
+            taken = overflow;
+            overflow = new ArrayList<>();
+        } else {
+            int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            taken = wheels[level][slot];
+            wheels[level][slot] = new ArrayList<>();
+        }
+        return taken;
+    }
+}
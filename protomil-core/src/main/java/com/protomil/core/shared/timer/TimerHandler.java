@@ -0,0 +1,15 @@
+package com.protomil.core.shared.timer;
+
+import java.util.Set;
+
+/**
+ * Fires the durable timers of its types. {@link #fire} runs in the transaction that deletes the timer,
+ * so a handler that throws leaves the timer in place to be retried; handlers should re-check the state
+ * the timer was set for, since it may have changed after the timer was written.
+ */
+public interface TimerHandler {
+
+    Set<String> timerTypes();
+
+    void fire(DueTimer timer);
+}
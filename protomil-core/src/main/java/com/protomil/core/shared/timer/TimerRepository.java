@@ -0,0 +1,167 @@
+package com.protomil.core.shared.timer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Pending durable timers in scheduled_timers. A row exists only until its timer fires or is cancelled.
+ * Nodes hold the rows due within their load window under a lease: {@link #claim} takes unleased or
+ * lapsed rows with {@code FOR UPDATE SKIP LOCKED}, so concurrent nodes claim disjoint sets, and
+ * {@link #take} deletes a row only for the node holding it and only once it is due.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TimerRepository {
+
+    /**
+     * A timer to write; {@code leaseOwner} is set when the writing node loads it straight away.
+     */
+    public record TimerRow(String timerType, String timerKey, LocalDateTime dueAt, String payload,
+                           String leaseOwner, LocalDateTime leaseExpiresAt) {
+    }
+
+    /** A claimed timer, enough to place it on the wheel. */
+    public record ClaimedTimer(String timerType, String timerKey, LocalDateTime dueAt) {
+    }
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO scheduled_timers (timer_type, timer_key, due_at, payload, lease_owner, lease_expires_at)
+            VALUES (:timerType, :timerKey, :dueAt, :payload, :leaseOwner, :leaseExpiresAt)
+            ON CONFLICT (timer_type, timer_key) DO UPDATE SET
+                due_at = EXCLUDED.due_at,
+                payload = EXCLUDED.payload,
+                lease_owner = EXCLUDED.lease_owner,
+                lease_expires_at = EXCLUDED.lease_expires_at,
+                attempts = 0
+            """;
+
+    private static final String CLAIM_SQL = """
+            UPDATE scheduled_timers t
+            SET lease_owner = :owner, lease_expires_at = :leaseExpiresAt
+            FROM (SELECT id FROM scheduled_timers
+                  WHERE due_at < :windowEnd AND (lease_owner IS NULL OR lease_expires_at < :now)
+                  ORDER BY due_at
+                  LIMIT :limit
+                  FOR UPDATE SKIP LOCKED) claimable
+            WHERE t.id = claimable.id
+            RETURNING t.timer_type, t.timer_key, t.due_at
+            """;
+
+    private static final String TAKE_SQL = """
+            DELETE FROM scheduled_timers
+            WHERE timer_type = :timerType AND timer_key = :timerKey AND lease_owner = :owner AND due_at <= :now
+            RETURNING timer_type, timer_key, due_at, payload, attempts
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /** Writes the timers, replacing any pending timer of the same type and key. */
+    public void upsert(List<TimerRow> timers) {
+        if (timers.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = timers.stream()
+                .map(timer -> new MapSqlParameterSource()
+                        .addValue("timerType", timer.timerType(), Types.VARCHAR)
+                        .addValue("timerKey", timer.timerKey(), Types.VARCHAR)
+                        .addValue("dueAt", Timestamp.valueOf(timer.dueAt()), Types.TIMESTAMP)
+                        .addValue("payload", timer.payload(), Types.VARCHAR)
+                        .addValue("leaseOwner", timer.leaseOwner(), Types.VARCHAR)
+                        .addValue("leaseExpiresAt", toTimestamp(timer.leaseExpiresAt()), Types.TIMESTAMP))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+    }
+
+    public int delete(String timerType, Collection<String> timerKeys) {
+        if (timerKeys.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(
+                "DELETE FROM scheduled_timers WHERE timer_type = :timerType AND timer_key IN (:timerKeys)",
+                new MapSqlParameterSource()
+                        .addValue("timerType", timerType)
+                        .addValue("timerKeys", timerKeys));
+    }
+
+    /** Leases up to {@code limit} unheld timers due before {@code windowEnd}, earliest first. */
+    public List<ClaimedTimer> claim(String owner, LocalDateTime now, LocalDateTime windowEnd,
+                                    LocalDateTime leaseExpiresAt, int limit) {
+        return jdbcTemplate.query(CLAIM_SQL,
+                new MapSqlParameterSource()
+                        .addValue("owner", owner)
+                        .addValue("now", Timestamp.valueOf(now))
+                        .addValue("windowEnd", Timestamp.valueOf(windowEnd))
+                        .addValue("leaseExpiresAt", Timestamp.valueOf(leaseExpiresAt))
+                        .addValue("limit", limit),
+                (rs, rowNum) -> new ClaimedTimer(rs.getString("timer_type"), rs.getString("timer_key"),
+                        rs.getTimestamp("due_at").toLocalDateTime()));
+    }
+
+    public int renewLeases(String owner, LocalDateTime leaseExpiresAt) {
+        return jdbcTemplate.update(
+                "UPDATE scheduled_timers SET lease_expires_at = :leaseExpiresAt WHERE lease_owner = :owner",
+                new MapSqlParameterSource()
+                        .addValue("owner", owner)
+                        .addValue("leaseExpiresAt", Timestamp.valueOf(leaseExpiresAt)));
+    }
+
+    public int releaseLeases(String owner) {
+        return jdbcTemplate.update(
+                "UPDATE scheduled_timers SET lease_owner = NULL, lease_expires_at = NULL WHERE lease_owner = :owner",
+                new MapSqlParameterSource("owner", owner));
+    }
+
+    /**
+     * Deletes a due timer held by {@code owner}.
+     *
+     * @return the timer, or empty if it was cancelled, moved later or is now held by another node
+     */
+    public Optional<DueTimer> take(String timerType, String timerKey, String owner, LocalDateTime now) {
+        return jdbcTemplate.query(TAKE_SQL,
+                        new MapSqlParameterSource()
+                                .addValue("timerType", timerType)
+                                .addValue("timerKey", timerKey)
+                                .addValue("owner", owner)
+                                .addValue("now", Timestamp.valueOf(now)),
+                        (rs, rowNum) -> new DueTimer(rs.getString("timer_type"), rs.getString("timer_key"),
+                                rs.getTimestamp("due_at").toLocalDateTime(), rs.getString("payload"),
+                                rs.getInt("attempts")))
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Moves a failed timer held by {@code owner} to {@code retryAt} and counts the attempt.
+     *
+     * @return the attempts made so far, or empty if the timer is gone or no longer held by {@code owner}
+     */
+    public Optional<Integer> retry(String timerType, String timerKey, String owner, LocalDateTime retryAt) {
+        return jdbcTemplate.query("""
+                                UPDATE scheduled_timers SET due_at = :retryAt, attempts = attempts + 1
+                                WHERE timer_type = :timerType AND timer_key = :timerKey AND lease_owner = :owner
+                                RETURNING attempts
+                                """,
+                        new MapSqlParameterSource()
+                                .addValue("timerType", timerType)
+                                .addValue("timerKey", timerKey)
+                                .addValue("owner", owner)
+                                .addValue("retryAt", Timestamp.valueOf(retryAt)),
+                        (rs, rowNum) -> rs.getInt("attempts"))
+                .stream()
+                .findFirst();
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+}
@@ -1,6 +1,7 @@
 // src/main/java/com/protomil/core/user/events/UserStatusEventListener.java
 package com.protomil.core.user.events;
 
+import com.protomil.core.shared.async.AsyncExecutors;
 import com.protomil.core.user.service.UserStatusSyncService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
@@ -18,7 +19,7 @@ public class UserStatusEventListener {
     }
 
     @EventListener
-    @Async
+    @Async(AsyncExecutors.USER_SYNC)
     public void handleUserStatusChanged(UserStatusChangedEvent event) {
         log.info("Processing user status change event for user: {} from {} to {}",
                 event.getUser().getEmail(), event.getPreviousStatus(), event.getNewStatus());
@@ -36,7 +37,7 @@ public class UserStatusEventListener {
     }
 
     @EventListener
-    @Async
+    @Async(AsyncExecutors.USER_SYNC)
     public void handleUserApproved(UserApprovedEvent event) {
         log.info("Processing user approved event for user: {}", event.getUser().getEmail());
 
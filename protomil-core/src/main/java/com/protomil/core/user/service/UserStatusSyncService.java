@@ -2,6 +2,7 @@
 package com.protomil.core.user.service;
 
 import com.protomil.core.config.CognitoProperties;
+import com.protomil.core.shared.async.AsyncExecutors;
 import com.protomil.core.shared.domain.enums.UserStatus;
 import com.protomil.core.shared.exception.ExternalServiceException;
 import com.protomil.core.shared.logging.LogExecutionTime;
@@ -148,7 +149,7 @@ public class UserStatusSyncService {
     }
 
     @LogExecutionTime
-    @Async
+    @Async(AsyncExecutors.USER_SYNC)
     public void syncUserStatusFromCognito(String email) {
         log.debug("Syncing user status from Cognito to local DB for: {}", email);
 
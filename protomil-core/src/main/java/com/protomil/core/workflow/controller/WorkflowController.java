@@ -0,0 +1,135 @@
+package com.protomil.core.workflow.controller;
+
+import com.protomil.core.shared.dto.ApiResponse;
+import com.protomil.core.shared.exception.ResourceNotFoundException;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import com.protomil.core.workflow.dto.WorkflowInstanceResponse;
+import com.protomil.core.workflow.dto.WorkflowRequest;
+import com.protomil.core.workflow.dto.WorkflowResponse;
+import com.protomil.core.workflow.service.WorkflowExecutionService;
+import com.protomil.core.workflow.service.WorkflowService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/workflows")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Workflows", description = "APIs for defining workflows and following entities through them")
+public class WorkflowController {
+
+    private final WorkflowService workflowService;
+    private final WorkflowExecutionService executionService;
+
+    @PostMapping
+    @Operation(summary = "Create a workflow version",
+            description = "Defines the allowed transitions between an entity's states. Definitions cannot be "
+                    + "changed afterwards; a changed lifecycle is a new version.")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "201",
+                    description = "Workflow created successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = WorkflowResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Unknown entity type or state, duplicate version or inconsistent steps",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            )
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<WorkflowResponse>> createWorkflow(@Valid @RequestBody WorkflowRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(respond("Workflow created successfully", workflowService.createWorkflow(request)));
+    }
+
+    @GetMapping
+    @Operation(summary = "List workflows", description = "All workflow versions, optionally of one entity type")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<List<WorkflowResponse>>> getWorkflows(
+            @RequestParam(required = false) @Parameter(description = "Entity type", example = "JOB_CARD")
+            String entityType) {
+
+        return ResponseEntity.ok(respond("Workflows retrieved successfully", workflowService.getWorkflows(entityType)));
+    }
+
+    @GetMapping("/{workflowId}")
+    @Operation(summary = "Get a workflow")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<WorkflowResponse>> getWorkflow(
+            @PathVariable @Parameter(description = "Workflow ID") UUID workflowId) {
+
+        return ResponseEntity.ok(respond("Workflow retrieved successfully", workflowService.getWorkflow(workflowId)));
+    }
+
+    @PutMapping("/{workflowId}/active")
+    @Operation(summary = "Activate or deactivate a workflow",
+            description = "Entities already bound to an inactive workflow keep following it")
+    @PreAuthorize("hasRole('ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<WorkflowResponse>> setActive(
+            @PathVariable @Parameter(description = "Workflow ID") UUID workflowId,
+            @RequestParam @Parameter(description = "Whether the workflow is active") boolean active) {
+
+        return ResponseEntity.ok(respond(active ? "Workflow activated successfully" : "Workflow deactivated successfully",
+                workflowService.setActive(workflowId, active)));
+    }
+
+    @PutMapping("/{workflowId}/default")
+    @Operation(summary = "Make a workflow the default",
+            description = "Entities of its type without a workflow of their own follow it from their next step")
+    @PreAuthorize("hasRole('ADMIN')")
+    @LogExecutionTime
+    public ResponseEntity<ApiResponse<WorkflowResponse>> makeDefault(
+            @PathVariable @Parameter(description = "Workflow ID") UUID workflowId) {
+
+        return ResponseEntity.ok(respond("Default workflow set successfully", workflowService.makeDefault(workflowId)));
+    }
+
+    @GetMapping("/instances")
+    @Operation(summary = "Get a workflow instance", description = "An entity's progress through its workflow")
+    @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<WorkflowInstanceResponse>> getInstance(
+            @RequestParam @Parameter(description = "Entity type", example = "JOB_CARD") String entityType,
+            @RequestParam @Parameter(description = "Entity ID", example = "42") String entityId) {
+
+        WorkflowInstanceResponse instance = executionService.getInstance(entityType, entityId)
+                .orElseThrow(() -> ResourceNotFoundException.forResource("Workflow instance",
+                        entityType + " " + entityId));
+        return ResponseEntity.ok(respond("Workflow instance retrieved successfully", instance));
+    }
+
+    private <T> ApiResponse<T> respond(String message, T data) {
+        return ApiResponse.<T>builder()
+                .success(true)
+                .message(message)
+                .data(data)
+                .build();
+    }
+}
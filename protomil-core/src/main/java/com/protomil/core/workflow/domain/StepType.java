@@ -0,0 +1,8 @@
+package com.protomil.core.workflow.domain;
+
+public enum StepType {
+    APPROVAL,
+    TASK,
+    NOTIFICATION,
+    CONDITION
+}
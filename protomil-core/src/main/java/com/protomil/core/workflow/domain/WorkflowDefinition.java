@@ -0,0 +1,63 @@
+package com.protomil.core.workflow.domain;
+
+import com.protomil.core.shared.domain.AuditableEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A versioned state machine over the states of one entity type. Definitions are immutable once
+ * created, so instances bound to one keep following the steps they started with; a changed lifecycle
+ * is a new definition version.
+ */
+@Entity
+@Table(name = "workflows", indexes = {
+        @Index(name = "idx_workflows_name", columnList = "name"),
+        @Index(name = "idx_workflows_active", columnList = "is_active")
+})
+@Data
+@EqualsAndHashCode(callSuper = true, exclude = "steps")
+@ToString(exclude = "steps")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorkflowDefinition extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "name", nullable = false, length = 200)
+    private String name;
+
+    @Column(name = "description", columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "definition_version", nullable = false, length = 20)
+    private String definitionVersion;
+
+    @Column(name = "entity_type", nullable = false, length = 50)
+    private String entityType;
+
+    @Column(name = "is_active")
+    @Builder.Default
+    private Boolean isActive = true;
+
+    @Column(name = "is_default", nullable = false)
+    @Builder.Default
+    private Boolean isDefault = false;
+
+    @OneToMany(mappedBy = "workflow", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @OrderBy("stepNumber ASC")
+    @Builder.Default
+    private List<WorkflowStep> steps = new ArrayList<>();
+}
@@ -0,0 +1,67 @@
+package com.protomil.core.workflow.domain;
+
+import com.protomil.core.shared.domain.AuditableEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The progress of one entity through the workflow it was bound to on its first step. Written by
+ * {@link com.protomil.core.workflow.service.WorkflowExecutionService} with a version check, so two
+ * transitions planned against the same instance version cannot both be recorded.
+ */
+@Entity
+@Table(name = "workflow_instances", indexes = {
+        @Index(name = "idx_workflow_instances_workflow", columnList = "workflow_id, status")
+})
+@Data
+@EqualsAndHashCode(callSuper = true, exclude = "workflow")
+@ToString(exclude = "workflow")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorkflowInstance extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id")
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "workflow_id", nullable = false)
+    private WorkflowDefinition workflow;
+
+    @Column(name = "entity_type", nullable = false, length = 50)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false, length = 100)
+    private String entityId;
+
+    @Column(name = "current_state", nullable = false, length = 50)
+    private String currentState;
+
+    @Column(name = "last_step_number")
+    private Integer lastStepNumber;
+
+    @Column(name = "transition_count", nullable = false)
+    @Builder.Default
+    private Integer transitionCount = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private WorkflowInstanceStatus status = WorkflowInstanceStatus.ACTIVE;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
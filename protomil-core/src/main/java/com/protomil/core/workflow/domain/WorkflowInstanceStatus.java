@@ -0,0 +1,7 @@
+package com.protomil.core.workflow.domain;
+
+public enum WorkflowInstanceStatus {
+    ACTIVE,
+    // The entity reached a state with no outgoing steps
+    COMPLETED
+}
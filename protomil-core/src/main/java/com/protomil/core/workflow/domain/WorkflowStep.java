@@ -0,0 +1,63 @@
+package com.protomil.core.workflow.domain;
+
+import com.protomil.core.shared.domain.AuditableEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * One allowed transition of a workflow, from one entity state to another. Only holders of the
+ * required role may take it; an auto-approved step is taken by the engine as soon as its from-state
+ * is reached.
+ */
+@Entity
+@Table(name = "workflow_steps", indexes = {
+        @Index(name = "idx_workflow_steps_workflow", columnList = "workflow_id")
+})
+@Data
+@EqualsAndHashCode(callSuper = true, exclude = "workflow")
+@ToString(exclude = "workflow")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorkflowStep extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id")
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "workflow_id", nullable = false)
+    private WorkflowDefinition workflow;
+
+    @Column(name = "step_number", nullable = false)
+    private Integer stepNumber;
+
+    @Column(name = "step_name", nullable = false, length = 200)
+    private String stepName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "step_type", nullable = false, length = 50)
+    private StepType stepType;
+
+    @Column(name = "from_state", length = 50)
+    private String fromState;
+
+    @Column(name = "to_state", length = 50)
+    private String toState;
+
+    // Without ROLE_ prefix, e.g. SUPERVISOR; anyone may take the step when null
+    @Column(name = "required_role", length = 100)
+    private String requiredRole;
+
+    @Column(name = "auto_approve")
+    @Builder.Default
+    private Boolean autoApprove = false;
+}
@@ -0,0 +1,52 @@
+package com.protomil.core.workflow.dto;
+
+import com.protomil.core.workflow.domain.WorkflowInstanceStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "An entity's progress through the workflow it is bound to")
+public class WorkflowInstanceResponse {
+
+    @Schema(description = "Instance ID")
+    private UUID id;
+
+    @Schema(description = "Workflow ID")
+    private UUID workflowId;
+
+    @Schema(description = "Workflow name")
+    private String workflowName;
+
+    @Schema(description = "Entity type", example = "JOB_CARD")
+    private String entityType;
+
+    @Schema(description = "Entity ID", example = "42")
+    private String entityId;
+
+    @Schema(description = "State after the last step taken through the workflow", example = "IN_PROGRESS")
+    private String currentState;
+
+    @Schema(description = "Number of the last step taken")
+    private Integer lastStepNumber;
+
+    @Schema(description = "Steps taken, including auto-approved ones")
+    private Integer transitionCount;
+
+    private WorkflowInstanceStatus status;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+
+    @Schema(description = "Instance version")
+    private Long version;
+}
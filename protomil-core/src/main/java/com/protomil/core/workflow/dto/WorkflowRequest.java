@@ -0,0 +1,82 @@
+package com.protomil.core.workflow.dto;
+
+import com.protomil.core.workflow.domain.StepType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request to define a workflow version: the transitions allowed between an entity's states")
+public class WorkflowRequest {
+
+    @NotBlank(message = "Workflow name is required")
+    @Size(max = 200, message = "Workflow name must not exceed 200 characters")
+    @Schema(description = "Workflow name", example = "Inspected Machining")
+    private String name;
+
+    @Schema(description = "Workflow description")
+    private String description;
+
+    @NotBlank(message = "Workflow version is required")
+    @Size(max = 20, message = "Workflow version must not exceed 20 characters")
+    @Schema(description = "Version label, unique per name", example = "1.0")
+    private String definitionVersion;
+
+    @NotBlank(message = "Entity type is required")
+    @Schema(description = "Entity type the workflow drives", example = "JOB_CARD")
+    private String entityType;
+
+    @NotEmpty(message = "At least one step is required")
+    @Valid
+    private List<Step> steps;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Schema(description = "An allowed transition from one state to another")
+    public static class Step {
+
+        @NotNull(message = "Step number is required")
+        @Positive(message = "Step number must be positive")
+        @Schema(description = "Step number, unique within the workflow", example = "1")
+        private Integer stepNumber;
+
+        @NotBlank(message = "Step name is required")
+        @Size(max = 200, message = "Step name must not exceed 200 characters")
+        @Schema(description = "Step name", example = "Quality approval")
+        private String stepName;
+
+        @NotNull(message = "Step type is required")
+        @Schema(description = "Step type", example = "APPROVAL")
+        private StepType stepType;
+
+        @NotBlank(message = "From state is required")
+        @Schema(description = "State the step leaves", example = "PENDING_REVIEW")
+        private String fromState;
+
+        @NotBlank(message = "To state is required")
+        @Schema(description = "State the step enters", example = "COMPLETED")
+        private String toState;
+
+        @Size(max = 100, message = "Required role must not exceed 100 characters")
+        @Schema(description = "Role needed to take the step; anyone may when empty", example = "SUPERVISOR")
+        private String requiredRole;
+
+        @Schema(description = "Take the step automatically as soon as the from state is reached")
+        private Boolean autoApprove;
+    }
+}
@@ -0,0 +1,70 @@
+package com.protomil.core.workflow.dto;
+
+import com.protomil.core.workflow.domain.StepType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "A workflow version and its steps")
+public class WorkflowResponse {
+
+    @Schema(description = "Workflow ID")
+    private UUID id;
+
+    @Schema(description = "Workflow name")
+    private String name;
+
+    @Schema(description = "Workflow description")
+    private String description;
+
+    @Schema(description = "Version label", example = "1.0")
+    private String definitionVersion;
+
+    @Schema(description = "Entity type the workflow drives", example = "JOB_CARD")
+    private String entityType;
+
+    @Schema(description = "Whether new bindings to the workflow are allowed")
+    private Boolean isActive;
+
+    @Schema(description = "Whether entities without a workflow of their own follow this one")
+    private Boolean isDefault;
+
+    @Schema(description = "States no step leaves")
+    private List<String> terminalStates;
+
+    private List<Step> steps;
+
+    private LocalDateTime createdAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Schema(description = "An allowed transition from one state to another")
+    public static class Step {
+
+        private Integer stepNumber;
+
+        private String stepName;
+
+        private StepType stepType;
+
+        private String fromState;
+
+        private String toState;
+
+        private String requiredRole;
+
+        private Boolean autoApprove;
+    }
+}
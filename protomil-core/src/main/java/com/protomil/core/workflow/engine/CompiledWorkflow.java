@@ -0,0 +1,201 @@
+package com.protomil.core.workflow.engine;
+
+import com.protomil.core.shared.exception.BusinessException;
+import com.protomil.core.workflow.domain.StepType;
+import com.protomil.core.workflow.domain.WorkflowDefinition;
+import com.protomil.core.workflow.domain.WorkflowStep;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiPredicate;
+
+/**
+ * A workflow definition compiled into arrays indexed by state ordinal. Built once per definition and
+ * never modified, so lookups need no locking: a transition check is one array read, and the allowed
+ * predecessors of a state are precomputed for conditional updates.
+ */
+public final class CompiledWorkflow<S extends Enum<S>> {
+
+    private final UUID id;
+    private final String name;
+    private final Class<S> stateType;
+    private final int stateCount;
+    // [from * stateCount + to]; null where the workflow has no such step
+    private final WorkflowTransition<S>[] transitions;
+    // By target ordinal
+    private final List<Set<S>> predecessors;
+    // By from ordinal; the step the engine takes on its own once the state is reached
+    private final WorkflowTransition<S>[] autoApprovals;
+    private final boolean[] terminal;
+
+    @SuppressWarnings("unchecked")
+    private CompiledWorkflow(UUID id, String name, Class<S> stateType, List<WorkflowTransition<S>> steps) {
+        S[] states = stateType.getEnumConstants();
+        this.id = id;
+        this.name = name;
+        this.stateType = stateType;
+        this.stateCount = states.length;
+        this.transitions = new WorkflowTransition[stateCount * stateCount];
+        this.autoApprovals = new WorkflowTransition[stateCount];
+        this.terminal = new boolean[stateCount];
+
+        List<EnumSet<S>> predecessorSets = new ArrayList<>(stateCount);
+        for (int i = 0; i < stateCount; i++) {
+            predecessorSets.add(EnumSet.noneOf(stateType));
+        }
+        boolean[] hasOutgoing = new boolean[stateCount];
+
+        for (WorkflowTransition<S> step : steps) {
+            int index = step.from().ordinal() * stateCount + step.to().ordinal();
+            if (transitions[index] != null) {
+                throw new BusinessException(String.format("Workflow '%s' has more than one step from %s to %s",
+                        name, step.from(), step.to()));
+            }
+            transitions[index] = step;
+            predecessorSets.get(step.to().ordinal()).add(step.from());
+            hasOutgoing[step.from().ordinal()] = true;
+
+            if (step.autoApprove()) {
+                if (autoApprovals[step.from().ordinal()] != null) {
+                    throw new BusinessException(String.format(
+                            "Workflow '%s' has more than one auto-approved step from %s", name, step.from()));
+                }
+                autoApprovals[step.from().ordinal()] = step;
+            }
+        }
+
+        List<Set<S>> unmodifiable = new ArrayList<>(stateCount);
+        for (int i = 0; i < stateCount; i++) {
+            unmodifiable.add(Collections.unmodifiableSet(predecessorSets.get(i)));
+            terminal[i] = !hasOutgoing[i];
+        }
+        this.predecessors = List.copyOf(unmodifiable);
+
+        rejectAutoApprovalCycles(states);
+    }
+
+    /**
+     * Compiles a stored definition; fails with a {@link BusinessException} naming the offending step
+     * when a state is unknown or the steps are inconsistent.
+     */
+    public static <S extends Enum<S>> CompiledWorkflow<S> compile(WorkflowDefinition definition, Class<S> stateType) {
+        if (definition.getSteps().isEmpty()) {
+            throw new BusinessException(String.format("Workflow '%s' has no steps", definition.getName()));
+        }
+
+        List<WorkflowTransition<S>> steps = new ArrayList<>(definition.getSteps().size());
+        for (WorkflowStep step : definition.getSteps()) {
+            S from = state(definition, step, step.getFromState(), stateType);
+            S to = state(definition, step, step.getToState(), stateType);
+            if (from == to) {
+                throw new BusinessException(String.format("Workflow '%s' step %d leads from %s to itself",
+                        definition.getName(), step.getStepNumber(), from));
+            }
+            steps.add(new WorkflowTransition<>(step.getStepNumber(), step.getStepName(), step.getStepType(), from, to,
+                    step.getRequiredRole(), Boolean.TRUE.equals(step.getAutoApprove())));
+        }
+        return new CompiledWorkflow<>(definition.getId(), definition.getName(), stateType, steps);
+    }
+
+    /**
+     * Compiles an entity type's built-in lifecycle; its steps are numbered in state order and carry no
+     * role guards.
+     */
+    public static <S extends Enum<S>> CompiledWorkflow<S> builtIn(String name, Class<S> stateType,
+                                                                  BiPredicate<S, S> allowed) {
+        List<WorkflowTransition<S>> steps = new ArrayList<>();
+        for (S from : stateType.getEnumConstants()) {
+            for (S to : stateType.getEnumConstants()) {
+                if (from != to && allowed.test(from, to)) {
+                    steps.add(new WorkflowTransition<>(steps.size() + 1, from + " to " + to, StepType.TASK, from, to,
+                            null, false));
+                }
+            }
+        }
+        return new CompiledWorkflow<>(null, name, stateType, steps);
+    }
+
+    /**
+     * @return the step from {@code from} to {@code to}, or null if the workflow has none
+     */
+    public WorkflowTransition<S> transition(S from, S to) {
+        return transitions[from.ordinal() * stateCount + to.ordinal()];
+    }
+
+    public Set<S> predecessors(S target) {
+        return predecessors.get(target.ordinal());
+    }
+
+    /**
+     * @return the auto-approved step out of {@code state}, or null
+     */
+    public WorkflowTransition<S> autoApproval(S state) {
+        return autoApprovals[state.ordinal()];
+    }
+
+    public boolean isTerminal(S state) {
+        return terminal[state.ordinal()];
+    }
+
+    public List<WorkflowTransition<S>> transitionsFrom(S from) {
+        List<WorkflowTransition<S>> result = new ArrayList<>();
+        int base = from.ordinal() * stateCount;
+        for (int to = 0; to < stateCount; to++) {
+            if (transitions[base + to] != null) {
+                result.add(transitions[base + to]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the definition id, or null for a built-in lifecycle
+     */
+    public UUID getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<S> getStateType() {
+        return stateType;
+    }
+
+    public boolean isBuiltIn() {
+        return id == null;
+    }
+
+    private void rejectAutoApprovalCycles(S[] states) {
+        for (S start : states) {
+            S state = start;
+            // A chain longer than the number of states must revisit one
+            for (int hops = 0; autoApprovals[state.ordinal()] != null; hops++) {
+                if (hops == stateCount) {
+                    throw new BusinessException(String.format(
+                            "Workflow '%s' auto-approves in a cycle through %s", name, start));
+                }
+                state = autoApprovals[state.ordinal()].to();
+            }
+        }
+    }
+
+    private static <S extends Enum<S>> S state(WorkflowDefinition definition, WorkflowStep step, String value,
+                                               Class<S> stateType) {
+        if (value == null) {
+            throw new BusinessException(String.format("Workflow '%s' step %d has no from or to state",
+                    definition.getName(), step.getStepNumber()));
+        }
+        try {
+            return Enum.valueOf(stateType, value);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(String.format("Workflow '%s' step %d has unknown state '%s'",
+                    definition.getName(), step.getStepNumber(), value));
+        }
+    }
+}
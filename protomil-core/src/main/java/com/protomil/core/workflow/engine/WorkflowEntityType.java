@@ -0,0 +1,14 @@
+package com.protomil.core.workflow.engine;
+
+import java.util.function.BiPredicate;
+
+/**
+ * An entity type that workflows can drive, registered as a bean by the module that owns the entity.
+ * {@code builtInTransitions} is the lifecycle used when no default workflow is defined for the type.
+ */
+public record WorkflowEntityType<S extends Enum<S>>(
+        String name,
+        Class<S> stateType,
+        BiPredicate<S, S> builtInTransitions
+) {
+}
@@ -0,0 +1,33 @@
+package com.protomil.core.workflow.engine;
+
+import com.protomil.core.workflow.domain.StepType;
+
+import java.util.Collection;
+
+/**
+ * A compiled workflow step. The role guard is a plain string comparison against the actor's roles;
+ * ADMIN may take any step.
+ */
+public record WorkflowTransition<S extends Enum<S>>(
+        int stepNumber,
+        String stepName,
+        StepType stepType,
+        S from,
+        S to,
+        String requiredRole,
+        boolean autoApprove
+) {
+
+    private static final String ADMIN_ROLE = "ADMIN";
+
+    /**
+     * @param roles the actor's roles, with or without the {@code ROLE_} prefix
+     */
+    public boolean permits(Collection<String> roles) {
+        if (requiredRole == null) {
+            return true;
+        }
+        return roles.contains(requiredRole) || roles.contains("ROLE_" + requiredRole)
+                || roles.contains(ADMIN_ROLE) || roles.contains("ROLE_" + ADMIN_ROLE);
+    }
+}
@@ -0,0 +1,16 @@
+package com.protomil.core.workflow.events;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Published when an entity reaches a state its workflow has no step out of.
+ */
+public record WorkflowCompletedEvent(
+        UUID workflowId,
+        String entityType,
+        String entityId,
+        String finalState,
+        Instant occurredAt
+) {
+}
@@ -0,0 +1,27 @@
+package com.protomil.core.workflow.repository;
+
+import com.protomil.core.workflow.domain.WorkflowDefinition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface WorkflowDefinitionRepository extends JpaRepository<WorkflowDefinition, UUID> {
+
+    /** The definition with its steps in step order, for compiling. */
+    @Query("SELECT DISTINCT w FROM WorkflowDefinition w LEFT JOIN FETCH w.steps WHERE w.id = :id")
+    Optional<WorkflowDefinition> findWithStepsById(@Param("id") UUID id);
+
+    List<WorkflowDefinition> findByEntityTypeOrderByNameAscCreatedAtDesc(String entityType);
+
+    List<WorkflowDefinition> findByIsDefaultTrue();
+
+    Optional<WorkflowDefinition> findByEntityTypeAndIsDefaultTrue(String entityType);
+
+    boolean existsByNameAndDefinitionVersion(String name, String definitionVersion);
+}
@@ -0,0 +1,16 @@
+package com.protomil.core.workflow.repository;
+
+import com.protomil.core.workflow.domain.WorkflowInstance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface WorkflowInstanceRepository extends JpaRepository<WorkflowInstance, UUID> {
+
+    Optional<WorkflowInstance> findByEntityTypeAndEntityId(String entityType, String entityId);
+
+    boolean existsByWorkflowId(UUID workflowId);
+}
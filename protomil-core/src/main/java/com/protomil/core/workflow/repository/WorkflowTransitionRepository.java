@@ -0,0 +1,86 @@
+package com.protomil.core.workflow.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records workflow steps on their instances as one batched upsert. The update only applies while the
+ * instance still has the version the step was planned against, and a new instance only inserts while
+ * no row exists; either way a concurrent writer leaves the statement with no affected row.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WorkflowTransitionRepository {
+
+    /**
+     * @param expectedVersion the instance version the step was planned against, or null when the entity
+     *                        has no instance yet
+     * @param steps           steps taken, counting auto-approved ones
+     */
+    public record InstanceStep(
+            UUID workflowId,
+            String entityType,
+            String entityId,
+            Long expectedVersion,
+            String state,
+            int stepNumber,
+            int steps,
+            boolean completed,
+            UUID actor
+    ) {
+    }
+
+    private static final String RECORD_SQL = """
+            INSERT INTO workflow_instances (workflow_id, entity_type, entity_id, current_state, last_step_number,
+                                            transition_count, status, started_at, completed_at, created_by, updated_by)
+            VALUES (:workflowId, :entityType, :entityId, :state, :stepNumber, :steps, :status, :now,
+                    :completedAt, :actor, :actor)
+            ON CONFLICT (entity_type, entity_id) DO UPDATE SET
+                current_state = EXCLUDED.current_state,
+                last_step_number = EXCLUDED.last_step_number,
+                transition_count = workflow_instances.transition_count + EXCLUDED.transition_count,
+                status = EXCLUDED.status,
+                completed_at = EXCLUDED.completed_at,
+                updated_by = EXCLUDED.updated_by,
+                version = workflow_instances.version + 1
+            WHERE workflow_instances.version = :expectedVersion
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * @return affected rows per step, in order; 0 where the instance changed since it was read
+     */
+    public int[] record(List<InstanceStep> steps) {
+        if (steps.isEmpty()) {
+            return new int[0];
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        SqlParameterSource[] batch = steps.stream()
+                .map(step -> new MapSqlParameterSource()
+                        .addValue("workflowId", step.workflowId(), Types.OTHER)
+                        .addValue("entityType", step.entityType(), Types.VARCHAR)
+                        .addValue("entityId", step.entityId(), Types.VARCHAR)
+                        .addValue("expectedVersion", step.expectedVersion(), Types.BIGINT)
+                        .addValue("state", step.state(), Types.VARCHAR)
+                        .addValue("stepNumber", step.stepNumber(), Types.INTEGER)
+                        .addValue("steps", step.steps(), Types.INTEGER)
+                        .addValue("status", step.completed() ? "COMPLETED" : "ACTIVE", Types.VARCHAR)
+                        .addValue("completedAt", step.completed() ? now : null, Types.TIMESTAMP)
+                        .addValue("actor", step.actor(), Types.OTHER)
+                        .addValue("now", now, Types.TIMESTAMP))
+                .toArray(SqlParameterSource[]::new);
+
+        return jdbcTemplate.batchUpdate(RECORD_SQL, batch);
+    }
+}
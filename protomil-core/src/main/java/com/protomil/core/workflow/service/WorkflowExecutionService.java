@@ -0,0 +1,177 @@
+package com.protomil.core.workflow.service;
+
+import com.protomil.core.shared.exception.AuthorizationException;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import com.protomil.core.workflow.domain.WorkflowInstance;
+import com.protomil.core.workflow.dto.WorkflowInstanceResponse;
+import com.protomil.core.workflow.engine.CompiledWorkflow;
+import com.protomil.core.workflow.engine.WorkflowTransition;
+import com.protomil.core.workflow.events.WorkflowCompletedEvent;
+import com.protomil.core.workflow.repository.WorkflowInstanceRepository;
+import com.protomil.core.workflow.repository.WorkflowTransitionRepository;
+import com.protomil.core.workflow.repository.WorkflowTransitionRepository.InstanceStep;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Runs entities through their compiled workflows. The owning module checks a step against the
+ * workflow and moves its entity row; this service guards the step's role, works out the auto-approved
+ * steps that follow, and records the result on the entity's workflow instance with a version check.
+ */
+@Service
+@Slf4j
+public class WorkflowExecutionService {
+
+    /**
+     * A step checked against an entity's workflow, with the auto-approved steps that follow it.
+     *
+     * @param instanceVersion the version of the entity's instance when it was read, or null if it has none
+     */
+    public record PlannedStep<S extends Enum<S>>(
+            CompiledWorkflow<S> workflow,
+            String entityType,
+            String entityId,
+            Long instanceVersion,
+            WorkflowTransition<S> transition,
+            List<WorkflowTransition<S>> autoApprovals
+    ) {
+
+        public WorkflowTransition<S> lastTransition() {
+            return autoApprovals.isEmpty() ? transition : autoApprovals.get(autoApprovals.size() - 1);
+        }
+
+        public S finalState() {
+            return lastTransition().to();
+        }
+
+        public int stepCount() {
+            return 1 + autoApprovals.size();
+        }
+    }
+
+    private final WorkflowInstanceRepository instanceRepository;
+    private final WorkflowTransitionRepository transitionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter transitionCounter;
+    private final Counter conflictCounter;
+
+    public WorkflowExecutionService(WorkflowInstanceRepository instanceRepository,
+                                    WorkflowTransitionRepository transitionRepository,
+                                    ApplicationEventPublisher eventPublisher,
+                                    MeterRegistry meterRegistry) {
+        this.instanceRepository = instanceRepository;
+        this.transitionRepository = transitionRepository;
+        this.eventPublisher = eventPublisher;
+
+        this.transitionCounter = Counter.builder("protomil.workflow.transitions")
+                .description("Workflow steps recorded, including auto-approved ones")
+                .register(meterRegistry);
+        this.conflictCounter = Counter.builder("protomil.workflow.conflicts")
+                .description("Workflow steps rejected because the instance changed since it was read")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Guards {@code transition} against the actor's roles and adds the auto-approved steps reached
+     * from its target.
+     *
+     * @param roles the actor's roles, e.g. from {@code SecurityUtils.getCurrentUserRoles()}
+     */
+    public <S extends Enum<S>> PlannedStep<S> plan(CompiledWorkflow<S> workflow, String entityType, String entityId,
+                                                   Long instanceVersion, WorkflowTransition<S> transition,
+                                                   Collection<String> roles) {
+        if (!transition.permits(roles)) {
+            throw new AuthorizationException(String.format("Step '%s' of workflow '%s' requires role %s",
+                    transition.stepName(), workflow.getName(), transition.requiredRole()), entityType);
+        }
+
+        List<WorkflowTransition<S>> autoApprovals = new ArrayList<>(0);
+        // Compilation rejects auto-approval cycles, so the chain ends
+        for (WorkflowTransition<S> next = workflow.autoApproval(transition.to()); next != null;
+             next = workflow.autoApproval(next.to())) {
+            autoApprovals.add(next);
+        }
+        return new PlannedStep<>(workflow, entityType, entityId, instanceVersion, transition, List.copyOf(autoApprovals));
+    }
+
+    /**
+     * Records steps whose entity rows have moved, as one batch, in the caller's transaction. Steps of
+     * built-in lifecycles have no instance to record.
+     *
+     * @throws OptimisticLockingFailureException if an instance changed since its step was planned
+     */
+    public void record(List<? extends PlannedStep<?>> steps, UUID actor) {
+        List<PlannedStep<?>> recorded = new ArrayList<>(steps.size());
+        List<InstanceStep> instanceSteps = new ArrayList<>(steps.size());
+        for (PlannedStep<?> step : steps) {
+            if (!step.workflow().isBuiltIn()) {
+                recorded.add(step);
+                instanceSteps.add(toInstanceStep(step, actor));
+            }
+        }
+
+        int[] counts = transitionRepository.record(instanceSteps);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                conflictCounter.increment();
+                PlannedStep<?> step = recorded.get(i);
+                throw new OptimisticLockingFailureException(String.format(
+                        "Workflow instance of %s %s was modified concurrently", step.entityType(), step.entityId()));
+            }
+        }
+
+        Instant now = Instant.now();
+        for (PlannedStep<?> step : recorded) {
+            if (isCompleted(step)) {
+                eventPublisher.publishEvent(new WorkflowCompletedEvent(step.workflow().getId(), step.entityType(),
+                        step.entityId(), step.finalState().name(), now));
+            }
+        }
+        transitionCounter.increment(steps.stream().mapToInt(PlannedStep::stepCount).sum());
+    }
+
+    @Transactional(readOnly = true)
+    @LogExecutionTime
+    public Optional<WorkflowInstanceResponse> getInstance(String entityType, String entityId) {
+        return instanceRepository.findByEntityTypeAndEntityId(entityType, entityId).map(this::toResponse);
+    }
+
+    private static <S extends Enum<S>> InstanceStep toInstanceStep(PlannedStep<S> step, UUID actor) {
+        return new InstanceStep(step.workflow().getId(), step.entityType(), step.entityId(), step.instanceVersion(),
+                step.finalState().name(), step.lastTransition().stepNumber(), step.stepCount(), isCompleted(step),
+                actor);
+    }
+
+    private static <S extends Enum<S>> boolean isCompleted(PlannedStep<S> step) {
+        return step.workflow().isTerminal(step.finalState());
+    }
+
+    private WorkflowInstanceResponse toResponse(WorkflowInstance instance) {
+        return WorkflowInstanceResponse.builder()
+                .id(instance.getId())
+                .workflowId(instance.getWorkflow().getId())
+                .workflowName(instance.getWorkflow().getName())
+                .entityType(instance.getEntityType())
+                .entityId(instance.getEntityId())
+                .currentState(instance.getCurrentState())
+                .lastStepNumber(instance.getLastStepNumber())
+                .transitionCount(instance.getTransitionCount())
+                .status(instance.getStatus())
+                .startedAt(instance.getStartedAt())
+                .completedAt(instance.getCompletedAt())
+                .version(instance.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,312 @@
+package com.protomil.core.workflow.service;
+
+import com.protomil.core.shared.exception.BusinessException;
+import com.protomil.core.shared.exception.ResourceNotFoundException;
+import com.protomil.core.shared.logging.LogExecutionTime;
+import com.protomil.core.workflow.domain.WorkflowDefinition;
+import com.protomil.core.workflow.domain.WorkflowStep;
+import com.protomil.core.workflow.dto.WorkflowRequest;
+import com.protomil.core.workflow.dto.WorkflowResponse;
+import com.protomil.core.workflow.engine.CompiledWorkflow;
+import com.protomil.core.workflow.engine.WorkflowEntityType;
+import com.protomil.core.workflow.repository.WorkflowDefinitionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Workflow definitions and their compiled form. A definition is compiled the first time an entity
+ * needs it and the result is kept for the life of the process; definitions never change after
+ * creation, so the cache needs no invalidation. Only which workflow is the default for an entity type
+ * can change, and that mapping is reloaded after the change commits.
+ */
+@Service
+@Slf4j
+public class WorkflowService {
+
+    private final WorkflowDefinitionRepository definitionRepository;
+    private final Map<String, WorkflowEntityType<?>> entityTypes;
+    private final Map<String, CompiledWorkflow<?>> builtIns;
+    private final Map<UUID, CompiledWorkflow<?>> compiled = new ConcurrentHashMap<>();
+    private final Timer compileTimer;
+    private volatile Map<String, UUID> defaults;
+
+    public WorkflowService(WorkflowDefinitionRepository definitionRepository,
+                           List<WorkflowEntityType<?>> entityTypes,
+                           MeterRegistry meterRegistry) {
+        this.definitionRepository = definitionRepository;
+        this.entityTypes = entityTypes.stream()
+                .collect(Collectors.toUnmodifiableMap(WorkflowEntityType::name, type -> type));
+        this.builtIns = entityTypes.stream()
+                .collect(Collectors.toUnmodifiableMap(WorkflowEntityType::name, WorkflowService::compileBuiltIn));
+
+        this.compileTimer = Timer.builder("protomil.workflow.compile")
+                .description("Workflow definitions compiled into transition tables")
+                .register(meterRegistry);
+        Gauge.builder("protomil.workflow.compiled", compiled, Map::size)
+                .description("Compiled workflow definitions held in memory")
+                .register(meterRegistry);
+    }
+
+    @Transactional
+    @LogExecutionTime
+    public WorkflowResponse createWorkflow(WorkflowRequest request) {
+        WorkflowEntityType<?> entityType = entityType(request.getEntityType());
+        if (definitionRepository.existsByNameAndDefinitionVersion(request.getName(), request.getDefinitionVersion())) {
+            throw new BusinessException(String.format("Workflow '%s' version %s already exists",
+                    request.getName(), request.getDefinitionVersion()));
+        }
+        Set<Integer> stepNumbers = request.getSteps().stream()
+                .map(WorkflowRequest.Step::getStepNumber)
+                .collect(Collectors.toSet());
+        if (stepNumbers.size() != request.getSteps().size()) {
+            throw new BusinessException("Step numbers must be unique within a workflow");
+        }
+
+        WorkflowDefinition definition = WorkflowDefinition.builder()
+                .name(request.getName())
+                .description(request.getDescription())
+                .definitionVersion(request.getDefinitionVersion())
+                .entityType(entityType.name())
+                .isActive(true)
+                .isDefault(false)
+                .build();
+        request.getSteps().stream()
+                .sorted((a, b) -> Integer.compare(a.getStepNumber(), b.getStepNumber()))
+                .forEach(step -> definition.getSteps().add(WorkflowStep.builder()
+                        .workflow(definition)
+                        .stepNumber(step.getStepNumber())
+                        .stepName(step.getStepName())
+                        .stepType(step.getStepType())
+                        .fromState(step.getFromState())
+                        .toState(step.getToState())
+                        .requiredRole(step.getRequiredRole() != null && !step.getRequiredRole().isBlank()
+                                ? step.getRequiredRole().trim() : null)
+                        .autoApprove(Boolean.TRUE.equals(step.getAutoApprove()))
+                        .build()));
+
+        WorkflowDefinition saved = definitionRepository.save(definition);
+        // Rejects unknown states and inconsistent steps, rolling the definition back
+        CompiledWorkflow<?> compiledWorkflow = compile(saved, entityType);
+        afterCommit(() -> compiled.putIfAbsent(saved.getId(), compiledWorkflow));
+
+        log.info("Created workflow '{}' version {} for {} with {} steps (ID: {})", saved.getName(),
+                saved.getDefinitionVersion(), saved.getEntityType(), saved.getSteps().size(), saved.getId());
+        return toResponse(saved, compiledWorkflow);
+    }
+
+    @Transactional(readOnly = true)
+    @LogExecutionTime
+    public WorkflowResponse getWorkflow(UUID workflowId) {
+        WorkflowDefinition definition = findWithSteps(workflowId);
+        return toResponse(definition, compiled(workflowId, entityType(definition.getEntityType()).stateType()));
+    }
+
+    @Transactional(readOnly = true)
+    @LogExecutionTime
+    public List<WorkflowResponse> getWorkflows(String entityType) {
+        List<WorkflowDefinition> definitions = entityType != null
+                ? definitionRepository.findByEntityTypeOrderByNameAscCreatedAtDesc(entityType)
+                : definitionRepository.findAll(Sort.by("entityType", "name").and(Sort.by("createdAt").descending()));
+        return definitions.stream()
+                .map(definition -> toResponse(definition,
+                        compiled(definition.getId(), entityType(definition.getEntityType()).stateType())))
+                .toList();
+    }
+
+    /**
+     * Inactive workflows keep driving the entities already bound to them but cannot be bound to new
+     * ones.
+     */
+    @Transactional
+    @LogExecutionTime
+    public WorkflowResponse setActive(UUID workflowId, boolean active) {
+        WorkflowDefinition definition = findWithSteps(workflowId);
+        if (!active && Boolean.TRUE.equals(definition.getIsDefault())) {
+            throw new BusinessException("Cannot deactivate the default workflow; make another workflow the default first");
+        }
+        definition.setIsActive(active);
+
+        log.info("{} workflow '{}' version {}", active ? "Activated" : "Deactivated",
+                definition.getName(), definition.getDefinitionVersion());
+        return toResponse(definition, compiled(workflowId, entityType(definition.getEntityType()).stateType()));
+    }
+
+    /**
+     * Makes the workflow the one followed by entities of its type that have no workflow of their own.
+     * Entities already bound to the previous default keep following it.
+     */
+    @Transactional
+    @LogExecutionTime
+    public WorkflowResponse makeDefault(UUID workflowId) {
+        WorkflowDefinition definition = findWithSteps(workflowId);
+        if (!Boolean.TRUE.equals(definition.getIsActive())) {
+            throw new BusinessException("Only an active workflow can be the default");
+        }
+
+        definitionRepository.findByEntityTypeAndIsDefaultTrue(definition.getEntityType())
+                .filter(previous -> !previous.getId().equals(workflowId))
+                .ifPresent(previous -> {
+                    previous.setIsDefault(false);
+                    // The partial unique index allows one default per type at any moment
+                    definitionRepository.saveAndFlush(previous);
+                });
+        definition.setIsDefault(true);
+        afterCommit(() -> defaults = null);
+
+        log.info("Workflow '{}' version {} is now the default for {}", definition.getName(),
+                definition.getDefinitionVersion(), definition.getEntityType());
+        return toResponse(definition, compiled(workflowId, entityType(definition.getEntityType()).stateType()));
+    }
+
+    /**
+     * The compiled form of a stored definition, compiling it on first use.
+     */
+    public <S extends Enum<S>> CompiledWorkflow<S> compiled(UUID workflowId, Class<S> stateType) {
+        CompiledWorkflow<?> workflow = compiled.get(workflowId);
+        if (workflow == null) {
+            WorkflowDefinition definition = findWithSteps(workflowId);
+            workflow = compiled.computeIfAbsent(workflowId,
+                    id -> compile(definition, entityType(definition.getEntityType())));
+        }
+        return checkStateType(workflow, stateType);
+    }
+
+    /**
+     * The workflow followed by entities of the type that have no workflow of their own: the default
+     * definition if one is set, otherwise the type's built-in lifecycle.
+     */
+    public <S extends Enum<S>> CompiledWorkflow<S> defaultWorkflow(String entityType, Class<S> stateType) {
+        UUID defaultId = currentDefaults().get(entityType);
+        if (defaultId != null) {
+            return compiled(defaultId, stateType);
+        }
+        return checkStateType(builtIns.get(entityType(entityType).name()), stateType);
+    }
+
+    /**
+     * The compiled workflow for binding new entities of the type to it; fails unless it is active and
+     * drives that type.
+     */
+    public <S extends Enum<S>> CompiledWorkflow<S> bindable(UUID workflowId, String entityType, Class<S> stateType) {
+        WorkflowDefinition definition = definitionRepository.findById(workflowId)
+                .orElseThrow(() -> ResourceNotFoundException.forResource("Workflow", workflowId.toString()));
+        if (!entityType.equals(definition.getEntityType())) {
+            throw new BusinessException(String.format("Workflow '%s' drives %s, not %s",
+                    definition.getName(), definition.getEntityType(), entityType));
+        }
+        if (!Boolean.TRUE.equals(definition.getIsActive())) {
+            throw new BusinessException(String.format("Workflow '%s' version %s is inactive",
+                    definition.getName(), definition.getDefinitionVersion()));
+        }
+        return compiled(workflowId, stateType);
+    }
+
+    private Map<String, UUID> currentDefaults() {
+        Map<String, UUID> current = defaults;
+        if (current == null) {
+            current = definitionRepository.findByIsDefaultTrue().stream()
+                    .collect(Collectors.toUnmodifiableMap(WorkflowDefinition::getEntityType, WorkflowDefinition::getId));
+            defaults = current;
+        }
+        return current;
+    }
+
+    private <S extends Enum<S>> CompiledWorkflow<?> compile(WorkflowDefinition definition,
+                                                           WorkflowEntityType<S> entityType) {
+        return compileTimer.record(() -> CompiledWorkflow.compile(definition, entityType.stateType()));
+    }
+
+    private static <S extends Enum<S>> CompiledWorkflow<?> compileBuiltIn(WorkflowEntityType<S> entityType) {
+        return CompiledWorkflow.builtIn("Built-in " + entityType.name() + " lifecycle", entityType.stateType(),
+                entityType.builtInTransitions());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S extends Enum<S>> CompiledWorkflow<S> checkStateType(CompiledWorkflow<?> workflow,
+                                                                       Class<S> stateType) {
+        if (workflow.getStateType() != stateType) {
+            throw new BusinessException(String.format("Workflow '%s' drives %s states, not %s",
+                    workflow.getName(), workflow.getStateType().getSimpleName(), stateType.getSimpleName()));
+        }
+        return (CompiledWorkflow<S>) workflow;
+    }
+
+    private WorkflowEntityType<?> entityType(String name) {
+        WorkflowEntityType<?> entityType = entityTypes.get(name);
+        if (entityType == null) {
+            throw new BusinessException(String.format("Unknown workflow entity type '%s'; known types: %s",
+                    name, entityTypes.keySet()));
+        }
+        return entityType;
+    }
+
+    private WorkflowDefinition findWithSteps(UUID workflowId) {
+        return definitionRepository.findWithStepsById(workflowId)
+                .orElseThrow(() -> ResourceNotFoundException.forResource("Workflow", workflowId.toString()));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private WorkflowResponse toResponse(WorkflowDefinition definition, CompiledWorkflow<?> workflow) {
+        return WorkflowResponse.builder()
+                .id(definition.getId())
+                .name(definition.getName())
+                .description(definition.getDescription())
+                .definitionVersion(definition.getDefinitionVersion())
+                .entityType(definition.getEntityType())
+                .isActive(definition.getIsActive())
+                .isDefault(definition.getIsDefault())
+                .terminalStates(terminalStates(definition, workflow))
+                .steps(definition.getSteps().stream()
+                        .map(step -> WorkflowResponse.Step.builder()
+                                .stepNumber(step.getStepNumber())
+                                .stepName(step.getStepName())
+                                .stepType(step.getStepType())
+                                .fromState(step.getFromState())
+                                .toState(step.getToState())
+                                .requiredRole(step.getRequiredRole())
+                                .autoApprove(step.getAutoApprove())
+                                .build())
+                        .toList())
+                .createdAt(definition.getCreatedAt())
+                .build();
+    }
+
+    // Reachable states no step leaves
+    private static <S extends Enum<S>> List<String> terminalStates(WorkflowDefinition definition,
+                                                                   CompiledWorkflow<S> workflow) {
+        Set<String> reached = definition.getSteps().stream()
+                .map(WorkflowStep::getToState)
+                .collect(Collectors.toSet());
+        return Arrays.stream(workflow.getStateType().getEnumConstants())
+                .filter(state -> reached.contains(state.name()) && workflow.isTerminal(state))
+                .map(Enum::name)
+                .toList();
+    }
+}
@@ -0,0 +1,119 @@
+-- ==========================================
+-- OEE ROLLUPS
+-- ==========================================
+
+-- Pre-aggregated production buckets per day, machine, section and shift.
+-- Maintained incrementally by trigger so dashboards never rescan production_master.
+CREATE TABLE production_oee_daily (
+    id BIGSERIAL PRIMARY KEY,
+    entry_date DATE NOT NULL,
+    machine_code VARCHAR(50) NOT NULL,
+    section_code VARCHAR(50) NOT NULL,
+    shift VARCHAR(20) NOT NULL,
+
+    record_count INTEGER NOT NULL DEFAULT 0,
+    validated_record_count INTEGER NOT NULL DEFAULT 0,
+
+    -- Time buckets (minutes)
+    planned_minutes BIGINT NOT NULL DEFAULT 0,       -- total available minus breaks
+    loss_minutes BIGINT NOT NULL DEFAULT 0,
+    run_minutes BIGINT NOT NULL DEFAULT 0,           -- net time available
+    ideal_run_minutes DECIMAL(14,2) NOT NULL DEFAULT 0, -- defined operation time x quantity
+
+    -- Quantities
+    production_quantity BIGINT NOT NULL DEFAULT 0,
+    rejection_quantity BIGINT NOT NULL DEFAULT 0,
+
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT unique_oee_bucket UNIQUE (entry_date, machine_code, section_code, shift)
+);
+
+CREATE INDEX idx_production_oee_daily_machine_date ON production_oee_daily(machine_code, entry_date);
+CREATE INDEX idx_production_oee_daily_section_date ON production_oee_daily(section_code, entry_date);
+
+-- Adds (p_sign = 1) or removes (p_sign = -1) one production row's contribution to its bucket
+CREATE OR REPLACE FUNCTION apply_production_oee_delta(p_row production_master, p_sign INTEGER)
+RETURNS VOID AS $$
+DECLARE
+    v_loss INTEGER := COALESCE(p_row.loss_time_1_minutes, 0) + COALESCE(p_row.loss_time_2_minutes, 0) +
+                      COALESCE(p_row.loss_time_3_minutes, 0) + COALESCE(p_row.loss_time_4_minutes, 0) +
+                      COALESCE(p_row.loss_time_5_minutes, 0) + COALESCE(p_row.loss_time_6_minutes, 0) +
+                      COALESCE(p_row.loss_time_7_minutes, 0) + COALESCE(p_row.loss_time_8_minutes, 0);
+BEGIN
+    INSERT INTO production_oee_daily AS b (
+        entry_date, machine_code, section_code, shift,
+        record_count, validated_record_count,
+        planned_minutes, loss_minutes, run_minutes, ideal_run_minutes,
+        production_quantity, rejection_quantity, updated_at
+    ) VALUES (
+        p_row.entry_date,
+        COALESCE(p_row.machine_code, 'UNKNOWN'),
+        COALESCE(p_row.section_code, 'UNKNOWN'),
+        COALESCE(p_row.shift, 'UNKNOWN'),
+        p_sign,
+        CASE WHEN p_row.is_validated THEN p_sign ELSE 0 END,
+        p_sign * GREATEST(COALESCE(p_row.total_time_available_minutes, 0) - COALESCE(p_row.lunch_tea_break_minutes, 0), 0),
+        p_sign * v_loss,
+        p_sign * GREATEST(COALESCE(p_row.net_time_available_minutes, 0), 0),
+        p_sign * COALESCE(p_row.defined_operation_time_minutes, 0) * COALESCE(p_row.production_quantity, 0),
+        p_sign * COALESCE(p_row.production_quantity, 0),
+        p_sign * (COALESCE(p_row.rejection_inprocess_quantity, 0) + COALESCE(p_row.rejection_finalstage_quantity, 0)),
+        CURRENT_TIMESTAMP
+    )
+    ON CONFLICT (entry_date, machine_code, section_code, shift) DO UPDATE SET
+        record_count = b.record_count + EXCLUDED.record_count,
+        validated_record_count = b.validated_record_count + EXCLUDED.validated_record_count,
+        planned_minutes = b.planned_minutes + EXCLUDED.planned_minutes,
+        loss_minutes = b.loss_minutes + EXCLUDED.loss_minutes,
+        run_minutes = b.run_minutes + EXCLUDED.run_minutes,
+        ideal_run_minutes = b.ideal_run_minutes + EXCLUDED.ideal_run_minutes,
+        production_quantity = b.production_quantity + EXCLUDED.production_quantity,
+        rejection_quantity = b.rejection_quantity + EXCLUDED.rejection_quantity,
+        updated_at = CURRENT_TIMESTAMP;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION maintain_production_oee_rollup()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM apply_production_oee_delta(OLD, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM apply_production_oee_delta(NEW, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_production_master_oee_rollup
+    AFTER INSERT OR UPDATE OR DELETE ON production_master
+    FOR EACH ROW
+    EXECUTE FUNCTION maintain_production_oee_rollup();
+
+-- Backfill buckets from existing production data
+INSERT INTO production_oee_daily (
+    entry_date, machine_code, section_code, shift,
+    record_count, validated_record_count,
+    planned_minutes, loss_minutes, run_minutes, ideal_run_minutes,
+    production_quantity, rejection_quantity
+)
+SELECT
+    pm.entry_date,
+    COALESCE(pm.machine_code, 'UNKNOWN'),
+    COALESCE(pm.section_code, 'UNKNOWN'),
+    COALESCE(pm.shift, 'UNKNOWN'),
+    COUNT(*),
+    COUNT(*) FILTER (WHERE pm.is_validated),
+    SUM(GREATEST(COALESCE(pm.total_time_available_minutes, 0) - COALESCE(pm.lunch_tea_break_minutes, 0), 0)),
+    SUM(COALESCE(pm.loss_time_1_minutes, 0) + COALESCE(pm.loss_time_2_minutes, 0) +
+        COALESCE(pm.loss_time_3_minutes, 0) + COALESCE(pm.loss_time_4_minutes, 0) +
+        COALESCE(pm.loss_time_5_minutes, 0) + COALESCE(pm.loss_time_6_minutes, 0) +
+        COALESCE(pm.loss_time_7_minutes, 0) + COALESCE(pm.loss_time_8_minutes, 0)),
+    SUM(GREATEST(COALESCE(pm.net_time_available_minutes, 0), 0)),
+    SUM(COALESCE(pm.defined_operation_time_minutes, 0) * COALESCE(pm.production_quantity, 0)),
+    SUM(COALESCE(pm.production_quantity, 0)),
+    SUM(COALESCE(pm.rejection_inprocess_quantity, 0) + COALESCE(pm.rejection_finalstage_quantity, 0))
+FROM production_master pm
+GROUP BY 1, 2, 3, 4;
@@ -0,0 +1,306 @@
+-- ==========================================
+-- LOSS TIME NORMALIZATION
+-- ==========================================
+
+-- production_loss_details becomes the single source of truth for loss time. The eight
+-- loss_time_N_minutes columns stay as a mirror (one column per loss_sequence) so the generated
+-- net time / efficiency columns and legacy writers keep working; triggers keep both sides in sync.
+
+-- 1. Bring details in line with the columns (columns win, existing categories are kept)
+INSERT INTO production_loss_details (production_master_id, loss_sequence, loss_time_minutes)
+SELECT pm.id, s.loss_sequence, s.minutes
+FROM production_master pm
+CROSS JOIN LATERAL (VALUES
+    (1, pm.loss_time_1_minutes), (2, pm.loss_time_2_minutes),
+    (3, pm.loss_time_3_minutes), (4, pm.loss_time_4_minutes),
+    (5, pm.loss_time_5_minutes), (6, pm.loss_time_6_minutes),
+    (7, pm.loss_time_7_minutes), (8, pm.loss_time_8_minutes)
+) AS s(loss_sequence, minutes)
+WHERE s.minutes > 0
+ON CONFLICT (production_master_id, loss_sequence) DO UPDATE SET
+    loss_time_minutes = EXCLUDED.loss_time_minutes;
+
+DELETE FROM production_loss_details pld
+USING production_master pm
+WHERE pld.production_master_id = pm.id
+  AND COALESCE(CASE pld.loss_sequence
+        WHEN 1 THEN pm.loss_time_1_minutes WHEN 2 THEN pm.loss_time_2_minutes
+        WHEN 3 THEN pm.loss_time_3_minutes WHEN 4 THEN pm.loss_time_4_minutes
+        WHEN 5 THEN pm.loss_time_5_minutes WHEN 6 THEN pm.loss_time_6_minutes
+        WHEN 7 THEN pm.loss_time_7_minutes WHEN 8 THEN pm.loss_time_8_minutes
+      END, 0) = 0;
+
+-- 2. Stored total, so loss thresholds and rankings can use an index
+ALTER TABLE production_master
+    ADD COLUMN total_loss_time_minutes INTEGER GENERATED ALWAYS AS (
+        COALESCE(loss_time_1_minutes, 0) + COALESCE(loss_time_2_minutes, 0) +
+        COALESCE(loss_time_3_minutes, 0) + COALESCE(loss_time_4_minutes, 0) +
+        COALESCE(loss_time_5_minutes, 0) + COALESCE(loss_time_6_minutes, 0) +
+        COALESCE(loss_time_7_minutes, 0) + COALESCE(loss_time_8_minutes, 0)
+    ) STORED;
+
+CREATE INDEX idx_production_master_date_total_loss
+    ON production_master(entry_date, total_loss_time_minutes DESC)
+    INCLUDE (machine_code, shift);
+
+CREATE INDEX idx_production_loss_details_category
+    ON production_loss_details(loss_category_id, production_master_id)
+    INCLUDE (loss_time_minutes);
+
+-- 3. Category rollup per day, machine and shift (loss_category_id 0 = uncategorized)
+CREATE TABLE production_loss_daily (
+    id BIGSERIAL PRIMARY KEY,
+    entry_date DATE NOT NULL,
+    machine_code VARCHAR(50) NOT NULL,
+    shift VARCHAR(20) NOT NULL,
+    loss_category_id BIGINT NOT NULL DEFAULT 0,
+
+    loss_minutes BIGINT NOT NULL DEFAULT 0,
+    occurrence_count INTEGER NOT NULL DEFAULT 0,
+
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT unique_loss_bucket UNIQUE (entry_date, machine_code, shift, loss_category_id)
+);
+
+CREATE INDEX idx_production_loss_daily_machine_date
+    ON production_loss_daily(machine_code, entry_date)
+    INCLUDE (loss_category_id, loss_minutes, occurrence_count);
+CREATE INDEX idx_production_loss_daily_shift_date
+    ON production_loss_daily(shift, entry_date)
+    INCLUDE (loss_category_id, loss_minutes, occurrence_count);
+
+CREATE OR REPLACE FUNCTION apply_production_loss_delta(p_entry_date DATE, p_machine_code VARCHAR, p_shift VARCHAR,
+                                                       p_category_id BIGINT, p_minutes INTEGER, p_sign INTEGER)
+RETURNS VOID AS $$
+BEGIN
+    INSERT INTO production_loss_daily AS b (
+        entry_date, machine_code, shift, loss_category_id, loss_minutes, occurrence_count, updated_at
+    ) VALUES (
+        p_entry_date,
+        COALESCE(p_machine_code, 'UNKNOWN'),
+        COALESCE(p_shift, 'UNKNOWN'),
+        COALESCE(p_category_id, 0),
+        p_sign * COALESCE(p_minutes, 0),
+        p_sign,
+        CURRENT_TIMESTAMP
+    )
+    ON CONFLICT (entry_date, machine_code, shift, loss_category_id) DO UPDATE SET
+        loss_minutes = b.loss_minutes + EXCLUDED.loss_minutes,
+        occurrence_count = b.occurrence_count + EXCLUDED.occurrence_count,
+        updated_at = CURRENT_TIMESTAMP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Detail writes: maintain the rollup and mirror the minutes into loss_time_N_minutes
+CREATE OR REPLACE FUNCTION sync_production_loss_detail()
+RETURNS TRIGGER AS $$
+DECLARE
+    v_pm production_master%ROWTYPE;
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        SELECT * INTO v_pm FROM production_master WHERE id = OLD.production_master_id;
+        -- Missing when the master row itself is being deleted; its contribution is removed there
+        IF FOUND THEN
+            PERFORM apply_production_loss_delta(v_pm.entry_date, v_pm.machine_code, v_pm.shift,
+                                                OLD.loss_category_id, OLD.loss_time_minutes, -1);
+        END IF;
+    END IF;
+
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        SELECT * INTO v_pm FROM production_master WHERE id = NEW.production_master_id;
+        PERFORM apply_production_loss_delta(v_pm.entry_date, v_pm.machine_code, v_pm.shift,
+                                            NEW.loss_category_id, NEW.loss_time_minutes, 1);
+    END IF;
+
+    IF TG_OP = 'DELETE' OR (TG_OP = 'UPDATE' AND OLD.loss_sequence <> NEW.loss_sequence) THEN
+        PERFORM set_production_loss_column(OLD.production_master_id, OLD.loss_sequence, 0);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM set_production_loss_column(NEW.production_master_id, NEW.loss_sequence, NEW.loss_time_minutes);
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION set_production_loss_column(p_production_master_id BIGINT, p_sequence INTEGER, p_minutes INTEGER)
+RETURNS VOID AS $$
+BEGIN
+    UPDATE production_master SET
+        loss_time_1_minutes = CASE WHEN p_sequence = 1 THEN p_minutes ELSE loss_time_1_minutes END,
+        loss_time_2_minutes = CASE WHEN p_sequence = 2 THEN p_minutes ELSE loss_time_2_minutes END,
+        loss_time_3_minutes = CASE WHEN p_sequence = 3 THEN p_minutes ELSE loss_time_3_minutes END,
+        loss_time_4_minutes = CASE WHEN p_sequence = 4 THEN p_minutes ELSE loss_time_4_minutes END,
+        loss_time_5_minutes = CASE WHEN p_sequence = 5 THEN p_minutes ELSE loss_time_5_minutes END,
+        loss_time_6_minutes = CASE WHEN p_sequence = 6 THEN p_minutes ELSE loss_time_6_minutes END,
+        loss_time_7_minutes = CASE WHEN p_sequence = 7 THEN p_minutes ELSE loss_time_7_minutes END,
+        loss_time_8_minutes = CASE WHEN p_sequence = 8 THEN p_minutes ELSE loss_time_8_minutes END
+    WHERE id = p_production_master_id
+      AND COALESCE(CASE p_sequence
+            WHEN 1 THEN loss_time_1_minutes WHEN 2 THEN loss_time_2_minutes
+            WHEN 3 THEN loss_time_3_minutes WHEN 4 THEN loss_time_4_minutes
+            WHEN 5 THEN loss_time_5_minutes WHEN 6 THEN loss_time_6_minutes
+            WHEN 7 THEN loss_time_7_minutes WHEN 8 THEN loss_time_8_minutes
+          END, 0) IS DISTINCT FROM COALESCE(p_minutes, 0);
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_production_loss_details_sync
+    AFTER INSERT OR UPDATE OR DELETE ON production_loss_details
+    FOR EACH ROW
+    EXECUTE FUNCTION sync_production_loss_detail();
+
+-- Legacy column writes: push changed loss_time_N_minutes values into the detail rows
+CREATE OR REPLACE FUNCTION sync_production_loss_columns()
+RETURNS TRIGGER AS $$
+DECLARE
+    v_old INTEGER[];
+    v_new INTEGER[] := ARRAY[NEW.loss_time_1_minutes, NEW.loss_time_2_minutes, NEW.loss_time_3_minutes,
+                             NEW.loss_time_4_minutes, NEW.loss_time_5_minutes, NEW.loss_time_6_minutes,
+                             NEW.loss_time_7_minutes, NEW.loss_time_8_minutes];
+    v_seq INTEGER;
+BEGIN
+    -- Column updates issued by sync_production_loss_detail are already reflected in the details
+    IF pg_trigger_depth() > 1 THEN
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP = 'UPDATE' THEN
+        v_old := ARRAY[OLD.loss_time_1_minutes, OLD.loss_time_2_minutes, OLD.loss_time_3_minutes,
+                       OLD.loss_time_4_minutes, OLD.loss_time_5_minutes, OLD.loss_time_6_minutes,
+                       OLD.loss_time_7_minutes, OLD.loss_time_8_minutes];
+    ELSE
+        v_old := ARRAY[0, 0, 0, 0, 0, 0, 0, 0];
+    END IF;
+
+    FOR v_seq IN 1..8 LOOP
+        CONTINUE WHEN COALESCE(v_old[v_seq], 0) = COALESCE(v_new[v_seq], 0);
+
+        IF COALESCE(v_new[v_seq], 0) > 0 THEN
+            INSERT INTO production_loss_details (production_master_id, loss_sequence, loss_time_minutes)
+            VALUES (NEW.id, v_seq, v_new[v_seq])
+            ON CONFLICT (production_master_id, loss_sequence) DO UPDATE SET
+                loss_time_minutes = EXCLUDED.loss_time_minutes;
+        ELSE
+            DELETE FROM production_loss_details
+            WHERE production_master_id = NEW.id AND loss_sequence = v_seq;
+        END IF;
+    END LOOP;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_production_master_loss_columns_sync
+    AFTER INSERT OR UPDATE OF loss_time_1_minutes, loss_time_2_minutes, loss_time_3_minutes, loss_time_4_minutes,
+                              loss_time_5_minutes, loss_time_6_minutes, loss_time_7_minutes, loss_time_8_minutes
+    ON production_master
+    FOR EACH ROW
+    EXECUTE FUNCTION sync_production_loss_columns();
+
+-- Master rows moving between buckets, or going away, carry their details with them
+CREATE OR REPLACE FUNCTION move_production_loss_rollup()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM apply_production_loss_delta(OLD.entry_date, OLD.machine_code, OLD.shift,
+                                            pld.loss_category_id, pld.loss_time_minutes, -1)
+        FROM production_loss_details pld
+        WHERE pld.production_master_id = OLD.id;
+        RETURN OLD;
+    END IF;
+
+    IF OLD.entry_date IS DISTINCT FROM NEW.entry_date
+       OR OLD.machine_code IS DISTINCT FROM NEW.machine_code
+       OR OLD.shift IS DISTINCT FROM NEW.shift THEN
+        PERFORM apply_production_loss_delta(OLD.entry_date, OLD.machine_code, OLD.shift,
+                                            pld.loss_category_id, pld.loss_time_minutes, -1),
+                apply_production_loss_delta(NEW.entry_date, NEW.machine_code, NEW.shift,
+                                            pld.loss_category_id, pld.loss_time_minutes, 1)
+        FROM production_loss_details pld
+        WHERE pld.production_master_id = NEW.id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_production_master_loss_rollup_delete
+    BEFORE DELETE ON production_master
+    FOR EACH ROW
+    EXECUTE FUNCTION move_production_loss_rollup();
+
+CREATE TRIGGER trg_production_master_loss_rollup_move
+    AFTER UPDATE OF entry_date, machine_code, shift ON production_master
+    FOR EACH ROW
+    EXECUTE FUNCTION move_production_loss_rollup();
+
+-- Backfill the rollup from the reconciled details
+INSERT INTO production_loss_daily (entry_date, machine_code, shift, loss_category_id, loss_minutes, occurrence_count)
+SELECT
+    pm.entry_date,
+    COALESCE(pm.machine_code, 'UNKNOWN'),
+    COALESCE(pm.shift, 'UNKNOWN'),
+    COALESCE(pld.loss_category_id, 0),
+    SUM(pld.loss_time_minutes),
+    COUNT(*)
+FROM production_loss_details pld
+JOIN production_master pm ON pm.id = pld.production_master_id
+GROUP BY 1, 2, 3, 4;
+
+-- 4. OEE buckets read the stored total instead of re-adding the columns
+CREATE OR REPLACE FUNCTION apply_production_oee_delta(p_row production_master, p_sign INTEGER)
+RETURNS VOID AS $$
+BEGIN
+    INSERT INTO production_oee_daily AS b (
+        entry_date, machine_code, section_code, shift,
+        record_count, validated_record_count,
+        planned_minutes, loss_minutes, run_minutes, ideal_run_minutes,
+        production_quantity, rejection_quantity, updated_at
+    ) VALUES (
+        p_row.entry_date,
+        COALESCE(p_row.machine_code, 'UNKNOWN'),
+        COALESCE(p_row.section_code, 'UNKNOWN'),
+        COALESCE(p_row.shift, 'UNKNOWN'),
+        p_sign,
+        CASE WHEN p_row.is_validated THEN p_sign ELSE 0 END,
+        p_sign * GREATEST(COALESCE(p_row.total_time_available_minutes, 0) - COALESCE(p_row.lunch_tea_break_minutes, 0), 0),
+        p_sign * COALESCE(p_row.total_loss_time_minutes, 0),
+        p_sign * GREATEST(COALESCE(p_row.net_time_available_minutes, 0), 0),
+        p_sign * COALESCE(p_row.defined_operation_time_minutes, 0) * COALESCE(p_row.production_quantity, 0),
+        p_sign * COALESCE(p_row.production_quantity, 0),
+        p_sign * (COALESCE(p_row.rejection_inprocess_quantity, 0) + COALESCE(p_row.rejection_finalstage_quantity, 0)),
+        CURRENT_TIMESTAMP
+    )
+    ON CONFLICT (entry_date, machine_code, section_code, shift) DO UPDATE SET
+        record_count = b.record_count + EXCLUDED.record_count,
+        validated_record_count = b.validated_record_count + EXCLUDED.validated_record_count,
+        planned_minutes = b.planned_minutes + EXCLUDED.planned_minutes,
+        loss_minutes = b.loss_minutes + EXCLUDED.loss_minutes,
+        run_minutes = b.run_minutes + EXCLUDED.run_minutes,
+        ideal_run_minutes = b.ideal_run_minutes + EXCLUDED.ideal_run_minutes,
+        production_quantity = b.production_quantity + EXCLUDED.production_quantity,
+        rejection_quantity = b.rejection_quantity + EXCLUDED.rejection_quantity,
+        updated_at = CURRENT_TIMESTAMP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Reporting view reads the stored total as well
+CREATE OR REPLACE VIEW v_production_efficiency AS
+SELECT
+    pm.id,
+    pm.job_card_id,
+    jc.job_number,
+    pm.machine_code,
+    pm.part_number,
+    pm.shift,
+    pm.entry_date,
+    pm.production_quantity,
+    pm.total_time_available_minutes,
+    pm.net_time_available_minutes,
+    pm.operator_efficiency_percentage,
+    pm.equipment_efficiency_percentage,
+    pm.total_loss_time_minutes,
+    (pm.rejection_inprocess_quantity + pm.rejection_finalstage_quantity) as total_rejection_quantity
+FROM production_master pm
+JOIN job_cards jc ON pm.job_card_id = jc.id;
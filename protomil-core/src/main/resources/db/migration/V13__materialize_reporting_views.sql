@@ -0,0 +1,65 @@
+-- ==========================================
+-- MATERIALIZED REPORTING VIEWS
+-- ==========================================
+
+-- The reporting views are read far more often than job cards and production records change,
+-- so their joins are materialized and refreshed (CONCURRENTLY, hence the unique indexes)
+-- by the application after relevant writes.
+
+DROP VIEW IF EXISTS v_job_card_summary;
+DROP VIEW IF EXISTS v_production_efficiency;
+
+CREATE MATERIALIZED VIEW v_job_card_summary AS
+SELECT
+    jc.id,
+    jc.job_number,
+    jc.title,
+    jc.status,
+    jc.priority,
+    jc.template_id,
+    jc.estimated_duration_minutes,
+    jc.actual_duration_minutes,
+    jc.target_completion_date,
+    jc.started_at,
+    jc.completed_at,
+    jct.template_name,
+    jct.category as template_category,
+    COUNT(wi.id) as total_work_instructions,
+    COUNT(CASE WHEN wi.completed_at IS NOT NULL THEN 1 END) as completed_instructions,
+    CASE
+        WHEN COUNT(wi.id) > 0
+        THEN ROUND((COUNT(CASE WHEN wi.completed_at IS NOT NULL THEN 1 END)::DECIMAL / COUNT(wi.id)) * 100, 2)
+        ELSE 0
+    END as completion_percentage
+FROM job_cards jc
+LEFT JOIN job_card_templates jct ON jc.template_id = jct.id
+LEFT JOIN work_instructions wi ON jc.id = wi.job_card_id
+GROUP BY jc.id, jct.template_name, jct.category
+WITH DATA;
+
+CREATE UNIQUE INDEX idx_v_job_card_summary_id ON v_job_card_summary(id);
+CREATE INDEX idx_v_job_card_summary_status ON v_job_card_summary(status);
+CREATE INDEX idx_v_job_card_summary_template ON v_job_card_summary(template_id);
+
+CREATE MATERIALIZED VIEW v_production_efficiency AS
+SELECT
+    pm.id,
+    pm.job_card_id,
+    jc.job_number,
+    pm.machine_code,
+    pm.part_number,
+    pm.shift,
+    pm.entry_date,
+    pm.production_quantity,
+    pm.total_time_available_minutes,
+    pm.net_time_available_minutes,
+    pm.operator_efficiency_percentage,
+    pm.equipment_efficiency_percentage,
+    pm.total_loss_time_minutes,
+    (pm.rejection_inprocess_quantity + pm.rejection_finalstage_quantity) as total_rejection_quantity
+FROM production_master pm
+JOIN job_cards jc ON pm.job_card_id = jc.id
+WITH DATA;
+
+CREATE UNIQUE INDEX idx_v_production_efficiency_id ON v_production_efficiency(id);
+CREATE INDEX idx_v_production_efficiency_date_machine ON v_production_efficiency(entry_date, machine_code);
@@ -0,0 +1,23 @@
+-- ==========================================
+-- OPTIMISTIC LOCKING AND IDEMPOTENT TRANSITIONS FOR JOB CARDS
+-- ==========================================
+
+-- job_cards.version becomes the JPA @Version column inherited from BaseEntity (Long)
+UPDATE job_cards SET version = 1 WHERE version IS NULL;
+
+ALTER TABLE job_cards
+    ALTER COLUMN version TYPE BIGINT,
+    ALTER COLUMN version SET DEFAULT 1,
+    ALTER COLUMN version SET NOT NULL;
+
+-- Idempotency keys for job card transitions. A key is claimed in the same transaction as the
+-- transition it guards, so a rolled-back attempt releases it and a retried request replays the result.
+CREATE TABLE job_card_idempotency_keys (
+    idempotency_key VARCHAR(100) PRIMARY KEY,
+    job_card_id BIGINT NOT NULL REFERENCES job_cards(id) ON DELETE CASCADE,
+    operation VARCHAR(50) NOT NULL,
+    created_by UUID,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_job_card_idempotency_keys_created_at ON job_card_idempotency_keys(created_at);
@@ -0,0 +1,67 @@
+-- ==========================================
+-- APPLICATION-WRITTEN, PARTITIONED JOB CARD STATUS HISTORY
+-- ==========================================
+
+-- Status history is now written in batches by JobCardStatusHistoryService from
+-- JobCardStatusChangedEvent, so the per-row trigger goes away.
+DROP TRIGGER IF EXISTS trg_job_card_status_change ON job_cards;
+DROP FUNCTION IF EXISTS log_job_card_status_change();
+
+ALTER TABLE job_card_status_history RENAME TO job_card_status_history_legacy;
+ALTER INDEX IF EXISTS idx_job_card_status_history_job RENAME TO idx_job_card_status_history_legacy_job;
+ALTER INDEX IF EXISTS idx_job_card_status_history_date RENAME TO idx_job_card_status_history_legacy_date;
+
+-- Append-only and range-partitioned by month on changed_at. The partition key must be part of
+-- every unique constraint, hence the (id, changed_at) primary key.
+CREATE TABLE job_card_status_history (
+    id BIGSERIAL,
+    job_card_id BIGINT NOT NULL REFERENCES job_cards(id),
+    from_status VARCHAR(50),
+    to_status VARCHAR(50) NOT NULL,
+    changed_by UUID,
+    change_reason TEXT,
+    changed_at TIMESTAMP NOT NULL,
+    -- Time spent in from_status, measured from the previous history entry (or job card creation)
+    duration_in_previous_status_seconds BIGINT,
+    -- Denormalized at write time so cycle-time analytics need no joins
+    template_id BIGINT,
+    machine_id BIGINT,
+    additional_data JSONB DEFAULT '{}',
+    PRIMARY KEY (id, changed_at),
+    -- A redelivered event maps to the same row and is skipped
+    CONSTRAINT uq_job_card_status_history_event UNIQUE (job_card_id, to_status, changed_at)
+) PARTITION BY RANGE (changed_at);
+
+CREATE TABLE job_card_status_history_default PARTITION OF job_card_status_history DEFAULT;
+
+-- Monthly partitions from twelve months back to three months ahead
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    FOR i IN -12..3 LOOP
+        month_start := (date_trunc('month', CURRENT_DATE) + make_interval(months => i))::DATE;
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF job_card_status_history FOR VALUES FROM (%L) TO (%L)',
+            'job_card_status_history_' || to_char(month_start, 'YYYY_MM'),
+            month_start,
+            (month_start + INTERVAL '1 month')::DATE);
+    END LOOP;
+END $$;
+
+CREATE INDEX idx_job_card_status_history_job ON job_card_status_history(job_card_id, changed_at DESC);
+CREATE INDEX idx_job_card_status_history_date ON job_card_status_history(changed_at);
+CREATE INDEX idx_job_card_status_history_status ON job_card_status_history(from_status, changed_at);
+CREATE INDEX idx_job_card_status_history_template ON job_card_status_history(template_id, changed_at);
+CREATE INDEX idx_job_card_status_history_machine ON job_card_status_history(machine_id, changed_at)
+    WHERE machine_id IS NOT NULL;
+CREATE INDEX idx_job_card_status_history_user ON job_card_status_history(changed_by);
+
+-- Carry over existing history. Rows older than the pre-created partitions land in the default partition.
+-- The legacy changed_by column was not a user UUID, so it is not carried over.
+INSERT INTO job_card_status_history (job_card_id, from_status, to_status, change_reason, changed_at, additional_data)
+SELECT job_card_id, from_status, to_status, change_reason, COALESCE(changed_at, CURRENT_TIMESTAMP), additional_data
+FROM job_card_status_history_legacy
+ON CONFLICT DO NOTHING;
+
+DROP TABLE job_card_status_history_legacy;
@@ -0,0 +1,260 @@
+-- ==========================================
+-- MONTHLY RANGE PARTITIONING FOR PRODUCTION DATA
+-- ==========================================
+
+-- production_master is range-partitioned by month on entry_date, like job_card_status_history (V15)
+-- is on changed_at. PartitionMaintenanceService pre-creates upcoming months through
+-- create_monthly_partition() and detaches expired months, moving them to the archive schema or
+-- dropping them.
+
+CREATE SCHEMA IF NOT EXISTS archive;
+
+-- Creates the monthly partition <parent>_YYYY_MM holding p_month; returns its name, or NULL if it exists
+CREATE OR REPLACE FUNCTION create_monthly_partition(p_parent TEXT, p_month DATE)
+RETURNS TEXT AS $$
+DECLARE
+    v_start DATE := date_trunc('month', p_month)::DATE;
+    v_name TEXT := p_parent || '_' || to_char(v_start, 'YYYY_MM');
+BEGIN
+    IF to_regclass(quote_ident(v_name)) IS NOT NULL THEN
+        RETURN NULL;
+    END IF;
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   v_name, p_parent, v_start, (v_start + INTERVAL '1 month')::DATE);
+    RETURN v_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 1. Move the existing table aside. Objects bound to its row type are recreated below.
+DROP MATERIALIZED VIEW IF EXISTS v_production_efficiency;
+
+ALTER TABLE production_master RENAME TO production_master_legacy;
+ALTER INDEX production_master_pkey RENAME TO production_master_legacy_pkey;
+ALTER SEQUENCE production_master_id_seq OWNED BY NONE;
+
+DROP FUNCTION apply_production_oee_delta(production_master_legacy, INTEGER);
+
+-- A foreign key can only reference a partitioned table through its full primary key (id, entry_date);
+-- detail rows are removed with their master row by trg_production_master_delete_details instead.
+ALTER TABLE production_loss_details DROP CONSTRAINT IF EXISTS production_loss_details_production_master_id_fkey;
+
+-- 2. Partitioned replacement with the same columns, defaults, generated columns and checks
+CREATE TABLE production_master (
+    LIKE production_master_legacy INCLUDING DEFAULTS INCLUDING GENERATED INCLUDING CONSTRAINTS,
+    PRIMARY KEY (id, entry_date)
+) PARTITION BY RANGE (entry_date);
+
+ALTER TABLE production_master
+    ADD CONSTRAINT production_master_job_card_id_fkey FOREIGN KEY (job_card_id) REFERENCES job_cards(id);
+ALTER SEQUENCE production_master_id_seq OWNED BY production_master.id;
+
+CREATE TABLE production_master_default PARTITION OF production_master DEFAULT;
+
+-- Months with data (at most three years back) through three months ahead; older rows go to the default partition
+DO $$
+DECLARE
+    v_month DATE;
+    v_last DATE := (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::DATE;
+BEGIN
+    SELECT GREATEST(date_trunc('month', COALESCE(MIN(entry_date), CURRENT_DATE)),
+                    date_trunc('month', CURRENT_DATE) - INTERVAL '36 months')::DATE
+    INTO v_month
+    FROM production_master_legacy;
+
+    WHILE v_month <= v_last LOOP
+        PERFORM create_monthly_partition('production_master', v_month);
+        v_month := (v_month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+-- Copied before any trigger exists, so the rollups are not counted twice
+INSERT INTO production_master (
+    id, job_card_id, entry_date, entry_timestamp, machine_code, machine_name, section_code,
+    start_date_time, stop_date_time, shift, total_time_available_minutes,
+    loss_time_1_minutes, loss_time_2_minutes, loss_time_3_minutes, loss_time_4_minutes,
+    loss_time_5_minutes, loss_time_6_minutes, loss_time_7_minutes, loss_time_8_minutes,
+    lunch_tea_break_minutes, employee_number, operator_name, team,
+    part_number, part_name, operation_number, operation_code, next_operation_number,
+    defined_operation_time_minutes, actual_operation_time_minutes,
+    production_quantity, production_loss_quantity, rejection_inprocess_quantity, rejection_finalstage_quantity,
+    remarks, breakdown_idle_reason, data_source, is_validated, validated_by, validated_at, created_at, updated_at
+)
+SELECT
+    id, job_card_id, entry_date, entry_timestamp, machine_code, machine_name, section_code,
+    start_date_time, stop_date_time, shift, total_time_available_minutes,
+    loss_time_1_minutes, loss_time_2_minutes, loss_time_3_minutes, loss_time_4_minutes,
+    loss_time_5_minutes, loss_time_6_minutes, loss_time_7_minutes, loss_time_8_minutes,
+    lunch_tea_break_minutes, employee_number, operator_name, team,
+    part_number, part_name, operation_number, operation_code, next_operation_number,
+    defined_operation_time_minutes, actual_operation_time_minutes,
+    production_quantity, production_loss_quantity, rejection_inprocess_quantity, rejection_finalstage_quantity,
+    remarks, breakdown_idle_reason, data_source, is_validated, validated_by, validated_at, created_at, updated_at
+FROM production_master_legacy;
+
+DROP TABLE production_master_legacy;
+
+-- 3. Indexes, created on every partition
+CREATE INDEX idx_production_master_job_card ON production_master(job_card_id);
+CREATE INDEX idx_production_master_entry_date ON production_master(entry_date);
+CREATE INDEX idx_production_master_machine ON production_master(machine_code);
+CREATE INDEX idx_production_master_part ON production_master(part_number);
+CREATE INDEX idx_production_master_operator ON production_master(employee_number);
+CREATE INDEX idx_production_master_shift ON production_master(shift);
+CREATE INDEX idx_production_master_validation ON production_master(is_validated);
+CREATE INDEX idx_production_master_date_total_loss
+    ON production_master(entry_date, total_loss_time_minutes DESC)
+    INCLUDE (machine_code, shift);
+
+-- 4. Rollup and sync functions bound to the new row type
+CREATE OR REPLACE FUNCTION apply_production_oee_delta(p_row production_master, p_sign INTEGER)
+RETURNS VOID AS $$
+BEGIN
+    INSERT INTO production_oee_daily AS b (
+        entry_date, machine_code, section_code, shift,
+        record_count, validated_record_count,
+        planned_minutes, loss_minutes, run_minutes, ideal_run_minutes,
+        production_quantity, rejection_quantity, updated_at
+    ) VALUES (
+        p_row.entry_date,
+        COALESCE(p_row.machine_code, 'UNKNOWN'),
+        COALESCE(p_row.section_code, 'UNKNOWN'),
+        COALESCE(p_row.shift, 'UNKNOWN'),
+        p_sign,
+        CASE WHEN p_row.is_validated THEN p_sign ELSE 0 END,
+        p_sign * GREATEST(COALESCE(p_row.total_time_available_minutes, 0) - COALESCE(p_row.lunch_tea_break_minutes, 0), 0),
+        p_sign * COALESCE(p_row.total_loss_time_minutes, 0),
+        p_sign * GREATEST(COALESCE(p_row.net_time_available_minutes, 0), 0),
+        p_sign * COALESCE(p_row.defined_operation_time_minutes, 0) * COALESCE(p_row.production_quantity, 0),
+        p_sign * COALESCE(p_row.production_quantity, 0),
+        p_sign * (COALESCE(p_row.rejection_inprocess_quantity, 0) + COALESCE(p_row.rejection_finalstage_quantity, 0)),
+        CURRENT_TIMESTAMP
+    )
+    ON CONFLICT (entry_date, machine_code, section_code, shift) DO UPDATE SET
+        record_count = b.record_count + EXCLUDED.record_count,
+        validated_record_count = b.validated_record_count + EXCLUDED.validated_record_count,
+        planned_minutes = b.planned_minutes + EXCLUDED.planned_minutes,
+        loss_minutes = b.loss_minutes + EXCLUDED.loss_minutes,
+        run_minutes = b.run_minutes + EXCLUDED.run_minutes,
+        ideal_run_minutes = b.ideal_run_minutes + EXCLUDED.ideal_run_minutes,
+        production_quantity = b.production_quantity + EXCLUDED.production_quantity,
+        rejection_quantity = b.rejection_quantity + EXCLUDED.rejection_quantity,
+        updated_at = CURRENT_TIMESTAMP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- An UPDATE that moves a row to another month's partition runs as DELETE + INSERT and fires no
+-- AFTER UPDATE triggers. The BEFORE DELETE trigger has already taken the row's loss details out of the
+-- old bucket, so an INSERT that finds existing details (only possible for a moved row) adds them back
+-- to the new bucket before the usual column sync.
+CREATE OR REPLACE FUNCTION sync_production_loss_columns()
+RETURNS TRIGGER AS $$
+DECLARE
+    v_old INTEGER[];
+    v_new INTEGER[] := ARRAY[NEW.loss_time_1_minutes, NEW.loss_time_2_minutes, NEW.loss_time_3_minutes,
+                             NEW.loss_time_4_minutes, NEW.loss_time_5_minutes, NEW.loss_time_6_minutes,
+                             NEW.loss_time_7_minutes, NEW.loss_time_8_minutes];
+    v_seq INTEGER;
+BEGIN
+    -- Column updates issued by sync_production_loss_detail are already reflected in the details
+    IF pg_trigger_depth() > 1 THEN
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP = 'UPDATE' THEN
+        v_old := ARRAY[OLD.loss_time_1_minutes, OLD.loss_time_2_minutes, OLD.loss_time_3_minutes,
+                       OLD.loss_time_4_minutes, OLD.loss_time_5_minutes, OLD.loss_time_6_minutes,
+                       OLD.loss_time_7_minutes, OLD.loss_time_8_minutes];
+    ELSE
+        PERFORM apply_production_loss_delta(NEW.entry_date, NEW.machine_code, NEW.shift,
+                                            pld.loss_category_id, pld.loss_time_minutes, 1)
+        FROM production_loss_details pld
+        WHERE pld.production_master_id = NEW.id;
+
+        v_old := ARRAY[0, 0, 0, 0, 0, 0, 0, 0];
+    END IF;
+
+    FOR v_seq IN 1..8 LOOP
+        CONTINUE WHEN COALESCE(v_old[v_seq], 0) = COALESCE(v_new[v_seq], 0);
+
+        IF COALESCE(v_new[v_seq], 0) > 0 THEN
+            INSERT INTO production_loss_details (production_master_id, loss_sequence, loss_time_minutes)
+            VALUES (NEW.id, v_seq, v_new[v_seq])
+            ON CONFLICT (production_master_id, loss_sequence) DO UPDATE SET
+                loss_time_minutes = EXCLUDED.loss_time_minutes;
+        ELSE
+            DELETE FROM production_loss_details
+            WHERE production_master_id = NEW.id AND loss_sequence = v_seq;
+        END IF;
+    END LOOP;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Replaces the ON DELETE CASCADE foreign key; a row moved to another partition still exists and keeps its details
+CREATE OR REPLACE FUNCTION delete_production_loss_details()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM production_master WHERE id = OLD.id) THEN
+        DELETE FROM production_loss_details WHERE production_master_id = OLD.id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 5. Triggers
+CREATE TRIGGER trg_production_master_update_timestamp
+    BEFORE UPDATE ON production_master
+    FOR EACH ROW
+    EXECUTE FUNCTION update_timestamp();
+
+CREATE TRIGGER trg_production_master_oee_rollup
+    AFTER INSERT OR UPDATE OR DELETE ON production_master
+    FOR EACH ROW
+    EXECUTE FUNCTION maintain_production_oee_rollup();
+
+CREATE TRIGGER trg_production_master_loss_columns_sync
+    AFTER INSERT OR UPDATE OF loss_time_1_minutes, loss_time_2_minutes, loss_time_3_minutes, loss_time_4_minutes,
+                              loss_time_5_minutes, loss_time_6_minutes, loss_time_7_minutes, loss_time_8_minutes
+    ON production_master
+    FOR EACH ROW
+    EXECUTE FUNCTION sync_production_loss_columns();
+
+CREATE TRIGGER trg_production_master_loss_rollup_delete
+    BEFORE DELETE ON production_master
+    FOR EACH ROW
+    EXECUTE FUNCTION move_production_loss_rollup();
+
+CREATE TRIGGER trg_production_master_loss_rollup_move
+    AFTER UPDATE OF entry_date, machine_code, shift ON production_master
+    FOR EACH ROW
+    EXECUTE FUNCTION move_production_loss_rollup();
+
+CREATE TRIGGER trg_production_master_delete_details
+    AFTER DELETE ON production_master
+    FOR EACH ROW
+    EXECUTE FUNCTION delete_production_loss_details();
+
+-- 6. Reporting view, as in V13
+CREATE MATERIALIZED VIEW v_production_efficiency AS
+SELECT
+    pm.id,
+    pm.job_card_id,
+    jc.job_number,
+    pm.machine_code,
+    pm.part_number,
+    pm.shift,
+    pm.entry_date,
+    pm.production_quantity,
+    pm.total_time_available_minutes,
+    pm.net_time_available_minutes,
+    pm.operator_efficiency_percentage,
+    pm.equipment_efficiency_percentage,
+    pm.total_loss_time_minutes,
+    (pm.rejection_inprocess_quantity + pm.rejection_finalstage_quantity) as total_rejection_quantity
+FROM production_master pm
+JOIN job_cards jc ON pm.job_card_id = jc.id
+WITH DATA;
+
+CREATE UNIQUE INDEX idx_v_production_efficiency_id ON v_production_efficiency(id);
+CREATE INDEX idx_v_production_efficiency_date_machine ON v_production_efficiency(entry_date, machine_code);
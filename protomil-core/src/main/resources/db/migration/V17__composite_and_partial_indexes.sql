@@ -0,0 +1,88 @@
+-- ==========================================
+-- COMPOSITE AND PARTIAL INDEXES FOR THE HOT REPOSITORY QUERIES
+-- ==========================================
+
+-- The V10 indexes are single-column, while the hot queries filter on a column combination or on
+-- a fixed status set. Each index below is named after the query shape it serves. Single-column
+-- indexes that become a prefix of a composite index are dropped, and so are the boolean ones
+-- that never beat a sequential scan.
+
+-- ------------------------------------------
+-- job_cards
+-- ------------------------------------------
+
+-- JobCardRepository.findActiveJobCardsByUser: assigned_to = ? AND status IN ('ASSIGNED', 'IN_PROGRESS')
+-- countByAssignedToAndStatus:                 assigned_to = ? AND status = ?
+-- findByAssignedTo (list and page):           assigned_to = ?  (leading column)
+CREATE INDEX idx_job_cards_assigned_to_status ON job_cards(assigned_to, status);
+DROP INDEX IF EXISTS idx_job_cards_assigned_to;
+
+-- findOverdueJobCards: target_completion_date < ? AND status NOT IN ('COMPLETED', 'CANCELLED')
+-- findActiveJobCards:  status NOT IN ('COMPLETED', 'CANCELLED')
+-- The predicate matches the JPQL literals exactly, so the planner can prove the implication. Final
+-- cards make up most of the table over time and are left out of the index entirely.
+CREATE INDEX idx_job_cards_open_target_date ON job_cards(target_completion_date)
+    WHERE status NOT IN ('COMPLETED', 'CANCELLED');
+
+-- findByTemplateIdAndStatus: template_id = ? AND status = ?
+-- findByTemplateId:          template_id = ?  (leading column)
+CREATE INDEX idx_job_cards_template_status ON job_cards(template_id, status);
+DROP INDEX IF EXISTS idx_job_cards_template;
+
+-- findByPriorityOrderByCreatedAtDesc: priority = ? ORDER BY created_at DESC, with no sort step
+CREATE INDEX idx_job_cards_priority_created_at ON job_cards(priority, created_at DESC);
+
+-- ------------------------------------------
+-- job_card_assignments
+-- ------------------------------------------
+
+-- JobCardAssignmentRepository.findByAssignedToAndIsActiveTrueOrderByAssignedAtDesc
+-- countActiveAssignmentsByUser: assigned_to = ? AND is_active = true
+CREATE INDEX idx_job_card_assignments_user_active ON job_card_assignments(assigned_to, assigned_at DESC)
+    WHERE is_active = true;
+
+-- findByJobCardIdAndIsActiveTrue, findByJobCardIdInAndIsActiveTrue, findActiveAssignmentContext and
+-- the machine lookup in JobCardStatusHistoryRepository: job_card_id = ? AND is_active = true
+CREATE INDEX idx_job_card_assignments_job_active ON job_card_assignments(job_card_id)
+    WHERE is_active = true;
+
+-- findByJobCardIdOrderByAssignedAtDesc: job_card_id = ? ORDER BY assigned_at DESC
+CREATE INDEX idx_job_card_assignments_job_assigned_at ON job_card_assignments(job_card_id, assigned_at DESC);
+DROP INDEX IF EXISTS idx_job_card_assignments_job;
+DROP INDEX IF EXISTS idx_job_card_assignments_active;
+
+-- ------------------------------------------
+-- production_master (partitioned, V16)
+-- ------------------------------------------
+
+-- Indexes on the partitioned parent cascade to every partition, including those created later by
+-- create_monthly_partition. Every lookup below is also bounded on entry_date, which prunes whole
+-- partitions and then narrows the range inside each remaining one.
+
+-- ProductionMasterRepository.findByIsValidatedFalseOrderByEntryDateDesc and its bounded variant:
+-- is_validated = false ORDER BY entry_date DESC. Validated rows are the overwhelming majority.
+CREATE INDEX idx_production_master_unvalidated_entry_date ON production_master(entry_date DESC)
+    WHERE is_validated = false;
+DROP INDEX IF EXISTS idx_production_master_validation;
+
+-- findByMachineCodeAndEntryDateBetween, sumProductionQuantityByMachineAndDateRange and
+-- findByMachineCodeAndEntryDateGreaterThanEqualOrderByEntryDateDesc: machine_code = ? AND entry_date range
+CREATE INDEX idx_production_master_machine_entry_date ON production_master(machine_code, entry_date);
+DROP INDEX IF EXISTS idx_production_master_machine;
+
+-- findByEmployeeNumberAndEntryDateBetweenOrderByEntryDateDesc: employee_number = ? AND entry_date range
+CREATE INDEX idx_production_master_operator_entry_date ON production_master(employee_number, entry_date);
+DROP INDEX IF EXISTS idx_production_master_operator;
+
+-- findByPartNumberAndEntryDateBetween: part_number = ? AND entry_date range
+CREATE INDEX idx_production_master_part_entry_date ON production_master(part_number, entry_date);
+DROP INDEX IF EXISTS idx_production_master_part;
+
+-- findByShiftAndEntryDate(Between): shift = ? AND entry_date range. Three shift values make the
+-- single-column shift index useless on its own.
+CREATE INDEX idx_production_master_entry_date_shift ON production_master(entry_date, shift);
+DROP INDEX IF EXISTS idx_production_master_shift;
+
+ANALYZE job_cards;
+ANALYZE job_card_assignments;
+ANALYZE production_master;
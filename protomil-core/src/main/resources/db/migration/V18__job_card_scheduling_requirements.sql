@@ -0,0 +1,22 @@
+-- ==========================================
+-- SCHEDULING REQUIREMENTS FOR JOB CARD TEMPLATES
+-- ==========================================
+
+-- The machine type a template's job cards must run on (matched against machines.machine_type).
+-- NULL means any active machine will do.
+ALTER TABLE job_card_templates ADD COLUMN required_machine_type VARCHAR(100);
+
+-- Skills an operator needs, at a minimum proficiency, to run a template's job cards
+CREATE TABLE job_card_template_skills (
+    template_id BIGINT NOT NULL REFERENCES job_card_templates(id) ON DELETE CASCADE,
+    skill_id UUID NOT NULL REFERENCES skills(id) ON DELETE CASCADE,
+    min_proficiency_level VARCHAR(20) NOT NULL DEFAULT 'BEGINNER',
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (template_id, skill_id),
+    CONSTRAINT chk_template_skill_proficiency
+        CHECK (min_proficiency_level IN ('BEGINNER', 'INTERMEDIATE', 'ADVANCED', 'EXPERT'))
+);
+
+CREATE INDEX idx_job_card_template_skills_skill ON job_card_template_skills(skill_id);
+CREATE INDEX idx_machines_type_active ON machines(machine_type) WHERE is_active = true;
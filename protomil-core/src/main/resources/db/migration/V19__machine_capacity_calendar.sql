@@ -0,0 +1,19 @@
+-- ==========================================
+-- MACHINE CAPACITY CALENDAR
+-- ==========================================
+
+-- Equipment that is (part of) a production machine. Maintenance on it blocks the machine.
+ALTER TABLE equipment ADD COLUMN machine_id BIGINT REFERENCES machines(id) ON DELETE SET NULL;
+CREATE INDEX idx_equipment_machine ON equipment(machine_id) WHERE machine_id IS NOT NULL;
+
+-- Maintenance is planned per day; these narrow it down to a window. A NULL start means the start
+-- of next_maintenance_date.
+ALTER TABLE maintenance_schedules ADD COLUMN planned_start TIMESTAMP;
+ALTER TABLE maintenance_schedules ADD COLUMN planned_duration_minutes INTEGER;
+ALTER TABLE maintenance_schedules ADD CONSTRAINT chk_maintenance_planned_duration
+    CHECK (planned_duration_minutes IS NULL OR planned_duration_minutes > 0);
+
+-- Calendar load and per-card reload: open machine bookings
+CREATE INDEX idx_job_card_equipment_machine_open ON job_card_equipment(machine_id, assigned_at)
+    WHERE released_at IS NULL;
+CREATE INDEX idx_job_card_equipment_job_card ON job_card_equipment(job_card_id);
@@ -0,0 +1,11 @@
+-- ==========================================
+-- MAINTENANCE DUE NOTIFICATION
+-- ==========================================
+
+-- When the due notification for the current window went out. Nodes claim the notification with a
+-- conditional update on this column, so it is sent once per window across nodes and restarts.
+ALTER TABLE maintenance_schedules ADD COLUMN due_notified_at TIMESTAMP;
+
+-- Due queue load: open schedules by next date
+CREATE INDEX idx_maintenance_open_next_date ON maintenance_schedules(next_maintenance_date)
+    WHERE status IN ('SCHEDULED', 'IN_PROGRESS', 'OVERDUE');
@@ -0,0 +1,36 @@
+-- ==========================================
+-- MACHINE TELEMETRY BUCKETS
+-- ==========================================
+
+-- Machine state and part counter signals from the MES are downsampled in memory into fixed time
+-- buckets per machine (MesIntegrationService) and written here. Buckets are upserted additively, so
+-- a late signal for an already written bucket adds to it instead of replacing it. Times are in
+-- milliseconds spent in each state within the bucket.
+CREATE TABLE machine_telemetry_buckets (
+    machine_code VARCHAR(50) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    bucket_seconds INTEGER NOT NULL,
+    run_millis BIGINT NOT NULL DEFAULT 0,
+    idle_millis BIGINT NOT NULL DEFAULT 0,
+    down_millis BIGINT NOT NULL DEFAULT 0,
+    part_count BIGINT NOT NULL DEFAULT 0,
+    signal_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (machine_code, bucket_start)
+) PARTITION BY RANGE (bucket_start);
+
+CREATE TABLE machine_telemetry_buckets_default PARTITION OF machine_telemetry_buckets DEFAULT;
+
+-- Current month through three months ahead; PartitionMaintenanceService keeps this going
+DO $$
+DECLARE
+    v_month DATE := date_trunc('month', CURRENT_DATE)::DATE;
+BEGIN
+    WHILE v_month <= (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::DATE LOOP
+        PERFORM create_monthly_partition('machine_telemetry_buckets', v_month);
+        v_month := (v_month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+-- Shift summaries across all machines for a time range
+CREATE INDEX idx_machine_telemetry_bucket_start ON machine_telemetry_buckets(bucket_start);
@@ -0,0 +1,63 @@
+-- ==========================================
+-- PERSONNEL SHIFTS AND AVAILABILITY
+-- ==========================================
+
+-- Recurring shift patterns. The pattern is a cycle of one code per day, starting on
+-- cycle_start_date: M = morning, A = afternoon, N = night (see jobcard Shift), - = off.
+-- 'MMMMM--' is a five-day week of mornings; 'MMAANN----' a rotating ten-day roster.
+-- On any day the pattern with the latest effective_from on or before it applies.
+CREATE TABLE personnel_shifts (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    personnel_id UUID NOT NULL REFERENCES personnel(id) ON DELETE CASCADE,
+    pattern VARCHAR(62) NOT NULL,
+    cycle_start_date DATE NOT NULL,
+    effective_from DATE NOT NULL,
+    effective_to DATE,
+
+    -- Audit fields
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_by UUID REFERENCES users(id),
+    updated_by UUID REFERENCES users(id),
+    version BIGINT NOT NULL DEFAULT 0,
+
+    CONSTRAINT chk_personnel_shift_pattern CHECK (pattern ~ '^[MAN-]{1,62}$'),
+    CONSTRAINT chk_personnel_shift_effective CHECK (effective_to IS NULL OR effective_to >= effective_from)
+);
+
+-- Time personnel are away from work: leave, sickness, training
+CREATE TABLE personnel_availability (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    personnel_id UUID NOT NULL REFERENCES personnel(id) ON DELETE CASCADE,
+    availability_type VARCHAR(30) NOT NULL,
+    starts_at TIMESTAMP NOT NULL,
+    ends_at TIMESTAMP NOT NULL,
+    reason TEXT,
+
+    -- Audit fields
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_by UUID REFERENCES users(id),
+    updated_by UUID REFERENCES users(id),
+    version BIGINT NOT NULL DEFAULT 0,
+
+    CONSTRAINT chk_personnel_availability_type
+        CHECK (availability_type IN ('ANNUAL_LEAVE', 'SICK_LEAVE', 'TRAINING', 'OTHER')),
+    CONSTRAINT chk_personnel_availability_period CHECK (ends_at > starts_at)
+);
+
+-- Per-person reload: patterns in effective order, leave by period
+CREATE INDEX idx_personnel_shifts_personnel ON personnel_shifts(personnel_id, effective_from);
+CREATE INDEX idx_personnel_availability_personnel ON personnel_availability(personnel_id, starts_at);
+-- Calendar load: leave ending after the look-back start
+CREATE INDEX idx_personnel_availability_ends_at ON personnel_availability(ends_at);
+
+CREATE TRIGGER update_personnel_shifts_updated_at
+    BEFORE UPDATE ON personnel_shifts
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
+
+CREATE TRIGGER update_personnel_availability_updated_at
+    BEFORE UPDATE ON personnel_availability
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
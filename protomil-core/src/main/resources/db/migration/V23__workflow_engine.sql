@@ -0,0 +1,86 @@
+-- ==========================================
+-- WORKFLOW ENGINE
+-- ==========================================
+
+-- The definition's own version label moves aside for the optimistic-lock column every entity carries
+ALTER TABLE workflows RENAME COLUMN version TO definition_version;
+
+ALTER TABLE workflows
+    ADD COLUMN entity_type VARCHAR(50) NOT NULL DEFAULT 'JOB_CARD',
+    ADD COLUMN is_default BOOLEAN NOT NULL DEFAULT FALSE,
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Each step is one allowed transition between two states of the entity (job card statuses for JOB_CARD).
+-- required_role guards who may take it; an auto_approve step is taken as soon as its from_state is reached.
+ALTER TABLE workflow_steps
+    ADD COLUMN from_state VARCHAR(50),
+    ADD COLUMN to_state VARCHAR(50),
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0,
+    ADD CONSTRAINT uk_workflow_step_transition UNIQUE (workflow_id, from_state, to_state),
+    ADD CONSTRAINT chk_workflow_step_states CHECK (from_state IS NULL OR from_state <> to_state);
+
+-- At most one default workflow per entity type
+CREATE UNIQUE INDEX uk_workflows_default ON workflows(entity_type) WHERE is_default;
+
+-- Templates without a workflow follow the default JOB_CARD workflow
+ALTER TABLE job_card_templates ADD COLUMN workflow_id UUID REFERENCES workflows(id);
+
+-- One instance per entity, bound to the workflow it started on. The entity row stays the source of
+-- truth for its current state; the instance records the steps taken through the engine.
+CREATE TABLE workflow_instances (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    workflow_id UUID NOT NULL REFERENCES workflows(id),
+    entity_type VARCHAR(50) NOT NULL,
+    entity_id VARCHAR(100) NOT NULL,
+    current_state VARCHAR(50) NOT NULL,
+    last_step_number INTEGER,
+    transition_count INTEGER NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE',
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP,
+
+    -- Audit fields
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_by UUID REFERENCES users(id),
+    updated_by UUID REFERENCES users(id),
+    version BIGINT NOT NULL DEFAULT 0,
+
+    CONSTRAINT uk_workflow_instance_entity UNIQUE (entity_type, entity_id),
+    CONSTRAINT chk_workflow_instance_status CHECK (status IN ('ACTIVE', 'COMPLETED'))
+);
+
+CREATE INDEX idx_workflow_instances_workflow ON workflow_instances(workflow_id, status);
+
+CREATE TRIGGER update_workflow_instances_updated_at
+    BEFORE UPDATE ON workflow_instances
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
+
+-- Default job card lifecycle: the transitions the job card endpoints have always allowed
+WITH standard AS (
+    INSERT INTO workflows (name, description, definition_version, entity_type, is_active, is_default)
+    VALUES ('Standard Job Card Lifecycle', 'Default lifecycle for job cards whose template has no workflow',
+            '1.0', 'JOB_CARD', TRUE, TRUE)
+    RETURNING id
+)
+INSERT INTO workflow_steps (workflow_id, step_number, step_name, step_type, from_state, to_state,
+                            required_role, auto_approve)
+SELECT standard.id, step.step_number, step.step_name, step.step_type, step.from_state, step.to_state, NULL, FALSE
+FROM standard
+CROSS JOIN (VALUES
+    (1, 'Release', 'TASK', 'DRAFT', 'READY'),
+    (2, 'Assign', 'TASK', 'READY', 'ASSIGNED'),
+    (3, 'Start work', 'TASK', 'ASSIGNED', 'IN_PROGRESS'),
+    (4, 'Submit for review', 'TASK', 'IN_PROGRESS', 'PENDING_REVIEW'),
+    (5, 'Complete', 'TASK', 'IN_PROGRESS', 'COMPLETED'),
+    (6, 'Approve', 'APPROVAL', 'PENDING_REVIEW', 'COMPLETED'),
+    (7, 'Request rework', 'APPROVAL', 'PENDING_REVIEW', 'REWORK_REQUIRED'),
+    (8, 'Resume rework', 'TASK', 'REWORK_REQUIRED', 'IN_PROGRESS'),
+    (9, 'Cancel draft', 'TASK', 'DRAFT', 'CANCELLED'),
+    (10, 'Cancel ready', 'TASK', 'READY', 'CANCELLED'),
+    (11, 'Cancel assigned', 'TASK', 'ASSIGNED', 'CANCELLED'),
+    (12, 'Cancel in progress', 'TASK', 'IN_PROGRESS', 'CANCELLED'),
+    (13, 'Cancel pending review', 'TASK', 'PENDING_REVIEW', 'CANCELLED'),
+    (14, 'Cancel rework', 'TASK', 'REWORK_REQUIRED', 'CANCELLED')
+) AS step(step_number, step_name, step_type, from_state, to_state);
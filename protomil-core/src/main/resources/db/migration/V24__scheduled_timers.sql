@@ -0,0 +1,60 @@
+-- ==========================================
+-- DURABLE TIMERS
+-- ==========================================
+
+-- Pending timers only: a row is deleted when its timer fires or is cancelled. Each node holds the
+-- timers due within its load window under a lease it renews while alive; rows whose lease lapsed
+-- (the node died) are claimed by another node.
+CREATE TABLE scheduled_timers (
+    id BIGSERIAL PRIMARY KEY,
+    timer_type VARCHAR(50) NOT NULL,
+    timer_key VARCHAR(100) NOT NULL,
+    due_at TIMESTAMP NOT NULL,
+    payload VARCHAR(500),
+    lease_owner VARCHAR(100),
+    lease_expires_at TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_scheduled_timers_type_key UNIQUE (timer_type, timer_key),
+    CONSTRAINT chk_scheduled_timers_lease CHECK ((lease_owner IS NULL) = (lease_expires_at IS NULL))
+);
+
+-- Window claims read only the rows entering the window
+CREATE INDEX idx_scheduled_timers_due_at ON scheduled_timers(due_at);
+
+-- Lease renewal and release by node
+CREATE INDEX idx_scheduled_timers_lease_owner ON scheduled_timers(lease_owner)
+    WHERE lease_owner IS NOT NULL;
+
+CREATE TRIGGER update_scheduled_timers_updated_at
+    BEFORE UPDATE ON scheduled_timers
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
+
+-- ==========================================
+-- JOB CARD ESCALATION TIMERS
+-- ==========================================
+
+-- Timers for open job cards whose escalation is still ahead. Cards already past their target or
+-- timeout are left to the overdue queries rather than escalated all at once on deployment. The
+-- assignment and review timeouts assume the defaults (app.jobcard.assignment-timeout: 24 hours,
+-- app.jobcard.review-timeout: 8 hours) and the last update as the time the card entered its status.
+INSERT INTO scheduled_timers (timer_type, timer_key, due_at)
+SELECT 'JOB_CARD_OVERDUE', id::text, target_completion_date
+FROM job_cards
+WHERE status NOT IN ('COMPLETED', 'CANCELLED')
+  AND target_completion_date > CURRENT_TIMESTAMP;
+
+INSERT INTO scheduled_timers (timer_type, timer_key, due_at)
+SELECT 'JOB_CARD_ASSIGNMENT_TIMEOUT', id::text, updated_at + INTERVAL '24 hours'
+FROM job_cards
+WHERE status = 'ASSIGNED'
+  AND updated_at + INTERVAL '24 hours' > CURRENT_TIMESTAMP;
+
+INSERT INTO scheduled_timers (timer_type, timer_key, due_at)
+SELECT 'JOB_CARD_REVIEW_TIMEOUT', id::text, updated_at + INTERVAL '8 hours'
+FROM job_cards
+WHERE status = 'PENDING_REVIEW'
+  AND updated_at + INTERVAL '8 hours' > CURRENT_TIMESTAMP;
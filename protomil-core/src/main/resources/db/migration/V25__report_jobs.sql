@@ -0,0 +1,60 @@
+-- ==========================================
+-- REPORT JOB QUEUE
+-- ==========================================
+
+-- Report requests queue here and are claimed by worker nodes with FOR UPDATE SKIP LOCKED. Running
+-- jobs heartbeat while they stream; a job whose heartbeat stops is requeued until it runs out of
+-- attempts. Completed jobs keep their result until expires_at and serve identical requests until then.
+CREATE TABLE report_jobs (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    report_type VARCHAR(50) NOT NULL,
+    format VARCHAR(20) NOT NULL,
+    parameters JSONB NOT NULL DEFAULT '{}',
+    -- SHA-256 of the canonical request; identical requests share a job
+    request_hash VARCHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED',
+    rows_written BIGINT NOT NULL DEFAULT 0,
+    estimated_rows BIGINT,
+    storage_key VARCHAR(300),
+    size_bytes BIGINT,
+    error_message TEXT,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    worker_id VARCHAR(100),
+    heartbeat_at TIMESTAMP,
+    queued_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    expires_at TIMESTAMP,
+
+    -- Audit fields
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_by UUID REFERENCES users(id),
+    updated_by UUID REFERENCES users(id),
+    version BIGINT NOT NULL DEFAULT 0,
+
+    CONSTRAINT chk_report_job_status CHECK (status IN ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED', 'CANCELLED')),
+    CONSTRAINT chk_report_job_format CHECK (format IN ('CSV', 'NDJSON'))
+);
+
+-- One queued or running job per distinct request
+CREATE UNIQUE INDEX uk_report_jobs_active_request ON report_jobs(request_hash)
+    WHERE status IN ('QUEUED', 'RUNNING');
+
+-- Claims: oldest queued first
+CREATE INDEX idx_report_jobs_queued ON report_jobs(queued_at) WHERE status = 'QUEUED';
+
+-- Stalled job recovery
+CREATE INDEX idx_report_jobs_running_heartbeat ON report_jobs(heartbeat_at) WHERE status = 'RUNNING';
+
+-- Result cache lookups and expiry
+CREATE INDEX idx_report_jobs_completed ON report_jobs(request_hash, completed_at DESC) WHERE status = 'COMPLETED';
+CREATE INDEX idx_report_jobs_expires_at ON report_jobs(expires_at) WHERE expires_at IS NOT NULL;
+
+-- A user's recent jobs
+CREATE INDEX idx_report_jobs_created_by ON report_jobs(created_by, created_at DESC);
+
+CREATE TRIGGER update_report_jobs_updated_at
+    BEFORE UPDATE ON report_jobs
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
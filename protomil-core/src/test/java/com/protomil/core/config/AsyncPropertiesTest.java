@@ -0,0 +1,76 @@
+package com.protomil.core.config;
+
+import com.protomil.core.config.AsyncProperties.ExecutorOverrides;
+import com.protomil.core.config.AsyncProperties.ExecutorSettings;
+import com.protomil.core.config.AsyncProperties.ExecutorType;
+import com.protomil.core.config.AsyncProperties.RejectionPolicy;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncPropertiesTest {
+
+    private static final ExecutorSettings CPU_DEFAULTS =
+            ExecutorSettings.platform(8, 8, 500, RejectionPolicy.CALLER_RUNS);
+
+    @Test
+    void executorsWithoutAnEntryKeepTheirDefaults() {
+        AsyncProperties properties = new AsyncProperties();
+
+        assertThat(properties.settingsFor("cpuTaskExecutor", CPU_DEFAULTS)).isSameAs(CPU_DEFAULTS);
+    }
+
+    @Test
+    void partialOverrideKeepsTheBeansOtherDefaults() {
+        AsyncProperties properties = bind(Map.of("protomil.async.executors.cpuTaskExecutor.max-concurrency", "16"));
+
+        ExecutorSettings settings = properties.settingsFor("cpuTaskExecutor", CPU_DEFAULTS);
+
+        assertThat(settings.getMaxConcurrency()).isEqualTo(16);
+        assertThat(settings.getType()).isEqualTo(ExecutorType.PLATFORM);
+        assertThat(settings.getCoreSize()).isEqualTo(8);
+        assertThat(settings.getQueueCapacity()).isEqualTo(500);
+        assertThat(settings.getRejectionPolicy()).isEqualTo(RejectionPolicy.CALLER_RUNS);
+        assertThat(CPU_DEFAULTS.getMaxConcurrency()).isEqualTo(8);
+    }
+
+    @Test
+    void fullOverrideReplacesEveryField() {
+        AsyncProperties properties = bind(Map.of(
+                "protomil.async.executors.jobCardEventExecutor.type", "PLATFORM",
+                "protomil.async.executors.jobCardEventExecutor.core-size", "2",
+                "protomil.async.executors.jobCardEventExecutor.max-concurrency", "4",
+                "protomil.async.executors.jobCardEventExecutor.queue-capacity", "100",
+                "protomil.async.executors.jobCardEventExecutor.rejection-policy", "ABORT"));
+
+        ExecutorSettings settings = properties.settingsFor("jobCardEventExecutor", ExecutorSettings.virtual(32, 1000));
+
+        assertThat(settings)
+                .extracting(ExecutorSettings::getType, ExecutorSettings::getCoreSize,
+                        ExecutorSettings::getMaxConcurrency, ExecutorSettings::getQueueCapacity,
+                        ExecutorSettings::getRejectionPolicy)
+                .containsExactly(ExecutorType.PLATFORM, 2, 4, 100, RejectionPolicy.ABORT);
+    }
+
+    @Test
+    void overridesApplyOnlyToTheirOwnExecutor() {
+        AsyncProperties properties = bind(Map.of("protomil.async.executors.cpuTaskExecutor.queue-capacity", "50"));
+        ExecutorSettings defaults = ExecutorSettings.virtual(32, 1000);
+
+        assertThat(properties.settingsFor("jobCardEventExecutor", defaults)).isSameAs(defaults);
+        assertThat(properties.getExecutors()).containsOnlyKeys("cpuTaskExecutor");
+        assertThat(properties.getExecutors().get("cpuTaskExecutor"))
+                .extracting(ExecutorOverrides::getType, ExecutorOverrides::getMaxConcurrency)
+                .containsOnlyNulls();
+    }
+
+    private static AsyncProperties bind(Map<String, String> values) {
+        return new Binder(new MapConfigurationPropertySource(values))
+                .bind("protomil.async", AsyncProperties.class)
+                .get();
+    }
+}
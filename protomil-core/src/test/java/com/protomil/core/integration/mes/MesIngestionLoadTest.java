@@ -0,0 +1,115 @@
+package com.protomil.core.integration.mes;
+
+import com.protomil.core.integration.mes.dto.SignalIngestResponse;
+import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Load test for signal ingestion: producer threads post batches the way the REST endpoint does, and
+ * the single aggregator thread has to keep up. Throughput counts signals from the first post until the
+ * aggregator has drained the queue, so a consumer that falls behind shows up as a lower rate rather
+ * than as a full queue. The database is mocked out; bucket writes are covered by the flush timer.
+ * <p>
+ * Run with {@code mvn test -Dtest=MesIngestionLoadTest -Dprotomil.benchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "protomil.benchmarks", matches = "true")
+@Slf4j
+class MesIngestionLoadTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int MACHINES_PER_PRODUCER = 250;
+    private static final int BATCH_SIZE = 500;
+    private static final Duration DURATION = Duration.ofSeconds(10);
+    private static final double REQUIRED_SIGNALS_PER_SECOND = 50_000;
+
+    private static final MachineState[] STATES = MachineState.values();
+
+    @Test
+    void aggregatorKeepsUpWithConcurrentProducers() throws Exception {
+        MachineTelemetryRepository repository = mock(MachineTelemetryRepository.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MesIntegrationService service = new MesIntegrationService(repository, meterRegistry, 1_000_000,
+                Duration.ofMinutes(1), Duration.ofSeconds(10), Duration.ofMinutes(5), Duration.ofSeconds(1),
+                Duration.ofMinutes(1));
+        service.start();
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+        long accepted = 0;
+        long refused = 0;
+        long startNanos;
+        try {
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int producer = 0; producer < PRODUCERS; producer++) {
+                int firstMachine = producer * MACHINES_PER_PRODUCER;
+                results.add(producers.submit(() -> {
+                    start.await();
+                    return produce(service, firstMachine, System.nanoTime() + DURATION.toNanos());
+                }));
+            }
+            startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<long[]> result : results) {
+                long[] counts = result.get();
+                accepted += counts[0];
+                refused += counts[1];
+            }
+        } finally {
+            producers.shutdownNow();
+        }
+
+        while (meterRegistry.get("protomil.mes.queue_depth").gauge().value() > 0) {
+            Thread.sleep(1);
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        service.stop();
+
+        double rate = accepted / seconds;
+        log.info("{} producers: {} signals accepted, {} refused, {} signals/s aggregated",
+                PRODUCERS, accepted, refused, Math.round(rate));
+
+        assertThat(meterRegistry.get("protomil.mes.signals.accepted").counter().count()).isEqualTo(accepted);
+        assertThat(meterRegistry.get("protomil.mes.signals.late").counter().count()).isZero();
+        verify(repository, atLeastOnce()).upsertBuckets(anyList());
+        assertThat(rate).isGreaterThan(REQUIRED_SIGNALS_PER_SECOND);
+    }
+
+    /** Posts batches until the deadline; returns the accepted and refused counts. */
+    private static long[] produce(MesIntegrationService service, int firstMachine, long deadline) {
+        long[] counters = new long[MACHINES_PER_PRODUCER];
+        long accepted = 0;
+        long refused = 0;
+        int next = 0;
+        while (System.nanoTime() < deadline) {
+            long now = System.currentTimeMillis();
+            List<MachineSignal> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                int machine = next++ % MACHINES_PER_PRODUCER;
+                counters[machine] += machine % 3;
+                batch.add(new MachineSignal("LOAD-" + (firstMachine + machine), STATES[(next / 7) % STATES.length],
+                        counters[machine], now));
+            }
+            SignalIngestResponse response = service.ingest(batch);
+            accepted += response.getAccepted();
+            refused += response.getRejected();
+        }
+        return new long[]{accepted, refused};
+    }
+}
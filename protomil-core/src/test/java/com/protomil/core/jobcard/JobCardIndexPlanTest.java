@@ -0,0 +1,179 @@
+package com.protomil.core.jobcard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Index advisor for the V17 composite and partial indexes. Seeds job cards, assignments and production
+ * records with a realistic skew (mostly final cards, mostly inactive assignments, mostly validated
+ * records), runs {@code EXPLAIN (ANALYZE, BUFFERS)} on the SQL each hot repository query generates,
+ * logs the plans and checks that the planner picks the index V17 added for that query shape.
+ * <p>
+ * production_master is partitioned, so its plans name the per-partition copies of an index; those are
+ * resolved through pg_inherits. Everything is seeded inside the test transaction and rolled back.
+ * Run with {@code mvn test -Dtest=JobCardIndexPlanTest -Dprotomil.benchmarks=true}.
+ */
+@SpringBootTest
+@Transactional
+@EnabledIfSystemProperty(named = "protomil.benchmarks", matches = "true")
+@Slf4j
+class JobCardIndexPlanTest {
+
+    private static final int TEMPLATES = 50;
+    private static final int JOB_CARDS = 50_000;
+    private static final int ASSIGNMENTS = 100_000;
+    private static final int PRODUCTION_RECORDS = 200_000;
+    private static final int DAYS = 90;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long firstTemplateId;
+    private long firstJobCardId;
+    private LocalDate windowStart;
+
+    @BeforeEach
+    void seed() {
+        windowStart = LocalDate.now().minusDays(DAYS - 1);
+
+        firstTemplateId = jdbcTemplate.query("""
+                INSERT INTO job_card_templates (template_name, template_code, created_by)
+                SELECT 'Index plan ' || i, 'BENCH-' || md5(random()::TEXT), 0
+                FROM generate_series(1, ?) AS i
+                RETURNING id
+                """, (rs, rowNum) -> rs.getLong(1), TEMPLATES).stream().min(Long::compare).orElseThrow();
+
+        // 80% final cards; open cards are due over the coming year, a few already overdue
+        firstJobCardId = jdbcTemplate.queryForObject("""
+                WITH inserted AS (
+                    INSERT INTO job_cards (job_number, template_id, title, status, priority, created_by, assigned_to,
+                                           target_completion_date, created_at)
+                    SELECT 'BENCH-' || md5(random()::TEXT), ? + i % ?, 'Index plan',
+                           CASE WHEN i % 10 < 7 THEN 'COMPLETED'
+                                WHEN i % 10 = 7 THEN 'CANCELLED'
+                                WHEN i % 20 = 8 THEN 'ASSIGNED'
+                                WHEN i % 20 = 18 THEN 'IN_PROGRESS'
+                                ELSE 'READY' END,
+                           (ARRAY['LOW', 'MEDIUM', 'HIGH', 'CRITICAL'])[1 + i % 4], 0, i % 500,
+                           NOW() + ((i % 365) - 5) * INTERVAL '1 day',
+                           NOW() - (i % 720) * INTERVAL '1 hour'
+                    FROM generate_series(1, ?) AS i
+                    RETURNING id
+                )
+                SELECT MIN(id) FROM inserted
+                """, Long.class, firstTemplateId, TEMPLATES, JOB_CARDS);
+
+        // Two assignments per card, only the latest one active
+        jdbcTemplate.update("""
+                INSERT INTO job_card_assignments (job_card_id, assigned_to, assigned_by, assigned_at, is_active)
+                SELECT ? + i % ?, i % 500, 0, NOW() - (i % 720) * INTERVAL '1 hour', i >= ?
+                FROM generate_series(0, ? - 1) AS i
+                """, firstJobCardId, JOB_CARDS, JOB_CARDS, ASSIGNMENTS);
+
+        // 200 machines, 500 parts, 300 operators; 1% of records still awaiting validation
+        jdbcTemplate.update("""
+                INSERT INTO production_master (job_card_id, entry_date, machine_code, part_number, employee_number,
+                                               shift, production_quantity, is_validated)
+                SELECT ?, ?::DATE + (i % ?), 'M-' || (i % 200), 'P-' || (i % 500), 'E-' || (i % 300),
+                       (ARRAY['MORNING', 'AFTERNOON', 'NIGHT'])[1 + i % 3], 100 + i % 50, i % 100 <> 0
+                FROM generate_series(1, ?) AS i
+                """, firstJobCardId, windowStart, DAYS, PRODUCTION_RECORDS);
+
+        jdbcTemplate.execute("ANALYZE job_cards");
+        jdbcTemplate.execute("ANALYZE job_card_assignments");
+        jdbcTemplate.execute("ANALYZE production_master");
+    }
+
+    @Test
+    void jobCardQueriesUseTheCompositeAndPartialIndexes() {
+        assertUsesIndex("findActiveJobCardsByUser", "idx_job_cards_assigned_to_status", """
+                SELECT * FROM job_cards
+                WHERE assigned_to = 42 AND status IN ('ASSIGNED', 'IN_PROGRESS')
+                """);
+        assertUsesIndex("countByAssignedToAndStatus", "idx_job_cards_assigned_to_status", """
+                SELECT COUNT(*) FROM job_cards WHERE assigned_to = 42 AND status = 'IN_PROGRESS'
+                """);
+        assertUsesIndex("findOverdueJobCards", "idx_job_cards_open_target_date", """
+                SELECT * FROM job_cards
+                WHERE target_completion_date < NOW() AND status NOT IN ('COMPLETED', 'CANCELLED')
+                """);
+        assertUsesIndex("findByTemplateIdAndStatus", "idx_job_cards_template_status",
+                "SELECT * FROM job_cards WHERE template_id = " + firstTemplateId + " AND status = 'IN_PROGRESS'");
+        assertUsesIndex("findByPriorityOrderByCreatedAtDesc", "idx_job_cards_priority_created_at", """
+                SELECT * FROM job_cards WHERE priority = 'CRITICAL' ORDER BY created_at DESC LIMIT 20
+                """);
+    }
+
+    @Test
+    void assignmentQueriesUseTheActivePartialIndexes() {
+        assertUsesIndex("findByAssignedToAndIsActiveTrueOrderByAssignedAtDesc", "idx_job_card_assignments_user_active",
+                """
+                SELECT * FROM job_card_assignments
+                WHERE assigned_to = 42 AND is_active = true ORDER BY assigned_at DESC
+                """);
+        assertUsesIndex("findByJobCardIdAndIsActiveTrue", "idx_job_card_assignments_job_active",
+                "SELECT * FROM job_card_assignments WHERE job_card_id = " + (firstJobCardId + 42)
+                        + " AND is_active = true");
+        assertUsesIndex("findByJobCardIdOrderByAssignedAtDesc", "idx_job_card_assignments_job_assigned_at",
+                "SELECT * FROM job_card_assignments WHERE job_card_id = " + (firstJobCardId + 42)
+                        + " ORDER BY assigned_at DESC");
+    }
+
+    @Test
+    void productionQueriesUseTheEntryDateCompositeIndexes() {
+        String range = "entry_date BETWEEN '" + windowStart.plusDays(30) + "' AND '" + windowStart.plusDays(44) + "'";
+
+        assertUsesIndex("findByIsValidatedFalseOrderByEntryDateDesc",
+                "idx_production_master_unvalidated_entry_date", """
+                SELECT * FROM production_master WHERE is_validated = false ORDER BY entry_date DESC LIMIT 50
+                """);
+        assertUsesIndex("findByMachineCodeAndEntryDateBetween", "idx_production_master_machine_entry_date",
+                "SELECT * FROM production_master WHERE machine_code = 'M-42' AND " + range);
+        assertUsesIndex("findByEmployeeNumberAndEntryDateBetweenOrderByEntryDateDesc",
+                "idx_production_master_operator_entry_date",
+                "SELECT * FROM production_master WHERE employee_number = 'E-42' AND " + range
+                        + " ORDER BY entry_date DESC");
+        assertUsesIndex("findByPartNumberAndEntryDateBetween", "idx_production_master_part_entry_date",
+                "SELECT * FROM production_master WHERE part_number = 'P-42' AND " + range);
+        assertUsesIndex("findByShiftAndEntryDate", "idx_production_master_entry_date_shift",
+                "SELECT * FROM production_master WHERE shift = 'NIGHT' AND entry_date = '"
+                        + windowStart.plusDays(30) + "'");
+    }
+
+    private void assertUsesIndex(String query, String index, String sql) {
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN (ANALYZE, BUFFERS) " + sql, String.class));
+        log.info("Plan for {} (expects {}):\n{}", query, index, plan);
+
+        assertThat(indexAndPartitionCopies(index))
+                .as("%s should use %s", query, index)
+                .anyMatch(name -> Pattern.compile("\\b" + Pattern.quote(name) + "\\b").matcher(plan).find());
+    }
+
+    /** The index itself plus the copies a partitioned index has on each partition, at any depth. */
+    private List<String> indexAndPartitionCopies(String index) {
+        List<String> names = new ArrayList<>(List.of(index));
+        names.addAll(jdbcTemplate.queryForList("""
+                WITH RECURSIVE copies(oid) AS (
+                    SELECT inhrelid FROM pg_inherits WHERE inhparent = CAST(? AS regclass)
+                    UNION ALL
+                    SELECT i.inhrelid FROM pg_inherits i JOIN copies c ON i.inhparent = c.oid
+                )
+                SELECT c.relname FROM copies JOIN pg_class c ON c.oid = copies.oid
+                """, String.class, index));
+        return names;
+    }
+}
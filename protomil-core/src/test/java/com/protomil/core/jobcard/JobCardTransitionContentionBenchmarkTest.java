@@ -0,0 +1,223 @@
+package com.protomil.core.jobcard;
+
+import com.protomil.core.jobcard.domain.enums.JobStatus;
+import com.protomil.core.jobcard.dto.JobCardTransitionGuard;
+import com.protomil.core.jobcard.dto.JobCardTransitionResult;
+import com.protomil.core.jobcard.exception.InvalidJobStatusTransitionException;
+import com.protomil.core.jobcard.repository.JobCardTransitionRepository;
+import com.protomil.core.jobcard.repository.JobCardTransitionRepository.StatusSnapshot;
+import com.protomil.core.jobcard.service.JobCardService;
+import com.protomil.core.jobcard.service.JobCardStatusHistoryService;
+import com.protomil.core.shared.exception.ConcurrencyException;
+import com.protomil.core.shared.security.UserTokenClaims;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contention benchmark for optimistic job card transitions. Workers cycle cards through
+ * IN_PROGRESS, PENDING_REVIEW and REWORK_REQUIRED with the version they last saw, re-reading on a
+ * conflict, either all on one card or each on its own. Logs throughput and conflict rate, and
+ * checks that every successful transition, and only those, advanced the card's version, and that
+ * workers on cards of their own never conflict.
+ * <p>
+ * Commits to the configured database and removes its rows afterwards. Run with
+ * {@code mvn test -Dtest=JobCardTransitionContentionBenchmarkTest -Dprotomil.benchmarks=true}.
+ */
+@SpringBootTest
+@Slf4j
+@EnabledIfSystemProperty(named = "protomil.benchmarks", matches = "true")
+class JobCardTransitionContentionBenchmarkTest {
+
+    private static final int THREADS = 8;
+    private static final Duration WARMUP = Duration.ofSeconds(2);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(10);
+
+    @Autowired
+    private JobCardService jobCardService;
+
+    @Autowired
+    private JobCardTransitionRepository transitionRepository;
+
+    @Autowired
+    private JobCardStatusHistoryService statusHistoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long templateId;
+    private final List<Long> jobCardIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        templateId = jdbcTemplate.queryForObject("""
+                INSERT INTO job_card_templates (template_name, template_code, created_by)
+                VALUES ('Contention benchmark', 'BENCH-' || md5(random()::TEXT), 0)
+                RETURNING id
+                """, Long.class);
+        for (int i = 0; i < THREADS; i++) {
+            jobCardIds.add(jdbcTemplate.queryForObject("""
+                    INSERT INTO job_cards (job_number, template_id, title, status, created_by)
+                    VALUES ('BENCH-' || md5(random()::TEXT), ?, 'Contention benchmark', 'IN_PROGRESS', 0)
+                    RETURNING id
+                    """, Long.class, templateId));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        statusHistoryService.flush();
+        try {
+            for (Long id : jobCardIds) {
+                jdbcTemplate.update("DELETE FROM job_card_status_history WHERE job_card_id = ?", id);
+                jdbcTemplate.update("DELETE FROM workflow_instances WHERE entity_type = 'JOB_CARD' AND entity_id = ?",
+                        String.valueOf(id));
+                jdbcTemplate.update("DELETE FROM job_cards WHERE id = ?", id);
+            }
+            jdbcTemplate.update("DELETE FROM job_card_templates WHERE id = ?", templateId);
+        } catch (DataAccessException e) {
+            log.warn("Benchmark clean-up incomplete (template {}): {}", templateId, e.getMessage());
+        }
+        jobCardIds.clear();
+    }
+
+    @Test
+    void allWorkersOnOneCard() throws Exception {
+        run("same card", false, worker -> jobCardIds.get(0));
+    }
+
+    @Test
+    void eachWorkerOnItsOwnCard() throws Exception {
+        run("disjoint cards", true, jobCardIds::get);
+    }
+
+    private void run(String name, boolean cardPerWorker, IntFunction<Long> cardForWorker) throws Exception {
+        measure(cardForWorker, WARMUP);
+        Map<Long, Long> versionsBefore = versions();
+
+        Outcome outcome = measure(cardForWorker, MEASUREMENT);
+
+        Map<Long, Long> versionsAfter = versions();
+        for (Long id : jobCardIds) {
+            long successes = outcome.successesByCard().getOrDefault(id, new LongAdder()).sum();
+            assertThat(versionsAfter.get(id) - versionsBefore.get(id))
+                    .as("version increments of job card %d", id)
+                    .isEqualTo(successes);
+        }
+
+        long successes = outcome.successes();
+        double seconds = MEASUREMENT.toMillis() / 1000.0;
+        double conflictPercent = 100.0 * outcome.conflicts() / Math.max(successes + outcome.conflicts(), 1);
+        log.info("{} with {} threads: {} transitions/s, {} conflicts/s ({}% of attempts)", name, THREADS,
+                Math.round(successes / seconds), Math.round(outcome.conflicts() / seconds),
+                String.format("%.1f", conflictPercent));
+        assertThat(successes).isPositive();
+        // Workers on their own cards only conflict with themselves, which they never do
+        if (cardPerWorker) {
+            assertThat(outcome.conflicts()).isZero();
+        }
+    }
+
+    private Outcome measure(IntFunction<Long> cardForWorker, Duration duration) throws Exception {
+        Map<Long, LongAdder> successesByCard = new ConcurrentHashMap<>();
+        LongAdder conflicts = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int worker = 0; worker < THREADS; worker++) {
+                Long jobCardId = cardForWorker.apply(worker);
+                workers.add(pool.submit(() -> {
+                    authenticate();
+                    start.await();
+                    transitionUntil(jobCardId, System.nanoTime() + duration.toNanos(),
+                            successesByCard.computeIfAbsent(jobCardId, id -> new LongAdder()), conflicts);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        long successes = successesByCard.values().stream().mapToLong(LongAdder::sum).sum();
+        return new Outcome(successesByCard, successes, conflicts.sum());
+    }
+
+    private void transitionUntil(Long jobCardId, long deadline, LongAdder successes, LongAdder conflicts) {
+        StatusSnapshot current = transitionRepository.findStatus(jobCardId).orElseThrow();
+        JobStatus status = current.status();
+        Long version = current.version();
+        while (System.nanoTime() < deadline) {
+            try {
+                JobCardTransitionResult result = jobCardService.transitionJobCard(jobCardId, next(status),
+                        new JobCardTransitionGuard(version, null));
+                status = result.getStatus();
+                version = result.getVersion();
+                successes.increment();
+            } catch (ConcurrencyException | InvalidJobStatusTransitionException
+                     | OptimisticLockingFailureException e) {
+                conflicts.increment();
+                current = transitionRepository.findStatus(jobCardId).orElseThrow();
+                status = current.status();
+                version = current.version();
+            }
+        }
+    }
+
+    private Map<Long, Long> versions() {
+        Map<Long, Long> versions = new ConcurrentHashMap<>();
+        transitionRepository.findStatuses(jobCardIds)
+                .forEach(snapshot -> versions.put(snapshot.id(), snapshot.version()));
+        return versions;
+    }
+
+    private static JobStatus next(JobStatus status) {
+        return switch (status) {
+            case IN_PROGRESS -> JobStatus.PENDING_REVIEW;
+            case PENDING_REVIEW -> JobStatus.REWORK_REQUIRED;
+            case REWORK_REQUIRED -> JobStatus.IN_PROGRESS;
+            default -> throw new IllegalStateException("Benchmark card left the rework cycle: " + status);
+        };
+    }
+
+    private static void authenticate() {
+        UserTokenClaims claims = UserTokenClaims.builder()
+                .userId(UUID.randomUUID())
+                .email("benchmark@protomil.local")
+                .roles(List.of("ADMIN", "SUPERVISOR"))
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(claims, null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_SUPERVISOR"))));
+    }
+
+    private record Outcome(Map<Long, LongAdder> successesByCard, long successes, long conflicts) {
+    }
+}
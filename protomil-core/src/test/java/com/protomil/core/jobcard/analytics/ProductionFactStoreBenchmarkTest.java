@@ -0,0 +1,163 @@
+package com.protomil.core.jobcard.analytics;
+
+import com.protomil.core.jobcard.analytics.ProductionFactStore.Filter;
+import com.protomil.core.jobcard.analytics.ProductionFactStore.GroupTotals;
+import com.protomil.core.jobcard.domain.enums.ProductionDimension;
+import com.protomil.core.jobcard.domain.enums.Shift;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares in-memory KPI aggregation against the equivalent GROUP BY on production_master.
+ * Seeds a 90-day window inside the test transaction, which is rolled back afterwards.
+ * <p>
+ * Run with {@code mvn test -Dtest=ProductionFactStoreBenchmarkTest -Dprotomil.benchmarks=true}.
+ */
+@SpringBootTest
+@Transactional
+@EnabledIfSystemProperty(named = "protomil.benchmarks", matches = "true")
+@Slf4j
+class ProductionFactStoreBenchmarkTest {
+
+    private static final int ROWS = 200_000;
+    private static final int DAYS = 90;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    private static final String SQL_BY_MACHINE = """
+            SELECT COALESCE(machine_code, 'UNKNOWN') AS group_key,
+                   COUNT(*) AS record_count,
+                   SUM(COALESCE(production_quantity, 0)) AS production_quantity,
+                   SUM(COALESCE(rejection_inprocess_quantity, 0) + COALESCE(rejection_finalstage_quantity, 0))
+                       AS rejection_quantity,
+                   COALESCE(SUM((operator_efficiency_percentage * 100)::BIGINT), 0) AS operator_sum,
+                   COUNT(operator_efficiency_percentage) AS operator_count,
+                   COALESCE(SUM((equipment_efficiency_percentage * 100)::BIGINT), 0) AS equipment_sum,
+                   COUNT(equipment_efficiency_percentage) AS equipment_count
+            FROM production_master
+            WHERE job_card_id = ?
+              AND entry_date BETWEEN ? AND ?
+              AND (CAST(? AS VARCHAR) IS NULL OR shift = ?)
+            GROUP BY COALESCE(machine_code, 'UNKNOWN')
+            """;
+
+    private static final String LOAD = """
+            SELECT id, entry_date, machine_code, part_number, employee_number, shift, production_quantity,
+                   COALESCE(rejection_inprocess_quantity, 0) + COALESCE(rejection_finalstage_quantity, 0) AS rejected,
+                   (operator_efficiency_percentage * 100)::INT AS operator_efficiency,
+                   (equipment_efficiency_percentage * 100)::INT AS equipment_efficiency
+            FROM production_master
+            WHERE job_card_id = ?
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void inMemoryAggregationAgainstSql() {
+        LocalDate today = LocalDate.now();
+        LocalDate windowStart = today.minusDays(DAYS - 1);
+        long jobCardId = seed(windowStart);
+
+        ProductionFactStore store = new ProductionFactStore();
+        long loadStart = System.nanoTime();
+        jdbcTemplate.query(LOAD, rs -> {
+            int operatorEfficiency = rs.getInt("operator_efficiency");
+            boolean hasOperator = !rs.wasNull();
+            int equipmentEfficiency = rs.getInt("equipment_efficiency");
+            boolean hasEquipment = !rs.wasNull();
+            String shift = rs.getString("shift");
+            store.upsert(new ProductionFact(rs.getLong("id"), rs.getObject("entry_date", LocalDate.class),
+                    rs.getString("machine_code"), rs.getString("part_number"), rs.getString("employee_number"),
+                    shift != null ? Shift.valueOf(shift) : null, rs.getInt("production_quantity"),
+                    rs.getInt("rejected"),
+                    hasOperator ? operatorEfficiency : ProductionFact.NOT_AVAILABLE,
+                    hasEquipment ? equipmentEfficiency : ProductionFact.NOT_AVAILABLE));
+        }, jobCardId);
+        long loadMillis = (System.nanoTime() - loadStart) / 1_000_000;
+        assertThat(store.size()).isEqualTo(ROWS);
+
+        LocalDate lastWeek = today.minusDays(6);
+        report("load", loadMillis, 1);
+        compare("90 days by machine", new Filter(windowStart, today, null, null, null, null), store, jobCardId);
+        compare("7 days by machine", new Filter(lastWeek, today, null, null, null, null), store, jobCardId);
+        compare("90 days, night shift, by machine",
+                new Filter(windowStart, today, null, null, null, Shift.NIGHT), store, jobCardId);
+    }
+
+    private void compare(String name, Filter filter, ProductionFactStore store, long jobCardId) {
+        String shift = filter.shift() != null ? filter.shift().name() : null;
+        Supplier<List<GroupTotals>> sql = () -> sorted(jdbcTemplate.query(SQL_BY_MACHINE,
+                (rs, rowNum) -> new GroupTotals(rs.getString("group_key"), rs.getLong("record_count"),
+                        rs.getLong("production_quantity"), rs.getLong("rejection_quantity"),
+                        rs.getLong("operator_sum"), rs.getLong("operator_count"),
+                        rs.getLong("equipment_sum"), rs.getLong("equipment_count")),
+                jobCardId, filter.startDate(), filter.endDate(), shift, shift));
+        Supplier<List<GroupTotals>> memory = () -> sorted(store.aggregate(filter, ProductionDimension.MACHINE));
+
+        assertThat(memory.get()).isEqualTo(sql.get());
+
+        report(name + " [sql]", time(sql), ITERATIONS);
+        report(name + " [memory]", time(memory), ITERATIONS);
+    }
+
+    private long time(Supplier<?> query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            query.get();
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private long seed(LocalDate windowStart) {
+        Long templateId = jdbcTemplate.queryForObject("""
+                INSERT INTO job_card_templates (template_name, template_code, created_by)
+                VALUES ('Benchmark template', 'BENCH-' || md5(random()::TEXT), 0)
+                RETURNING id
+                """, Long.class);
+        Long jobCardId = jdbcTemplate.queryForObject("""
+                INSERT INTO job_cards (job_number, template_id, title, created_by)
+                VALUES ('BENCH-' || md5(random()::TEXT), ?, 'Benchmark job card', 0)
+                RETURNING id
+                """, Long.class, templateId);
+
+        // 200 machines, 500 parts, 300 operators; efficiencies stay below the DECIMAL(5,2) limit
+        jdbcTemplate.update("""
+                INSERT INTO production_master (job_card_id, entry_date, machine_code, part_number, employee_number,
+                                               shift, total_time_available_minutes, defined_operation_time_minutes,
+                                               actual_operation_time_minutes, production_quantity,
+                                               rejection_inprocess_quantity, rejection_finalstage_quantity)
+                SELECT ?, ?::DATE + (i % ?), 'M-' || (i % 200), 'P-' || (i % 500), 'E-' || (i % 300),
+                       (ARRAY['MORNING', 'AFTERNOON', 'NIGHT'])[1 + i % 3],
+                       CASE WHEN i % 10 = 0 THEN NULL ELSE 480 END,
+                       50 + i % 10, CASE WHEN i % 7 = 0 THEN NULL ELSE 50 + i % 20 END,
+                       100 + i % 50, i % 4, i % 3
+                FROM generate_series(1, ?) AS i
+                """, jobCardId, windowStart, DAYS, ROWS);
+        jdbcTemplate.execute("ANALYZE production_master");
+        return jobCardId;
+    }
+
+    private static List<GroupTotals> sorted(List<GroupTotals> totals) {
+        return totals.stream().sorted(Comparator.comparing(GroupTotals::key)).toList();
+    }
+
+    private static void report(String name, long totalMillis, int iterations) {
+        log.info(String.format("%-45s %8.2f ms/op", name, (double) totalMillis / iterations));
+    }
+}
@@ -0,0 +1,174 @@
+package com.protomil.core.jobcard.analytics;
+
+import com.protomil.core.jobcard.analytics.ProductionFactStore.Filter;
+import com.protomil.core.jobcard.analytics.ProductionFactStore.GroupTotals;
+import com.protomil.core.jobcard.domain.enums.ProductionDimension;
+import com.protomil.core.jobcard.domain.enums.Shift;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ProductionFactStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private ProductionFactStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ProductionFactStore();
+    }
+
+    @Test
+    void groupsTotalsByMachine() {
+        store.upsert(fact(1, DAY, "M1", "P1", "E1", Shift.MORNING, 100, 5, 9000, 8000));
+        store.upsert(fact(2, DAY, "M1", "P2", "E2", Shift.NIGHT, 50, 0, 11000, ProductionFact.NOT_AVAILABLE));
+        store.upsert(fact(3, DAY, "M2", "P1", "E1", Shift.MORNING, 10, 1, ProductionFact.NOT_AVAILABLE, 7000));
+
+        Map<String, GroupTotals> totals = byKey(store.aggregate(range(DAY, DAY), ProductionDimension.MACHINE));
+
+        assertThat(totals).containsOnlyKeys("M1", "M2");
+        assertThat(totals.get("M1")).isEqualTo(new GroupTotals("M1", 2, 150, 5, 20000, 2, 8000, 1));
+        assertThat(totals.get("M2")).isEqualTo(new GroupTotals("M2", 1, 10, 1, 0, 0, 7000, 1));
+    }
+
+    @Test
+    void intersectsDimensionFilters() {
+        store.upsert(fact(1, DAY, "M1", "P1", "E1", Shift.MORNING, 100, 0, 9000, 9000));
+        store.upsert(fact(2, DAY, "M1", "P1", "E2", Shift.MORNING, 200, 0, 9000, 9000));
+        store.upsert(fact(3, DAY, "M1", "P2", "E1", Shift.MORNING, 300, 0, 9000, 9000));
+        store.upsert(fact(4, DAY, "M2", "P1", "E1", Shift.AFTERNOON, 400, 0, 9000, 9000));
+
+        Filter filter = new Filter(DAY, DAY, "M1", "P1", "E1", Shift.MORNING);
+        List<GroupTotals> totals = store.aggregate(filter, ProductionDimension.OPERATOR);
+
+        assertThat(totals).extracting(GroupTotals::key, GroupTotals::productionQuantity)
+                .containsExactly(tuple("E1", 100L));
+    }
+
+    @Test
+    void unknownFilterValueMatchesNothing() {
+        store.upsert(fact(1, DAY, "M1", "P1", "E1", Shift.MORNING, 100, 0, 9000, 9000));
+
+        Filter filter = new Filter(DAY, DAY, "NO-SUCH-MACHINE", null, null, null);
+
+        assertThat(store.aggregate(filter, ProductionDimension.MACHINE)).isEmpty();
+    }
+
+    @Test
+    void groupsByDayAndShiftWithinTheDateRange() {
+        store.upsert(fact(1, DAY.minusDays(1), "M1", "P1", "E1", Shift.MORNING, 1, 0, 9000, 9000));
+        store.upsert(fact(2, DAY, "M1", "P1", "E1", null, 2, 0, 9000, 9000));
+        store.upsert(fact(3, DAY.plusDays(1), "M1", "P1", "E1", Shift.NIGHT, 4, 0, 9000, 9000));
+        store.upsert(fact(4, DAY.plusDays(2), "M1", "P1", "E1", Shift.NIGHT, 8, 0, 9000, 9000));
+
+        Filter filter = range(DAY, DAY.plusDays(1));
+
+        assertThat(store.aggregate(filter, ProductionDimension.DAY))
+                .extracting(GroupTotals::key, GroupTotals::productionQuantity)
+                .containsExactly(
+                        tuple(DAY.toString(), 2L),
+                        tuple(DAY.plusDays(1).toString(), 4L));
+        assertThat(store.aggregate(filter, ProductionDimension.SHIFT))
+                .extracting(GroupTotals::key, GroupTotals::productionQuantity)
+                .containsExactly(
+                        tuple(ProductionFactStore.UNKNOWN, 2L),
+                        tuple(Shift.NIGHT.name(), 4L));
+    }
+
+    @Test
+    void upsertOverwritesTheFactAndItsIndexEntries() {
+        store.upsert(fact(1, DAY, "M1", "P1", "E1", Shift.MORNING, 100, 0, 9000, 9000));
+        store.upsert(fact(1, DAY, "M2", "P1", "E1", Shift.MORNING, 120, 3, 9000, 9000));
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.aggregate(new Filter(DAY, DAY, "M1", null, null, null), ProductionDimension.MACHINE))
+                .isEmpty();
+        assertThat(store.aggregate(new Filter(DAY, DAY, "M2", null, null, null), ProductionDimension.MACHINE))
+                .containsExactly(new GroupTotals("M2", 1, 120, 3, 9000, 1, 9000, 1));
+    }
+
+    @Test
+    void removedFactIsNoLongerAggregatedAndCanBeReinserted() {
+        store.upsert(fact(1, DAY, "M1", "P1", "E1", Shift.MORNING, 100, 0, 9000, 9000));
+        store.upsert(fact(2, DAY, "M1", "P1", "E1", Shift.MORNING, 50, 0, 9000, 9000));
+
+        store.remove(1);
+        store.remove(99);
+
+        assertThat(store.aggregate(range(DAY, DAY), ProductionDimension.MACHINE))
+                .extracting(GroupTotals::productionQuantity)
+                .containsExactly(50L);
+        assertThat(store.aggregate(new Filter(DAY, DAY, "M1", null, null, Shift.MORNING),
+                ProductionDimension.MACHINE))
+                .extracting(GroupTotals::recordCount)
+                .containsExactly(1L);
+
+        store.upsert(fact(1, DAY, "M1", "P1", "E1", Shift.MORNING, 70, 0, 9000, 9000));
+
+        assertThat(store.aggregate(range(DAY, DAY), ProductionDimension.MACHINE))
+                .extracting(GroupTotals::productionQuantity)
+                .containsExactly(120L);
+    }
+
+    @Test
+    void evictionDropsOldAndRemovedFactsAndKeepsIndexesConsistent() {
+        store.upsert(fact(1, DAY.minusDays(10), "M1", "P1", "E1", Shift.MORNING, 1, 0, 9000, 9000));
+        store.upsert(fact(2, DAY, "M2", "P1", "E1", Shift.MORNING, 2, 0, 9000, 9000));
+        store.upsert(fact(3, DAY, "M1", "P2", "E2", Shift.NIGHT, 4, 0, 9000, 9000));
+        store.upsert(fact(4, DAY, "M1", "P1", "E1", Shift.NIGHT, 8, 0, 9000, 9000));
+        store.remove(3);
+
+        int evicted = store.evictBefore(DAY.minusDays(1));
+
+        assertThat(evicted).isEqualTo(2);
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.aggregate(new Filter(DAY, DAY, "M1", null, null, null), ProductionDimension.MACHINE))
+                .containsExactly(new GroupTotals("M1", 1, 8, 0, 9000, 1, 9000, 1));
+
+        // Surviving rows were compacted; updating one must still hit its own row
+        store.upsert(fact(4, DAY, "M1", "P1", "E1", Shift.NIGHT, 16, 0, 9000, 9000));
+        store.remove(2);
+
+        assertThat(store.aggregate(range(DAY, DAY), ProductionDimension.MACHINE))
+                .containsExactly(new GroupTotals("M1", 1, 16, 0, 9000, 1, 9000, 1));
+    }
+
+    @Test
+    void growsBeyondItsInitialCapacity() {
+        int facts = 10_000;
+        for (int i = 0; i < facts; i++) {
+            store.upsert(fact(i, DAY.plusDays(i % 7), "M" + (i % 13), "P" + (i % 5), "E" + (i % 31),
+                    Shift.values()[i % 3], 1, i % 2, 9000, 9000));
+        }
+
+        List<GroupTotals> totals = store.aggregate(range(DAY, DAY.plusDays(6)), ProductionDimension.MACHINE);
+
+        assertThat(store.size()).isEqualTo(facts);
+        assertThat(totals).hasSize(13);
+        assertThat(totals.stream().mapToLong(GroupTotals::productionQuantity).sum()).isEqualTo(facts);
+        assertThat(totals.stream().mapToLong(GroupTotals::rejectionQuantity).sum()).isEqualTo(facts / 2);
+    }
+
+    private static Filter range(LocalDate from, LocalDate to) {
+        return new Filter(from, to, null, null, null, null);
+    }
+
+    private static Map<String, GroupTotals> byKey(List<GroupTotals> totals) {
+        return totals.stream().collect(Collectors.toMap(GroupTotals::key, t -> t));
+    }
+
+    private static ProductionFact fact(long id, LocalDate date, String machine, String part, String operator,
+                                       Shift shift, int produced, int rejected,
+                                       int operatorEfficiency, int equipmentEfficiency) {
+        return new ProductionFact(id, date, machine, part, operator, shift, produced, rejected,
+                operatorEfficiency, equipmentEfficiency);
+    }
+}
@@ -0,0 +1,73 @@
+package com.protomil.core.jobcard.analytics;
+
+import com.protomil.core.jobcard.domain.ProductionLossDetail;
+import com.protomil.core.jobcard.domain.ProductionMaster;
+import com.protomil.core.jobcard.domain.enums.Shift;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductionFactTest {
+
+    @Test
+    void computesEfficienciesFromTheInputColumns() {
+        ProductionMaster record = record(new BigDecimal("90"), new BigDecimal("120"), 480, 30);
+
+        ProductionFact fact = ProductionFact.from(record);
+
+        assertThat(fact.operatorEfficiencyHundredths()).isEqualTo(7500);
+        // (480 - 60 loss - 30 break) / 480
+        assertThat(fact.equipmentEfficiencyHundredths()).isEqualTo(8125);
+        assertThat(fact.productionQuantity()).isEqualTo(200);
+        assertThat(fact.rejectionQuantity()).isEqualTo(7);
+    }
+
+    @Test
+    void ignoresGeneratedColumnsLeftOverFromBeforeAnUpdate() {
+        ProductionMaster record = record(new BigDecimal("90"), new BigDecimal("120"), 480, 30);
+        record.setOperatorEfficiencyPercentage(new BigDecimal("50.00"));
+        record.setEquipmentEfficiencyPercentage(new BigDecimal("99.00"));
+
+        ProductionFact fact = ProductionFact.from(record);
+
+        assertThat(fact.operatorEfficiencyHundredths()).isEqualTo(7500);
+        assertThat(fact.equipmentEfficiencyHundredths()).isEqualTo(8125);
+    }
+
+    @Test
+    void efficienciesAreNotAvailableWithoutTimes() {
+        ProductionMaster record = record(null, new BigDecimal("120"), 0, 0);
+        record.setOperatorEfficiencyPercentage(new BigDecimal("75.00"));
+
+        ProductionFact fact = ProductionFact.from(record);
+
+        assertThat(fact.operatorEfficiencyHundredths()).isEqualTo(ProductionFact.NOT_AVAILABLE);
+        assertThat(fact.equipmentEfficiencyHundredths()).isEqualTo(ProductionFact.NOT_AVAILABLE);
+    }
+
+    private static ProductionMaster record(BigDecimal defined, BigDecimal actual, int available, int breakMinutes) {
+        ProductionMaster record = ProductionMaster.builder()
+                .id(1L)
+                .entryDate(LocalDate.of(2025, 3, 10))
+                .machineCode("M1")
+                .partNumber("P1")
+                .employeeNumber("E1")
+                .shift(Shift.MORNING)
+                .totalTimeAvailableMinutes(available)
+                .lunchTeaBreakMinutes(breakMinutes)
+                .definedOperationTimeMinutes(defined)
+                .actualOperationTimeMinutes(actual)
+                .productionQuantity(200)
+                .rejectionInprocessQuantity(4)
+                .rejectionFinalstageQuantity(3)
+                .build();
+        record.setLossDetails(List.of(
+                ProductionLossDetail.builder().lossSequence(1).lossTimeMinutes(45).build(),
+                ProductionLossDetail.builder().lossSequence(2).lossTimeMinutes(15).build()));
+        return record;
+    }
+}
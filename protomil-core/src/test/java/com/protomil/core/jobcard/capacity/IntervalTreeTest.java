@@ -0,0 +1,137 @@
+package com.protomil.core.jobcard.capacity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IntervalTreeTest {
+
+    @Test
+    void halfOpenIntervalsTouchingAtTheirEndsDoNotOverlap() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(10, 20, "a");
+
+        assertThat(tree.isFree(0, 10)).isTrue();
+        assertThat(tree.isFree(20, 30)).isTrue();
+        assertThat(tree.isFree(19, 21)).isFalse();
+        assertThat(tree.isFree(0, 11)).isFalse();
+        assertThat(tree.isFree(12, 15)).isFalse();
+    }
+
+    @Test
+    void returnsOverlappingIntervalsInStartOrder() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(50, 60, "late");
+        tree.insert(0, 100, "long");
+        tree.insert(20, 30, "middle");
+        tree.insert(20, 25, "same start");
+        tree.insert(200, 210, "outside");
+
+        assertThat(tree.overlapping(25, 55))
+                .extracting(IntervalTree.Entry::value)
+                .containsExactly("long", "middle", "late");
+        assertThat(tree.overlapping(100, 200)).isEmpty();
+    }
+
+    @Test
+    void earliestGapJumpsPastBusyClusters() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(0, 10, "a");
+        tree.insert(5, 30, "b");
+        tree.insert(32, 40, "c");
+        tree.insert(45, 50, "d");
+
+        assertThat(tree.earliestGap(0, 2, 1_000)).hasValue(30);
+        assertThat(tree.earliestGap(0, 5, 1_000)).hasValue(40);
+        assertThat(tree.earliestGap(0, 6, 1_000)).hasValue(50);
+        assertThat(tree.earliestGap(12, 1, 1_000)).hasValue(30);
+        assertThat(tree.earliestGap(0, 6, 50)).isEmpty();
+    }
+
+    @Test
+    void nextStartIsWhereAGapEnds() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(32, 40, "c");
+        tree.insert(0, 10, "a");
+
+        assertThat(tree.nextStartAtOrAfter(10)).hasValue(32);
+        assertThat(tree.nextStartAtOrAfter(32)).hasValue(32);
+        assertThat(tree.nextStartAtOrAfter(33)).isEmpty();
+    }
+
+    @Test
+    void removesOnlyTheGivenEntry() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        IntervalTree.Entry<String> first = tree.insert(10, 20, "first");
+        IntervalTree.Entry<String> second = tree.insert(10, 20, "second");
+
+        assertThat(tree.remove(first)).isTrue();
+        assertThat(tree.remove(first)).isFalse();
+
+        assertThat(tree.size()).isEqualTo(1);
+        assertThat(tree.overlapping(0, 100)).containsExactly(second);
+        assertThat(tree.remove(second)).isTrue();
+        assertThat(tree.isFree(Long.MIN_VALUE, Long.MAX_VALUE)).isTrue();
+    }
+
+    @Test
+    void rejectsEmptyIntervals() {
+        IntervalTree<String> tree = new IntervalTree<>();
+
+        assertThatThrownBy(() -> tree.insert(10, 10, "empty")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(tree.size()).isZero();
+    }
+
+    @Test
+    void agreesWithABruteForceScanUnderRandomInsertsAndRemovals() {
+        SplittableRandom random = new SplittableRandom(42);
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        List<IntervalTree.Entry<Integer>> live = new ArrayList<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            if (live.isEmpty() || random.nextInt(3) > 0) {
+                long start = random.nextLong(100_000);
+                live.add(tree.insert(start, start + 1 + random.nextLong(200), step));
+            } else {
+                assertThat(tree.remove(live.remove(random.nextInt(live.size())))).isTrue();
+            }
+
+            if (step % 50 == 0) {
+                long from = random.nextLong(100_000);
+                long to = from + 1 + random.nextLong(300);
+                long length = 1 + random.nextLong(100);
+
+                assertThat(tree.size()).isEqualTo(live.size());
+                assertThat(tree.isFree(from, to)).isEqualTo(bruteOverlapping(live, from, to).isEmpty());
+                assertThat(tree.overlapping(from, to)).isEqualTo(bruteOverlapping(live, from, to));
+                assertThat(tree.earliestGap(from, length, 200_000)).isEqualTo(bruteGap(live, from, length, 200_000));
+            }
+        }
+    }
+
+    private static List<IntervalTree.Entry<Integer>> bruteOverlapping(List<IntervalTree.Entry<Integer>> live,
+                                                                      long from, long to) {
+        return live.stream()
+                .filter(entry -> entry.start() < to && entry.end() > from)
+                .sorted(Comparator.comparingLong(IntervalTree.Entry<Integer>::start)
+                        .thenComparingLong(IntervalTree.Entry::seq))
+                .toList();
+    }
+
+    /** A gap can only begin at {@code from} or where some interval ends, so only those are tried. */
+    private static OptionalLong bruteGap(List<IntervalTree.Entry<Integer>> live, long from, long length, long limit) {
+        return LongStream.concat(LongStream.of(from), live.stream().mapToLong(IntervalTree.Entry::end))
+                .filter(candidate -> candidate >= from && candidate < limit)
+                .sorted()
+                .filter(candidate -> bruteOverlapping(live, candidate, candidate + length).isEmpty())
+                .findFirst();
+    }
+}
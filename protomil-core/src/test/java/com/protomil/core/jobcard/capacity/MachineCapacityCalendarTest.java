@@ -0,0 +1,139 @@
+package com.protomil.core.jobcard.capacity;
+
+import com.protomil.core.jobcard.capacity.MachineCapacityCalendar.Booking;
+import com.protomil.core.jobcard.capacity.MachineCapacityCalendar.BookingSource;
+import com.protomil.core.jobcard.capacity.MachineCapacityCalendar.FreeSlot;
+import com.protomil.core.jobcard.capacity.MachineCapacityCalendar.MachineInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class MachineCapacityCalendarTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2025, 3, 10, 8, 0);
+    private static final LocalDateTime UNTIL = T.plusDays(1);
+    private static final String JOB_1 = MachineCapacityCalendar.jobCardOwner(1);
+    private static final String JOB_2 = MachineCapacityCalendar.jobCardOwner(2);
+    private static final String MAINTENANCE = MachineCapacityCalendar.maintenanceOwner(UUID.randomUUID());
+
+    private MachineCapacityCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new MachineCapacityCalendar(
+                List.of(new MachineInfo(1, "M-1", "A", true),
+                        new MachineInfo(2, "M-2", "A", true),
+                        new MachineInfo(3, "M-3", "B", false)),
+                List.of(booking(1, JOB_1, BookingSource.ASSIGNMENT, T, T.plusHours(2)),
+                        booking(1, MAINTENANCE, BookingSource.MAINTENANCE, T.plusHours(4), T.plusHours(5)),
+                        booking(2, JOB_2, BookingSource.EQUIPMENT, T, T.plusHours(1)),
+                        // Machines outside the calendar and empty bookings are dropped
+                        booking(99, JOB_2, BookingSource.ASSIGNMENT, T, T.plusHours(1)),
+                        booking(2, JOB_2, BookingSource.ASSIGNMENT, T.plusHours(3), T.plusHours(3))));
+    }
+
+    @Test
+    void machineIsFreeOnlyBetweenItsBookings() {
+        assertThat(calendar.bookingCount()).isEqualTo(3);
+        assertThat(calendar.isFree(1, T.plusHours(2), T.plusHours(4))).isTrue();
+        assertThat(calendar.isFree(1, T.plusMinutes(119), T.plusHours(3))).isFalse();
+        assertThat(calendar.isFree(1, T.plusHours(3), T.plusHours(6))).isFalse();
+        assertThat(calendar.isFree(2, T.plusHours(1), UNTIL)).isTrue();
+    }
+
+    @Test
+    void machinesOutOfServiceOrUnknownAreNeverFree() {
+        assertThat(calendar.isFree(3, T, T.plusHours(1))).isFalse();
+        assertThat(calendar.isFree(42, T, T.plusHours(1))).isFalse();
+        assertThat(calendar.earliestFreeSlot(3, T, Duration.ofHours(1), UNTIL)).isEmpty();
+        assertThat(calendar.earliestFreeSlot(42, T, Duration.ofHours(1), UNTIL)).isEmpty();
+    }
+
+    @Test
+    void bookingsAreWidenedToWholeMinutes() {
+        calendar.replaceOwner(JOB_2, List.of(booking(2, JOB_2, BookingSource.ASSIGNMENT,
+                T.plusSeconds(30), T.plusHours(1).plusSeconds(1))));
+
+        assertThat(calendar.isFree(2, T.minusMinutes(1), T)).isTrue();
+        assertThat(calendar.isFree(2, T.plusHours(1), T.plusHours(2))).isFalse();
+        assertThat(calendar.isFree(2, T.plusHours(1).plusMinutes(1), T.plusHours(2))).isTrue();
+    }
+
+    @Test
+    void listsOverlappingBookingsInStartOrder() {
+        assertThat(calendar.bookings(1, T.minusHours(1), UNTIL))
+                .extracting(Booking::ownerKey, Booking::source)
+                .containsExactly(
+                        tuple(JOB_1, BookingSource.ASSIGNMENT),
+                        tuple(MAINTENANCE, BookingSource.MAINTENANCE));
+        assertThat(calendar.bookings(1, T.plusHours(2), T.plusHours(4))).isEmpty();
+        assertThat(calendar.bookings(42, T, UNTIL)).isEmpty();
+    }
+
+    @Test
+    void earliestFreeSlotFitsBetweenBookingsOrAfterTheLast() {
+        assertThat(calendar.earliestFreeSlot(1, T, Duration.ofHours(2), UNTIL))
+                .get()
+                .extracting(FreeSlot::start, FreeSlot::end)
+                .containsExactly(T.plusHours(2), T.plusHours(4));
+        assertThat(calendar.earliestFreeSlot(1, T, Duration.ofHours(3), UNTIL))
+                .get()
+                .extracting(FreeSlot::start, FreeSlot::end)
+                .containsExactly(T.plusHours(5), null);
+        assertThat(calendar.earliestFreeSlot(1, T, Duration.ofHours(3), T.plusHours(4))).isEmpty();
+    }
+
+    @Test
+    void earliestFreeSlotInSectionTakesTheEarliestMachineAndBreaksTiesByCode() {
+        assertThat(calendar.earliestFreeSlotInSection("A", T, Duration.ofHours(1), UNTIL))
+                .get()
+                .extracting(slot -> slot.machine().machineCode(), FreeSlot::start)
+                .containsExactly("M-2", T.plusHours(1));
+        assertThat(calendar.earliestFreeSlotInSection("A", T.plusHours(5), Duration.ofHours(1), UNTIL))
+                .get()
+                .extracting(slot -> slot.machine().machineCode(), FreeSlot::start)
+                .containsExactly("M-1", T.plusHours(5));
+        assertThat(calendar.earliestFreeSlotInSection("B", T, Duration.ofHours(1), UNTIL)).isEmpty();
+        assertThat(calendar.earliestFreeSlotInSection("NONE", T, Duration.ofHours(1), UNTIL)).isEmpty();
+    }
+
+    @Test
+    void replacingAnOwnerMovesAllOfItsBookings() {
+        calendar.replaceOwner(JOB_1, List.of(
+                booking(2, JOB_1, BookingSource.ASSIGNMENT, T.plusHours(1), T.plusHours(2)),
+                booking(2, JOB_1, BookingSource.EQUIPMENT, T.plusHours(6), T.plusHours(7))));
+
+        assertThat(calendar.bookingCount()).isEqualTo(4);
+        assertThat(calendar.isFree(1, T, T.plusHours(4))).isTrue();
+        assertThat(calendar.bookings(2, T, UNTIL))
+                .extracting(Booking::ownerKey)
+                .containsExactly(JOB_2, JOB_1, JOB_1);
+
+        calendar.replaceOwner(JOB_1, List.of());
+        calendar.replaceOwner(MachineCapacityCalendar.jobCardOwner(404), List.of());
+
+        assertThat(calendar.bookingCount()).isEqualTo(2);
+        assertThat(calendar.bookings(2, T, UNTIL)).extracting(Booking::ownerKey).containsExactly(JOB_2);
+    }
+
+    @Test
+    void rejectsBookingsOfAnotherOwner() {
+        List<Booking> foreign = List.of(booking(1, JOB_2, BookingSource.ASSIGNMENT, T, T.plusHours(1)));
+
+        assertThatThrownBy(() -> calendar.replaceOwner(JOB_1, foreign))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Booking booking(long machineId, String owner, BookingSource source, LocalDateTime start,
+                                   LocalDateTime end) {
+        return new Booking(machineId, owner, source, owner, start, end);
+    }
+}
@@ -0,0 +1,150 @@
+package com.protomil.core.jobcard.scheduling;
+
+import com.protomil.core.jobcard.domain.enums.Shift;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares incremental schedule updates against re-solving the whole backlog, at 10,000 READY jobs
+ * on 200 machines. The full re-solve is timed both as a plain rebuild (dispatch and placement only)
+ * and with the default local search budget; each incremental update is followed by the same short
+ * local search the service runs. After the updates the incremental schedule is checked against a
+ * rebuild of the resulting backlog.
+ * <p>
+ * Pure in-memory; run with {@code mvn test -Dtest=IncrementalScheduleBenchmarkTest -Dprotomil.benchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "protomil.benchmarks", matches = "true")
+@Slf4j
+class IncrementalScheduleBenchmarkTest {
+
+    private static final LocalDateTime HORIZON = LocalDateTime.of(2025, 3, 10, 6, 0);
+    private static final int JOBS = 10_000;
+    private static final int MACHINES = 200;
+    private static final int OPERATORS = 300;
+    private static final int UPDATES = 200;
+    private static final int REBUILDS = 10;
+    private static final Duration SOLVE_BUDGET = Duration.ofSeconds(10);
+    private static final Duration INCREMENTAL_BUDGET = Duration.ofMillis(50);
+
+    private ForkJoinPool pool;
+    private ShiftCalendar calendar;
+    private SyntheticBacklog backlog;
+    private List<SchedulingInput.MachineResource> machines;
+    private List<SchedulingInput.Operator> operators;
+    private List<SchedulingInput.Job> jobs;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        calendar = new ShiftCalendar(HORIZON, EnumSet.of(Shift.MORNING, Shift.AFTERNOON));
+        backlog = new SyntheticBacklog(HORIZON, 2025);
+        machines = backlog.machines(MACHINES);
+        operators = backlog.operators(OPERATORS);
+        jobs = new ArrayList<>(backlog.jobs(JOBS, 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void incrementalUpdatesAgainstFullResolve() {
+        for (int i = 0; i < 3; i++) {
+            build(jobs);
+        }
+        long rebuildNanos = time(() -> build(jobs), REBUILDS);
+
+        IncrementalSchedule schedule = build(jobs);
+        long solveStart = System.nanoTime();
+        int accepted = schedule.improve(SOLVE_BUDGET);
+        long solveNanos = System.nanoTime() - solveStart;
+
+        // Alternate arrivals and departures at random dispatch positions, each followed by local search
+        long insertNanos = 0;
+        long removeNanos = 0;
+        for (int i = 0; i < UPDATES; i++) {
+            SchedulingInput.Job added = backlog.job(100_000 + i);
+            long start = System.nanoTime();
+            schedule.addJob(added);
+            schedule.improve(INCREMENTAL_BUDGET);
+            insertNanos += System.nanoTime() - start;
+            jobs.add(added);
+
+            SchedulingInput.Job removed = jobs.remove((i * 7919) % jobs.size());
+            start = System.nanoTime();
+            assertThat(schedule.removeJob(removed.jobCardId())).isTrue();
+            schedule.improve(INCREMENTAL_BUDGET);
+            removeNanos += System.nanoTime() - start;
+        }
+
+        long outageNanos = 0;
+        for (int i = 0; i < UPDATES / 10; i++) {
+            long machineId = machines.get((i * 31) % MACHINES).machineId();
+            long start = System.nanoTime();
+            schedule.setMachineAvailable(machineId, false, HORIZON);
+            schedule.improve(INCREMENTAL_BUDGET);
+            outageNanos += System.nanoTime() - start;
+            schedule.setMachineAvailable(machineId, true, HORIZON);
+        }
+
+        log.info("{} jobs, {} machines, {} operators", JOBS, MACHINES, OPERATORS);
+        report("full rebuild (no local search)", rebuildNanos / REBUILDS);
+        report("full re-solve (" + SOLVE_BUDGET.toSeconds() + "s budget, " + accepted + " moves)",
+                rebuildNanos / REBUILDS + solveNanos);
+        report("incremental insert + local search", insertNanos / UPDATES);
+        report("incremental remove + local search", removeNanos / UPDATES);
+        report("machine outage + local search", outageNanos / (UPDATES / 10));
+
+        assertThat(schedule.size()).isEqualTo(JOBS);
+        assertThat(insertNanos / UPDATES).isLessThan(rebuildNanos / REBUILDS + solveNanos);
+    }
+
+    @Test
+    void incrementalPlacementMatchesARebuildAtScale() {
+        IncrementalSchedule schedule = build(jobs);
+        for (int i = 0; i < UPDATES; i++) {
+            SchedulingInput.Job added = backlog.job(100_000 + i);
+            schedule.addJob(added);
+            jobs.add(added);
+            schedule.removeJob(jobs.remove((i * 7919) % jobs.size()).jobCardId());
+        }
+
+        IncrementalSchedule.Result incremental = schedule.result();
+        IncrementalSchedule.Result rebuilt = build(jobs).result();
+
+        assertThat(incremental.weightedTardinessMinutes()).isEqualTo(rebuilt.weightedTardinessMinutes());
+        assertThat(incremental.scheduled()).isEqualTo(rebuilt.scheduled());
+        assertThat(incremental.unscheduled()).containsExactlyInAnyOrderElementsOf(rebuilt.unscheduled());
+    }
+
+    private IncrementalSchedule build(List<SchedulingInput.Job> backlogJobs) {
+        return new IncrementalSchedule(new SchedulingInput(List.copyOf(backlogJobs), machines, operators),
+                calendar, pool, 64, 512, 7);
+    }
+
+    private static long time(Supplier<?> run, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            run.get();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String name, long nanos) {
+        log.info(String.format("%-55s %10.2f ms", name, nanos / 1_000_000.0));
+    }
+}
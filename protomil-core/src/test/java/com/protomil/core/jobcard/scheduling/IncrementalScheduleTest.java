@@ -0,0 +1,232 @@
+package com.protomil.core.jobcard.scheduling;
+
+import com.protomil.core.jobcard.domain.enums.Shift;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class IncrementalScheduleTest {
+
+    private static final LocalDateTime HORIZON = LocalDateTime.of(2025, 3, 10, 6, 0);
+    private static final int JOBS = 600;
+
+    private ForkJoinPool pool;
+    private ShiftCalendar calendar;
+    private SyntheticBacklog backlog;
+    private List<SchedulingInput.MachineResource> machines;
+    private List<SchedulingInput.Operator> operators;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(2);
+        // Round the clock, so working minutes and wall-clock minutes coincide
+        calendar = new ShiftCalendar(HORIZON, EnumSet.allOf(Shift.class));
+        backlog = new SyntheticBacklog(HORIZON, 42);
+        machines = backlog.machines(20);
+        operators = backlog.operators(30);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void placesJobsInDispatchOrderOnTheEarliestFinishingMachine() {
+        List<SchedulingInput.MachineResource> lathes = List.of(machine(10, "LATHE"), machine(11, "LATHE"));
+        List<SchedulingInput.Operator> staff = List.of(operator("E-1"), operator("E-2"));
+        List<SchedulingInput.Job> jobs = List.of(
+                job(1, 1, 60, null, "LATHE"),
+                job(2, 4, 30, null, "LATHE"),
+                job(3, 4, 90, null, "LATHE"));
+
+        IncrementalSchedule.Result result = schedule(new SchedulingInput(jobs, lathes, staff)).result();
+
+        // Priority first, then the shorter run; job 1 follows job 2 on machine 10 with the first free operator
+        assertThat(result.scheduled())
+                .extracting(job -> job.job().jobCardId(), job -> job.machine().machineId(),
+                        job -> job.operator().employeeNumber(), IncrementalSchedule.ScheduledJob::sequence,
+                        IncrementalSchedule.ScheduledJob::start, IncrementalSchedule.ScheduledJob::end)
+                .containsExactly(
+                        tuple(2L, 10L, "E-1", 1, HORIZON, HORIZON.plusMinutes(30)),
+                        tuple(3L, 11L, "E-2", 1, HORIZON, HORIZON.plusMinutes(90)),
+                        tuple(1L, 10L, "E-1", 2, HORIZON.plusMinutes(30), HORIZON.plusMinutes(90)));
+        assertThat(result.unscheduled()).isEmpty();
+    }
+
+    @Test
+    void reportsTardinessWeightedByPriority() {
+        List<SchedulingInput.Job> jobs = List.of(
+                job(1, 3, 120, HORIZON.plusMinutes(60), "LATHE"),
+                job(2, 1, 60, HORIZON.plusMinutes(60), "LATHE"));
+
+        IncrementalSchedule.Result result = schedule(new SchedulingInput(jobs,
+                List.of(machine(10, "LATHE")), List.of(operator("E-1")))).result();
+
+        assertThat(result.scheduled())
+                .extracting(job -> job.job().jobCardId(), IncrementalSchedule.ScheduledJob::tardinessMinutes)
+                .containsExactly(tuple(1L, 60L), tuple(2L, 120L));
+        assertThat(result.weightedTardinessMinutes()).isEqualTo(60 * 3 + 120);
+    }
+
+    @Test
+    void jobsWithoutAnEligibleMachineOrOperatorAreUnscheduled() {
+        SkillEncoder skills = new SkillEncoder();
+        UUID welding = UUID.randomUUID();
+        List<SchedulingInput.Job> jobs = List.of(
+                job(1, 2, 60, null, "PRESS"),
+                new SchedulingInput.Job(2, "JC-2", 2, 60, null, null, "LATHE", skills.required(Map.of(welding, 3))),
+                job(3, 2, 60, null, null));
+        List<SchedulingInput.Operator> staff = List.of(new SchedulingInput.Operator(UUID.randomUUID(), "E-1",
+                skills.held(Map.of(welding, 2)), null));
+
+        IncrementalSchedule.Result result = schedule(new SchedulingInput(jobs, List.of(machine(10, "LATHE")), staff))
+                .result();
+
+        assertThat(result.scheduled()).extracting(job -> job.job().jobCardId()).containsExactly(3L);
+        assertThat(result.unscheduled())
+                .extracting(job -> job.job().jobCardId(), IncrementalSchedule.UnscheduledJob::reason)
+                .containsExactlyInAnyOrder(
+                        tuple(1L, "No active machine of type PRESS"),
+                        tuple(2L, "No operator holds the required skills"));
+    }
+
+    @Test
+    void insertingJobsMatchesBuildingTheScheduleFromScratch() {
+        List<SchedulingInput.Job> jobs = backlog.jobs(JOBS, 1);
+        IncrementalSchedule schedule = schedule(new SchedulingInput(jobs, machines, operators));
+
+        // Spread over the dispatch order, so inserts land before, on and after checkpoints
+        List<SchedulingInput.Job> all = new ArrayList<>(jobs);
+        for (int i = 0; i < 40; i++) {
+            SchedulingInput.Job added = backlog.job(10_000 + i);
+            schedule.addJob(added);
+            all.add(added);
+        }
+
+        assertThat(placements(schedule)).isEqualTo(placements(schedule(new SchedulingInput(all, machines, operators))));
+        assertThat(schedule.size()).isEqualTo(JOBS + 40);
+    }
+
+    @Test
+    void removingJobsMatchesBuildingTheScheduleFromScratch() {
+        List<SchedulingInput.Job> jobs = backlog.jobs(JOBS, 1);
+        IncrementalSchedule schedule = schedule(new SchedulingInput(jobs, machines, operators));
+
+        List<SchedulingInput.Job> remaining = new ArrayList<>(jobs);
+        for (int i = 0; i < 40; i++) {
+            SchedulingInput.Job removed = remaining.remove((i * 37) % remaining.size());
+            assertThat(schedule.removeJob(removed.jobCardId())).isTrue();
+        }
+
+        assertThat(schedule.removeJob(999_999)).isFalse();
+        assertThat(placements(schedule))
+                .isEqualTo(placements(schedule(new SchedulingInput(remaining, machines, operators))));
+    }
+
+    @Test
+    void machineOutageReschedulesLikeAScheduleWithoutTheMachine() {
+        List<SchedulingInput.Job> jobs = backlog.jobs(JOBS, 1);
+        IncrementalSchedule schedule = schedule(new SchedulingInput(jobs, machines, operators));
+        Map<Long, String> before = placements(schedule);
+        SchedulingInput.MachineResource broken = machines.get(7);
+
+        assertThat(schedule.setMachineAvailable(broken.machineId(), false, HORIZON)).isTrue();
+
+        List<SchedulingInput.MachineResource> withOutage = machines.stream()
+                .map(machine -> machine == broken
+                        ? new SchedulingInput.MachineResource(machine.machineId(), machine.machineCode(),
+                        machine.machineType(), machine.capacityPerHour(), false, machine.busyUntil())
+                        : machine)
+                .toList();
+        assertThat(placements(schedule))
+                .isEqualTo(placements(schedule(new SchedulingInput(jobs, withOutage, operators))));
+        assertThat(schedule.result().scheduled())
+                .noneMatch(job -> job.machine().machineId() == broken.machineId());
+
+        assertThat(schedule.setMachineAvailable(broken.machineId(), true, HORIZON)).isTrue();
+        assertThat(placements(schedule)).isEqualTo(before);
+        assertThat(schedule.setMachineAvailable(-1, false, HORIZON)).isFalse();
+    }
+
+    @Test
+    void localSearchKeepsEveryJobOnEligibleAndExclusiveResources() {
+        List<SchedulingInput.Job> jobs = backlog.jobs(JOBS, 1);
+        IncrementalSchedule schedule = schedule(new SchedulingInput(jobs, machines, operators));
+
+        schedule.improve(Duration.ofMillis(500));
+        schedule.addJob(backlog.job(10_000));
+        schedule.removeJob(jobs.get(3).jobCardId());
+        schedule.improve(Duration.ofMillis(200));
+
+        IncrementalSchedule.Result result = schedule.result();
+        assertThat(result.scheduled().size() + result.unscheduled().size()).isEqualTo(JOBS);
+        assertNoOverlaps(result, job -> job.machine().machineId());
+        assertNoOverlaps(result, job -> job.operator().userId());
+        assertThat(result.scheduled()).allSatisfy(job -> {
+            assertThat(job.job().machineType() == null
+                    || job.job().machineType().equals(job.machine().machineType())).isTrue();
+            assertThat(SkillEncoder.qualifies(job.operator().skills(), job.job().requiredSkills())).isTrue();
+        });
+    }
+
+    private IncrementalSchedule schedule(SchedulingInput input) {
+        return new IncrementalSchedule(input, calendar, pool, 16, 64, 7);
+    }
+
+    /** Job card to machine, operator and time window, for comparing two schedules. */
+    private static Map<Long, String> placements(IncrementalSchedule schedule) {
+        IncrementalSchedule.Result result = schedule.result();
+        Map<Long, String> placements = new HashMap<>();
+        result.scheduled().forEach(job -> placements.put(job.job().jobCardId(), job.machine().machineId() + "/"
+                + job.operator().employeeNumber() + "/" + job.start() + "/" + job.end()));
+        result.unscheduled().forEach(job -> placements.put(job.job().jobCardId(), job.reason()));
+        return placements;
+    }
+
+    private static void assertNoOverlaps(IncrementalSchedule.Result result,
+                                         Function<IncrementalSchedule.ScheduledJob, Object> resource) {
+        Map<Object, List<IncrementalSchedule.ScheduledJob>> byResource = result.scheduled().stream()
+                .collect(Collectors.groupingBy(resource));
+        byResource.values().forEach(jobs -> {
+            List<IncrementalSchedule.ScheduledJob> sorted = jobs.stream()
+                    .sorted(Comparator.comparing(IncrementalSchedule.ScheduledJob::start))
+                    .toList();
+            for (int i = 1; i < sorted.size(); i++) {
+                assertThat(sorted.get(i).start()).isAfterOrEqualTo(sorted.get(i - 1).end());
+            }
+        });
+    }
+
+    private static SchedulingInput.MachineResource machine(long id, String type) {
+        return new SchedulingInput.MachineResource(id, "M-" + id, type, null, true, null);
+    }
+
+    private static SchedulingInput.Operator operator(String employeeNumber) {
+        return new SchedulingInput.Operator(UUID.nameUUIDFromBytes(employeeNumber.getBytes()), employeeNumber,
+                new BitSet(), null);
+    }
+
+    private static SchedulingInput.Job job(long id, int priorityWeight, int minutes, LocalDateTime dueAt,
+                                           String machineType) {
+        return new SchedulingInput.Job(id, "JC-" + id, priorityWeight, minutes, null, dueAt, machineType,
+                new BitSet());
+    }
+}
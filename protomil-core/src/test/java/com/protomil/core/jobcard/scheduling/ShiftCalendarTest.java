@@ -0,0 +1,92 @@
+package com.protomil.core.jobcard.scheduling;
+
+import com.protomil.core.jobcard.domain.enums.Shift;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShiftCalendarTest {
+
+    private static final LocalDateTime MONDAY_8AM = LocalDateTime.of(2025, 3, 10, 8, 0);
+
+    @Test
+    void countsOnlyMinutesInsideStaffedShifts() {
+        ShiftCalendar calendar = new ShiftCalendar(MONDAY_8AM, List.of(Shift.MORNING));
+
+        assertThat(calendar.toWorkingMinutes(MONDAY_8AM)).isZero();
+        assertThat(calendar.toWorkingMinutes(MONDAY_8AM.plusHours(2))).isEqualTo(120);
+        // Between 14:00 and the next morning nothing is worked
+        assertThat(calendar.toWorkingMinutes(MONDAY_8AM.withHour(14))).isEqualTo(360);
+        assertThat(calendar.toWorkingMinutes(MONDAY_8AM.withHour(20))).isEqualTo(360);
+        assertThat(calendar.toWorkingMinutes(MONDAY_8AM.plusDays(1).withHour(6))).isEqualTo(360);
+        assertThat(calendar.toWorkingMinutes(MONDAY_8AM.plusDays(1).withHour(7))).isEqualTo(420);
+    }
+
+    @Test
+    void timesBeforeTheHorizonAreNegative() {
+        ShiftCalendar calendar = new ShiftCalendar(MONDAY_8AM, List.of(Shift.MORNING));
+
+        assertThat(calendar.toWorkingMinutes(MONDAY_8AM.withHour(7))).isEqualTo(-60);
+        // Sunday 13:00-14:00 and Monday 06:00-08:00
+        assertThat(calendar.toWorkingMinutes(MONDAY_8AM.minusDays(1).withHour(13))).isEqualTo(-180);
+    }
+
+    @Test
+    void workThatRunsPastTheShiftEndResumesAtTheNextShift() {
+        ShiftCalendar calendar = new ShiftCalendar(MONDAY_8AM.withHour(13), List.of(Shift.MORNING));
+
+        // 300 working minutes from 13:00: one hour on Monday, four on Tuesday morning
+        assertThat(calendar.startOf(0)).isEqualTo(MONDAY_8AM.withHour(13));
+        assertThat(calendar.endOf(300)).isEqualTo(MONDAY_8AM.plusDays(1).withHour(10));
+    }
+
+    @Test
+    void shiftBoundaryEndsTheEarlierShiftButStartsTheNextOne() {
+        ShiftCalendar calendar = new ShiftCalendar(MONDAY_8AM, List.of(Shift.MORNING));
+
+        assertThat(calendar.endOf(360)).isEqualTo(MONDAY_8AM.withHour(14));
+        assertThat(calendar.startOf(360)).isEqualTo(MONDAY_8AM.plusDays(1).withHour(6));
+    }
+
+    @Test
+    void nightShiftIsSplitAtMidnightAndMergedWithAdjacentShifts() {
+        ShiftCalendar calendar = new ShiftCalendar(MONDAY_8AM, EnumSet.of(Shift.MORNING, Shift.NIGHT));
+
+        // Worked per day: 00:00-14:00 and 22:00-24:00, so 16 hours with a gap from 14:00 to 22:00
+        assertThat(calendar.toWorkingMinutes(MONDAY_8AM.withHour(14))).isEqualTo(360);
+        assertThat(calendar.toWorkingMinutes(MONDAY_8AM.withHour(22))).isEqualTo(360);
+        assertThat(calendar.toWorkingMinutes(MONDAY_8AM.plusDays(1).withHour(0))).isEqualTo(480);
+        assertThat(calendar.toWorkingMinutes(MONDAY_8AM.plusDays(1).withHour(8))).isEqualTo(960);
+        assertThat(calendar.startOf(360)).isEqualTo(MONDAY_8AM.withHour(22));
+        assertThat(calendar.endOf(360)).isEqualTo(MONDAY_8AM.withHour(14));
+    }
+
+    @Test
+    void roundTripsAcrossDaysWhenEveryShiftIsStaffed() {
+        ShiftCalendar calendar = new ShiftCalendar(MONDAY_8AM, EnumSet.allOf(Shift.class));
+
+        for (long minutes = 0; minutes < 5 * 24 * 60; minutes += 97) {
+            LocalDateTime time = MONDAY_8AM.plusMinutes(minutes);
+            assertThat(calendar.toWorkingMinutes(time)).isEqualTo(minutes);
+            assertThat(calendar.startOf(minutes)).isEqualTo(time);
+        }
+    }
+
+    @Test
+    void horizonStartIsTruncatedToTheMinute() {
+        ShiftCalendar calendar = new ShiftCalendar(MONDAY_8AM.plusSeconds(42), List.of(Shift.MORNING));
+
+        assertThat(calendar.getHorizonStart()).isEqualTo(MONDAY_8AM);
+    }
+
+    @Test
+    void requiresAStaffedShift() {
+        assertThatThrownBy(() -> new ShiftCalendar(MONDAY_8AM, List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,69 @@
+package com.protomil.core.jobcard.scheduling;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Reproducible scheduling input for tests and benchmarks: machines spread over a few types, operators
+ * holding one or two of a few skills, and jobs with mixed priorities, run times and due dates.
+ */
+final class SyntheticBacklog {
+
+    static final String[] MACHINE_TYPES = {"CNC", "LATHE", "MILL", "PRESS", "GRINDER"};
+
+    private static final UUID[] SKILLS = IntStream.range(0, 6)
+            .mapToObj(i -> new UUID(0, i + 1))
+            .toArray(UUID[]::new);
+
+    private final SkillEncoder encoder = new SkillEncoder();
+    private final SplittableRandom random;
+    private final LocalDateTime horizonStart;
+
+    SyntheticBacklog(LocalDateTime horizonStart, long seed) {
+        this.horizonStart = horizonStart;
+        this.random = new SplittableRandom(seed);
+    }
+
+    List<SchedulingInput.MachineResource> machines(int count) {
+        List<SchedulingInput.MachineResource> machines = new ArrayList<>(count);
+        for (int m = 0; m < count; m++) {
+            machines.add(new SchedulingInput.MachineResource(1_000 + m, "M-" + m,
+                    MACHINE_TYPES[m % MACHINE_TYPES.length], m % 3 == 0 ? 60 : null, true, null));
+        }
+        return machines;
+    }
+
+    List<SchedulingInput.Operator> operators(int count) {
+        List<SchedulingInput.Operator> operators = new ArrayList<>(count);
+        for (int o = 0; o < count; o++) {
+            // Everyone holds the first skill; the rest are spread around at varying levels
+            BitSet skills = encoder.held(Map.of(SKILLS[0], 4, SKILLS[1 + o % 5], 1 + o % 4));
+            operators.add(new SchedulingInput.Operator(new UUID(1, o), "E-" + o, skills, null));
+        }
+        return operators;
+    }
+
+    List<SchedulingInput.Job> jobs(int count, long firstId) {
+        List<SchedulingInput.Job> jobs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            jobs.add(job(firstId + i));
+        }
+        return jobs;
+    }
+
+    SchedulingInput.Job job(long jobCardId) {
+        BitSet required = random.nextInt(3) == 0
+                ? encoder.required(Map.of(SKILLS[1 + random.nextInt(5)], 1 + random.nextInt(2)))
+                : encoder.required(Map.of(SKILLS[0], 1));
+        return new SchedulingInput.Job(jobCardId, "JC-" + jobCardId, 1 + random.nextInt(4),
+                30 + random.nextInt(240), random.nextInt(4) == 0 ? 20 + random.nextInt(200) : null,
+                random.nextInt(10) == 0 ? null : horizonStart.plusMinutes(random.nextInt(7 * 24 * 60)),
+                random.nextInt(5) == 0 ? null : MACHINE_TYPES[random.nextInt(MACHINE_TYPES.length)], required);
+    }
+}
@@ -0,0 +1,83 @@
+package com.protomil.core.reports.templates;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PercentHistogramTest {
+
+    private static final double[] QUANTILES = {0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 1};
+
+    @Test
+    void emptyHistogramHasNoPercentiles() {
+        PercentHistogram histogram = new PercentHistogram();
+
+        assertThat(histogram.count()).isZero();
+        assertThat(histogram.percentile(0.5)).isNull();
+    }
+
+    @Test
+    void reportsTheMidpointOfTheBinHoldingTheQuantile() {
+        PercentHistogram histogram = new PercentHistogram();
+        for (int percent = 0; percent < 100; percent++) {
+            histogram.add(percent + 0.75);
+        }
+
+        assertThat(histogram.count()).isEqualTo(100);
+        assertThat(histogram.percentile(0)).isEqualTo(0.5);
+        assertThat(histogram.percentile(0.10)).isEqualTo(9.5);
+        assertThat(histogram.percentile(0.50)).isEqualTo(49.5);
+        assertThat(histogram.percentile(0.90)).isEqualTo(89.5);
+        assertThat(histogram.percentile(1)).isEqualTo(99.5);
+    }
+
+    @Test
+    void clampsValuesOutsideTheRange() {
+        PercentHistogram histogram = new PercentHistogram();
+        histogram.add(-20);
+        histogram.add(PercentHistogram.MAX_PERCENT + 250);
+
+        assertThat(histogram.percentile(0.5)).isEqualTo(0.5);
+        assertThat(histogram.percentile(1)).isEqualTo((double) PercentHistogram.MAX_PERCENT);
+    }
+
+    @Test
+    void mergedHistogramsMatchOneHistogramOfAllValues() {
+        SplittableRandom random = new SplittableRandom(7);
+        PercentHistogram all = new PercentHistogram();
+        PercentHistogram[] parts = {new PercentHistogram(), new PercentHistogram(), new PercentHistogram()};
+        for (int i = 0; i < 10_000; i++) {
+            double percent = random.nextDouble(-10, PercentHistogram.MAX_PERCENT + 50);
+            all.add(percent);
+            // Skewed split, so the parts have different shapes
+            parts[random.nextInt(10) < 7 ? 0 : 1 + random.nextInt(2)].add(percent);
+        }
+
+        PercentHistogram merged = parts[0];
+        merged.merge(parts[1]);
+        merged.merge(parts[2]);
+        merged.merge(new PercentHistogram());
+
+        assertThat(merged.count()).isEqualTo(all.count());
+        for (double quantile : QUANTILES) {
+            assertThat(merged.percentile(quantile)).as("p%s", quantile).isEqualTo(all.percentile(quantile));
+        }
+    }
+
+    @Test
+    void mergingIntoAnEmptyHistogramCopiesTheOther() {
+        PercentHistogram other = new PercentHistogram();
+        other.add(42.2);
+        other.add(97);
+        PercentHistogram empty = new PercentHistogram();
+
+        empty.merge(other);
+
+        assertThat(empty.count()).isEqualTo(2);
+        assertThat(empty.percentile(0.5)).isEqualTo(42.5);
+        assertThat(empty.percentile(1)).isEqualTo(97.5);
+        assertThat(other.count()).isEqualTo(2);
+    }
+}
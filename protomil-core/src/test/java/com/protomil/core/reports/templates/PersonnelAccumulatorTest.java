@@ -0,0 +1,135 @@
+package com.protomil.core.reports.templates;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersonnelAccumulatorTest {
+
+    private static final int WEEKS = 9;
+    private static final double[] QUANTILES = {0.1, 0.5, 0.9};
+
+    @Test
+    void weighsEfficiencyByTimeAndFitsWeeklyTrends() {
+        PersonnelAccumulator accumulator = new PersonnelAccumulator(WEEKS);
+        accumulator.addProduction(0, "Asha Rao", 100, 100, 100, 10, 1, 0);
+        accumulator.addProduction(1, "A. Rao", 110, 110, 100, 20, 0, 2);
+        accumulator.addProduction(2, null, 120, 120, 100, 30, 0, 1);
+        // Counted, but without both times it does not weigh into efficiency
+        accumulator.addProduction(2, "Asha Rao", Double.NaN, 0, 45, 5, 0, 0);
+
+        assertThat(accumulator.operatorName).isEqualTo("Asha Rao");
+        assertThat(accumulator.productionEntries).isEqualTo(4);
+        assertThat(accumulator.productionQuantity).isEqualTo(65);
+        assertThat(accumulator.lossQuantity).isEqualTo(1);
+        assertThat(accumulator.rejectedQuantity).isEqualTo(3);
+        assertThat(accumulator.actualMinutes).isEqualTo(300);
+        assertThat(accumulator.efficiencyPercent()).isEqualTo(110.0);
+        assertThat(accumulator.efficiency.count()).isEqualTo(3);
+        assertThat(accumulator.efficiencyTrendPerWeek()).isEqualTo(10.0);
+        assertThat(accumulator.outputTrendPerWeek()).isEqualTo(12.5);
+    }
+
+    @Test
+    void hasNoEfficiencyOrTrendsWithoutEnoughData() {
+        PersonnelAccumulator accumulator = new PersonnelAccumulator(WEEKS);
+
+        assertThat(accumulator.efficiencyPercent()).isNull();
+        assertThat(accumulator.outputTrendPerWeek()).isNull();
+
+        accumulator.addProduction(4, "Asha Rao", 95, 95, 100, 12, 0, 0);
+
+        assertThat(accumulator.efficiencyPercent()).isEqualTo(95.0);
+        assertThat(accumulator.efficiencyTrendPerWeek()).isNull();
+        assertThat(accumulator.outputTrendPerWeek()).isNull();
+    }
+
+    @Test
+    void countsInstructionsAndStepTimeRatios() {
+        PersonnelAccumulator accumulator = new PersonnelAccumulator(WEEKS);
+        accumulator.addInstruction(true, 30, 45);
+        accumulator.addInstruction(false, 60, 30);
+        accumulator.addInstruction(true, 0, 20);
+
+        assertThat(accumulator.instructionsCompleted).isEqualTo(3);
+        assertThat(accumulator.qualityCheckpointsCompleted).isEqualTo(2);
+        assertThat(accumulator.stepTimeRatio.count()).isEqualTo(2);
+        assertThat(accumulator.stepTimeRatio.percentile(0.5)).isEqualTo(50.5);
+        assertThat(accumulator.stepTimeRatio.percentile(1)).isEqualTo(150.5);
+    }
+
+    @Test
+    void mergedAccumulatorsMatchOneAccumulatorOverAllFacts() {
+        SplittableRandom random = new SplittableRandom(11);
+        PersonnelAccumulator all = new PersonnelAccumulator(WEEKS);
+        PersonnelAccumulator[] parts = new PersonnelAccumulator[4];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = new PersonnelAccumulator(WEEKS);
+        }
+
+        for (int i = 0; i < 5_000; i++) {
+            // The first part only sees instructions, so its operator name comes from a later part
+            PersonnelAccumulator part = parts[1 + random.nextInt(parts.length - 1)];
+            if (random.nextInt(3) == 0) {
+                boolean checkpoint = random.nextBoolean();
+                int estimated = random.nextInt(0, 120);
+                int actual = random.nextInt(0, 180);
+                all.addInstruction(checkpoint, estimated, actual);
+                parts[random.nextInt(2) == 0 ? 0 : parts.length - 1].addInstruction(checkpoint, estimated, actual);
+                continue;
+            }
+            int week = random.nextInt(WEEKS);
+            double efficiency = random.nextInt(5) == 0 ? Double.NaN : random.nextInt(40, 160);
+            // Whole minutes, so sums are exact whatever order they are added in
+            double defined = random.nextInt(0, 240);
+            double actual = random.nextInt(0, 240);
+            long quantity = random.nextInt(0, 500);
+            long loss = random.nextInt(0, 10);
+            long rejected = random.nextInt(0, 10);
+            all.addProduction(week, "Operator", efficiency, defined, actual, quantity, loss, rejected);
+            part.addProduction(week, "Operator", efficiency, defined, actual, quantity, loss, rejected);
+        }
+
+        PersonnelAccumulator merged = parts[0];
+        for (int i = 1; i < parts.length; i++) {
+            assertThat(merged.merge(parts[i])).isSameAs(merged);
+        }
+
+        assertThat(merged.operatorName).isEqualTo("Operator");
+        assertThat(merged.productionEntries).isEqualTo(all.productionEntries);
+        assertThat(merged.productionQuantity).isEqualTo(all.productionQuantity);
+        assertThat(merged.lossQuantity).isEqualTo(all.lossQuantity);
+        assertThat(merged.rejectedQuantity).isEqualTo(all.rejectedQuantity);
+        assertThat(merged.definedMinutes).isEqualTo(all.definedMinutes);
+        assertThat(merged.actualMinutes).isEqualTo(all.actualMinutes);
+        assertThat(merged.instructionsCompleted).isEqualTo(all.instructionsCompleted);
+        assertThat(merged.qualityCheckpointsCompleted).isEqualTo(all.qualityCheckpointsCompleted);
+        assertThat(merged.efficiencyPercent()).isEqualTo(all.efficiencyPercent());
+        assertThat(merged.efficiencyTrendPerWeek()).isEqualTo(all.efficiencyTrendPerWeek());
+        assertThat(merged.outputTrendPerWeek()).isEqualTo(all.outputTrendPerWeek());
+        assertThat(merged.efficiency.count()).isEqualTo(all.efficiency.count());
+        assertThat(merged.stepTimeRatio.count()).isEqualTo(all.stepTimeRatio.count());
+        for (double quantile : QUANTILES) {
+            assertThat(merged.efficiency.percentile(quantile)).isEqualTo(all.efficiency.percentile(quantile));
+            assertThat(merged.stepTimeRatio.percentile(quantile)).isEqualTo(all.stepTimeRatio.percentile(quantile));
+        }
+    }
+
+    @Test
+    void keepsTheFirstOperatorNameWhenMerging() {
+        PersonnelAccumulator first = new PersonnelAccumulator(WEEKS);
+        first.addProduction(0, "Asha Rao", 100, 60, 60, 1, 0, 0);
+        PersonnelAccumulator second = new PersonnelAccumulator(WEEKS);
+        second.addProduction(1, "A. Rao", 100, 60, 60, 1, 0, 0);
+
+        assertThat(first.merge(second).operatorName).isEqualTo("Asha Rao");
+    }
+
+    @Test
+    void sizeEstimateGrowsWithTheWeeksInTheReport() {
+        assertThat(PersonnelAccumulator.estimateBytes(1)).isGreaterThan(2 * PercentHistogram.BYTES);
+        assertThat(PersonnelAccumulator.estimateBytes(53) - PersonnelAccumulator.estimateBytes(52)).isEqualTo(28);
+    }
+}
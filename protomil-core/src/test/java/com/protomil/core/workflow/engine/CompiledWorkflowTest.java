@@ -0,0 +1,214 @@
+package com.protomil.core.workflow.engine;
+
+import com.protomil.core.jobcard.domain.enums.JobStatus;
+import com.protomil.core.shared.exception.BusinessException;
+import com.protomil.core.workflow.domain.StepType;
+import com.protomil.core.workflow.domain.WorkflowDefinition;
+import com.protomil.core.workflow.domain.WorkflowStep;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static com.protomil.core.jobcard.domain.enums.JobStatus.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class CompiledWorkflowTest {
+
+    @Test
+    void compilesStepsIntoTransitionsAndPredecessors() {
+        UUID id = UUID.randomUUID();
+        CompiledWorkflow<JobStatus> workflow = CompiledWorkflow.compile(definition(id,
+                step(1, DRAFT, READY, null, false),
+                step(2, READY, ASSIGNED, "SUPERVISOR", false),
+                step(3, ASSIGNED, IN_PROGRESS, null, true),
+                step(4, IN_PROGRESS, COMPLETED, "OPERATOR", false),
+                step(5, DRAFT, CANCELLED, null, false),
+                step(6, READY, CANCELLED, "SUPERVISOR", false)), JobStatus.class);
+
+        assertThat(workflow.getId()).isEqualTo(id);
+        assertThat(workflow.isBuiltIn()).isFalse();
+        assertThat(workflow.getStateType()).isEqualTo(JobStatus.class);
+        assertThat(workflow.transition(READY, ASSIGNED))
+                .extracting(WorkflowTransition::stepNumber, WorkflowTransition::requiredRole)
+                .containsExactly(2, "SUPERVISOR");
+        assertThat(workflow.transition(ASSIGNED, READY)).isNull();
+        assertThat(workflow.transition(DRAFT, ASSIGNED)).isNull();
+
+        assertThat(workflow.predecessors(CANCELLED)).containsExactlyInAnyOrder(DRAFT, READY);
+        assertThat(workflow.predecessors(IN_PROGRESS)).containsExactly(ASSIGNED);
+        assertThat(workflow.predecessors(DRAFT)).isEmpty();
+        assertThatThrownBy(() -> workflow.predecessors(CANCELLED).add(IN_PROGRESS))
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        assertThat(workflow.transitionsFrom(READY))
+                .extracting(WorkflowTransition::from, WorkflowTransition::to)
+                .containsExactly(tuple(READY, ASSIGNED), tuple(READY, CANCELLED));
+        assertThat(workflow.autoApproval(ASSIGNED)).extracting(WorkflowTransition::to).isEqualTo(IN_PROGRESS);
+        assertThat(workflow.autoApproval(READY)).isNull();
+
+        // States without outgoing steps are terminal, including ones the workflow never reaches
+        assertThat(Arrays.stream(JobStatus.values()).filter(workflow::isTerminal))
+                .containsExactlyInAnyOrder(PENDING_REVIEW, COMPLETED, CANCELLED, REWORK_REQUIRED);
+    }
+
+    @Test
+    void roleGuardsAcceptTheRoleWithOrWithoutPrefixAndAdmin() {
+        CompiledWorkflow<JobStatus> workflow = CompiledWorkflow.compile(definition(UUID.randomUUID(),
+                step(1, DRAFT, READY, null, false),
+                step(2, READY, ASSIGNED, "SUPERVISOR", false)), JobStatus.class);
+        WorkflowTransition<JobStatus> guarded = workflow.transition(READY, ASSIGNED);
+
+        assertThat(guarded.permits(List.of("SUPERVISOR"))).isTrue();
+        assertThat(guarded.permits(List.of("ROLE_OPERATOR", "ROLE_SUPERVISOR"))).isTrue();
+        assertThat(guarded.permits(List.of("ADMIN"))).isTrue();
+        assertThat(guarded.permits(List.of("ROLE_ADMIN"))).isTrue();
+        assertThat(guarded.permits(List.of("OPERATOR", "ROLE_SUPERVISOR_READONLY"))).isFalse();
+        assertThat(guarded.permits(List.of())).isFalse();
+        assertThat(workflow.transition(DRAFT, READY).permits(List.of())).isTrue();
+    }
+
+    @Test
+    void followsAnAcyclicAutoApprovalChainToItsEnd() {
+        CompiledWorkflow<JobStatus> workflow = CompiledWorkflow.compile(definition(UUID.randomUUID(),
+                step(1, DRAFT, READY, null, true),
+                step(2, READY, ASSIGNED, null, true),
+                step(3, ASSIGNED, IN_PROGRESS, null, true),
+                step(4, IN_PROGRESS, PENDING_REVIEW, null, true),
+                step(5, PENDING_REVIEW, COMPLETED, "SUPERVISOR", false),
+                step(6, PENDING_REVIEW, REWORK_REQUIRED, "SUPERVISOR", false),
+                step(7, REWORK_REQUIRED, IN_PROGRESS, null, true)), JobStatus.class);
+
+        List<JobStatus> chain = new ArrayList<>(List.of(DRAFT));
+        for (WorkflowTransition<JobStatus> step = workflow.autoApproval(DRAFT); step != null;
+             step = workflow.autoApproval(step.to())) {
+            chain.add(step.to());
+        }
+        assertThat(chain).containsExactly(DRAFT, READY, ASSIGNED, IN_PROGRESS, PENDING_REVIEW);
+    }
+
+    @Test
+    void rejectsAutoApprovalCyclesAcrossChains() {
+        // The cycle is only reachable through a chain leading into it
+        WorkflowDefinition definition = definition(UUID.randomUUID(),
+                step(1, DRAFT, READY, null, true),
+                step(2, READY, ASSIGNED, null, true),
+                step(3, ASSIGNED, IN_PROGRESS, null, true),
+                step(4, IN_PROGRESS, PENDING_REVIEW, null, true),
+                step(5, PENDING_REVIEW, ASSIGNED, null, true),
+                step(6, PENDING_REVIEW, COMPLETED, "SUPERVISOR", false));
+
+        assertThatThrownBy(() -> CompiledWorkflow.compile(definition, JobStatus.class))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("auto-approves in a cycle");
+
+        WorkflowDefinition twoStates = definition(UUID.randomUUID(),
+                step(1, IN_PROGRESS, REWORK_REQUIRED, null, true),
+                step(2, REWORK_REQUIRED, IN_PROGRESS, null, true));
+
+        assertThatThrownBy(() -> CompiledWorkflow.compile(twoStates, JobStatus.class))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("auto-approves in a cycle");
+    }
+
+    @Test
+    void rejectsInconsistentSteps() {
+        assertRejected("more than one step from DRAFT to READY",
+                step(1, DRAFT, READY, null, false), step(2, DRAFT, READY, "SUPERVISOR", false));
+        assertRejected("more than one auto-approved step from READY",
+                step(1, READY, ASSIGNED, null, true), step(2, READY, CANCELLED, null, true));
+        assertRejected("step 1 leads from READY to itself", step(1, READY, READY, null, false));
+        assertRejected("step 2 has unknown state 'ARCHIVED'",
+                step(1, DRAFT, READY, null, false), step(2, "READY", "ARCHIVED"));
+        assertRejected("step 1 has no from or to state", step(1, null, "READY"));
+        assertRejected("has no steps");
+    }
+
+    @Test
+    void builtInLifecycleMatchesJobStatusTransitions() {
+        CompiledWorkflow<JobStatus> workflow = CompiledWorkflow.builtIn("Built-in JOB_CARD lifecycle",
+                JobStatus.class, JobStatus::canTransitionTo);
+
+        assertThat(workflow.isBuiltIn()).isTrue();
+        assertThat(workflow.getId()).isNull();
+        for (JobStatus from : JobStatus.values()) {
+            for (JobStatus to : JobStatus.values()) {
+                WorkflowTransition<JobStatus> step = workflow.transition(from, to);
+                assertThat(step != null).as("%s to %s", from, to).isEqualTo(from != to && from.canTransitionTo(to));
+                if (step != null) {
+                    assertThat(step.permits(List.of())).isTrue();
+                    assertThat(step.autoApprove()).isFalse();
+                }
+            }
+        }
+
+        // Direct completion from IN_PROGRESS and cancellation from every open state
+        assertThat(workflow.predecessors(COMPLETED)).containsExactlyInAnyOrder(IN_PROGRESS, PENDING_REVIEW);
+        assertThat(workflow.predecessors(CANCELLED))
+                .containsExactlyInAnyOrder(DRAFT, READY, ASSIGNED, IN_PROGRESS, PENDING_REVIEW, REWORK_REQUIRED);
+        assertThat(workflow.predecessors(IN_PROGRESS)).containsExactlyInAnyOrder(ASSIGNED, REWORK_REQUIRED);
+        assertThat(Arrays.stream(JobStatus.values()).filter(workflow::isTerminal))
+                .containsExactlyInAnyOrder(COMPLETED, CANCELLED);
+        assertThat(workflow.transitionsFrom(DRAFT))
+                .extracting(WorkflowTransition::to)
+                .containsExactly(READY, CANCELLED);
+    }
+
+    @Test
+    void jobStatusAllowsOnlyTheLifecycleTransitions() {
+        assertThat(IN_PROGRESS.canTransitionTo(COMPLETED)).isTrue();
+        assertThat(PENDING_REVIEW.canTransitionTo(REWORK_REQUIRED)).isTrue();
+        assertThat(REWORK_REQUIRED.canTransitionTo(IN_PROGRESS)).isTrue();
+        assertThat(DRAFT.canTransitionTo(IN_PROGRESS)).isFalse();
+        assertThat(ASSIGNED.canTransitionTo(COMPLETED)).isFalse();
+        assertThat(REWORK_REQUIRED.canTransitionTo(COMPLETED)).isFalse();
+        for (JobStatus target : JobStatus.values()) {
+            assertThat(COMPLETED.canTransitionTo(target)).isFalse();
+            assertThat(CANCELLED.canTransitionTo(target)).isFalse();
+        }
+    }
+
+    private static void assertRejected(String message, WorkflowStep... steps) {
+        WorkflowDefinition definition = definition(UUID.randomUUID(), steps);
+
+        assertThatThrownBy(() -> CompiledWorkflow.compile(definition, JobStatus.class))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining(message);
+    }
+
+    private static WorkflowDefinition definition(UUID id, WorkflowStep... steps) {
+        return WorkflowDefinition.builder()
+                .id(id)
+                .name("Test Lifecycle")
+                .definitionVersion("1")
+                .entityType("JOB_CARD")
+                .steps(new ArrayList<>(List.of(steps)))
+                .build();
+    }
+
+    private static WorkflowStep step(int number, JobStatus from, JobStatus to, String role, boolean autoApprove) {
+        return WorkflowStep.builder()
+                .stepNumber(number)
+                .stepName(from + " to " + to)
+                .stepType(role != null ? StepType.APPROVAL : StepType.TASK)
+                .fromState(from.name())
+                .toState(to.name())
+                .requiredRole(role)
+                .autoApprove(autoApprove)
+                .build();
+    }
+
+    private static WorkflowStep step(int number, String from, String to) {
+        return WorkflowStep.builder()
+                .stepNumber(number)
+                .stepName(from + " to " + to)
+                .stepType(StepType.TASK)
+                .fromState(from)
+                .toState(to)
+                .build();
+    }
+}